@@ -0,0 +1,81 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.runtime.bifs.global.io;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.context.ScriptingRequestBoxContext;
+import ortus.boxlang.runtime.util.FileSystemUtil;
+
+/**
+ * Expanding a mapped path, which reads the mappings from the request config on every call, compared with building the runtime config
+ * from scratch the way every call used to before the config was cached.
+ * <p>
+ * Run with <code>gradle jmh -PjmhIncludes=ExpandPathBenchmark</code>, and add <code>-prof gc</code> to the JMH arguments to see the
+ * allocation rate of each.
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+public class ExpandPathBenchmark {
+
+	private static final String	MAPPING	= "/expand/path/benchmark";
+
+	private BoxRuntime			runtime;
+	private IBoxContext			context;
+
+	@Setup
+	public void setup() {
+		this.runtime = BoxRuntime.getInstance();
+		this.runtime.getConfiguration().registerMapping( MAPPING, Path.of( "src/test/java/ortus/boxlang/runtime/bifs/global/io" ).toAbsolutePath().toString() );
+		this.context = new ScriptingRequestBoxContext( this.runtime.getRuntimeContext() );
+	}
+
+	@TearDown
+	public void tearDown() {
+		this.runtime.getConfiguration().unregisterMapping( MAPPING );
+	}
+
+	@Benchmark
+	public Object expandMappedPath() {
+		return FileSystemUtil.expandPath( this.context, MAPPING + "/expandPathTest.txt" );
+	}
+
+	@Benchmark
+	public Object getConfig() {
+		return this.context.getConfig();
+	}
+
+	@Benchmark
+	public Object buildRuntimeConfig() {
+		return this.runtime.getConfiguration().asStruct();
+	}
+
+}
@@ -0,0 +1,120 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.runtime.context;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.scopes.IScope;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.scopes.LocalScope;
+import ortus.boxlang.runtime.scopes.VariablesScope;
+import ortus.boxlang.runtime.types.Closure;
+import ortus.boxlang.runtime.types.Function;
+
+/**
+ * Unscoped variable reads from inside a UDF and from a closure nested in a UDF, comparing the search result lookups the generated code used to
+ * make with the value lookups it makes now.
+ * <p>
+ * Run with <code>gradle jmh -PjmhIncludes=ScopeLookupBenchmark</code>, and add <code>-prof gc</code> to the JMH arguments to see the
+ * allocation rate of each.
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+public class ScopeLookupBenchmark {
+
+	private static final Key	LOCAL_KEY		= Key.of( "counter" );
+	private static final Key	CAPTURED_KEY	= Key.of( "captured" );
+	private static final Key	VARIABLES_KEY	= Key.of( "shared" );
+
+	private IBoxContext			functionContext;
+	private IBoxContext			closureContext;
+
+	@Setup
+	public void setup() {
+		BoxRuntime	runtime			= BoxRuntime.getInstance();
+		IBoxContext	requestContext	= new ScriptingRequestBoxContext( runtime.getRuntimeContext() );
+		runtime.executeSource(
+		    """
+		    shared = "from variables";
+		    function udf() {
+		    }
+		    function makeClosure() {
+		    	var captured = "from the declaring function";
+		    	return () => captured;
+		    }
+		    closure = makeClosure();
+		    """,
+		    requestContext );
+		IScope variables = requestContext.getScopeNearby( VariablesScope.name );
+
+		this.functionContext = new FunctionBoxContext( requestContext, ( Function ) variables.get( Key.of( "udf" ) ) );
+		this.functionContext.getScopeNearby( LocalScope.name ).put( LOCAL_KEY, 42 );
+		this.closureContext = new ClosureBoxContext( this.functionContext, ( Closure ) variables.get( Key.of( "closure" ) ) );
+	}
+
+	@Benchmark
+	public Object functionLocalSearchResult() {
+		return this.functionContext.scopeFindNearby( LOCAL_KEY, null ).value();
+	}
+
+	@Benchmark
+	public Object functionLocalValue() {
+		return this.functionContext.scopeFindNearbyValue( LOCAL_KEY, null );
+	}
+
+	@Benchmark
+	public Object functionVariablesSearchResult() {
+		return this.functionContext.scopeFindNearby( VARIABLES_KEY, null ).value();
+	}
+
+	@Benchmark
+	public Object functionVariablesValue() {
+		return this.functionContext.scopeFindNearbyValue( VARIABLES_KEY, null );
+	}
+
+	@Benchmark
+	public Object closureCapturedSearchResult() {
+		return this.closureContext.scopeFindNearby( CAPTURED_KEY, null ).value();
+	}
+
+	@Benchmark
+	public Object closureCapturedValue() {
+		return this.closureContext.scopeFindNearbyValue( CAPTURED_KEY, null );
+	}
+
+	@Benchmark
+	public Object closureVariablesSearchResult() {
+		return this.closureContext.scopeFindNearby( VARIABLES_KEY, null ).value();
+	}
+
+	@Benchmark
+	public Object closureVariablesValue() {
+		return this.closureContext.scopeFindNearbyValue( VARIABLES_KEY, null );
+	}
+
+}
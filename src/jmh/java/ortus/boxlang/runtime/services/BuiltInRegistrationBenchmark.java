@@ -0,0 +1,86 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.runtime.services;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.bifs.BIF;
+import ortus.boxlang.runtime.components.Component;
+
+/**
+ * The startup cost of registering the core BIFs and components, comparing the annotation scan every provider class went through before
+ * the {@link BuiltInIndex} with the index startup reads now. Each benchmark registers into its own services, so they don't replace the
+ * ones of the runtime.
+ * <p>
+ * Only the first invocation in a JVM pays for loading the provider classes, which is the part the index saves at startup, so run it cold,
+ * with a single shot per fork: <code>gradle jmh -PjmhIncludes=BuiltInRegistrationBenchmark -PjmhWarmupIterations=0 -PjmhIterations=1
+ * -PjmhFork=10</code>. The default iterations measure the warm cost of each instead.
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.SingleShotTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+public class BuiltInRegistrationBenchmark {
+
+	private BoxRuntime	runtime;
+	private ClassLoader	classLoader;
+
+	@Setup
+	public void setup() {
+		this.runtime		= BoxRuntime.getInstance();
+		this.classLoader	= BoxRuntime.class.getClassLoader();
+	}
+
+	/**
+	 * Before: load every provider class and scan its annotations
+	 */
+	@Benchmark
+	public Object scanAnnotations() throws ClassNotFoundException {
+		FunctionService		functionService		= new FunctionService( this.runtime );
+		ComponentService	componentService	= new ComponentService( this.runtime );
+		for ( String className : BuiltInIndex.readProviders( BIF.class, this.classLoader ) ) {
+			functionService.processBIFRegistration( Class.forName( className, false, this.classLoader ), null, null );
+		}
+		for ( String className : BuiltInIndex.readProviders( Component.class, this.classLoader ) ) {
+			componentService.registerComponent( Class.forName( className, false, this.classLoader ), null, null );
+		}
+		return functionService;
+	}
+
+	/**
+	 * After: register what the index holds, and scan only the providers missing from it
+	 */
+	@Benchmark
+	public Object readIndex() throws IOException {
+		FunctionService		functionService		= new FunctionService( this.runtime );
+		ComponentService	componentService	= new ComponentService( this.runtime );
+		functionService.loadGlobalFunctions();
+		componentService.loadComponentRegistry();
+		return functionService;
+	}
+
+}
@@ -0,0 +1,99 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.runtime.types;
+
+import java.text.ParseException;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.time.DateUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.dynamic.casters.DateTimeCaster;
+import ortus.boxlang.runtime.types.util.DateTimeParser;
+
+/**
+ * Casting strings to dates and formatting dates, comparing the single pass parser with the strict commons-lang parsing over the same
+ * formats the cast used to do, and the cached formatters with building a formatter per call.
+ * <p>
+ * Run with <code>gradle jmh -PjmhIncludes=DateTimeBenchmark</code>, and add <code>-prof gc</code> to the JMH arguments to see the
+ * allocation rate of each.
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+public class DateTimeBenchmark {
+
+	@Param( { "2024-04-02", "2024-04-02T12:00:00Z", "Apr 02 2024", "Tue, 02 Apr 2024 21:01:00 CEST", "20240402" } )
+	public String		value;
+
+	private DateTime	dateTime;
+
+	@Setup
+	public void setup() {
+		BoxRuntime.getInstance();
+		this.dateTime = new DateTime( ZonedDateTime.of( 2024, 4, 2, 21, 1, 0, 0, ZoneId.systemDefault() ) );
+	}
+
+	@Benchmark
+	public Object parseSinglePass() {
+		return DateTimeParser.parse( this.value );
+	}
+
+	@Benchmark
+	public Object parseStrictPatterns() throws ParseException {
+		return DateUtils.parseDateStrictly( this.value, DateTimeParser.COMMON_PATTERNS );
+	}
+
+	@Benchmark
+	public Object cast() {
+		return DateTimeCaster.cast( this.value );
+	}
+
+	@Benchmark
+	public Object formatCachedMask() {
+		return this.dateTime.format( "yyyy-MM-dd HH:mm:ss" );
+	}
+
+	@Benchmark
+	public Object formatNewFormatter() {
+		return this.dateTime.format( DateTimeFormatter.ofPattern( "yyyy-MM-dd HH:mm:ss" ) );
+	}
+
+	@Benchmark
+	public Object formatLocalized() {
+		return this.dateTime.format( Locale.FRANCE, "longDateTime" );
+	}
+
+	@Benchmark
+	public Object newInstance() {
+		return new DateTime( ZonedDateTime.of( 2024, 4, 2, 21, 1, 0, 0, ZoneId.systemDefault() ) );
+	}
+
+}
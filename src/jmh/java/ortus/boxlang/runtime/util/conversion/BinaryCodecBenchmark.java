@@ -0,0 +1,140 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.runtime.util.conversion;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.Array;
+import ortus.boxlang.runtime.types.DateTime;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.Query;
+import ortus.boxlang.runtime.types.QueryColumnType;
+import ortus.boxlang.runtime.types.Struct;
+
+/**
+ * Encoding and decoding BoxLang values with the binary codec, compared with Java serialization. The sizes of both encodings are printed
+ * at setup.
+ * <p>
+ * Run with <code>gradle jmh -PjmhIncludes=BinaryCodecBenchmark</code>, and add <code>-prof gc</code> to the JMH arguments to see the
+ * allocation rate of each.
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+public class BinaryCodecBenchmark {
+
+	@Param( { "struct", "records", "query" } )
+	public String	shape;
+
+	private Object	value;
+
+	private byte[]	encoded;
+
+	private byte[]	serialized;
+
+	@Setup
+	public void setup() throws IOException {
+		BoxRuntime.getInstance();
+		this.value		= build( this.shape );
+		this.encoded	= BinaryCodec.encode( this.value );
+		this.serialized	= serialize( this.value );
+		System.out.printf( "%n%s: %d bytes encoded, %d bytes serialized%n", this.shape, this.encoded.length, this.serialized.length );
+	}
+
+	@Benchmark
+	public Object encode() {
+		return BinaryCodec.encode( this.value );
+	}
+
+	@Benchmark
+	public Object serializeJava() throws IOException {
+		return serialize( this.value );
+	}
+
+	@Benchmark
+	public Object decode() {
+		return BinaryCodec.decode( this.encoded );
+	}
+
+	@Benchmark
+	public Object deserializeJava() throws IOException, ClassNotFoundException {
+		try ( ObjectInputStream in = new ObjectInputStream( new ByteArrayInputStream( this.serialized ) ) ) {
+			return in.readObject();
+		}
+	}
+
+	private static Object build( String shape ) {
+		if ( shape.equals( "struct" ) ) {
+			return record( 1 );
+		}
+		if ( shape.equals( "records" ) ) {
+			Array records = new Array();
+			for ( int i = 0; i < 1000; i++ ) {
+				records.add( record( i ) );
+			}
+			return records;
+		}
+		Query query = new Query();
+		query.addColumn( Key.of( "id" ), QueryColumnType.INTEGER );
+		query.addColumn( Key.of( "name" ), QueryColumnType.VARCHAR );
+		query.addColumn( Key.of( "status" ), QueryColumnType.VARCHAR );
+		query.addColumn( Key.of( "score" ), QueryColumnType.DOUBLE );
+		for ( int i = 0; i < 1000; i++ ) {
+			query.addRow( new Object[] { i, "user" + i, i % 3 == 0 ? "active" : "inactive", i * 1.5 } );
+		}
+		return query;
+	}
+
+	private static IStruct record( int id ) {
+		return Struct.of(
+		    "id", id,
+		    "name", "user" + id,
+		    "active", id % 3 == 0,
+		    "score", id * 1.5,
+		    "created", new DateTime( ZonedDateTime.of( 2024, 4, 2, 21, 1, 0, 0, ZoneId.of( "UTC" ) ) ),
+		    "tags", Array.of( "a", "b" )
+		);
+	}
+
+	private static byte[] serialize( Object value ) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try ( ObjectOutputStream out = new ObjectOutputStream( bytes ) ) {
+			out.writeObject( value );
+		}
+		return bytes.toByteArray();
+	}
+
+}
@@ -24,9 +24,12 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import ortus.boxlang.compiler.javaboxpiler.JavaBoxpiler;
 import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.scopes.Key;
 import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
 import ortus.boxlang.runtime.types.exceptions.ParseException;
 import ortus.boxlang.runtime.util.ResolvedFilePath;
@@ -37,6 +40,11 @@ import ortus.boxlang.runtime.util.ResolvedFilePath;
  */
 public class BXCompiler {
 
+	/**
+	 * The extensions of the sources compiled into an archive
+	 */
+	private static final Set<String> ARCHIVE_EXTENSIONS = Set.of( "bx", "bxs", "bxm", "cfc", "cfs", "cfm" );
+
 	public static void main( String[] args ) {
 		BoxRuntime runtime = BoxRuntime.getInstance();
 		try {
@@ -45,6 +53,7 @@ public class BXCompiler {
 			String	target		= null;
 			String	mapping		= "";
 			Boolean	stopOnError	= false;
+			Boolean	archive		= false;
 
 			for ( int i = 0; i < args.length; i++ ) {
 				if ( args[ i ].equalsIgnoreCase( "--mapping" ) ) {
@@ -71,6 +80,9 @@ public class BXCompiler {
 					}
 					target = args[ i + 1 ];
 				}
+				if ( args[ i ].equalsIgnoreCase( "--archive" ) ) {
+					archive = true;
+				}
 				if ( args[ i ].equalsIgnoreCase( "--stopOnError" ) ) {
 					if ( i + 1 >= args.length || args[ i + 1 ].startsWith( "--" ) ) {
 						stopOnError = true;
@@ -120,7 +132,9 @@ public class BXCompiler {
 				targetPath = Paths.get( "" ).resolve( targetPath ).normalize().toAbsolutePath().normalize();
 			}
 
-			if ( sourcePath.toFile().isDirectory() ) {
+			if ( archive ) {
+				writeArchive( sourcePath, targetPath, stopOnError, finalBasePath, finalMapping, runtime );
+			} else if ( sourcePath.toFile().isDirectory() ) {
 				System.out.println( "Transpiling all .cfm files in " + sourcePath.toString() + " to " + targetPath.toString() );
 				// compile all .cfm, .cfs, and .cfc files in sourcePath to targetPath
 				final Path finalTargetPath = targetPath;
@@ -176,38 +190,97 @@ public class BXCompiler {
 			// folder already exists
 		}
 		System.out.println( "Writing " + targetPath.toString() );
-		List<byte[]> bytesList = null;
+		List<byte[]> bytesList = compileBytes( sourcePath, stopOnError, basePath, mapping );
+		if ( bytesList == null ) {
+			return;
+		}
+
+		try {
+			// Write the concatenated byte array to the target file
+			Files.write( targetPath, concatenate( bytesList ) );
+		} catch ( IOException e ) {
+			throw new RuntimeException( "Unable to write to target file", e );
+		}
+	}
+
+	/**
+	 * Compile every source under the source path into a BoxLang archive, which the runtime loads through its <code>archives</code>
+	 * setting instead of compiling the sources.
+	 */
+	private static void writeArchive( Path sourcePath, Path targetPath, Boolean stopOnError, Path basePath, String mapping, BoxRuntime runtime ) {
+		if ( !targetPath.getFileName().toString().endsWith( "." + BoxArchive.EXTENSION ) ) {
+			targetPath = targetPath.resolveSibling( targetPath.getFileName().toString() + "." + BoxArchive.EXTENSION );
+		}
+		System.out.println( "Archiving all sources in " + sourcePath.toString() + " to " + targetPath.toString() );
+		BoxArchive.Builder	builder			= new BoxArchive.Builder( runtime.getVersionInfo().getAsString( Key.version ) );
+		DiskClassUtil		diskClassUtil	= JavaBoxpiler.getInstance().getDiskClassUtil();
+		try ( Stream<Path> paths = Files.walk( sourcePath ) ) {
+			paths
+			    .parallel()
+			    .filter( Files::isRegularFile )
+			    .filter( path -> ARCHIVE_EXTENSIONS.contains( path.getFileName().toString().substring( path.getFileName().toString().lastIndexOf( "." ) + 1 ) ) )
+			    .forEach( path -> {
+				    List<byte[]> bytesList = compileBytes( path, stopOnError, basePath, mapping );
+				    if ( bytesList == null ) {
+					    return;
+				    }
+				    String fqn			= new String( bytesList.get( 0 ) );
+				    String relativePath	= basePath.relativize( path ).toString();
+				    String classPoolName	= ClassInfo.classPoolName( ResolvedFilePath.of( mapping, basePath.toString(), relativePath, path ) );
+				    try {
+					    builder.add(
+					        relativePath,
+					        fqn,
+					        Files.readAllBytes( path ),
+					        concatenate( bytesList ),
+					        diskClassUtil.readLineNumbersJSON( classPoolName, fqn )
+					    );
+				    } catch ( IOException e ) {
+					    throw new BoxRuntimeException( "Unable to read source file " + path.toString(), e );
+				    }
+			    } );
+		} catch ( IOException e ) {
+			throw new BoxRuntimeException( "Error walking source path", e );
+		}
+		builder.write( targetPath );
+		System.out.println( "Archived " + builder.size() + " sources" );
+	}
+
+	/**
+	 * Compile a source to its classes, the first entry being the FQN
+	 *
+	 * @return The FQN and class bytes, or null if the source failed to compile and we're not stopping on errors
+	 */
+	private static List<byte[]> compileBytes( Path sourcePath, Boolean stopOnError, Path basePath, String mapping ) {
 		try {
 			// calculate relative path by replacing the base path with an empty string
 			Path relativePath = basePath.relativize( sourcePath );
 			// remove file name
-			bytesList = JavaBoxpiler.getInstance()
+			return JavaBoxpiler.getInstance()
 			    .compileTemplateBytes( ResolvedFilePath.of( mapping, basePath.toString(), relativePath.toString(), sourcePath ) );
 		} catch ( ParseException e ) {
 			if ( stopOnError ) {
 				throw e;
 			} else {
 				System.err.println( "Error compiling " + sourcePath.toString() + ": " + e.getMessage() );
-				return;
+				return null;
 			}
 		}
-		// Concatenate the byte arrays with a delimiter of four null bytes
-		ByteArrayOutputStream baos = new ByteArrayOutputStream();
-
-		try {
-			baos.write( ByteBuffer.allocate( 4 ).putInt( 0xCAFEBABE ).array() );
-			for ( byte[] bytes : bytesList ) {
-				// Write the length of the class file
-				baos.write( ByteBuffer.allocate( 4 ).putInt( bytes.length ).array() );
-				// Write the class bytes
-				baos.write( bytes );
-			}
+	}
 
-			// Write the concatenated byte array to the target file
-			Files.write( targetPath, baos.toByteArray() );
-		} catch ( IOException e ) {
-			throw new RuntimeException( "Unable to write to target file", e );
+	/**
+	 * Concatenate the FQN and class bytes into the pre-compiled format: a magic number, then each entry prefixed by its length
+	 */
+	private static byte[] concatenate( List<byte[]> bytesList ) throws IOException {
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		baos.write( ByteBuffer.allocate( 4 ).putInt( 0xCAFEBABE ).array() );
+		for ( byte[] bytes : bytesList ) {
+			// Write the length of the class file
+			baos.write( ByteBuffer.allocate( 4 ).putInt( bytes.length ).array() );
+			// Write the class bytes
+			baos.write( bytes );
 		}
+		return baos.toByteArray();
 	}
 
 }
\ No newline at end of file
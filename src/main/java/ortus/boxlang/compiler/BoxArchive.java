@@ -0,0 +1,438 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.compiler;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.jar.Attributes;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import ortus.boxlang.runtime.types.exceptions.BoxIOException;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
+import ortus.boxlang.runtime.types.util.JSONUtil;
+import ortus.boxlang.runtime.util.EncryptionUtil;
+
+/**
+ * A BoxLang archive (<code>.bxar</code>) holds the precompiled bytecode of the templates and classes of an application, so the runtime can
+ * load them at startup without parsing or compiling anything.
+ * <p>
+ * The archive is a JAR with:
+ * <ul>
+ * <li><code>META-INF/boxlang/index.json</code>: the format version, the BoxLang version it was compiled with, and one entry per source
+ * with its relative path, the FQN of its class, and the checksums of the source and of the compiled classes</li>
+ * <li><code>classes/{fqn}.bxc</code>: the class and all its inner classes, in the same format <code>BXCompiler</code> writes precompiled
+ * sources in</li>
+ * <li><code>sourcemaps/{fqn}.json</code>: the line number mappings of the class, if any</li>
+ * </ul>
+ * Class entries are verified against their checksum every time they're read, and {@link #verify()} checks the whole archive at once.
+ */
+public class BoxArchive implements AutoCloseable {
+
+	/**
+	 * The file extension of archives
+	 */
+	public static final String			EXTENSION			= "bxar";
+
+	/**
+	 * The version of the archive format
+	 */
+	public static final int				FORMAT_VERSION		= 1;
+
+	/**
+	 * The archive entry of the index
+	 */
+	public static final String			INDEX_ENTRY			= "META-INF/boxlang/index.json";
+
+	/**
+	 * The algorithm of the checksums
+	 */
+	private static final String			CHECKSUM_ALGORITHM	= "SHA-256";
+
+	/**
+	 * The archive file
+	 */
+	private final Path					path;
+
+	/**
+	 * The open archive
+	 */
+	private final ZipFile				zipFile;
+
+	/**
+	 * The BoxLang version the archive was compiled with
+	 */
+	private final String				boxlangVersion;
+
+	/**
+	 * The entries by the FQN of their class
+	 */
+	private final Map<String, Entry>	entries				= new HashMap<>();
+
+	/**
+	 * A precompiled source in the archive
+	 *
+	 * @param path           The path of the source relative to the base path it was compiled from
+	 * @param fqn            The FQN of the class compiled from it
+	 * @param sourceChecksum The checksum of the source
+	 * @param checksum       The checksum of the compiled classes
+	 */
+	public record Entry( String path, String fqn, String sourceChecksum, String checksum ) {
+
+		/**
+		 * The archive entry of the compiled classes
+		 *
+		 * @return The entry name
+		 */
+		public String classesEntry() {
+			return "classes/" + fqn.replace( '.', '/' ) + ".bxc";
+		}
+
+		/**
+		 * The archive entry of the source map
+		 *
+		 * @return The entry name
+		 */
+		public String sourceMapEntry() {
+			return "sourcemaps/" + fqn.replace( '.', '/' ) + ".json";
+		}
+	}
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Constructors
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Open an archive and read its index
+	 *
+	 * @param path The archive file
+	 *
+	 * @throws BoxRuntimeException If the archive can't be read or is not a BoxLang archive
+	 */
+	@SuppressWarnings( "unchecked" )
+	public BoxArchive( Path path ) {
+		this.path = path;
+		try {
+			this.zipFile = new ZipFile( path.toFile() );
+		} catch ( IOException e ) {
+			throw new BoxRuntimeException( "Unable to open the BoxLang archive [" + path + "]", e );
+		}
+
+		ZipEntry indexEntry = this.zipFile.getEntry( INDEX_ENTRY );
+		if ( indexEntry == null ) {
+			close();
+			throw new BoxRuntimeException( "The file [" + path + "] is not a BoxLang archive, it has no " + INDEX_ENTRY );
+		}
+		Map<String, Object> index;
+		try ( InputStream stream = this.zipFile.getInputStream( indexEntry ) ) {
+			index = ( Map<String, Object> ) JSONUtil.fromJSON( stream );
+		} catch ( IOException e ) {
+			close();
+			throw new BoxRuntimeException( "Unable to read the index of the BoxLang archive [" + path + "]", e );
+		}
+
+		Object formatVersion = index.get( "formatVersion" );
+		if ( ! ( formatVersion instanceof Number number ) || number.intValue() != FORMAT_VERSION ) {
+			close();
+			throw new BoxRuntimeException(
+			    "The BoxLang archive [" + path + "] has format version [" + formatVersion + "], but only version [" + FORMAT_VERSION + "] is supported" );
+		}
+		this.boxlangVersion = ( String ) index.get( "boxlangVersion" );
+		for ( Map<String, Object> entry : ( List<Map<String, Object>> ) index.get( "entries" ) ) {
+			Entry archiveEntry = new Entry(
+			    ( String ) entry.get( "path" ),
+			    ( String ) entry.get( "fqn" ),
+			    ( String ) entry.get( "sourceChecksum" ),
+			    ( String ) entry.get( "checksum" )
+			);
+			this.entries.put( archiveEntry.fqn(), archiveEntry );
+		}
+	}
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Methods
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Get the archive file
+	 *
+	 * @return The path of the archive
+	 */
+	public Path getPath() {
+		return this.path;
+	}
+
+	/**
+	 * Get the BoxLang version the archive was compiled with
+	 *
+	 * @return The version
+	 */
+	public String getBoxlangVersion() {
+		return this.boxlangVersion;
+	}
+
+	/**
+	 * Get the entry for a class
+	 *
+	 * @param fqn The FQN of the class
+	 *
+	 * @return The entry, or null if the class isn't in the archive
+	 */
+	public Entry getEntry( String fqn ) {
+		return this.entries.get( fqn );
+	}
+
+	/**
+	 * Get the number of precompiled sources in the archive
+	 *
+	 * @return The number of entries
+	 */
+	public int size() {
+		return this.entries.size();
+	}
+
+	/**
+	 * Read the compiled classes of an entry, verifying their checksum
+	 *
+	 * @param entry The entry
+	 *
+	 * @throws BoxRuntimeException If the classes are missing or don't match their checksum
+	 *
+	 * @return The classes, in the precompiled source format
+	 */
+	public byte[] readClasses( Entry entry ) {
+		byte[] bytes = readEntry( entry.classesEntry() );
+		if ( bytes == null ) {
+			throw new BoxRuntimeException( "The BoxLang archive [" + this.path + "] is missing the classes of [" + entry.path() + "]" );
+		}
+		if ( !checksum( bytes ).equals( entry.checksum() ) ) {
+			throw new BoxRuntimeException( "The BoxLang archive [" + this.path + "] is corrupted, the classes of [" + entry.path()
+			    + "] don't match their checksum" );
+		}
+		return bytes;
+	}
+
+	/**
+	 * Read the source map of an entry
+	 *
+	 * @param entry The entry
+	 *
+	 * @return The source map JSON, or null if there is none
+	 */
+	public String readSourceMap( Entry entry ) {
+		byte[] bytes = readEntry( entry.sourceMapEntry() );
+		return bytes == null ? null : new String( bytes, StandardCharsets.UTF_8 );
+	}
+
+	/**
+	 * Does a source still match the one an entry was compiled from?
+	 *
+	 * @param entry  The entry
+	 * @param source The source on disk
+	 *
+	 * @return true if the source has the checksum the entry was compiled from
+	 */
+	public boolean matchesSource( Entry entry, Path source ) {
+		try {
+			return checksum( Files.readAllBytes( source ) ).equals( entry.sourceChecksum() );
+		} catch ( IOException e ) {
+			return false;
+		}
+	}
+
+	/**
+	 * Verify the classes of every entry against their checksum
+	 *
+	 * @throws BoxRuntimeException If an entry is missing or corrupted
+	 */
+	public void verify() {
+		this.entries.values().forEach( this::readClasses );
+	}
+
+	/**
+	 * Close the archive
+	 */
+	@Override
+	public void close() {
+		try {
+			this.zipFile.close();
+		} catch ( IOException e ) {
+			throw new BoxIOException( e );
+		}
+	}
+
+	/**
+	 * Read the bytes of an archive entry
+	 *
+	 * @param name The entry name
+	 *
+	 * @return The bytes, or null if there is no such entry
+	 */
+	private byte[] readEntry( String name ) {
+		ZipEntry zipEntry = this.zipFile.getEntry( name );
+		if ( zipEntry == null ) {
+			return null;
+		}
+		try ( InputStream stream = this.zipFile.getInputStream( zipEntry ) ) {
+			return stream.readAllBytes();
+		} catch ( IOException e ) {
+			throw new BoxRuntimeException( "Unable to read [" + name + "] from the BoxLang archive [" + this.path + "]", e );
+		}
+	}
+
+	/**
+	 * Compute the checksum of some bytes
+	 *
+	 * @param bytes The bytes
+	 *
+	 * @return The checksum
+	 */
+	private static String checksum( byte[] bytes ) {
+		return EncryptionUtil.hash( bytes, CHECKSUM_ALGORITHM );
+	}
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Builder
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Collects compiled sources and writes them to an archive. Sources can be added from several threads.
+	 */
+	public static class Builder {
+
+		/**
+		 * The BoxLang version the sources were compiled with
+		 */
+		private final String				boxlangVersion;
+
+		/**
+		 * The entries by their relative path, sorted so archives are reproducible
+		 */
+		private final Map<String, Entry>	entries		= new TreeMap<>();
+
+		/**
+		 * The contents of the archive entries
+		 */
+		private final Map<String, byte[]>	contents	= new LinkedHashMap<>();
+
+		/**
+		 * Create a builder
+		 *
+		 * @param boxlangVersion The BoxLang version the sources are compiled with
+		 */
+		public Builder( String boxlangVersion ) {
+			this.boxlangVersion = boxlangVersion;
+		}
+
+		/**
+		 * Add a compiled source
+		 *
+		 * @param path      The path of the source relative to the base path
+		 * @param fqn       The FQN of the class compiled from it
+		 * @param source    The source
+		 * @param classes   The classes, in the precompiled source format
+		 * @param sourceMap The source map JSON, or null
+		 *
+		 * @return This builder
+		 */
+		public synchronized Builder add( String path, String fqn, byte[] source, byte[] classes, String sourceMap ) {
+			Entry entry = new Entry( path.replace( '\\', '/' ), fqn, checksum( source ), checksum( classes ) );
+			this.entries.put( entry.path(), entry );
+			this.contents.put( entry.classesEntry(), classes );
+			if ( sourceMap != null ) {
+				this.contents.put( entry.sourceMapEntry(), sourceMap.getBytes( StandardCharsets.UTF_8 ) );
+			}
+			return this;
+		}
+
+		/**
+		 * Get the number of sources added
+		 *
+		 * @return The number of entries
+		 */
+		public synchronized int size() {
+			return this.entries.size();
+		}
+
+		/**
+		 * Write the archive
+		 *
+		 * @param target The archive file to write
+		 *
+		 * @throws BoxIOException If the archive can't be written
+		 */
+		public synchronized void write( Path target ) {
+			List<Map<String, Object>> indexEntries = new ArrayList<>();
+			for ( Entry entry : this.entries.values() ) {
+				Map<String, Object> indexEntry = new LinkedHashMap<>();
+				indexEntry.put( "path", entry.path() );
+				indexEntry.put( "fqn", entry.fqn() );
+				indexEntry.put( "sourceChecksum", entry.sourceChecksum() );
+				indexEntry.put( "checksum", entry.checksum() );
+				indexEntries.add( indexEntry );
+			}
+			Map<String, Object> index = new LinkedHashMap<>();
+			index.put( "formatVersion", FORMAT_VERSION );
+			index.put( "boxlangVersion", this.boxlangVersion );
+			index.put( "checksumAlgorithm", CHECKSUM_ALGORITHM );
+			index.put( "entries", indexEntries );
+
+			Manifest manifest = new Manifest();
+			manifest.getMainAttributes().put( Attributes.Name.MANIFEST_VERSION, "1.0" );
+			manifest.getMainAttributes().putValue( "BoxLang-Archive-Version", String.valueOf( FORMAT_VERSION ) );
+			manifest.getMainAttributes().putValue( "BoxLang-Version", this.boxlangVersion );
+
+			try {
+				if ( target.getParent() != null ) {
+					Files.createDirectories( target.getParent() );
+				}
+				try ( OutputStream out = Files.newOutputStream( target ); JarOutputStream jar = new JarOutputStream( out, manifest ) ) {
+					jar.putNextEntry( new ZipEntry( INDEX_ENTRY ) );
+					jar.write( JSONUtil.getJSONBuilder().asString( index ).getBytes( StandardCharsets.UTF_8 ) );
+					jar.closeEntry();
+					for ( Map.Entry<String, byte[]> content : this.contents.entrySet() ) {
+						jar.putNextEntry( new ZipEntry( content.getKey() ) );
+						jar.write( content.getValue() );
+						jar.closeEntry();
+					}
+				}
+			} catch ( IOException e ) {
+				throw new BoxIOException( "Unable to write the BoxLang archive [" + target + "]", e );
+			}
+		}
+	}
+
+}
@@ -5,6 +5,8 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -17,11 +19,13 @@ import ortus.boxlang.compiler.parser.BoxSourceType;
 import ortus.boxlang.compiler.parser.Parser;
 import ortus.boxlang.compiler.parser.ParsingResult;
 import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.config.Configuration;
 import ortus.boxlang.runtime.context.IBoxContext;
 import ortus.boxlang.runtime.dynamic.javaproxy.InterfaceProxyDefinition;
 import ortus.boxlang.runtime.interop.DynamicObject;
 import ortus.boxlang.runtime.runnables.IBoxRunnable;
 import ortus.boxlang.runtime.runnables.IProxyRunnable;
+import ortus.boxlang.runtime.scopes.Key;
 import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
 import ortus.boxlang.runtime.types.exceptions.ParseException;
 import ortus.boxlang.runtime.util.FRTransService;
@@ -49,10 +53,28 @@ public abstract class Boxpiler implements IBoxpiler {
 	 * The directory where the generated classes are stored
 	 */
 	protected Path									classGenerationDirectory;
+	/**
+	 * Decides when compiled templates and classes are checked against their source files
+	 */
+	protected SourceChangeDetector					sourceChangeDetector;
+	/**
+	 * The archives of precompiled templates and classes, consulted before a source is compiled
+	 */
+	protected List<BoxArchive>						archives		= new ArrayList<>();
+	/**
+	 * The bounded class pool of ad hoc scripts and statements
+	 */
+	protected ScriptClassPool						scriptClassPool;
 
 	public Boxpiler() {
-		this.classGenerationDirectory	= Paths.get( BoxRuntime.getInstance().getConfiguration().classGenerationDirectory );
+		Configuration config = BoxRuntime.getInstance().getConfiguration();
+
+		this.classGenerationDirectory	= Paths.get( config.classGenerationDirectory );
 		this.diskClassUtil				= new DiskClassUtil( classGenerationDirectory );
+		this.sourceChangeDetector		= new SourceChangeDetector( SourceChangeDetector.Mode.fromString( config.templateCheck ),
+		    config.templateCheckInterval );
+		this.scriptClassPool			= new ScriptClassPool( config.scriptCacheMaxSize, config.scriptCacheIdleTimeout, this.diskClassUtil );
+		this.classPools.put( ClassInfo.SCRIPT_CLASS_POOL, this.scriptClassPool );
 		this.classGenerationDirectory.toFile().mkdirs();
 
 		// If we are in debug mode, let's clean out the class generation directory
@@ -64,6 +86,8 @@ public abstract class Boxpiler implements IBoxpiler {
 				throw new BoxRuntimeException( "Error cleaning out class generation directory on first run", e );
 			}
 		}
+
+		config.archives.forEach( this::loadArchive );
 	}
 
 	/**
@@ -100,6 +124,111 @@ public abstract class Boxpiler implements IBoxpiler {
 		// I really don't like locking these for concurrency, but we'd nee to have a least a read lock to make this thread safe
 		// Or we'd need a retry strategy if the page pool gets wiped in the middle of a compilation.
 		getClassPools().forEach( ( k, v ) -> v.clear() );
+		this.sourceChangeDetector.reset();
+	}
+
+	/**
+	 * Release the resources held by the boxpiler when the runtime shuts down, like the watcher of the source change detector
+	 */
+	public void shutdown() {
+		this.sourceChangeDetector.close();
+	}
+
+	/**
+	 * Get the detector which decides when compiled templates and classes are checked against their source files
+	 *
+	 * @return The source change detector
+	 */
+	public SourceChangeDetector getSourceChangeDetector() {
+		return this.sourceChangeDetector;
+	}
+
+	/**
+	 * Get the bounded class pool of ad hoc scripts and statements
+	 *
+	 * @return The script class pool
+	 */
+	public ScriptClassPool getScriptClassPool() {
+		return this.scriptClassPool;
+	}
+
+	/**
+	 * Get the archives of precompiled templates and classes
+	 *
+	 * @return The loaded archives
+	 */
+	public List<BoxArchive> getArchives() {
+		return this.archives;
+	}
+
+	/**
+	 * Get the disk class util
+	 *
+	 * @return The disk class util
+	 */
+	public DiskClassUtil getDiskClassUtil() {
+		return this.diskClassUtil;
+	}
+
+	/**
+	 * Open an archive of precompiled templates and classes and verify it. Archives compiled by a different BoxLang version are skipped,
+	 * since their bytecode may not match the runtime.
+	 *
+	 * @param archivePath The path of the archive
+	 *
+	 * @throws BoxRuntimeException If the archive doesn't exist or is corrupted
+	 */
+	protected void loadArchive( String archivePath ) {
+		Path path = Paths.get( archivePath );
+		if ( !Files.isRegularFile( path ) ) {
+			throw new BoxRuntimeException( "The BoxLang archive [" + archivePath + "] does not exist" );
+		}
+		BoxArchive	archive			= new BoxArchive( path );
+		String		runtimeVersion	= BoxRuntime.getInstance().getVersionInfo().getAsString( Key.version );
+		if ( runtimeVersion != null && !runtimeVersion.equals( archive.getBoxlangVersion() ) ) {
+			logger.warn( "Skipping the BoxLang archive [{}], it was compiled with BoxLang [{}] but the runtime is [{}]", archivePath,
+			    archive.getBoxlangVersion(), runtimeVersion );
+			archive.close();
+			return;
+		}
+		try {
+			archive.verify();
+		} catch ( BoxRuntimeException e ) {
+			archive.close();
+			throw e;
+		}
+		logger.debug( "Loaded the BoxLang archive [{}] with {} precompiled sources", archivePath, archive.size() );
+		this.archives.add( archive );
+	}
+
+	/**
+	 * Define the classes of a template or class from an archive, if one has them precompiled. The archive is only used when the source
+	 * is missing or still has the checksum it was compiled from, so a changed source is compiled as usual.
+	 *
+	 * @param classInfo The class info of a template or class with a resolved file path
+	 *
+	 * @return true if the classes were defined from an archive
+	 */
+	protected boolean defineFromArchive( ClassInfo classInfo ) {
+		if ( this.archives.isEmpty() ) {
+			return false;
+		}
+		String fqn = classInfo.fqn().toString();
+		for ( BoxArchive archive : this.archives ) {
+			BoxArchive.Entry entry = archive.getEntry( fqn );
+			if ( entry == null ) {
+				continue;
+			}
+			Path source = classInfo.resolvedFilePath().absolutePath();
+			if ( Files.exists( source ) && !archive.matchesSource( entry, source ) ) {
+				logger.debug( "The source of [{}] changed since the archive [{}] was built, compiling it", fqn, archive.getPath() );
+				return false;
+			}
+			diskClassUtil.writeLineNumbers( classInfo.classPoolName(), fqn, archive.readSourceMap( entry ) );
+			classInfo.getClassLoader().defineClasses( fqn, archive.readClasses( entry ), "The archive entry [" + entry.path() + "] of " + archive.getPath() );
+			return true;
+		}
+		return false;
 	}
 
 	/**
@@ -191,13 +320,13 @@ public abstract class Boxpiler implements IBoxpiler {
 	 */
 	@Override
 	public Class<IBoxRunnable> compileStatement( String source, BoxSourceType type ) {
-		ClassInfo	classInfo	= ClassInfo.forStatement( source, type, this );
-		var			classPool	= getClassPool( classInfo.classPoolName() );
-		classPool.putIfAbsent( classInfo.fqn().toString(), classInfo );
-		classInfo = classPool.get( classInfo.fqn().toString() );
-
-		return classInfo.getDiskClass();
-
+		// Pinned while compiling, so the class loader still finds it in the pool
+		ClassInfo classInfo = this.scriptClassPool.acquire( ClassInfo.forStatement( source, type, this ) );
+		try {
+			return classInfo.getDiskClass();
+		} finally {
+			this.scriptClassPool.release( classInfo );
+		}
 	}
 
 	/**
@@ -210,12 +339,13 @@ public abstract class Boxpiler implements IBoxpiler {
 	 */
 	@Override
 	public Class<IBoxRunnable> compileScript( String source, BoxSourceType type ) {
-		ClassInfo	classInfo	= ClassInfo.forScript( source, type, this );
-		var			classPool	= getClassPool( classInfo.classPoolName() );
-		classPool.putIfAbsent( classInfo.fqn().toString(), classInfo );
-		classInfo = classPool.get( classInfo.fqn().toString() );
-
-		return classInfo.getDiskClass();
+		// Pinned while compiling, so the class loader still finds it in the pool
+		ClassInfo classInfo = this.scriptClassPool.acquire( ClassInfo.forScript( source, type, this ) );
+		try {
+			return classInfo.getDiskClass();
+		} finally {
+			this.scriptClassPool.release( classInfo );
+		}
 	}
 
 	/**
@@ -227,6 +357,10 @@ public abstract class Boxpiler implements IBoxpiler {
 	 */
 	@Override
 	public Class<IBoxRunnable> compileTemplate( ResolvedFilePath resolvedFilePath ) {
+		ClassInfo trusted = getTrustedClassInfo( resolvedFilePath, "boxgenerated.templates" );
+		if ( trusted != null ) {
+			return trusted.getDiskClass();
+		}
 		ClassInfo	classInfo	= ClassInfo.forTemplate( resolvedFilePath, Parser.detectFile( resolvedFilePath.absolutePath().toFile() ), this );
 		var			classPool	= getClassPool( classInfo.classPoolName() );
 		classPool.putIfAbsent( classInfo.fqn().toString(), classInfo );
@@ -272,6 +406,10 @@ public abstract class Boxpiler implements IBoxpiler {
 	 */
 	@Override
 	public Class<IBoxRunnable> compileClass( ResolvedFilePath resolvedFilePath ) {
+		ClassInfo trusted = getTrustedClassInfo( resolvedFilePath, "boxgenerated.boxclass" );
+		if ( trusted != null ) {
+			return trusted.getDiskClass();
+		}
 		ClassInfo	classInfo	= ClassInfo.forClass( resolvedFilePath, Parser.detectFile( resolvedFilePath.absolutePath().toFile() ), this );
 		var			classPool	= getClassPool( classInfo.classPoolName() );
 		classPool.putIfAbsent( classInfo.fqn().toString(), classInfo );
@@ -291,6 +429,25 @@ public abstract class Boxpiler implements IBoxpiler {
 		return classInfo.getDiskClass();
 	}
 
+	/**
+	 * Get the class already compiled from a source file if it can be reused without checking the source for changes
+	 *
+	 * @param resolvedFilePath The source file
+	 * @param packagePrefix    The package prefix of the classes compiled from this kind of source
+	 *
+	 * @return The compiled class info, or null if the source has to be compiled or checked
+	 */
+	private ClassInfo getTrustedClassInfo( ResolvedFilePath resolvedFilePath, String packagePrefix ) {
+		if ( this.sourceChangeDetector.getMode() == SourceChangeDetector.Mode.ALWAYS ) {
+			return null;
+		}
+		ClassInfo cached = getClassPool( ClassInfo.classPoolName( resolvedFilePath ) ).get( resolvedFilePath.getFQN( packagePrefix ).toString() );
+		if ( cached == null || this.sourceChangeDetector.needsCheck( resolvedFilePath.absolutePath() ) ) {
+			return null;
+		}
+		return cached;
+	}
+
 	@Override
 	public Class<IProxyRunnable> compileInterfaceProxy( IBoxContext context, InterfaceProxyDefinition definition ) {
 		ClassInfo	classInfo	= ClassInfo.forInterfaceProxy( definition.name(), definition, this );
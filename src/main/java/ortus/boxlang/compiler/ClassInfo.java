@@ -1,5 +1,6 @@
 package ortus.boxlang.compiler;
 
+import java.io.IOException;
 import java.net.URL;
 import java.nio.file.Paths;
 
@@ -9,6 +10,7 @@ import ortus.boxlang.runtime.dynamic.javaproxy.InterfaceProxyDefinition;
 import ortus.boxlang.runtime.loader.DiskClassLoader;
 import ortus.boxlang.runtime.runnables.IBoxRunnable;
 import ortus.boxlang.runtime.runnables.IProxyRunnable;
+import ortus.boxlang.runtime.types.exceptions.BoxIOException;
 import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
 import ortus.boxlang.runtime.util.BoxFQN;
 import ortus.boxlang.runtime.util.FQN;
@@ -30,6 +32,11 @@ public record ClassInfo(
     IBoxpiler boxpiler,
     ResolvedFilePath resolvedFilePath ) {
 
+	/**
+	 * The class pool of ad hoc scripts and statements, which is bounded, unlike the other pools
+	 */
+	public static final String SCRIPT_CLASS_POOL = "__ad_hoc_scripts__";
+
 	/**
 	 * Hash Code
 	 */
@@ -177,6 +184,25 @@ public record ClassInfo(
 		}
 	}
 
+	/**
+	 * Close the class loader, so it can be garbage collected along with its classes once nothing references them. The class files stay on
+	 * disk, and the next call to {@link #getClassLoader()} creates a new loader.
+	 */
+	public void unload() {
+		DiskClassLoader classLoader;
+		synchronized ( this ) {
+			classLoader				= diskClassLoader[ 0 ];
+			diskClassLoader[ 0 ]	= null;
+		}
+		if ( classLoader != null ) {
+			try {
+				classLoader.close();
+			} catch ( IOException e ) {
+				throw new BoxIOException( e );
+			}
+		}
+	}
+
 	/**
 	 * Get a class for a class name from disk
 	 *
@@ -218,9 +244,23 @@ public record ClassInfo(
 	}
 
 	public String classPoolName() {
-		if ( resolvedFilePath() != null ) {
-			if ( resolvedFilePath().mappingPath() != null ) {
-				return resolvedFilePath().mappingPath().toString();
+		if ( resolvedFilePath() == null && packageName().equals( "boxgenerated.scripts" ) ) {
+			return SCRIPT_CLASS_POOL;
+		}
+		return classPoolName( resolvedFilePath() );
+	}
+
+	/**
+	 * Get the name of the class pool the classes compiled from a source belong to
+	 *
+	 * @param resolvedFilePath The source file, or null for ad hoc source
+	 *
+	 * @return The class pool name
+	 */
+	public static String classPoolName( ResolvedFilePath resolvedFilePath ) {
+		if ( resolvedFilePath != null ) {
+			if ( resolvedFilePath.mappingPath() != null ) {
+				return resolvedFilePath.mappingPath().toString();
 			} else {
 				return "__empty_mapping__";
 			}
@@ -74,15 +74,29 @@ public class DiskClassUtil {
 	 *
 	 * @returns array of maps. Null if not found.
 	 */
-	@SuppressWarnings( "unchecked" )
 	public SourceMap readLineNumbers( String classPoolName, String fqn ) {
+		String json = readLineNumbersJSON( classPoolName, fqn );
+		if ( json == null ) {
+			return null;
+		}
+		return JSONUtil.fromJSON( SourceMap.class, json );
+	}
+
+	/**
+	 * Read the line numbers JSON as it was written
+	 *
+	 * @param classPoolName The name of the class pool
+	 * @param fqn           The fully qualified name of the class
+	 *
+	 * @return The JSON. Null if not found.
+	 */
+	public String readLineNumbersJSON( String classPoolName, String fqn ) {
 		if ( !hasLineNumbers( classPoolName, fqn ) ) {
 			return null;
 		}
 		Path diskPath = generateDiskpath( classPoolName, fqn, "json" );
 		try {
-			String json = new String( Files.readAllBytes( diskPath ) );
-			return JSONUtil.fromJSON( SourceMap.class, json );
+			return new String( Files.readAllBytes( diskPath ) );
 		} catch ( IOException e ) {
 			throw new BoxRuntimeException( "Unable to read line number JSON file from disk", e );
 		}
@@ -149,6 +163,32 @@ public class DiskClassUtil {
 		return bytes;
 	}
 
+	/**
+	 * Delete the class file of a class and of all its inner classes, along with its line numbers and Java source, if any
+	 *
+	 * @param classPoolName The name of the class pool
+	 * @param fqn           The fully qualified name of the class
+	 */
+	public void deleteClassFiles( String classPoolName, String fqn ) {
+		Path	diskPath		= generateDiskpath( classPoolName, fqn, "class" );
+		File	directory		= diskPath.getParent().toFile();
+		String	outerClassName	= diskPath.getFileName().toString().replace( ".class", "" );
+		File[]	classFiles		= directory.listFiles( file -> file.getName().equals( outerClassName + ".class" )
+		    || file.getName().equals( outerClassName + ".json" )
+		    || file.getName().equals( outerClassName + ".java" )
+		    || ( file.getName().startsWith( outerClassName + "$" ) && file.getName().endsWith( ".class" ) ) );
+
+		if ( classFiles != null ) {
+			for ( File classFile : classFiles ) {
+				try {
+					Files.deleteIfExists( classFile.toPath() );
+				} catch ( IOException e ) {
+					throw new BoxRuntimeException( "Unable to delete class file from disk", e );
+				}
+			}
+		}
+	}
+
 	public boolean isJavaBytecode( File sourceFile ) {
 		try ( FileInputStream fis = new FileInputStream( sourceFile );
 		    DataInputStream dis = new DataInputStream( fis ) ) {
@@ -90,4 +90,6 @@ public interface IBoxpiler {
 	void compileClassInfo( String classPoolName, String FQN );
 
 	void clearPagePool();
+
+	void shutdown();
 }
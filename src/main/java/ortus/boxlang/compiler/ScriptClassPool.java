@@ -0,0 +1,378 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.compiler;
+
+import java.lang.ref.Cleaner;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ortus.boxlang.runtime.loader.DiskClassLoader;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.Struct;
+
+/**
+ * The class pool of ad-hoc scripts and statements, like the ones run by <code>evaluate()</code> or a JSR-223 <code>eval()</code>.
+ * <p>
+ * Every distinct source is compiled to its own class, with its own class loader, so unlike the pools of templates and classes this pool
+ * is bounded: it holds at most <code>maxSize</code> scripts, and drops the ones unused for longer than the idle timeout. A dropped script's
+ * class loader is closed, so once nothing runs the script anymore the loader and its classes can be unloaded. Its class files stay on disk
+ * until the loader is garbage collected, so a script still running can load its inner classes, and are deleted then unless the same source
+ * was pooled again in the meantime, so the class generation directory doesn't grow with every script ever run.
+ * <p>
+ * Expiry is checked whenever a script is acquired, starting from the least recently used one, so there is no background thread. A script
+ * is pinned from the time it's acquired until it's released, so it can't be dropped while it's being compiled and its class loader looks
+ * it up in the pool.
+ */
+public class ScriptClassPool extends AbstractMap<String, ClassInfo> {
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Private Properties
+	 * --------------------------------------------------------------------------
+	 */
+
+	private static final Logger					logger		= LoggerFactory.getLogger( ScriptClassPool.class );
+
+	/**
+	 * Deletes the class files of dropped scripts once their class loaders are garbage collected
+	 */
+	private static final Cleaner				cleaner		= Cleaner.create();
+
+	/**
+	 * The disk store the class files of the scripts are written to, or null to leave them there
+	 */
+	private final DiskClassUtil					diskClassUtil;
+
+	/**
+	 * The max number of scripts to keep, or 0 for no limit
+	 */
+	private final int						maxSize;
+
+	/**
+	 * The milliseconds a script can go unused before it's dropped, or 0 to keep it
+	 */
+	private final long						maxIdleMillis;
+
+	/**
+	 * The scripts by FQN, least recently used first
+	 */
+	private final LinkedHashMap<String, Slot>	slots		= new LinkedHashMap<>( 64, 0.75f, true );
+
+	/**
+	 * Acquisitions that found the script compiled
+	 */
+	private final AtomicLong					hits		= new AtomicLong();
+
+	/**
+	 * Acquisitions that had to compile the script
+	 */
+	private final AtomicLong					misses		= new AtomicLong();
+
+	/**
+	 * Scripts dropped because the pool was full or they were idle
+	 */
+	private final AtomicLong					evictions	= new AtomicLong();
+
+	/**
+	 * A pooled script, when it was last used and how many callers pinned it
+	 */
+	private static final class Slot {
+
+		private final ClassInfo	classInfo;
+		private long			lastAccess;
+		private int				pins;
+
+		private Slot( ClassInfo classInfo, long lastAccess ) {
+			this.classInfo	= classInfo;
+			this.lastAccess	= lastAccess;
+		}
+	}
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Constructor(s)
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Create a script class pool
+	 *
+	 * @param maxSize            The max number of scripts to keep, or 0 for no limit
+	 * @param idleTimeoutSeconds The seconds a script can go unused before it's dropped, or 0 to keep it
+	 */
+	public ScriptClassPool( int maxSize, long idleTimeoutSeconds ) {
+		this( maxSize, idleTimeoutSeconds, null );
+	}
+
+	/**
+	 * Create a script class pool which deletes the class files of the scripts it drops
+	 *
+	 * @param maxSize            The max number of scripts to keep, or 0 for no limit
+	 * @param idleTimeoutSeconds The seconds a script can go unused before it's dropped, or 0 to keep it
+	 * @param diskClassUtil      The disk store the class files of the scripts are written to, or null to leave them there
+	 */
+	public ScriptClassPool( int maxSize, long idleTimeoutSeconds, DiskClassUtil diskClassUtil ) {
+		this.maxSize		= Math.max( 0, maxSize );
+		this.maxIdleMillis	= Math.max( 0, idleTimeoutSeconds ) * 1000;
+		this.diskClassUtil	= diskClassUtil;
+	}
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Methods
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Get the pooled class info for a script, adding the given one if the script isn't pooled yet. This is what counts as a hit or a miss.
+	 * The script is pinned, so it isn't dropped until it's {@link #release(ClassInfo) released}.
+	 *
+	 * @param classInfo The class info of the script
+	 *
+	 * @return The pooled class info
+	 */
+	public ClassInfo acquire( ClassInfo classInfo ) {
+		List<ClassInfo>	evicted	= new ArrayList<>();
+		Slot			slot;
+		synchronized ( this.slots ) {
+			long now = System.currentTimeMillis();
+			slot = this.slots.get( classInfo.fqn().toString() );
+			if ( slot != null ) {
+				slot.lastAccess = now;
+				this.hits.incrementAndGet();
+			} else {
+				this.misses.incrementAndGet();
+				slot = new Slot( classInfo, now );
+				this.slots.put( classInfo.fqn().toString(), slot );
+			}
+			slot.pins++;
+			evict( now, evicted );
+		}
+		unload( evicted );
+		return slot.classInfo;
+	}
+
+	/**
+	 * Unpin a script acquired with {@link #acquire(ClassInfo)}, once it's compiled and loaded
+	 *
+	 * @param classInfo The pooled class info of the script
+	 */
+	public void release( ClassInfo classInfo ) {
+		synchronized ( this.slots ) {
+			Slot slot = this.slots.get( classInfo.fqn().toString() );
+			if ( slot != null && slot.classInfo == classInfo && slot.pins > 0 ) {
+				slot.pins--;
+			}
+		}
+	}
+
+	/**
+	 * Get a pooled script without counting a hit or a miss. This is how the class loaders find the script they compile.
+	 *
+	 * @param key The FQN of the script
+	 *
+	 * @return The class info, or null if the script isn't pooled
+	 */
+	@Override
+	public ClassInfo get( Object key ) {
+		synchronized ( this.slots ) {
+			Slot slot = this.slots.get( key );
+			if ( slot == null ) {
+				return null;
+			}
+			slot.lastAccess = System.currentTimeMillis();
+			return slot.classInfo;
+		}
+	}
+
+	@Override
+	public boolean containsKey( Object key ) {
+		synchronized ( this.slots ) {
+			return this.slots.containsKey( key );
+		}
+	}
+
+	@Override
+	public ClassInfo put( String key, ClassInfo value ) {
+		List<ClassInfo>	evicted	= new ArrayList<>();
+		Slot			previous;
+		synchronized ( this.slots ) {
+			long now = System.currentTimeMillis();
+			previous = this.slots.put( key, new Slot( value, now ) );
+			evict( now, evicted );
+		}
+		unload( evicted );
+		return previous == null ? null : previous.classInfo;
+	}
+
+	@Override
+	public ClassInfo putIfAbsent( String key, ClassInfo value ) {
+		List<ClassInfo> evicted = new ArrayList<>();
+		synchronized ( this.slots ) {
+			long	now		= System.currentTimeMillis();
+			Slot	slot	= this.slots.get( key );
+			if ( slot != null ) {
+				slot.lastAccess = now;
+				return slot.classInfo;
+			}
+			this.slots.put( key, new Slot( value, now ) );
+			evict( now, evicted );
+		}
+		unload( evicted );
+		return null;
+	}
+
+	@Override
+	public ClassInfo remove( Object key ) {
+		Slot slot;
+		synchronized ( this.slots ) {
+			slot = this.slots.remove( key );
+		}
+		if ( slot == null ) {
+			return null;
+		}
+		unload( List.of( slot.classInfo ) );
+		return slot.classInfo;
+	}
+
+	/**
+	 * Drop every script, closing their class loaders
+	 */
+	@Override
+	public void clear() {
+		List<ClassInfo> all = new ArrayList<>();
+		synchronized ( this.slots ) {
+			this.slots.values().forEach( slot -> all.add( slot.classInfo ) );
+			this.slots.clear();
+		}
+		unload( all );
+	}
+
+	@Override
+	public int size() {
+		synchronized ( this.slots ) {
+			return this.slots.size();
+		}
+	}
+
+	/**
+	 * A snapshot of the pooled scripts
+	 *
+	 * @return The entries, which don't change with the pool
+	 */
+	@Override
+	public Set<Map.Entry<String, ClassInfo>> entrySet() {
+		Map<String, ClassInfo> snapshot = new LinkedHashMap<>();
+		synchronized ( this.slots ) {
+			this.slots.forEach( ( key, slot ) -> snapshot.put( key, slot.classInfo ) );
+		}
+		return snapshot.entrySet();
+	}
+
+	/**
+	 * Get the pool statistics
+	 *
+	 * @return A struct with the <code>hits</code>, <code>misses</code>, <code>evictions</code>, <code>size</code> and <code>maxSize</code>
+	 */
+	public IStruct getStats() {
+		return Struct.of(
+		    "hits", this.hits.get(),
+		    "misses", this.misses.get(),
+		    "evictions", this.evictions.get(),
+		    "size", size(),
+		    "maxSize", this.maxSize
+		);
+	}
+
+	/**
+	 * Remove the idle scripts and the least recently used ones over the max size, skipping the pinned ones. Must be called holding the lock.
+	 *
+	 * @param now     The current time
+	 * @param evicted Collects the removed scripts, to unload them outside the lock
+	 */
+	private void evict( long now, List<ClassInfo> evicted ) {
+		Iterator<Slot> iterator = this.slots.values().iterator();
+		while ( iterator.hasNext() ) {
+			Slot	slot	= iterator.next();
+			boolean	full	= this.maxSize > 0 && this.slots.size() > this.maxSize;
+			boolean	idle	= this.maxIdleMillis > 0 && now - slot.lastAccess > this.maxIdleMillis;
+			if ( !full && !idle ) {
+				// Everything after this one was used more recently
+				return;
+			}
+			if ( slot.pins > 0 ) {
+				// Still being compiled, it's dropped once released and full or idle again
+				continue;
+			}
+			iterator.remove();
+			this.evictions.incrementAndGet();
+			evicted.add( slot.classInfo );
+		}
+	}
+
+	/**
+	 * Close the class loaders of removed scripts, and delete their class files once the loaders are garbage collected
+	 *
+	 * @param classInfos The removed scripts
+	 */
+	private void unload( List<ClassInfo> classInfos ) {
+		for ( ClassInfo classInfo : classInfos ) {
+			DiskClassLoader	classLoader	= classInfo.diskClassLoader()[ 0 ];
+			String			fqn			= classInfo.fqn().toString();
+			classInfo.unload();
+			if ( this.diskClassUtil == null ) {
+				continue;
+			}
+			if ( classLoader == null ) {
+				deleteClassFiles( fqn );
+			} else {
+				// Only the name is captured, the action must not keep the loader reachable
+				cleaner.register( classLoader, () -> deleteClassFiles( fqn ) );
+			}
+		}
+	}
+
+	/**
+	 * Delete the class files of a dropped script, unless the same source was pooled again since. This holds the lock, so the script can't be
+	 * pooled and loaded from the files while they are deleted.
+	 *
+	 * @param fqn The FQN of the script
+	 */
+	private void deleteClassFiles( String fqn ) {
+		synchronized ( this.slots ) {
+			if ( this.slots.containsKey( fqn ) ) {
+				return;
+			}
+			try {
+				this.diskClassUtil.deleteClassFiles( ClassInfo.SCRIPT_CLASS_POOL, fqn );
+			} catch ( RuntimeException e ) {
+				logger.warn( "Unable to delete the class files of script [{}]: {}", fqn, e.getMessage() );
+			}
+		}
+	}
+
+}
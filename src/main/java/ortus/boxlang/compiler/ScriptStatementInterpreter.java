@@ -0,0 +1,283 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.compiler;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import ortus.boxlang.compiler.ast.BoxExpression;
+import ortus.boxlang.compiler.ast.BoxNode;
+import ortus.boxlang.compiler.ast.expression.BoxBinaryOperation;
+import ortus.boxlang.compiler.ast.expression.BoxBooleanLiteral;
+import ortus.boxlang.compiler.ast.expression.BoxDecimalLiteral;
+import ortus.boxlang.compiler.ast.expression.BoxIntegerLiteral;
+import ortus.boxlang.compiler.ast.expression.BoxNull;
+import ortus.boxlang.compiler.ast.expression.BoxParenthesis;
+import ortus.boxlang.compiler.ast.expression.BoxStringConcat;
+import ortus.boxlang.compiler.ast.expression.BoxStringLiteral;
+import ortus.boxlang.compiler.ast.expression.BoxUnaryOperation;
+import ortus.boxlang.compiler.ast.statement.BoxExpressionStatement;
+import ortus.boxlang.compiler.parser.BoxSourceType;
+import ortus.boxlang.compiler.parser.ParsingResult;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.dynamic.casters.BooleanCaster;
+import ortus.boxlang.runtime.loader.ImportDefinition;
+import ortus.boxlang.runtime.operators.Concat;
+import ortus.boxlang.runtime.operators.Divide;
+import ortus.boxlang.runtime.operators.IntegerDivide;
+import ortus.boxlang.runtime.operators.Minus;
+import ortus.boxlang.runtime.operators.Modulus;
+import ortus.boxlang.runtime.operators.Multiply;
+import ortus.boxlang.runtime.operators.Negate;
+import ortus.boxlang.runtime.operators.Not;
+import ortus.boxlang.runtime.operators.Plus;
+import ortus.boxlang.runtime.operators.Power;
+import ortus.boxlang.runtime.operators.XOR;
+import ortus.boxlang.runtime.runnables.BoxScript;
+import ortus.boxlang.runtime.types.util.MathUtil;
+import ortus.boxlang.runtime.util.ResolvedFilePath;
+
+/**
+ * Runs ad hoc statements which are a single pure expression, like <code>1 + 2</code> or <code>"a" &amp; "b"</code>, by walking their
+ * AST instead of compiling them to a class.
+ * <p>
+ * Compiling a statement costs a class and a class loader, which is wasted on the small expressions tools tend to evaluate over and over.
+ * Only literals and the arithmetic, boolean and concatenation operators are interpreted, since they can't touch variables, scopes or
+ * functions. They call the same operators the compiled code does, so the results are the same. Anything else isn't interpreted, and is
+ * compiled as usual.
+ * <p>
+ * Not to be confused with the runtime's <code>ortus.boxlang.runtime.dynamic.ExpressionInterpreter</code>, which resolves variable
+ * references from strings.
+ */
+public class ScriptStatementInterpreter {
+
+	/**
+	 * Private constructor, this is a static utility
+	 */
+	private ScriptStatementInterpreter() {
+	}
+
+	/**
+	 * Interpret a parsed statement
+	 *
+	 * @param result     The parsing result of the statement
+	 * @param source     The source of the statement
+	 * @param sourceType The type of the source
+	 *
+	 * @return The script which evaluates the expression, or null if the statement isn't a single pure expression
+	 */
+	public static BoxScript interpret( ParsingResult result, String source, BoxSourceType sourceType ) {
+		if ( !result.isCorrect() || ! ( result.getRoot() instanceof ortus.boxlang.compiler.ast.BoxScript script ) ) {
+			return null;
+		}
+		if ( script.getStatements().size() != 1 || ! ( script.getStatements().get( 0 ) instanceof BoxExpressionStatement statement ) ) {
+			return null;
+		}
+		Supplier<Object> expression = compile( statement.getExpression() );
+		if ( expression == null ) {
+			return null;
+		}
+		return new InterpretedScript( expression, source, sourceType, script );
+	}
+
+	/**
+	 * Turn an expression into a supplier of its value
+	 *
+	 * @param expression The expression
+	 *
+	 * @return The supplier, or null if the expression isn't pure
+	 */
+	private static Supplier<Object> compile( BoxExpression expression ) {
+		return switch ( expression ) {
+			case BoxIntegerLiteral literal -> constant( integer( literal.getValue() ) );
+			case BoxDecimalLiteral literal -> decimal( literal.getValue() );
+			case BoxStringLiteral literal -> constant( literal.getValue() );
+			case BoxBooleanLiteral literal -> constant( literal.getValue() );
+			case BoxNull literal -> () -> null;
+			case BoxParenthesis parenthesis -> compile( parenthesis.getExpression() );
+			case BoxStringConcat concat -> concat( concat.getValues() );
+			case BoxUnaryOperation operation -> unary( operation );
+			case BoxBinaryOperation operation -> binary( operation );
+			default -> null;
+		};
+	}
+
+	/**
+	 * Parse an integer literal the way the compiler types it: an int up to 10 chars, a long up to 19 and a BigDecimal above
+	 *
+	 * @param value The literal
+	 *
+	 * @return The number, or null if it doesn't fit the type the compiler would pick
+	 */
+	private static Number integer( String value ) {
+		try {
+			if ( value.length() <= 10 ) {
+				return Integer.valueOf( value );
+			} else if ( value.length() <= 19 ) {
+				return Long.valueOf( value );
+			}
+			return new BigDecimal( value );
+		} catch ( NumberFormatException e ) {
+			return null;
+		}
+	}
+
+	/**
+	 * A supplier of a decimal literal. Interpreted statements are cached, so the precision is read when the statement runs, not when it's
+	 * interpreted: a <code>BigDecimal</code> with high precision math, like the compiled code creates, otherwise a double.
+	 *
+	 * @param value The literal
+	 *
+	 * @return The supplier, or null if the literal isn't a number
+	 */
+	private static Supplier<Object> decimal( String value ) {
+		try {
+			BigDecimal	precise	= new BigDecimal( value );
+			Double		plain	= Double.valueOf( value );
+			return () -> MathUtil.isHighPrecisionMath() ? precise : plain;
+		} catch ( NumberFormatException e ) {
+			return null;
+		}
+	}
+
+	/**
+	 * A supplier of a literal value
+	 *
+	 * @param value The value, or null if the literal couldn't be read
+	 *
+	 * @return The supplier, or null if there is no value
+	 */
+	private static Supplier<Object> constant( Object value ) {
+		return value == null ? null : () -> value;
+	}
+
+	/**
+	 * A supplier of the concatenation of values, with <code>&amp;</code> or in a string with interpolation
+	 *
+	 * @param values The values
+	 *
+	 * @return The supplier, or null if a value isn't pure
+	 */
+	private static Supplier<Object> concat( List<BoxExpression> values ) {
+		List<Supplier<Object>> parts = new ArrayList<>();
+		for ( BoxExpression value : values ) {
+			Supplier<Object> part = compile( value );
+			if ( part == null ) {
+				return null;
+			}
+			parts.add( part );
+		}
+		if ( parts.size() == 1 ) {
+			return parts.get( 0 );
+		}
+		return () -> Concat.invoke( parts.stream().map( Supplier::get ).toArray() );
+	}
+
+	/**
+	 * A supplier of a unary operation. Increments and decrements need a variable, so they are never pure.
+	 *
+	 * @param operation The operation
+	 *
+	 * @return The supplier, or null if the operation isn't pure
+	 */
+	private static Supplier<Object> unary( BoxUnaryOperation operation ) {
+		Supplier<Object> expr = compile( operation.getExpr() );
+		if ( expr == null ) {
+			return null;
+		}
+		return switch ( operation.getOperator() ) {
+			case Plus -> expr;
+			case Minus -> () -> Negate.invoke( expr.get() );
+			case Not -> () -> Not.invoke( expr.get() );
+			default -> null;
+		};
+	}
+
+	/**
+	 * A supplier of a binary operation
+	 *
+	 * @param operation The operation
+	 *
+	 * @return The supplier, or null if the operation isn't pure
+	 */
+	private static Supplier<Object> binary( BoxBinaryOperation operation ) {
+		Supplier<Object>	left	= compile( operation.getLeft() );
+		Supplier<Object>	right	= compile( operation.getRight() );
+		if ( left == null || right == null ) {
+			return null;
+		}
+		return switch ( operation.getOperator() ) {
+			case Plus -> () -> Plus.invoke( left.get(), right.get() );
+			case Minus -> () -> Minus.invoke( left.get(), right.get() );
+			case Star -> () -> Multiply.invoke( left.get(), right.get() );
+			case Slash -> () -> Divide.invoke( left.get(), right.get() );
+			case Backslash -> () -> IntegerDivide.invoke( left.get(), right.get() );
+			case Power -> () -> Power.invoke( left.get(), right.get() );
+			case Mod -> () -> Modulus.invoke( left.get(), right.get() );
+			case Xor -> () -> XOR.invoke( left.get(), right.get() );
+			case And -> () -> BooleanCaster.cast( left.get() ) && BooleanCaster.cast( right.get() );
+			case Or -> () -> BooleanCaster.cast( left.get() ) || BooleanCaster.cast( right.get() );
+			default -> null;
+		};
+	}
+
+	/**
+	 * A statement run by evaluating its expression
+	 */
+	private static final class InterpretedScript extends BoxScript {
+
+		private static final ResolvedFilePath	path	= ResolvedFilePath.of( "", "", "", "unknown" );
+
+		private final Supplier<Object>			expression;
+
+		private final BoxSourceType				sourceType;
+
+		private InterpretedScript( Supplier<Object> expression, String source, BoxSourceType sourceType, BoxNode ast ) {
+			this.expression		= expression;
+			this.source			= source;
+			this.sourceType		= sourceType;
+			this.ast			= ast;
+			this.compileVersion	= 1L;
+			this.compiledOn		= LocalDateTime.now();
+		}
+
+		@Override
+		public Object _invoke( IBoxContext context ) {
+			return this.expression.get();
+		}
+
+		@Override
+		public List<ImportDefinition> getImports() {
+			return List.of();
+		}
+
+		@Override
+		public ResolvedFilePath getRunnablePath() {
+			return path;
+		}
+
+		@Override
+		public BoxSourceType getSourceType() {
+			return this.sourceType;
+		}
+	}
+
+}
@@ -0,0 +1,316 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.compiler;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
+
+/**
+ * Decides when a compiled template or class has to be checked against its source file before it's reused.
+ * <p>
+ * Checking means reading the last modified date of the source on disk, which is a stat call on every include, template execution and
+ * class creation. Depending on the {@link Mode}, the detector lets the boxpiler skip that check for sources that were checked recently,
+ * that a file system watcher didn't report as changed, or altogether.
+ */
+public class SourceChangeDetector {
+
+	/**
+	 * How sources are checked for changes
+	 */
+	public enum Mode {
+
+		/**
+		 * Check the source every time it's used
+		 */
+		ALWAYS,
+		/**
+		 * Check the source at most once per interval
+		 */
+		INTERVAL,
+		/**
+		 * Only check sources a file system watcher reported as changed
+		 */
+		WATCH,
+		/**
+		 * Never check a source once it's compiled, until the class pools are cleared
+		 */
+		NEVER;
+
+		/**
+		 * Get a mode by its name, ignoring case
+		 *
+		 * @param name The name of the mode
+		 *
+		 * @throws BoxRuntimeException If there is no such mode
+		 *
+		 * @return The mode
+		 */
+		public static Mode fromString( String name ) {
+			for ( Mode mode : values() ) {
+				if ( mode.name().equalsIgnoreCase( name.trim() ) ) {
+					return mode;
+				}
+			}
+			throw new BoxRuntimeException( "Invalid template check mode [" + name + "]. Valid modes are: always, interval, watch, never" );
+		}
+	}
+
+	/**
+	 * Logger
+	 */
+	private static final Logger			logger		= LoggerFactory.getLogger( SourceChangeDetector.class );
+
+	/**
+	 * The mode
+	 */
+	private final Mode					mode;
+
+	/**
+	 * The milliseconds between checks of a source in interval mode
+	 */
+	private final long					intervalMillis;
+
+	/**
+	 * The last time each source was checked, in interval mode
+	 */
+	private final Map<Path, Long>		lastChecked	= new ConcurrentHashMap<>();
+
+	/**
+	 * The directories registered with the watcher, in watch mode
+	 */
+	private final Map<Path, Set<Path>>	watched		= new ConcurrentHashMap<>();
+
+	/**
+	 * The directories that can't be watched, in watch mode
+	 */
+	private final Set<Path>				unwatchable	= ConcurrentHashMap.newKeySet();
+
+	/**
+	 * The sources the watcher reported as changed since they were last checked, in watch mode
+	 */
+	private final Set<Path>				changed		= ConcurrentHashMap.newKeySet();
+
+	/**
+	 * The watch service, created when the first source is watched
+	 */
+	private volatile WatchService		watchService;
+
+	/**
+	 * The daemon thread processing the events of the watch service
+	 */
+	private Thread						watchThread;
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Constructors
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Create a detector
+	 *
+	 * @param mode            The mode
+	 * @param intervalSeconds The seconds between checks of a source in interval mode
+	 */
+	public SourceChangeDetector( Mode mode, long intervalSeconds ) {
+		this.mode			= mode;
+		this.intervalMillis	= Math.max( 0, intervalSeconds ) * 1000;
+	}
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Methods
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Get the mode
+	 *
+	 * @return The mode
+	 */
+	public Mode getMode() {
+		return this.mode;
+	}
+
+	/**
+	 * Does an already compiled source have to be checked for changes before it's reused? In interval and watch mode, a true answer
+	 * counts as the check, so the same source won't be checked again until the interval passed or the watcher reports another change.
+	 * In watch mode, a source that isn't watched yet is registered with the watcher before it's checked, so no change goes unnoticed.
+	 *
+	 * @param source The absolute path of the source file
+	 *
+	 * @return true if the source has to be checked
+	 */
+	public boolean needsCheck( Path source ) {
+		return switch ( this.mode ) {
+			case ALWAYS -> true;
+			case NEVER -> false;
+			case INTERVAL -> {
+				long	now		= System.currentTimeMillis();
+				Long	last	= this.lastChecked.get( source );
+				if ( last != null && now - last < this.intervalMillis ) {
+					yield false;
+				}
+				this.lastChecked.put( source, now );
+				yield true;
+			}
+			case WATCH -> this.changed.remove( source ) || !watch( source );
+		};
+	}
+
+	/**
+	 * Forget every source, so they're all checked again on their next use. This is called when the class pools are cleared.
+	 */
+	public void reset() {
+		this.lastChecked.clear();
+		this.changed.clear();
+		this.watched.values().forEach( Set::clear );
+	}
+
+	/**
+	 * Stop the watch service and the thread processing its events, e.g. when the runtime shuts down. Every source is forgotten, so a
+	 * detector used again starts a new watch service and checks every source on its next use.
+	 */
+	public void close() {
+		WatchService	service;
+		Thread			thread;
+		synchronized ( this ) {
+			service				= this.watchService;
+			thread				= this.watchThread;
+			this.watchService	= null;
+			this.watchThread	= null;
+		}
+		if ( service != null ) {
+			try {
+				service.close();
+			} catch ( IOException e ) {
+				logger.warn( "Unable to close the source watch service: {}", e.getMessage() );
+			}
+		}
+		if ( thread != null ) {
+			thread.interrupt();
+		}
+		this.watched.clear();
+		this.unwatchable.clear();
+		reset();
+	}
+
+	/**
+	 * Register a source with the watcher. If its directory can't be watched, the source is simply checked on every use.
+	 *
+	 * @param source The absolute path of the source file
+	 *
+	 * @return true if the source already was registered, false if it was just registered or can't be watched
+	 */
+	private boolean watch( Path source ) {
+		Path directory = source.getParent();
+		if ( directory == null || this.unwatchable.contains( directory ) ) {
+			return false;
+		}
+		Set<Path> sources = this.watched.computeIfAbsent( directory, dir -> {
+			try {
+				dir.register( getWatchService(), StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY,
+				    StandardWatchEventKinds.ENTRY_DELETE );
+				return ConcurrentHashMap.newKeySet();
+			} catch ( IOException | ClosedWatchServiceException e ) {
+				logger.warn( "Unable to watch directory [{}] for source changes, its files will be checked on every use: {}", dir, e.getMessage() );
+				this.unwatchable.add( dir );
+				return null;
+			}
+		} );
+		return sources != null && !sources.add( source );
+	}
+
+	/**
+	 * Get the watch service, starting it and the daemon thread that processes its events the first time
+	 *
+	 * @return The watch service
+	 *
+	 * @throws IOException If the watch service can't be created
+	 */
+	private WatchService getWatchService() throws IOException {
+		if ( this.watchService == null ) {
+			synchronized ( this ) {
+				if ( this.watchService == null ) {
+					WatchService	service	= FileSystems.getDefault().newWatchService();
+					Thread			thread	= new Thread( () -> processEvents( service ), "BoxLang-SourceChangeDetector" );
+					thread.setDaemon( true );
+					thread.start();
+					this.watchThread	= thread;
+					this.watchService	= service;
+				}
+			}
+		}
+		return this.watchService;
+	}
+
+	/**
+	 * Mark the sources the watcher reports as changed until the watch service is closed
+	 *
+	 * @param service The watch service
+	 */
+	private void processEvents( WatchService service ) {
+		while ( true ) {
+			WatchKey key;
+			try {
+				key = service.take();
+			} catch ( InterruptedException | ClosedWatchServiceException e ) {
+				return;
+			}
+
+			Path		directory	= ( Path ) key.watchable();
+			Set<Path>	sources		= this.watched.get( directory );
+			if ( sources != null ) {
+				for ( WatchEvent<?> event : key.pollEvents() ) {
+					if ( event.kind() == StandardWatchEventKinds.OVERFLOW ) {
+						// Events were lost, so any source in the directory may have changed
+						this.changed.addAll( sources );
+					} else if ( event.context() instanceof Path fileName ) {
+						Path source = directory.resolve( fileName );
+						if ( sources.contains( source ) ) {
+							this.changed.add( source );
+						}
+					}
+				}
+			}
+
+			if ( !key.reset() ) {
+				// The directory is gone, so go back to checking its sources on every use
+				this.watched.remove( directory );
+				if ( sources != null ) {
+					this.changed.addAll( sources );
+				}
+			}
+		}
+	}
+
+}
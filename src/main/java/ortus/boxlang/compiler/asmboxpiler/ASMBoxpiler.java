@@ -77,6 +77,9 @@ public class ASMBoxpiler extends Boxpiler {
 		}
 
 		if ( classInfo.resolvedFilePath() != null ) {
+			if ( defineFromArchive( classInfo ) ) {
+				return;
+			}
 			File sourceFile = classInfo.resolvedFilePath().absolutePath().toFile();
 			// Check if the source file contains Java bytecode by reading the first few bytes
 			if ( diskClassUtil.isJavaBytecode( sourceFile ) ) {
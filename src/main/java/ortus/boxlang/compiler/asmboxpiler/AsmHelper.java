@@ -1,5 +1,8 @@
 package ortus.boxlang.compiler.asmboxpiler;
 
+import java.lang.invoke.CallSite;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -11,6 +14,7 @@ import java.util.stream.Collectors;
 
 import org.objectweb.asm.ClassVisitor;
 import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.Handle;
 import org.objectweb.asm.Label;
 import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
@@ -29,6 +33,8 @@ import ortus.boxlang.compiler.ast.BoxStatement;
 import ortus.boxlang.runtime.BoxRuntime;
 import ortus.boxlang.runtime.context.IBoxContext;
 import ortus.boxlang.runtime.context.ScriptingRequestBoxContext;
+import ortus.boxlang.runtime.interop.DynamicInteropService;
+import ortus.boxlang.runtime.interop.InteropCallSite;
 import ortus.boxlang.runtime.loader.ClassLocator;
 import ortus.boxlang.runtime.runnables.BoxClassSupport;
 import ortus.boxlang.runtime.runnables.IClassRunnable;
@@ -37,6 +43,12 @@ import ortus.boxlang.runtime.util.ResolvedFilePath;
 
 public class AsmHelper {
 
+	/**
+	 * The bootstraps of the invokedynamic call sites for Java interop, see {@link InteropCallSite}
+	 */
+	public static final Handle	INTEROP_INVOKE_BOOTSTRAP		= interopBootstrap( "bootstrapInvoke" );
+	public static final Handle	INTEROP_DEREFERENCE_BOOTSTRAP	= interopBootstrap( "bootstrapDereference" );
+
 	public static void init( ClassVisitor classVisitor, boolean singleton, Type type, Type superClass, Consumer<MethodVisitor> onConstruction,
 	    Type... interfaces ) {
 		classVisitor.visit(
@@ -328,6 +340,20 @@ public class AsmHelper {
 		transpiler.popMethodContextTracker();
 	}
 
+	private static Handle interopBootstrap( String name ) {
+		return new Handle(
+		    Opcodes.H_INVOKESTATIC,
+		    Type.getInternalName( DynamicInteropService.class ),
+		    name,
+		    Type.getMethodDescriptor( Type.getType( CallSite.class ),
+		        Type.getType( MethodHandles.Lookup.class ),
+		        Type.getType( String.class ),
+		        Type.getType( MethodType.class ),
+		        Type.getType( String.class ),
+		        Type.INT_TYPE ),
+		    false );
+	}
+
 	public static List<AbstractInsnNode> array( Type type, List<List<AbstractInsnNode>> values ) {
 		return array( type, values, ( abstractInsnNodes, i ) -> abstractInsnNodes );
 	}
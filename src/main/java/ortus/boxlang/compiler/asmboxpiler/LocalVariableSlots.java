@@ -0,0 +1,248 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.compiler.asmboxpiler;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.InsnNode;
+import org.objectweb.asm.tree.JumpInsnNode;
+import org.objectweb.asm.tree.LabelNode;
+import org.objectweb.asm.tree.MethodInsnNode;
+import org.objectweb.asm.tree.VarInsnNode;
+
+import ortus.boxlang.compiler.ast.BoxExpression;
+import ortus.boxlang.compiler.ast.BoxStatement;
+import ortus.boxlang.compiler.ast.expression.BoxAccess;
+import ortus.boxlang.compiler.ast.expression.BoxAssignment;
+import ortus.boxlang.compiler.ast.expression.BoxAssignmentModifier;
+import ortus.boxlang.compiler.ast.expression.BoxClosure;
+import ortus.boxlang.compiler.ast.expression.BoxFunctionInvocation;
+import ortus.boxlang.compiler.ast.expression.BoxIdentifier;
+import ortus.boxlang.compiler.ast.expression.BoxLambda;
+import ortus.boxlang.compiler.ast.expression.BoxScope;
+import ortus.boxlang.compiler.ast.expression.BoxStringInterpolation;
+import ortus.boxlang.compiler.ast.expression.BoxStringLiteral;
+import ortus.boxlang.compiler.ast.statement.BoxArgumentDeclaration;
+import ortus.boxlang.compiler.ast.statement.BoxForIn;
+import ortus.boxlang.compiler.ast.statement.BoxFunctionDeclaration;
+import ortus.boxlang.compiler.ast.statement.BoxParam;
+import ortus.boxlang.compiler.ast.statement.BoxScriptIsland;
+import ortus.boxlang.compiler.ast.statement.BoxTryCatch;
+import ortus.boxlang.compiler.ast.statement.component.BoxComponent;
+import ortus.boxlang.compiler.ast.statement.component.BoxTemplateIsland;
+import ortus.boxlang.runtime.types.NullValue;
+import ortus.boxlang.runtime.types.Struct;
+
+/**
+ * Decides which <code>var</code> variables of a function can live in JVM local slots instead of the local scope, and builds the
+ * instructions to read and write those slots.
+ * <p>
+ * A variable gets a slot when nothing can observe the local scope by name: the function has no closures, lambdas, components, nested
+ * functions or islands, never references the <code>local</code> scope, never assigns through a dynamic variable name and never calls a BIF
+ * that resolves variable names at runtime, like <code>evaluate()</code>. The variable itself must only ever be assigned as a whole, and
+ * must not shadow an argument, a catch variable, a for-in variable or a function it is invoked as.
+ * <p>
+ * A slot holds null until the variable is first assigned, and a wrapped {@link NullValue} when it was assigned null, so code that runs
+ * before the <code>var</code> statement still falls back to the regular scope lookup.
+ */
+public class LocalVariableSlots {
+
+	/**
+	 * BIFs that look up variables by name at runtime
+	 */
+	private static final Set<String>	DYNAMIC_BIFS		= Set.of(
+	    "evaluate",
+	    "precisionevaluate",
+	    "iif",
+	    "isdefined",
+	    "getvariable",
+	    "setvariable",
+	    "structget",
+	    "valuelist",
+	    "quotedvaluelist",
+	    "queryexecute",
+	    "getboxcontext"
+	);
+
+	/**
+	 * Names the function context resolves before the local scope
+	 */
+	private static final Set<String>	RESERVED_NAMES		= Set.of( "local", "arguments", "this", "super", "static", "$bx" );
+
+	/**
+	 * Node types that compile their bodies into other methods or can see the local scope
+	 */
+	private static final List<Class<?>>	ESCAPING_NODE_TYPES	= List.of(
+	    BoxClosure.class,
+	    BoxLambda.class,
+	    BoxComponent.class,
+	    BoxFunctionDeclaration.class,
+	    BoxParam.class,
+	    BoxScriptIsland.class,
+	    BoxTemplateIsland.class
+	);
+
+	private LocalVariableSlots() {
+	}
+
+	/**
+	 * Find the variables of a function that can be stored in JVM local slots
+	 *
+	 * @param function The function declaration
+	 *
+	 * @return The lower cased variable names, empty if the local scope escapes
+	 */
+	public static Set<String> analyze( BoxFunctionDeclaration function ) {
+		List<BoxStatement> body = function.getBody();
+
+		for ( Class<?> type : ESCAPING_NODE_TYPES ) {
+			if ( !descendants( body, type ).isEmpty() ) {
+				return Set.of();
+			}
+		}
+		if ( descendants( body, BoxScope.class ).stream().anyMatch( scope -> scope.getName().equalsIgnoreCase( "local" ) )
+		    || descendants( body, BoxIdentifier.class ).stream().anyMatch( id -> id.getName().equalsIgnoreCase( "local" ) )
+		    || descendants( body, BoxFunctionInvocation.class ).stream().anyMatch( f -> DYNAMIC_BIFS.contains( f.getName().toLowerCase() ) ) ) {
+			return Set.of();
+		}
+
+		List<BoxAssignment>	assignments	= descendants( body, BoxAssignment.class );
+		Set<String>			names		= new LinkedHashSet<>();
+		for ( BoxAssignment assignment : assignments ) {
+			if ( assignment.getLeft() instanceof BoxStringLiteral || assignment.getLeft() instanceof BoxStringInterpolation ) {
+				return Set.of();
+			}
+			if ( assignment.getLeft() instanceof BoxIdentifier id && assignment.getModifiers().contains( BoxAssignmentModifier.VAR ) ) {
+				names.add( id.getName().toLowerCase() );
+			}
+		}
+
+		names.removeAll( RESERVED_NAMES );
+		for ( BoxArgumentDeclaration argument : function.getArgs() ) {
+			names.remove( argument.getName().toLowerCase() );
+		}
+		for ( BoxTryCatch tryCatch : descendants( body, BoxTryCatch.class ) ) {
+			if ( tryCatch.getException() != null ) {
+				names.remove( tryCatch.getException().getName().toLowerCase() );
+			}
+		}
+		for ( BoxForIn forIn : descendants( body, BoxForIn.class ) ) {
+			if ( furthestLeft( forIn.getVariable() ) instanceof BoxIdentifier id ) {
+				names.remove( id.getName().toLowerCase() );
+			}
+		}
+		for ( BoxFunctionInvocation invocation : descendants( body, BoxFunctionInvocation.class ) ) {
+			names.remove( invocation.getName().toLowerCase() );
+		}
+		for ( BoxAssignment assignment : assignments ) {
+			if ( assignment.getLeft() instanceof BoxAccess && furthestLeft( assignment.getLeft() ) instanceof BoxIdentifier id ) {
+				names.remove( id.getName().toLowerCase() );
+			}
+		}
+		return names;
+	}
+
+	/**
+	 * Branch on whether a slot was assigned yet
+	 *
+	 * @param slot     The slot index
+	 * @param assigned The instructions to run when it was
+	 * @param fallback The instructions to run when it wasn't, which must leave the same stack
+	 *
+	 * @return The instructions
+	 */
+	public static List<AbstractInsnNode> ifAssigned( int slot, List<AbstractInsnNode> assigned, List<AbstractInsnNode> fallback ) {
+		List<AbstractInsnNode>	nodes			= new ArrayList<>();
+		LabelNode				fallbackLabel	= new LabelNode();
+		LabelNode				endLabel		= new LabelNode();
+
+		nodes.add( new VarInsnNode( Opcodes.ALOAD, slot ) );
+		nodes.add( new JumpInsnNode( Opcodes.IFNULL, fallbackLabel ) );
+		nodes.addAll( assigned );
+		nodes.add( new JumpInsnNode( Opcodes.GOTO, endLabel ) );
+		nodes.add( fallbackLabel );
+		nodes.addAll( fallback );
+		nodes.add( endLabel );
+		return nodes;
+	}
+
+	/**
+	 * Load the value of an assigned slot
+	 *
+	 * @param slot The slot index
+	 *
+	 * @return The instructions, which push the unwrapped value
+	 */
+	public static List<AbstractInsnNode> load( int slot ) {
+		return List.of(
+		    new VarInsnNode( Opcodes.ALOAD, slot ),
+		    new MethodInsnNode( Opcodes.INVOKESTATIC,
+		        Type.getInternalName( Struct.class ),
+		        "unWrapNull",
+		        Type.getMethodDescriptor( Type.getType( Object.class ), Type.getType( Object.class ) ),
+		        false )
+		);
+	}
+
+	/**
+	 * Store the value on top of the stack in a slot, leaving it on the stack
+	 *
+	 * @param slot The slot index
+	 *
+	 * @return The instructions
+	 */
+	public static List<AbstractInsnNode> store( int slot ) {
+		return List.of(
+		    new InsnNode( Opcodes.DUP ),
+		    new MethodInsnNode( Opcodes.INVOKESTATIC,
+		        Type.getInternalName( NullValue.class ),
+		        "wrap",
+		        Type.getMethodDescriptor( Type.getType( Object.class ), Type.getType( Object.class ) ),
+		        false ),
+		    new VarInsnNode( Opcodes.ASTORE, slot )
+		);
+	}
+
+	/**
+	 * Find all nodes of a type in a list of statements
+	 */
+	private static <T> List<T> descendants( List<BoxStatement> statements, Class<T> type ) {
+		List<T> result = new ArrayList<>();
+		for ( BoxStatement statement : statements ) {
+			result.addAll( statement.getDescendantsOfType( type ) );
+		}
+		return result;
+	}
+
+	/**
+	 * Walk an access expression down to the variable it starts from
+	 */
+	private static BoxExpression furthestLeft( BoxExpression expression ) {
+		while ( expression instanceof BoxAccess access ) {
+			expression = access.getContext();
+		}
+		return expression;
+	}
+
+}
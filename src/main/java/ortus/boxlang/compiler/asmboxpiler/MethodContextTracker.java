@@ -1,7 +1,10 @@
 package ortus.boxlang.compiler.asmboxpiler;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.stream.IntStream;
 
 import org.objectweb.asm.Opcodes;
@@ -11,9 +14,10 @@ import org.objectweb.asm.tree.VarInsnNode;
 
 public class MethodContextTracker {
 
-	private int				varCount			= 0;
-	private int				unusedStackEntries	= 0;
-	private List<Integer>	contextStack		= new ArrayList<Integer>();
+	private int						varCount			= 0;
+	private int						unusedStackEntries	= 0;
+	private List<Integer>			contextStack		= new ArrayList<Integer>();
+	private Map<String, Integer>	localSlots			= new HashMap<>();
 
 	public record VarStore( int index, List<AbstractInsnNode> nodes ) {
 
@@ -65,6 +69,34 @@ public class MethodContextTracker {
 		return new VarStore( varCount, List.of( new VarInsnNode( opcode, varCount ) ) );
 	}
 
+	/**
+	 * Allocate a JVM local slot for a function local variable, see {@link LocalVariableSlots}
+	 *
+	 * @param name The variable name
+	 *
+	 * @return The instructions initializing the slot to null
+	 */
+	public List<AbstractInsnNode> registerLocalSlot( String name ) {
+		VarStore store = storeNewVariable( Opcodes.ASTORE );
+		localSlots.put( name.toLowerCase(), store.index() );
+
+		List<AbstractInsnNode> nodes = new ArrayList<>();
+		nodes.add( new InsnNode( Opcodes.ACONST_NULL ) );
+		nodes.addAll( store.nodes() );
+		return nodes;
+	}
+
+	/**
+	 * Get the JVM local slot of a function local variable
+	 *
+	 * @param name The variable name
+	 *
+	 * @return The slot index, empty if the variable lives in the local scope
+	 */
+	public Optional<Integer> getLocalSlot( String name ) {
+		return Optional.ofNullable( localSlots.get( name.toLowerCase() ) );
+	}
+
 	public List<AbstractInsnNode> trackNewContext() {
 		VarStore res = storeNewVariable( Opcodes.ASTORE );
 
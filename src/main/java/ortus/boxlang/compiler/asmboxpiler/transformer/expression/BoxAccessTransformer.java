@@ -24,9 +24,11 @@ import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.Type;
 import org.objectweb.asm.tree.AbstractInsnNode;
 import org.objectweb.asm.tree.FieldInsnNode;
+import org.objectweb.asm.tree.InvokeDynamicInsnNode;
 import org.objectweb.asm.tree.MethodInsnNode;
 import org.objectweb.asm.tree.VarInsnNode;
 
+import ortus.boxlang.compiler.asmboxpiler.AsmHelper;
 import ortus.boxlang.compiler.asmboxpiler.Transpiler;
 import ortus.boxlang.compiler.asmboxpiler.transformer.AbstractTransformer;
 import ortus.boxlang.compiler.asmboxpiler.transformer.ReturnValueContext;
@@ -42,6 +44,7 @@ import ortus.boxlang.compiler.ast.expression.BoxScope;
 import ortus.boxlang.runtime.context.IBoxContext;
 import ortus.boxlang.runtime.dynamic.IReferenceable;
 import ortus.boxlang.runtime.dynamic.Referencer;
+import ortus.boxlang.runtime.interop.InteropCallSite;
 import ortus.boxlang.runtime.scopes.Key;
 
 public class BoxAccessTransformer extends AbstractTransformer {
@@ -112,20 +115,30 @@ public class BoxAccessTransformer extends AbstractTransformer {
 			List<AbstractInsnNode> nodes = new ArrayList<>();
 			nodes.add( new VarInsnNode( Opcodes.ALOAD, 1 ) );
 			nodes.addAll( transpiler.transform( objectAccess.getContext(), context, ReturnValueContext.VALUE ) );
-			nodes.addAll( accessKey );
-			nodes.add( new FieldInsnNode( Opcodes.GETSTATIC,
-			    Type.getInternalName( Boolean.class ),
-			    safe.toString().toUpperCase(),
-			    Type.getDescriptor( Boolean.class ) ) );
-			nodes.add( new MethodInsnNode( Opcodes.INVOKESTATIC,
-			    Type.getInternalName( Referencer.class ),
-			    "get",
-			    Type.getMethodDescriptor( Type.getType( Object.class ),
-			        Type.getType( IBoxContext.class ),
-			        Type.getType( Object.class ),
-			        Type.getType( Key.class ),
-			        Type.getType( Boolean.class ) ),
-			    false ) );
+			if ( objectAccess instanceof BoxDotAccess dotAccess && dotAccess.getAccess() instanceof BoxIdentifier id ) {
+				// A name known at compile time gets an invokedynamic call site, which caches the Java field it resolves per receiver class
+				nodes.add( new InvokeDynamicInsnNode(
+				    "dereference",
+				    InteropCallSite.DEREFERENCE_TYPE.toMethodDescriptorString(),
+				    AsmHelper.INTEROP_DEREFERENCE_BOOTSTRAP,
+				    id.getName(),
+				    safe ? 1 : 0 ) );
+			} else {
+				nodes.addAll( accessKey );
+				nodes.add( new FieldInsnNode( Opcodes.GETSTATIC,
+				    Type.getInternalName( Boolean.class ),
+				    safe.toString().toUpperCase(),
+				    Type.getDescriptor( Boolean.class ) ) );
+				nodes.add( new MethodInsnNode( Opcodes.INVOKESTATIC,
+				    Type.getInternalName( Referencer.class ),
+				    "get",
+				    Type.getMethodDescriptor( Type.getType( Object.class ),
+				        Type.getType( IBoxContext.class ),
+				        Type.getType( Object.class ),
+				        Type.getType( Key.class ),
+				        Type.getType( Boolean.class ) ),
+				    false ) );
+			}
 			BoxNode parent = objectAccess.getParent();
 			if ( ! ( parent instanceof BoxAccess )
 			    // I don't know if this will work, but I'm trying to make an exception for query columns being passed to array BIFs
@@ -26,9 +26,11 @@ import org.objectweb.asm.Type;
 import org.objectweb.asm.tree.AbstractInsnNode;
 import org.objectweb.asm.tree.InsnNode;
 import org.objectweb.asm.tree.MethodInsnNode;
+import org.objectweb.asm.tree.VarInsnNode;
 
 import ortus.boxlang.compiler.asmboxpiler.AsmHelper;
 import ortus.boxlang.compiler.asmboxpiler.AsmTranspiler;
+import ortus.boxlang.compiler.asmboxpiler.LocalVariableSlots;
 import ortus.boxlang.compiler.asmboxpiler.MethodContextTracker;
 import ortus.boxlang.compiler.asmboxpiler.transformer.AbstractTransformer;
 import ortus.boxlang.compiler.asmboxpiler.transformer.ReturnValueContext;
@@ -139,6 +141,24 @@ public class BoxAssignmentTransformer extends AbstractTransformer {
 			furthestLeft = currentObjectAccess.getContext();
 		}
 
+		// A function local living in a JVM slot. var always assigns the slot, a plain assignment only once the var statement ran.
+		if ( furthestLeft instanceof BoxIdentifier id && accessKeys.isEmpty() ) {
+			Optional<Integer> slot = tracker.flatMap( t -> t.getLocalSlot( id.getName() ) );
+			if ( slot.isPresent() ) {
+				List<AbstractInsnNode> nodes = new ArrayList<>( jRight );
+				if ( hasVar ) {
+					nodes.addAll( LocalVariableSlots.store( slot.get() ) );
+				} else {
+					int						value		= tracker.get().storeNewVariable( Opcodes.ASTORE ).index();
+					List<AbstractInsnNode>	fallback	= new ArrayList<>();
+					fallback.add( new VarInsnNode( Opcodes.ASTORE, value ) );
+					fallback.addAll( setDeepInScope( id, List.of( new VarInsnNode( Opcodes.ALOAD, value ) ), accessKeys ) );
+					nodes.addAll( LocalVariableSlots.ifAssigned( slot.get(), LocalVariableSlots.store( slot.get() ), fallback ) );
+				}
+				return nodes;
+			}
+		}
+
 		// If this assignment was var foo = 1, then we need into insert the scope as the furthest left and shift the key
 		if ( hasVar ) {
 			// This is for the edge case of
@@ -164,45 +184,7 @@ public class BoxAssignmentTransformer extends AbstractTransformer {
 				throw new ExpressionException( "You cannot assign a variable with the same name as an import: [" + id.getName() + "]",
 				    furthestLeft.getPosition(), furthestLeft.getSourceText() );
 			}
-			/*
-			 * Referencer.setDeep(
-			 * ${contextName},
-			 * ${contextName}.scopeFindNearby( ${accessKey}, ${contextName}.getDefaultAssignmentScope() ),
-			 * ${right}
-			 * ${accessKeys});
-			 */
-			tracker.ifPresent( t -> nodes.addAll( t.loadCurrentContext() ) );
-
-			tracker.ifPresent( t -> nodes.addAll( t.loadCurrentContext() ) );
-			List<AbstractInsnNode> keyNode = transpiler.createKey( id.getName() );
-			nodes.addAll( keyNode );
-			tracker.ifPresent( t -> nodes.addAll( t.loadCurrentContext() ) );
-			nodes.add( new MethodInsnNode( Opcodes.INVOKEINTERFACE,
-			    Type.getInternalName( IBoxContext.class ),
-			    "getDefaultAssignmentScope",
-			    Type.getMethodDescriptor( Type.getType( IScope.class ) ),
-			    true ) );
-			nodes.add( new MethodInsnNode( Opcodes.INVOKEINTERFACE,
-			    Type.getInternalName( IBoxContext.class ),
-			    "scopeFindNearby",
-			    Type.getMethodDescriptor( Type.getType( IBoxContext.ScopeSearchResult.class ), Type.getType( Key.class ), Type.getType( IScope.class ) ),
-			    true ) );
-
-			nodes.addAll( jRight );
-
-			nodes.addAll( AsmHelper.array( Type.getType( Key.class ), accessKeys ) );
-
-			nodes.add( new MethodInsnNode(
-			    Opcodes.INVOKESTATIC,
-			    Type.getInternalName( Referencer.class ),
-			    "setDeep",
-			    Type.getMethodDescriptor( Type.getType( Object.class ),
-			        Type.getType( IBoxContext.class ),
-			        Type.getType( IBoxContext.ScopeSearchResult.class ),
-			        Type.getType( Object.class ),
-			        Type.getType( Key[].class ) ),
-			    false ) );
-
+			nodes.addAll( setDeepInScope( id, jRight, accessKeys ) );
 		} else {
 			if ( accessKeys.size() == 0 ) {
 				throw new ExpressionException( "You cannot assign a value to " + left.getClass().getSimpleName(), left.getPosition(), left.getSourceText() );
@@ -237,6 +219,53 @@ public class BoxAssignmentTransformer extends AbstractTransformer {
 		return nodes;
 	}
 
+	/**
+	 * Assign a variable found in the scopes of the current context, or the default assignment scope
+	 */
+	private List<AbstractInsnNode> setDeepInScope( BoxIdentifier id, List<AbstractInsnNode> jRight, List<List<AbstractInsnNode>> accessKeys ) {
+		Optional<MethodContextTracker>	tracker	= transpiler.getCurrentMethodContextTracker();
+		List<AbstractInsnNode>			nodes	= new ArrayList<>();
+		/*
+		 * Referencer.setDeep(
+		 * ${contextName},
+		 * ${contextName}.scopeFindNearby( ${accessKey}, ${contextName}.getDefaultAssignmentScope() ),
+		 * ${right}
+		 * ${accessKeys});
+		 */
+		tracker.ifPresent( t -> nodes.addAll( t.loadCurrentContext() ) );
+
+		tracker.ifPresent( t -> nodes.addAll( t.loadCurrentContext() ) );
+		List<AbstractInsnNode> keyNode = transpiler.createKey( id.getName() );
+		nodes.addAll( keyNode );
+		tracker.ifPresent( t -> nodes.addAll( t.loadCurrentContext() ) );
+		nodes.add( new MethodInsnNode( Opcodes.INVOKEINTERFACE,
+		    Type.getInternalName( IBoxContext.class ),
+		    "getDefaultAssignmentScope",
+		    Type.getMethodDescriptor( Type.getType( IScope.class ) ),
+		    true ) );
+		nodes.add( new MethodInsnNode( Opcodes.INVOKEINTERFACE,
+		    Type.getInternalName( IBoxContext.class ),
+		    "scopeFindNearby",
+		    Type.getMethodDescriptor( Type.getType( IBoxContext.ScopeSearchResult.class ), Type.getType( Key.class ), Type.getType( IScope.class ) ),
+		    true ) );
+
+		nodes.addAll( jRight );
+
+		nodes.addAll( AsmHelper.array( Type.getType( Key.class ), accessKeys ) );
+
+		nodes.add( new MethodInsnNode(
+		    Opcodes.INVOKESTATIC,
+		    Type.getInternalName( Referencer.class ),
+		    "setDeep",
+		    Type.getMethodDescriptor( Type.getType( Object.class ),
+		        Type.getType( IBoxContext.class ),
+		        Type.getType( IBoxContext.ScopeSearchResult.class ),
+		        Type.getType( Object.class ),
+		        Type.getType( Key[].class ) ),
+		    false ) );
+		return nodes;
+	}
+
 	private List<AbstractInsnNode> transformCompoundEquals( BoxAssignment assigment ) throws IllegalStateException {
 		// Note any var keyword is completley ignored in this code path!
 
@@ -244,6 +273,40 @@ public class BoxAssignmentTransformer extends AbstractTransformer {
 		List<AbstractInsnNode>			nodes	= new ArrayList<>();
 		List<AbstractInsnNode>			right	= transpiler.transform( assigment.getRight(), TransformerContext.NONE );
 
+		// A function local living in a JVM slot, which falls back to the scope until the var statement ran
+		if ( assigment.getLeft() instanceof BoxIdentifier id ) {
+			Optional<Integer> slot = tracker.flatMap( t -> t.getLocalSlot( id.getName() ) );
+			if ( slot.isPresent() ) {
+				int						value		= tracker.get().storeNewVariable( Opcodes.ASTORE ).index();
+				List<AbstractInsnNode>	assigned	= new ArrayList<>( LocalVariableSlots.load( slot.get() ) );
+				assigned.add( new VarInsnNode( Opcodes.ALOAD, value ) );
+				assigned.add( new MethodInsnNode( Opcodes.INVOKESTATIC,
+				    Type.getInternalName( getMethodCallTemplate( assigment ) ),
+				    "invoke",
+				    Type.getMethodDescriptor( Type.getType( assigment.getOp() == BoxAssignmentOperator.ConcatEqual ? String.class : Number.class ),
+				        Type.getType( Object.class ),
+				        Type.getType( Object.class ) ),
+				    false ) );
+				assigned.addAll( LocalVariableSlots.store( slot.get() ) );
+
+				nodes.addAll( right );
+				nodes.add( new VarInsnNode( Opcodes.ASTORE, value ) );
+				nodes.addAll( LocalVariableSlots.ifAssigned( slot.get(), assigned,
+				    compoundEquals( assigment, List.of( new VarInsnNode( Opcodes.ALOAD, value ) ) ) ) );
+				return nodes;
+			}
+		}
+
+		return compoundEquals( assigment, right );
+	}
+
+	/**
+	 * Apply a compound assignment to a variable found in the scopes of the current context, or to a key of an object
+	 */
+	private List<AbstractInsnNode> compoundEquals( BoxAssignment assigment, List<AbstractInsnNode> right ) {
+		Optional<MethodContextTracker>	tracker	= transpiler.getCurrentMethodContextTracker();
+		List<AbstractInsnNode>			nodes	= new ArrayList<>();
+
 		/*
 		 * ${operation}.invoke(${contextName},
 		 * ${contextName}.scopeFindNearby( ${accessKey}, ${contextName}.getDefaultAssignmentScope() ).scope(),
@@ -16,6 +16,7 @@ package ortus.boxlang.compiler.asmboxpiler.transformer.expression;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.Type;
@@ -26,6 +27,7 @@ import org.objectweb.asm.tree.LdcInsnNode;
 import org.objectweb.asm.tree.MethodInsnNode;
 import org.objectweb.asm.tree.VarInsnNode;
 
+import ortus.boxlang.compiler.asmboxpiler.LocalVariableSlots;
 import ortus.boxlang.compiler.asmboxpiler.Transpiler;
 import ortus.boxlang.compiler.asmboxpiler.transformer.AbstractTransformer;
 import ortus.boxlang.compiler.asmboxpiler.transformer.ReturnValueContext;
@@ -67,29 +69,39 @@ public class BoxIdentifierTransformer extends AbstractTransformer {
 			        Type.getType( List.class ) ),
 			    false ) );
 		} else {
-			transpiler.getCurrentMethodContextTracker().ifPresent( ( t ) -> nodes.addAll( t.loadCurrentContext() ) );
-			nodes.addAll( transpiler.createKey( identifier.getName() ) );
-			if ( context == TransformerContext.SAFE ) {
-				transpiler.getCurrentMethodContextTracker().ifPresent( ( t ) -> nodes.addAll( t.loadCurrentContext() ) );
-				nodes.add( new MethodInsnNode( Opcodes.INVOKEINTERFACE,
-				    Type.getInternalName( IBoxContext.class ),
-				    "getDefaultAssignmentScope",
-				    Type.getMethodDescriptor( Type.getType( IScope.class ) ),
-				    true ) );
+			Optional<Integer> slot = transpiler.getCurrentMethodContextTracker().flatMap( t -> t.getLocalSlot( identifier.getName() ) );
+			if ( slot.isPresent() ) {
+				// A function local living in a JVM slot, which falls back to the scope lookup until it's assigned
+				nodes.addAll( LocalVariableSlots.ifAssigned( slot.get(), LocalVariableSlots.load( slot.get() ), scopeLookup( identifier, context ) ) );
 			} else {
-				nodes.add( new InsnNode( Opcodes.ACONST_NULL ) );
+				nodes.addAll( scopeLookup( identifier, context ) );
 			}
+		}
+		return nodes;
+	}
+
+	/**
+	 * Find the identifier in the scopes of the current context
+	 */
+	private List<AbstractInsnNode> scopeLookup( BoxIdentifier identifier, TransformerContext context ) {
+		List<AbstractInsnNode> nodes = new ArrayList<>();
+		transpiler.getCurrentMethodContextTracker().ifPresent( ( t ) -> nodes.addAll( t.loadCurrentContext() ) );
+		nodes.addAll( transpiler.createKey( identifier.getName() ) );
+		if ( context == TransformerContext.SAFE ) {
+			transpiler.getCurrentMethodContextTracker().ifPresent( ( t ) -> nodes.addAll( t.loadCurrentContext() ) );
 			nodes.add( new MethodInsnNode( Opcodes.INVOKEINTERFACE,
 			    Type.getInternalName( IBoxContext.class ),
-			    "scopeFindNearby",
-			    Type.getMethodDescriptor( Type.getType( IBoxContext.ScopeSearchResult.class ), Type.getType( Key.class ), Type.getType( IScope.class ) ),
+			    "getDefaultAssignmentScope",
+			    Type.getMethodDescriptor( Type.getType( IScope.class ) ),
 			    true ) );
-			nodes.add( new MethodInsnNode( Opcodes.INVOKEVIRTUAL,
-			    Type.getInternalName( IBoxContext.ScopeSearchResult.class ),
-			    "value",
-			    Type.getMethodDescriptor( Type.getType( Object.class ) ),
-			    false ) );
+		} else {
+			nodes.add( new InsnNode( Opcodes.ACONST_NULL ) );
 		}
+		nodes.add( new MethodInsnNode( Opcodes.INVOKEINTERFACE,
+		    Type.getInternalName( IBoxContext.class ),
+		    "scopeFindNearbyValue",
+		    Type.getMethodDescriptor( Type.getType( Object.class ), Type.getType( Key.class ), Type.getType( IScope.class ) ),
+		    true ) );
 		return nodes;
 	}
 }
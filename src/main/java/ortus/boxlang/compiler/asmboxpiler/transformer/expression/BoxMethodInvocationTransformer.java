@@ -25,6 +25,7 @@ import org.objectweb.asm.Type;
 import org.objectweb.asm.tree.AbstractInsnNode;
 import org.objectweb.asm.tree.FieldInsnNode;
 import org.objectweb.asm.tree.InsnNode;
+import org.objectweb.asm.tree.InvokeDynamicInsnNode;
 import org.objectweb.asm.tree.MethodInsnNode;
 
 import ortus.boxlang.compiler.asmboxpiler.AsmHelper;
@@ -37,6 +38,7 @@ import ortus.boxlang.compiler.ast.expression.BoxIdentifier;
 import ortus.boxlang.compiler.ast.expression.BoxMethodInvocation;
 import ortus.boxlang.runtime.context.IBoxContext;
 import ortus.boxlang.runtime.dynamic.Referencer;
+import ortus.boxlang.runtime.interop.InteropCallSite;
 import ortus.boxlang.runtime.scopes.Key;
 
 public class BoxMethodInvocationTransformer extends AbstractTransformer {
@@ -56,12 +58,28 @@ public class BoxMethodInvocationTransformer extends AbstractTransformer {
 
 		nodes.addAll( transpiler.transform( invocation.getObj(), context, ReturnValueContext.VALUE ) );
 
+		// A method known at compile time gets an invokedynamic call site, which caches the Java method it resolves per receiver class
 		if ( invocation.getUsedDotAccess() ) {
-			nodes.addAll( transpiler.createKey( ( ( BoxIdentifier ) invocation.getName() ).getName() ) );
-		} else {
-			nodes.addAll( transpiler.createKey( invocation.getName() ) );
+			nodes
+			    .addAll( AsmHelper.array( Type.getType( Object.class ), invocation.getArguments(),
+			        ( argument, i ) -> transpiler.transform( argument, context, ReturnValueContext.VALUE ) ) );
+
+			nodes.add( new InvokeDynamicInsnNode(
+			    "invoke",
+			    InteropCallSite.INVOKE_TYPE.toMethodDescriptorString(),
+			    AsmHelper.INTEROP_INVOKE_BOOTSTRAP,
+			    ( ( BoxIdentifier ) invocation.getName() ).getName(),
+			    safe ? 1 : 0 ) );
+
+			if ( returnContext.empty ) {
+				nodes.add( new InsnNode( Opcodes.POP ) );
+			}
+
+			return nodes;
 		}
 
+		nodes.addAll( transpiler.createKey( invocation.getName() ) );
+
 		nodes
 		    .addAll( AsmHelper.array( Type.getType( Object.class ), invocation.getArguments(),
 		        ( argument, i ) -> transpiler.transform( argument, context, ReturnValueContext.VALUE ) ) );
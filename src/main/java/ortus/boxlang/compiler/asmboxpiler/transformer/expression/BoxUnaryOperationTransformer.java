@@ -16,6 +16,7 @@ package ortus.boxlang.compiler.asmboxpiler.transformer.expression;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.Type;
@@ -24,6 +25,7 @@ import org.objectweb.asm.tree.InsnNode;
 import org.objectweb.asm.tree.MethodInsnNode;
 import org.objectweb.asm.tree.VarInsnNode;
 
+import ortus.boxlang.compiler.asmboxpiler.LocalVariableSlots;
 import ortus.boxlang.compiler.asmboxpiler.Transpiler;
 import ortus.boxlang.compiler.asmboxpiler.transformer.AbstractTransformer;
 import ortus.boxlang.compiler.asmboxpiler.transformer.ReturnValueContext;
@@ -39,6 +41,7 @@ import ortus.boxlang.compiler.ast.expression.BoxUnaryOperation;
 import ortus.boxlang.compiler.ast.expression.BoxUnaryOperator;
 import ortus.boxlang.runtime.context.IBoxContext;
 import ortus.boxlang.runtime.dynamic.IReferenceable;
+import ortus.boxlang.runtime.dynamic.casters.NumberCaster;
 import ortus.boxlang.runtime.operators.BitwiseComplement;
 import ortus.boxlang.runtime.operators.Decrement;
 import ortus.boxlang.runtime.operators.Increment;
@@ -78,22 +81,31 @@ public class BoxUnaryOperationTransformer extends AbstractTransformer {
 		List<AbstractInsnNode> nodes = new ArrayList<>();
 		// for non literals, we need to identify the key being incremented/decremented and the object it lives in (which may be a scope)
 		if ( expr instanceof BoxIdentifier id && operator != BoxUnaryOperator.Not && operator != BoxUnaryOperator.Minus && operator != BoxUnaryOperator.Plus ) {
-			nodes.add( new VarInsnNode( Opcodes.ALOAD, 1 ) );
-			nodes.add( new VarInsnNode( Opcodes.ALOAD, 1 ) );
-			nodes.addAll( transpiler.createKey( id.getName() ) );
-			nodes.add( new InsnNode( Opcodes.ACONST_NULL ) );
-			nodes.add( new MethodInsnNode( Opcodes.INVOKEINTERFACE,
+			List<AbstractInsnNode> scopeNodes = new ArrayList<>();
+			scopeNodes.add( new VarInsnNode( Opcodes.ALOAD, 1 ) );
+			scopeNodes.add( new VarInsnNode( Opcodes.ALOAD, 1 ) );
+			scopeNodes.addAll( transpiler.createKey( id.getName() ) );
+			scopeNodes.add( new InsnNode( Opcodes.ACONST_NULL ) );
+			scopeNodes.add( new MethodInsnNode( Opcodes.INVOKEINTERFACE,
 			    Type.getInternalName( IBoxContext.class ),
 			    "scopeFindNearby",
 			    Type.getMethodDescriptor( Type.getType( IBoxContext.ScopeSearchResult.class ), Type.getType( Key.class ), Type.getType( IScope.class ) ),
 			    true ) );
-			nodes.add( new MethodInsnNode( Opcodes.INVOKEVIRTUAL,
+			scopeNodes.add( new MethodInsnNode( Opcodes.INVOKEVIRTUAL,
 			    Type.getInternalName( IBoxContext.ScopeSearchResult.class ),
 			    "scope",
 			    Type.getMethodDescriptor( Type.getType( IReferenceable.class ) ),
 			    false ) );
-			nodes.addAll( transpiler.createKey( id.getName() ) );
-			nodes.add( getMethodCallTemplateCompound( operation ) );
+			scopeNodes.addAll( transpiler.createKey( id.getName() ) );
+			scopeNodes.add( getMethodCallTemplateCompound( operation ) );
+
+			// A function local living in a JVM slot, which falls back to the scope until the var statement ran
+			Optional<Integer> slot = transpiler.getCurrentMethodContextTracker().flatMap( t -> t.getLocalSlot( id.getName() ) );
+			if ( slot.isPresent() ) {
+				nodes.addAll( LocalVariableSlots.ifAssigned( slot.get(), slotIncrement( operator, slot.get() ), scopeNodes ) );
+			} else {
+				nodes.addAll( scopeNodes );
+			}
 		} else if ( expr instanceof BoxAccess objectAccess && operator != BoxUnaryOperator.Not && operator != BoxUnaryOperator.Minus
 		    && operator != BoxUnaryOperator.Plus ) {
 			nodes.add( new VarInsnNode( Opcodes.ALOAD, 1 ) );
@@ -167,6 +179,40 @@ public class BoxUnaryOperationTransformer extends AbstractTransformer {
 		return nodes;
 	}
 
+	/**
+	 * Increment or decrement a function local living in a JVM slot
+	 *
+	 * @param operator The increment or decrement operator
+	 * @param slot     The slot index
+	 *
+	 * @return The instructions, which push the value before the operation for the post operators and after it for the pre operators
+	 */
+	private List<AbstractInsnNode> slotIncrement( BoxUnaryOperator operator, int slot ) {
+		boolean					post		= operator == BoxUnaryOperator.PostPlusPlus || operator == BoxUnaryOperator.PostMinusMinus;
+		Class<?>				template	= operator == BoxUnaryOperator.PrePlusPlus || operator == BoxUnaryOperator.PostPlusPlus ? Increment.class
+		    : Decrement.class;
+		List<AbstractInsnNode>	nodes		= new ArrayList<>( LocalVariableSlots.load( slot ) );
+
+		if ( post ) {
+			nodes.add( new MethodInsnNode( Opcodes.INVOKESTATIC,
+			    Type.getInternalName( NumberCaster.class ),
+			    "cast",
+			    Type.getMethodDescriptor( Type.getType( Number.class ), Type.getType( Object.class ) ),
+			    false ) );
+			nodes.add( new InsnNode( Opcodes.DUP ) );
+		}
+		nodes.add( new MethodInsnNode( Opcodes.INVOKESTATIC,
+		    Type.getInternalName( template ),
+		    "invoke",
+		    Type.getMethodDescriptor( Type.getType( Number.class ), Type.getType( Object.class ) ),
+		    false ) );
+		nodes.addAll( LocalVariableSlots.store( slot ) );
+		if ( post ) {
+			nodes.add( new InsnNode( Opcodes.POP ) );
+		}
+		return nodes;
+	}
+
 	private AbstractInsnNode getMethodCallTemplateCompound( BoxUnaryOperation operation ) {
 		BoxUnaryOperator operator = operation.getOperator();
 		// These all refernce variable names which need retrieved, modified, and then re-assigned
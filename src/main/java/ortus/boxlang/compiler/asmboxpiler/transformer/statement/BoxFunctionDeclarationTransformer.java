@@ -14,6 +14,7 @@
  */
 package ortus.boxlang.compiler.asmboxpiler.transformer.statement;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.objectweb.asm.Opcodes;
@@ -25,6 +26,7 @@ import org.objectweb.asm.tree.VarInsnNode;
 
 import ortus.boxlang.compiler.asmboxpiler.AsmHelper;
 import ortus.boxlang.compiler.asmboxpiler.AsmTranspiler;
+import ortus.boxlang.compiler.asmboxpiler.LocalVariableSlots;
 import ortus.boxlang.compiler.asmboxpiler.transformer.AbstractTransformer;
 import ortus.boxlang.compiler.asmboxpiler.transformer.ReturnValueContext;
 import ortus.boxlang.compiler.asmboxpiler.transformer.TransformerContext;
@@ -135,8 +137,14 @@ public class BoxFunctionDeclarationTransformer extends AbstractTransformer {
 
 		AsmHelper.methodWithContextAndClassLocator( classNode, "_invoke", Type.getType( FunctionBoxContext.class ), Type.getType( Object.class ), false,
 		    transpiler, true,
-		    () -> function.getBody().stream().flatMap( statement -> transpiler.transform( statement, safe, ReturnValueContext.EMPTY ).stream() )
-		        .toList() );
+		    () -> {
+			    // var variables nothing can see by name live in JVM locals instead of the local scope
+			    List<AbstractInsnNode> nodes = new ArrayList<>();
+			    transpiler.getCurrentMethodContextTracker().ifPresent(
+			        tracker -> LocalVariableSlots.analyze( function ).forEach( name -> nodes.addAll( tracker.registerLocalSlot( name ) ) ) );
+			    function.getBody().forEach( statement -> nodes.addAll( transpiler.transform( statement, safe, ReturnValueContext.EMPTY ) ) );
+			    return nodes;
+		    } );
 
 		AsmHelper.complete( classNode, type, methodVisitor -> {
 			transpiler.createKey( function.getName() ).forEach( methodInsnNode -> methodInsnNode.accept( methodVisitor ) );
@@ -178,6 +178,9 @@ public class JavaBoxpiler extends Boxpiler {
 			throw new BoxRuntimeException( "ClassInfo not found for " + FQN );
 		}
 		if ( classInfo.resolvedFilePath() != null ) {
+			if ( defineFromArchive( classInfo ) ) {
+				return;
+			}
 			File sourceFile = classInfo.resolvedFilePath().absolutePath().toFile();
 			// Check if the source file contains Java bytecode by reading the first few bytes
 			if ( diskClassUtil.isJavaBytecode( sourceFile ) ) {
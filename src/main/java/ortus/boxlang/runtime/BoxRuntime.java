@@ -895,6 +895,12 @@ public class BoxRuntime implements java.io.Closeable {
 		instance.schedulerService.onShutdown( force );
 		instance.dataSourceService.onShutdown( force );
 
+		// Stop watching the sources of compiled templates and classes
+		RunnableLoader.getInstance().getBoxpiler().shutdown();
+		if ( instance.boxpiler != RunnableLoader.getInstance().getBoxpiler() ) {
+			instance.boxpiler.shutdown();
+		}
+
 		// Shutdown logging
 		instance.logger.debug( "+ BoxLang Runtime has been shutdown" );
 
@@ -1186,6 +1192,8 @@ public class BoxRuntime implements java.io.Closeable {
 					// Opps, an error while handling onRequestEnd
 					errorToHandle = e;
 				}
+				// Release the connections of any query cursor that wasn't fully read
+				scriptingContext.getParentOfType( RequestBoxContext.class ).getConnectionManager().closeCursors();
 				scriptingContext.flushBuffer( false );
 
 				if ( errorToHandle != null ) {
@@ -1220,6 +1228,12 @@ public class BoxRuntime implements java.io.Closeable {
 		IBoxContext				scriptingContext	= ensureRequestTypeContext( context, template.getRunnablePath().absolutePath().toUri() );
 		BaseApplicationListener	listener			= scriptingContext.getParentOfType( RequestBoxContext.class ).getApplicationListener();
 		Throwable				errorToHandle		= null;
+
+		// A request of its own, like a template run from the command line, sends its output as it's generated unless someone intercepts it
+		if ( scriptingContext != context && scriptingContext instanceof ScriptingRequestBoxContext scriptingRequestContext
+		    && !this.interceptorService.hasListeners( BoxEvent.ON_REQUEST_FLUSH_BUFFER ) ) {
+			scriptingRequestContext.streamOutput();
+		}
 		try {
 			boolean result = listener.onRequestStart( scriptingContext, new Object[] { templatePath } );
 			if ( result ) {
@@ -1259,6 +1273,8 @@ public class BoxRuntime implements java.io.Closeable {
 				// Opps, an error while handling onRequestEnd
 				errorToHandle = e;
 			}
+			// Release the connections of any query cursor that wasn't fully read
+			scriptingContext.getParentOfType( RequestBoxContext.class ).getConnectionManager().closeCursors();
 			scriptingContext.flushBuffer( false );
 
 			if ( errorToHandle != null ) {
@@ -1442,7 +1458,7 @@ public class BoxRuntime implements java.io.Closeable {
 
 					// Fire!!!
 					Object		result				= scriptRunnable.invoke( scriptingContext );
-					boolean		hadBufferContent	= scriptingContext.getBuffer().length() > 0;
+					boolean		hadBufferContent	= scriptingContext.getOutputBuffer().length() > 0;
 					scriptingContext.flushBuffer( false );
 					if ( !hadBufferContent && result != null ) {
 						CastAttempt<String> stringAttempt = StringCaster.attempt( result );
@@ -18,9 +18,14 @@
 package ortus.boxlang.runtime.application;
 
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -49,6 +54,8 @@ import ortus.boxlang.runtime.types.Function;
 import ortus.boxlang.runtime.types.IStruct;
 import ortus.boxlang.runtime.types.Struct;
 import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
+import ortus.boxlang.runtime.types.meta.IChangeListener;
+import ortus.boxlang.runtime.types.meta.IListenable;
 import ortus.boxlang.runtime.types.util.BLCollector;
 import ortus.boxlang.runtime.util.EncryptionUtil;
 import ortus.boxlang.runtime.util.FileSystemUtil;
@@ -147,6 +154,11 @@ public abstract class BaseApplicationListener {
 	    "disallowedFileOperationExtensions", BoxRuntime.getInstance().getConfiguration().disallowedFileOperationExtensions
 	);
 
+	/**
+	 * The version of the settings, incremented every time they change so request config views can be rebuilt
+	 */
+	private final AtomicLong	settingsVersion				= new AtomicLong( 0 );
+
 	/**
 	 * Logger
 	 */
@@ -168,6 +180,8 @@ public abstract class BaseApplicationListener {
 		context.setApplicationListener( this );
 		this.interceptorPool = new InterceptorPool( Key.appListener, BoxRuntime.getInstance() )
 		    .registerInterceptionPoint( REQUEST_INTERCEPTION_POINTS );
+		// Track the changes to the settings, nested ones included
+		trackChanges( this.settings, this.settingsVersion );
 	}
 
 	/**
@@ -210,6 +224,15 @@ public abstract class BaseApplicationListener {
 		return this.settings;
 	}
 
+	/**
+	 * Get the version of the settings. It is incremented every time the settings are updated.
+	 *
+	 * @return The settings version
+	 */
+	public long getSettingsVersion() {
+		return this.settingsVersion.get();
+	}
+
 	/**
 	 * Update the settings for this application
 	 *
@@ -217,6 +240,9 @@ public abstract class BaseApplicationListener {
 	 */
 	public void updateSettings( IStruct settings ) {
 		this.settings.addAll( settings );
+		this.settingsVersion.incrementAndGet();
+		// Bulk additions are not announced to the listeners, track the nested structs they brought in
+		trackChanges( this.settings, this.settingsVersion );
 		// If the settings have changed, see if the app and session contexts need updated or initialized as well
 		defineApplication();
 	}
@@ -819,4 +845,72 @@ public abstract class BaseApplicationListener {
 		);
 		return true;
 	}
+
+	/**
+	 * Track the changes to a settings struct or array, and to the ones nested in it, so any write bumps the settings version. Nested
+	 * settings can be shared by several listeners, so one tracker bumps the versions of all of them, and it chains to the listener the
+	 * struct already had instead of replacing it.
+	 *
+	 * @param value   The value to track, ignored if it can't be listened to
+	 * @param version The settings version to bump
+	 */
+	private static void trackChanges( Object value, AtomicLong version ) {
+		if ( ! ( value instanceof IListenable listenable ) ) {
+			return;
+		}
+		SettingsTracker tracker;
+		synchronized ( listenable ) {
+			IChangeListener existing = listenable.getChangeListener( IListenable.ALL_KEYS );
+			if ( existing instanceof SettingsTracker current ) {
+				tracker = current;
+			} else {
+				tracker = new SettingsTracker( existing );
+				listenable.registerChangeListener( tracker );
+			}
+		}
+		// Already tracked for this version, which also stops at circular references
+		if ( !tracker.versions.add( version ) ) {
+			return;
+		}
+		if ( value instanceof IStruct struct ) {
+			struct.values().forEach( nested -> trackChanges( nested, version ) );
+		} else if ( value instanceof Array array ) {
+			array.forEach( nested -> trackChanges( nested, version ) );
+		}
+	}
+
+	/**
+	 * Bumps the versions of the settings a struct or array belongs to when it changes, and tracks the values set into it
+	 */
+	private static final class SettingsTracker implements IChangeListener {
+
+		/**
+		 * The listener the struct had before, called first
+		 */
+		private final IChangeListener	previous;
+
+		/**
+		 * The versions of the settings the struct belongs to, weakly held so finished requests don't keep theirs
+		 */
+		private final Set<AtomicLong>	versions	= Collections.synchronizedSet( Collections.newSetFromMap( new WeakHashMap<>() ) );
+
+		private SettingsTracker( IChangeListener previous ) {
+			this.previous = previous;
+		}
+
+		@Override
+		public Object notify( Key key, Object newValue, Object oldValue ) {
+			Object				value	= this.previous != null ? this.previous.notify( key, newValue, oldValue ) : newValue;
+			List<AtomicLong>	current;
+			synchronized ( this.versions ) {
+				current = new ArrayList<>( this.versions );
+			}
+			for ( AtomicLong version : current ) {
+				version.incrementAndGet();
+				trackChanges( value, version );
+			}
+			return value;
+		}
+	}
+
 }
@@ -17,6 +17,10 @@
  */
 package ortus.boxlang.runtime.application;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -31,6 +35,7 @@ import ortus.boxlang.runtime.scopes.SessionScope;
 import ortus.boxlang.runtime.types.DateTime;
 import ortus.boxlang.runtime.types.IStruct;
 import ortus.boxlang.runtime.types.Struct;
+import ortus.boxlang.runtime.util.conversion.BinaryCodec;
 
 /**
  * I represent a Session. This will be stored in a BoxLang cache
@@ -38,16 +43,32 @@ import ortus.boxlang.runtime.types.Struct;
  */
 public class Session implements Serializable {
 
+	/**
+	 * Serial version UID: the one computed for the class before it declared it, so the sessions persisted then can still be read
+	 */
+	private static final long					serialVersionUID		= -6785055647771023200L;
+
+	/**
+	 * The serialized fields: the scope was serialized as is before it was encoded with the {@link BinaryCodec}
+	 */
+	private static final ObjectStreamField[]	serialPersistentFields	= {
+	    new ObjectStreamField( "ID", Key.class ),
+	    new ObjectStreamField( "isNew", AtomicBoolean.class ),
+	    new ObjectStreamField( "applicationName", Key.class ),
+	    new ObjectStreamField( "sessionScope", SessionScope.class ),
+	    new ObjectStreamField( "encodedScope", byte[].class )
+	};
+
 	/**
 	 * The concatenator for session IDs
 	 */
-	public static final String	ID_CONCATENATOR		= "_";
+	public static final String					ID_CONCATENATOR			= "_";
 
 	/**
 	 * The URL token format
 	 * MOVE TO COMPAT MODULE
 	 */
-	public static final String	URL_TOKEN_FORMAT	= "CFID=%s";
+	public static final String					URL_TOKEN_FORMAT		= "CFID=%s";
 
 	/**
 	 * --------------------------------------------------------------------------
@@ -58,22 +79,22 @@ public class Session implements Serializable {
 	/**
 	 * The unique ID of this session
 	 */
-	private Key					ID;
+	private Key									ID;
 
 	/**
-	 * The scope for this session
+	 * The scope for this session, serialized with the {@link BinaryCodec}
 	 */
-	private SessionScope		sessionScope;
+	private transient SessionScope				sessionScope;
 
 	/**
 	 * Flag for when session has been started
 	 */
-	private final AtomicBoolean	isNew				= new AtomicBoolean( true );
+	private AtomicBoolean						isNew					= new AtomicBoolean( true );
 
 	/**
 	 * The application name linked to
 	 */
-	private Key					applicationName		= null;
+	private Key									applicationName			= null;
 
 	/**
 	 * --------------------------------------------------------------------------
@@ -260,4 +281,48 @@ public class Session implements Serializable {
 		);
 	}
 
+	/**
+	 * --------------------------------------------------------------------------
+	 * Serialization
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Write the session, with its scope encoded by the {@link BinaryCodec}
+	 *
+	 * @param out The stream to write to
+	 *
+	 * @throws IOException If the session can't be written
+	 */
+	private void writeObject( ObjectOutputStream out ) throws IOException {
+		ObjectOutputStream.PutField fields = out.putFields();
+		fields.put( "ID", this.ID );
+		fields.put( "isNew", this.isNew );
+		fields.put( "applicationName", this.applicationName );
+		fields.put( "encodedScope", this.sessionScope == null ? null : BinaryCodec.encode( new Struct( this.sessionScope ) ) );
+		out.writeFields();
+	}
+
+	/**
+	 * Read the session, with its scope encoded by the {@link BinaryCodec}, or serialized as is by the sessions persisted before
+	 *
+	 * @param in The stream to read from
+	 *
+	 * @throws IOException            If the session can't be read
+	 * @throws ClassNotFoundException If a class of the session can't be found
+	 */
+	private void readObject( ObjectInputStream in ) throws IOException, ClassNotFoundException {
+		ObjectInputStream.GetField	fields	= in.readFields();
+		byte[]						scope	= ( byte[] ) fields.get( "encodedScope", null );
+		this.ID					= ( Key ) fields.get( "ID", null );
+		this.isNew				= ( AtomicBoolean ) fields.get( "isNew", new AtomicBoolean( false ) );
+		this.applicationName	= ( Key ) fields.get( "applicationName", null );
+		if ( scope != null ) {
+			this.sessionScope = new SessionScope();
+			this.sessionScope.putAll( ( IStruct ) BinaryCodec.decode( scope ) );
+		} else {
+			this.sessionScope = ( SessionScope ) fields.get( "sessionScope", null );
+		}
+	}
+
 }
@@ -0,0 +1,399 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.runtime.async;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.async.executors.ExecutorRecord;
+import ortus.boxlang.runtime.services.AsyncService;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
+
+/**
+ * Runs the parallel versions of the collection member functions ( <code>each</code>, <code>some</code>, <code>every</code>,
+ * <code>filter</code> and <code>map</code> ) of arrays, lists, structs and queries on the shared executor of the {@link AsyncService}.
+ * <p>
+ * The source is split into chunks, with its {@link Spliterator}, so nothing is copied: arrays and queries are split by index range and
+ * structs by their concurrent map. Each call takes at most <code>maxThreads</code> threads of the shared executor, the calling thread
+ * included, which pull the chunks until none are left. The limit is capped by the size of the executor, which is a fork join pool with a
+ * thread per core unless the <code>boxlang-parallel</code> executor is configured in the <code>boxlang.json</code>, as a
+ * <code>virtual</code> executor for callbacks which mostly wait on I/O for example.
+ * <p>
+ * Results are in the order of the source, for sources which have one, and the first error thrown by a callback is rethrown once the
+ * running chunks are done.
+ */
+public final class ParallelCollections {
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Private Properties
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * The chunks per thread a source is split in, so the threads which get the quicker chunks take over the rest
+	 */
+	private static final int CHUNKS_PER_THREAD = 4;
+
+	private ParallelCollections() {
+	}
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Index Operations
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Run an action for every index in parallel
+	 *
+	 * @param size       The number of indexes, from 0
+	 * @param maxThreads The max threads, or null for the size of the executor
+	 * @param action     The action
+	 */
+	public static void forEach( int size, Integer maxThreads, IntConsumer action ) {
+		int						threads	= threads( maxThreads );
+		List<Spliterator.OfInt>	chunks	= split( IntStream.range( 0, size ).spliterator(), threads );
+		run( chunks.size(), threads, i -> chunks.get( i ).forEachRemaining( action ) );
+	}
+
+	/**
+	 * Test if any index matches in parallel, stopping once one does
+	 *
+	 * @param size       The number of indexes, from 0
+	 * @param maxThreads The max threads, or null for the size of the executor
+	 * @param test       The test
+	 *
+	 * @return True if any index matches
+	 */
+	public static boolean anyMatch( int size, Integer maxThreads, IntPredicate test ) {
+		int						threads	= threads( maxThreads );
+		List<Spliterator.OfInt>	chunks	= split( IntStream.range( 0, size ).spliterator(), threads );
+		AtomicBoolean			found	= new AtomicBoolean();
+		run( chunks.size(), threads, i -> {
+			Spliterator.OfInt chunk = chunks.get( i );
+			while ( !found.get() && chunk.tryAdvance( ( int index ) -> {
+				if ( test.test( index ) ) {
+					found.set( true );
+				}
+			} ) ) {
+				// keep going
+			}
+		} );
+		return found.get();
+	}
+
+	/**
+	 * Test if all indexes match in parallel, stopping once one doesn't
+	 *
+	 * @param size       The number of indexes, from 0
+	 * @param maxThreads The max threads, or null for the size of the executor
+	 * @param test       The test
+	 *
+	 * @return True if all indexes match
+	 */
+	public static boolean allMatch( int size, Integer maxThreads, IntPredicate test ) {
+		return !anyMatch( size, maxThreads, test.negate() );
+	}
+
+	/**
+	 * Filter indexes in parallel
+	 *
+	 * @param size       The number of indexes, from 0
+	 * @param maxThreads The max threads, or null for the size of the executor
+	 * @param test       The test
+	 *
+	 * @return The matching indexes, in order
+	 */
+	public static int[] filter( int size, Integer maxThreads, IntPredicate test ) {
+		int						threads	= threads( maxThreads );
+		List<Spliterator.OfInt>	chunks	= split( IntStream.range( 0, size ).spliterator(), threads );
+		int[][]					matches	= new int[ chunks.size() ][];
+		run( chunks.size(), threads, i -> matches[ i ] = StreamSupport.intStream( chunks.get( i ), false ).filter( test ).toArray() );
+		return Arrays.stream( matches ).flatMapToInt( Arrays::stream ).toArray();
+	}
+
+	/**
+	 * Map indexes in parallel
+	 *
+	 * @param size       The number of indexes, from 0
+	 * @param maxThreads The max threads, or null for the size of the executor
+	 * @param mapper     The mapper
+	 *
+	 * @return The mapped values, by index
+	 */
+	public static Object[] map( int size, Integer maxThreads, IntFunction<Object> mapper ) {
+		int						threads	= threads( maxThreads );
+		List<Spliterator.OfInt>	chunks	= split( IntStream.range( 0, size ).spliterator(), threads );
+		Object[]				results	= new Object[ size ];
+		run( chunks.size(), threads, i -> chunks.get( i ).forEachRemaining( ( int index ) -> results[ index ] = mapper.apply( index ) ) );
+		return results;
+	}
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Element Operations
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Run an action for every element in parallel
+	 *
+	 * @param source     The elements
+	 * @param maxThreads The max threads, or null for the size of the executor
+	 * @param action     The action
+	 */
+	public static <T> void forEach( Spliterator<T> source, Integer maxThreads, Consumer<? super T> action ) {
+		int						threads	= threads( maxThreads );
+		List<Spliterator<T>>	chunks	= split( source, threads );
+		run( chunks.size(), threads, i -> chunks.get( i ).forEachRemaining( action ) );
+	}
+
+	/**
+	 * Test if any element matches in parallel, stopping once one does
+	 *
+	 * @param source     The elements
+	 * @param maxThreads The max threads, or null for the size of the executor
+	 * @param test       The test
+	 *
+	 * @return True if any element matches
+	 */
+	public static <T> boolean anyMatch( Spliterator<T> source, Integer maxThreads, Predicate<? super T> test ) {
+		int						threads	= threads( maxThreads );
+		List<Spliterator<T>>	chunks	= split( source, threads );
+		AtomicBoolean			found	= new AtomicBoolean();
+		run( chunks.size(), threads, i -> {
+			Spliterator<T> chunk = chunks.get( i );
+			while ( !found.get() && chunk.tryAdvance( element -> {
+				if ( test.test( element ) ) {
+					found.set( true );
+				}
+			} ) ) {
+				// keep going
+			}
+		} );
+		return found.get();
+	}
+
+	/**
+	 * Test if all elements match in parallel, stopping once one doesn't
+	 *
+	 * @param source     The elements
+	 * @param maxThreads The max threads, or null for the size of the executor
+	 * @param test       The test
+	 *
+	 * @return True if all elements match
+	 */
+	public static <T> boolean allMatch( Spliterator<T> source, Integer maxThreads, Predicate<? super T> test ) {
+		return !anyMatch( source, maxThreads, test.negate() );
+	}
+
+	/**
+	 * Filter elements in parallel
+	 *
+	 * @param source     The elements
+	 * @param maxThreads The max threads, or null for the size of the executor
+	 * @param test       The test
+	 *
+	 * @return The matching elements, in order
+	 */
+	public static <T> List<T> filter( Spliterator<T> source, Integer maxThreads, Predicate<? super T> test ) {
+		return map( source, maxThreads, Function.identity(), test );
+	}
+
+	/**
+	 * Map elements in parallel
+	 *
+	 * @param source     The elements
+	 * @param maxThreads The max threads, or null for the size of the executor
+	 * @param mapper     The mapper
+	 *
+	 * @return The mapped elements, in order
+	 */
+	public static <T, R> List<R> map( Spliterator<T> source, Integer maxThreads, Function<? super T, ? extends R> mapper ) {
+		return map( source, maxThreads, mapper, null );
+	}
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Private Helpers
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Map the elements which pass a test, keeping each chunk's results apart so they can be put back in order
+	 */
+	@SuppressWarnings( "unchecked" )
+	private static <T, R> List<R> map( Spliterator<T> source, Integer maxThreads, Function<? super T, ? extends R> mapper, Predicate<? super T> test ) {
+		int						threads	= threads( maxThreads );
+		List<Spliterator<T>>	chunks	= split( source, threads );
+		List<R>[]				results	= new List[ chunks.size() ];
+		run( chunks.size(), threads, i -> {
+			List<R> chunkResults = new ArrayList<>();
+			chunks.get( i ).forEachRemaining( element -> {
+				if ( test == null || test.test( element ) ) {
+					chunkResults.add( mapper.apply( element ) );
+				}
+			} );
+			results[ i ] = chunkResults;
+		} );
+		List<R> merged = new ArrayList<>();
+		for ( List<R> chunkResults : results ) {
+			merged.addAll( chunkResults );
+		}
+		return merged;
+	}
+
+	/**
+	 * The shared executor
+	 */
+	private static ExecutorRecord executor() {
+		return BoxRuntime.getInstance().getAsyncService().getParallelExecutor();
+	}
+
+	/**
+	 * The threads a call can use: the requested max threads, capped by the size of the executor
+	 *
+	 * @param maxThreads The requested max threads, or null or 0 for the size of the executor
+	 *
+	 * @return The number of threads, the calling thread included
+	 */
+	private static int threads( Integer maxThreads ) {
+		ExecutorRecord	executor	= executor();
+		int				limit		= executor.executor() instanceof ForkJoinPool pool
+		    ? pool.getParallelism()
+		    : ( executor.maxThreads() != null && executor.maxThreads() > 0 ? executor.maxThreads() : Runtime.getRuntime().availableProcessors() );
+		return maxThreads == null || maxThreads <= 0 ? limit : Math.min( maxThreads, limit );
+	}
+
+	/**
+	 * Split a source in chunks, in order, until there are enough for the threads or it can't be split further
+	 *
+	 * @param source  The source
+	 * @param threads The threads which will process the chunks
+	 *
+	 * @return The chunks, in the order of the source
+	 */
+	@SuppressWarnings( "unchecked" )
+	private static <S extends Spliterator<?>> List<S> split( S source, int threads ) {
+		List<S> chunks = new ArrayList<>();
+		chunks.add( source );
+		if ( threads <= 1 ) {
+			return chunks;
+		}
+		int		target	= threads * CHUNKS_PER_THREAD;
+		boolean	split	= true;
+		while ( split && chunks.size() < target ) {
+			split = false;
+			List<S> next = new ArrayList<>( chunks.size() * 2 );
+			for ( int i = 0; i < chunks.size(); i++ ) {
+				S	chunk	= chunks.get( i );
+				// trySplit() hands back the first part, and keeps the rest
+				S	prefix	= next.size() + chunks.size() - i < target ? ( S ) chunk.trySplit() : null;
+				if ( prefix != null ) {
+					next.add( prefix );
+					split = true;
+				}
+				next.add( chunk );
+			}
+			chunks = next;
+		}
+		return chunks;
+	}
+
+	/**
+	 * Process the chunks on the calling thread and up to <code>threads - 1</code> threads of the shared executor. Each thread takes the next
+	 * chunk until there are none left, so an executor busy with other calls just means the calling thread does more of the work.
+	 *
+	 * @param chunkCount The number of chunks
+	 * @param threads    The max threads, the calling thread included
+	 * @param runChunk   Processes a chunk by index
+	 */
+	private static void run( int chunkCount, int threads, IntConsumer runChunk ) {
+		AtomicInteger				next		= new AtomicInteger();
+		AtomicReference<Throwable>	failure		= new AtomicReference<>();
+		CountDownLatch				done		= new CountDownLatch( chunkCount );
+		ExecutorService				executor	= executor().executor();
+		List<Future<?>>				helpers		= new ArrayList<>();
+
+		Runnable					worker		= () -> {
+			for ( int i = next.getAndIncrement(); i < chunkCount; i = next.getAndIncrement() ) {
+				try {
+					// Once a callback failed the rest of the chunks are skipped
+					if ( failure.get() == null ) {
+						runChunk.accept( i );
+					}
+				} catch ( Throwable e ) {
+					failure.compareAndSet( null, e );
+				} finally {
+					done.countDown();
+				}
+			}
+		};
+
+		for ( int i = 1; i < Math.min( threads, chunkCount ); i++ ) {
+			try {
+				helpers.add( executor.submit( worker ) );
+			} catch ( RejectedExecutionException e ) {
+				// Shutting down, so the calling thread does the work
+				break;
+			}
+		}
+		worker.run();
+		// Every chunk is taken by now, so the helpers which haven't started have nothing to do
+		helpers.forEach( helper -> helper.cancel( false ) );
+
+		try {
+			done.await();
+		} catch ( InterruptedException e ) {
+			Thread.currentThread().interrupt();
+			throw new BoxRuntimeException( "An interruption occurred while attempting to process the requested method in parallel", e );
+		}
+
+		Throwable error = failure.get();
+		if ( error instanceof RuntimeException runtimeException ) {
+			throw runtimeException;
+		}
+		if ( error instanceof Error jvmError ) {
+			throw jvmError;
+		}
+		if ( error != null ) {
+			throw new BoxRuntimeException( "An execution error occurred while attempting to process the requested method in parallel", error );
+		}
+	}
+
+}
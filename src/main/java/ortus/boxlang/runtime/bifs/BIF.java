@@ -31,6 +31,7 @@ import ortus.boxlang.runtime.services.ModuleService;
 import ortus.boxlang.runtime.types.Argument;
 import ortus.boxlang.runtime.types.IStruct;
 import ortus.boxlang.runtime.types.Struct;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
 
 /**
  * Base class for all BIFs. BIFs are invoked by the runtime when a function is called.
@@ -97,16 +98,46 @@ public abstract class BIF {
 	 * @return The result of the invocation
 	 */
 	public Object invoke( IBoxContext context, ArgumentsScope arguments ) {
-		interceptorService.announce(
-		    BoxEvent.ON_BIF_INVOCATION,
-		    Struct.of(
-		        Key.context, context,
-		        Key.arguments, arguments
-		    )
-		);
+		// Only build the announcement data if someone is listening
+		if ( interceptorService.hasListeners( BoxEvent.ON_BIF_INVOCATION ) ) {
+			interceptorService.announce(
+			    BoxEvent.ON_BIF_INVOCATION,
+			    Struct.of(
+			        Key.context, context,
+			        Key.arguments, arguments
+			    )
+			);
+		}
 		return _invoke( context, arguments );
 	}
 
+	/**
+	 * Verify if this BIF implements the direct invocation fast path. BIFs that return true must also
+	 * override {@link #_invokeDirect(IBoxContext, Object[], boolean, Key)}.
+	 *
+	 * @return True if the BIF can be invoked without building an {@link ArgumentsScope}
+	 */
+	public boolean supportsDirectInvocation() {
+		return false;
+	}
+
+	/**
+	 * Direct invocation fast path for hot BIFs. The runtime only calls this with positional arguments that have already been
+	 * defaulted and cast to the declared argument types, so the array has exactly one entry per declared argument.
+	 * Named arguments, BIFs with argument validators, and invocations with interceptors listening still go through
+	 * {@link #invoke(IBoxContext, ArgumentsScope)}.
+	 *
+	 * @param context   The context in which the BIF is being invoked
+	 * @param arguments The arguments to the BIF in declared order
+	 * @param isMember  Is this a member function execution?
+	 * @param name      The name the BIF was invoked with
+	 *
+	 * @return The result of the invocation
+	 */
+	public Object _invokeDirect( IBoxContext context, Object[] arguments, boolean isMember, Key name ) {
+		throw new BoxRuntimeException( "The BIF [" + name.getName() + "] does not support direct invocation" );
+	}
+
 	/**
 	 * This is overridden by the concrete to provide the actual BIF implementation
 	 *
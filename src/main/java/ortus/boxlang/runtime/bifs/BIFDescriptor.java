@@ -28,6 +28,7 @@ import ortus.boxlang.runtime.scopes.Key;
 import ortus.boxlang.runtime.services.InterceptorService;
 import ortus.boxlang.runtime.types.Argument;
 import ortus.boxlang.runtime.types.Struct;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
 import ortus.boxlang.runtime.util.ArgumentUtil;
 
 /**
@@ -43,9 +44,14 @@ public class BIFDescriptor {
 	public Key						name;
 
 	/**
-	 * BIF class
+	 * BIF class, lazily loaded when the descriptor was created from its class name, so it's only read through {@link #getBIFClass()}
 	 */
-	public Class<?>					BIFClass;
+	private volatile Class<?>		BIFClass;
+
+	/**
+	 * BIF class name
+	 */
+	private final String			BIFClassName;
 
 	/**
 	 * Module name, or null if global
@@ -67,6 +73,11 @@ public class BIFDescriptor {
 	 */
 	public Boolean					isGlobal;
 
+	/**
+	 * Whether the BIF can use the direct invocation fast path, lazily computed
+	 */
+	private volatile Boolean		directInvocation	= null;
+
 	/**
 	 * The interceptor service helper
 	 */
@@ -91,12 +102,62 @@ public class BIFDescriptor {
 	    BIF BIFInstance ) {
 		this.name			= name;
 		this.BIFClass		= BIFClass;
+		this.BIFClassName	= BIFClass.getName();
 		this.module			= module;
 		this.namespace		= namespace;
 		this.isGlobal		= isGlobal;
 		this.BIFInstance	= BIFInstance;
 	}
 
+	/**
+	 * Constructor for a BIF whose class is only loaded when it's first used
+	 *
+	 * @param name         The name of the BIF
+	 * @param BIFClassName The name of the class of the BIF
+	 * @param module       The module name, or null if global
+	 * @param namespace    The namespace name, or null if global
+	 * @param isGlobal     Is this a global BIF?
+	 */
+	public BIFDescriptor(
+	    Key name,
+	    String BIFClassName,
+	    String module,
+	    String namespace,
+	    Boolean isGlobal ) {
+		this.name			= name;
+		this.BIFClass		= null;
+		this.BIFClassName	= BIFClassName;
+		this.module			= module;
+		this.namespace		= namespace;
+		this.isGlobal		= isGlobal;
+		this.BIFInstance	= null;
+	}
+
+	/**
+	 * Get the BIF class, loading it on first use
+	 *
+	 * @return The BIF class
+	 */
+	public Class<?> getBIFClass() {
+		if ( this.BIFClass == null ) {
+			try {
+				this.BIFClass = Class.forName( this.BIFClassName, true, BoxRuntime.class.getClassLoader() );
+			} catch ( ClassNotFoundException e ) {
+				throw new BoxRuntimeException( "Unable to load the BIF class [" + this.BIFClassName + "] of [" + this.name.getName() + "]", e );
+			}
+		}
+		return this.BIFClass;
+	}
+
+	/**
+	 * Get the BIF class name, without loading the class
+	 *
+	 * @return The BIF class name
+	 */
+	public String getBIFClassName() {
+		return this.BIFClassName;
+	}
+
 	/**
 	 * Descriptor belongs to a modules or not
 	 *
@@ -125,7 +186,7 @@ public class BIFDescriptor {
 			synchronized ( this ) {
 				// Double check inside lock
 				if ( this.BIFInstance == null ) {
-					this.BIFInstance = ( BIF ) DynamicObject.of( this.BIFClass ).invokeConstructor( ( IBoxContext ) null ).getTargetInstance();
+					this.BIFInstance = ( BIF ) DynamicObject.of( getBIFClass() ).invokeConstructor( ( IBoxContext ) null ).getTargetInstance();
 					interceptorService.announce(
 					    BoxEvent.ON_BIF_INSTANCE,
 					    new Struct(
@@ -145,6 +206,27 @@ public class BIFDescriptor {
 		return this.BIFInstance;
 	}
 
+	/**
+	 * Verify if the BIF supports the direct invocation fast path. The BIF must opt-in and none of its declared arguments
+	 * can have validators, as those need an arguments scope to run against.
+	 *
+	 * @return True if the BIF can be invoked directly without an arguments scope
+	 */
+	public boolean supportsDirectInvocation() {
+		if ( this.directInvocation == null ) {
+			BIF		bif		= getBIF();
+			boolean	result	= bif.supportsDirectInvocation();
+			for ( Argument argument : bif.getDeclaredArguments() ) {
+				if ( argument.validators() != null && !argument.validators().isEmpty() ) {
+					result = false;
+					break;
+				}
+			}
+			this.directInvocation = result;
+		}
+		return this.directInvocation;
+	}
+
 	/**
 	 * Invoke the BIF with no arguments
 	 *
@@ -174,8 +256,21 @@ public class BIFDescriptor {
 	 * @return The result of the invocation
 	 */
 	public Object invoke( IBoxContext context, Object[] positionalArguments, boolean isMember, Key name ) {
-		ArgumentsScope	scope				= new ArgumentsScope();
-		Argument[]		declaredArguments	= getBIF().getDeclaredArguments();
+		Argument[] declaredArguments = getBIF().getDeclaredArguments();
+
+		// Fast path: no arguments scope, as long as nobody needs to see one
+		if ( positionalArguments.length <= declaredArguments.length
+		    && supportsDirectInvocation()
+		    && !interceptorService.hasListeners( BoxEvent.ON_BIF_INVOCATION ) ) {
+			return this.getBIF()._invokeDirect(
+			    context,
+			    ArgumentUtil.createDirectArguments( context, positionalArguments, declaredArguments, name ),
+			    isMember,
+			    name
+			);
+		}
+
+		ArgumentsScope scope = new ArgumentsScope();
 		ArgumentUtil.createArgumentsScope( context, positionalArguments, declaredArguments, scope, name );
 		scope.put( BIF.__isMemberExecution, isMember );
 		scope.put( BIF.__functionName, name );
@@ -20,6 +20,7 @@ import ortus.boxlang.runtime.bifs.BoxMember;
 import ortus.boxlang.runtime.context.IBoxContext;
 import ortus.boxlang.runtime.dynamic.casters.ArrayCaster;
 import ortus.boxlang.runtime.dynamic.casters.CastAttempt;
+import ortus.boxlang.runtime.interop.DynamicObject;
 import ortus.boxlang.runtime.scopes.ArgumentsScope;
 import ortus.boxlang.runtime.scopes.Key;
 import ortus.boxlang.runtime.types.Argument;
@@ -56,10 +57,46 @@ public class ArrayAppend extends BIF {
 	 *                 appended as a single element.
 	 */
 	public Object _invoke( IBoxContext context, ArgumentsScope arguments ) {
-		Array				actualArray	= arguments.getAsArray( Key.array );
-		Object				value		= arguments.get( Key.value );
-		CastAttempt<Array>	attempt		= ArrayCaster.attempt( value );
-		if ( arguments.getAsBoolean( Key.merge ) && attempt.wasSuccessful() ) {
+		return append( arguments.getAsArray( Key.array ), arguments.get( Key.value ), arguments.getAsBoolean( Key.merge ) );
+	}
+
+	/**
+	 * Direct invocation fast path
+	 */
+	@Override
+	public boolean supportsDirectInvocation() {
+		return true;
+	}
+
+	/**
+	 * Append a value to an array without an arguments scope
+	 *
+	 * @param context   The context in which the BIF is being invoked.
+	 * @param arguments The arguments in declared order
+	 * @param isMember  Is this a member function execution?
+	 * @param name      The name the BIF was invoked with
+	 */
+	@Override
+	public Object _invokeDirect( IBoxContext context, Object[] arguments, boolean isMember, Key name ) {
+		return append(
+		    ( Array ) DynamicObject.unWrap( arguments[ 0 ] ),
+		    arguments[ 1 ],
+		    ( Boolean ) DynamicObject.unWrap( arguments[ 2 ] )
+		);
+	}
+
+	/**
+	 * Append the value to the array
+	 *
+	 * @param actualArray The array to append to
+	 * @param value       The value to append
+	 * @param merge       Whether to merge the value if it is an array
+	 *
+	 * @return The array
+	 */
+	private Array append( Array actualArray, Object value, Boolean merge ) {
+		CastAttempt<Array> attempt = ArrayCaster.attempt( value );
+		if ( merge && attempt.wasSuccessful() ) {
 			actualArray.addAll( attempt.get() );
 		} else {
 			actualArray.add( value );
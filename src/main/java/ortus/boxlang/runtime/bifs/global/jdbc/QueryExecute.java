@@ -58,7 +58,8 @@ public class QueryExecute extends BIF {
 	 *
 	 * @argument.sql The SQL to execute
 	 *
-	 * @argument.params An array of binding parameters or a struct of named binding parameters
+	 * @argument.params An array of binding parameters or a struct of named binding parameters. With the <code>batch</code> option, an array of
+	 *                  parameter arrays or structs, one per execution.
 	 *
 	 * @argument.options A struct of query options
 	 *
@@ -71,7 +72,23 @@ public class QueryExecute extends BIF {
 		String					sql					= arguments.getAsString( Key.sql );
 		Object					bindings			= arguments.get( Key.params );
 		PendingQuery			pendingQuery		= new PendingQuery( sql, bindings, options );
-		ExecutedQuery			executedQuery		= pendingQuery.execute( connectionManager );
+
+		// Batches return their update counts and generated keys instead of a result set
+		if ( options.batch ) {
+			IStruct batchResult = pendingQuery.executeBatch( connectionManager );
+			if ( options.wantsResultStruct() ) {
+				assert options.resultVariableName != null;
+				ExpressionInterpreter.setVariable( context, options.resultVariableName, batchResult );
+			}
+			return batchResult;
+		}
+
+		// Cursors and streams read the rows lazily, there is no result metadata to report
+		if ( options.wantsCursor() ) {
+			return options.castAsReturnType( pendingQuery.executeCursor( connectionManager ) );
+		}
+
+		ExecutedQuery executedQuery = pendingQuery.execute( connectionManager, context );
 
 		if ( options.wantsResultStruct() ) {
 			assert options.resultVariableName != null;
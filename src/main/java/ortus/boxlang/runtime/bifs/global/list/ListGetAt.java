@@ -21,6 +21,7 @@ import ortus.boxlang.runtime.bifs.BIF;
 import ortus.boxlang.runtime.bifs.BoxBIF;
 import ortus.boxlang.runtime.bifs.BoxMember;
 import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.interop.DynamicObject;
 import ortus.boxlang.runtime.scopes.ArgumentsScope;
 import ortus.boxlang.runtime.scopes.Key;
 import ortus.boxlang.runtime.types.Argument;
@@ -71,4 +72,31 @@ public class ListGetAt extends BIF {
 		    arguments.getAsBoolean( Key.multiCharacterDelimiter )
 		);
 	}
+
+	/**
+	 * Direct invocation fast path
+	 */
+	@Override
+	public boolean supportsDirectInvocation() {
+		return true;
+	}
+
+	/**
+	 * Retrieves an item from a delimited list without an arguments scope
+	 *
+	 * @param context   The context in which the BIF is being invoked.
+	 * @param arguments The arguments in declared order
+	 * @param isMember  Is this a member function execution?
+	 * @param name      The name the BIF was invoked with
+	 */
+	@Override
+	public Object _invokeDirect( IBoxContext context, Object[] arguments, boolean isMember, Key name ) {
+		return ListUtil.getAt(
+		    ( String ) DynamicObject.unWrap( arguments[ 0 ] ),
+		    ( Integer ) DynamicObject.unWrap( arguments[ 1 ] ),
+		    ( String ) DynamicObject.unWrap( arguments[ 2 ] ),
+		    ( Boolean ) DynamicObject.unWrap( arguments[ 3 ] ),
+		    ( Boolean ) DynamicObject.unWrap( arguments[ 4 ] )
+		);
+	}
 }
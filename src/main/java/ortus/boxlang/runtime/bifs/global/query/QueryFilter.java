@@ -14,10 +14,9 @@
  */
 package ortus.boxlang.runtime.bifs.global.query;
 
-import java.util.UUID;
 import java.util.function.IntPredicate;
-import java.util.stream.IntStream;
 
+import ortus.boxlang.runtime.async.ParallelCollections;
 import ortus.boxlang.runtime.bifs.BIF;
 import ortus.boxlang.runtime.bifs.BoxBIF;
 import ortus.boxlang.runtime.bifs.BoxMember;
@@ -25,11 +24,9 @@ import ortus.boxlang.runtime.context.IBoxContext;
 import ortus.boxlang.runtime.dynamic.casters.BooleanCaster;
 import ortus.boxlang.runtime.scopes.ArgumentsScope;
 import ortus.boxlang.runtime.scopes.Key;
-import ortus.boxlang.runtime.services.AsyncService;
 import ortus.boxlang.runtime.types.Argument;
 import ortus.boxlang.runtime.types.BoxLangType;
 import ortus.boxlang.runtime.types.Query;
-import ortus.boxlang.runtime.types.util.BLCollector;
 
 @BoxBIF
 @BoxMember( type = BoxLangType.QUERY )
@@ -74,25 +71,11 @@ public class QueryFilter extends BIF {
 			    new Object[] { query.getRowAsStruct( idx ), idx + 1, query } ) );
 		}
 
-		IntStream	intStream	= query.intStream();
-
-		Query		newQuery	= new Query();
-
-		for ( var column : query.getColumns().entrySet() ) {
-			newQuery.addColumn( column.getKey(), column.getValue().getType() );
-		}
-
+		// Filter the row indexes, then copy the matching rows column by column
 		if ( parallel ) {
-			return AsyncService.buildExecutor(
-			    "QueryFilter_" + UUID.randomUUID().toString(),
-			    AsyncService.ExecutorType.FORK_JOIN,
-			    maxThreads
-			).submitAndGet( () -> query.intStream().parallel().filter( test ).mapToObj( query::getRowAsStruct ).collect( BLCollector.toQuery( newQuery ) ) );
+			return query.selectRows( ParallelCollections.filter( query.size(), maxThreads, test ) );
 		} else {
-			return intStream
-			    .filter( test )
-			    .mapToObj( query::getRowAsStruct )
-			    .collect( BLCollector.toQuery( newQuery ) );
+			return query.selectRows( query.intStream().filter( test ).toArray() );
 		}
 	}
 }
@@ -22,7 +22,9 @@ import ortus.boxlang.runtime.scopes.ArgumentsScope;
 import ortus.boxlang.runtime.scopes.Key;
 import ortus.boxlang.runtime.types.Argument;
 import ortus.boxlang.runtime.types.BoxLangType;
-import ortus.boxlang.runtime.types.util.ListUtil;
+import ortus.boxlang.runtime.types.Function;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.Query;
 
 @BoxBIF
 @BoxMember( type = BoxLangType.QUERY )
@@ -54,11 +56,19 @@ public class QueryReduce extends BIF {
 	 * @argument.initialValue The initial value to use for the reduction
 	 */
 	public Object _invoke( IBoxContext context, ArgumentsScope arguments ) {
-		return ListUtil.reduce(
-		    arguments.getAsQuery( Key.query ).toStructArray(),
-		    arguments.getAsFunction( Key.callback ),
-		    context,
-		    arguments.get( Key.initialValue )
-		);
+		Query		query			= arguments.getAsQuery( Key.query );
+		Function	callback		= arguments.getAsFunction( Key.callback );
+		Object		accumulator		= arguments.get( Key.initialValue );
+		boolean		strictArguments	= callback.requiresStrictArguments();
+
+		// Rows are materialized one at a time straight from the column storage
+		for ( int i = 0; i < query.size(); i++ ) {
+			IStruct row = query.getRowAsStruct( i );
+			accumulator = strictArguments
+			    ? context.invokeFunction( callback, new Object[] { accumulator, row } )
+			    : context.invokeFunction( callback, new Object[] { accumulator, row, i + 1, query } );
+		}
+
+		return accumulator;
 	}
 }
@@ -14,8 +14,6 @@
  */
 package ortus.boxlang.runtime.bifs.global.query;
 
-import java.util.Collections;
-
 import ortus.boxlang.runtime.bifs.BIF;
 import ortus.boxlang.runtime.bifs.BoxBIF;
 import ortus.boxlang.runtime.bifs.BoxMember;
@@ -52,7 +50,8 @@ public class QueryReverse extends BIF {
 	public Object _invoke( IBoxContext context, ArgumentsScope arguments ) {
 		Query query = ( Query ) DuplicationUtil.duplicate( arguments.get( Key.query ), false );
 
-		Collections.reverse( query.getData() );
+		int size = query.size();
+		query.permute( query.intStream().map( i -> size - 1 - i ).toArray() );
 
 		return query;
 	}
@@ -29,6 +29,7 @@ import ortus.boxlang.runtime.scopes.Key;
 import ortus.boxlang.runtime.types.Argument;
 import ortus.boxlang.runtime.types.BoxLangType;
 import ortus.boxlang.runtime.types.DateTime;
+import ortus.boxlang.runtime.types.util.DateTimeFormatterCache;
 import ortus.boxlang.runtime.util.LocalizationUtil;
 
 @BoxBIF
@@ -122,7 +123,7 @@ public class DateTimeFormat extends BIF {
 				DateTimeFormatter formatter = ( DateTimeFormatter ) DateTime.COMMON_FORMATTERS.get( commonFormatKey );
 				return locale == null
 				    ? ref.format( formatter )
-				    : ref.format( formatter.withLocale( locale ) );
+				    : ref.format( DateTimeFormatterCache.localize( formatter, locale ) );
 			} else {
 				return locale == null
 				    ? ref.format( format )
@@ -30,6 +30,7 @@ import ortus.boxlang.runtime.scopes.Key;
 import ortus.boxlang.runtime.types.Argument;
 import ortus.boxlang.runtime.types.BoxLangType;
 import ortus.boxlang.runtime.types.DateTime;
+import ortus.boxlang.runtime.types.util.DateTimeFormatterCache;
 import ortus.boxlang.runtime.util.LocalizationUtil;
 
 @BoxBIF
@@ -74,7 +75,7 @@ public class ParseDateTime extends BIF {
 			if ( format != null ) {
 				dateObj.setFormat( format );
 			} else if ( locale != null ) {
-				dateObj.setFormat( DateTimeFormatter.ISO_LOCAL_DATE_TIME.withLocale( locale ) );
+				dateObj.setFormat( DateTimeFormatterCache.localize( DateTimeFormatter.ISO_LOCAL_DATE_TIME, locale ) );
 			}
 			return dateObj;
 		}
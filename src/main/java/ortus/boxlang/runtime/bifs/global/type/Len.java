@@ -64,7 +64,38 @@ public class Len extends BIF {
 	 * @argument.value The number to return the absolute value of
 	 */
 	public Object _invoke( IBoxContext context, ArgumentsScope arguments ) {
-		Object object = arguments.get( Key.value );
+		return length( arguments.get( Key.value ) );
+	}
+
+	/**
+	 * Direct invocation fast path
+	 */
+	@Override
+	public boolean supportsDirectInvocation() {
+		return true;
+	}
+
+	/**
+	 * Returns the length of the value without an arguments scope
+	 *
+	 * @param context   The context in which the BIF is being invoked.
+	 * @param arguments The arguments in declared order
+	 * @param isMember  Is this a member function execution?
+	 * @param name      The name the BIF was invoked with
+	 */
+	@Override
+	public Object _invokeDirect( IBoxContext context, Object[] arguments, boolean isMember, Key name ) {
+		return length( arguments[ 0 ] );
+	}
+
+	/**
+	 * Get the length of a value
+	 *
+	 * @param object The value
+	 *
+	 * @return The length
+	 */
+	private Object length( Object object ) {
 		if ( object == null ) {
 			return 0;
 		}
@@ -17,6 +17,10 @@
  */
 package ortus.boxlang.runtime.cache;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.time.Instant;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -56,8 +60,9 @@ public class BoxCacheEntry implements ICacheEntry {
 	private AtomicLong				hits				= new AtomicLong( 0 );
 	private long					timeout;
 	private long					lastAccessTimeout;
-	private Instant					created				= Instant.now();
-	private Instant					lastAccessed		= Instant.now();
+	// Epoch millis, so touching an entry doesn't allocate
+	private long					created				= System.currentTimeMillis();
+	private long					lastAccessed		= this.created;
 	private Key						key;
 	private Object					value;
 	private IStruct					metadata			= new Struct();
@@ -98,6 +103,35 @@ public class BoxCacheEntry implements ICacheEntry {
 		this.hashCode	= prime * this.hashCode + Long.hashCode( lastAccessTimeout );
 	}
 
+	/**
+	 * Constructor to restore an entry kept outside of the heap, with its usage
+	 *
+	 * @param cacheName         The name of the cache associated with this entry
+	 * @param timeout           The timeout in seconds
+	 * @param lastAccessTimeout The last access timeout in seconds
+	 * @param key               The key
+	 * @param value             The value
+	 * @param metadata          The metadata
+	 * @param hits              The number of hits
+	 * @param created           When it was created, in epoch milliseconds
+	 * @param lastAccessed      When it was last accessed, in epoch milliseconds
+	 */
+	public BoxCacheEntry(
+	    Key cacheName,
+	    long timeout,
+	    long lastAccessTimeout,
+	    Key key,
+	    Object value,
+	    IStruct metadata,
+	    long hits,
+	    long created,
+	    long lastAccessed ) {
+		this( cacheName, timeout, lastAccessTimeout, key, value, metadata );
+		this.hits.set( hits );
+		this.created		= created;
+		this.lastAccessed	= lastAccessed;
+	}
+
 	/**
 	 * --------------------------------------------------------------------------
 	 * Helper Methods
@@ -152,7 +186,7 @@ public class BoxCacheEntry implements ICacheEntry {
 	 * Reset the last accessed date
 	 */
 	public ICacheEntry touchLastAccessed() {
-		this.lastAccessed = Instant.now();
+		this.lastAccessed = System.currentTimeMillis();
 		return this;
 	}
 
@@ -160,7 +194,7 @@ public class BoxCacheEntry implements ICacheEntry {
 	 * Reset the created date
 	 */
 	public ICacheEntry resetCreated() {
-		this.created = Instant.now();
+		this.created = System.currentTimeMillis();
 		return this;
 	}
 
@@ -201,11 +235,21 @@ public class BoxCacheEntry implements ICacheEntry {
 
 	@Override
 	public Instant created() {
-		return this.created;
+		return Instant.ofEpochMilli( this.created );
 	}
 
 	@Override
 	public Instant lastAccessed() {
+		return Instant.ofEpochMilli( this.lastAccessed );
+	}
+
+	@Override
+	public long createdMillis() {
+		return this.created;
+	}
+
+	@Override
+	public long lastAccessedMillis() {
 		return this.lastAccessed;
 	}
 
@@ -241,8 +285,8 @@ public class BoxCacheEntry implements ICacheEntry {
 		    "hits", this.hits.get(),
 		    "timeout", this.timeout,
 		    "lastAccessTimeout", this.lastAccessTimeout,
-		    "created", this.created,
-		    "lastAccessed", this.lastAccessed,
+		    "created", created(),
+		    "lastAccessed", lastAccessed(),
 		    "key", this.key,
 		    "metadata", this.metadata,
 		    "isEternal", this.isEternal()
@@ -260,4 +304,59 @@ public class BoxCacheEntry implements ICacheEntry {
 		return results;
 	}
 
+	/**
+	 * --------------------------------------------------------------------------
+	 * Serialization
+	 * --------------------------------------------------------------------------
+	 * The timestamps are written as {@link Instant}s, as they were stored before, so entries persisted by a file system store can still be
+	 * read.
+	 */
+
+	private static final ObjectStreamField[] serialPersistentFields = {
+	    new ObjectStreamField( "cacheName", Key.class ),
+	    new ObjectStreamField( "hits", AtomicLong.class ),
+	    new ObjectStreamField( "timeout", long.class ),
+	    new ObjectStreamField( "lastAccessTimeout", long.class ),
+	    new ObjectStreamField( "created", Instant.class ),
+	    new ObjectStreamField( "lastAccessed", Instant.class ),
+	    new ObjectStreamField( "key", Key.class ),
+	    new ObjectStreamField( "value", Object.class ),
+	    new ObjectStreamField( "metadata", IStruct.class ),
+	    new ObjectStreamField( "hashCode", int.class )
+	};
+
+	private void writeObject( ObjectOutputStream out ) throws IOException {
+		ObjectOutputStream.PutField fields = out.putFields();
+		fields.put( "cacheName", this.cacheName );
+		fields.put( "hits", this.hits );
+		fields.put( "timeout", this.timeout );
+		fields.put( "lastAccessTimeout", this.lastAccessTimeout );
+		fields.put( "created", created() );
+		fields.put( "lastAccessed", lastAccessed() );
+		fields.put( "key", this.key );
+		fields.put( "value", this.value );
+		fields.put( "metadata", this.metadata );
+		fields.put( "hashCode", this.hashCode );
+		out.writeFields();
+	}
+
+	private void readObject( ObjectInputStream in ) throws IOException, ClassNotFoundException {
+		ObjectInputStream.GetField	fields			= in.readFields();
+		Instant						created			= ( Instant ) fields.get( "created", null );
+		Instant						lastAccessed	= ( Instant ) fields.get( "lastAccessed", null );
+		this.cacheName			= ( Key ) fields.get( "cacheName", null );
+		this.hits				= ( AtomicLong ) fields.get( "hits", null );
+		this.timeout			= fields.get( "timeout", 0L );
+		this.lastAccessTimeout	= fields.get( "lastAccessTimeout", 0L );
+		this.created			= created != null ? created.toEpochMilli() : System.currentTimeMillis();
+		this.lastAccessed		= lastAccessed != null ? lastAccessed.toEpochMilli() : this.created;
+		this.key				= ( Key ) fields.get( "key", null );
+		this.value				= fields.get( "value", null );
+		this.metadata			= ( IStruct ) fields.get( "metadata", null );
+		this.hashCode			= fields.get( "hashCode", 0 );
+		if ( this.hits == null ) {
+			this.hits = new AtomicLong( 0 );
+		}
+	}
+
 }
@@ -76,6 +76,42 @@ public interface ICacheEntry extends Serializable {
 	 */
 	public Instant lastAccessed();
 
+	/**
+	 * When this cache entry was created, in epoch milliseconds
+	 *
+	 * @return The creation timestamp
+	 */
+	public default long createdMillis() {
+		return created().toEpochMilli();
+	}
+
+	/**
+	 * When this cache entry was last accessed, in epoch milliseconds
+	 *
+	 * @return The last access timestamp
+	 */
+	public default long lastAccessedMillis() {
+		return lastAccessed().toEpochMilli();
+	}
+
+	/**
+	 * When this cache entry expires: its creation plus its timeout, or its last access plus its last access timeout if sooner.
+	 *
+	 * @param useLastAccessTimeout Whether the last access timeout applies
+	 *
+	 * @return The expiration timestamp in epoch milliseconds, or {@link Long#MAX_VALUE} if the entry is eternal
+	 */
+	public default long expiresAt( boolean useLastAccessTimeout ) {
+		if ( isEternal() ) {
+			return Long.MAX_VALUE;
+		}
+		long expiresAt = createdMillis() + timeout() * 1000;
+		if ( useLastAccessTimeout && lastAccessTimeout() > 0 ) {
+			expiresAt = Math.min( expiresAt, lastAccessedMillis() + lastAccessTimeout() * 1000 );
+		}
+		return expiresAt;
+	}
+
 	/**
 	 * Is this an eternal object
 	 *
@@ -18,10 +18,9 @@
 package ortus.boxlang.runtime.cache.providers;
 
 import java.time.Duration;
-import java.time.Instant;
-import java.util.Objects;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
@@ -32,6 +31,7 @@ import ortus.boxlang.runtime.cache.BoxCacheEntry;
 import ortus.boxlang.runtime.cache.ICacheEntry;
 import ortus.boxlang.runtime.cache.filters.ICacheKeyFilter;
 import ortus.boxlang.runtime.cache.store.IObjectStore;
+import ortus.boxlang.runtime.cache.util.ExpiryIndex;
 import ortus.boxlang.runtime.config.segments.CacheConfig;
 import ortus.boxlang.runtime.dynamic.Attempt;
 import ortus.boxlang.runtime.events.BoxEvent;
@@ -63,7 +63,12 @@ public class BoxCacheProvider extends AbstractCacheProvider {
 	/**
 	 * Logger
 	 */
-	private static final Logger	logger	= LoggerFactory.getLogger( BoxCacheProvider.class );
+	private static final Logger	logger			= LoggerFactory.getLogger( BoxCacheProvider.class );
+
+	/**
+	 * How often a shared store is scanned whole, to index the entries other nodes set in it, in milliseconds
+	 */
+	private static final long	RESCAN_INTERVAL	= 600_000;
 
 	/**
 	 * The object store we will use for caching
@@ -92,6 +97,28 @@ public class BoxCacheProvider extends AbstractCacheProvider {
 	 */
 	private int					maxObjects;
 
+	/**
+	 * Whether an eviction check is already queued. Checks are coalesced so a burst of
+	 * gets/sets schedules at most one pending check instead of one task per operation.
+	 */
+	private final AtomicBoolean	evictionCheckPending	= new AtomicBoolean( false );
+
+	/**
+	 * The keys of the entries set in this cache by the time they expire, so reaping only visits the entries which may have expired
+	 */
+	private final ExpiryIndex	expirations				= new ExpiryIndex();
+
+	/**
+	 * Whether the next reap has to scan the whole store, to index the entries it held before this provider set any, like the ones a file
+	 * system store persisted
+	 */
+	private final AtomicBoolean	fullReapPending			= new AtomicBoolean( true );
+
+	/**
+	 * When the store was last scanned whole, in epoch milliseconds
+	 */
+	private volatile long		lastFullReap;
+
 	/**
 	 * --------------------------------------------------------------------------
 	 * Constructor
@@ -254,39 +281,28 @@ public class BoxCacheProvider extends AbstractCacheProvider {
 	}
 
 	/**
-	 * Reap the cache
+	 * Reap the cache: clear the entries which expired.
+	 * <p>
+	 * Stores which can clear their expired entries themselves do so. Otherwise only the keys the expiry index has due are checked, except
+	 * on the first reap, which scans the whole store to index the entries set before this provider started. Entries which were accessed
+	 * or replaced since they were indexed are indexed again by their new expiration.
 	 */
 	public synchronized void reap() {
 		// Start a timer
-		long	start		= System.currentTimeMillis();
+		long start = System.currentTimeMillis();
 
 		// Now do expiration checks
-		Instant	rightNow	= Instant.now();
-		this.objectStore
-		    .getKeysStream()
-		    // Map to the ICacheEntry
-		    .map( this.objectStore::getQuiet )
-		    // Filter out nulls
-		    .filter( Objects::nonNull )
-		    // Only non-eternal objects
-		    .filter( entry -> !entry.isEternal() )
-		    // Operate on it
-		    .forEach( entry -> {
-
-			    // Check if the creation + timeout is before now
-			    if ( entry.created().plusSeconds( entry.timeout() ).isBefore( rightNow ) ) {
-				    clear( entry.key().getName() );
-				    return;
-			    }
-
-			    // Last Access Timeout
-			    if ( config.properties.getAsBoolean( Key.useLastAccessTimeouts ) &&
-			        entry.lastAccessTimeout() > 0 &&
-			        entry.lastAccessed().plusSeconds( entry.lastAccessTimeout() ).isBefore( rightNow ) ) {
-				    clear( entry.key().getName() );
-			    }
-
-		    } );
+		if ( this.objectStore.clearExpired( start ) >= 0 ) {
+			// The store reaps itself, the index is not needed
+			this.expirations.clear();
+		} else if ( this.fullReapPending.getAndSet( false )
+		    || ( this.objectStore.isShared() && start - this.lastFullReap >= RESCAN_INTERVAL ) ) {
+			// The keys set outside of this provider are only found by scanning
+			this.lastFullReap = start;
+			this.objectStore.getKeysStream().forEach( key -> reapEntry( key, start ) );
+		} else {
+			this.expirations.drain( start ).forEach( key -> reapEntry( key, start ) );
+		}
 
 		// Record it
 		getStats().recordReap();
@@ -299,6 +315,35 @@ public class BoxCacheProvider extends AbstractCacheProvider {
 		);
 	}
 
+	/**
+	 * Clear an entry if it expired, or index it by its expiration if it didn't
+	 *
+	 * @param key The key of the entry
+	 * @param now The current time in epoch milliseconds
+	 */
+	private void reapEntry( Key key, long now ) {
+		ICacheEntry entry = this.objectStore.getQuiet( key );
+		// Cleared, evicted or made eternal since it was indexed
+		if ( entry == null || entry.isEternal() ) {
+			return;
+		}
+		long expiresAt = entry.expiresAt( useLastAccessTimeouts() );
+		if ( expiresAt < now ) {
+			clear( key.getName() );
+		} else {
+			this.expirations.schedule( key, expiresAt );
+		}
+	}
+
+	/**
+	 * Whether entries expire when not accessed for their last access timeout
+	 *
+	 * @return True if last access timeouts are used
+	 */
+	private boolean useLastAccessTimeouts() {
+		return this.config.properties.getAsBoolean( Key.useLastAccessTimeouts );
+	}
+
 	/**
 	 * Get the size of the cache
 	 */
@@ -537,8 +582,8 @@ public class BoxCacheProvider extends AbstractCacheProvider {
 			this.stats.recordMiss();
 		}
 
-		// Run eviction checks async using a CompletableFuture
-		getTaskScheduler().submit( this::evictChecks );
+		// Run eviction checks async
+		scheduleEvictChecks();
 
 		return results;
 	}
@@ -582,6 +627,9 @@ public class BoxCacheProvider extends AbstractCacheProvider {
 	 */
 	public void setQuiet( Key key, ICacheEntry value ) {
 		this.objectStore.set( key, value );
+		if ( !value.isEternal() ) {
+			this.expirations.schedule( key, value.expiresAt( useLastAccessTimeouts() ) );
+		}
 	}
 
 	/**
@@ -612,8 +660,8 @@ public class BoxCacheProvider extends AbstractCacheProvider {
 		    metadata
 		);
 
-		// Run eviction checks async using a CompletableFuture
-		getTaskScheduler().submit( this::evictChecks );
+		// Run eviction checks async
+		scheduleEvictChecks();
 
 		// set the new object
 		setQuiet( boxKey, newEntry );
@@ -831,6 +879,24 @@ public class BoxCacheProvider extends AbstractCacheProvider {
 	 * --------------------------------------------------------------------------
 	 */
 
+	/**
+	 * Queue the eviction checks on the task scheduler, unless a check is already pending.
+	 */
+	private void scheduleEvictChecks() {
+		if ( this.evictionCheckPending.compareAndSet( false, true ) ) {
+			try {
+				getTaskScheduler().submit( () -> {
+					// Release the flag first so operations that land during the check schedule a new one
+					this.evictionCheckPending.set( false );
+					evictChecks();
+				} );
+			} catch ( RuntimeException e ) {
+				this.evictionCheckPending.set( false );
+				throw e;
+			}
+		}
+	}
+
 	/**
 	 * Runs the eviction checks against the cache provider rules
 	 */
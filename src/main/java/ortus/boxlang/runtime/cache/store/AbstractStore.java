@@ -18,9 +18,23 @@
 package ortus.boxlang.runtime.cache.store;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
 
+import ortus.boxlang.runtime.cache.ICacheEntry;
 import ortus.boxlang.runtime.cache.policies.ICachePolicy;
 import ortus.boxlang.runtime.cache.providers.ICacheProvider;
+import ortus.boxlang.runtime.events.BoxEvent;
+import ortus.boxlang.runtime.events.InterceptorPool;
 import ortus.boxlang.runtime.scopes.Key;
 import ortus.boxlang.runtime.types.IStruct;
 import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
@@ -33,6 +47,12 @@ public abstract class AbstractStore implements IObjectStore {
 	private static final String	POLICIES_PACKAGE	= "ortus.boxlang.runtime.cache.policies";
 	private static final String	VALID_POLICIES		= "LRU|MRU|LFU|MFU|FIFO|LIFO|Random";
 
+	/**
+	 * How many entries are sampled per evicted object when the pool is too large to scan.
+	 * Same trade-off as Redis' {@code maxmemory-samples}: higher is closer to an exact policy, lower is cheaper.
+	 */
+	public static final int		EVICTION_SAMPLE_SIZE	= 16;
+
 	/**
 	 * The cache provider associated with this store
 	 */
@@ -69,6 +89,29 @@ public abstract class AbstractStore implements IObjectStore {
 		return this.provider;
 	}
 
+	/**
+	 * Verifies if anyone listens to the entries removed from the cache, in the pool of the provider or in the runtime. Stores which can
+	 * clear entries in bulk must clear them through the provider, which announces each removal, when there are.
+	 *
+	 * @return True if there are removal listeners
+	 */
+	protected boolean hasRemovalListeners() {
+		if ( this.provider == null || this.provider.getCacheService() == null ) {
+			return false;
+		}
+		InterceptorPool[] pools = {
+		    this.provider.getInterceptorPool(),
+		    this.provider.getCacheService().getRuntime().getInterceptorService()
+		};
+		for ( InterceptorPool pool : pools ) {
+			if ( pool != null
+			    && ( pool.hasListeners( BoxEvent.BEFORE_CACHE_ELEMENT_REMOVED ) || pool.hasListeners( BoxEvent.AFTER_CACHE_ELEMENT_REMOVED ) ) ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	/**
 	 * Get a policy for usage by the store.
 	 *
@@ -153,4 +196,102 @@ public abstract class AbstractStore implements IObjectStore {
 		}
 	}
 
+	/**
+	 * Select the entries to evict from a pool according to the store's eviction policy.
+	 * <p>
+	 * Small pools (up to {@code count * EVICTION_SAMPLE_SIZE} entries) are scanned completely using
+	 * a bounded heap, so the result is exactly what the policy dictates. Larger pools are sampled:
+	 * {@link #EVICTION_SAMPLE_SIZE} entries are looked at per evicted object, taken from random regions
+	 * of the map, and the worst ones according to the policy are chosen. The cost of an eviction
+	 * is therefore bound by the evict count and not by the size of the pool.
+	 * <p>
+	 * Eternal entries and entries the mapper cannot resolve (e.g. cleared soft references) are never selected.
+	 *
+	 * @param pool   The pool to select from
+	 * @param mapper The function that resolves a pool value into a cache entry, it may return null
+	 * @param count  How many entries to select
+	 *
+	 * @return The selected entries, ordered from the first to evict to the last
+	 */
+	protected <V> List<ICacheEntry> selectEvictionCandidates( ConcurrentHashMap<Key, V> pool, Function<V, ICacheEntry> mapper, int count ) {
+		if ( count <= 0 || pool.isEmpty() ) {
+			return Collections.emptyList();
+		}
+
+		Comparator<ICacheEntry>		comparator	= getPolicy().getComparator();
+		// Max-heap on the policy: the head is the best candidate to keep, so it's the first one to drop
+		PriorityQueue<ICacheEntry>	candidates	= new PriorityQueue<>( count + 1, comparator.reversed() );
+		long						budget		= ( long ) count * EVICTION_SAMPLE_SIZE;
+
+		if ( pool.mappingCount() <= budget ) {
+			// Exact selection
+			for ( V value : pool.values() ) {
+				offerCandidate( candidates, mapper.apply( value ), count, comparator );
+			}
+		} else {
+			// Sampled selection: regions may overlap, so only offer each entry once
+			Set<ICacheEntry>	sampled		= Collections.newSetFromMap( new IdentityHashMap<>() );
+			int					attempts	= 0;
+			while ( sampled.size() < budget && attempts++ < count * 4 ) {
+				Spliterator<V> region = sampleRegion( pool );
+				while ( sampled.size() < budget && region.tryAdvance( value -> {
+					ICacheEntry entry = mapper.apply( value );
+					if ( entry != null && sampled.add( entry ) ) {
+						offerCandidate( candidates, entry, count, comparator );
+					}
+				} ) ) {
+					// keep sampling the region
+				}
+			}
+		}
+
+		List<ICacheEntry> results = new ArrayList<>( candidates );
+		results.sort( comparator );
+		return results;
+	}
+
+	/**
+	 * Offer an entry to the bounded candidates heap, dropping the best entry to keep if the heap overflows.
+	 *
+	 * @param candidates The candidates heap
+	 * @param entry      The entry to offer
+	 * @param count      The max size of the heap
+	 * @param comparator The policy comparator
+	 */
+	protected static void offerCandidate( PriorityQueue<ICacheEntry> candidates, ICacheEntry entry, int count, Comparator<ICacheEntry> comparator ) {
+		if ( entry == null || entry.isEternal() ) {
+			return;
+		}
+		if ( candidates.size() < count ) {
+			candidates.add( entry );
+		} else if ( comparator.compare( entry, candidates.peek() ) < 0 ) {
+			candidates.poll();
+			candidates.add( entry );
+		}
+	}
+
+	/**
+	 * Get a spliterator over a random region of the pool of roughly {@link #EVICTION_SAMPLE_SIZE} entries.
+	 * Splitting a {@link ConcurrentHashMap} spliterator only divides the table range, so descending
+	 * randomly through the splits costs O(log n) and touches no entries.
+	 *
+	 * @param pool The pool to sample
+	 *
+	 * @return The spliterator for the region
+	 */
+	private static <V> Spliterator<V> sampleRegion( ConcurrentHashMap<Key, V> pool ) {
+		ThreadLocalRandom	random	= ThreadLocalRandom.current();
+		Spliterator<V>		region	= pool.values().spliterator();
+		while ( region.estimateSize() > EVICTION_SAMPLE_SIZE ) {
+			Spliterator<V> prefix = region.trySplit();
+			if ( prefix == null ) {
+				break;
+			}
+			if ( random.nextBoolean() ) {
+				region = prefix;
+			}
+		}
+		return region;
+	}
+
 }
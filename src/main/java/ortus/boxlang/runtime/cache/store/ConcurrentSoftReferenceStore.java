@@ -136,24 +136,14 @@ public class ConcurrentSoftReferenceStore extends AbstractStore {
 
 	/**
 	 * Runs the eviction algorithm to remove objects from the store based on the eviction policy
-	 * and eviction count.
+	 * and eviction count. Large pools are sampled instead of sorted, see {@link #selectEvictionCandidates}.
 	 */
 	public synchronized void evict() {
-		if ( this.config.getAsInteger( Key.evictCount ) == 0 ) {
+		int evictCount = this.config.getAsInteger( Key.evictCount );
+		if ( evictCount == 0 ) {
 			return;
 		}
-		getPool()
-		    .entrySet()
-		    // Stream it
-		    .parallelStream()
-		    // Map it to the cache entry from the soft reference
-		    .map( reference -> reference.getValue().get() )
-		    // Exclude eternal objects from eviction or nulls
-		    .filter( entry -> entry != null && !entry.isEternal() )
-		    // Sort using the policy comparator
-		    .sorted( getPolicy().getComparator() )
-		    // Check how many to evict according to the config count
-		    .limit( this.config.getAsInteger( Key.evictCount ) )
+		selectEvictionCandidates( this.pool, SoftReference::get, evictCount )
 		    // Evict it & Log Stats
 		    .forEach( entry -> {
 			    logger.debug(
@@ -17,7 +17,6 @@
  */
 package ortus.boxlang.runtime.cache.store;
 
-import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Stream;
@@ -122,30 +121,24 @@ public class ConcurrentStore extends AbstractStore {
 
 	/**
 	 * Runs the eviction algorithm to remove objects from the store based on the eviction policy
-	 * and eviction count.
+	 * and eviction count. Large pools are sampled instead of sorted, see {@link #selectEvictionCandidates}.
 	 */
 	public synchronized void evict() {
-		if ( this.config.getAsInteger( Key.evictCount ) == 0 ) {
+		int evictCount = this.config.getAsInteger( Key.evictCount );
+		if ( evictCount == 0 ) {
 			return;
 		}
-		getPool().entrySet()
-		    // Stream it
-		    .parallelStream()
-		    // Sort using the policy comparator
-		    .sorted( Map.Entry.comparingByValue( getPolicy().getComparator() ) )
-		    // Exclude eternal objects from eviction
-		    .filter( entry -> !entry.getValue().isEternal() )
-		    // Check how many to evict according to the config count
-		    .limit( this.config.getAsInteger( Key.evictCount ) )
+		selectEvictionCandidates( this.pool, entry -> entry, evictCount )
 		    // Evict it & Log Stats
 		    .forEach( entry -> {
-			    logger.debug(
-			        "ConcurrentStore({}) evicted [{}]",
-			        provider.getName(),
-			        entry.getKey()
-			    );
-			    getPool().remove( entry.getKey() );
-			    getProvider().getStats().recordEviction();
+			    if ( getPool().remove( entry.key(), entry ) ) {
+				    logger.debug(
+				        "ConcurrentStore({}) evicted [{}]",
+				        provider.getName(),
+				        entry.key()
+				    );
+				    getProvider().getStats().recordEviction();
+			    }
 		    } );
 	}
 
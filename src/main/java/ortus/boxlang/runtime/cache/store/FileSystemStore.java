@@ -166,6 +166,16 @@ public class FileSystemStore extends AbstractStore {
 		return 0;
 	}
 
+	/**
+	 * The directory may be shared by several nodes, each writing its own entries
+	 *
+	 * @return True, always
+	 */
+	@Override
+	public boolean isShared() {
+		return true;
+	}
+
 	/**
 	 * Runs the eviction algorithm to remove objects from the store based on the eviction policy
 	 * and eviction count.
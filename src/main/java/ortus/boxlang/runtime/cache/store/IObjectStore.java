@@ -88,6 +88,28 @@ public interface IObjectStore {
 	 */
 	public void evict();
 
+	/**
+	 * Clear the expired entries in a single operation. Stores which index their expirations, like a database table, can reap far cheaper
+	 * than the provider checking every entry.
+	 *
+	 * @param now The current time in epoch milliseconds
+	 *
+	 * @return The number of entries cleared, or -1 if the store doesn't support it and the provider has to check the entries
+	 */
+	public default int clearExpired( long now ) {
+		return -1;
+	}
+
+	/**
+	 * Whether other processes can write to the store too, like a directory shared by the nodes of a cluster. The provider can't index
+	 * the expirations of those entries as they are set, so it rescans the store periodically.
+	 *
+	 * @return True if the store can be written outside of this provider
+	 */
+	public default boolean isShared() {
+		return false;
+	}
+
 	/**
 	 * Get the size of the store, not the size in bytes but the number of objects in the store
 	 */
@@ -0,0 +1,976 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.runtime.cache.store;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.cache.BoxCacheEntry;
+import ortus.boxlang.runtime.cache.ICacheEntry;
+import ortus.boxlang.runtime.cache.filters.ICacheKeyFilter;
+import ortus.boxlang.runtime.cache.policies.FIFO;
+import ortus.boxlang.runtime.cache.policies.ICachePolicy;
+import ortus.boxlang.runtime.cache.policies.LFU;
+import ortus.boxlang.runtime.cache.policies.LIFO;
+import ortus.boxlang.runtime.cache.policies.LRU;
+import ortus.boxlang.runtime.cache.policies.MFU;
+import ortus.boxlang.runtime.cache.policies.MRU;
+import ortus.boxlang.runtime.cache.providers.ICacheProvider;
+import ortus.boxlang.runtime.cache.util.CacheEntrySerializer;
+import ortus.boxlang.runtime.cache.util.CacheEntrySerializer.Payload;
+import ortus.boxlang.runtime.config.segments.DatasourceConfig;
+import ortus.boxlang.runtime.dynamic.casters.BooleanCaster;
+import ortus.boxlang.runtime.dynamic.casters.IntegerCaster;
+import ortus.boxlang.runtime.dynamic.casters.LongCaster;
+import ortus.boxlang.runtime.jdbc.DataSource;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.Struct;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
+import ortus.boxlang.runtime.types.exceptions.DatabaseException;
+
+/**
+ * This object store keeps all objects in a database table, so they survive restarts and can be shared by several servers using the same
+ * database.
+ * <p>
+ * Store properties:
+ * <ul>
+ * <li><code>datasource</code>: The name of a global datasource, or a {@link DataSource} object. Required.</li>
+ * <li><code>table</code>: The table to use, which several caches can share. Defaults to <code>boxlang_cache</code>.</li>
+ * <li><code>autoCreate</code>: Create the table if it doesn't exist. Defaults to true.</li>
+ * <li><code>writeBehindInterval</code>: How often, in milliseconds, the pending writes are written in a batch. 0 writes every set right
+ * away. Defaults to 1000.</li>
+ * <li><code>batchSize</code>: The number of writes per JDBC batch, and the number of pending writes which triggers a write without waiting
+ * for the interval. Defaults to 100.</li>
+ * <li><code>nearCacheTimeout</code>: How long, in seconds, entries read from the database are kept in heap before being read again. 0
+ * disables it. Defaults to 5.</li>
+ * </ul>
+ * <p>
+ * Sets are written behind: they are kept in heap, where reads find them, until the next batch writes them. Operations which list or count
+ * entries write the pending ones first. Hits and last access times are written behind the same way. A batch which fails is logged and
+ * kept pending for the next one, as a cache would rather write an entry late than fail the request which set it. Without write behind the
+ * failure is thrown to the caller instead, the writes still pending.
+ * <p>
+ * Each row has an indexed <code>expires</code> column, so {@link #clearExpired(long)} reaps with a single delete, unless anyone listens to
+ * the removals. The value and metadata of an entry are encoded by the {@link CacheEntrySerializer}.
+ */
+public class JDBCStore extends AbstractStore {
+
+	/**
+	 * Logger
+	 */
+	private static final Logger				logger				= LoggerFactory.getLogger( JDBCStore.class );
+
+	/**
+	 * The default table name
+	 */
+	public static final String				DEFAULT_TABLE		= "boxlang_cache";
+
+	/**
+	 * The valid table names, since they go straight into the SQL
+	 */
+	private static final Pattern			TABLE_NAME			= Pattern.compile( "[A-Za-z_][A-Za-z0-9_]*(\\.[A-Za-z_][A-Za-z0-9_]*)?" );
+
+	/**
+	 * The datasource of the table
+	 */
+	private DataSource						datasource;
+
+	/**
+	 * The table name
+	 */
+	private String							table;
+
+	/**
+	 * The cache name, which tells the entries of this cache from the others in the table
+	 */
+	private String							cacheName;
+
+	/**
+	 * How long entries read from the database are kept in heap, in milliseconds
+	 */
+	private long							nearCacheTimeout;
+
+	/**
+	 * The number of writes per batch
+	 */
+	private int								batchSize;
+
+	/**
+	 * The sets not written yet
+	 */
+	private final Map<Key, PendingWrite>	writes				= new ConcurrentHashMap<>();
+
+	/**
+	 * The entries read since their hits and last access were written
+	 */
+	private final Map<Key, ICacheEntry>		touches				= new ConcurrentHashMap<>();
+
+	/**
+	 * The entries read from the database recently
+	 */
+	private final Map<Key, NearEntry>		nearCache			= new ConcurrentHashMap<>();
+
+	/**
+	 * Held while writing, so a clear can't be undone by a batch writing the entry it cleared
+	 */
+	private final Object					writeLock			= new Object();
+
+	/**
+	 * Whether a write is already queued because the pending writes reached the batch size
+	 */
+	private final AtomicBoolean				writePending		= new AtomicBoolean( false );
+
+	/**
+	 * The write behind task, null when sets are written right away
+	 */
+	private volatile ScheduledFuture<?>		writer;
+
+	/**
+	 * A set waiting to be written
+	 *
+	 * @param entry The entry
+	 * @param value The encoded value and metadata, encoded when set so a value which can't be serialized fails the set
+	 */
+	private record PendingWrite( ICacheEntry entry, byte[] value ) {
+	}
+
+	/**
+	 * An entry read from the database
+	 *
+	 * @param entry    The entry
+	 * @param loadedAt When it was read, in epoch milliseconds
+	 */
+	private record NearEntry( ICacheEntry entry, long loadedAt ) {
+	}
+
+	/**
+	 * Constructor
+	 */
+	public JDBCStore() {
+		// Empty constructor
+	}
+
+	/**
+	 * Some storages require a method to initialize the storage or do
+	 * object loading. This method is called when the cache provider is started.
+	 *
+	 * @param provider The cache provider associated with this store
+	 * @param config   The configuration for the store
+	 */
+	@Override
+	public IObjectStore init( ICacheProvider provider, IStruct config ) {
+		this.provider			= provider;
+		this.config				= config;
+		this.datasource			= resolveDatasource( config.get( Key.datasource ) );
+		this.table				= ( String ) config.getOrDefault( Key.table, DEFAULT_TABLE );
+		this.cacheName			= provider.getName().getName();
+		this.nearCacheTimeout	= LongCaster.cast( config.getOrDefault( Key.nearCacheTimeout, 5 ) ) * 1000;
+		this.batchSize			= Math.max( 1, IntegerCaster.cast( config.getOrDefault( Key.batchSize, 100 ) ) );
+
+		if ( !TABLE_NAME.matcher( this.table ).matches() ) {
+			throw new BoxRuntimeException( "The JDBCStore table name [" + this.table + "] is not a valid table name" );
+		}
+		if ( BooleanCaster.cast( config.getOrDefault( Key.autoCreate, true ) ) ) {
+			ensureTable();
+		}
+
+		long writeBehindInterval = LongCaster.cast( config.getOrDefault( Key.writeBehindInterval, 1000 ) );
+		if ( writeBehindInterval > 0 ) {
+			this.writer = BoxRuntime.getInstance()
+			    .getCacheService()
+			    .getTaskScheduler()
+			    .newTask( "boxcache-jdbc-writer-" + this.cacheName )
+			    .delay( writeBehindInterval, TimeUnit.MILLISECONDS )
+			    .spacedDelay( writeBehindInterval, TimeUnit.MILLISECONDS )
+			    .call( this::flush )
+			    .start();
+		}
+
+		logger.debug(
+		    "JDBCStore({}) initialized on table [{}] with a max size of {}",
+		    provider.getName(),
+		    this.table,
+		    config.getAsInteger( Key.maxObjects )
+		);
+		return this;
+	}
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Interface Methods
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Some storages require a shutdown method to close the storage or do
+	 * object saving. This method is called when the cache provider is stopped.
+	 * <p>
+	 * The pending writes are written, and the later sets are written right away.
+	 */
+	public void shutdown() {
+		ScheduledFuture<?> task = this.writer;
+		this.writer = null;
+		if ( task != null ) {
+			task.cancel( false );
+		}
+		try {
+			flush();
+		} catch ( DatabaseException e ) {
+			logger.error( "JDBCStore({}) could not write the pending entries on shutdown", provider.getName(), e );
+		}
+		this.nearCache.clear();
+		logger.debug(
+		    "JDBCStore({}) was shutdown",
+		    provider.getName()
+		);
+	}
+
+	/**
+	 * Write the pending sets, hits and last access times to the database. If they can't be written they stay pending for the next flush.
+	 *
+	 * @return The number of rows written
+	 *
+	 * @throws DatabaseException If they can't be written and write behind is disabled, so the caller learns its set failed
+	 */
+	public int flush() {
+		if ( this.writes.isEmpty() && this.touches.isEmpty() ) {
+			return 0;
+		}
+		synchronized ( this.writeLock ) {
+			List<Map.Entry<Key, PendingWrite>>	pending	= List.copyOf( this.writes.entrySet() );
+			List<Map.Entry<Key, ICacheEntry>>	touched	= this.touches.entrySet()
+			    .stream()
+			    .filter( touch -> !this.writes.containsKey( touch.getKey() ) )
+			    .toList();
+			try ( Connection conn = this.datasource.getConnection() ) {
+				boolean autoCommit = conn.getAutoCommit();
+				conn.setAutoCommit( false );
+				try {
+					writeEntries( conn, pending );
+					writeTouches( conn, touched );
+					conn.commit();
+				} catch ( SQLException e ) {
+					conn.rollback();
+					throw e;
+				} finally {
+					conn.setAutoCommit( autoCommit );
+				}
+			} catch ( SQLException | BoxRuntimeException e ) {
+				// Including the connection not opening
+				if ( this.writer == null ) {
+					throw new DatabaseException( "JDBCStore(" + this.cacheName + ") could not write [" + pending.size() + "] entries", e );
+				}
+				logger.error(
+				    "JDBCStore({}) could not write [{}] entries, they are kept for the next flush",
+				    provider.getName(),
+				    pending.size(),
+				    e
+				);
+				return 0;
+			}
+			// Unless they were set or read again meanwhile
+			pending.forEach( write -> this.writes.remove( write.getKey(), write.getValue() ) );
+			touched.forEach( touch -> this.touches.remove( touch.getKey(), touch.getValue() ) );
+			return pending.size() + touched.size();
+		}
+	}
+
+	/**
+	 * Runs the eviction algorithm to remove objects from the store based on the eviction policy
+	 * and eviction count. The core policies are run as an ordered query, custom ones on the entries without their values.
+	 */
+	public synchronized void evict() {
+		int evictCount = this.config.getAsInteger( Key.evictCount );
+		if ( evictCount == 0 ) {
+			return;
+		}
+		flush();
+
+		String		order	= evictionOrder( getPolicy() );
+		List<Key>	evicted	= new ArrayList<>();
+		if ( order != null ) {
+			query(
+			    "SELECT key_name FROM " + this.table + " WHERE cache_name = ? AND timeout_secs > 0 ORDER BY " + order,
+			    evictCount,
+			    results -> evicted.add( Key.of( results.getString( 1 ) ) )
+			);
+		} else {
+			List<ICacheEntry> candidates = new ArrayList<>();
+			query(
+			    "SELECT key_name, hits, timeout_secs, last_access_timeout_secs, created, last_accessed FROM " + this.table
+			        + " WHERE cache_name = ? AND timeout_secs > 0",
+			    0,
+			    results -> candidates.add( readEntry( results, null ) )
+			);
+			candidates.stream()
+			    .sorted( getPolicy().getComparator() )
+			    .limit( evictCount )
+			    .forEach( entry -> evicted.add( entry.key() ) );
+		}
+
+		evicted.forEach( key -> {
+			logger.debug(
+			    "JDBCStore({}) evicted [{}]",
+			    provider.getName(),
+			    key.getName()
+			);
+			clear( key );
+			getProvider().getStats().recordEviction();
+		} );
+	}
+
+	/**
+	 * Clear the expired entries with a single delete on the indexed <code>expires</code> column. When anyone listens to the removals,
+	 * like the sessions cache does to end the sessions, the expired keys are selected instead and cleared through the provider, which
+	 * announces each of them.
+	 *
+	 * @param now The current time in epoch milliseconds
+	 *
+	 * @return The number of entries cleared
+	 */
+	@Override
+	public int clearExpired( long now ) {
+		flush();
+		if ( hasRemovalListeners() ) {
+			List<Key> expired = new ArrayList<>();
+			query(
+			    "SELECT key_name FROM " + this.table + " WHERE cache_name = ? AND expires < ?",
+			    0,
+			    results -> expired.add( Key.of( results.getString( 1 ) ) ),
+			    now
+			);
+			return ( int ) expired.stream().filter( key -> getProvider().clear( key.getName() ) ).count();
+		}
+
+		int cleared;
+		synchronized ( this.writeLock ) {
+			cleared = update( "DELETE FROM " + this.table + " WHERE cache_name = ? AND expires < ?", now );
+		}
+		if ( cleared > 0 ) {
+			this.nearCache.clear();
+		}
+		return cleared;
+	}
+
+	/**
+	 * Get the size of the store, not the size in bytes but the number of objects in the store
+	 */
+	public int getSize() {
+		flush();
+		int[] size = new int[ 1 ];
+		query( "SELECT COUNT(*) FROM " + this.table + " WHERE cache_name = ?", 0, results -> size[ 0 ] = results.getInt( 1 ) );
+		return size[ 0 ];
+	}
+
+	/**
+	 * Clear all the elements in the store
+	 */
+	public void clearAll() {
+		synchronized ( this.writeLock ) {
+			this.writes.clear();
+			this.touches.clear();
+			this.nearCache.clear();
+			update( "DELETE FROM " + this.table + " WHERE cache_name = ?" );
+		}
+	}
+
+	/**
+	 * Clear all the elements in the store with a ${@link ICacheKeyFilter}.
+	 * This can be a lambda or method reference since it's a functional interface.
+	 *
+	 * @param filter The filter that determines which keys to clear
+	 *
+	 * @return True if all the objects were cleared
+	 */
+	public boolean clearAll( ICacheKeyFilter filter ) {
+		getKeysStream( filter ).forEach( this::clear );
+		return true;
+	}
+
+	/**
+	 * Clears an object from the storage
+	 *
+	 * @param key The object key to clear
+	 *
+	 * @return True if the object was cleared, false otherwise (if the object was not found in the store)
+	 */
+	public boolean clear( Key key ) {
+		synchronized ( this.writeLock ) {
+			boolean pending = this.writes.remove( key ) != null;
+			this.touches.remove( key );
+			this.nearCache.remove( key );
+			return update( "DELETE FROM " + this.table + " WHERE cache_name = ? AND object_key = ?", key.getNameNoCase() ) > 0 || pending;
+		}
+	}
+
+	/**
+	 * Clears multiple objects from the storage
+	 *
+	 * @param keys The keys to clear
+	 *
+	 * @return A struct of keys and their clear status: true if the object was cleared, false otherwise (if the object was not found in the store)
+	 */
+	public IStruct clear( Key... keys ) {
+		IStruct results = new Struct();
+		for ( Key key : keys ) {
+			results.put( key, clear( key ) );
+		}
+		return results;
+	}
+
+	/**
+	 * Get all the keys in the store
+	 *
+	 * @return An array of keys in the cache
+	 */
+	public Key[] getKeys() {
+		return getKeysStream().toArray( Key[]::new );
+	}
+
+	/**
+	 * Get all the keys in the store using a filter
+	 *
+	 * @param filter The filter that determines which keys to return
+	 *
+	 * @return An array of keys in the cache
+	 */
+	public Key[] getKeys( ICacheKeyFilter filter ) {
+		return getKeysStream( filter ).toArray( Key[]::new );
+	}
+
+	/**
+	 * Get all the keys in the store as a stream
+	 *
+	 * @return A stream of keys in the cache
+	 */
+	public Stream<Key> getKeysStream() {
+		flush();
+		List<Key> keys = new ArrayList<>();
+		query( "SELECT key_name FROM " + this.table + " WHERE cache_name = ?", 0, results -> keys.add( Key.of( results.getString( 1 ) ) ) );
+		return keys.stream();
+	}
+
+	/**
+	 * Get all the keys in the store as a stream
+	 *
+	 * @param filter The filter that determines which keys to return
+	 *
+	 * @return A stream of keys in the cache
+	 */
+	public Stream<Key> getKeysStream( ICacheKeyFilter filter ) {
+		return getKeysStream().filter( filter );
+	}
+
+	/**
+	 * Check if an object is in the store
+	 *
+	 * @param key The key to lookup in the store
+	 *
+	 * @return True if the object is in the store, false otherwise
+	 */
+	public boolean lookup( Key key ) {
+		if ( this.writes.containsKey( key ) || getNear( key ) != null ) {
+			return true;
+		}
+		boolean[] found = new boolean[ 1 ];
+		query(
+		    "SELECT 1 FROM " + this.table + " WHERE cache_name = ? AND object_key = ?",
+		    1,
+		    results -> found[ 0 ] = true,
+		    key.getNameNoCase()
+		);
+		return found[ 0 ];
+	}
+
+	/**
+	 * Check if multiple objects are in the store
+	 *
+	 * @param keys A varargs of keys to lookup in the store
+	 *
+	 * @return A struct of keys and their lookup status
+	 */
+	public IStruct lookup( Key... keys ) {
+		IStruct results = new Struct();
+		for ( Key key : keys ) {
+			results.put( key, lookup( key ) );
+		}
+		return results;
+	}
+
+	/**
+	 * Check if multiple objects are in the store using a filter
+	 *
+	 * @param filter The filter that determines which keys to return
+	 *
+	 * @return A struct of the keys found. True if the object is in the store, false otherwise
+	 */
+	public IStruct lookup( ICacheKeyFilter filter ) {
+		IStruct results = new Struct();
+		getKeysStream( filter ).forEach( key -> results.put( key, true ) );
+		return results;
+	}
+
+	/**
+	 * Get an object from the store with metadata tracking: hits, lastAccess, etc
+	 *
+	 * @param key The key to retrieve
+	 *
+	 * @return The cache entry retrieved or null if not found
+	 */
+	public ICacheEntry get( Key key ) {
+		var results = getQuiet( key );
+
+		if ( results != null ) {
+			// Update Stats
+			results
+			    .incrementHits()
+			    .touchLastAccessed();
+			// Is resetTimeoutOnAccess enabled? If so, jump up the creation time to increase the timeout
+			if ( this.config.getAsBoolean( Key.resetTimeoutOnAccess ) ) {
+				results.resetCreated();
+			}
+			// Written behind with the next batch
+			this.touches.put( key, results );
+			if ( this.writer == null ) {
+				flush();
+			}
+		}
+
+		return results;
+	}
+
+	/**
+	 * Get multiple objects from the store with metadata tracking
+	 *
+	 * @param keys The keys to retrieve
+	 *
+	 * @return A struct of keys and their cache entries
+	 */
+	public IStruct get( Key... keys ) {
+		IStruct results = new Struct();
+		for ( Key key : keys ) {
+			results.put( key, get( key ) );
+		}
+		return results;
+	}
+
+	/**
+	 * Get multiple objects from the store with metadata tracking using a filter
+	 *
+	 * @param filter The filter that determines which keys to return
+	 *
+	 * @return A struct of keys and their cache entries
+	 */
+	public IStruct get( ICacheKeyFilter filter ) {
+		IStruct results = new Struct();
+		getKeysStream( filter ).forEach( key -> results.put( key, get( key ) ) );
+		return results;
+	}
+
+	/**
+	 * Get an object from cache with no metadata tracking
+	 *
+	 * @param key The key to retrieve
+	 *
+	 * @return The cache entry retrieved or null if not found
+	 */
+	public ICacheEntry getQuiet( Key key ) {
+		PendingWrite pending = this.writes.get( key );
+		if ( pending != null ) {
+			return pending.entry();
+		}
+		ICacheEntry near = getNear( key );
+		if ( near != null ) {
+			return near;
+		}
+
+		ICacheEntry[] found = new ICacheEntry[ 1 ];
+		query(
+		    "SELECT key_name, hits, timeout_secs, last_access_timeout_secs, created, last_accessed, object_value FROM " + this.table
+		        + " WHERE cache_name = ? AND object_key = ?",
+		    1,
+		    results -> found[ 0 ] = readEntry( results, results.getBinaryStream( 7 ) ),
+		    key.getNameNoCase()
+		);
+		if ( found[ 0 ] != null && this.nearCacheTimeout > 0 ) {
+			this.nearCache.put( key, new NearEntry( found[ 0 ], System.currentTimeMillis() ) );
+		}
+		return found[ 0 ];
+	}
+
+	/**
+	 * Get multiple objects from the store with no metadata tracking
+	 *
+	 * @param keys The keys to retrieve
+	 *
+	 * @return A struct of keys and their cache entries
+	 */
+	public IStruct getQuiet( Key... keys ) {
+		IStruct results = new Struct();
+		for ( Key key : keys ) {
+			results.put( key, getQuiet( key ) );
+		}
+		return results;
+	}
+
+	/**
+	 * Get multiple objects from the store with no metadata tracking using a filter
+	 *
+	 * @param filter The filter that determines which keys to return
+	 *
+	 * @return A struct of keys and their cache entries
+	 */
+	public IStruct getQuiet( ICacheKeyFilter filter ) {
+		IStruct results = new Struct();
+		getKeysStream( filter ).forEach( key -> results.put( key, getQuiet( key ) ) );
+		return results;
+	}
+
+	/**
+	 * Sets an object in the storage. It's written with the next batch, or right away if write behind is disabled.
+	 *
+	 * @param key   The key to store the object under
+	 * @param entry The cache entry to store
+	 */
+	public void set( Key key, ICacheEntry entry ) {
+		this.writes.put( key, new PendingWrite( entry, CacheEntrySerializer.encode( entry ) ) );
+		this.touches.remove( key );
+		this.nearCache.remove( key );
+
+		if ( this.writer == null ) {
+			flush();
+		} else if ( this.writes.size() >= this.batchSize && this.writePending.compareAndSet( false, true ) ) {
+			BoxRuntime.getInstance().getCacheService().getTaskScheduler().submit( () -> {
+				this.writePending.set( false );
+				flush();
+			} );
+		}
+	}
+
+	/**
+	 * Set's multiple objects in the storage
+	 *
+	 * @param entries The keys and cache entries to store
+	 */
+	public void set( IStruct entries ) {
+		entries.forEach( ( key, value ) -> set( key, ( ICacheEntry ) value ) );
+	}
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Private Helpers
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Reads a row of a query
+	 */
+	@FunctionalInterface
+	private interface RowReader {
+
+		void read( ResultSet results ) throws SQLException;
+	}
+
+	/**
+	 * Resolve the datasource of the store
+	 *
+	 * @param datasource A datasource, or the name of a global datasource
+	 *
+	 * @return The datasource
+	 */
+	private static DataSource resolveDatasource( Object datasource ) {
+		if ( datasource instanceof DataSource castedDatasource ) {
+			return castedDatasource;
+		}
+		if ( datasource instanceof String name && !name.isBlank() ) {
+			BoxRuntime runtime = BoxRuntime.getInstance();
+			if ( runtime.getConfiguration().datasources.get( Key.of( name ) ) instanceof DatasourceConfig datasourceConfig ) {
+				return runtime.getDataSourceService().register( datasourceConfig );
+			}
+			throw new BoxRuntimeException( "The JDBCStore datasource [" + name + "] is not a global datasource" );
+		}
+		throw new BoxRuntimeException( "The JDBCStore requires a [datasource] property with the name of a global datasource" );
+	}
+
+	/**
+	 * Create the table and its expiration index, unless the table exists
+	 */
+	private void ensureTable() {
+		try ( Connection conn = this.datasource.getConnection(); Statement statement = conn.createStatement() ) {
+			try {
+				statement.executeQuery( "SELECT 1 FROM " + this.table + " WHERE 1 = 0" ).close();
+				return;
+			} catch ( SQLException e ) {
+				logger.debug( "JDBCStore({}) creating table [{}]", provider.getName(), this.table );
+			}
+			statement.executeUpdate(
+			    "CREATE TABLE " + this.table + " ("
+			        + " cache_name VARCHAR(100) NOT NULL,"
+			        + " object_key VARCHAR(255) NOT NULL,"
+			        + " key_name VARCHAR(255) NOT NULL,"
+			        + " object_value " + binaryType( conn ) + ","
+			        + " hits BIGINT NOT NULL,"
+			        + " timeout_secs BIGINT NOT NULL,"
+			        + " last_access_timeout_secs BIGINT NOT NULL,"
+			        + " created BIGINT NOT NULL,"
+			        + " last_accessed BIGINT NOT NULL,"
+			        + " expires BIGINT NOT NULL,"
+			        + " PRIMARY KEY ( cache_name, object_key ) )"
+			);
+			statement.executeUpdate(
+			    "CREATE INDEX " + this.table.replace( '.', '_' ) + "_expires ON " + this.table + " ( cache_name, expires )"
+			);
+		} catch ( SQLException e ) {
+			throw new DatabaseException( "The JDBCStore table [" + this.table + "] could not be created", e );
+		}
+	}
+
+	/**
+	 * The column type of binary values in a database
+	 *
+	 * @param conn A connection to the database
+	 *
+	 * @return The column type
+	 */
+	private static String binaryType( Connection conn ) throws SQLException {
+		String product = conn.getMetaData().getDatabaseProductName().toLowerCase();
+		if ( product.contains( "postgres" ) ) {
+			return "BYTEA";
+		}
+		if ( product.contains( "mysql" ) || product.contains( "mariadb" ) ) {
+			return "LONGBLOB";
+		}
+		if ( product.contains( "microsoft" ) ) {
+			return "VARBINARY(MAX)";
+		}
+		return "BLOB";
+	}
+
+	/**
+	 * The order of the rows to evict first for the core policies
+	 *
+	 * @param policy The eviction policy
+	 *
+	 * @return The order by clause, or null if the policy can't be run as a query
+	 */
+	private static String evictionOrder( ICachePolicy policy ) {
+		if ( policy instanceof LRU ) {
+			return "last_accessed ASC";
+		} else if ( policy instanceof MRU ) {
+			return "last_accessed DESC";
+		} else if ( policy instanceof LFU ) {
+			return "hits ASC";
+		} else if ( policy instanceof MFU ) {
+			return "hits DESC";
+		} else if ( policy instanceof FIFO ) {
+			return "created ASC";
+		} else if ( policy instanceof LIFO ) {
+			return "created DESC";
+		}
+		return null;
+	}
+
+	/**
+	 * Get an entry read from the database recently enough
+	 *
+	 * @param key The key
+	 *
+	 * @return The entry or null
+	 */
+	private ICacheEntry getNear( Key key ) {
+		NearEntry near = this.nearCache.get( key );
+		if ( near == null ) {
+			return null;
+		}
+		if ( System.currentTimeMillis() - near.loadedAt() > this.nearCacheTimeout ) {
+			this.nearCache.remove( key, near );
+			return null;
+		}
+		return near.entry();
+	}
+
+	/**
+	 * Write sets in batches, replacing the rows of their keys
+	 *
+	 * @param conn    The connection, in a transaction
+	 * @param pending The sets
+	 */
+	private void writeEntries( Connection conn, List<Map.Entry<Key, PendingWrite>> pending ) throws SQLException {
+		if ( pending.isEmpty() ) {
+			return;
+		}
+		boolean useLastAccessTimeouts = this.config.getAsBoolean( Key.useLastAccessTimeouts );
+		try (
+		    PreparedStatement delete = conn.prepareStatement( "DELETE FROM " + this.table + " WHERE cache_name = ? AND object_key = ?" );
+		    PreparedStatement insert = conn.prepareStatement(
+		        "INSERT INTO " + this.table
+		            + " ( cache_name, object_key, key_name, object_value, hits, timeout_secs, last_access_timeout_secs, created, last_accessed, expires )"
+		            + " VALUES ( ?, ?, ?, ?, ?, ?, ?, ?, ?, ? )"
+		    ) ) {
+			for ( int start = 0; start < pending.size(); start += this.batchSize ) {
+				List<Map.Entry<Key, PendingWrite>> batch = pending.subList( start, Math.min( pending.size(), start + this.batchSize ) );
+				for ( Map.Entry<Key, PendingWrite> write : batch ) {
+					delete.setString( 1, this.cacheName );
+					delete.setString( 2, write.getKey().getNameNoCase() );
+					delete.addBatch();
+				}
+				delete.executeBatch();
+				for ( Map.Entry<Key, PendingWrite> write : batch ) {
+					ICacheEntry	entry	= write.getValue().entry();
+					byte[]		value	= write.getValue().value();
+					insert.setString( 1, this.cacheName );
+					insert.setString( 2, write.getKey().getNameNoCase() );
+					insert.setString( 3, write.getKey().getName() );
+					insert.setBinaryStream( 4, new ByteArrayInputStream( value ), value.length );
+					insert.setLong( 5, entry.hits() );
+					insert.setLong( 6, entry.timeout() );
+					insert.setLong( 7, entry.lastAccessTimeout() );
+					insert.setLong( 8, entry.createdMillis() );
+					insert.setLong( 9, entry.lastAccessedMillis() );
+					insert.setLong( 10, entry.expiresAt( useLastAccessTimeouts ) );
+					insert.addBatch();
+				}
+				insert.executeBatch();
+			}
+		}
+	}
+
+	/**
+	 * Write the hits and last access times of entries read, in batches
+	 *
+	 * @param conn    The connection, in a transaction
+	 * @param touched The entries read
+	 */
+	private void writeTouches( Connection conn, List<Map.Entry<Key, ICacheEntry>> touched ) throws SQLException {
+		if ( touched.isEmpty() ) {
+			return;
+		}
+		boolean useLastAccessTimeouts = this.config.getAsBoolean( Key.useLastAccessTimeouts );
+		try ( PreparedStatement update = conn.prepareStatement(
+		    "UPDATE " + this.table + " SET hits = ?, created = ?, last_accessed = ?, expires = ? WHERE cache_name = ? AND object_key = ?"
+		) ) {
+			int count = 0;
+			for ( Map.Entry<Key, ICacheEntry> touch : touched ) {
+				ICacheEntry entry = touch.getValue();
+				update.setLong( 1, entry.hits() );
+				update.setLong( 2, entry.createdMillis() );
+				update.setLong( 3, entry.lastAccessedMillis() );
+				update.setLong( 4, entry.expiresAt( useLastAccessTimeouts ) );
+				update.setString( 5, this.cacheName );
+				update.setString( 6, touch.getKey().getNameNoCase() );
+				update.addBatch();
+				if ( ++count % this.batchSize == 0 ) {
+					update.executeBatch();
+				}
+			}
+			update.executeBatch();
+		}
+	}
+
+	/**
+	 * Rebuild an entry from a row
+	 *
+	 * @param results The row: key name, hits, timeout, last access timeout, created and last accessed
+	 * @param value   The encoded value and metadata, or null to leave them empty
+	 *
+	 * @return The entry
+	 */
+	private ICacheEntry readEntry( ResultSet results, InputStream value ) throws SQLException {
+		Payload decoded = value != null ? CacheEntrySerializer.decode( value ) : new Payload( null, new Struct() );
+		return new BoxCacheEntry(
+		    this.provider.getName(),
+		    results.getLong( 3 ),
+		    results.getLong( 4 ),
+		    Key.of( results.getString( 1 ) ),
+		    decoded.value(),
+		    decoded.metadata(),
+		    results.getLong( 2 ),
+		    results.getLong( 5 ),
+		    results.getLong( 6 )
+		);
+	}
+
+	/**
+	 * Run a query of this cache's rows
+	 *
+	 * @param sql     The SQL, whose first parameter is the cache name
+	 * @param maxRows The maximum number of rows to read, 0 for all
+	 * @param reader  Reads each row
+	 * @param params  The other parameters
+	 */
+	private void query( String sql, int maxRows, RowReader reader, Object... params ) {
+		try ( Connection conn = this.datasource.getConnection(); PreparedStatement statement = conn.prepareStatement( sql ) ) {
+			statement.setMaxRows( maxRows );
+			bind( statement, params );
+			try ( ResultSet results = statement.executeQuery() ) {
+				while ( results.next() ) {
+					reader.read( results );
+				}
+			}
+		} catch ( SQLException e ) {
+			throw new DatabaseException( "JDBCStore(" + this.cacheName + ") could not read the table [" + this.table + "]", e );
+		}
+	}
+
+	/**
+	 * Run an update of this cache's rows
+	 *
+	 * @param sql    The SQL, whose first parameter is the cache name
+	 * @param params The other parameters
+	 *
+	 * @return The number of rows updated
+	 */
+	private int update( String sql, Object... params ) {
+		try ( Connection conn = this.datasource.getConnection(); PreparedStatement statement = conn.prepareStatement( sql ) ) {
+			bind( statement, params );
+			return statement.executeUpdate();
+		} catch ( SQLException e ) {
+			throw new DatabaseException( "JDBCStore(" + this.cacheName + ") could not update the table [" + this.table + "]", e );
+		}
+	}
+
+	/**
+	 * Bind the cache name and the other parameters of a statement
+	 */
+	private void bind( PreparedStatement statement, Object... params ) throws SQLException {
+		statement.setString( 1, this.cacheName );
+		for ( int i = 0; i < params.length; i++ ) {
+			statement.setObject( i + 2, params[ i ] );
+		}
+	}
+
+}
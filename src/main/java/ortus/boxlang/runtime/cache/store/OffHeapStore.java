@@ -0,0 +1,1343 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.runtime.cache.store;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ortus.boxlang.runtime.cache.BoxCacheEntry;
+import ortus.boxlang.runtime.cache.ICacheEntry;
+import ortus.boxlang.runtime.cache.filters.ICacheKeyFilter;
+import ortus.boxlang.runtime.cache.providers.ICacheProvider;
+import ortus.boxlang.runtime.cache.util.CacheEntrySerializer;
+import ortus.boxlang.runtime.cache.util.CacheEntrySerializer.Payload;
+import ortus.boxlang.runtime.dynamic.casters.IntegerCaster;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.Struct;
+import ortus.boxlang.runtime.types.exceptions.BoxIOException;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
+
+/**
+ * This object store keeps the entries serialized outside of the Java heap, so large caches don't weigh on the garbage collector.
+ * <p>
+ * Store properties:
+ * <ul>
+ * <li><code>slabSize</code>: The size of each slab, in megabytes, up to 2047. Defaults to 64.</li>
+ * <li><code>maxSlabs</code>: The maximum number of slabs, which are allocated as needed. Defaults to 16. Slabs kept in memory count
+ * against the <code>-XX:MaxDirectMemorySize</code> of the JVM.</li>
+ * <li><code>directory</code>: A directory to map the slabs to files in, so the entries survive restarts. Optional.</li>
+ * </ul>
+ * <p>
+ * Entries are appended to the current slab, a direct buffer or a memory mapped file. They are found through an open addressing index of
+ * key hashes and slab offsets, two arrays however many entries there are. The hits and access times are updated in place, so reading an
+ * entry doesn't write its value again. Each read deserializes the value, so changing it doesn't change the cached one.
+ * <p>
+ * Clearing or replacing an entry leaves its bytes in its slab until the whole slab is reclaimed. When the slabs are full, the one with the
+ * fewest live bytes is evicted at once, which bounds the memory of the store on top of the <code>maxObjects</code> of the cache.
+ */
+public class OffHeapStore extends AbstractStore {
+
+	/**
+	 * Logger
+	 */
+	private static final Logger		logger				= LoggerFactory.getLogger( OffHeapStore.class );
+
+	/**
+	 * The default slab size in megabytes
+	 */
+	public static final int			DEFAULT_SLAB_SIZE	= 64;
+
+	/**
+	 * The default maximum number of slabs
+	 */
+	public static final int			DEFAULT_MAX_SLABS	= 16;
+
+	/**
+	 * The first bytes of a slab, to tell a slab file from anything else
+	 */
+	private static final int		SLAB_MAGIC			= 0x42584C53;
+
+	/**
+	 * The slab layout version
+	 */
+	private static final int		SLAB_VERSION		= 1;
+
+	/**
+	 * The slab header: the magic, the version and the offset of its first free byte
+	 */
+	private static final int		SLAB_HEADER			= 16;
+	private static final int		SLAB_TOP			= 8;
+
+	/**
+	 * The record header, followed by the key name, the cache name and the encoded value. Records are aligned to 8 bytes, so the hits can
+	 * be incremented atomically.
+	 */
+	private static final int		LENGTH				= 0;
+	private static final int		HASH				= 4;
+	private static final int		TIMEOUT				= 8;
+	private static final int		LAST_ACCESS_TIMEOUT	= 16;
+	private static final int		HITS				= 24;
+	private static final int		CREATED				= 32;
+	private static final int		LAST_ACCESSED		= 40;
+	private static final int		NAME_LENGTH			= 48;
+	private static final int		CACHE_NAME_LENGTH	= 52;
+	private static final int		VALUE_LENGTH		= 56;
+	private static final int		STATE				= 60;
+	private static final int		RECORD_HEADER		= 64;
+
+	/**
+	 * The states of a record
+	 */
+	private static final int		DEAD				= 0;
+	private static final int		LIVE				= 1;
+
+	/**
+	 * The index addresses of free slots, and of slots whose entry was removed
+	 */
+	private static final long		EMPTY				= 0;
+	private static final long		TOMBSTONE			= -1;
+
+	/**
+	 * The minimum index capacity
+	 */
+	private static final int		MIN_CAPACITY		= 64;
+
+	/**
+	 * Atomic access to the longs of a slab
+	 */
+	private static final VarHandle	LONGS				= MethodHandles.byteBufferViewVarHandle( long[].class, ByteOrder.BIG_ENDIAN );
+
+	/**
+	 * Reads share the lock, writes to the index and slabs take it
+	 */
+	private final ReadWriteLock		lock				= new ReentrantReadWriteLock();
+
+	/**
+	 * The size of each slab in bytes
+	 */
+	private int						slabBytes;
+
+	/**
+	 * The slabs, null until they are needed
+	 */
+	private Slab[]					slabs;
+
+	/**
+	 * The slab entries are appended to
+	 */
+	private int						current;
+
+	/**
+	 * The directory of the slab files, or null if the slabs are only in memory
+	 */
+	private Path					directory;
+
+	/**
+	 * The index: the key hash of each slot
+	 */
+	private int[]					hashes;
+
+	/**
+	 * The index: the address of the record of each slot, its slab in the high 32 bits and its offset in the low ones
+	 */
+	private long[]					addresses;
+
+	/**
+	 * The slots which are not empty, including the tombstones
+	 */
+	private int						used;
+
+	/**
+	 * The number of entries
+	 */
+	private int						count;
+
+	/**
+	 * The number of slabs evicted because the store was full
+	 */
+	private long					slabEvictions;
+
+	/**
+	 * A slab of records: they are appended until it's full, and it's reclaimed as a whole
+	 */
+	private static final class Slab {
+
+		/**
+		 * The memory of the slab, a direct buffer or a mapped file
+		 */
+		private final ByteBuffer	buffer;
+
+		/**
+		 * The offset of the first free byte
+		 */
+		private int					top	= SLAB_HEADER;
+
+		/**
+		 * The bytes of the live records
+		 */
+		private int					liveBytes;
+
+		/**
+		 * The number of live records
+		 */
+		private int					liveCount;
+
+		private Slab( ByteBuffer buffer ) {
+			this.buffer = buffer;
+		}
+
+		/**
+		 * Forget all the records
+		 */
+		private void reset() {
+			this.top		= SLAB_HEADER;
+			this.liveBytes	= 0;
+			this.liveCount	= 0;
+			this.buffer.putInt( 0, SLAB_MAGIC );
+			this.buffer.putInt( 4, SLAB_VERSION );
+			this.buffer.putInt( SLAB_TOP, SLAB_HEADER );
+		}
+	}
+
+	/**
+	 * A record copied out of its slab, so it can be decoded without holding the lock
+	 *
+	 * @param cacheName         The cache name
+	 * @param key               The key
+	 * @param timeout           The timeout in seconds
+	 * @param lastAccessTimeout The last access timeout in seconds
+	 * @param hits              The hits
+	 * @param created           When it was created, in epoch milliseconds
+	 * @param lastAccessed      When it was last accessed, in epoch milliseconds
+	 * @param value             The encoded value and metadata, or null to leave them empty
+	 */
+	private record StoredEntry( Key cacheName, Key key, long timeout, long lastAccessTimeout, long hits, long created, long lastAccessed,
+	    byte[] value ) {
+
+		ICacheEntry toEntry() {
+			Payload payload = this.value != null ? CacheEntrySerializer.decode( this.value ) : new Payload( null, new Struct() );
+			return new BoxCacheEntry(
+			    this.cacheName,
+			    this.timeout,
+			    this.lastAccessTimeout,
+			    this.key,
+			    payload.value(),
+			    payload.metadata(),
+			    this.hits,
+			    this.created,
+			    this.lastAccessed
+			);
+		}
+	}
+
+	/**
+	 * Constructor
+	 */
+	public OffHeapStore() {
+		// Empty constructor
+	}
+
+	/**
+	 * Some storages require a method to initialize the storage or do
+	 * object loading. This method is called when the cache provider is started.
+	 * <p>
+	 * With a <code>directory</code>, the entries of the slab files found are loaded.
+	 *
+	 * @param provider The cache provider associated with this store
+	 * @param config   The configuration for the store
+	 */
+	@Override
+	public IObjectStore init( ICacheProvider provider, IStruct config ) {
+		this.provider	= provider;
+		this.config		= config;
+
+		int	slabSize	= IntegerCaster.cast( config.getOrDefault( Key.slabSize, DEFAULT_SLAB_SIZE ) );
+		int	maxSlabs	= IntegerCaster.cast( config.getOrDefault( Key.maxSlabs, DEFAULT_MAX_SLABS ) );
+		if ( slabSize < 1 || slabSize > 2047 ) {
+			throw new BoxRuntimeException( "The OffHeapStore slabSize must be between 1 and 2047 megabytes, but it's [" + slabSize + "]" );
+		}
+		if ( maxSlabs < 1 ) {
+			throw new BoxRuntimeException( "The OffHeapStore maxSlabs must be at least 1, but it's [" + maxSlabs + "]" );
+		}
+		this.slabBytes	= slabSize * 1024 * 1024;
+		this.slabs		= new Slab[ maxSlabs ];
+		this.current	= 0;
+		resetIndex();
+
+		if ( config.get( Key.directory ) instanceof String path && !path.isBlank() ) {
+			this.directory = Path.of( path ).toAbsolutePath();
+			load();
+		}
+
+		logger.debug(
+		    "OffHeapStore({}) initialized with {} slabs of {}MB and a max size of {}",
+		    provider.getName(),
+		    maxSlabs,
+		    slabSize,
+		    config.getAsInteger( Key.maxObjects )
+		);
+		return this;
+	}
+
+	/**
+	 * Get the statistics of the slabs
+	 *
+	 * @return A struct with the number of <code>slabs</code> allocated, the <code>maxSlabs</code>, the <code>slabSize</code> in bytes, the
+	 *         <code>usedBytes</code> of the records, the <code>liveBytes</code> of the records not cleared or replaced, the
+	 *         <code>slabEvictions</code> and whether the store is <code>persistent</code>
+	 */
+	public IStruct getStats() {
+		this.lock.readLock().lock();
+		try {
+			int		allocated	= 0;
+			long	usedBytes	= 0;
+			long	liveBytes	= 0;
+			for ( Slab slab : this.slabs ) {
+				if ( slab != null ) {
+					allocated++;
+					usedBytes	+= slab.top - SLAB_HEADER;
+					liveBytes	+= slab.liveBytes;
+				}
+			}
+			return Struct.of(
+			    "slabs", allocated,
+			    "maxSlabs", this.slabs.length,
+			    "slabSize", this.slabBytes,
+			    "usedBytes", usedBytes,
+			    "liveBytes", liveBytes,
+			    "slabEvictions", this.slabEvictions,
+			    "persistent", this.directory != null
+			);
+		} finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Interface Methods
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Some storages require a shutdown method to close the storage or do
+	 * object saving. This method is called when the cache provider is stopped.
+	 * <p>
+	 * Slab files are written to disk. Slabs only in memory are released, and allocated again if the store is used after.
+	 */
+	public void shutdown() {
+		flush();
+		if ( this.directory == null ) {
+			this.lock.writeLock().lock();
+			try {
+				Arrays.fill( this.slabs, null );
+				this.current = 0;
+				resetIndex();
+			} finally {
+				this.lock.writeLock().unlock();
+			}
+		}
+		logger.debug(
+		    "OffHeapStore({}) was shutdown",
+		    provider.getName()
+		);
+	}
+
+	/**
+	 * Flush the store to a permanent storage.
+	 * Only applicable to stores that support it.
+	 * <p>
+	 * Writes the slab files to disk, when there is a <code>directory</code>.
+	 *
+	 * @return The number of objects flushed
+	 */
+	public int flush() {
+		if ( this.directory == null ) {
+			return 0;
+		}
+		this.lock.readLock().lock();
+		try {
+			for ( Slab slab : this.slabs ) {
+				if ( slab != null ) {
+					( ( MappedByteBuffer ) slab.buffer ).force();
+				}
+			}
+			return this.count;
+		} finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Runs the eviction algorithm to remove objects from the store based on the eviction policy
+	 * and eviction count. Large stores are sampled from a random run of the index instead of scanned.
+	 */
+	public synchronized void evict() {
+		int evictCount = this.config.getAsInteger( Key.evictCount );
+		if ( evictCount == 0 ) {
+			return;
+		}
+
+		Comparator<ICacheEntry>		comparator	= getPolicy().getComparator();
+		// Max-heap on the policy: the head is the best candidate to keep, so it's the first one to drop
+		PriorityQueue<ICacheEntry>	candidates	= new PriorityQueue<>( evictCount + 1, comparator.reversed() );
+		long						budget		= ( long ) evictCount * EVICTION_SAMPLE_SIZE;
+		this.lock.readLock().lock();
+		try {
+			int	capacity	= this.addresses.length;
+			int	start		= this.count <= budget ? 0 : ThreadLocalRandom.current().nextInt( capacity );
+			int	sampled		= 0;
+			for ( int i = 0; i < capacity && sampled < budget; i++ ) {
+				long address = this.addresses[ ( start + i ) & ( capacity - 1 ) ];
+				if ( isLive( address ) ) {
+					offerCandidate( candidates, copy( address, false ).toEntry(), evictCount, comparator );
+					sampled++;
+				}
+			}
+		} finally {
+			this.lock.readLock().unlock();
+		}
+
+		candidates.stream()
+		    .sorted( comparator )
+		    .forEach( entry -> {
+			    logger.debug(
+			        "OffHeapStore({}) evicted [{}]",
+			        provider.getName(),
+			        entry.key().getName()
+			    );
+			    clear( entry.key() );
+			    getProvider().getStats().recordEviction();
+		    } );
+	}
+
+	/**
+	 * Clear the expired entries, checking the timeouts in the record headers without reading the values. The index is scanned under the
+	 * read lock, so only removing the expired entries holds up the others. When anyone listens to the removals, the expired entries are
+	 * cleared through the provider instead, which announces each of them.
+	 *
+	 * @param now The current time in epoch milliseconds
+	 *
+	 * @return The number of entries cleared
+	 */
+	@Override
+	public int clearExpired( long now ) {
+		boolean		useLastAccessTimeouts	= this.config.getAsBoolean( Key.useLastAccessTimeouts );
+		List<Key>	expired					= new ArrayList<>();
+		this.lock.readLock().lock();
+		try {
+			for ( long address : this.addresses ) {
+				if ( isLive( address ) && isExpired( address, useLastAccessTimeouts, now ) ) {
+					expired.add( keyAt( address ) );
+				}
+			}
+		} finally {
+			this.lock.readLock().unlock();
+		}
+		if ( expired.isEmpty() ) {
+			return 0;
+		}
+		if ( hasRemovalListeners() ) {
+			return ( int ) expired.stream().filter( key -> getProvider().clear( key.getName() ) ).count();
+		}
+
+		int cleared = 0;
+		this.lock.writeLock().lock();
+		try {
+			for ( Key key : expired ) {
+				// Skip the entries replaced since the scan
+				int slot = find( key );
+				if ( slot >= 0 && isExpired( this.addresses[ slot ], useLastAccessTimeouts, now ) ) {
+					remove( slot );
+					cleared++;
+				}
+			}
+		} finally {
+			this.lock.writeLock().unlock();
+		}
+		return cleared;
+	}
+
+	/**
+	 * Get the size of the store, not the size in bytes but the number of objects in the store
+	 */
+	public int getSize() {
+		this.lock.readLock().lock();
+		try {
+			return this.count;
+		} finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Clear all the elements in the store
+	 */
+	public void clearAll() {
+		this.lock.writeLock().lock();
+		try {
+			for ( Slab slab : this.slabs ) {
+				if ( slab != null ) {
+					slab.reset();
+				}
+			}
+			this.current = 0;
+			resetIndex();
+		} finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Clear all the elements in the store with a ${@link ICacheKeyFilter}.
+	 * This can be a lambda or method reference since it's a functional interface.
+	 *
+	 * @param filter The filter that determines which keys to clear
+	 *
+	 * @return True if all the objects were cleared
+	 */
+	public boolean clearAll( ICacheKeyFilter filter ) {
+		getKeysStream( filter ).forEach( this::clear );
+		return true;
+	}
+
+	/**
+	 * Clears an object from the storage
+	 *
+	 * @param key The object key to clear
+	 *
+	 * @return True if the object was cleared, false otherwise (if the object was not found in the store)
+	 */
+	public boolean clear( Key key ) {
+		this.lock.writeLock().lock();
+		try {
+			int slot = find( key );
+			if ( slot < 0 ) {
+				return false;
+			}
+			remove( slot );
+			return true;
+		} finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Clears multiple objects from the storage
+	 *
+	 * @param keys The keys to clear
+	 *
+	 * @return A struct of keys and their clear status: true if the object was cleared, false otherwise (if the object was not found in the store)
+	 */
+	public IStruct clear( Key... keys ) {
+		IStruct results = new Struct();
+		for ( Key key : keys ) {
+			results.put( key, clear( key ) );
+		}
+		return results;
+	}
+
+	/**
+	 * Get all the keys in the store
+	 *
+	 * @return An array of keys in the cache
+	 */
+	public Key[] getKeys() {
+		return getKeysStream().toArray( Key[]::new );
+	}
+
+	/**
+	 * Get all the keys in the store using a filter
+	 *
+	 * @param filter The filter that determines which keys to return
+	 *
+	 * @return An array of keys in the cache
+	 */
+	public Key[] getKeys( ICacheKeyFilter filter ) {
+		return getKeysStream( filter ).toArray( Key[]::new );
+	}
+
+	/**
+	 * Get all the keys in the store as a stream
+	 *
+	 * @return A stream of keys in the cache
+	 */
+	public Stream<Key> getKeysStream() {
+		this.lock.readLock().lock();
+		try {
+			List<Key> keys = new ArrayList<>( this.count );
+			for ( long address : this.addresses ) {
+				if ( isLive( address ) ) {
+					keys.add( keyAt( address ) );
+				}
+			}
+			return keys.stream();
+		} finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Get all the keys in the store as a stream
+	 *
+	 * @param filter The filter that determines which keys to return
+	 *
+	 * @return A stream of keys in the cache
+	 */
+	public Stream<Key> getKeysStream( ICacheKeyFilter filter ) {
+		return getKeysStream().filter( filter );
+	}
+
+	/**
+	 * Check if an object is in the store
+	 *
+	 * @param key The key to lookup in the store
+	 *
+	 * @return True if the object is in the store, false otherwise
+	 */
+	public boolean lookup( Key key ) {
+		this.lock.readLock().lock();
+		try {
+			return find( key ) >= 0;
+		} finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Check if multiple objects are in the store
+	 *
+	 * @param keys A varargs of keys to lookup in the store
+	 *
+	 * @return A struct of keys and their lookup status
+	 */
+	public IStruct lookup( Key... keys ) {
+		IStruct results = new Struct();
+		for ( Key key : keys ) {
+			results.put( key, lookup( key ) );
+		}
+		return results;
+	}
+
+	/**
+	 * Check if multiple objects are in the store using a filter
+	 *
+	 * @param filter The filter that determines which keys to return
+	 *
+	 * @return A struct of the keys found. True if the object is in the store, false otherwise
+	 */
+	public IStruct lookup( ICacheKeyFilter filter ) {
+		IStruct results = new Struct();
+		getKeysStream( filter ).forEach( key -> results.put( key, true ) );
+		return results;
+	}
+
+	/**
+	 * Get an object from the store with metadata tracking: hits, lastAccess, etc
+	 *
+	 * @param key The key to retrieve
+	 *
+	 * @return The cache entry retrieved or null if not found
+	 */
+	public ICacheEntry get( Key key ) {
+		long		now				= System.currentTimeMillis();
+		boolean		resetTimeout	= this.config.getAsBoolean( Key.resetTimeoutOnAccess );
+		StoredEntry	stored;
+		this.lock.readLock().lock();
+		try {
+			int slot = find( key );
+			if ( slot < 0 ) {
+				return null;
+			}
+			long		address	= this.addresses[ slot ];
+			ByteBuffer	buffer	= slabOf( address ).buffer;
+			int			offset	= offsetOf( address );
+			// Update Stats in place, so the value isn't written again
+			LONGS.getAndAdd( buffer, offset + HITS, 1L );
+			buffer.putLong( offset + LAST_ACCESSED, now );
+			// Is resetTimeoutOnAccess enabled? If so, jump up the creation time to increase the timeout
+			if ( resetTimeout ) {
+				buffer.putLong( offset + CREATED, now );
+			}
+			stored = copy( address, true );
+		} finally {
+			this.lock.readLock().unlock();
+		}
+		return stored.toEntry();
+	}
+
+	/**
+	 * Get multiple objects from the store with metadata tracking
+	 *
+	 * @param keys The keys to retrieve
+	 *
+	 * @return A struct of keys and their cache entries
+	 */
+	public IStruct get( Key... keys ) {
+		IStruct results = new Struct();
+		for ( Key key : keys ) {
+			results.put( key, get( key ) );
+		}
+		return results;
+	}
+
+	/**
+	 * Get multiple objects from the store with metadata tracking using a filter
+	 *
+	 * @param filter The filter that determines which keys to return
+	 *
+	 * @return A struct of keys and their cache entries
+	 */
+	public IStruct get( ICacheKeyFilter filter ) {
+		IStruct results = new Struct();
+		getKeysStream( filter ).forEach( key -> results.put( key, get( key ) ) );
+		return results;
+	}
+
+	/**
+	 * Get an object from cache with no metadata tracking
+	 *
+	 * @param key The key to retrieve
+	 *
+	 * @return The cache entry retrieved or null if not found
+	 */
+	public ICacheEntry getQuiet( Key key ) {
+		StoredEntry stored;
+		this.lock.readLock().lock();
+		try {
+			int slot = find( key );
+			if ( slot < 0 ) {
+				return null;
+			}
+			stored = copy( this.addresses[ slot ], true );
+		} finally {
+			this.lock.readLock().unlock();
+		}
+		return stored.toEntry();
+	}
+
+	/**
+	 * Get multiple objects from the store with no metadata tracking
+	 *
+	 * @param keys The keys to retrieve
+	 *
+	 * @return A struct of keys and their cache entries
+	 */
+	public IStruct getQuiet( Key... keys ) {
+		IStruct results = new Struct();
+		for ( Key key : keys ) {
+			results.put( key, getQuiet( key ) );
+		}
+		return results;
+	}
+
+	/**
+	 * Get multiple objects from the store with no metadata tracking using a filter
+	 *
+	 * @param filter The filter that determines which keys to return
+	 *
+	 * @return A struct of keys and their cache entries
+	 */
+	public IStruct getQuiet( ICacheKeyFilter filter ) {
+		IStruct results = new Struct();
+		getKeysStream( filter ).forEach( key -> results.put( key, getQuiet( key ) ) );
+		return results;
+	}
+
+	/**
+	 * Sets an object in the storage. The entry is encoded before taking the lock, so only copying it into its slab holds up the others.
+	 * <p>
+	 * When the slabs are full and anyone listens to the removals, the entries of the slab to evict are cleared through the provider first,
+	 * which announces each of them, without holding the lock.
+	 *
+	 * @param key   The key to store the object under
+	 * @param entry The cache entry to store
+	 */
+	public void set( Key key, ICacheEntry entry ) {
+		byte[]	name		= key.getName().getBytes( StandardCharsets.UTF_8 );
+		byte[]	cacheName	= entry.cacheName().getName().getBytes( StandardCharsets.UTF_8 );
+		byte[]	value		= CacheEntrySerializer.encode( entry );
+		int		length		= align( RECORD_HEADER + name.length + cacheName.length + value.length );
+		if ( length > this.slabBytes - SLAB_HEADER ) {
+			throw new BoxRuntimeException(
+			    "The cache entry [" + key.getName() + "] takes [" + length + "] bytes, more than an OffHeapStore slab of [" + this.slabBytes
+			        + "] bytes can hold"
+			);
+		}
+
+		boolean announce = hasRemovalListeners();
+		while ( true ) {
+			List<Key> evicted;
+			this.lock.writeLock().lock();
+			try {
+				evicted = announce ? liveKeys( slabToEvict( length ), key ) : List.of();
+				if ( evicted.isEmpty() ) {
+					write( key, entry, name, cacheName, value, length );
+					return;
+				}
+				this.slabEvictions++;
+			} finally {
+				this.lock.writeLock().unlock();
+			}
+			// Evict the entries of the full slab through the provider, which announces them, then try again
+			int cleared = 0;
+			for ( Key evictedKey : evicted ) {
+				if ( getProvider().clear( evictedKey.getName() ) ) {
+					getProvider().getStats().recordEviction();
+					cleared++;
+				}
+			}
+			logger.debug( "OffHeapStore({}) evicted a slab with [{}] entries", provider.getName(), cleared );
+			// If the provider cleared none of them, the slab is evicted with the write
+			announce = cleared > 0;
+		}
+	}
+
+	/**
+	 * Set's multiple objects in the storage
+	 *
+	 * @param entries The keys and cache entries to store
+	 */
+	public void set( IStruct entries ) {
+		entries.forEach( ( key, value ) -> set( key, ( ICacheEntry ) value ) );
+	}
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Private Helpers
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * The path of a slab file
+	 *
+	 * @param index The slab index
+	 *
+	 * @return The path
+	 */
+	private Path slabPath( int index ) {
+		return this.directory.resolve( provider.getName().getName() + "-" + index + ".slab" );
+	}
+
+	/**
+	 * Allocate a slab, mapping its file if there is a directory. A mapped file which isn't a valid slab is reset.
+	 *
+	 * @param index The slab index
+	 *
+	 * @return The slab
+	 */
+	private Slab openSlab( int index ) {
+		if ( this.directory == null ) {
+			Slab slab = new Slab( ByteBuffer.allocateDirect( this.slabBytes ) );
+			slab.reset();
+			return slab;
+		}
+		// The mapping outlives the channel
+		try ( FileChannel channel = FileChannel.open( slabPath( index ), StandardOpenOption.CREATE, StandardOpenOption.READ,
+		    StandardOpenOption.WRITE ) ) {
+			Slab		slab	= new Slab( channel.map( FileChannel.MapMode.READ_WRITE, 0, this.slabBytes ) );
+			ByteBuffer	buffer	= slab.buffer;
+			int			top		= buffer.getInt( SLAB_TOP );
+			if ( buffer.getInt( 0 ) != SLAB_MAGIC || buffer.getInt( 4 ) != SLAB_VERSION || top < SLAB_HEADER || top > this.slabBytes ) {
+				slab.reset();
+			} else {
+				slab.top = top;
+			}
+			return slab;
+		} catch ( IOException e ) {
+			throw new BoxIOException( e );
+		}
+	}
+
+	/**
+	 * Load the slab files of the directory, and append to the one with the most room
+	 */
+	private void load() {
+		try {
+			Files.createDirectories( this.directory );
+		} catch ( IOException e ) {
+			throw new BoxIOException( e );
+		}
+		for ( int i = 0; i < this.slabs.length; i++ ) {
+			if ( Files.exists( slabPath( i ) ) ) {
+				this.slabs[ i ] = openSlab( i );
+				loadSlab( i );
+				if ( this.slabs[ this.current ] == null || this.slabs[ i ].top < this.slabs[ this.current ].top ) {
+					this.current = i;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Index the live records of a slab. The end of the slab is dropped from the first record which doesn't look right, like one being
+	 * written when the JVM stopped.
+	 *
+	 * @param index The slab index
+	 */
+	private void loadSlab( int index ) {
+		Slab		slab	= this.slabs[ index ];
+		ByteBuffer	buffer	= slab.buffer;
+		int			offset	= SLAB_HEADER;
+		while ( offset < slab.top ) {
+			int length = buffer.getInt( offset + LENGTH );
+			if ( length < RECORD_HEADER || length % 8 != 0 || length > slab.top - offset ) {
+				logger.warn( "OffHeapStore({}) dropped the end of slab [{}] from offset [{}]", provider.getName(), index, offset );
+				slab.top = offset;
+				buffer.putInt( SLAB_TOP, offset );
+				break;
+			}
+			if ( buffer.getInt( offset + STATE ) == LIVE ) {
+				long	address	= address( index, offset );
+				Key		key		= keyAt( address );
+				int		slot	= find( key );
+				// Two live records of a key are left by a replace which didn't finish, the newer one wins
+				if ( slot >= 0 && buffer.getLong( offset + CREATED ) < created( this.addresses[ slot ] ) ) {
+					buffer.putInt( offset + STATE, DEAD );
+				} else {
+					if ( slot >= 0 ) {
+						remove( slot );
+					}
+					buffer.putInt( offset + HASH, key.hashCode() );
+					insert( key.hashCode(), address );
+				}
+			}
+			offset += length;
+		}
+	}
+
+	/**
+	 * Allocate room for a record, moving to another slab if the current one is full
+	 *
+	 * @param length The record length
+	 *
+	 * @return The record address
+	 */
+	private long allocate( int length ) {
+		Slab slab = this.slabs[ this.current ];
+		if ( slab == null || slab.top > this.slabBytes - length ) {
+			slab = nextSlab();
+		}
+		long address = address( this.current, slab.top );
+		slab.top += length;
+		slab.buffer.putInt( SLAB_TOP, slab.top );
+		return address;
+	}
+
+	/**
+	 * Write a record and index it, replacing the record of the key if there is one. The caller holds the write lock.
+	 *
+	 * @param key       The key
+	 * @param entry     The cache entry
+	 * @param name      The encoded key name
+	 * @param cacheName The encoded cache name
+	 * @param value     The encoded value
+	 * @param length    The aligned record length
+	 */
+	private void write( Key key, ICacheEntry entry, byte[] name, byte[] cacheName, byte[] value, int length ) {
+		int slot = find( key );
+		if ( slot >= 0 ) {
+			remove( slot );
+		}
+		long		address	= allocate( length );
+		ByteBuffer	buffer	= slabOf( address ).buffer;
+		int			offset	= offsetOf( address );
+		buffer.putInt( offset + LENGTH, length );
+		buffer.putInt( offset + HASH, key.hashCode() );
+		buffer.putLong( offset + TIMEOUT, entry.timeout() );
+		buffer.putLong( offset + LAST_ACCESS_TIMEOUT, entry.lastAccessTimeout() );
+		buffer.putLong( offset + HITS, entry.hits() );
+		buffer.putLong( offset + CREATED, entry.createdMillis() );
+		buffer.putLong( offset + LAST_ACCESSED, entry.lastAccessedMillis() );
+		buffer.putInt( offset + NAME_LENGTH, name.length );
+		buffer.putInt( offset + CACHE_NAME_LENGTH, cacheName.length );
+		buffer.putInt( offset + VALUE_LENGTH, value.length );
+		buffer.put( offset + RECORD_HEADER, name );
+		buffer.put( offset + RECORD_HEADER + name.length, cacheName );
+		buffer.put( offset + RECORD_HEADER + name.length + cacheName.length, value );
+		// Last, so a slab file only has complete records marked live
+		buffer.putInt( offset + STATE, LIVE );
+		insert( key.hashCode(), address );
+	}
+
+	/**
+	 * The slab allocating a record would evict: none if the current slab has room for it or another slab has no live records
+	 *
+	 * @param length The record length
+	 *
+	 * @return The slab index, or -1 if no slab would be evicted
+	 */
+	private int slabToEvict( int length ) {
+		Slab slab = this.slabs[ this.current ];
+		if ( slab != null && slab.top <= this.slabBytes - length ) {
+			return -1;
+		}
+		for ( Slab other : this.slabs ) {
+			if ( other == null || other.liveCount == 0 ) {
+				return -1;
+			}
+		}
+		return victimSlab();
+	}
+
+	/**
+	 * The keys of the live records of a slab
+	 *
+	 * @param index  The slab index, or -1 for none
+	 * @param except A key to leave out, the one being replaced
+	 *
+	 * @return The keys
+	 */
+	private List<Key> liveKeys( int index, Key except ) {
+		List<Key> keys = new ArrayList<>();
+		if ( index < 0 ) {
+			return keys;
+		}
+		Slab		slab	= this.slabs[ index ];
+		ByteBuffer	buffer	= slab.buffer;
+		for ( int offset = SLAB_HEADER; offset < slab.top; offset += buffer.getInt( offset + LENGTH ) ) {
+			if ( buffer.getInt( offset + STATE ) == LIVE ) {
+				Key key = keyAt( address( index, offset ) );
+				if ( !key.equals( except ) ) {
+					keys.add( key );
+				}
+			}
+		}
+		return keys;
+	}
+
+	/**
+	 * The slab to evict when all of them hold live records: the one with the fewest live bytes, the current one only if it's the only one
+	 *
+	 * @return The slab index
+	 */
+	private int victimSlab() {
+		int victim = this.current;
+		for ( int i = 0; i < this.slabs.length; i++ ) {
+			if ( i != this.current && ( victim == this.current || this.slabs[ i ].liveBytes < this.slabs[ victim ].liveBytes ) ) {
+				victim = i;
+			}
+		}
+		return victim;
+	}
+
+	/**
+	 * Move to another slab: one without live records, else a new one, else the one with the fewest live bytes, which is evicted
+	 *
+	 * @return The slab, which is now the current one
+	 */
+	private Slab nextSlab() {
+		for ( int i = 0; i < this.slabs.length; i++ ) {
+			if ( this.slabs[ i ] != null && this.slabs[ i ].liveCount == 0 ) {
+				this.slabs[ i ].reset();
+				this.current = i;
+				return this.slabs[ i ];
+			}
+		}
+		for ( int i = 0; i < this.slabs.length; i++ ) {
+			if ( this.slabs[ i ] == null ) {
+				this.slabs[ i ]	= openSlab( i );
+				this.current	= i;
+				return this.slabs[ i ];
+			}
+		}
+		int victim = victimSlab();
+		evictSlab( victim );
+		this.current = victim;
+		return this.slabs[ victim ];
+	}
+
+	/**
+	 * Evict all the live records of a slab and reset it. They are not announced, {@link #set(Key, ICacheEntry)} clears them through the
+	 * provider before when anyone listens to the removals.
+	 *
+	 * @param index The slab index
+	 */
+	private void evictSlab( int index ) {
+		Slab		slab	= this.slabs[ index ];
+		ByteBuffer	buffer	= slab.buffer;
+		int			evicted	= 0;
+		for ( int offset = SLAB_HEADER; offset < slab.top; offset += buffer.getInt( offset + LENGTH ) ) {
+			if ( buffer.getInt( offset + STATE ) == LIVE ) {
+				int slot = findAddress( buffer.getInt( offset + HASH ), address( index, offset ) );
+				if ( slot >= 0 ) {
+					remove( slot );
+				}
+				getProvider().getStats().recordEviction();
+				evicted++;
+			}
+		}
+		slab.reset();
+		this.slabEvictions++;
+		logger.debug( "OffHeapStore({}) evicted slab [{}] with [{}] entries", provider.getName(), index, evicted );
+	}
+
+	/**
+	 * Empty the index
+	 */
+	private void resetIndex() {
+		this.hashes		= new int[ MIN_CAPACITY ];
+		this.addresses	= new long[ MIN_CAPACITY ];
+		this.used		= 0;
+		this.count		= 0;
+	}
+
+	/**
+	 * Find the slot of a key
+	 *
+	 * @param key The key
+	 *
+	 * @return The slot, or -1 if the key isn't in the store
+	 */
+	private int find( Key key ) {
+		int	hash	= key.hashCode();
+		int	mask	= this.addresses.length - 1;
+		for ( int slot = spread( hash ) & mask;; slot = ( slot + 1 ) & mask ) {
+			long address = this.addresses[ slot ];
+			if ( address == EMPTY ) {
+				return -1;
+			}
+			if ( address != TOMBSTONE && this.hashes[ slot ] == hash && key.equals( keyAt( address ) ) ) {
+				return slot;
+			}
+		}
+	}
+
+	/**
+	 * Find the slot of a record
+	 *
+	 * @param hash    The key hash of the record
+	 * @param address The record address
+	 *
+	 * @return The slot, or -1 if the record isn't indexed
+	 */
+	private int findAddress( int hash, long address ) {
+		int mask = this.addresses.length - 1;
+		for ( int slot = spread( hash ) & mask;; slot = ( slot + 1 ) & mask ) {
+			if ( this.addresses[ slot ] == EMPTY ) {
+				return -1;
+			}
+			if ( this.addresses[ slot ] == address ) {
+				return slot;
+			}
+		}
+	}
+
+	/**
+	 * Index a record, whose key isn't in the index
+	 *
+	 * @param hash    The key hash
+	 * @param address The record address
+	 */
+	private void insert( int hash, long address ) {
+		if ( ( this.used + 1 ) * 4 > this.addresses.length * 3 ) {
+			rehash();
+		}
+		int	mask	= this.addresses.length - 1;
+		int	slot	= spread( hash ) & mask;
+		while ( isLive( this.addresses[ slot ] ) ) {
+			slot = ( slot + 1 ) & mask;
+		}
+		if ( this.addresses[ slot ] == EMPTY ) {
+			this.used++;
+		}
+		this.hashes[ slot ]		= hash;
+		this.addresses[ slot ]	= address;
+		this.count++;
+
+		Slab slab = slabOf( address );
+		slab.liveCount++;
+		slab.liveBytes += slab.buffer.getInt( offsetOf( address ) + LENGTH );
+	}
+
+	/**
+	 * Remove an entry from the index and mark its record dead
+	 *
+	 * @param slot The slot of the entry
+	 */
+	private void remove( int slot ) {
+		long	address	= this.addresses[ slot ];
+		Slab	slab	= slabOf( address );
+		int		offset	= offsetOf( address );
+		slab.buffer.putInt( offset + STATE, DEAD );
+		slab.liveCount--;
+		slab.liveBytes -= slab.buffer.getInt( offset + LENGTH );
+
+		// A tombstone is only needed if a probe can go past it
+		if ( this.addresses[ ( slot + 1 ) & ( this.addresses.length - 1 ) ] == EMPTY ) {
+			this.addresses[ slot ] = EMPTY;
+			this.used--;
+		} else {
+			this.addresses[ slot ] = TOMBSTONE;
+		}
+		this.count--;
+	}
+
+	/**
+	 * Rebuild the index without its tombstones, at twice the number of entries or more
+	 */
+	private void rehash() {
+		int capacity = MIN_CAPACITY;
+		while ( capacity < ( this.count + 1 ) * 2 ) {
+			capacity <<= 1;
+		}
+		int[]	oldHashes		= this.hashes;
+		long[]	oldAddresses	= this.addresses;
+		int		mask			= capacity - 1;
+		this.hashes		= new int[ capacity ];
+		this.addresses	= new long[ capacity ];
+		this.used		= this.count;
+		for ( int i = 0; i < oldAddresses.length; i++ ) {
+			if ( isLive( oldAddresses[ i ] ) ) {
+				int slot = spread( oldHashes[ i ] ) & mask;
+				while ( this.addresses[ slot ] != EMPTY ) {
+					slot = ( slot + 1 ) & mask;
+				}
+				this.hashes[ slot ]		= oldHashes[ i ];
+				this.addresses[ slot ]	= oldAddresses[ i ];
+			}
+		}
+	}
+
+	/**
+	 * Copy a record out of its slab
+	 *
+	 * @param address   The record address
+	 * @param withValue Whether to copy the value too
+	 *
+	 * @return The copy
+	 */
+	private StoredEntry copy( long address, boolean withValue ) {
+		ByteBuffer	buffer			= slabOf( address ).buffer;
+		int			offset			= offsetOf( address );
+		int			nameLength		= buffer.getInt( offset + NAME_LENGTH );
+		int			cacheNameLength	= buffer.getInt( offset + CACHE_NAME_LENGTH );
+		byte[]		value			= null;
+		if ( withValue ) {
+			value = new byte[ buffer.getInt( offset + VALUE_LENGTH ) ];
+			buffer.get( offset + RECORD_HEADER + nameLength + cacheNameLength, value );
+		}
+		return new StoredEntry(
+		    Key.of( readString( buffer, offset + RECORD_HEADER + nameLength, cacheNameLength ) ),
+		    Key.of( readString( buffer, offset + RECORD_HEADER, nameLength ) ),
+		    buffer.getLong( offset + TIMEOUT ),
+		    buffer.getLong( offset + LAST_ACCESS_TIMEOUT ),
+		    ( long ) LONGS.getVolatile( buffer, offset + HITS ),
+		    buffer.getLong( offset + CREATED ),
+		    buffer.getLong( offset + LAST_ACCESSED ),
+		    value
+		);
+	}
+
+	/**
+	 * Whether a record has expired, the same way as {@link ICacheEntry#expiresAt(boolean)}
+	 *
+	 * @param address               The record address
+	 * @param useLastAccessTimeouts Whether the last access timeouts apply
+	 * @param now                   The current time in epoch milliseconds
+	 *
+	 * @return True if it expired
+	 */
+	private boolean isExpired( long address, boolean useLastAccessTimeouts, long now ) {
+		ByteBuffer	buffer				= slabOf( address ).buffer;
+		int			offset				= offsetOf( address );
+		long		timeout				= buffer.getLong( offset + TIMEOUT );
+		long		lastAccessTimeout	= buffer.getLong( offset + LAST_ACCESS_TIMEOUT );
+		if ( timeout == 0 ) {
+			return false;
+		}
+		long expiresAt = buffer.getLong( offset + CREATED ) + timeout * 1000;
+		if ( useLastAccessTimeouts && lastAccessTimeout > 0 ) {
+			expiresAt = Math.min( expiresAt, buffer.getLong( offset + LAST_ACCESSED ) + lastAccessTimeout * 1000 );
+		}
+		return expiresAt < now;
+	}
+
+	/**
+	 * The key of a record
+	 */
+	private Key keyAt( long address ) {
+		ByteBuffer	buffer	= slabOf( address ).buffer;
+		int			offset	= offsetOf( address );
+		return Key.of( readString( buffer, offset + RECORD_HEADER, buffer.getInt( offset + NAME_LENGTH ) ) );
+	}
+
+	/**
+	 * When a record was created
+	 */
+	private long created( long address ) {
+		return slabOf( address ).buffer.getLong( offsetOf( address ) + CREATED );
+	}
+
+	private Slab slabOf( long address ) {
+		return this.slabs[ ( int ) ( address >>> 32 ) ];
+	}
+
+	private static int offsetOf( long address ) {
+		return ( int ) address;
+	}
+
+	private static long address( int slab, int offset ) {
+		return ( ( long ) slab << 32 ) | offset;
+	}
+
+	private static boolean isLive( long address ) {
+		return address != EMPTY && address != TOMBSTONE;
+	}
+
+	private static int align( int length ) {
+		return ( length + 7 ) & ~7;
+	}
+
+	/**
+	 * Mix the bits of a key hash, since the index only uses its low bits
+	 */
+	private static int spread( int hash ) {
+		int mixed = hash * 0x9E3779B9;
+		return mixed ^ ( mixed >>> 16 );
+	}
+
+	private static String readString( ByteBuffer buffer, int offset, int length ) {
+		byte[] bytes = new byte[ length ];
+		buffer.get( offset, bytes );
+		return new String( bytes, StandardCharsets.UTF_8 );
+	}
+
+}
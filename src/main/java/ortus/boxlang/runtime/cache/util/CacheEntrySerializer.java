@@ -0,0 +1,145 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.runtime.cache.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.OutputStream;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import ortus.boxlang.runtime.cache.ICacheEntry;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.exceptions.BoxIOException;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
+import ortus.boxlang.runtime.util.conversion.BinaryCodec;
+
+/**
+ * Encodes the value and metadata of cache entries for the stores which keep them as bytes, like the JDBC and off heap stores.
+ * <p>
+ * The encoded bytes start with a format byte, followed by the value and metadata encoded with the {@link BinaryCodec}, deflated when
+ * large. Entries written with Java serialization, the formats before the codec, are still read. The rest of the entry,
+ * like its timeouts and hits, is up to the store, which usually keeps it where it can be updated without encoding the value again.
+ */
+public final class CacheEntrySerializer {
+
+	/**
+	 * The first byte of an encoded value: serialized as is, no longer written
+	 */
+	public static final byte	SERIALIZED			= 0;
+
+	/**
+	 * The first byte of an encoded value: serialized and deflated, no longer written
+	 */
+	public static final byte	DEFLATED			= 1;
+
+	/**
+	 * The first byte of an encoded value: encoded by the {@link BinaryCodec} as is
+	 */
+	public static final byte	ENCODED				= 2;
+
+	/**
+	 * The first byte of an encoded value: encoded by the {@link BinaryCodec} and deflated
+	 */
+	public static final byte	ENCODED_DEFLATED	= 3;
+
+	/**
+	 * Values encoded to more bytes than this are deflated
+	 */
+	public static final int		DEFLATE_THRESHOLD	= 512;
+
+	/**
+	 * The decoded value and metadata of an entry
+	 *
+	 * @param value    The value
+	 * @param metadata The metadata
+	 */
+	public record Payload( Object value, IStruct metadata ) {
+	}
+
+	private CacheEntrySerializer() {
+		// Static helpers only
+	}
+
+	/**
+	 * Encode the value and metadata of an entry: a format byte followed by their encoding, deflated if large
+	 *
+	 * @param entry The entry
+	 *
+	 * @return The encoded bytes
+	 */
+	public static byte[] encode( ICacheEntry entry ) {
+		byte[] encoded = BinaryCodec.encodeAll( entry.rawValue(), entry.metadata() );
+		try {
+			ByteArrayOutputStream result = new ByteArrayOutputStream( encoded.length / 2 + 1 );
+			if ( encoded.length <= DEFLATE_THRESHOLD ) {
+				result.write( ENCODED );
+				result.write( encoded );
+				return result.toByteArray();
+			}
+			result.write( ENCODED_DEFLATED );
+			try ( OutputStream out = new DeflaterOutputStream( result ) ) {
+				out.write( encoded );
+			}
+			return result.toByteArray();
+		} catch ( IOException e ) {
+			throw new BoxIOException( "The cache entry [" + entry.key().getName() + "] could not be serialized", e );
+		}
+	}
+
+	/**
+	 * Decode the value and metadata of an entry
+	 *
+	 * @param encoded The encoded bytes
+	 *
+	 * @return The value and the metadata
+	 */
+	public static Payload decode( byte[] encoded ) {
+		return decode( new ByteArrayInputStream( encoded ) );
+	}
+
+	/**
+	 * Decode the value and metadata of an entry
+	 *
+	 * @param encoded A stream of the encoded bytes, which is closed
+	 *
+	 * @return The value and the metadata
+	 */
+	public static Payload decode( InputStream encoded ) {
+		try ( InputStream stream = encoded ) {
+			int			format	= stream.read();
+			InputStream	body	= format == DEFLATED || format == ENCODED_DEFLATED ? new InflaterInputStream( stream ) : stream;
+			if ( format == ENCODED || format == ENCODED_DEFLATED ) {
+				Object[] values = BinaryCodec.decodeAll( null, body.readAllBytes() );
+				return new Payload( values[ 0 ], ( IStruct ) values[ 1 ] );
+			}
+			// Written with Java serialization
+			try ( ObjectInputStream in = new ObjectInputStream( body ) ) {
+				return new Payload( in.readObject(), ( IStruct ) in.readObject() );
+			}
+		} catch ( IOException e ) {
+			throw new BoxIOException( "A cache entry could not be deserialized", e );
+		} catch ( ClassNotFoundException e ) {
+			throw new BoxRuntimeException( "A cache entry could not be loaded", e );
+		}
+	}
+
+}
@@ -0,0 +1,189 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.runtime.cache.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import ortus.boxlang.runtime.scopes.Key;
+
+/**
+ * A timing wheel of cache keys by the time they expire, so the reaper only visits the keys which are due instead of scanning the whole
+ * store.
+ * <p>
+ * Keys are bucketed by expiration tick. Draining returns the keys of every tick up to now, and forgets them. The index is a hint: a key
+ * may have been cleared, replaced or accessed since it was scheduled, so the caller checks the entry again and schedules it anew if it
+ * hasn't expired yet. That way accessing an entry, which pushes back its last access timeout, costs nothing here.
+ * <p>
+ * Each key is kept in a single bucket: scheduling it again, as setting a hot key does, moves it out of the bucket it was in, so the
+ * index grows with the number of keys rather than the rate they are set.
+ */
+public class ExpiryIndex {
+
+	/**
+	 * The default tick length in milliseconds, the resolution cache timeouts are given in
+	 */
+	public static final long			DEFAULT_TICK	= 1000;
+
+	/**
+	 * The tick length in milliseconds
+	 */
+	private final long					tick;
+
+	/**
+	 * The keys expiring in each tick
+	 */
+	private final Map<Long, Set<Key>>	buckets			= new ConcurrentHashMap<>();
+
+	/**
+	 * The bucket each key is scheduled in
+	 */
+	private final Map<Key, Long>		current			= new ConcurrentHashMap<>();
+
+	/**
+	 * The last tick drained. It's advanced before its buckets are removed, so a key scheduled in a tick already drained can tell.
+	 */
+	private volatile long				drained;
+
+	/**
+	 * Constructor with the default tick
+	 */
+	public ExpiryIndex() {
+		this( DEFAULT_TICK );
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param tick The tick length in milliseconds
+	 */
+	public ExpiryIndex( long tick ) {
+		this.tick		= tick;
+		this.drained	= System.currentTimeMillis() / tick - 1;
+	}
+
+	/**
+	 * Schedule a key to be checked when it expires, moving it out of the bucket it was scheduled in before. Keys already past due are
+	 * scheduled for the next tick to drain.
+	 *
+	 * @param key       The cache key
+	 * @param expiresAt When it expires, in epoch milliseconds
+	 */
+	public void schedule( Key key, long expiresAt ) {
+		long	bucket		= Math.max( expiresAt / this.tick, this.drained + 1 );
+		Long	previous	= this.current.put( key, bucket );
+		if ( previous != null && previous != bucket ) {
+			unschedule( key, previous );
+		}
+		while ( true ) {
+			// Added in compute, so draining can't remove the bucket in between
+			this.buckets.compute( bucket, ( t, keys ) -> {
+				Set<Key> scheduled = keys != null ? keys : ConcurrentHashMap.newKeySet();
+				scheduled.add( key );
+				return scheduled;
+			} );
+			long last = this.drained;
+			if ( bucket > last ) {
+				return;
+			}
+			// Drained meanwhile: drop it from the bucket in case it was added after the drain, and move it to the next one
+			unschedule( key, bucket );
+			bucket = last + 1;
+			this.current.put( key, bucket );
+		}
+	}
+
+	/**
+	 * Remove the keys which are due, that is every key scheduled to expire up to now
+	 *
+	 * @param now The current time in epoch milliseconds
+	 *
+	 * @return The keys due, which may have been cleared, replaced or accessed since they were scheduled
+	 */
+	public synchronized List<Key> drain( long now ) {
+		List<Key>	due		= new ArrayList<>();
+		long		from	= this.drained + 1;
+		long		to		= now / this.tick;
+		if ( to < from ) {
+			return due;
+		}
+		this.drained = to;
+		if ( to - from > this.buckets.size() ) {
+			// A long gap since the last drain, so the buckets are fewer than the ticks
+			for ( Long bucket : List.copyOf( this.buckets.keySet() ) ) {
+				if ( bucket <= to ) {
+					collect( bucket, due );
+				}
+			}
+		} else {
+			for ( long bucket = from; bucket <= to; bucket++ ) {
+				collect( bucket, due );
+			}
+		}
+		return due;
+	}
+
+	/**
+	 * The number of keys scheduled, including the ones no longer in the cache
+	 *
+	 * @return The number of keys scheduled
+	 */
+	public int size() {
+		return this.buckets.values().stream().mapToInt( Set::size ).sum();
+	}
+
+	/**
+	 * Forget all the keys scheduled
+	 */
+	public void clear() {
+		this.buckets.clear();
+		this.current.clear();
+	}
+
+	/**
+	 * Remove a bucket, adding its keys to the keys due
+	 *
+	 * @param bucket The bucket tick
+	 * @param due    The keys due
+	 */
+	private void collect( long bucket, List<Key> due ) {
+		Set<Key> keys = this.buckets.remove( bucket );
+		if ( keys != null ) {
+			due.addAll( keys );
+			// Unless scheduled in another bucket meanwhile
+			keys.forEach( key -> this.current.remove( key, bucket ) );
+		}
+	}
+
+	/**
+	 * Remove a key from a bucket, and the bucket if it's left empty
+	 *
+	 * @param key    The cache key
+	 * @param bucket The bucket tick
+	 */
+	private void unschedule( Key key, long bucket ) {
+		this.buckets.computeIfPresent( bucket, ( t, keys ) -> {
+			keys.remove( key );
+			return keys.isEmpty() ? null : keys;
+		} );
+	}
+
+}
@@ -30,6 +30,7 @@ import ortus.boxlang.runtime.scopes.Key;
 import ortus.boxlang.runtime.services.InterceptorService;
 import ortus.boxlang.runtime.types.IStruct;
 import ortus.boxlang.runtime.types.Struct;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
 import ortus.boxlang.runtime.validation.Validator;
 
 /**
@@ -55,9 +56,14 @@ public class ComponentDescriptor {
 	public Boolean					requiresBody;
 
 	/**
-	 * component class
+	 * component class, lazily loaded when the descriptor was created from its class name
 	 */
-	public Class<?>					componentClass;
+	public volatile Class<?>		componentClass;
+
+	/**
+	 * component class name
+	 */
+	private final String			componentClassName;
 
 	/**
 	 * Module name, or null if core
@@ -92,12 +98,63 @@ public class ComponentDescriptor {
 	    Boolean requiresBody ) {
 		this.name				= name;
 		this.componentClass		= componentClass;
+		this.componentClassName	= componentClass.getName();
 		this.module				= module;
 		this.componentInstance	= componentInstance;
 		this.allowsBody			= allowsBody;
 		this.requiresBody		= requiresBody;
 	}
 
+	/**
+	 * Constructor for a component whose class is only loaded when it's first used
+	 *
+	 * @param name               The name of the component
+	 * @param componentClassName The name of the class of the component
+	 * @param module             The module name, or null if core
+	 * @param allowsBody         Whether the component allows a body
+	 * @param requiresBody       Whether the component requires a body
+	 */
+	public ComponentDescriptor(
+	    Key name,
+	    String componentClassName,
+	    String module,
+	    Boolean allowsBody,
+	    Boolean requiresBody ) {
+		this.name				= name;
+		this.componentClass		= null;
+		this.componentClassName	= componentClassName;
+		this.module				= module;
+		this.componentInstance	= null;
+		this.allowsBody			= allowsBody;
+		this.requiresBody		= requiresBody;
+	}
+
+	/**
+	 * Get the component class, loading it on first use
+	 *
+	 * @return The component class
+	 */
+	public Class<?> getComponentClass() {
+		if ( this.componentClass == null ) {
+			try {
+				this.componentClass = Class.forName( this.componentClassName, true, BoxRuntime.class.getClassLoader() );
+			} catch ( ClassNotFoundException e ) {
+				throw new BoxRuntimeException(
+				    "Unable to load the component class [" + this.componentClassName + "] of [" + this.name.getName() + "]", e );
+			}
+		}
+		return this.componentClass;
+	}
+
+	/**
+	 * Get the component class name, without loading the class
+	 *
+	 * @return The component class name
+	 */
+	public String getComponentClassName() {
+		return this.componentClassName;
+	}
+
 	/**
 	 * Descriptor belongs to a modules or not
 	 *
@@ -131,7 +188,7 @@ public class ComponentDescriptor {
 			synchronized ( this ) {
 				// Double check inside lock
 				if ( this.componentInstance == null ) {
-					this.componentInstance = ( ( Component ) DynamicObject.of( this.componentClass )
+					this.componentInstance = ( ( Component ) DynamicObject.of( getComponentClass() )
 					    .invokeConstructor( ( IBoxContext ) null, new Object[] {} )
 					    .getTargetInstance() )
 					    .setName( name );
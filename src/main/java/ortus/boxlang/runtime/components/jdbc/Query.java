@@ -55,6 +55,7 @@ public class Query extends Component {
 		declaredAttributes = new Attribute[] {
 		    new Attribute( Key._NAME, "string" ),
 		    new Attribute( Key.datasource, "string" ),
+		    new Attribute( Key.dbtype, "string" ),
 		    new Attribute( Key.returnType, "string", "query", Set.of(
 		        Validator.valueRequires( "struct", Key.columnKey )
 		    ) ),
@@ -77,9 +78,6 @@ public class Query extends Component {
 		    new Attribute( Key.timezone, "string", Set.of(
 		        Validator.NOT_IMPLEMENTED
 		    ) ),
-		    new Attribute( Key.dbtype, "string", Set.of(
-		        Validator.NOT_IMPLEMENTED
-		    ) ),
 		    new Attribute( Key.username, "string", Set.of(
 		        Validator.NOT_IMPLEMENTED
 		    ) ),
@@ -137,14 +135,21 @@ public class Query extends Component {
 		String			sql				= buffer.toString();
 		Array			bindings		= executionState.getAsArray( Key.queryParams );
 		PendingQuery	pendingQuery	= new PendingQuery( sql, bindings, options );
-		ExecutedQuery	executedQuery	= pendingQuery.execute( connectionManager );
+		String			variableName	= StringCaster.cast( attributes.getOrDefault( Key._NAME, "bxquery" ) );
+
+		// Cursors and streams read the rows lazily, there is no result metadata to report
+		if ( options.wantsCursor() ) {
+			ExpressionInterpreter.setVariable( context, variableName, options.castAsReturnType( pendingQuery.executeCursor( connectionManager ) ) );
+			return DEFAULT_RETURN;
+		}
+
+		ExecutedQuery	executedQuery	= pendingQuery.execute( connectionManager, context );
 
 		if ( options.wantsResultStruct() ) {
 			assert options.resultVariableName != null;
 			ExpressionInterpreter.setVariable( context, options.resultVariableName, executedQuery.getResults().getMetaData() );
 		}
 
-		String variableName = StringCaster.cast( attributes.getOrDefault( Key._NAME, "bxquery" ) );
 		ExpressionInterpreter.setVariable( context, variableName, options.castAsReturnType( executedQuery ) );
 
 		return DEFAULT_RETURN;
@@ -29,11 +29,15 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.TimeZone;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import ortus.boxlang.compiler.SourceChangeDetector;
 import ortus.boxlang.runtime.BoxRuntime;
 import ortus.boxlang.runtime.config.segments.CacheConfig;
 import ortus.boxlang.runtime.config.segments.DatasourceConfig;
@@ -44,6 +48,8 @@ import ortus.boxlang.runtime.config.util.PlaceholderHelper;
 import ortus.boxlang.runtime.dynamic.casters.ArrayCaster;
 import ortus.boxlang.runtime.dynamic.casters.BooleanCaster;
 import ortus.boxlang.runtime.dynamic.casters.KeyCaster;
+import ortus.boxlang.runtime.dynamic.casters.IntegerCaster;
+import ortus.boxlang.runtime.dynamic.casters.LongCaster;
 import ortus.boxlang.runtime.dynamic.casters.StringCaster;
 import ortus.boxlang.runtime.loader.DynamicClassLoader;
 import ortus.boxlang.runtime.scopes.Key;
@@ -52,6 +58,9 @@ import ortus.boxlang.runtime.types.IStruct;
 import ortus.boxlang.runtime.types.Struct;
 import ortus.boxlang.runtime.types.exceptions.BoxIOException;
 import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
+import ortus.boxlang.runtime.types.immutable.ImmutableStruct;
+import ortus.boxlang.runtime.types.meta.IChangeListener;
+import ortus.boxlang.runtime.types.meta.IListenable;
 import ortus.boxlang.runtime.types.util.DateTimeHelper;
 import ortus.boxlang.runtime.types.util.ListUtil;
 import ortus.boxlang.runtime.util.DataNavigator;
@@ -82,6 +91,41 @@ public class Configuration implements IConfigSegment {
 	 */
 	public String				classGenerationDirectory			= System.getProperty( "java.io.tmpdir" ) + "boxlang";
 
+	/**
+	 * How compiled templates and classes are checked for changes to their source files:
+	 * {@code always} checks the source on every use, {@code interval} at most once every {@link #templateCheckInterval} seconds,
+	 * {@code watch} only when a file system watcher reported a change and {@code never} trusts compiled classes until the page pool is
+	 * cleared.
+	 * {@code always} by default
+	 */
+	public String				templateCheck						= "always";
+
+	/**
+	 * The seconds between checks of a source file when {@link #templateCheck} is {@code interval}
+	 * {@code 5} by default
+	 */
+	public Long					templateCheckInterval				= 5L;
+
+	/**
+	 * The max number of compiled ad hoc scripts and statements, like the ones run by {@code evaluate()}, to keep loaded.
+	 * The least recently used ones are dropped first. {@code 0} means no limit.
+	 * {@code 1000} by default
+	 */
+	public Integer				scriptCacheMaxSize					= 1000;
+
+	/**
+	 * The seconds a compiled ad hoc script or statement can go unused before it's dropped. {@code 0} means never.
+	 * {@code 1800} by default
+	 */
+	public Long					scriptCacheIdleTimeout				= 1800L;
+
+	/**
+	 * Whether ad hoc statements which are simple expressions of literals and operators, like {@code 1 + 2}, are interpreted instead of
+	 * compiled to a class.
+	 * {@code true} by default
+	 */
+	public Boolean				scriptInterpreter					= true;
+
 	/**
 	 * The debug mode flag which turns on all kinds of debugging information
 	 * {@code false} by default
@@ -187,6 +231,11 @@ public class Configuration implements IConfigSegment {
 	public List<String>			javaLibraryPaths					= new ArrayList<>(
 	    Arrays.asList( BoxRuntime.getInstance().getRuntimeHome().toString() + "/lib" ) );
 
+	/**
+	 * An array of BoxLang archives ({@code .bxar}) of precompiled templates and classes, which are loaded instead of compiling their sources.
+	 */
+	public List<String>			archives							= new ArrayList<>();
+
 	/**
 	 * Cache registrations
 	 */
@@ -250,6 +299,69 @@ public class Configuration implements IConfigSegment {
 	 */
 	private static final Logger	logger								= LoggerFactory.getLogger( Configuration.class );
 
+	/**
+	 * The version of this configuration. It is incremented every time the configuration changes,
+	 * so layered consumers (application, request) can tell when their cached views are stale.
+	 */
+	private final AtomicLong	version								= new AtomicLong( 0 );
+
+	/**
+	 * The cached immutable struct snapshot of this configuration, see {@link #getSnapshot()}
+	 */
+	private volatile Snapshot	snapshot							= null;
+
+	/**
+	 * A versioned snapshot of the configuration as a struct
+	 *
+	 * @param version The configuration version the snapshot was built from
+	 * @param fields  The values of the public fields when the snapshot was built, see {@link #captureFields()}
+	 * @param config  The immutable struct representation
+	 */
+	private record Snapshot( long version, Object[] fields, IStruct config ) {
+	}
+
+	/**
+	 * The public fields of the configuration. They can be written directly, so the snapshot keeps their values to detect changes
+	 * which were not made through the configuration API. The structs also notify their changes, see {@link #trackChanges()}
+	 */
+	private static final List<Function<Configuration, Object>>	FIELDS	= List.of(
+	    c -> c.classGenerationDirectory,
+	    c -> c.templateCheck,
+	    c -> c.templateCheckInterval,
+	    c -> c.scriptCacheMaxSize,
+	    c -> c.scriptCacheIdleTimeout,
+	    c -> c.scriptInterpreter,
+	    c -> c.debugMode,
+	    c -> c.timezone,
+	    c -> c.locale,
+	    c -> c.invokeImplicitAccessor,
+	    c -> c.useHighPrecisionMath,
+	    c -> c.applicationTimeout,
+	    c -> c.requestTimeout,
+	    c -> c.sessionTimeout,
+	    c -> c.sessionManagement,
+	    c -> c.sessionStorage,
+	    c -> c.setClientCookies,
+	    c -> c.setDomainCookies,
+	    c -> c.mappings,
+	    c -> c.modulesDirectory,
+	    c -> c.logsDirectory,
+	    c -> c.customTagsDirectory,
+	    c -> c.javaLibraryPaths,
+	    c -> c.archives,
+	    c -> c.caches,
+	    c -> c.defaultDatasource,
+	    c -> c.datasources,
+	    c -> c.defaultRemoteMethodReturnFormat,
+	    c -> c.defaultCache,
+	    c -> c.modules,
+	    c -> c.originalConfig,
+	    c -> c.executors,
+	    c -> c.allowedFileOperationExtensions,
+	    c -> c.disallowedFileOperationExtensions,
+	    c -> c.experimental
+	);
+
 	/**
 	 * --------------------------------------------------------------------------
 	 * Methods
@@ -279,6 +391,29 @@ public class Configuration implements IConfigSegment {
 			this.classGenerationDirectory = PlaceholderHelper.resolve( config.get( "classGenerationDirectory" ) );
 		}
 
+		// Template Check
+		if ( config.containsKey( Key.templateCheck ) && StringCaster.cast( config.get( Key.templateCheck ) ).length() > 0 ) {
+			this.templateCheck = SourceChangeDetector.Mode.fromString( PlaceholderHelper.resolve( config.get( Key.templateCheck ) ) ).name().toLowerCase();
+		}
+		if ( config.containsKey( Key.templateCheckInterval ) ) {
+			LongCaster.attempt( PlaceholderHelper.resolve( config.get( Key.templateCheckInterval ) ) )
+			    .ifSuccessful( value -> this.templateCheckInterval = value );
+		}
+
+		// Ad hoc scripts
+		if ( config.containsKey( Key.scriptCacheMaxSize ) ) {
+			IntegerCaster.attempt( PlaceholderHelper.resolve( config.get( Key.scriptCacheMaxSize ) ) )
+			    .ifSuccessful( value -> this.scriptCacheMaxSize = value );
+		}
+		if ( config.containsKey( Key.scriptCacheIdleTimeout ) ) {
+			LongCaster.attempt( PlaceholderHelper.resolve( config.get( Key.scriptCacheIdleTimeout ) ) )
+			    .ifSuccessful( value -> this.scriptCacheIdleTimeout = value );
+		}
+		if ( config.containsKey( Key.scriptInterpreter ) ) {
+			BooleanCaster.attempt( PlaceholderHelper.resolve( config.get( Key.scriptInterpreter ) ) )
+			    .ifSuccessful( value -> this.scriptInterpreter = value );
+		}
+
 		// Timezone
 		if ( config.containsKey( Key.timezone )
 		    &&
@@ -401,6 +536,20 @@ public class Configuration implements IConfigSegment {
 			}
 		}
 
+		// Process the precompiled archives
+		if ( config.containsKey( Key.archives ) ) {
+			if ( config.get( Key.archives ) instanceof List<?> castedList ) {
+				castedList.forEach( item -> {
+					var resolvedItem = PlaceholderHelper.resolve( item );
+					if ( !this.archives.contains( resolvedItem ) ) {
+						this.archives.add( resolvedItem );
+					}
+				} );
+			} else {
+				logger.warn( "The [runtime.archives] configuration is not a JSON Array, ignoring it." );
+			}
+		}
+
 		// Process the default method return format
 		if ( config.containsKey( Key.defaultRemoteMethodReturnFormat ) ) {
 			this.defaultRemoteMethodReturnFormat = PlaceholderHelper.resolve( config.get( Key.defaultRemoteMethodReturnFormat ) ).toLowerCase();
@@ -528,6 +677,8 @@ public class Configuration implements IConfigSegment {
 			    .toList();
 		}
 
+		invalidate();
+
 		return this;
 	}
 
@@ -616,6 +767,7 @@ public class Configuration implements IConfigSegment {
 
 		// Now we can add it
 		this.mappings.put( mapping, pathObj.toString() );
+		invalidate();
 
 		return this;
 	}
@@ -644,7 +796,113 @@ public class Configuration implements IConfigSegment {
 			mapping = Key.of( "/" + mapping.getName() );
 		}
 
-		return this.mappings.remove( mapping ) != null;
+		boolean removed = this.mappings.remove( mapping ) != null;
+		invalidate();
+		return removed;
+	}
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Versioning Methods
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Get the current version of the configuration. The version increases every time the configuration
+	 * is changed through its API or a change in its public fields is detected.
+	 *
+	 * @return The configuration version
+	 */
+	public long getVersion() {
+		return this.version.get();
+	}
+
+	/**
+	 * Mark the configuration as changed, so the next call to {@link #getSnapshot()} rebuilds it.
+	 * Call this if you mutate the contents of a segment in place (e.g. a {@link DatasourceConfig}).
+	 *
+	 * @return The runtime configuration
+	 */
+	public Configuration invalidate() {
+		this.version.incrementAndGet();
+		return this;
+	}
+
+	/**
+	 * Get an immutable struct snapshot of the configuration. Unlike {@link #asStruct()}, the snapshot is
+	 * built once and shared until the configuration changes, so this is the method hot paths should use.
+	 * Please note that the nested structs are shared as well, so hand it out wrapped in a
+	 * {@link ortus.boxlang.runtime.types.CopyOnWriteStruct} to callers which may modify it.
+	 *
+	 * @return The immutable struct representation of the configuration
+	 */
+	public IStruct getSnapshot() {
+		Snapshot current = this.snapshot;
+
+		if ( current != null && current.version() == this.version.get() ) {
+			if ( sameFields( current.fields() ) ) {
+				return current.config();
+			}
+			// Public fields were modified directly, register it as a new version
+			invalidate();
+		}
+
+		// Capture the version and the fields first, so changes made while we build are seen by the next call
+		long		newVersion	= this.version.get();
+		Object[]	fields		= captureFields();
+		trackChanges();
+		IStruct config = new ImmutableStruct( asStruct() );
+		this.snapshot = new Snapshot( newVersion, fields, config );
+		return config;
+	}
+
+	/**
+	 * Capture the values of the public fields. Lists are copied, since they are modified in place, and structs are kept by reference
+	 * since they notify their own changes.
+	 *
+	 * @return The captured values
+	 */
+	private Object[] captureFields() {
+		Object[] fields = new Object[ FIELDS.size() ];
+		for ( int i = 0; i < fields.length; i++ ) {
+			Object value = FIELDS.get( i ).apply( this );
+			fields[ i ] = value instanceof List<?> list ? new ArrayList<>( list ) : value;
+		}
+		return fields;
+	}
+
+	/**
+	 * Verifies the public fields still hold the captured values. Structs must be the same instance, every other value must be equal.
+	 *
+	 * @param fields The captured values
+	 *
+	 * @return True if no field changed
+	 */
+	private boolean sameFields( Object[] fields ) {
+		for ( int i = 0; i < fields.length; i++ ) {
+			Object value = FIELDS.get( i ).apply( this );
+			if ( value instanceof IStruct ? value != fields[ i ] : !Objects.equals( value, fields[ i ] ) ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Bump the version whenever one of the struct fields changes. Registering is idempotent, so it is done every time a snapshot is
+	 * built, which covers struct fields that have been replaced.
+	 */
+	private void trackChanges() {
+		IChangeListener listener = ( key, newValue, oldValue ) -> {
+			this.version.incrementAndGet();
+			return newValue;
+		};
+		for ( IStruct struct : List.of( this.mappings, this.caches, this.datasources, this.modules, this.originalConfig, this.executors,
+		    this.experimental ) ) {
+			if ( struct instanceof IListenable listenable ) {
+				listenable.registerChangeListener( listener );
+			}
+		}
 	}
 
 	/**
@@ -756,6 +1014,7 @@ public class Configuration implements IConfigSegment {
 		return Struct.of(
 		    Key.allowedFileOperationExtensions, Array.fromList( this.allowedFileOperationExtensions ),
 		    Key.applicationTimeout, this.applicationTimeout,
+		    Key.archives, Array.fromList( this.archives ),
 		    Key.caches, cachesCopy,
 		    Key.classGenerationDirectory, this.classGenerationDirectory,
 		    Key.customTagsDirectory, Array.fromList( this.customTagsDirectory ),
@@ -775,11 +1034,16 @@ public class Configuration implements IConfigSegment {
 		    Key.modulesDirectory, Array.fromList( this.modulesDirectory ),
 		    Key.originalConfig, this.originalConfig,
 		    Key.requestTimeout, this.requestTimeout,
+		    Key.scriptCacheIdleTimeout, this.scriptCacheIdleTimeout,
+		    Key.scriptCacheMaxSize, this.scriptCacheMaxSize,
+		    Key.scriptInterpreter, this.scriptInterpreter,
 		    Key.sessionManagement, this.sessionManagement,
 		    Key.sessionStorage, this.sessionStorage,
 		    Key.sessionTimeout, this.sessionTimeout,
 		    Key.setClientCookies, this.setClientCookies,
 		    Key.setDomainCookies, this.setDomainCookies,
+		    Key.templateCheck, this.templateCheck,
+		    Key.templateCheckInterval, this.templateCheckInterval,
 		    Key.timezone, this.timezone,
 		    Key.useHighPrecisionMath, this.useHighPrecisionMath
 		);
@@ -28,6 +28,7 @@ import com.zaxxer.hikari.HikariConfig;
 
 import ortus.boxlang.runtime.BoxRuntime;
 import ortus.boxlang.runtime.config.util.PlaceholderHelper;
+import ortus.boxlang.runtime.dynamic.casters.BooleanCaster;
 import ortus.boxlang.runtime.dynamic.casters.IntegerCaster;
 import ortus.boxlang.runtime.dynamic.casters.LongCaster;
 import ortus.boxlang.runtime.dynamic.casters.StringCaster;
@@ -145,6 +146,12 @@ public class DatasourceConfig implements Comparable<DatasourceConfig>, IConfigSe
 	    "keepaliveTime", 600,
 	    // The default auto-commit state of connections created by this pool
 	    "autoCommit", true,
+	    // The number of prepared statements BoxLang keeps open per pooled connection, so the same parameterized SQL isn't prepared again
+	    // by the next query or request that borrows the connection. 0 disables the statement cache.
+	    "statementCacheSize", 100,
+	    // Tag cached queries with the tables they read, so inserts, updates and deletes executed through this datasource clear the cached
+	    // queries they make stale, and run concurrent misses of the same cached query only once.
+	    "queryCacheInvalidation", true,
 	    // Register mbeans or not. By default, this is true
 	    // However, if you are using JMX, you can set this to true to get some additional monitoring information
 	    "registerMbeans", true,
@@ -173,6 +180,8 @@ public class DatasourceConfig implements Comparable<DatasourceConfig>, IConfigSe
 	    Key.password,
 	    Key.poolName,
 	    Key.port,
+	    Key.queryCacheInvalidation,
+	    Key.statementCacheSize,
 	    Key.username
 	);
 
@@ -415,6 +424,24 @@ public class DatasourceConfig implements Comparable<DatasourceConfig>, IConfigSe
 		return Key.of( this.properties.getOrDefault( Key.driver, "" ).toString() );
 	}
 
+	/**
+	 * Get the number of prepared statements to cache per connection
+	 *
+	 * @return The statement cache size, 0 if statements should not be cached
+	 */
+	public int getStatementCacheSize() {
+		return Math.max( 0, IntegerCaster.attempt( this.properties.get( Key.statementCacheSize ) ).getOrDefault( 0 ) );
+	}
+
+	/**
+	 * Whether writes through this datasource clear the cached queries of the tables they touch
+	 *
+	 * @return True if cached queries are tracked by table, the default
+	 */
+	public boolean isQueryCacheInvalidation() {
+		return BooleanCaster.attempt( this.properties.get( Key.queryCacheInvalidation ) ).getOrDefault( true );
+	}
+
 	/**
 	 * Returns the configuration as a struct
 	 *
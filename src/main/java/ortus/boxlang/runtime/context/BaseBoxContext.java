@@ -54,6 +54,7 @@ import ortus.boxlang.runtime.util.Attachable;
 import ortus.boxlang.runtime.util.DataNavigator;
 import ortus.boxlang.runtime.util.DataNavigator.Navigator;
 import ortus.boxlang.runtime.util.IBoxAttachable;
+import ortus.boxlang.runtime.util.OutputBuffer;
 import ortus.boxlang.runtime.util.ResolvedFilePath;
 
 /**
@@ -101,9 +102,9 @@ public class BaseBoxContext implements IBoxContext {
 	protected LinkedHashMap<Query, Integer>		queryLoops			= new LinkedHashMap<>();
 
 	/**
-	 * A buffer to write output to
+	 * The buffers to write output to, the top one being the current one
 	 */
-	protected ArrayDeque<StringBuffer>			buffers				= new ArrayDeque<>();
+	protected ArrayDeque<OutputBuffer>			buffers				= new ArrayDeque<>();
 
 	/**
 	 * The function service we can use to retrieve BIFS and member methods
@@ -136,7 +137,7 @@ public class BaseBoxContext implements IBoxContext {
 		this.parent				= parent;
 		this.functionService	= BoxRuntime.getInstance().getFunctionService();
 		this.componentService	= BoxRuntime.getInstance().getComponentService();
-		buffers.push( new StringBuffer() );
+		buffers.push( new OutputBuffer() );
 	}
 
 	/**
@@ -740,6 +741,60 @@ public class BaseBoxContext implements IBoxContext {
 		return null;
 	}
 
+	/**
+	 * The allocation free search shared by the {@link #scopeFindNearbyValue(Key, IScope, boolean)} implementations: looks for the key in the
+	 * given scopes in order, and in any query loops before or after them.
+	 *
+	 * @param key        The key to search for
+	 * @param queryFirst true to search the query loops before the scopes, false to search them after
+	 * @param first      The first scope to search
+	 * @param second     The second scope to search, or null
+	 *
+	 * @return The value of the key, or {@link IBoxContext#NOT_FOUND} if none of them has it
+	 */
+	protected Object findNearbyValue( Key key, boolean queryFirst, IScope first, IScope second ) {
+		Object result;
+		if ( queryFirst && ( result = queryFindNearbyValue( key ) ) != NOT_FOUND ) {
+			return result;
+		}
+		if ( ( result = findValueIn( first, key ) ) != NOT_FOUND ) {
+			return result;
+		}
+		if ( second != null && ( result = findValueIn( second, key ) ) != NOT_FOUND ) {
+			return result;
+		}
+		return queryFirst ? NOT_FOUND : queryFindNearbyValue( key );
+	}
+
+	/**
+	 * Get the value of a key from a single scope without allocating a search result
+	 *
+	 * @param scope The scope to search
+	 * @param key   The key to search for
+	 *
+	 * @return The value of the key, or {@link IBoxContext#NOT_FOUND} if the scope doesn't have it
+	 */
+	protected static Object findValueIn( IScope scope, Key key ) {
+		Object result = scope.getRaw( key );
+		// Null means not found, unwrap the value now in case it was really actually null for real
+		return result == null ? NOT_FOUND : Struct.unWrapNull( result );
+	}
+
+	/**
+	 * Search any query loops for a column name matching the unscoped variable, only allocating a search result inside a query loop
+	 *
+	 * @param key The key to search for
+	 *
+	 * @return The value of the column, or {@link IBoxContext#NOT_FOUND} if not in a query loop with such a column
+	 */
+	private Object queryFindNearbyValue( Key key ) {
+		if ( queryLoops.isEmpty() ) {
+			return NOT_FOUND;
+		}
+		ScopeSearchResult querySearch = queryFindNearby( key );
+		return querySearch == null ? NOT_FOUND : querySearch.value();
+	}
+
 	/**
 	 * Register a UDF with the local context. Will override any existing methods
 	 *
@@ -821,6 +876,33 @@ public class BaseBoxContext implements IBoxContext {
 		return scopeFindNearby( key, defaultScope, false );
 	}
 
+	/**
+	 * Try to get the value of the requested key from an unknown scope, without allocating a search result
+	 *
+	 * @param key          The key to search for
+	 * @param defaultScope The default scope to use if the key is not found
+	 *
+	 * @return The value of the key if found
+	 */
+	public Object scopeFindNearbyValue( Key key, IScope defaultScope ) {
+		return scopeFindNearbyValue( key, defaultScope, false );
+	}
+
+	/**
+	 * Try to get the value of the requested key from an unknown scope. Contexts on the hot path override this to search their scopes with
+	 * {@link #findNearbyValue(Key, boolean, IScope, IScope)}, the rest unwrap the result of {@link #scopeFindNearby(Key, IScope, boolean)}.
+	 *
+	 * @param key          The key to search for
+	 * @param defaultScope The default scope to use if the key is not found
+	 * @param shallow      true, do not delegate to parent or default scope if not found
+	 *
+	 * @return The value of the key, or {@link IBoxContext#NOT_FOUND} if performing a shallow search and nothing was found
+	 */
+	public Object scopeFindNearbyValue( Key key, IScope defaultScope, boolean shallow ) {
+		ScopeSearchResult result = scopeFindNearby( key, defaultScope, shallow );
+		return result == null ? NOT_FOUND : result.value();
+	}
+
 	/**
 	 * Get a scope from the context. If not found, the parent context is asked.
 	 * Search all known scopes
@@ -916,34 +998,31 @@ public class BaseBoxContext implements IBoxContext {
 		if ( o == null ) {
 			return this;
 		}
-		IStruct outputState = null;
-		if ( !force ) {
-			Boolean explicitOutput = ( Boolean ) getConfigItem( Key.enforceExplicitOutput, false );
-			if ( explicitOutput ) {
-				// If we are requiring to be in an output compo nent, let's look fo r it
-				outputState = findClosestComponent( Key.output );
-				if ( outputState == null ) {
-					return this;
-				}
-			}
+		// If we are requiring to be in an output component, let's look for it
+		if ( !force && isExplicitOutputEnforced() && findClosestComponent( Key.output ) == null ) {
+			return this;
 		}
 
-		String content = StringCaster.cast( o );
-		// If the closest output didn't have an encode for, let's look a little harder
-		// to see if we can find one.
-		if ( outputState == null || outputState.getAsString( Key.encodefor ) == null ) {
-			outputState = findClosestComponent( Key.output, state -> state.get( Key.encodefor ) != null );
-		}
-		if ( outputState != null ) {
-			String encodeFor = outputState.getAsString( Key.encodefor );
-			// TODO: encode the content
-			// Waiting on ESAPI implementation
+		String			content	= o instanceof String string ? string : StringCaster.cast( o );
+		OutputBuffer	buffer	= getOutputBuffer();
+		// Locked like in appendBuffer(), since a parallel callback may flush into this buffer while it's written
+		synchronized ( buffer ) {
+			buffer.append( content );
 		}
-
-		getBuffer().append( content );
 		return this;
 	}
 
+	/**
+	 * Is templating output required to be inside an output component? This is read straight from the request instead of the config,
+	 * since it's checked on every write.
+	 *
+	 * @return true if explicit output is enforced
+	 */
+	private boolean isExplicitOutputEnforced() {
+		RequestBoxContext requestContext = getParentOfType( RequestBoxContext.class );
+		return requestContext != null && requestContext.isEnforceExplicitOutput();
+	}
+
 	/**
 	 * Write output to this buffer. Any input object will be converted to a string
 	 *
@@ -985,21 +1064,16 @@ public class BaseBoxContext implements IBoxContext {
 		try {
 			// If there are extra buffers registered, we ignore flush requests since someone
 			// out there is wanting to capture our buffer instead.
+			// The segments are linked into the parent's buffer instead of being copied.
 			if ( hasParent() && buffers.size() == 1 ) {
-				StringBuffer thisBuffer = getBuffer();
-				synchronized ( thisBuffer ) {
-					getParent().writeToBuffer( thisBuffer.toString(), true );
-					thisBuffer.setLength( 0 );
-				}
+				appendBuffer( getParent().getOutputBuffer(), getOutputBuffer() );
 				if ( force ) {
 					getParent().flushBuffer( true );
 				}
 			} else if ( force && hasParent() ) {
-				for ( StringBuffer buf : buffers ) {
-					synchronized ( buf ) {
-						getParent().writeToBuffer( buf.toString(), true );
-						buf.setLength( 0 );
-					}
+				OutputBuffer parentBuffer = getParent().getOutputBuffer();
+				for ( OutputBuffer buf : buffers ) {
+					appendBuffer( parentBuffer, buf );
 				}
 				getParent().flushBuffer( true );
 			}
@@ -1010,13 +1084,29 @@ public class BaseBoxContext implements IBoxContext {
 		}
 	}
 
+	/**
+	 * Move the output of a buffer into the buffer of a parent context. Buffers aren't thread safe, but the callbacks of the parallel
+	 * collection functions all flush into the calling context at once from their own threads, so both buffers are locked while the
+	 * segments move. Locks are always taken from the child to the parent, so they can't deadlock.
+	 *
+	 * @param target The buffer of the parent context
+	 * @param source The buffer to empty into it
+	 */
+	protected static void appendBuffer( OutputBuffer target, OutputBuffer source ) {
+		synchronized ( source ) {
+			synchronized ( target ) {
+				target.append( source );
+			}
+		}
+	}
+
 	/**
 	 * Clear the buffer
 	 *
 	 * @return This context
 	 */
 	public IBoxContext clearBuffer() {
-		getBuffer().setLength( 0 );
+		getOutputBuffer().clear();
 		if ( hasParent() ) {
 			getParent().clearBuffer();
 		}
@@ -1028,7 +1118,7 @@ public class BaseBoxContext implements IBoxContext {
 	 *
 	 * @return The buffer
 	 */
-	public StringBuffer getBuffer() {
+	public OutputBuffer getOutputBuffer() {
 		return this.buffers.peek();
 	}
 
@@ -1040,11 +1130,23 @@ public class BaseBoxContext implements IBoxContext {
 	 *
 	 * @return This context
 	 */
-	public IBoxContext pushBuffer( StringBuffer buffer ) {
+	public IBoxContext pushBuffer( OutputBuffer buffer ) {
 		this.buffers.push( buffer );
 		return this;
 	}
 
+	/**
+	 * Push a buffer onto the stack which streams all output generated until it's
+	 * popped into a string buffer
+	 *
+	 * @param buffer The string buffer to capture the output into
+	 *
+	 * @return This context
+	 */
+	public IBoxContext pushBuffer( StringBuffer buffer ) {
+		return pushBuffer( new OutputBuffer( buffer ) );
+	}
+
 	/**
 	 * Pop a buffer from the stack
 	 *
@@ -31,6 +31,7 @@ import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
 import ortus.boxlang.runtime.types.exceptions.ExceptionUtil;
 import ortus.boxlang.runtime.types.exceptions.KeyNotFoundException;
 import ortus.boxlang.runtime.types.exceptions.ScopeNotFoundException;
+import ortus.boxlang.runtime.util.OutputBuffer;
 
 /**
  * This context represents the context of a template execution in BoxLang
@@ -123,6 +124,23 @@ public class CatchBoxContext extends BaseBoxContext {
 		return scopeFind( key, defaultScope );
 	}
 
+	/**
+	 * Value-only version of {@link #scopeFindNearby(Key, IScope, boolean)}: query loops and variables, then the nearby scopes of the parent
+	 */
+	@Override
+	public Object scopeFindNearbyValue( Key key, IScope defaultScope, boolean shallow ) {
+		Object result = findNearbyValue( key, true, variablesScope, null );
+		if ( result != NOT_FOUND || shallow ) {
+			return result;
+		}
+
+		if ( parent != null ) {
+			return parent.scopeFindNearbyValue( key, defaultScope );
+		}
+
+		return scopeFind( key, defaultScope ).value();
+	}
+
 	/**
 	 * Try to get the requested key from the unscoped scope
 	 * Meaning it needs to search scopes in order according to it's context.
@@ -247,8 +265,13 @@ public class CatchBoxContext extends BaseBoxContext {
 		return this;
 	}
 
-	public StringBuffer getBuffer() {
-		return getParent().getBuffer();
+	public OutputBuffer getOutputBuffer() {
+		return getParent().getOutputBuffer();
+	}
+
+	public IBoxContext pushBuffer( OutputBuffer buffer ) {
+		getParent().pushBuffer( buffer );
+		return this;
 	}
 
 	public IBoxContext pushBuffer( StringBuffer buffer ) {
@@ -157,6 +157,25 @@ public class ClassBoxContext extends BaseBoxContext {
 
 	}
 
+	/**
+	 * Value-only version of {@link #scopeFindNearby(Key, IScope, boolean)}: query loops and variables, then the global scopes
+	 */
+	@Override
+	public Object scopeFindNearbyValue( Key key, IScope defaultScope, boolean shallow ) {
+		// Scope names resolve to the scopes themselves
+		if ( key.equals( thisScope.getName() ) || key.equals( StaticScope.name ) || key.equals( Key._super ) || key.equals( BoxMeta.key ) ) {
+			return super.scopeFindNearbyValue( key, defaultScope, shallow );
+		}
+
+		Object result = findNearbyValue( key, true, variablesScope, null );
+		if ( result != NOT_FOUND || shallow ) {
+			return result;
+		}
+
+		// A component cannot see nearby scopes above it
+		return parent.scopeFind( key, defaultScope ).value();
+	}
+
 	/**
 	 * Search for a variable in scopes
 	 *
@@ -188,6 +188,29 @@ public class ClosureBoxContext extends FunctionBoxContext {
 
 	}
 
+	/**
+	 * Value-only version of {@link #scopeFindNearby(Key, IScope, boolean)}: local, arguments and query loops, then a shallow search of the
+	 * declaring context
+	 */
+	@Override
+	public Object scopeFindNearbyValue( Key key, IScope defaultScope, boolean shallow ) {
+		if ( key.equals( localScope.getName() ) || key.equals( argumentsScope.getName() ) ) {
+			return super.scopeFindNearbyValue( key, defaultScope, shallow );
+		}
+
+		Object result = findNearbyValue( key, false, localScope, argumentsScope );
+		if ( result != NOT_FOUND ) {
+			return result;
+		}
+
+		result = getFunction().getDeclaringContext().scopeFindNearbyValue( key, defaultScope, true );
+		if ( result != NOT_FOUND || shallow ) {
+			return result;
+		}
+
+		return parent.scopeFind( key, defaultScope ).value();
+	}
+
 	/**
 	 * Look for a "nearby" scope by name
 	 *
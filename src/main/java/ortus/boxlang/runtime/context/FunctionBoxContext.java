@@ -346,6 +346,34 @@ public class FunctionBoxContext extends BaseBoxContext {
 
 	}
 
+	/**
+	 * Value-only version of {@link #scopeFindNearby(Key, IScope, boolean)}: local, arguments and query loops, then the class variables or
+	 * the nearby scopes of the parent
+	 */
+	@Override
+	public Object scopeFindNearbyValue( Key key, IScope defaultScope, boolean shallow ) {
+		// Scope names resolve to the scopes themselves
+		if ( key.equals( BoxMeta.key ) || key.equals( localScope.getName() ) || key.equals( argumentsScope.getName() ) || key.equals( ThisScope.name )
+		    || key.equals( Key._super ) || key.equals( StaticScope.name ) ) {
+			return super.scopeFindNearbyValue( key, defaultScope, shallow );
+		}
+
+		Object result = findNearbyValue( key, false, localScope, argumentsScope );
+		if ( result != NOT_FOUND ) {
+			return result;
+		}
+
+		if ( isInClass() ) {
+			result = findValueIn( getThisClass().getBottomClass().getVariablesScope(), key );
+			if ( result != NOT_FOUND || shallow ) {
+				return result;
+			}
+			return parent.scopeFind( key, defaultScope ).value();
+		}
+
+		return parent.scopeFindNearbyValue( key, defaultScope, shallow );
+	}
+
 	/**
 	 * Search for a variable in scopes
 	 *
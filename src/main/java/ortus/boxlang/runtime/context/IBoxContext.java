@@ -40,6 +40,7 @@ import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
 import ortus.boxlang.runtime.types.exceptions.ScopeNotFoundException;
 import ortus.boxlang.runtime.util.DataNavigator.Navigator;
 import ortus.boxlang.runtime.util.IBoxAttachable;
+import ortus.boxlang.runtime.util.OutputBuffer;
 import ortus.boxlang.runtime.util.ResolvedFilePath;
 
 /**
@@ -47,6 +48,17 @@ import ortus.boxlang.runtime.util.ResolvedFilePath;
  */
 public interface IBoxContext extends IBoxAttachable, Serializable {
 
+	/**
+	 * Returned by {@link #scopeFindNearbyValue(Key, IScope, boolean)} when a shallow search didn't find the key
+	 */
+	public static final Object NOT_FOUND = new Object() {
+
+		@Override
+		public String toString() {
+			return "[not found]";
+		}
+	};
+
 	/**
 	 * This is mostly for the debugger. It returns all visible scopes from this
 	 * context.
@@ -152,6 +164,28 @@ public interface IBoxContext extends IBoxAttachable, Serializable {
 	 */
 	public ScopeSearchResult scopeFindNearby( Key key, IScope defaultScope, boolean shallow );
 
+	/**
+	 * Same as {@link #scopeFindNearby(Key, IScope)}, but returns the value directly instead of allocating a search result, for the generated
+	 * code that only reads unscoped variables.
+	 *
+	 * @param key          The key to search for
+	 * @param defaultScope The default scope to use if the key is not found, or null to throw a KeyNotFoundException
+	 *
+	 * @return The value of the key, or null if it wasn't found and a default scope was given
+	 */
+	public Object scopeFindNearbyValue( Key key, IScope defaultScope );
+
+	/**
+	 * Same as {@link #scopeFindNearby(Key, IScope, boolean)}, but returns the value directly instead of allocating a search result.
+	 *
+	 * @param key          The key to search for
+	 * @param defaultScope The default scope to use if the key is not found
+	 * @param shallow      true, do not delegate to parent or default scope if not found
+	 *
+	 * @return The value of the key, or {@link #NOT_FOUND} if performing a shallow search and nothing was found
+	 */
+	public Object scopeFindNearbyValue( Key key, IScope defaultScope, boolean shallow );
+
 	/**
 	 * Invoke a function call such as foo() using positional args. Will check for a
 	 * registered BIF first, then search known scopes for a UDF.
@@ -551,7 +585,20 @@ public interface IBoxContext extends IBoxAttachable, Serializable {
 	 *
 	 * @return The buffer
 	 */
-	public StringBuffer getBuffer();
+	public OutputBuffer getOutputBuffer();
+
+	/**
+	 * Get the buffer as a <code>StringBuffer</code>, for code written before the contexts moved to {@link OutputBuffer}. The current buffer
+	 * keeps all its output in the returned string buffer from then on, so it's slower than {@link #getOutputBuffer()}.
+	 *
+	 * @return The buffer
+	 *
+	 * @deprecated Use {@link #getOutputBuffer()} instead
+	 */
+	@Deprecated
+	public default StringBuffer getBuffer() {
+		return getOutputBuffer().asStringBuffer();
+	}
 
 	/**
 	 * Push a buffer onto the stack. This is mostly so components can capture any
@@ -561,6 +608,16 @@ public interface IBoxContext extends IBoxAttachable, Serializable {
 	 *
 	 * @return This context
 	 */
+	public IBoxContext pushBuffer( OutputBuffer buffer );
+
+	/**
+	 * Push a buffer onto the stack which streams all output generated until it's
+	 * popped into a string buffer
+	 *
+	 * @param buffer The string buffer to capture the output into
+	 *
+	 * @return This context
+	 */
 	public IBoxContext pushBuffer( StringBuffer buffer );
 
 	/**
@@ -578,6 +635,9 @@ public interface IBoxContext extends IBoxAttachable, Serializable {
 	 * It depends on whether the context wants its changes to exist for the rest of
 	 * the entire
 	 * request or only for code that executes in the current context and below.
+	 * <p>
+	 * The config is cached until one of its layers (runtime, application, request) changes, and
+	 * handed out as a copy-on-write view, so changes to the returned struct stay private to the caller.
 	 *
 	 * @return A struct of configuration
 	 */
@@ -158,6 +158,26 @@ public class LambdaBoxContext extends FunctionBoxContext {
 
 	}
 
+	/**
+	 * Value-only version of {@link #scopeFindNearby(Key, IScope, boolean)}: local, arguments and query loops only
+	 */
+	@Override
+	public Object scopeFindNearbyValue( Key key, IScope defaultScope, boolean shallow ) {
+		if ( key.equals( localScope.getName() ) || key.equals( argumentsScope.getName() ) ) {
+			return super.scopeFindNearbyValue( key, defaultScope, shallow );
+		}
+
+		Object result = findNearbyValue( key, false, localScope, argumentsScope );
+		if ( result != NOT_FOUND || shallow ) {
+			return result;
+		}
+
+		// Lambdas don't look anywhere else!
+		throw new KeyNotFoundException(
+		    String.format( "The requested key [%s] was not located in any scope or it's undefined", key.getName() )
+		);
+	}
+
 	/**
 	 * Look for a scope by name
 	 */
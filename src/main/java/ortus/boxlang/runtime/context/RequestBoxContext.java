@@ -21,6 +21,7 @@ import java.io.PrintStream;
 import java.net.URI;
 import java.time.ZoneId;
 import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
 
 import ortus.boxlang.runtime.BoxRuntime;
 import ortus.boxlang.runtime.application.ApplicationDefaultListener;
@@ -33,6 +34,7 @@ import ortus.boxlang.runtime.scopes.Key;
 import ortus.boxlang.runtime.scopes.ThreadScope;
 import ortus.boxlang.runtime.services.ApplicationService;
 import ortus.boxlang.runtime.types.DateTime;
+import ortus.boxlang.runtime.types.CopyOnWriteStruct;
 import ortus.boxlang.runtime.types.IStruct;
 import ortus.boxlang.runtime.types.Struct;
 import ortus.boxlang.runtime.types.exceptions.KeyNotFoundException;
@@ -105,6 +107,28 @@ public abstract class RequestBoxContext extends BaseBoxContext implements IJDBCC
 	 */
 	private PrintStream				out						= System.out;
 
+	/**
+	 * The version of the request-level config overrides, incremented by every setter that affects {@link #getConfig()}
+	 */
+	private final AtomicLong		configVersion			= new AtomicLong( 0 );
+
+	/**
+	 * The cached layered config view for this request
+	 */
+	private volatile ConfigView		configView				= null;
+
+	/**
+	 * A layered config view (runtime -> application -> request) and the layer versions it was built from
+	 *
+	 * @param parentConfig    The source of the parent config the view was built on, see {@link CopyOnWriteStruct#sourceOf(IStruct)}
+	 * @param listener        The application listener whose settings were applied
+	 * @param settingsVersion The version of the application settings
+	 * @param requestVersion  The version of the request overrides
+	 * @param config          The resulting config struct, never handed out directly
+	 */
+	private record ConfigView( IStruct parentConfig, BaseApplicationListener listener, long settingsVersion, long requestVersion, IStruct config ) {
+	}
+
 	/**
 	 * --------------------------------------------------------------------------
 	 * Constructor(s)
@@ -253,6 +277,7 @@ public abstract class RequestBoxContext extends BaseBoxContext implements IJDBCC
 	 */
 	public RequestBoxContext setApplicationListener( BaseApplicationListener applicationListener ) {
 		this.applicationListener = applicationListener;
+		this.configVersion.incrementAndGet();
 		return this;
 	}
 
@@ -272,6 +297,7 @@ public abstract class RequestBoxContext extends BaseBoxContext implements IJDBCC
 	 */
 	public RequestBoxContext setLocale( Locale locale ) {
 		this.locale = locale;
+		this.configVersion.incrementAndGet();
 		return this;
 	}
 
@@ -293,6 +319,7 @@ public abstract class RequestBoxContext extends BaseBoxContext implements IJDBCC
 	 */
 	public RequestBoxContext setTimezone( ZoneId timezone ) {
 		this.timezone = timezone;
+		this.configVersion.incrementAndGet();
 		return this;
 	}
 
@@ -301,12 +328,52 @@ public abstract class RequestBoxContext extends BaseBoxContext implements IJDBCC
 	 * own to the struct, or override existing config with a new struct of their own design.
 	 * It depends on whether the context wants its changes to exist for the rest of the entire
 	 * request or only for code that executes in the current context and below.
+	 * <p>
+	 * The layered config is cached until one of its layers changes, and every caller gets a copy-on-write view of it.
 	 *
 	 * @return A struct of configuration
 	 */
 	@Override
 	public IStruct getConfig() {
-		IStruct config = super.getConfig();
+		IStruct					parentConfig	= CopyOnWriteStruct.sourceOf( super.getConfig() );
+		BaseApplicationListener	listener		= getApplicationListener();
+		long					settingsVersion	= listener.getSettingsVersion();
+		long					requestVersion	= this.configVersion.get();
+		ConfigView				view			= this.configView;
+
+		// Only rebuild the view when one of the layers has changed
+		if ( view != null
+		    && view.parentConfig() == parentConfig
+		    && view.listener() == listener
+		    && view.settingsVersion() == settingsVersion
+		    && view.requestVersion() == requestVersion ) {
+			return new CopyOnWriteStruct( view.config() );
+		}
+
+		IStruct config = buildConfig( parentConfig, listener.getSettings() );
+		this.configView = new ConfigView( parentConfig, listener, settingsVersion, requestVersion, config );
+		return new CopyOnWriteStruct( config );
+	}
+
+	/**
+	 * Build the request config by layering the application settings and the request overrides on top of the parent config.
+	 * The parent config is shared, so the segments we modify are copied first.
+	 *
+	 * @param parentConfig The parent config
+	 * @param appSettings  The application settings
+	 *
+	 * @return The request config struct
+	 */
+	private IStruct buildConfig( IStruct parentConfig, IStruct appSettings ) {
+		IStruct config = new Struct( parentConfig );
+		if ( parentConfig.get( Key.datasources ) instanceof IStruct parentDatasources ) {
+			config.put( Key.datasources, new Struct( parentDatasources ) );
+		}
+		if ( parentConfig.get( Key.mappings ) instanceof IStruct parentMappings ) {
+			IStruct mappingsCopy = new Struct( Struct.KEY_LENGTH_LONGEST_FIRST_COMPARATOR );
+			mappingsCopy.putAll( parentMappings );
+			config.put( Key.mappings, mappingsCopy );
+		}
 
 		// Apply request-specific overrides
 		// These can happen from BIF calls specifically
@@ -321,7 +388,6 @@ public abstract class RequestBoxContext extends BaseBoxContext implements IJDBCC
 		}
 		config.put( Key.enforceExplicitOutput, this.enforceExplicitOutput );
 
-		IStruct appSettings = getApplicationListener().getSettings();
 		// Make the request settings generically available in the config struct.
 		// This doesn't mean we won't strategically place specific settings like mappings into specific parts
 		// of the config struct, but this at least ensure everything is available for whomever wants to use it
@@ -401,6 +467,7 @@ public abstract class RequestBoxContext extends BaseBoxContext implements IJDBCC
 	 */
 	public RequestBoxContext setEnforceExplicitOutput( boolean enforceExplicitOutput ) {
 		this.enforceExplicitOutput = enforceExplicitOutput;
+		this.configVersion.incrementAndGet();
 		return this;
 	}
 
@@ -422,6 +489,7 @@ public abstract class RequestBoxContext extends BaseBoxContext implements IJDBCC
 	 */
 	public RequestBoxContext setRequestTimeout( Long requestTimeout ) {
 		this.requestTimeout = requestTimeout;
+		this.configVersion.incrementAndGet();
 		return this;
 	}
 
@@ -26,6 +26,7 @@ import ortus.boxlang.runtime.events.BoxEvent;
 import ortus.boxlang.runtime.scopes.IScope;
 import ortus.boxlang.runtime.scopes.Key;
 import ortus.boxlang.runtime.scopes.ServerScope;
+import ortus.boxlang.runtime.types.CopyOnWriteStruct;
 import ortus.boxlang.runtime.types.IStruct;
 import ortus.boxlang.runtime.types.Struct;
 import ortus.boxlang.runtime.types.UDF;
@@ -231,11 +232,15 @@ public class RuntimeBoxContext extends BaseBoxContext {
 	 * It depends on whether the context wants its changes to exist for the rest of the entire
 	 * request or only for code that executes in the current context and below.
 	 *
+	 * <p>
+	 * The runtime hands out a copy-on-write view of the shared configuration snapshot, which is only rebuilt when the
+	 * configuration changes, so callers can modify the struct they receive without affecting anybody else.
+	 *
 	 * @return A struct of configuration
 	 */
 	@Override
 	public IStruct getConfig() {
-		return this.runtimeConfig.asStruct();
+		return new CopyOnWriteStruct( this.runtimeConfig.getSnapshot() );
 	}
 
 }
@@ -27,10 +27,12 @@ import ortus.boxlang.runtime.scopes.IScope;
 import ortus.boxlang.runtime.scopes.Key;
 import ortus.boxlang.runtime.scopes.RequestScope;
 import ortus.boxlang.runtime.scopes.VariablesScope;
+import ortus.boxlang.runtime.services.InterceptorService;
 import ortus.boxlang.runtime.types.IStruct;
 import ortus.boxlang.runtime.types.Struct;
 import ortus.boxlang.runtime.types.UDF;
 import ortus.boxlang.runtime.types.exceptions.ScopeNotFoundException;
+import ortus.boxlang.runtime.util.OutputBuffer;
 
 /**
  * This context represents the context of a scripting execution in BoxLang
@@ -211,6 +213,19 @@ public class ScriptingRequestBoxContext extends RequestBoxContext {
 		return scopeFind( key, defaultScope );
 	}
 
+	/**
+	 * Value-only version of {@link #scopeFindNearby(Key, IScope, boolean)}: query loops and variables, then the global scopes
+	 */
+	@Override
+	public Object scopeFindNearbyValue( Key key, IScope defaultScope, boolean shallow ) {
+		Object result = findNearbyValue( key, true, variablesScope, null );
+		if ( result != NOT_FOUND || shallow ) {
+			return result;
+		}
+
+		return scopeFind( key, defaultScope ).value();
+	}
+
 	/**
 	 * Try to get the requested key from the unscoped scope
 	 * Meaning it needs to search scopes in order according to it's context.
@@ -297,45 +312,64 @@ public class ScriptingRequestBoxContext extends RequestBoxContext {
 		if ( !canOutput() && !force ) {
 			return this;
 		}
-		String output;
 		// If there are extra buffers registered, we ignore flush requests since someone
 		// out there is wanting to capture our buffer instead.
 		if ( hasParent() && buffers.size() == 1 ) {
-			StringBuffer buffer = getBuffer();
-			synchronized ( buffer ) {
-				output = buffer.toString();
-				clearBuffer();
+			flushToOut( getOutputBuffer() );
+		} else if ( force ) {
+			for ( OutputBuffer buf : buffers ) {
+				flushToOut( buf );
 			}
+		}
+		return this;
+	}
 
-			// Announce it
-			IStruct eventData = Struct.of(
-			    Key.context, this,
-			    Key.output, output
-			);
-			BoxRuntime.getInstance().getInterceptorService()
-			    .announce( BoxEvent.ON_REQUEST_FLUSH_BUFFER, eventData );
+	/**
+	 * Stream the output of this request straight to its output stream as it's written, instead of holding it until the buffer is flushed.
+	 * Output captured by components like <code>saveContent</code> or <code>silent</code> is still held by them until they're done, and
+	 * functions with <code>output=false</code> still discard theirs. Output that was streamed can't be cleared anymore, and it's not
+	 * announced through <code>onRequestFlushBuffer</code>.
+	 *
+	 * @return This context
+	 */
+	public ScriptingRequestBoxContext streamOutput() {
+		OutputBuffer buffer = this.buffers.getLast();
+		synchronized ( buffer ) {
+			buffer.streamTo( getOut() );
+		}
+		return this;
+	}
 
-			// If a scripting context is our top-level context, we flush to the console.
-			getOut().print( eventData.getAsString( Key.output ) );
-		} else if ( force ) {
-			for ( StringBuffer buf : buffers ) {
-				synchronized ( buf ) {
-					output = buf.toString();
-					buf.setLength( 0 );
-				}
-
-				// Announce it
-				IStruct eventData = Struct.of(
-				    Key.context, this,
-				    Key.output, output
-				);
-				BoxRuntime.getInstance().getInterceptorService()
-				    .announce( BoxEvent.ON_REQUEST_FLUSH_BUFFER, eventData );
-
-				getOut().print( eventData.getAsString( Key.output ) );
+	/**
+	 * Write a buffer to the output stream and empty it
+	 *
+	 * @param buffer The buffer to write
+	 */
+	private void flushToOut( OutputBuffer buffer ) {
+		InterceptorService interceptorService = BoxRuntime.getInstance().getInterceptorService();
+		// If nobody listens to the flush, the segments are written out as they are instead of being joined into one string first
+		// The buffer is locked like in appendBuffer(), since parallel callbacks can force a flush from several threads
+		if ( !interceptorService.hasListeners( BoxEvent.ON_REQUEST_FLUSH_BUFFER ) ) {
+			synchronized ( buffer ) {
+				buffer.writeTo( getOut() );
 			}
+			return;
 		}
-		return this;
+
+		// Announce it
+		String output;
+		synchronized ( buffer ) {
+			output = buffer.toString();
+			buffer.clear();
+		}
+		IStruct eventData = Struct.of(
+		    Key.context, this,
+		    Key.output, output
+		);
+		interceptorService.announce( BoxEvent.ON_REQUEST_FLUSH_BUFFER, eventData );
+
+		// If a scripting context is our top-level context, we flush to the console.
+		getOut().print( eventData.getAsString( Key.output ) );
 	}
 
 }
@@ -186,6 +186,19 @@ public class ThreadBoxContext extends BaseBoxContext implements IJDBCCapableCont
 
 	}
 
+	/**
+	 * Value-only version of {@link #scopeFindNearby(Key, IScope, boolean)}: local, variables and query loops, then the global scopes
+	 */
+	@Override
+	public Object scopeFindNearbyValue( Key key, IScope defaultScope, boolean shallow ) {
+		Object result = findNearbyValue( key, false, localScope, variablesScope );
+		if ( result != NOT_FOUND || shallow ) {
+			return result;
+		}
+
+		return scopeFind( key, defaultScope ).value();
+	}
+
 	/**
 	 * Search for a variable in scopes
 	 *
@@ -96,7 +96,7 @@ public class ExpressionInterpreter {
 			}
 		} else {
 			// Unscoped variable like foo.bar. This finds the first part of the expression
-			ref = context.scopeFindNearby( refName, ( safe ? context.getDefaultAssignmentScope() : null ) ).value();
+			ref = context.scopeFindNearbyValue( refName, ( safe ? context.getDefaultAssignmentScope() : null ) );
 			if ( ref == null && !safe ) {
 				throw new KeyNotFoundException( "Variable [" + refName + "] not found." );
 			}
@@ -19,70 +19,24 @@ package ortus.boxlang.runtime.dynamic.casters;
 
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
-
-import org.apache.commons.lang3.time.DateUtils;
+import java.util.regex.Pattern;
 
 import ortus.boxlang.runtime.interop.DynamicObject;
 import ortus.boxlang.runtime.types.DateTime;
 import ortus.boxlang.runtime.types.exceptions.BoxCastException;
+import ortus.boxlang.runtime.types.util.DateTimeParser;
 
 /**
  * I cast to DateTime objects
  */
 public class DateTimeCaster implements IBoxCaster {
 
-	private static final String[] COMMON_PATTERNS = {
-
-	    // Localized Date/Time formats
-	    "EEE, dd MMM yyyy HH:mm:ss zzz", // Full DateTime (e.g., Tue, 02 Apr 2024 21:01:00 CEST) - Similar to FULL_FULL
-	    "dd MMM yyyy HH:mm:ss",         // Long DateTime (e.g., 02 Apr 2024 21:01:00) - Similar to LONG_LONG
-	    "dd-MMM-yyyy HH:mm:ss",         // Medium DateTime (e.g., 02-Apr-2024 21:01:00) - Might need adjustment based on locale
-	    "dd/MM/yyyy HH:mm:ss",         // Short DateTime (e.g., 02/04/2024 21:01:00) - Might need adjustment based on locale
-	    "dd.MM.yyyy HH:mm:ss",         // Short DateTime (e.g., 02.04.2024 21:01:00) - Might need adjustment based on locale
-
-	    // ISO formats
-	    "yyyy-MM-dd'T'HH:mm:ss.SSSXXX",  // Date-time with milliseconds and offset
-	    "yyyy-MM-dd'T'HH:mm:ss.SSS",     // Date-time with milliseconds
-	    "yyyy-MM-dd'T'HH:mm:ssZ",        // Date-time with offset (Z)
-	    "yyyy-MM-dd'T'HH:mm:ssX",        // Date-time with offset (X)
-	    "yyyy-MM-dd'T'HH:mm:ss",         // Date-time
-
-	    // ODBC formats
-	    "yyyyMMddHHmmss",                // OBCDateTime - Potential ODBC format
-
-	    // Localized Date formats
-	    "EEE, dd MMM yyyy",            // Full Date (e.g., Tue, 02 Apr 2024) - Similar to FULL
-	    "dd MMM yyyy",                   // Long Date (e.g., 02 Apr 2024) - Similar to LONG
-	    "dd-MMM-yyyy",                   // Medium Date (e.g., 02-Apr-2024) - Might need adjustment based on locale
-	    "dd/MMM/yyyy",                   // Medium Date (e.g., 02-Apr-2024) - Might need adjustment based on locale
-	    "dd.MMM.yyyy",                   // Medium Date (e.g., 02.Apr.2024) - Might need adjustment based on locale
-
-	    "dd MM yyyy",                   // Short Date (e.g., 02.04.2024) - Might need adjustment based on locale
-	    "dd-MM-yyyy",                   // Short Date (e.g., 02-04-2024) - Might need adjustment based on locale
-	    "dd/MM/yyyy",                   // Short Date (e.g., 02/04/2024) - Might need adjustment based on locale
-	    "dd.MM.yyyy",                   // Short Date (e.g., 02.04.2024) - Might need adjustment based on locale
-
-	    // Localized Date formats - Month First
-	    "MMM dd yyyy",                   // Long Date (e.g., Apr 02 2024)
-	    "MMM-dd-yyyy",                   // Medium Date (e.g., Apr-02-2024) - Might need adjustment based on locale
-	    "MMM/dd/yyyy",                   // Medium Date (e.g., Apr/02/2024) - Might need adjustment based on locale
-	    "MMM.dd.yyyy",                   // Medium Date (e.g., Apr.02.2024) - Might need adjustment based on locale
-
-	    // Localized Date formats - Month First (Short)
-	    "MM dd yyyy",                   // Short Date (e.g., 04 02 2024) - Might need adjustment based on locale
-	    "MM-dd-yyyy",                   // Short Date (e.g., 04-02-2024) - Might need adjustment based on locale
-	    "MM/dd/yyyy",                   // Short Date (e.g., 04/02/2024) - Might need adjustment based on locale
-	    "MM.dd.yyyy",                   // Short Date (e.g., 04.02.2024) - Might need adjustment based on locale
-
-	    // ISO format
-	    "yyyy-MM-dd",                   // ISODate (e.g., 2024-04-02)
-	    "yyyy/MM/dd",                   // ISODate (e.g., 2024/04/02)
-	    "yyyy.MM.dd",                   // ISODate (e.g., 2024.04.02)
-
-	    // ODBC format
-	    "yyyyMMdd"                     // ODBCDate - Potential ODBC format
-	};
+	/**
+	 * Matches ODBC timestamp strings: {ts 2023-01-01 12:00:00}
+	 */
+	private static final Pattern TIMESTAMP_PATTERN = Pattern.compile( "^\\{ts ([^\\}]*)\\}" );
 
 	/**
 	 * Tests to see if the value can be cast.
@@ -214,7 +168,7 @@ public class DateTimeCaster implements IBoxCaster {
 
 		try {
 			// Timestamp string "^\{ts ([^\}])*\}" - {ts 2023-01-01 12:00:00}
-			if ( targetString.matches( "^\\{ts ([^\\}]*)\\}" ) ) {
+			if ( TIMESTAMP_PATTERN.matcher( targetString ).matches() ) {
 				return new DateTime(
 				    LocalDateTime.parse(
 				        targetString.trim(),
@@ -229,19 +183,27 @@ public class DateTimeCaster implements IBoxCaster {
 			return null;
 		}
 
-		// Now let's go to Apache commons lang for its date parsing
+		// Every date has a digit, so anything else can't be parsed by any of the formats
+		if ( !DateTimeParser.hasDigit( targetString ) ) {
+			if ( fail ) {
+				throw new BoxCastException( "Can't cast [" + targetString + "] to a DateTime." );
+			}
+			return null;
+		}
+
+		// The common formats, matched in a single pass without an exception per format that doesn't match
 		// TODO: Refactor to handle the remaining parsing in the constructor for the DateTime class. We shouldn't mantain handling of patterns in two places
+		ZonedDateTime parsed = DateTimeParser.parse( targetString );
+		if ( parsed != null ) {
+			return new DateTime( parsed );
+		}
 		try {
-			return new DateTime( DateUtils.parseDateStrictly( targetString, COMMON_PATTERNS ) );
-		} catch ( java.text.ParseException e ) {
-			try {
-				return new DateTime( targetString );
-			} catch ( Throwable e2 ) {
-				if ( fail ) {
-					throw new BoxCastException( "Can't cast [" + targetString + "] to a DateTime." );
-				}
-				return null;
+			return new DateTime( targetString );
+		} catch ( Throwable e2 ) {
+			if ( fail ) {
+				throw new BoxCastException( "Can't cast [" + targetString + "] to a DateTime." );
 			}
+			return null;
 		}
 
 	}
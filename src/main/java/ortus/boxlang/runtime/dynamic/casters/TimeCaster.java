@@ -25,6 +25,7 @@ import java.time.format.DateTimeParseException;
 import ortus.boxlang.runtime.interop.DynamicObject;
 import ortus.boxlang.runtime.types.DateTime;
 import ortus.boxlang.runtime.types.exceptions.BoxCastException;
+import ortus.boxlang.runtime.types.util.DateTimeFormatterCache;
 
 /**
  * I cast to Time objects
@@ -158,7 +159,7 @@ public class TimeCaster implements IBoxCaster {
 		// Try to parse the string
 		for ( String format : COMMON_FORMATS ) {
 			try {
-				DateTimeFormatter formatter = DateTimeFormatter.ofPattern( format );
+				DateTimeFormatter formatter = DateTimeFormatterCache.get( format );
 				return LocalTime.parse( targetString, formatter );
 			} catch ( DateTimeParseException e ) {
 				// Ignore parse exception and try the next format
@@ -23,6 +23,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -246,6 +247,30 @@ public class InterceptorPool {
 		return this.interceptionStates.containsKey( name );
 	}
 
+	/**
+	 * Verify if the {@link InterceptorState} exists and has at least one observer listening to it.
+	 * This is a fast path for hot code so it can skip building the announcement data when nobody is listening.
+	 *
+	 * @param name The name of the state
+	 *
+	 * @return True if there are listeners for the state, false otherwise
+	 */
+	public boolean hasListeners( Key name ) {
+		InterceptorState state = this.interceptionStates.get( name );
+		return state != null && state.hasObservers();
+	}
+
+	/**
+	 * Verify if the {@link BoxEvent} state exists and has at least one observer listening to it.
+	 *
+	 * @param state The BoxEvent state
+	 *
+	 * @return True if there are listeners for the state, false otherwise
+	 */
+	public boolean hasListeners( BoxEvent state ) {
+		return hasListeners( state.key() );
+	}
+
 	/**
 	 * Register a new {@link InterceptorState} with the pool and returns it.
 	 * This verifies if there is already an interception point by that name.
@@ -583,6 +608,39 @@ public class InterceptorPool {
 		}
 	}
 
+	/**
+	 * Announce a BoxEvent lazily. The data is only built if there are listeners for the state.
+	 *
+	 * @param state        The state to announce
+	 * @param dataSupplier The supplier of the data to announce
+	 */
+	public void announce( BoxEvent state, Supplier<IStruct> dataSupplier ) {
+		announce( state.key(), dataSupplier, this.runtime.getRuntimeContext() );
+	}
+
+	/**
+	 * Announce an event lazily. The data is only built if there are listeners for the state.
+	 *
+	 * @param state        The state key to announce
+	 * @param dataSupplier The supplier of the data to announce
+	 */
+	public void announce( Key state, Supplier<IStruct> dataSupplier ) {
+		announce( state, dataSupplier, this.runtime.getRuntimeContext() );
+	}
+
+	/**
+	 * Announce an event lazily with the provided context. The data is only built if there are listeners for the state.
+	 *
+	 * @param state        The state key to announce
+	 * @param dataSupplier The supplier of the data to announce
+	 * @param context      The context to announce with
+	 */
+	public void announce( Key state, Supplier<IStruct> dataSupplier, IBoxContext context ) {
+		if ( hasListeners( state ) ) {
+			announce( state, dataSupplier.get(), context );
+		}
+	}
+
 	/**
 	 * --------------------------------------------------------------------------
 	 * Async Announcements Methods
@@ -129,6 +129,15 @@ public class InterceptorState {
 		return this.observers.size();
 	}
 
+	/**
+	 * Verify if this state has any observers registered. Use it to skip building announcement data nobody will listen to.
+	 *
+	 * @return True if there are observers, false otherwise
+	 */
+	public boolean hasObservers() {
+		return !this.observers.isEmpty();
+	}
+
 	/**
 	 * Process the state by announcing it to all observers
 	 *
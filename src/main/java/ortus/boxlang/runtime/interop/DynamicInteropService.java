@@ -63,6 +63,7 @@ import ortus.boxlang.runtime.runnables.BoxInterface;
 import ortus.boxlang.runtime.runnables.IClassRunnable;
 import ortus.boxlang.runtime.scopes.IntKey;
 import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.services.InterceptorService;
 import ortus.boxlang.runtime.types.Array;
 import ortus.boxlang.runtime.types.Function;
 import ortus.boxlang.runtime.types.IStruct;
@@ -155,7 +156,14 @@ public class DynamicInteropService {
 	/**
 	 * This caches the method handles for the class so we don't have to look them up every time
 	 */
-	private static final ConcurrentHashMap<String, MethodRecord>	methodHandleCache	= new ConcurrentHashMap<>( 32 );
+	private static final ConcurrentHashMap<MethodKey, MethodRecord>	methodHandleCache	= new ConcurrentHashMap<>( 32 );
+
+	/**
+	 * The cache key of a method handle: the target class, method name and argument classes. The argument classes are compared element by
+	 * element, and may contain nulls.
+	 */
+	private record MethodKey( Class<?> targetClass, String methodName, List<Class<?>> argumentClasses ) {
+	}
 
 	/**
 	 * Name of key to get length of native arrays
@@ -309,17 +317,17 @@ public class DynamicInteropService {
 				return bootstrapBLClass( context, boxClass, BLArgs, null, noInit );
 			}
 
-			// Announce it to the world
-			BoxRuntime
-			    .getInstance()
-			    .getInterceptorService()
-			    .announce(
-			        BoxEvent.AFTER_DYNAMIC_OBJECT_CREATION,
-			        Struct.of(
-			            Key.object, thisInstance,
-			            Key.clazz, targetClass
-			        )
-			    );
+			// Announce it to the world, if anybody is listening
+			InterceptorService interceptorService = BoxRuntime.getInstance().getInterceptorService();
+			if ( interceptorService.hasListeners( BoxEvent.AFTER_DYNAMIC_OBJECT_CREATION ) ) {
+				interceptorService.announce(
+				    BoxEvent.AFTER_DYNAMIC_OBJECT_CREATION,
+				    Struct.of(
+				        Key.object, thisInstance,
+				        Key.clazz, targetClass
+				    )
+				);
+			}
 
 			return thisInstance;
 		} catch ( RuntimeException e ) {
@@ -689,6 +697,44 @@ public class DynamicInteropService {
 		}
 	}
 
+	/**
+	 * --------------------------------------------------------------------------
+	 * Invoke Dynamic Bootstraps
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * The bootstrap of the <code>invokedynamic</code> call sites the ASM compiler emits for <code>obj.method( args )</code>.
+	 * The call site has the type {@link InteropCallSite#INVOKE_TYPE} and caches the Java methods it resolves per receiver class.
+	 *
+	 * @param lookup     The lookup of the calling class
+	 * @param name       The call site name, unused
+	 * @param type       The call site type
+	 * @param methodName The name of the method to invoke
+	 * @param safe       1 if a missing method returns null instead of throwing, else 0
+	 *
+	 * @return The call site
+	 */
+	public static CallSite bootstrapInvoke( MethodHandles.Lookup lookup, String name, MethodType type, String methodName, int safe ) {
+		return new InteropCallSite( type, methodName, safe == 1, true );
+	}
+
+	/**
+	 * The bootstrap of the <code>invokedynamic</code> call sites the ASM compiler emits for <code>obj.field</code>.
+	 * The call site has the type {@link InteropCallSite#DEREFERENCE_TYPE} and caches the public fields it resolves per receiver class.
+	 *
+	 * @param lookup    The lookup of the calling class
+	 * @param name      The call site name, unused
+	 * @param type      The call site type
+	 * @param fieldName The name of the key to dereference
+	 * @param safe      1 if a missing key returns null instead of throwing, else 0
+	 *
+	 * @return The call site
+	 */
+	public static CallSite bootstrapDereference( MethodHandles.Lookup lookup, String name, MethodType type, String fieldName, int safe ) {
+		return new InteropCallSite( type, fieldName, safe == 1, false );
+	}
+
 	/**
 	 * --------------------------------------------------------------------------
 	 * Field Methods
@@ -1100,15 +1146,16 @@ public class DynamicInteropService {
 	    Object... arguments ) {
 
 		// We use the method signature as the cache key
-		String			cacheKey		= targetClass.hashCode() + methodName + Arrays.hashCode( argumentsAsClasses );
-		MethodRecord	methodRecord	= methodHandleCache.get( cacheKey );
-
-		// Double lock to avoid race-conditions
-		if ( methodRecord == null || !handlesCacheEnabled ) {
-			synchronized ( cacheKey.intern() ) {
-				if ( methodRecord == null || !handlesCacheEnabled ) {
-					methodRecord = discoverMethodHandle( context, targetClass, targetInstance, methodName, argumentsAsClasses, arguments );
-					methodHandleCache.put( cacheKey, methodRecord );
+		MethodKey		cacheKey		= new MethodKey( targetClass, methodName, Arrays.asList( argumentsAsClasses ) );
+		MethodRecord	methodRecord	= handlesCacheEnabled ? methodHandleCache.get( cacheKey ) : null;
+
+		// Discovery is idempotent, so concurrent misses may both discover it but the first one cached wins
+		if ( methodRecord == null ) {
+			methodRecord = discoverMethodHandle( context, targetClass, targetInstance, methodName, argumentsAsClasses, arguments );
+			if ( handlesCacheEnabled ) {
+				MethodRecord existing = methodHandleCache.putIfAbsent( cacheKey, methodRecord );
+				if ( existing != null ) {
+					methodRecord = existing;
 				}
 			}
 		}
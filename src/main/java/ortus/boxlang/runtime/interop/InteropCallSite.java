@@ -0,0 +1,423 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.runtime.interop;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.MutableCallSite;
+import java.lang.invoke.SwitchPoint;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.List;
+import java.util.Map;
+
+import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.dynamic.IReferenceable;
+import ortus.boxlang.runtime.dynamic.Referencer;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.services.FunctionService;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
+import ortus.boxlang.runtime.types.meta.BoxMeta;
+
+/**
+ * An invokedynamic call site for the Java interop done by compiled BoxLang code: <code>obj.method( args )</code> and <code>obj.field</code>.
+ * Call sites are linked by {@link DynamicInteropService#bootstrapInvoke} and {@link DynamicInteropService#bootstrapDereference}.
+ * <p>
+ * Every call first goes through the generic {@link Referencer} path. When the receiver is a plain Java object, the call site then
+ * links a direct method handle to the resolved method or field, guarded on the receiver class (and the argument classes for methods),
+ * so following calls with the same classes skip the lookup and can be inlined by the JIT. Up to {@link #MAX_DEPTH} receiver classes
+ * are cached per call site (a polymorphic inline cache); past that the call site is megamorphic and only uses the generic path.
+ * <p>
+ * Only calls the generic path would resolve the same way for every receiver of the class are cached:
+ * <ul>
+ * <li>Receivers handled by BoxLang itself ({@link IReferenceable}, {@link DynamicObject}, classes, maps, lists, arrays, exceptions)
+ * are never cached</li>
+ * <li>Methods with the name of a registered member method are never cached, and all call sites are reset when a new member method
+ * name is registered</li>
+ * <li>Methods are only cached when no argument needs to be coerced, nor is null, and the method is not varargs</li>
+ * </ul>
+ */
+public class InteropCallSite extends MutableCallSite {
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Public Properties
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * The max number of receiver classes cached per call site
+	 */
+	public static final int						MAX_DEPTH				= 4;
+
+	/**
+	 * The call site type of method invocations: <code>( context, receiver, arguments )</code>
+	 */
+	public static final MethodType				INVOKE_TYPE				= MethodType.methodType( Object.class, IBoxContext.class, Object.class,
+	    Object[].class );
+
+	/**
+	 * The call site type of dereferences: <code>( context, receiver )</code>
+	 */
+	public static final MethodType				DEREFERENCE_TYPE		= MethodType.methodType( Object.class, IBoxContext.class, Object.class );
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Private Properties
+	 * --------------------------------------------------------------------------
+	 */
+
+	private static final MethodHandles.Lookup	LOOKUP					= MethodHandles.lookup();
+	private static final MethodHandle			INVOKE_FALLBACK;
+	private static final MethodHandle			DEREFERENCE_FALLBACK;
+	private static final MethodHandle			INVOKE_GUARD;
+	private static final MethodHandle			DEREFERENCE_GUARD;
+	private static final MethodHandle			RETHROW;
+
+	/**
+	 * The name of the method or field
+	 */
+	private final Key							name;
+
+	/**
+	 * Whether a missing method or field returns null instead of throwing
+	 */
+	private final boolean						safe;
+
+	/**
+	 * The generic path, bound to this call site
+	 */
+	private final MethodHandle					fallback;
+
+	/**
+	 * The member methods switch point the cached entries are guarded with
+	 */
+	private SwitchPoint							switchPoint;
+
+	/**
+	 * The number of receiver classes cached
+	 */
+	private int									depth					= 0;
+
+	/**
+	 * Static Initializer
+	 */
+	static {
+		try {
+			INVOKE_FALLBACK			= LOOKUP.findVirtual( InteropCallSite.class, "invokeFallback", INVOKE_TYPE );
+			DEREFERENCE_FALLBACK	= LOOKUP.findVirtual( InteropCallSite.class, "dereferenceFallback", DEREFERENCE_TYPE );
+			INVOKE_GUARD			= LOOKUP.findStatic( InteropCallSite.class, "matches",
+			    MethodType.methodType( boolean.class, Class.class, Class[].class, Object.class, Object[].class ) );
+			DEREFERENCE_GUARD		= LOOKUP.findStatic( InteropCallSite.class, "matches",
+			    MethodType.methodType( boolean.class, Class.class, Object.class ) );
+			RETHROW					= LOOKUP.findStatic( InteropCallSite.class, "rethrow",
+			    MethodType.methodType( Object.class, String.class, Throwable.class ) );
+		} catch ( NoSuchMethodException | IllegalAccessException e ) {
+			throw new ExceptionInInitializerError( e );
+		}
+	}
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Constructor(s)
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Create an unlinked call site
+	 *
+	 * @param type       The call site type, {@link #INVOKE_TYPE} or {@link #DEREFERENCE_TYPE}
+	 * @param name       The name of the method or field
+	 * @param safe       Whether a missing method or field returns null instead of throwing
+	 * @param invocation Whether this is a method invocation or a dereference
+	 */
+	public InteropCallSite( MethodType type, String name, boolean safe, boolean invocation ) {
+		super( type );
+		this.name			= Key.of( name );
+		this.safe			= safe;
+		this.fallback		= ( invocation ? INVOKE_FALLBACK : DEREFERENCE_FALLBACK ).bindTo( this ).asType( type );
+		this.switchPoint	= getFunctionService().getMemberMethodsSwitchPoint();
+		setTarget( this.fallback );
+	}
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Getters
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Get the number of receiver classes cached
+	 *
+	 * @return The cache depth
+	 */
+	public synchronized int getDepth() {
+		return this.depth;
+	}
+
+	/**
+	 * Is the call site megamorphic, so it only uses the generic path?
+	 *
+	 * @return True if {@link #MAX_DEPTH} receiver classes were cached
+	 */
+	public synchronized boolean isMegamorphic() {
+		return this.depth >= MAX_DEPTH;
+	}
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Fallbacks
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * The generic path of method invocations, which links the resolved method for the next calls when possible
+	 *
+	 * @param context   The context of the call
+	 * @param receiver  The object to invoke the method on
+	 * @param arguments The positional arguments
+	 *
+	 * @return The result of the method
+	 */
+	public Object invokeFallback( IBoxContext context, Object receiver, Object[] arguments ) {
+		if ( isLinkable( receiver ) ) {
+			linkMethod( context, receiver, arguments );
+		}
+		return Referencer.getAndInvoke( context, receiver, this.name, arguments, this.safe );
+	}
+
+	/**
+	 * The generic path of dereferences, which links the resolved field for the next calls when possible
+	 *
+	 * @param context  The context of the call
+	 * @param receiver The object to dereference
+	 *
+	 * @return The value
+	 */
+	public Object dereferenceFallback( IBoxContext context, Object receiver ) {
+		if ( isLinkable( receiver ) ) {
+			linkField( receiver );
+		}
+		return Referencer.get( context, receiver, this.name, this.safe );
+	}
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Guards
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Verifies the receiver and arguments have the exact classes of a cached method
+	 *
+	 * @param receiverClass   The cached receiver class
+	 * @param argumentClasses The cached argument classes
+	 * @param receiver        The receiver
+	 * @param arguments       The arguments
+	 *
+	 * @return True if the cached method applies
+	 */
+	public static boolean matches( Class<?> receiverClass, Class<?>[] argumentClasses, Object receiver, Object[] arguments ) {
+		if ( receiver == null || receiver.getClass() != receiverClass || arguments.length != argumentClasses.length ) {
+			return false;
+		}
+		for ( int i = 0; i < arguments.length; i++ ) {
+			if ( arguments[ i ] == null || arguments[ i ].getClass() != argumentClasses[ i ] ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Verifies the receiver has the exact class of a cached field
+	 *
+	 * @param receiverClass The cached receiver class
+	 * @param receiver      The receiver
+	 *
+	 * @return True if the cached field applies
+	 */
+	public static boolean matches( Class<?> receiverClass, Object receiver ) {
+		return receiver != null && receiver.getClass() == receiverClass;
+	}
+
+	/**
+	 * Wrap the checked exceptions of a cached method like {@link DynamicInteropService#invoke} does
+	 *
+	 * @param methodName The name of the method
+	 * @param e          The exception thrown
+	 *
+	 * @return Never returns
+	 */
+	public static Object rethrow( String methodName, Throwable e ) {
+		if ( e instanceof RuntimeException re ) {
+			throw re;
+		}
+		throw new BoxRuntimeException( "Error invoking method " + methodName, e );
+	}
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Private Helpers
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Whether the call site can cache the resolution of a receiver. The generic path handles the others.
+	 */
+	private boolean isLinkable( Object receiver ) {
+		return receiver != null
+		    && DynamicInteropService.isHandlesCacheEnabled()
+		    && ! ( receiver instanceof IReferenceable )
+		    && ! ( receiver instanceof Class )
+		    && ! ( receiver instanceof Map )
+		    && ! ( receiver instanceof List )
+		    && ! ( receiver instanceof Throwable )
+		    && !receiver.getClass().isArray()
+		    && !isMegamorphic();
+	}
+
+	/**
+	 * Resolve the method the generic path would invoke and cache it if no coercion is needed
+	 */
+	private void linkMethod( IBoxContext context, Object receiver, Object[] arguments ) {
+		if ( this.name.equals( Key.getClass ) || getFunctionService().hasMemberMethod( this.name ) ) {
+			return;
+		}
+
+		Class<?>	receiverClass	= receiver.getClass();
+		String		methodName		= this.name.getName();
+		Class<?>[]	argumentClasses	= new Class<?>[ arguments.length ];
+		for ( int i = 0; i < arguments.length; i++ ) {
+			if ( arguments[ i ] == null || arguments[ i ] instanceof DynamicObject ) {
+				return;
+			}
+			argumentClasses[ i ] = arguments[ i ].getClass();
+		}
+		if ( this.safe && !DynamicInteropService.hasMethod( receiverClass, methodName ) ) {
+			return;
+		}
+
+		MethodRecord methodRecord;
+		try {
+			methodRecord = DynamicInteropService.getMethodHandle(
+			    context,
+			    receiverClass,
+			    receiver,
+			    methodName,
+			    DynamicInteropService.argumentsToClasses( arguments ),
+			    arguments.clone()
+			);
+		} catch ( RuntimeException e ) {
+			// The generic path reports it
+			return;
+		}
+
+		Method		method		= methodRecord.method();
+		Class<?>[]	parameters	= method.getParameterTypes();
+		if ( method.isVarArgs() || parameters.length != arguments.length ) {
+			return;
+		}
+		for ( int i = 0; i < parameters.length; i++ ) {
+			if ( !MethodType.methodType( parameters[ i ] ).wrap().returnType().isAssignableFrom( argumentClasses[ i ] ) ) {
+				return;
+			}
+		}
+
+		// ( receiver, arg1, ..., argN ) -> Object
+		MethodHandle target = methodRecord.methodHandle();
+		if ( methodRecord.isStatic() ) {
+			target = MethodHandles.dropArguments( target, 0, receiverClass );
+		}
+		target	= target.asType( MethodType.genericMethodType( arguments.length + 1 ) )
+		    .asSpreader( Object[].class, arguments.length );
+		target	= MethodHandles.catchException( target, Throwable.class,
+		    MethodHandles.dropArguments( MethodHandles.insertArguments( RETHROW, 0, methodName ), 1, Object.class, Object[].class ) );
+		target	= MethodHandles.dropArguments( target, 0, IBoxContext.class );
+
+		MethodHandle guard = MethodHandles.dropArguments(
+		    MethodHandles.insertArguments( INVOKE_GUARD, 0, receiverClass, argumentClasses ),
+		    0,
+		    IBoxContext.class
+		);
+		link( guard, target );
+	}
+
+	/**
+	 * Resolve the public field the generic path would read and cache it
+	 */
+	private void linkField( Object receiver ) {
+		Class<?> receiverClass = receiver.getClass();
+		if ( this.name.equals( BoxMeta.key ) || !DynamicInteropService.hasFieldNoCase( receiverClass, this.name.getName() ) ) {
+			return;
+		}
+
+		MethodHandle target;
+		try {
+			Field field = DynamicInteropService.findField( receiverClass, this.name.getName() );
+			target = LOOKUP.unreflectGetter( field );
+			if ( Modifier.isStatic( field.getModifiers() ) ) {
+				target = MethodHandles.dropArguments( target, 0, receiverClass );
+			}
+		} catch ( IllegalAccessException | RuntimeException e ) {
+			// The generic path reports it
+			return;
+		}
+		target = MethodHandles.dropArguments( target.asType( MethodType.genericMethodType( 1 ) ), 0, IBoxContext.class );
+
+		MethodHandle guard = MethodHandles.dropArguments(
+		    DEREFERENCE_GUARD.bindTo( receiverClass ),
+		    0,
+		    IBoxContext.class
+		);
+		link( guard, target );
+	}
+
+	/**
+	 * Add a guarded target in front of the current ones, resetting the call site first if member methods changed
+	 */
+	private synchronized void link( MethodHandle guard, MethodHandle target ) {
+		if ( this.switchPoint.hasBeenInvalidated() ) {
+			this.switchPoint	= getFunctionService().getMemberMethodsSwitchPoint();
+			this.depth			= 0;
+			setTarget( this.fallback );
+		}
+		if ( this.depth >= MAX_DEPTH ) {
+			return;
+		}
+		MethodHandle current = getTarget();
+		setTarget(
+		    this.switchPoint.guardWithTest(
+		        MethodHandles.guardWithTest( guard, target.asType( type() ), current ),
+		        this.fallback
+		    )
+		);
+		this.depth++;
+	}
+
+	/**
+	 * Get the function service the member methods are registered with
+	 */
+	private static FunctionService getFunctionService() {
+		return BoxRuntime.getInstance().getFunctionService();
+	}
+
+}
@@ -174,6 +174,16 @@ public class ChildTransaction implements ITransaction {
 		return this;
 	}
 
+	/**
+	 * Track a cursor opened inside the transaction. The cursors are tracked by the top-level transaction, which owns the connection.
+	 *
+	 * @param cursor The cursor
+	 */
+	public ChildTransaction registerCursor( QueryCursor cursor ) {
+		this.parent.registerCursor( cursor );
+		return this;
+	}
+
 	/**
 	 * Getter for the parent transaction
 	 */
@@ -17,6 +17,7 @@ package ortus.boxlang.runtime.jdbc;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
@@ -78,6 +79,11 @@ public class ConnectionManager {
 	 */
 	private DatasourceService		datasourceService	= BoxRuntime.getInstance().getDataSourceService();
 
+	/**
+	 * The open query cursors, which hold on to a connection until they are closed.
+	 */
+	private final Set<QueryCursor>	cursors				= ConcurrentHashMap.newKeySet();
+
 	/**
 	 * --------------------------------------------------------------------------
 	 * Constructor(s)
@@ -324,10 +330,22 @@ public class ConnectionManager {
 	 * @return A connection to the configured datasource.
 	 */
 	public Connection getConnection( QueryOptions options ) {
+		return getConnection( getDataSource( options ), options );
+	}
+
+	/**
+	 * Get a connection to an already resolved datasource for the provided QueryOptions.
+	 *
+	 * @param datasource The datasource, as resolved by {@link #getDataSource(QueryOptions)}
+	 * @param options    The query options, for the username and password
+	 *
+	 * @return A connection to the datasource.
+	 */
+	public Connection getConnection( DataSource datasource, QueryOptions options ) {
 		if ( options.wantsUsernameAndPassword() ) {
-			return getConnection( getDataSource( options ), options.username, options.password );
+			return getConnection( datasource, options.username, options.password );
 		} else {
-			return getConnection( getDataSource( options ) );
+			return getConnection( datasource );
 		}
 	}
 
@@ -583,6 +601,52 @@ public class ConnectionManager {
 		return this.datasources;
 	}
 
+	/**
+	 * --------------------------------------------------------------------------
+	 * Cursor Methods
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Track an open cursor so its connection is released when the context ends. Cursors opened inside a transaction are closed
+	 * as well when the transaction commits or rolls back.
+	 *
+	 * @param cursor The cursor
+	 */
+	public void registerCursor( QueryCursor cursor ) {
+		this.cursors.add( cursor );
+		if ( isInTransaction() ) {
+			getTransaction().registerCursor( cursor );
+		}
+	}
+
+	/**
+	 * Stop tracking a cursor, called by the cursor once closed.
+	 *
+	 * @param cursor The cursor
+	 */
+	public void unregisterCursor( QueryCursor cursor ) {
+		this.cursors.remove( cursor );
+	}
+
+	/**
+	 * Get the number of open cursors.
+	 *
+	 * @return The number of cursors that are not closed yet
+	 */
+	public int getOpenCursorCount() {
+		return this.cursors.size();
+	}
+
+	/**
+	 * Close any cursor that wasn't fully read, releasing its connection.
+	 */
+	public void closeCursors() {
+		for ( QueryCursor cursor : this.cursors ) {
+			cursor.close();
+		}
+	}
+
 	/**
 	 * --------------------------------------------------------------------------
 	 * Life Cycle Methods
@@ -593,6 +657,7 @@ public class ConnectionManager {
 	 * Shutdown the ConnectionManager and release any resources.
 	 */
 	public void shutdown() {
+		closeCursors();
 		this.datasources.clear();
 	}
 
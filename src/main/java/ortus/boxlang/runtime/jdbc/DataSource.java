@@ -45,12 +45,22 @@ public class DataSource implements Comparable<DataSource> {
 	/**
 	 * Underlying HikariDataSource object, used in connection pooling.
 	 */
-	private final HikariDataSource	hikariDataSource;
+	private final HikariDataSource			hikariDataSource;
 
 	/**
 	 * The configuration object for this datasource.
 	 */
-	private final DatasourceConfig	configuration;
+	private final DatasourceConfig			configuration;
+
+	/**
+	 * The prepared statement cache, null if disabled through the <code>statementCacheSize</code> setting.
+	 */
+	private final PreparedStatementCache	statementCache;
+
+	/**
+	 * The index of the cached queries by table, null if disabled through the <code>queryCacheInvalidation</code> setting.
+	 */
+	private final QueryCacheIndex			queryCacheIndex;
 
 	/**
 	 * --------------------------------------------------------------------------
@@ -81,6 +91,9 @@ public class DataSource implements Comparable<DataSource> {
 		} catch ( RuntimeException e ) {
 			throw new BoxRuntimeException( "Unable to create datasource connection: " + e.getMessage(), e );
 		}
+		int statementCacheSize = this.configuration.getStatementCacheSize();
+		this.statementCache		= statementCacheSize > 0 ? new PreparedStatementCache( statementCacheSize ) : null;
+		this.queryCacheIndex	= this.configuration.isQueryCacheInvalidation() ? new QueryCacheIndex() : null;
 	}
 
 	/**
@@ -215,6 +228,12 @@ public class DataSource implements Comparable<DataSource> {
 	 * @return This DataSource object, which is now shut down and useless for any further operations.
 	 */
 	public DataSource shutdown() {
+		if ( this.statementCache != null ) {
+			this.statementCache.clear();
+		}
+		if ( this.queryCacheIndex != null ) {
+			this.queryCacheIndex.clear();
+		}
 		this.hikariDataSource.close();
 		return this;
 	}
@@ -256,7 +275,7 @@ public class DataSource implements Comparable<DataSource> {
 	 */
 	public ExecutedQuery execute( String query, Connection conn ) {
 		PendingQuery pendingQuery = new PendingQuery( query, new ArrayList<>() );
-		return pendingQuery.execute( conn );
+		return pendingQuery.execute( conn, this );
 	}
 
 	/**
@@ -264,7 +283,7 @@ public class DataSource implements Comparable<DataSource> {
 	 */
 	public ExecutedQuery execute( String query, List<QueryParameter> parameters, Connection conn ) {
 		PendingQuery pendingQuery = new PendingQuery( query, parameters );
-		return pendingQuery.execute( conn );
+		return pendingQuery.execute( conn, this );
 	}
 
 	/**
@@ -283,7 +302,7 @@ public class DataSource implements Comparable<DataSource> {
 	 */
 	public ExecutedQuery execute( String query, Array parameters, Connection conn ) {
 		PendingQuery pendingQuery = new PendingQuery( query, parameters, new QueryOptions( new Struct() ) );
-		return pendingQuery.execute( conn );
+		return pendingQuery.execute( conn, this );
 	}
 
 	/**
@@ -302,7 +321,7 @@ public class DataSource implements Comparable<DataSource> {
 	 */
 	public ExecutedQuery execute( String query, IStruct parameters, Connection conn ) {
 		PendingQuery pendingQuery = new PendingQuery( query, parameters, new QueryOptions( new Struct() ) );
-		return pendingQuery.execute( conn );
+		return pendingQuery.execute( conn, this );
 	}
 
 	/**
@@ -340,14 +359,34 @@ public class DataSource implements Comparable<DataSource> {
 		return this.hikariDataSource;
 	}
 
+	/**
+	 * Get the prepared statement cache of this datasource.
+	 *
+	 * @return The statement cache, or null if statement caching is disabled.
+	 */
+	public PreparedStatementCache getStatementCache() {
+		return this.statementCache;
+	}
+
+	/**
+	 * Get the index of the cached queries of this datasource by table.
+	 *
+	 * @return The query cache index, or null if writes don't clear cached queries.
+	 */
+	public QueryCacheIndex getQueryCacheIndex() {
+		return this.queryCacheIndex;
+	}
+
 	/**
 	 * Get the current pool statistics for the datasource.
 	 *
-	 * @return A struct containing the current pool statistics, including active connections, idle connections, and total connections.
+	 * @return A struct containing the current pool statistics, including active connections, idle connections, and total connections, plus the
+	 *         prepared statement cache hits, misses, evictions and size when statement caching is enabled, and the query cache index statistics
+	 *         when it's enabled.
 	 */
 	public IStruct getPoolStats() {
-		var pool = this.hikariDataSource.getHikariPoolMXBean();
-		return Struct.of(
+		var		pool	= this.hikariDataSource.getHikariPoolMXBean();
+		IStruct	stats	= Struct.of(
 		    "pendingThreads", pool.getThreadsAwaitingConnection(),
 		    "idleConnections", pool.getIdleConnections(),
 		    "totalConnections", pool.getTotalConnections(),
@@ -355,5 +394,12 @@ public class DataSource implements Comparable<DataSource> {
 		    "maxConnections", hikariDataSource.getMaximumPoolSize(),
 		    "minConnections", hikariDataSource.getMinimumIdle()
 		);
+		if ( this.statementCache != null ) {
+			stats.putAll( this.statementCache.getStats() );
+		}
+		if ( this.queryCacheIndex != null ) {
+			stats.putAll( this.queryCacheIndex.getStats() );
+		}
+		return stats;
 	}
 }
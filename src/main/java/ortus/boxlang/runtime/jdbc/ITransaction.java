@@ -107,4 +107,14 @@ public interface ITransaction {
 	 * @return The transaction object for chainability.
 	 */
 	public ITransaction end();
+
+	/**
+	 * Track a cursor opened inside the transaction. Cursors reading from the transaction connection are closed when the transaction
+	 * commits, rolls back or ends, since their result sets don't survive it.
+	 *
+	 * @param cursor The cursor
+	 *
+	 * @return The transaction object for chainability.
+	 */
+	public ITransaction registerCursor( QueryCursor cursor );
 }
\ No newline at end of file
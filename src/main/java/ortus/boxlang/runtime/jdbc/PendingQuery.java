@@ -16,6 +16,7 @@ package ortus.boxlang.runtime.jdbc;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
@@ -25,21 +26,25 @@ import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import ortus.boxlang.runtime.BoxRuntime;
 import ortus.boxlang.runtime.cache.providers.ICacheProvider;
+import ortus.boxlang.runtime.context.IBoxContext;
 import ortus.boxlang.runtime.dynamic.Attempt;
 import ortus.boxlang.runtime.dynamic.casters.ArrayCaster;
 import ortus.boxlang.runtime.dynamic.casters.CastAttempt;
 import ortus.boxlang.runtime.dynamic.casters.StructCaster;
 import ortus.boxlang.runtime.events.BoxEvent;
+import ortus.boxlang.runtime.jdbc.qoq.QoQEngine;
 import ortus.boxlang.runtime.scopes.Key;
 import ortus.boxlang.runtime.services.InterceptorService;
 import ortus.boxlang.runtime.types.Array;
 import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.Query;
 import ortus.boxlang.runtime.types.Struct;
 import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
 import ortus.boxlang.runtime.types.exceptions.DatabaseException;
@@ -74,6 +79,11 @@ public class PendingQuery {
 	 */
 	private static final String					CACHE_PREFIX		= "BL_QUERY";
 
+	/**
+	 * The fetch size of cursor queries which don't set one, so drivers stream the rows instead of reading them all up front.
+	 */
+	public static final int						DEFAULT_CURSOR_FETCH_SIZE	= 1000;
+
 	/**
 	 * The SQL string to execute.
 	 * <p>
@@ -97,6 +107,11 @@ public class PendingQuery {
 	 */
 	private @Nonnull final List<QueryParameter>	parameters;
 
+	/**
+	 * The parameter sets of a batch query, one list of {@link QueryParameter} per execution. Empty unless the `batch` option is set.
+	 */
+	private @Nonnull final List<List<QueryParameter>>	batchParameters;
+
 	/**
 	 * Query options from the original BoxLang code.
 	 */
@@ -149,8 +164,14 @@ public class PendingQuery {
 		// We set instance data from the event args so interceptors can modify them.
 		this.sql			= eventArgs.getAsString( Key.sql );
 		this.originalSql	= eventArgs.getAsString( Key.sql );
-		this.parameters		= processBindings( eventArgs.get( Key.of( "bindings" ) ) );
 		this.queryOptions	= eventArgs.getAs( QueryOptions.class, Key.options );
+		if ( this.queryOptions.batch ) {
+			this.parameters			= new ArrayList<>();
+			this.batchParameters	= processBatchBindings( eventArgs.get( Key.of( "bindings" ) ) );
+		} else {
+			this.parameters			= processBindings( eventArgs.get( Key.of( "bindings" ) ) );
+			this.batchParameters	= List.of();
+		}
 
 		// Create a cache key with a default or via the passed options.
 		this.cacheKey		= getOrComputeCacheKey();
@@ -223,6 +244,29 @@ public class PendingQuery {
 		throw new BoxRuntimeException( "Invalid type for params. Expected array or struct. Received: " + className );
 	}
 
+	/**
+	 * Processes the bindings of a batch query, an array of parameter sets, each being an array of values or a struct of named parameters.
+	 *
+	 * @param bindings The array of parameter sets.
+	 *
+	 * @return A list of {@link QueryParameter} lists, one per parameter set.
+	 */
+	private List<List<QueryParameter>> processBatchBindings( Object bindings ) {
+		if ( bindings == null ) {
+			return new ArrayList<>();
+		}
+		CastAttempt<Array> castAsArray = ArrayCaster.attempt( bindings );
+		if ( !castAsArray.wasSuccessful() ) {
+			throw new BoxRuntimeException(
+			    "Invalid type for batch params. Expected an array of parameter arrays or structs. Received: " + bindings.getClass().getName() );
+		}
+		List<List<QueryParameter>> sets = new ArrayList<>( castAsArray.getOrFail().size() );
+		for ( Object set : castAsArray.getOrFail() ) {
+			sets.add( processBindings( set ) );
+		}
+		return sets;
+	}
+
 	/**
 	 * Process an array of query bindings into a list of {@link QueryParameter} instances.
 	 *
@@ -242,13 +286,13 @@ public class PendingQuery {
 	 */
 	private List<QueryParameter> buildParameterList( @Nonnull IStruct parameters ) {
 		List<QueryParameter>	params	= new ArrayList<>();
-		Matcher					matcher	= pattern.matcher( sql );
+		Matcher					matcher	= pattern.matcher( this.originalSql );
 		while ( matcher.find() ) {
 			String paramName = matcher.group();
 			paramName = paramName.substring( 1 );
 			Object paramValue = parameters.get( paramName );
 			if ( paramValue == null ) {
-				throw new DatabaseException( "Missing param in query: [" + paramName + "]. SQL: " + sql );
+				throw new DatabaseException( "Missing param in query: [" + paramName + "]. SQL: " + this.originalSql );
 			}
 			params.add( QueryParameter.fromAny( paramValue ) );
 		}
@@ -274,6 +318,19 @@ public class PendingQuery {
 		return this.parameters.stream().map( QueryParameter::getValue ).collect( Collectors.toList() );
 	}
 
+	/**
+	 * Returns the parameter values of each parameter set of a batch query.
+	 *
+	 * @return An array with a list of parameter values per parameter set, empty if this is not a batch query.
+	 */
+	public @Nonnull Array getBatchParameterValues() {
+		Array values = new Array();
+		for ( List<QueryParameter> parameterSet : this.batchParameters ) {
+			values.add( Array.fromList( parameterSet.stream().map( QueryParameter::getValue ).collect( Collectors.toList() ) ) );
+		}
+		return values;
+	}
+
 	/**
 	 * Executes the PendingQuery using the provided ConnectionManager and returns the results in an {@link ExecutedQuery} instance.
 	 *
@@ -296,9 +353,18 @@ public class PendingQuery {
 			logger.debug( "Query is NOT present, continuing to execute query: {}", this.cacheKey );
 		}
 
-		Connection connection = connectionManager.getConnection( this.queryOptions );
+		DataSource		datasource		= connectionManager.getDataSource( this.queryOptions );
+		QueryCacheIndex	queryCacheIndex	= datasource.getQueryCacheIndex();
+		if ( queryCacheIndex != null && isCacheable() ) {
+			SQLTables tables = SQLTables.of( this.sql );
+			if ( !tables.write() ) {
+				return executeCoalesced( connectionManager, datasource, queryCacheIndex, tables );
+			}
+		}
+
+		Connection connection = connectionManager.getConnection( datasource, this.queryOptions );
 		try {
-			return execute( connection );
+			return execute( connection, datasource );
 		} finally {
 			if ( connection != null ) {
 				connectionManager.releaseConnection( connection );
@@ -306,6 +372,287 @@ public class PendingQuery {
 		}
 	}
 
+	/**
+	 * Executes the PendingQuery on a connection of the given datasource, reusing its prepared statements and clearing the cached queries of
+	 * the tables it writes.
+	 *
+	 * @param connection The Connection instance to use for executing the query. It is the responsibility of the caller to close the connection after this method returns.
+	 * @param datasource The datasource the connection belongs to.
+	 *
+	 * @throws DatabaseException If a {@link SQLException} occurs, wraps it in a DatabaseException and throws.
+	 *
+	 * @return An ExecutedQuery instance with the results of this JDBC execution, as well as a link to this PendingQuery instance.
+	 */
+	public @Nonnull ExecutedQuery execute( Connection connection, DataSource datasource ) {
+		try {
+			return execute( connection, datasource.getStatementCache() );
+		} finally {
+			// Even when it failed, since the statement may have written some of its rows before failing
+			QueryCacheIndex queryCacheIndex = datasource.getQueryCacheIndex();
+			if ( queryCacheIndex != null ) {
+				queryCacheIndex.afterExecute( SQLTables.of( this.sql ), connection );
+			}
+		}
+	}
+
+	/**
+	 * Executes a cacheable select, tagging the cached results with the tables it reads. If the same query is already running to be cached,
+	 * waits for it and returns its cached results instead of running it again.
+	 */
+	private ExecutedQuery executeCoalesced( ConnectionManager connectionManager, DataSource datasource, QueryCacheIndex queryCacheIndex,
+	    SQLTables tables ) {
+		ExecutedQuery executedQuery = queryCacheIndex.load( this.cacheProvider, this.cacheKey, tables, () -> {
+			// It may have been cached by a query which finished since the early cache check
+			Attempt<Object> cachedQuery = this.cacheProvider.get( this.cacheKey );
+			if ( cachedQuery.isPresent() ) {
+				return respondWithCachedQuery( cachedQuery );
+			}
+			ExecutedQuery results = executeStatement( connectionManager, datasource );
+			this.cacheProvider.set( this.cacheKey, results, this.queryOptions.cacheTimeout, this.queryOptions.cacheLastAccessTimeout );
+			return results;
+		} );
+		if ( executedQuery != null ) {
+			return executedQuery;
+		}
+
+		// Another request ran the same query while this one waited
+		Attempt<Object> cachedQuery = this.cacheProvider.get( this.cacheKey );
+		if ( cachedQuery.isPresent() ) {
+			return respondWithCachedQuery( cachedQuery );
+		}
+		// It failed, or its tables were written while it ran, so run it without caching its results
+		return executeStatement( connectionManager, datasource );
+	}
+
+	/**
+	 * Executes the statement on a connection of the datasource, without going through the cache.
+	 */
+	private ExecutedQuery executeStatement( ConnectionManager connectionManager, DataSource datasource ) {
+		Connection connection = connectionManager.getConnection( datasource, this.queryOptions );
+		try {
+			return executeStatement( connection, datasource.getStatementCache() );
+		} finally {
+			if ( connection != null ) {
+				connectionManager.releaseConnection( connection );
+			}
+		}
+	}
+
+	/**
+	 * Executes the PendingQuery in the given context and returns the results in an {@link ExecutedQuery} instance.
+	 * <p>
+	 * Queries of Queries (<code>dbtype="query"</code>) run in memory against the queries visible in the context, everything else is sent to the datasource.
+	 *
+	 * @param connectionManager The ConnectionManager instance to use for getting connections from the current context.
+	 * @param context           The context to resolve the source queries of a Query of Queries in.
+	 *
+	 * @throws DatabaseException If the query fails.
+	 *
+	 * @return An ExecutedQuery instance with the results of this execution, as well as a link to this PendingQuery instance.
+	 */
+	public @Nonnull ExecutedQuery execute( ConnectionManager connectionManager, IBoxContext context ) {
+		if ( !this.queryOptions.isQueryOfQueries() ) {
+			return execute( connectionManager );
+		}
+		if ( isCacheable() ) {
+			Attempt<Object> cachedQuery = this.cacheProvider.get( this.cacheKey );
+			if ( cachedQuery.isPresent() ) {
+				return respondWithCachedQuery( cachedQuery );
+			}
+			ExecutedQuery executedQuery = executeQueryOfQueries( context );
+			this.cacheProvider.set( this.cacheKey, executedQuery, this.queryOptions.cacheTimeout, this.queryOptions.cacheLastAccessTimeout );
+			return executedQuery;
+		}
+		return executeQueryOfQueries( context );
+	}
+
+	/**
+	 * Executes the PendingQuery and returns a {@link QueryCursor} over the open result set, reading the rows lazily as they are consumed.
+	 * <p>
+	 * The connection is held by the cursor until it is closed, which happens once all rows were read, when it is closed explicitly, or when the
+	 * connection manager shuts down its cursors at the end of the request. Streamed results are never cached.
+	 *
+	 * @param connectionManager The ConnectionManager instance to use for getting connections from the current context.
+	 *
+	 * @throws DatabaseException If a {@link SQLException} occurs, or if this is a Query of Queries, which can't be streamed.
+	 *
+	 * @return A cursor over the rows of the results.
+	 */
+	public @Nonnull QueryCursor executeCursor( ConnectionManager connectionManager ) {
+		if ( this.queryOptions.isQueryOfQueries() ) {
+			throw new DatabaseException( "Query of Queries results can't be returned as a [" + this.queryOptions.getReturnType() + "]" );
+		}
+
+		Connection	connection	= connectionManager.getConnection( this.queryOptions );
+		Statement	statement	= null;
+		try {
+			statement = this.parameters.isEmpty()
+			    ? connection.createStatement( ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY )
+			    : connection.prepareStatement( this.sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY );
+
+			applyParameters( statement );
+			applyStatementOptions( statement );
+			// Without a fetch size some drivers read the whole result set up front
+			if ( this.queryOptions.fetchSize == null || this.queryOptions.fetchSize <= 0 ) {
+				statement.setFetchSize( DEFAULT_CURSOR_FETCH_SIZE );
+			}
+
+			interceptorService.announce(
+			    BoxEvent.PRE_QUERY_EXECUTE,
+			    () -> Struct.of(
+			        "sql", this.sql,
+			        "bindings", getParameterValues(),
+			        "pendingQuery", this
+			    )
+			);
+
+			long startTick = System.currentTimeMillis();
+			if ( statement instanceof PreparedStatement preparedStatement ) {
+				preparedStatement.execute();
+			} else {
+				statement.execute( this.sql );
+			}
+			long		executionTime	= System.currentTimeMillis() - startTick;
+			QueryCursor	cursor			= new QueryCursor( connectionManager, connection, statement );
+
+			// The rows are not read yet, so the event carries the cursor instead of the data
+			interceptorService.announce(
+			    BoxEvent.POST_QUERY_EXECUTE,
+			    () -> Struct.of(
+			        "sql", this.originalSql,
+			        "bindings", getParameterValues(),
+			        "executionTime", executionTime,
+			        "cursor", cursor,
+			        "pendingQuery", this
+			    )
+			);
+			return cursor;
+		} catch ( SQLException e ) {
+			try {
+				if ( statement != null ) {
+					statement.close();
+				}
+			} catch ( SQLException closeException ) {
+				logger.warn( "Error closing statement of failed query: {}", closeException.getMessage() );
+			}
+			connectionManager.releaseConnection( connection );
+			throw new DatabaseException(
+			    e.getMessage(),
+			    e.getCause() != null ? e.getCause().getMessage() : "",
+			    String.valueOf( e.getErrorCode() ),
+			    e.getSQLState(),
+			    originalSql,
+			    null, // queryError
+			    ListUtil.asString( Array.fromList( this.getParameterValues() ), "," ), // where
+			    e
+			);
+		}
+	}
+
+	/**
+	 * Executes the PendingQuery once per parameter set with JDBC batching, sending `batchSize` parameter sets to the database at a time.
+	 * <p>
+	 * Inside a transaction the batch uses the transaction connection and is committed or rolled back with it. Outside of one, each chunk is
+	 * committed as it is executed, so a failure leaves the previous chunks in place.
+	 * <p>
+	 * Returns a struct with the following keys:
+	 * <ul>
+	 * <li><code>recordCount</code> - The total number of affected rows
+	 * <li><code>updateCounts</code> - The update count of each parameter set, as reported by the driver
+	 * <li><code>generatedKeys</code> - The generated keys, if the driver reports them for batches
+	 * <li><code>batchCount</code> - The number of batches sent to the database
+	 * <li><code>executionTime</code> - The time the batches took, in milliseconds
+	 * <li><code>sql</code> - The executed SQL
+	 * </ul>
+	 *
+	 * @param connectionManager The ConnectionManager instance to use for getting connections from the current context.
+	 *
+	 * @throws DatabaseException If a {@link SQLException} occurs, or if this is a Query of Queries, which can't be batched.
+	 *
+	 * @return The batch results.
+	 */
+	public @Nonnull IStruct executeBatch( ConnectionManager connectionManager ) {
+		if ( this.queryOptions.isQueryOfQueries() ) {
+			throw new DatabaseException( "Query of Queries can't be executed in batch mode" );
+		}
+
+		Array	updateCounts	= new Array();
+		Array	generatedKeys	= new Array();
+		long	recordCount		= 0;
+		int		batchCount		= 0;
+		long	startTick		= System.currentTimeMillis();
+
+		if ( !this.batchParameters.isEmpty() ) {
+			interceptorService.announce(
+			    BoxEvent.PRE_QUERY_EXECUTE,
+			    () -> Struct.of(
+			        "sql", this.sql,
+			        "bindings", getBatchParameterValues(),
+			        "pendingQuery", this
+			    )
+			);
+
+			DataSource	datasource	= connectionManager.getDataSource( this.queryOptions );
+			Connection	connection	= connectionManager.getConnection( datasource, this.queryOptions );
+			try ( PreparedStatement statement = connection.prepareStatement( this.sql, Statement.RETURN_GENERATED_KEYS ) ) {
+				applyStatementOptions( statement );
+				int pending = 0;
+				for ( List<QueryParameter> parameterSet : this.batchParameters ) {
+					applyParameters( statement, parameterSet );
+					statement.addBatch();
+					if ( ++pending < this.queryOptions.batchSize ) {
+						continue;
+					}
+					recordCount += flushBatch( statement, updateCounts, generatedKeys );
+					batchCount++;
+					pending = 0;
+				}
+				if ( pending > 0 ) {
+					recordCount += flushBatch( statement, updateCounts, generatedKeys );
+					batchCount++;
+				}
+			} catch ( SQLException e ) {
+				throw new DatabaseException(
+				    e.getMessage(),
+				    e.getCause() != null ? e.getCause().getMessage() : "",
+				    String.valueOf( e.getErrorCode() ),
+				    e.getSQLState(),
+				    originalSql,
+				    null, // queryError
+				    "batch " + ( batchCount + 1 ) + " of size " + this.queryOptions.batchSize, // where
+				    e
+				);
+			} finally {
+				// Even when a chunk failed, since outside of a transaction the chunks before it are committed, and the failed one may have
+				// written some of its rows
+				if ( datasource.getQueryCacheIndex() != null ) {
+					datasource.getQueryCacheIndex().afterExecute( SQLTables.of( this.sql ), connection );
+				}
+				connectionManager.releaseConnection( connection );
+			}
+		}
+
+		IStruct result = Struct.of(
+		    "sql", this.originalSql,
+		    "recordCount", recordCount,
+		    "updateCounts", updateCounts,
+		    "generatedKeys", generatedKeys,
+		    "batchCount", batchCount,
+		    "executionTime", System.currentTimeMillis() - startTick
+		);
+		interceptorService.announce(
+		    BoxEvent.POST_QUERY_EXECUTE,
+		    () -> Struct.of(
+		        "sql", this.originalSql,
+		        "bindings", getBatchParameterValues(),
+		        "executionTime", result.get( Key.executionTime ),
+		        "result", result,
+		        "pendingQuery", this
+		    )
+		);
+		return result;
+	}
+
 	/**
 	 * Executes the PendingQuery on a given {@link Connection} and returns the results in an {@link ExecutedQuery} instance.
 	 *
@@ -318,6 +665,16 @@ public class PendingQuery {
 	 * @see ExecutedQuery
 	 */
 	public @Nonnull ExecutedQuery execute( Connection connection ) {
+		return execute( connection, ( PreparedStatementCache ) null );
+	}
+
+	/**
+	 * Executes the PendingQuery on a given {@link Connection}, reusing the prepared statements of the given statement cache.
+	 *
+	 * @param connection     The Connection instance to use for executing the query.
+	 * @param statementCache The prepared statement cache of the connection's datasource, or null to prepare a new statement.
+	 */
+	private ExecutedQuery execute( Connection connection, @Nullable PreparedStatementCache statementCache ) {
 		if ( isCacheable() ) {
 			// we use separate get() and set() calls over a .getOrSet() so we can run `.setIsCached()` on discovered/cached results.
 			Attempt<Object> cachedQuery = this.cacheProvider.get( this.cacheKey );
@@ -325,28 +682,34 @@ public class PendingQuery {
 				return respondWithCachedQuery( cachedQuery );
 			}
 
-			ExecutedQuery executedQuery = executeStatement( connection );
+			ExecutedQuery executedQuery = executeStatement( connection, statementCache );
 			this.cacheProvider.set( this.cacheKey, executedQuery, this.queryOptions.cacheTimeout, this.queryOptions.cacheLastAccessTimeout );
 			return executedQuery;
 		}
-		return executeStatement( connection );
+		return executeStatement( connection, statementCache );
 	}
 
 	/**
 	 * Generate and execute a JDBC statement using the provided connection.
 	 * <p>
 	 * * If query parameters are present, a {@link PreparedStatement} will be utilized and populated with the paremeter bindings. Otherwise, a standard {@link Statement} object will be used.
+	 * * Prepared statements come from the statement cache when there is one, and are left open for the next execution.
 	 * * Will announce a `PRE_QUERY_EXECUTE` event before executing the query.
 	 */
-	private ExecutedQuery executeStatement( Connection connection ) {
+	private ExecutedQuery executeStatement( Connection connection, @Nullable PreparedStatementCache statementCache ) {
 		try {
 			ArrayList<ExecutedQuery> queries = new ArrayList<>();
 			for ( String sqlStatement : this.sql.split( ";" ) ) {
 				// @TODO: Consider refactoring this to use a try-with-resources block, as the ExecutedQuery
 				// should not need the Statement object once the constructor completes and returns.
-				Statement statement = this.parameters.isEmpty()
-				    ? connection.createStatement()
-				    : connection.prepareStatement( this.sql, Statement.RETURN_GENERATED_KEYS );
+				Statement statement;
+				if ( this.parameters.isEmpty() ) {
+					statement = connection.createStatement();
+				} else if ( statementCache != null ) {
+					statement = statementCache.prepare( connection, this.sql, Statement.RETURN_GENERATED_KEYS );
+				} else {
+					statement = connection.prepareStatement( this.sql, Statement.RETURN_GENERATED_KEYS );
+				}
 
 				applyParameters( statement );
 				applyStatementOptions( statement );
@@ -376,6 +739,10 @@ public class PendingQuery {
 			}
 			return queries.getFirst();
 		} catch ( SQLException e ) {
+			// Don't reuse a statement that failed, it may be invalid for good, e.g. after a schema change
+			if ( statementCache != null && !this.parameters.isEmpty() ) {
+				statementCache.invalidate( connection, this.sql, Statement.RETURN_GENERATED_KEYS );
+			}
 			String detail = "";
 			if ( e.getCause() != null ) {
 				detail = e.getCause().getMessage();
@@ -393,6 +760,73 @@ public class PendingQuery {
 		}
 	}
 
+	/**
+	 * Run the SQL with the native Query of Queries engine.
+	 * <p>
+	 * Announces the same `PRE_QUERY_EXECUTE` and `POST_QUERY_EXECUTE` events as a datasource query.
+	 */
+	private ExecutedQuery executeQueryOfQueries( IBoxContext context ) {
+		interceptorService.announce(
+		    BoxEvent.PRE_QUERY_EXECUTE,
+		    () -> Struct.of(
+		        "sql", this.sql,
+		        "bindings", getParameterValues(),
+		        "pendingQuery", this
+		    )
+		);
+
+		long	startTick		= System.currentTimeMillis();
+		Query	results			= QoQEngine.execute( context, this.sql, getParameterValues(), this.queryOptions.maxRows );
+		long	executionTime	= System.currentTimeMillis() - startTick;
+
+		IStruct			queryMeta		= Struct.of(
+		    "cached", false,
+		    "sql", this.originalSql,
+		    "sqlParameters", Array.fromList( getParameterValues() ),
+		    "executionTime", executionTime
+		);
+		ExecutedQuery	executedQuery	= new ExecutedQuery( results, null, queryMeta );
+
+		interceptorService.announce(
+		    BoxEvent.POST_QUERY_EXECUTE,
+		    () -> Struct.of(
+		        "sql", this.originalSql,
+		        "bindings", getParameterValues(),
+		        "executionTime", executionTime,
+		        "data", results,
+		        "result", queryMeta,
+		        "pendingQuery", this,
+		        "executedQuery", executedQuery
+		    )
+		);
+		return executedQuery;
+	}
+
+	/**
+	 * Send the batched parameter sets to the database, collecting the update counts and generated keys.
+	 *
+	 * @return The number of affected rows, not counting statements for which the driver reports no count
+	 */
+	private long flushBatch( PreparedStatement statement, Array updateCounts, Array generatedKeys ) throws SQLException {
+		long affected = 0;
+		for ( int count : statement.executeBatch() ) {
+			updateCounts.add( count );
+			if ( count > 0 ) {
+				affected += count;
+			}
+		}
+		// Not every driver reports the generated keys of a batch, and some throw instead of returning nothing.
+		try ( ResultSet keys = statement.getGeneratedKeys() ) {
+			while ( keys != null && keys.next() ) {
+				generatedKeys.add( keys.getObject( 1 ) );
+			}
+		} catch ( SQLException | NullPointerException e ) {
+			// NullPointerException: Hikari wrapping a null result set, see ExecutedQuery.fromPendingQuery()
+			logger.debug( "Generated keys are not available for this batch: {}", e.getMessage() );
+		}
+		return affected;
+	}
+
 	/**
 	 * Helper method to respond with an ExecutedQuery instance from the given query cache lookup.
 	 * <p>
@@ -416,14 +850,21 @@ public class PendingQuery {
 	 * Will only take action if 1) there are parameters to apply, and 2) the Statement object is a PreparedStatement.
 	 */
 	private void applyParameters( Statement statement ) throws SQLException {
-		if ( this.parameters.isEmpty() ) {
+		applyParameters( statement, this.parameters );
+	}
+
+	/**
+	 * Apply a list of parameter bindings to the provided {@link Statement} instance.
+	 */
+	private void applyParameters( Statement statement, List<QueryParameter> parameters ) throws SQLException {
+		if ( parameters.isEmpty() ) {
 			return;
 		}
 
 		if ( statement instanceof PreparedStatement preparedStatement ) {
 			// The param index starts from 1
-			for ( int i = 1; i <= this.parameters.size(); i++ ) {
-				QueryParameter	param			= this.parameters.get( i - 1 );
+			for ( int i = 1; i <= parameters.size(); i++ ) {
+				QueryParameter	param			= parameters.get( i - 1 );
 				Integer			scaleOrLength	= param.getScaleOrLength();
 				if ( scaleOrLength == null ) {
 					preparedStatement.setObject( i, param.getValue(), param.getSqlTypeAsInt() );
@@ -463,7 +904,6 @@ public class PendingQuery {
 		/**
 		 * TODO: Implement the following options:
 		 * ormoptions
-		 * dbtype : query of queries (In progress)
 		 * username and password : To evaluate later due to security concerns of overriding datasources, not going to implement unless requested
 		 * clientInfo : Part of the connection: get/setClientInfo()
 		 */
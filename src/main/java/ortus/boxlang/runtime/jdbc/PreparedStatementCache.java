@@ -0,0 +1,281 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS"
+ * BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package ortus.boxlang.runtime.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.Struct;
+
+/**
+ * A per connection LRU cache of {@link PreparedStatement}s, owned by a {@link DataSource}, so executing the same parameterized SQL again on a
+ * connection doesn't re-prepare it, e.g. in a loop or on the next request that borrows the same connection from the pool.
+ * <p>
+ * The pool hands out a new proxy on every borrow and closes the statements prepared through it when the connection is returned. In auto
+ * commit mode the statements are therefore prepared on, and cached by, the physical connection behind the proxy, so they outlive the
+ * borrow and are reused by every later borrow of that connection. They are closed when evicted, when the cache is cleared, or by the
+ * driver when the pool closes the physical connection, which drops them from the cache the next time a statement has to be prepared.
+ * <p>
+ * Inside a transaction (auto commit off) the statements are prepared through the borrowed proxy instead, so the pool sees the uncommitted
+ * work and rolls it back if the connection is returned without a commit. They only live as long as that borrow, which spans the whole
+ * transaction.
+ * <p>
+ * A connection is only ever used by one thread at a time, so its statements are never shared between concurrent queries. Cached
+ * statements must not be closed by the caller; call {@link #invalidate(Connection, String, int)} instead when one fails.
+ */
+public class PreparedStatementCache {
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Private Properties
+	 * --------------------------------------------------------------------------
+	 */
+
+	private static final Logger										logger		= LoggerFactory.getLogger( PreparedStatementCache.class );
+
+	/**
+	 * The max number of statements to keep per connection
+	 */
+	private final int												maxSize;
+
+	/**
+	 * The statements of each physical connection, or borrowed proxy inside transactions, least recently used first
+	 */
+	private final Map<Connection, Map<StatementKey, PreparedStatement>>	connections	= new IdentityHashMap<>();
+
+	/**
+	 * Lookups that found an open statement
+	 */
+	private final AtomicLong										hits		= new AtomicLong();
+
+	/**
+	 * Lookups that had to prepare a statement
+	 */
+	private final AtomicLong										misses		= new AtomicLong();
+
+	/**
+	 * Statements closed to make room for others
+	 */
+	private final AtomicLong										evictions	= new AtomicLong();
+
+	/**
+	 * The cache key of a statement: the SQL and the options it was prepared with
+	 */
+	private record StatementKey( String sql, int autoGeneratedKeys ) {
+	}
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Constructor(s)
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Create a statement cache
+	 *
+	 * @param maxSize The max number of statements to keep per connection
+	 */
+	public PreparedStatementCache( int maxSize ) {
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Methods
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Get a prepared statement for the SQL on the connection, preparing it if it isn't cached yet. The statement is reset to its defaults: no
+	 * parameters, no query timeout, no max rows and the driver fetch size.
+	 *
+	 * @param connection        The borrowed connection
+	 * @param sql               The SQL to prepare
+	 * @param autoGeneratedKeys Whether to return the generated keys, see {@link java.sql.Statement#RETURN_GENERATED_KEYS}
+	 *
+	 * @return The prepared statement, which the caller must not close
+	 *
+	 * @throws SQLException If the statement can't be prepared
+	 */
+	public PreparedStatement prepare( Connection connection, String sql, int autoGeneratedKeys ) throws SQLException {
+		Connection								owner		= getOwner( connection );
+		StatementKey							key			= new StatementKey( sql, autoGeneratedKeys );
+		Map<StatementKey, PreparedStatement>	statements	= getStatements( owner );
+
+		PreparedStatement						statement;
+		synchronized ( statements ) {
+			statement = statements.get( key );
+		}
+		if ( statement != null && !statement.isClosed() ) {
+			this.hits.incrementAndGet();
+			statement.clearParameters();
+			statement.setQueryTimeout( 0 );
+			statement.setLargeMaxRows( 0 );
+			statement.setFetchSize( 0 );
+			return statement;
+		}
+
+		this.misses.incrementAndGet();
+		purgeClosedConnections();
+		statement = owner.prepareStatement( sql, autoGeneratedKeys );
+		synchronized ( statements ) {
+			statements.put( key, statement );
+		}
+		return statement;
+	}
+
+	/**
+	 * Close and forget a cached statement, e.g. because executing it failed.
+	 *
+	 * @param connection        The connection the statement was prepared on
+	 * @param sql               The SQL of the statement
+	 * @param autoGeneratedKeys The generated keys option the statement was prepared with
+	 */
+	public void invalidate( Connection connection, String sql, int autoGeneratedKeys ) {
+		Map<StatementKey, PreparedStatement> statements;
+		try {
+			statements = getStatements( getOwner( connection ) );
+		} catch ( SQLException e ) {
+			// The connection is broken, and its statements with it
+			logger.debug( "Error invalidating cached statement: {}", e.getMessage() );
+			return;
+		}
+		PreparedStatement statement;
+		synchronized ( statements ) {
+			statement = statements.remove( new StatementKey( sql, autoGeneratedKeys ) );
+		}
+		closeQuietly( statement );
+	}
+
+	/**
+	 * Close all cached statements, e.g. when the datasource shuts down.
+	 */
+	public void clear() {
+		List<Map<StatementKey, PreparedStatement>> all;
+		synchronized ( this.connections ) {
+			all = new ArrayList<>( this.connections.values() );
+			this.connections.clear();
+		}
+		for ( Map<StatementKey, PreparedStatement> statements : all ) {
+			synchronized ( statements ) {
+				statements.values().forEach( PreparedStatementCache::closeQuietly );
+				statements.clear();
+			}
+		}
+	}
+
+	/**
+	 * Get the cache statistics
+	 *
+	 * @return A struct with the <code>statementCacheHits</code>, <code>statementCacheMisses</code>, <code>statementCacheEvictions</code> and
+	 *         <code>statementCacheSize</code>, the number of statements currently cached over all connections
+	 */
+	public IStruct getStats() {
+		int size = 0;
+		purgeClosedConnections();
+		synchronized ( this.connections ) {
+			for ( Map<StatementKey, PreparedStatement> statements : this.connections.values() ) {
+				size += statements.size();
+			}
+		}
+		return Struct.of(
+		    "statementCacheHits", this.hits.get(),
+		    "statementCacheMisses", this.misses.get(),
+		    "statementCacheEvictions", this.evictions.get(),
+		    "statementCacheSize", size
+		);
+	}
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Private Helpers
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Get the connection to prepare and cache the statements of a borrowed connection on: the physical connection in auto commit mode, so
+	 * the statements survive the borrow, or the borrowed proxy inside a transaction, so the pool tracks its uncommitted work.
+	 */
+	private static Connection getOwner( Connection connection ) throws SQLException {
+		if ( !connection.getAutoCommit() || !connection.isWrapperFor( Connection.class ) ) {
+			return connection;
+		}
+		return connection.unwrap( Connection.class );
+	}
+
+	/**
+	 * Get or create the statements map of a connection
+	 */
+	private Map<StatementKey, PreparedStatement> getStatements( Connection connection ) {
+		synchronized ( this.connections ) {
+			return this.connections.computeIfAbsent( connection, key -> new LinkedHashMap<>( 16, 0.75f, true ) {
+
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected boolean removeEldestEntry( Map.Entry<StatementKey, PreparedStatement> eldest ) {
+					if ( size() > maxSize ) {
+						evictions.incrementAndGet();
+						closeQuietly( eldest.getValue() );
+						return true;
+					}
+					return false;
+				}
+			} );
+		}
+	}
+
+	/**
+	 * Forget the statements of the physical connections the pool closed, and of the proxies returned to the pool, which closed their
+	 * statements
+	 */
+	private void purgeClosedConnections() {
+		synchronized ( this.connections ) {
+			this.connections.keySet().removeIf( connection -> {
+				try {
+					return connection.isClosed();
+				} catch ( SQLException e ) {
+					return true;
+				}
+			} );
+		}
+	}
+
+	/**
+	 * Close a statement, logging any failure
+	 */
+	private static void closeQuietly( PreparedStatement statement ) {
+		if ( statement == null ) {
+			return;
+		}
+		try {
+			statement.close();
+		} catch ( SQLException e ) {
+			logger.debug( "Error closing cached statement: {}", e.getMessage() );
+		}
+	}
+
+}
@@ -0,0 +1,341 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS"
+ * BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package ortus.boxlang.runtime.jdbc;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ortus.boxlang.runtime.cache.providers.ICacheProvider;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.Struct;
+
+/**
+ * An index of the cached queries of a {@link DataSource} by the tables they read, so the writes executed through the datasource clear the
+ * cached queries they made stale.
+ * <p>
+ * Cached queries are tagged with the tables {@link SQLTables} finds in their SQL. A write clears the cached queries of the tables it
+ * touches, or all of them when it isn't known which tables it touched, like a stored procedure call. Inside a transaction the writes only
+ * become visible on commit, so they clear the cached queries again when the transaction commits or ends.
+ * <p>
+ * Each table has a version, bumped by every write to it, so a query whose table was written while it ran isn't left in the cache with
+ * results which may predate the write.
+ * <p>
+ * Concurrent cache misses of the same query are coalesced: the first one runs the query, and the others wait for it and read its results
+ * from the cache, instead of all running it at once.
+ * <p>
+ * Only writes executed through this datasource are seen. Changes made by other applications, triggers or functions called in a select are
+ * not, so the cache timeouts still apply.
+ */
+public class QueryCacheIndex {
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Private Properties
+	 * --------------------------------------------------------------------------
+	 */
+
+	private static final Logger										logger			= LoggerFactory.getLogger( QueryCacheIndex.class );
+
+	/**
+	 * The tag of cached queries without any table, like <code>SELECT 1</code>, which are only cleared by writes to unknown tables
+	 */
+	private static final String										NO_TABLE		= "";
+
+	/**
+	 * Queries are tracked until they are cleared, so every this many tracked queries the ones no longer in their cache are dropped
+	 */
+	private static final int										PRUNE_INTERVAL	= 1000;
+
+	/**
+	 * The cached queries by table
+	 */
+	private final Map<String, Set<CachedQuery>>						queries			= new ConcurrentHashMap<>();
+
+	/**
+	 * The version of each written table
+	 */
+	private final Map<String, AtomicLong>							versions		= new ConcurrentHashMap<>();
+
+	/**
+	 * The version of all tables, bumped by writes to unknown tables
+	 */
+	private final AtomicLong										version			= new AtomicLong();
+
+	/**
+	 * The queries being run to be cached, by the queries waiting for them
+	 */
+	private final Map<CachedQuery, CompletableFuture<Void>>			loads			= new ConcurrentHashMap<>();
+
+	/**
+	 * The writes of the open transactions, by transaction connection, to clear again once they are committed
+	 */
+	private final Map<Connection, List<SQLTables>>					transactions	= Collections.synchronizedMap( new WeakHashMap<>() );
+
+	/**
+	 * Queries tracked since the index was created
+	 */
+	private final AtomicLong										tracked			= new AtomicLong();
+
+	/**
+	 * Cache misses which waited for the same query to run instead of running it
+	 */
+	private final AtomicLong										coalesced		= new AtomicLong();
+
+	/**
+	 * Writes which cleared cached queries
+	 */
+	private final AtomicLong										invalidations	= new AtomicLong();
+
+	/**
+	 * A cached query
+	 *
+	 * @param provider The cache it's in
+	 * @param key      Its cache key
+	 */
+	private record CachedQuery( ICacheProvider provider, String key ) {
+
+		void clear() {
+			this.provider.clearQuiet( this.key );
+		}
+
+		boolean isCached() {
+			return this.provider.lookupQuiet( this.key );
+		}
+	}
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Methods
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Run a query to cache its results, unless the same query is already being run, in which case this waits for it to finish.
+	 * <p>
+	 * The loader runs the query and stores its results in the cache. Once it returns, the query is tagged with its tables, and dropped from
+	 * the cache if one of them was written while it ran.
+	 *
+	 * @param provider The cache the results go to
+	 * @param key      The cache key of the results
+	 * @param tables   The tables the query reads
+	 * @param loader   Runs the query and caches its results
+	 *
+	 * @return The results, or null if the query was run by another thread and this one waited for it, in which case they are in the cache
+	 *         unless it failed or they were stale
+	 */
+	public ExecutedQuery load( ICacheProvider provider, String key, SQLTables tables, Supplier<ExecutedQuery> loader ) {
+		CachedQuery				query		= new CachedQuery( provider, key );
+		CompletableFuture<Void>	loading		= new CompletableFuture<>();
+		CompletableFuture<Void>	inFlight	= this.loads.putIfAbsent( query, loading );
+		if ( inFlight != null ) {
+			this.coalesced.incrementAndGet();
+			logger.debug( "Waiting for the query being cached as [{}]", key );
+			inFlight.join();
+			return null;
+		}
+		try {
+			long			stamp	= stamp( tables );
+			ExecutedQuery	result	= loader.get();
+			track( query, tables, stamp );
+			return result;
+		} finally {
+			this.loads.remove( query, loading );
+			// Waiters don't care how it went, they check the cache
+			loading.complete( null );
+		}
+	}
+
+	/**
+	 * Clear the cached queries a statement made stale, if it's a write
+	 *
+	 * @param tables     The tables of the statement
+	 * @param connection The connection it ran on, to clear them again on commit if it's in a transaction
+	 */
+	public void afterExecute( SQLTables tables, Connection connection ) {
+		if ( !tables.write() ) {
+			return;
+		}
+		invalidate( tables );
+		if ( isInTransaction( connection ) ) {
+			synchronized ( this.transactions ) {
+				this.transactions.computeIfAbsent( connection, c -> new ArrayList<>() ).add( tables );
+			}
+		}
+	}
+
+	/**
+	 * Clear the cached queries made stale by the writes of a transaction. Called when it's committed, and when it ends in case it was
+	 * rolled back after queries cached its uncommitted changes.
+	 *
+	 * @param connection The transaction connection
+	 */
+	public void afterTransaction( Connection connection ) {
+		List<SQLTables> written;
+		synchronized ( this.transactions ) {
+			written = this.transactions.remove( connection );
+		}
+		if ( written != null ) {
+			written.forEach( this::invalidate );
+		}
+	}
+
+	/**
+	 * Clear the cached queries of the tables a write touched, or all of them if it's not known which
+	 *
+	 * @param tables The tables of the write
+	 */
+	public void invalidate( SQLTables tables ) {
+		this.invalidations.incrementAndGet();
+		if ( tables.writesAnyTable() ) {
+			invalidateAll();
+			return;
+		}
+		for ( String table : tables.tables() ) {
+			// Bump the version first, so a query of the table still running sees it once it's done
+			this.versions.computeIfAbsent( table, t -> new AtomicLong() ).incrementAndGet();
+			clear( this.queries.remove( table ) );
+		}
+	}
+
+	/**
+	 * Clear all the cached queries
+	 */
+	public void invalidateAll() {
+		this.version.incrementAndGet();
+		for ( String table : List.copyOf( this.queries.keySet() ) ) {
+			clear( this.queries.remove( table ) );
+		}
+	}
+
+	/**
+	 * Stop tracking the cached queries, without clearing them
+	 */
+	public void clear() {
+		this.queries.clear();
+		this.transactions.clear();
+	}
+
+	/**
+	 * Get the index statistics
+	 *
+	 * @return A struct with <code>queryCacheTrackedQueries</code>, the number of cached queries tagged with their tables,
+	 *         <code>queryCacheCoalescedLoads</code>, the cache misses which waited for the same query instead of running it, and
+	 *         <code>queryCacheInvalidations</code>, the writes which cleared cached queries
+	 */
+	public IStruct getStats() {
+		return Struct.of(
+		    "queryCacheTrackedQueries", this.queries.values().stream().mapToInt( Set::size ).sum(),
+		    "queryCacheCoalescedLoads", this.coalesced.get(),
+		    "queryCacheInvalidations", this.invalidations.get()
+		);
+	}
+
+	/**
+	 * The combined version of tables. Versions only go up, so the sum changes whenever one of the tables is written.
+	 *
+	 * @param tables The tables
+	 *
+	 * @return The version
+	 */
+	private long stamp( SQLTables tables ) {
+		long stamp = this.version.get();
+		for ( String table : tables.tables() ) {
+			AtomicLong tableVersion = this.versions.get( table );
+			if ( tableVersion != null ) {
+				stamp += tableVersion.get();
+			}
+		}
+		return stamp;
+	}
+
+	/**
+	 * Tag a cached query with its tables, dropping it if one was written since it started running
+	 *
+	 * @param query  The cached query
+	 * @param tables Its tables
+	 * @param stamp  The version of its tables when it started running
+	 */
+	private void track( CachedQuery query, SQLTables tables, long stamp ) {
+		Set<String> names = tables.tables().isEmpty() ? Set.of( NO_TABLE ) : tables.tables();
+		for ( String table : names ) {
+			// Added in compute, so pruning can't drop the set in between
+			this.queries.compute( table, ( name, cached ) -> {
+				Set<CachedQuery> tagged = cached != null ? cached : ConcurrentHashMap.newKeySet();
+				tagged.add( query );
+				return tagged;
+			} );
+		}
+		// Checked after tagging: a write either bumped the version before this, or clears the tag after it
+		if ( stamp( tables ) != stamp ) {
+			logger.debug( "Dropping query cached as [{}], its tables were written while it ran", query.key() );
+			query.clear();
+		}
+		if ( this.tracked.incrementAndGet() % PRUNE_INTERVAL == 0 ) {
+			prune();
+		}
+	}
+
+	/**
+	 * Stop tracking the queries which expired or were cleared from their cache
+	 */
+	private void prune() {
+		for ( String table : List.copyOf( this.queries.keySet() ) ) {
+			this.queries.computeIfPresent( table, ( name, cached ) -> {
+				cached.removeIf( query -> !query.isCached() );
+				return cached.isEmpty() ? null : cached;
+			} );
+		}
+	}
+
+	/**
+	 * Clear cached queries from their cache
+	 *
+	 * @param cached The queries, or null
+	 */
+	private static void clear( Set<CachedQuery> cached ) {
+		if ( cached != null ) {
+			cached.forEach( CachedQuery::clear );
+		}
+	}
+
+	/**
+	 * Whether a connection is in a transaction, so its writes are not visible until committed
+	 *
+	 * @param connection The connection
+	 *
+	 * @return True if auto commit is off, or if it can't be told
+	 */
+	private static boolean isInTransaction( Connection connection ) {
+		try {
+			return connection != null && !connection.getAutoCommit();
+		} catch ( SQLException e ) {
+			return true;
+		}
+	}
+
+}
@@ -0,0 +1,362 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS"
+ * BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package ortus.boxlang.runtime.jdbc;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import javax.annotation.Nullable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.Array;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.Struct;
+import ortus.boxlang.runtime.types.exceptions.DatabaseException;
+
+/**
+ * A forward only cursor over the rows of an open JDBC {@link ResultSet}, returned by queries executed with
+ * <code>returnType="cursor"</code>. Rows are read from the driver one at a time as they are consumed, so result sets of any
+ * size can be processed in constant memory. Use <code>returnType="stream"</code> to get a {@link Stream} of the rows instead.
+ * <p>
+ * The cursor holds on to its JDBC connection until it is closed, which happens:
+ * <ul>
+ * <li>as soon as the last row has been read</li>
+ * <li>when {@link #close()} is called, or the stream is closed</li>
+ * <li>when the transaction it was opened in commits, rolls back or ends</li>
+ * <li>when the request that opened it ends, see {@link ConnectionManager#closeCursors()}</li>
+ * </ul>
+ * The memory used depends on the driver fetch size, see {@link QueryOptions#fetchSize}. Some drivers, like PostgreSQL, only
+ * stream rows inside a transaction and read the whole result set otherwise.
+ *
+ * <pre>
+ * cursor = queryExecute( "SELECT * FROM logs", [], { returnType : "cursor", fetchSize : 500 } );
+ * while ( cursor.hasNext() ) {
+ * 	row = cursor.next();
+ * }
+ * </pre>
+ */
+public class QueryCursor implements Iterator<IStruct>, AutoCloseable {
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Private Properties
+	 * --------------------------------------------------------------------------
+	 */
+
+	private static final Logger				logger			= LoggerFactory.getLogger( QueryCursor.class );
+
+	/**
+	 * The connection manager the connection came from, to release it on close
+	 */
+	private final @Nullable ConnectionManager	connectionManager;
+
+	/**
+	 * The connection holding the open result set
+	 */
+	private final Connection				connection;
+
+	/**
+	 * The executed statement
+	 */
+	private final Statement					statement;
+
+	/**
+	 * The result set, null when the statement returned no results
+	 */
+	private final @Nullable ResultSet		resultSet;
+
+	/**
+	 * The column names, in order
+	 */
+	private final Key[]						columns;
+
+	/**
+	 * The SQL type of each column
+	 */
+	private final int[]						sqlTypes;
+
+	/**
+	 * Whether the result set was advanced to the row {@link #next()} returns
+	 */
+	private boolean							advanced		= false;
+
+	/**
+	 * Whether there is a row to return
+	 */
+	private boolean							hasRow			= false;
+
+	/**
+	 * How many rows were read so far
+	 */
+	private long							rowCount		= 0;
+
+	/**
+	 * Whether the cursor is closed
+	 */
+	private final AtomicBoolean				closed			= new AtomicBoolean( false );
+
+	/**
+	 * Whether the cursor reads from the connection of a transaction, which owns the connection and closes it when it ends
+	 */
+	private volatile boolean				transactional	= false;
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Constructor(s)
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Create a cursor over the results of an executed statement. The cursor takes ownership of the statement and connection.
+	 *
+	 * @param connectionManager The connection manager to release the connection to, or null to close the connection directly
+	 * @param connection        The connection
+	 * @param statement         The executed statement
+	 *
+	 * @throws DatabaseException If the result set metadata can't be read
+	 */
+	public QueryCursor( @Nullable ConnectionManager connectionManager, Connection connection, Statement statement ) {
+		this.connectionManager	= connectionManager;
+		this.connection			= connection;
+		this.statement			= statement;
+		try {
+			this.resultSet = statement.getResultSet();
+			if ( this.resultSet == null ) {
+				this.columns	= new Key[ 0 ];
+				this.sqlTypes	= new int[ 0 ];
+			} else {
+				ResultSetMetaData	metaData	= this.resultSet.getMetaData();
+				int					columnCount	= metaData.getColumnCount();
+				this.columns	= new Key[ columnCount ];
+				this.sqlTypes	= new int[ columnCount ];
+				for ( int i = 0; i < columnCount; i++ ) {
+					this.columns[ i ]	= Key.of( metaData.getColumnLabel( i + 1 ) );
+					this.sqlTypes[ i ]	= metaData.getColumnType( i + 1 );
+				}
+			}
+		} catch ( SQLException e ) {
+			close();
+			throw new DatabaseException( e.getMessage(), e );
+		}
+		if ( connectionManager != null ) {
+			connectionManager.registerCursor( this );
+		}
+	}
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Iteration
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Is there another row? Closes the cursor once the last row has been read.
+	 *
+	 * @return True if {@link #next()} will return a row
+	 */
+	@Override
+	public boolean hasNext() {
+		if ( this.closed.get() || this.resultSet == null ) {
+			return false;
+		}
+		if ( !this.advanced ) {
+			try {
+				this.hasRow = this.resultSet.next();
+			} catch ( SQLException e ) {
+				close();
+				throw new DatabaseException( e.getMessage(), e );
+			}
+			this.advanced = true;
+			if ( !this.hasRow ) {
+				close();
+			}
+		}
+		return this.hasRow;
+	}
+
+	/**
+	 * Read the next row
+	 *
+	 * @return The row as a struct of column name to value
+	 *
+	 * @throws NoSuchElementException If there are no more rows
+	 */
+	@Override
+	public IStruct next() {
+		if ( !hasNext() ) {
+			throw new NoSuchElementException( "The query cursor has no more rows" );
+		}
+		this.advanced = false;
+		this.rowCount++;
+		IStruct row = new Struct( IStruct.TYPES.LINKED );
+		try {
+			for ( int i = 0; i < this.columns.length; i++ ) {
+				// The first of several columns with the same label wins, like in a Query
+				if ( !row.containsKey( this.columns[ i ] ) ) {
+					row.put( this.columns[ i ], readValue( i + 1, this.sqlTypes[ i ] ) );
+				}
+			}
+		} catch ( SQLException e ) {
+			close();
+			throw new DatabaseException( e.getMessage(), e );
+		}
+		return row;
+	}
+
+	/**
+	 * Get the remaining rows as a sequential stream. Closing the stream closes the cursor.
+	 *
+	 * @return The stream of rows
+	 */
+	public Stream<IStruct> stream() {
+		return StreamSupport
+		    .stream( Spliterators.spliteratorUnknownSize( this, Spliterator.ORDERED | Spliterator.NONNULL ), false )
+		    .onClose( this::close );
+	}
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Getters
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Get the column names
+	 *
+	 * @return The column names, in order
+	 */
+	public Array getColumnNames() {
+		Array names = new Array();
+		for ( Key column : this.columns ) {
+			names.add( column.getName() );
+		}
+		return names;
+	}
+
+	/**
+	 * Get the connection holding the open result set
+	 *
+	 * @return The connection
+	 */
+	public Connection getConnection() {
+		return this.connection;
+	}
+
+	/**
+	 * Get how many rows were read so far
+	 *
+	 * @return The row count
+	 */
+	public long getRowCount() {
+		return this.rowCount;
+	}
+
+	/**
+	 * Is the cursor closed?
+	 *
+	 * @return True once closed, explicitly or because all rows were read
+	 */
+	public boolean isClosed() {
+		return this.closed.get();
+	}
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Life Cycle Methods
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Close the result set and statement and release the connection, unless it belongs to the transaction the cursor was opened
+	 * in. Safe to call more than once.
+	 */
+	@Override
+	public void close() {
+		if ( !this.closed.compareAndSet( false, true ) ) {
+			return;
+		}
+		try {
+			if ( this.resultSet != null ) {
+				this.resultSet.close();
+			}
+			this.statement.close();
+		} catch ( SQLException e ) {
+			logger.warn( "Error closing query cursor: {}", e.getMessage() );
+		} finally {
+			if ( this.connectionManager != null ) {
+				this.connectionManager.unregisterCursor( this );
+			}
+			// Not through ConnectionManager.releaseConnection(), which keeps every connection while any transaction is active, even
+			// those of cursors opened before the transaction or on another datasource
+			if ( !this.transactional ) {
+				try {
+					this.connection.close();
+				} catch ( SQLException e ) {
+					logger.warn( "Error closing query cursor connection: {}", e.getMessage() );
+				}
+			}
+		}
+	}
+
+	/**
+	 * Mark the cursor as reading from the connection of a transaction, called by the transaction when it tracks the cursor. The
+	 * connection is then left open on close, for the transaction to commit and release.
+	 */
+	void markTransactional() {
+		this.transactional = true;
+	}
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Private Helpers
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Read a column of the current row, with the primitive getters for the numeric types, like {@code Query.fromResultSet()}
+	 */
+	private Object readValue( int column, int sqlType ) throws SQLException {
+		Object value;
+		switch ( sqlType ) {
+			case Types.INTEGER :
+				value = this.resultSet.getInt( column );
+				break;
+			case Types.BIGINT :
+				value = this.resultSet.getLong( column );
+				break;
+			case Types.DOUBLE, Types.FLOAT :
+				value = this.resultSet.getDouble( column );
+				break;
+			default :
+				return this.resultSet.getObject( column );
+		}
+		return this.resultSet.wasNull() ? null : value;
+	}
+
+}
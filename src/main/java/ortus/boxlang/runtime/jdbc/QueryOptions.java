@@ -27,6 +27,7 @@ import ortus.boxlang.runtime.BoxRuntime;
 import ortus.boxlang.runtime.context.IBoxContext;
 import ortus.boxlang.runtime.dynamic.casters.BooleanCaster;
 import ortus.boxlang.runtime.dynamic.casters.CastAttempt;
+import ortus.boxlang.runtime.dynamic.casters.IntegerCaster;
 import ortus.boxlang.runtime.dynamic.casters.StringCaster;
 import ortus.boxlang.runtime.scopes.Key;
 import ortus.boxlang.runtime.services.CacheService;
@@ -41,7 +42,8 @@ import ortus.boxlang.runtime.types.meta.BoxMeta;
  * The following options are supported:
  * <ul>
  * <li><code>datasource</code> - The name of the datasource to use. If not provided, the default datasource will be used.
- * <li><code>returnType</code> - The type to return the query results as. Can be <code>query</code>, <code>array</code>, or <code>struct</code>.
+ * <li><code>returnType</code> - The type to return the query results as. Can be <code>query</code>, <code>array</code>, <code>struct</code>,
+ * <code>cursor</code> or <code>stream</code>. The last two read the rows lazily, see {@link QueryCursor}.
  * <li><code>result</code> - The name of the variable to store the query results in.
  * <li><code>columnKey</code> - The name of the column to use as the key in the result struct when <code>returnType</code> is <code>struct</code>.
  * This is only used, but <strong>required</strong>, when <code>returnType</code> is <code>struct</code>.
@@ -49,6 +51,9 @@ import ortus.boxlang.runtime.types.meta.BoxMeta;
  * <li><code>password</code> - The password to use when connecting to the datasource.
  * <li><code>timeout</code> - The number of seconds to wait for the query to execute before timing out.
  * <li><code>maxRows</code> - The maximum number of rows to return from the query.
+ * <li><code>batch</code> - Execute the SQL once per parameter set, the bindings being an array of parameter arrays or structs. See
+ * {@link PendingQuery#executeBatch(ConnectionManager)}.
+ * <li><code>batchSize</code> - How many parameter sets to send to the database at a time in batch mode. Defaults to {@value #DEFAULT_BATCH_SIZE}.
  * </ul>
  */
 public class QueryOptions {
@@ -59,6 +64,11 @@ public class QueryOptions {
 	 * --------------------------------------------------------------------------
 	 */
 
+	/**
+	 * The number of parameter sets sent to the database at a time in batch mode, unless configured
+	 */
+	public static final int			DEFAULT_BATCH_SIZE	= 1000;
+
 	/**
 	 * The query options struct
 	 */
@@ -69,6 +79,11 @@ public class QueryOptions {
 	 */
 	public final Object				datasource;
 
+	/**
+	 * The database type. {@code query} runs the SQL against queries in scope instead of a datasource.
+	 */
+	public final @Nullable String	dbtype;
+
 	/**
 	 * The result variable name
 	 */
@@ -154,6 +169,16 @@ public class QueryOptions {
 	 */
 	public final Duration			cacheLastAccessTimeout;
 
+	/**
+	 * Whether the bindings are a list of parameter sets to execute as a JDBC batch.
+	 */
+	public final boolean			batch;
+
+	/**
+	 * How many parameter sets to send to the database at a time in batch mode.
+	 */
+	public final int				batchSize;
+
 	/**
 	 * --------------------------------------------------------------------------
 	 * Constructor(s)
@@ -176,6 +201,7 @@ public class QueryOptions {
 		this.password				= options.getAsString( Key.password );
 		this.queryTimeout			= options.getAsInteger( Key.timeout );
 		this.datasource				= options.get( Key.datasource );
+		this.dbtype					= options.getAsString( Key.dbtype );
 		this.fetchSize				= ( Integer ) options.getOrDefault( Key.fetchSize, 0 );
 
 		// Caching options
@@ -188,6 +214,13 @@ public class QueryOptions {
 		Integer intMaxRows = options.getAsInteger( Key.maxRows );
 		this.maxRows = Long.valueOf( intMaxRows != null ? intMaxRows : -1 );
 
+		// Batch options
+		this.batch		= BooleanCaster.attempt( options.get( Key.batch ) ).getOrDefault( false );
+		this.batchSize	= IntegerCaster.attempt( options.get( Key.batchSize ) ).getOrDefault( DEFAULT_BATCH_SIZE );
+		if ( this.batchSize < 1 ) {
+			throw new BoxRuntimeException( "The `batchSize` option must be greater than zero." );
+		}
+
 		determineReturnType();
 	}
 
@@ -206,6 +239,15 @@ public class QueryOptions {
 		return this.resultVariableName != null;
 	}
 
+	/**
+	 * Is this a Query of Queries, i.e. {@code dbtype="query"}?
+	 *
+	 * @return True if the SQL runs against queries in scope
+	 */
+	public boolean isQueryOfQueries() {
+		return "query".equalsIgnoreCase( this.dbtype );
+	}
+
 	/*
 	 * Get the `returnType` query option.
 	 */
@@ -229,6 +271,31 @@ public class QueryOptions {
 		};
 	}
 
+	/**
+	 * Does the query stream its rows instead of reading them all, i.e. <code>returnType</code> is <code>cursor</code> or
+	 * <code>stream</code>?
+	 *
+	 * @return True if the query should be executed with {@link PendingQuery#executeCursor(ConnectionManager)}
+	 */
+	public boolean wantsCursor() {
+		return this.returnType.equals( "cursor" ) || this.returnType.equals( "stream" );
+	}
+
+	/**
+	 * Get the streamed query results as the configured return type.
+	 *
+	 * @param cursor The cursor over the query results
+	 *
+	 * @return The cursor itself, or a stream of its rows
+	 */
+	public Object castAsReturnType( QueryCursor cursor ) {
+		return switch ( this.returnType ) {
+			case "cursor" -> cursor;
+			case "stream" -> cursor.stream();
+			default -> throw new BoxRuntimeException( "Return type [" + returnType + "] can't be used with a query cursor" );
+		};
+	}
+
 	/**
 	 * --------------------------------------------------------------------------
 	 * Private Helpers
@@ -255,7 +322,7 @@ public class QueryOptions {
 		String				returnTypeString	= returnTypeAsString.getOrDefault( "query" );
 
 		switch ( returnTypeString ) {
-			case "query", "array" -> this.returnType = returnTypeString;
+			case "query", "array", "cursor", "stream" -> this.returnType = returnTypeString;
 			case "struct" -> {
 				this.columnKey = options.getAsString( Key.columnKey );
 				if ( this.columnKey == null ) {
@@ -0,0 +1,278 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS"
+ * BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package ortus.boxlang.runtime.jdbc;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * The tables a SQL string touches, and whether it can change them, as far as a quick scan of the SQL can tell.
+ * <p>
+ * This is not a SQL parser: it tokenizes the SQL, skipping comments and string literals, and takes the names following <code>FROM</code>,
+ * <code>JOIN</code>, <code>INTO</code>, <code>UPDATE</code>, <code>TABLE</code> and <code>USING</code>, plus the comma separated tables of a
+ * <code>FROM</code> list. Names are lower cased and stripped of their quotes and schema, so <code>dbo."Users"</code> and <code>users</code>
+ * are the same table. It errs on the side of too many tables: aliases of common table expressions and the like are taken as tables too.
+ * <p>
+ * Anything but a <code>SELECT</code>, <code>WITH</code>, <code>VALUES</code>, <code>SHOW</code>, <code>DESCRIBE</code> or <code>EXPLAIN</code>
+ * is taken as a write, so a stored procedure call or DDL counts as one. A write without any table found, like <code>CALL</code>, may have
+ * changed any table.
+ *
+ * @param write  Whether the SQL can change data
+ * @param tables The lower cased table names, without schema
+ */
+public record SQLTables( boolean write, Set<String> tables ) {
+
+	/**
+	 * Statements which only read
+	 */
+	private static final Set<String>	READ_STATEMENTS	= Set.of( "select", "with", "values", "show", "describe", "desc", "explain" );
+
+	/**
+	 * Statements which write, when found in a <code>WITH</code> statement
+	 */
+	private static final Set<String>	WRITE_KEYWORDS	= Set.of( "insert", "update", "delete", "merge" );
+
+	/**
+	 * Keywords followed by a table name
+	 */
+	private static final Set<String>	TABLE_KEYWORDS	= Set.of( "from", "join", "into", "update", "table", "using" );
+
+	/**
+	 * Keywords which can sit between a table keyword and the table name
+	 */
+	private static final Set<String>	TABLE_MODIFIERS	= Set.of( "only", "lateral", "if", "not", "exists" );
+
+	/**
+	 * Keywords which can follow a table name, and so are never an alias
+	 */
+	private static final Set<String>	CLAUSES			= Set.of(
+	    "where", "join", "inner", "left", "right", "full", "cross", "outer", "natural", "on", "using", "group", "order", "having", "limit",
+	    "offset", "fetch", "union", "except", "intersect", "minus", "set", "values", "select", "window", "for", "with", "returning", "when",
+	    "straight_join", "partition", "tablesample", "default", "output"
+	);
+
+	/**
+	 * Scan a SQL string
+	 *
+	 * @param sql The SQL, which may have several statements separated by semicolons
+	 *
+	 * @return The tables and whether any statement writes
+	 */
+	public static SQLTables of( String sql ) {
+		List<String>	tokens		= tokenize( sql );
+		Set<String>		tables		= new LinkedHashSet<>();
+		boolean			write		= false;
+		boolean			statement	= true;
+
+		for ( int i = 0; i < tokens.size(); i++ ) {
+			String token = tokens.get( i );
+			if ( token.equals( ";" ) ) {
+				statement = true;
+				continue;
+			}
+			if ( statement && !token.equals( "(" ) ) {
+				// The first word of a statement tells reads from writes
+				statement = false;
+				if ( !READ_STATEMENTS.contains( token ) ) {
+					write = true;
+				}
+				if ( token.equals( "with" ) ) {
+					write = write || writesInCommonTableExpression( tokens, i );
+				}
+				if ( token.equals( "delete" ) && i + 1 < tokens.size() && isName( tokens.get( i + 1 ) ) && !tokens.get( i + 1 ).equals( "from" ) ) {
+					// DELETE t FROM t JOIN ...
+					tables.add( name( tokens.get( i + 1 ) ) );
+				}
+			}
+			if ( !TABLE_KEYWORDS.contains( token ) ) {
+				continue;
+			}
+			int next = i + 1;
+			while ( next < tokens.size() && TABLE_MODIFIERS.contains( tokens.get( next ) ) ) {
+				next++;
+			}
+			// FROM a, b x, c AS y
+			while ( next < tokens.size() && isName( tokens.get( next ) ) && !CLAUSES.contains( tokens.get( next ) ) ) {
+				tables.add( name( tokens.get( next ) ) );
+				next++;
+				if ( !token.equals( "from" ) ) {
+					break;
+				}
+				if ( next < tokens.size() && tokens.get( next ).equals( "as" ) ) {
+					next++;
+				}
+				if ( next < tokens.size() && isName( tokens.get( next ) ) && !CLAUSES.contains( tokens.get( next ) ) ) {
+					next++;
+				}
+				if ( next >= tokens.size() || !tokens.get( next ).equals( "," ) ) {
+					break;
+				}
+				next++;
+			}
+		}
+		return new SQLTables( write, Set.copyOf( tables ) );
+	}
+
+	/**
+	 * Whether this SQL may have changed any table, because it writes but no table was found
+	 *
+	 * @return True if every table should be considered changed
+	 */
+	public boolean writesAnyTable() {
+		return this.write && this.tables.isEmpty();
+	}
+
+	/**
+	 * Whether a <code>WITH</code> statement ends in a write, like <code>WITH x AS (...) DELETE FROM ...</code>. <code>SELECT ... FOR UPDATE</code>
+	 * doesn't count.
+	 *
+	 * @param tokens The tokens
+	 * @param start  The index of the <code>WITH</code>
+	 *
+	 * @return True if the statement writes
+	 */
+	private static boolean writesInCommonTableExpression( List<String> tokens, int start ) {
+		for ( int i = start + 1; i < tokens.size() && !tokens.get( i ).equals( ";" ); i++ ) {
+			if ( WRITE_KEYWORDS.contains( tokens.get( i ) ) && !tokens.get( i - 1 ).equals( "for" ) ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Whether a token is a name, as opposed to punctuation or a string literal
+	 *
+	 * @param token The token
+	 *
+	 * @return True if it's a name
+	 */
+	private static boolean isName( String token ) {
+		return !token.isEmpty() && token.charAt( 0 ) != '\'' && ( Character.isLetterOrDigit( token.charAt( 0 ) ) || "_$@#\"`[".indexOf( token.charAt( 0 ) ) >= 0 );
+	}
+
+	/**
+	 * Normalize a table name: the last part of a qualified name, without quotes
+	 *
+	 * @param token The name token
+	 *
+	 * @return The table name
+	 */
+	private static String name( String token ) {
+		String name = token.substring( token.lastIndexOf( '.' ) + 1 );
+		if ( name.length() >= 2 && "\"`[".indexOf( name.charAt( 0 ) ) >= 0 ) {
+			name = name.substring( 1, name.length() - 1 );
+		}
+		return name;
+	}
+
+	/**
+	 * Split SQL into lower cased tokens: qualified names, with their quotes, single characters of punctuation and string literals, which are
+	 * all reduced to a single quote. Whitespace and comments are dropped.
+	 *
+	 * @param sql The SQL
+	 *
+	 * @return The tokens
+	 */
+	private static List<String> tokenize( String sql ) {
+		List<String>	tokens	= new ArrayList<>();
+		int				length	= sql.length();
+		int				i		= 0;
+		while ( i < length ) {
+			char c = sql.charAt( i );
+			if ( Character.isWhitespace( c ) ) {
+				i++;
+			} else if ( c == '-' && i + 1 < length && sql.charAt( i + 1 ) == '-' ) {
+				int end = sql.indexOf( '\n', i );
+				i = end < 0 ? length : end + 1;
+			} else if ( c == '/' && i + 1 < length && sql.charAt( i + 1 ) == '*' ) {
+				int end = sql.indexOf( "*/", i + 2 );
+				i = end < 0 ? length : end + 2;
+			} else if ( c == '\'' ) {
+				i = skipQuoted( sql, i, '\'' );
+				tokens.add( "'" );
+			} else if ( isNameStart( c ) ) {
+				int start = i;
+				while ( true ) {
+					i = isQuote( sql.charAt( i ) ) ? skipQuoted( sql, i, closingQuote( sql.charAt( i ) ) ) : skipWord( sql, i );
+					// schema.table, "schema"."table"
+					if ( i + 1 < length && sql.charAt( i ) == '.' && isNameStart( sql.charAt( i + 1 ) ) ) {
+						i++;
+						continue;
+					}
+					break;
+				}
+				tokens.add( sql.substring( start, i ).toLowerCase( Locale.ROOT ) );
+			} else {
+				tokens.add( String.valueOf( c ) );
+				i++;
+			}
+		}
+		return tokens;
+	}
+
+	private static boolean isNameStart( char c ) {
+		return Character.isLetterOrDigit( c ) || c == '_' || c == '$' || c == '@' || c == '#' || isQuote( c );
+	}
+
+	private static boolean isQuote( char c ) {
+		return c == '"' || c == '`' || c == '[';
+	}
+
+	private static char closingQuote( char c ) {
+		return c == '[' ? ']' : c;
+	}
+
+	/**
+	 * Skip a quoted string or identifier, where a doubled quote is an escaped one
+	 *
+	 * @return The index after the closing quote
+	 */
+	private static int skipQuoted( String sql, int start, char quote ) {
+		int i = start + 1;
+		while ( i < sql.length() ) {
+			if ( sql.charAt( i ) == quote ) {
+				if ( i + 1 < sql.length() && sql.charAt( i + 1 ) == quote ) {
+					i += 2;
+					continue;
+				}
+				return i + 1;
+			}
+			i++;
+		}
+		return sql.length();
+	}
+
+	/**
+	 * Skip an unquoted word
+	 *
+	 * @return The index after the word
+	 */
+	private static int skipWord( String sql, int start ) {
+		int i = start;
+		while ( i < sql.length() ) {
+			char c = sql.charAt( i );
+			if ( !Character.isLetterOrDigit( c ) && c != '_' && c != '$' && c != '@' && c != '#' ) {
+				break;
+			}
+			i++;
+		}
+		return i;
+	}
+
+}
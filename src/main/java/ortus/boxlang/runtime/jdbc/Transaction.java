@@ -22,6 +22,8 @@ import java.sql.SQLException;
 import java.sql.Savepoint;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import ortus.boxlang.runtime.BoxRuntime;
 import ortus.boxlang.runtime.events.BoxEvent;
@@ -67,6 +69,11 @@ public class Transaction implements ITransaction {
 	 */
 	private Map<Key, Savepoint>	savepoints				= new HashMap<>();
 
+	/**
+	 * The cursors reading from the transaction connection, closed when the transaction commits, rolls back or ends.
+	 */
+	private Set<QueryCursor>	cursors					= ConcurrentHashMap.newKeySet();
+
 	/**
 	 * --------------------------------------------------------------------------
 	 * Constructor(s)
@@ -183,12 +190,14 @@ public class Transaction implements ITransaction {
 		BoxRuntime.getInstance().getInterceptorService()
 		    .announce( BoxEvent.ON_TRANSACTION_COMMIT, eventData );
 		if ( this.connection != null ) {
+			closeCursors();
 			try {
 				logger.debug( "Committing transaction" );
 				this.connection.commit();
 			} catch ( SQLException e ) {
 				throw new DatabaseException( "Failed to commit transaction: " + e.getMessage(), e );
 			}
+			clearStaleQueries();
 		}
 		return this;
 	}
@@ -217,6 +226,7 @@ public class Transaction implements ITransaction {
 		    .announce( BoxEvent.ON_TRANSACTION_ROLLBACK, eventData );
 
 		if ( this.connection != null ) {
+			closeCursors();
 			try {
 				if ( savepoint != null && savepoint != Key.nulls ) {
 					if ( !savepoints.containsKey( savepoint ) ) {
@@ -276,6 +286,7 @@ public class Transaction implements ITransaction {
 		    .announce( BoxEvent.ON_TRANSACTION_END, eventData );
 
 		if ( this.connection != null ) {
+			closeCursors();
 			try {
 				logger.debug( "Ending transaction, resetting connection properties, and releasing connection to connection pool" );
 
@@ -290,6 +301,9 @@ public class Transaction implements ITransaction {
 					this.connection.setAutoCommit( true );
 				}
 
+				// Queries cached in the transaction may hold changes which were rolled back
+				clearStaleQueries();
+
 				if ( this.isolationLevel != null ) {
 					this.connection.setTransactionIsolation( this.originalIsolationLevel );
 				}
@@ -300,4 +314,37 @@ public class Transaction implements ITransaction {
 		}
 		return this;
 	}
+
+	/**
+	 * Track a cursor opened inside the transaction, if it reads from the transaction connection.
+	 *
+	 * @param cursor The cursor
+	 */
+	public Transaction registerCursor( QueryCursor cursor ) {
+		if ( this.connection != null && cursor.getConnection() == this.connection ) {
+			cursor.markTransactional();
+			this.cursors.add( cursor );
+		}
+		return this;
+	}
+
+	/**
+	 * Close the cursors reading from the transaction connection, before it commits, rolls back or is released.
+	 */
+	private void closeCursors() {
+		for ( QueryCursor cursor : this.cursors ) {
+			cursor.close();
+		}
+		this.cursors.clear();
+	}
+
+	/**
+	 * Clear the cached queries of the tables written in this transaction, now that the writes are visible or rolled back.
+	 */
+	private void clearStaleQueries() {
+		QueryCacheIndex queryCacheIndex = this.datasource == null ? null : this.datasource.getQueryCacheIndex();
+		if ( queryCacheIndex != null ) {
+			queryCacheIndex.afterTransaction( this.connection );
+		}
+	}
 }
@@ -0,0 +1,105 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.runtime.jdbc.qoq;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.types.Query;
+
+/**
+ * The entry point of the native Query of Queries engine, used for {@code dbtype="query"}.
+ * <p>
+ * Queries are selected, filtered, joined, grouped and ordered in memory, directly on the columnar storage of the source
+ * queries. Parsed statements are cached by SQL text, so the same QoQ in a loop is only parsed once.
+ *
+ * <pre>
+ * Query result = QoQEngine.execute( context, "SELECT name FROM qUsers WHERE age &gt; ? ORDER BY name", List.of( 21 ), -1 );
+ * </pre>
+ */
+public final class QoQEngine {
+
+	/**
+	 * How many parsed statements to keep
+	 */
+	public static final int							STATEMENT_CACHE_SIZE	= 256;
+
+	/**
+	 * The parsed statements, by SQL text, least recently used first
+	 */
+	private static final Map<String, QoQStatement>	statements				= Collections.synchronizedMap(
+	    new LinkedHashMap<>( 64, 0.75f, true ) {
+
+		    private static final long serialVersionUID = 1L;
+
+		    @Override
+		    protected boolean removeEldestEntry( Map.Entry<String, QoQStatement> eldest ) {
+			    return size() > STATEMENT_CACHE_SIZE;
+		    }
+	    }
+	);
+
+	/**
+	 * Private constructor, static entry points only
+	 */
+	private QoQEngine() {
+	}
+
+	/**
+	 * Execute a Query of Queries
+	 *
+	 * @param context The context the source queries are resolved in
+	 * @param sql     The SQL, with {@code ?} placeholders for the parameters
+	 * @param params  The parameter values, in order
+	 * @param maxRows The max number of rows to return, -1 or 0 for all
+	 *
+	 * @return The resulting query
+	 *
+	 * @throws ortus.boxlang.runtime.types.exceptions.DatabaseException If the SQL is invalid or can't be executed
+	 */
+	public static Query execute( IBoxContext context, String sql, List<Object> params, long maxRows ) {
+		return new QoQExecutor( parse( sql ), context, params.toArray(), maxRows > 0 ? maxRows : -1 ).execute();
+	}
+
+	/**
+	 * Parse a Query of Queries, using the cached statement when the same SQL was parsed before
+	 *
+	 * @param sql The SQL
+	 *
+	 * @return The parsed statement
+	 */
+	public static QoQStatement parse( String sql ) {
+		QoQStatement statement = statements.get( sql );
+		if ( statement == null ) {
+			statement = QoQParser.parse( sql );
+			statements.put( sql, statement );
+		}
+		return statement;
+	}
+
+	/**
+	 * Clear the parsed statement cache
+	 */
+	public static void clearCache() {
+		statements.clear();
+	}
+
+}
@@ -0,0 +1,1810 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.runtime.jdbc.qoq;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.dynamic.ExpressionInterpreter;
+import ortus.boxlang.runtime.dynamic.casters.BooleanCaster;
+import ortus.boxlang.runtime.dynamic.casters.CastAttempt;
+import ortus.boxlang.runtime.dynamic.casters.DateTimeCaster;
+import ortus.boxlang.runtime.dynamic.casters.DoubleCaster;
+import ortus.boxlang.runtime.dynamic.casters.IntegerCaster;
+import ortus.boxlang.runtime.dynamic.casters.LongCaster;
+import ortus.boxlang.runtime.dynamic.casters.NumberCaster;
+import ortus.boxlang.runtime.dynamic.casters.QueryCaster;
+import ortus.boxlang.runtime.dynamic.casters.StringCaster;
+import ortus.boxlang.runtime.jdbc.qoq.QoQStatement.Between;
+import ortus.boxlang.runtime.jdbc.qoq.QoQStatement.Binary;
+import ortus.boxlang.runtime.jdbc.qoq.QoQStatement.Call;
+import ortus.boxlang.runtime.jdbc.qoq.QoQStatement.Case;
+import ortus.boxlang.runtime.jdbc.qoq.QoQStatement.Cast;
+import ortus.boxlang.runtime.jdbc.qoq.QoQStatement.Column;
+import ortus.boxlang.runtime.jdbc.qoq.QoQStatement.Expr;
+import ortus.boxlang.runtime.jdbc.qoq.QoQStatement.In;
+import ortus.boxlang.runtime.jdbc.qoq.QoQStatement.IsNull;
+import ortus.boxlang.runtime.jdbc.qoq.QoQStatement.JoinType;
+import ortus.boxlang.runtime.jdbc.qoq.QoQStatement.Like;
+import ortus.boxlang.runtime.jdbc.qoq.QoQStatement.Literal;
+import ortus.boxlang.runtime.jdbc.qoq.QoQStatement.Negate;
+import ortus.boxlang.runtime.jdbc.qoq.QoQStatement.Not;
+import ortus.boxlang.runtime.jdbc.qoq.QoQStatement.OrderItem;
+import ortus.boxlang.runtime.jdbc.qoq.QoQStatement.Param;
+import ortus.boxlang.runtime.jdbc.qoq.QoQStatement.Select;
+import ortus.boxlang.runtime.jdbc.qoq.QoQStatement.SelectItem;
+import ortus.boxlang.runtime.jdbc.qoq.QoQStatement.TableRef;
+import ortus.boxlang.runtime.operators.Compare;
+import ortus.boxlang.runtime.operators.Divide;
+import ortus.boxlang.runtime.operators.Minus;
+import ortus.boxlang.runtime.operators.Modulus;
+import ortus.boxlang.runtime.operators.Multiply;
+import ortus.boxlang.runtime.operators.Plus;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.DateTime;
+import ortus.boxlang.runtime.types.Query;
+import ortus.boxlang.runtime.types.QueryColumn;
+import ortus.boxlang.runtime.types.QueryColumnStorage;
+import ortus.boxlang.runtime.types.QueryColumnStorage.DoubleStorage;
+import ortus.boxlang.runtime.types.QueryColumnStorage.IntStorage;
+import ortus.boxlang.runtime.types.QueryColumnStorage.LongStorage;
+import ortus.boxlang.runtime.types.QueryColumnType;
+import ortus.boxlang.runtime.types.exceptions.DatabaseException;
+
+/**
+ * Executes a parsed {@link QoQStatement} against the queries in scope.
+ * <p>
+ * The pipeline for every select is:
+ * <ol>
+ * <li>Resolve the tables and bind column references to the column storage of each table</li>
+ * <li>Split the where clause into conjuncts and push the single table ones down to a column at a time scan of that table.
+ * Comparisons of a numeric column against a number run directly on the primitive storage.</li>
+ * <li>Join the tables left to right, using a hash join when the condition contains an equality between the tables</li>
+ * <li>Hash aggregate when there is a group by or aggregate function</li>
+ * <li>Project, de-duplicate, order (with a bounded heap when there is a limit) and limit</li>
+ * </ol>
+ * Rows flowing through the joins are {@code int[]} tuples holding one row number per table, -1 being the null row of an outer join,
+ * so no values are copied until the projection.
+ * <p>
+ * Executors are single use, see {@link QoQEngine}.
+ */
+final class QoQExecutor {
+
+	/**
+	 * The statement to run
+	 */
+	private final QoQStatement	statement;
+
+	/**
+	 * The context to resolve tables in
+	 */
+	private final IBoxContext	context;
+
+	/**
+	 * The parameter values
+	 */
+	private final Object[]		params;
+
+	/**
+	 * The max rows requested by the caller, or -1
+	 */
+	private final long			maxRows;
+
+	/**
+	 * Constructor
+	 *
+	 * @param statement The statement
+	 * @param context   The context to resolve tables in
+	 * @param params    The parameter values
+	 * @param maxRows   The max number of rows to return, or -1 for all
+	 */
+	QoQExecutor( QoQStatement statement, IBoxContext context, Object[] params, long maxRows ) {
+		this.statement	= statement;
+		this.context	= context;
+		this.params		= params;
+		this.maxRows	= maxRows;
+		if ( params.length < statement.getParameterCount() ) {
+			throw new DatabaseException(
+			    "The QoQ statement expects " + statement.getParameterCount() + " parameters but only " + params.length + " were provided"
+			);
+		}
+	}
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Execution
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Run the statement
+	 *
+	 * @return The resulting query
+	 */
+	Query execute() {
+		List<Select>	selects		= this.statement.getSelects();
+		boolean			simple		= this.statement.isSimple();
+		long			offset		= this.statement.getOffset();
+		long			limit		= minLimit( this.statement.getLimit(), this.maxRows );
+		if ( simple ) {
+			limit = minLimit( limit, selects.get( 0 ).top() );
+		}
+		long	end			= limit < 0 ? -1 : offset + limit;
+
+		// The first select defines the columns
+		SelectPlan		first	= new SelectPlan( selects.get( 0 ), simple ? this.statement.getOrderBy() : List.of() );
+		List<Object[]>	rows;
+		if ( simple ) {
+			// Stream the rows and stop early when nothing needs to see all of them
+			boolean canStop = end >= 0 && this.statement.getOrderBy().isEmpty() && !first.aggregate && !first.select.distinct();
+			rows = first.run( canStop ? end : -1 );
+		} else {
+			rows = first.run( selects.get( 0 ).top() );
+			for ( int i = 1; i < selects.size(); i++ ) {
+				SelectPlan plan = new SelectPlan( selects.get( i ), List.of() );
+				if ( plan.outputNames.size() != first.outputNames.size() ) {
+					throw new DatabaseException( "All selects of a UNION must return the same number of columns" );
+				}
+				rows.addAll( plan.run( selects.get( i ).top() ) );
+				if ( !this.statement.getUnionAll().get( i - 1 ) ) {
+					rows = distinct( rows, first.outputNames.size() );
+				}
+			}
+		}
+
+		// Order, with a bounded heap when we only need the first rows
+		List<OrderItem> orderBy = this.statement.getOrderBy();
+		if ( !orderBy.isEmpty() ) {
+			rows = sort( rows, first.orderKeys( orderBy ), orderBy, end );
+		}
+
+		// Offset and limit
+		int	from	= ( int ) Math.min( offset, rows.size() );
+		int	to		= end < 0 ? rows.size() : ( int ) Math.min( end, rows.size() );
+		if ( from > 0 || to < rows.size() ) {
+			rows = rows.subList( from, to );
+		}
+
+		return first.toQuery( rows );
+	}
+
+	/**
+	 * Combine two limits where -1 means no limit
+	 */
+	private static long minLimit( long a, long b ) {
+		if ( a < 0 ) {
+			return b;
+		}
+		return b < 0 ? a : Math.min( a, b );
+	}
+
+	/**
+	 * Remove duplicate rows, keeping the first occurrence
+	 *
+	 * @param rows  The rows
+	 * @param width How many leading values make up the row, the rest are hidden sort keys
+	 *
+	 * @return The distinct rows
+	 */
+	private static List<Object[]> distinct( List<Object[]> rows, int width ) {
+		Set<ValuesKey>	seen	= new HashSet<>();
+		List<Object[]>	result	= new ArrayList<>();
+		for ( Object[] row : rows ) {
+			Object[] values = width == row.length ? row : Arrays.copyOf( row, width );
+			if ( seen.add( new ValuesKey( values ) ) ) {
+				result.add( row );
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Sort the rows
+	 *
+	 * @param rows    The rows
+	 * @param keys    For each order item, the index of the value holding its key
+	 * @param orderBy The order items
+	 * @param end     How many rows are needed, or -1 for all
+	 *
+	 * @return The sorted rows
+	 */
+	private static List<Object[]> sort( List<Object[]> rows, int[] keys, List<OrderItem> orderBy, long end ) {
+		int					size		= rows.size();
+		Comparator<Integer>	comparator	= null;
+		for ( int k = 0; k < keys.length; k++ ) {
+			int					key			= keys[ k ];
+			boolean				descending	= orderBy.get( k ).descending();
+			Comparator<Integer>	itemComparator;
+
+			// Purely numeric keys are compared as primitives
+			double[]			numbers		= new double[ size ];
+			boolean				numeric		= true;
+			for ( int i = 0; i < size && numeric; i++ ) {
+				Object value = rows.get( i )[ key ];
+				if ( value instanceof Number number && ! ( value instanceof BigDecimal ) ) {
+					numbers[ i ] = number.doubleValue();
+				} else {
+					numeric = false;
+				}
+			}
+			if ( numeric ) {
+				itemComparator = ( a, b ) -> Double.compare( numbers[ a ], numbers[ b ] );
+			} else {
+				itemComparator = ( a, b ) -> compareValues( rows.get( a )[ key ], rows.get( b )[ key ] );
+			}
+			if ( descending ) {
+				itemComparator = itemComparator.reversed();
+			}
+			comparator = comparator == null ? itemComparator : comparator.thenComparing( itemComparator );
+		}
+		// Keep the sort stable
+		comparator = comparator.thenComparing( Comparator.naturalOrder() );
+
+		List<Integer> order;
+		if ( end >= 0 && end < size ) {
+			// Top N: keep the best rows in a max heap of the worst one
+			PriorityQueue<Integer> heap = new PriorityQueue<>( ( int ) end + 1, comparator.reversed() );
+			for ( int i = 0; i < size; i++ ) {
+				heap.offer( i );
+				if ( heap.size() > end ) {
+					heap.poll();
+				}
+			}
+			order = new ArrayList<>( heap );
+		} else {
+			order = new ArrayList<>( size );
+			for ( int i = 0; i < size; i++ ) {
+				order.add( i );
+			}
+		}
+		order.sort( comparator );
+
+		List<Object[]> sorted = new ArrayList<>( order.size() );
+		for ( Integer index : order ) {
+			sorted.add( rows.get( index ) );
+		}
+		return sorted;
+	}
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Select plan
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * The bound plan of a single select
+	 */
+	private final class SelectPlan {
+
+		final Select				select;
+		final Source[]				sources;
+		final boolean				aggregate;
+		final Map<Call, Integer>	aggregateSlots		= new LinkedHashMap<>();
+		final Map<String, Expr>		aliases				= new HashMap<>();
+		final Set<String>			expandingAliases	= new HashSet<>();
+		final List<String>			outputNames			= new ArrayList<>();
+		final List<QueryColumnType>	outputTypes			= new ArrayList<>();
+		final List<Evaluator>		outputs				= new ArrayList<>();
+		final List<Evaluator>		hiddenKeys			= new ArrayList<>();
+		final int[]					orderKeyIndexes;
+
+		/**
+		 * Bind a select
+		 *
+		 * @param select  The select
+		 * @param orderBy The order by items that may reference the tables of this select
+		 */
+		SelectPlan( Select select, List<OrderItem> orderBy ) {
+			this.select		= select;
+			this.aggregate	= select.isAggregate();
+
+			// Tables
+			this.sources	= new Source[ select.from().size() ];
+			if ( this.sources.length > 63 ) {
+				throw new DatabaseException( "A QoQ select can't use more than 63 tables" );
+			}
+			for ( int i = 0; i < this.sources.length; i++ ) {
+				TableRef table = select.from().get( i );
+				for ( int j = 0; j < i; j++ ) {
+					if ( this.sources[ j ].alias.equalsIgnoreCase( table.alias() ) ) {
+						throw new DatabaseException( "The QoQ table alias [" + table.alias() + "] is used more than once" );
+					}
+				}
+				this.sources[ i ] = new Source( table, resolveTable( table.name() ) );
+			}
+
+			// Aliases, for group by, having and order by
+			for ( SelectItem item : select.items() ) {
+				if ( item.alias() != null ) {
+					this.aliases.putIfAbsent( item.alias().toLowerCase(), item.expr() );
+				}
+			}
+
+			// Aggregates
+			if ( this.aggregate ) {
+				for ( SelectItem item : select.items() ) {
+					if ( item.expr() != null ) {
+						collectAggregates( item.expr() );
+					}
+				}
+				if ( select.having() != null ) {
+					collectAggregates( select.having() );
+				}
+			}
+
+			// Output columns
+			int position = 0;
+			for ( SelectItem item : select.items() ) {
+				if ( item.star() ) {
+					if ( this.aggregate ) {
+						throw new DatabaseException( "SELECT * can't be used with GROUP BY or aggregate functions" );
+					}
+					boolean found = false;
+					for ( int t = 0; t < this.sources.length; t++ ) {
+						Source source = this.sources[ t ];
+						if ( item.starQualifier() != null && !source.alias.equalsIgnoreCase( item.starQualifier() ) ) {
+							continue;
+						}
+						found = true;
+						for ( int c = 0; c < source.names.length; c++ ) {
+							addOutput( source.names[ c ].getName(), source.types[ c ], columnEvaluator( t, c ) );
+						}
+					}
+					if ( !found ) {
+						throw new DatabaseException( "The QoQ table [" + item.starQualifier() + "] is not part of the FROM clause" );
+					}
+				} else {
+					String			name	= item.alias();
+					QueryColumnType	type	= null;
+					if ( item.expr() instanceof Column column ) {
+						int[] binding = resolveColumn( column, false );
+						if ( binding != null ) {
+							type = this.sources[ binding[ 0 ] ].types[ binding[ 1 ] ];
+						}
+						if ( name == null ) {
+							name = column.name();
+						}
+					}
+					if ( name == null ) {
+						name = "column_" + position;
+					}
+					addOutput( name, type, compile( item.expr(), this.aggregate ) );
+				}
+				position++;
+			}
+
+			// Order by keys that aren't output columns are computed as hidden values after the output ones
+			this.orderKeyIndexes = new int[ orderBy.size() ];
+			for ( int k = 0; k < orderBy.size(); k++ ) {
+				Expr	expr	= orderBy.get( k ).expr();
+				int		index	= outputIndex( expr );
+				if ( index < 0 ) {
+					if ( this.aggregate ) {
+						collectAggregates( expr );
+					}
+					index = this.outputs.size() + this.hiddenKeys.size();
+					this.hiddenKeys.add( compile( expr, this.aggregate ) );
+				}
+				this.orderKeyIndexes[ k ] = index;
+			}
+		}
+
+		/**
+		 * Get the value indexes of the order by items, for the final sort
+		 *
+		 * @param orderBy The order by items of the statement
+		 *
+		 * @return The index of the value holding each key
+		 */
+		int[] orderKeys( List<OrderItem> orderBy ) {
+			if ( this.orderKeyIndexes.length == orderBy.size() ) {
+				return this.orderKeyIndexes;
+			}
+			// A union can only be ordered by its output columns
+			int[] keys = new int[ orderBy.size() ];
+			for ( int k = 0; k < keys.length; k++ ) {
+				keys[ k ] = outputIndex( orderBy.get( k ).expr() );
+				if ( keys[ k ] < 0 ) {
+					throw new DatabaseException( "The ORDER BY of a UNION can only reference the selected columns, by name or position" );
+				}
+			}
+			return keys;
+		}
+
+		/**
+		 * Find the output column an order by expression refers to, by ordinal, alias or name
+		 *
+		 * @return The index, or -1
+		 */
+		private int outputIndex( Expr expr ) {
+			if ( expr instanceof Literal literal && literal.value() instanceof Integer ordinal ) {
+				if ( ordinal < 1 || ordinal > this.outputNames.size() ) {
+					throw new DatabaseException( "The ORDER BY position [" + ordinal + "] is out of range" );
+				}
+				return ordinal - 1;
+			}
+			if ( expr instanceof Column column && column.table() == null ) {
+				for ( int i = 0; i < this.outputNames.size(); i++ ) {
+					if ( this.outputNames.get( i ).equalsIgnoreCase( column.name() ) ) {
+						return i;
+					}
+				}
+			}
+			return -1;
+		}
+
+		private void addOutput( String name, QueryColumnType type, Evaluator evaluator ) {
+			this.outputNames.add( name );
+			this.outputTypes.add( type );
+			this.outputs.add( evaluator );
+		}
+
+		private void collectAggregates( Expr expr ) {
+			if ( expr instanceof Call call && call.isAggregate() ) {
+				for ( Expr arg : call.args() ) {
+					if ( QoQStatement.containsAggregate( arg ) ) {
+						throw new DatabaseException( "Aggregate functions can't be nested" );
+					}
+				}
+				this.aggregateSlots.putIfAbsent( call, this.aggregateSlots.size() );
+				return;
+			}
+			if ( expr instanceof Column column ) {
+				if ( resolveColumn( column, false ) == null ) {
+					withAlias( column, aliased -> {
+						collectAggregates( aliased );
+						return Boolean.TRUE;
+					} );
+				}
+				return;
+			}
+			List<Expr> children = new ArrayList<>();
+			QoQStatement.collectChildren( expr, children );
+			for ( Expr child : children ) {
+				collectAggregates( child );
+			}
+		}
+
+		/**
+		 * Run the select
+		 *
+		 * @param stopAt Stop once this many rows are produced, or -1
+		 *
+		 * @return The output rows, with any hidden order keys after the output values
+		 */
+		List<Object[]> run( long stopAt ) {
+			Frame			frame	= new Frame( QoQExecutor.this.params );
+			List<int[]>		tuples	= join( frame, this.aggregate || this.select.distinct() ? -1 : stopAt );
+			List<Object[]>	rows	= new ArrayList<>();
+			int				width	= this.outputs.size() + this.hiddenKeys.size();
+
+			if ( this.aggregate ) {
+				for ( Group group : aggregate( frame, tuples ) ) {
+					frame.aggregates = group.results();
+					rows.add( project( frame, group.tuple, width ) );
+				}
+			} else {
+				for ( int[] tuple : tuples ) {
+					rows.add( project( frame, tuple, width ) );
+				}
+			}
+
+			if ( this.select.distinct() ) {
+				rows = distinct( rows, this.outputs.size() );
+			}
+			if ( stopAt >= 0 && rows.size() > stopAt ) {
+				rows = new ArrayList<>( rows.subList( 0, ( int ) stopAt ) );
+			}
+			return rows;
+		}
+
+		private Object[] project( Frame frame, int[] tuple, int width ) {
+			Object[]	row		= new Object[ width ];
+			int			outputs	= this.outputs.size();
+			for ( int i = 0; i < outputs; i++ ) {
+				row[ i ] = this.outputs.get( i ).evaluate( frame, tuple );
+			}
+			for ( int i = 0; i < this.hiddenKeys.size(); i++ ) {
+				row[ outputs + i ] = this.hiddenKeys.get( i ).evaluate( frame, tuple );
+			}
+			return row;
+		}
+
+		/**
+		 * Build the result query from the output rows
+		 *
+		 * @param rows The rows
+		 *
+		 * @return The query
+		 */
+		Query toQuery( List<Object[]> rows ) {
+			Query		result	= new Query();
+			Set<String>	names	= new HashSet<>();
+			for ( int c = 0; c < this.outputNames.size(); c++ ) {
+				// Keep the first of any duplicate column names
+				if ( !names.add( this.outputNames.get( c ).toLowerCase() ) ) {
+					continue;
+				}
+				Object[] data = new Object[ rows.size() ];
+				for ( int r = 0; r < data.length; r++ ) {
+					data[ r ] = rows.get( r )[ c ];
+				}
+				QueryColumnType type = this.outputTypes.get( c );
+				result.addColumn( Key.of( this.outputNames.get( c ) ), type != null ? type : inferType( data ), data );
+			}
+			return result;
+		}
+
+		/**
+		 * ----------------------------------------------------------------------
+		 * Scans and joins
+		 * ----------------------------------------------------------------------
+		 */
+
+		/**
+		 * Scan and join the tables, applying the where clause
+		 *
+		 * @param frame  The frame
+		 * @param stopAt Stop once this many tuples are produced, or -1
+		 *
+		 * @return The matching tuples
+		 */
+		private List<int[]> join( Frame frame, long stopAt ) {
+			int					tableCount		= this.sources.length;
+			List<List<Expr>>	tableFilters	= new ArrayList<>();
+			List<List<Expr>>	joinConditions	= new ArrayList<>();
+			for ( int i = 0; i < tableCount; i++ ) {
+				tableFilters.add( new ArrayList<>() );
+				joinConditions.add( new ArrayList<>() );
+			}
+			List<Expr> residual = new ArrayList<>();
+
+			// Join conditions: the ones on the joined table alone filter it before the join
+			for ( int j = 1; j < tableCount; j++ ) {
+				Expr on = this.select.from().get( j ).on();
+				if ( on == null ) {
+					continue;
+				}
+				for ( Expr conjunct : conjuncts( on ) ) {
+					long tables = tablesOf( conjunct );
+					if ( tables == ( 1L << j ) ) {
+						tableFilters.get( j ).add( conjunct );
+					} else if ( ( tables >>> ( j + 1 ) ) != 0 ) {
+						throw new DatabaseException( "The ON clause of [" + this.sources[ j ].alias + "] references a table joined after it" );
+					} else {
+						joinConditions.get( j ).add( conjunct );
+					}
+				}
+			}
+
+			// Where conditions: single table ones are pushed down, the others join the tables as soon as they are all there
+			if ( this.select.where() != null ) {
+				if ( QoQStatement.containsAggregate( this.select.where() ) ) {
+					throw new DatabaseException( "Aggregate functions can't be used in a WHERE clause, use HAVING" );
+				}
+				for ( Expr conjunct : conjuncts( this.select.where() ) ) {
+					long	tables	= tablesOf( conjunct );
+					int		last	= 63 - Long.numberOfLeadingZeros( tables );
+					if ( tables == 0 ) {
+						tableFilters.get( 0 ).add( conjunct );
+					} else if ( isLeftJoined( last ) ) {
+						// Applying it while joining would turn it into part of the ON clause
+						residual.add( conjunct );
+					} else if ( Long.bitCount( tables ) == 1 ) {
+						tableFilters.get( last ).add( conjunct );
+					} else {
+						joinConditions.get( last ).add( conjunct );
+					}
+				}
+			}
+
+			// Single table with everything pushed down: the scan is the result
+			if ( tableCount == 1 ) {
+				int[]		rows	= scan( frame, 0, tableFilters.get( 0 ), residual.isEmpty() ? stopAt : -1 );
+				List<int[]>	tuples	= new ArrayList<>( rows.length );
+				for ( int row : rows ) {
+					tuples.add( new int[] { row } );
+				}
+				return filter( frame, tuples, residual, stopAt );
+			}
+
+			int[]		firstRows	= scan( frame, 0, tableFilters.get( 0 ), -1 );
+			List<int[]>	tuples		= new ArrayList<>( firstRows.length );
+			for ( int row : firstRows ) {
+				int[] tuple = new int[ tableCount ];
+				Arrays.fill( tuple, -1 );
+				tuple[ 0 ] = row;
+				tuples.add( tuple );
+			}
+			for ( int j = 1; j < tableCount; j++ ) {
+				int[] right = scan( frame, j, tableFilters.get( j ), -1 );
+				tuples = joinTable( frame, tuples, j, right, joinConditions.get( j ) );
+			}
+			return filter( frame, tuples, residual, stopAt );
+		}
+
+		/**
+		 * Is the given table the right side of a LEFT JOIN? Where conditions on it can only be applied after the join.
+		 */
+		private boolean isLeftJoined( int table ) {
+			return table > 0 && this.select.from().get( table ).joinType() == JoinType.LEFT;
+		}
+
+		/**
+		 * Scan a table, applying the pushed down conditions one column at a time
+		 *
+		 * @param frame   The frame
+		 * @param table   The table index
+		 * @param filters The conditions on that table only
+		 * @param stopAt  Stop once this many rows match, or -1
+		 *
+		 * @return The matching row numbers
+		 */
+		private int[] scan( Frame frame, int table, List<Expr> filters, long stopAt ) {
+			int		size	= this.sources[ table ].size;
+			int[]	rows	= new int[ size ];
+			for ( int i = 0; i < size; i++ ) {
+				rows[ i ] = i;
+			}
+			if ( filters.isEmpty() ) {
+				return stopAt >= 0 && stopAt < size ? Arrays.copyOf( rows, ( int ) stopAt ) : rows;
+			}
+
+			int[] tuple = new int[ this.sources.length ];
+			Arrays.fill( tuple, -1 );
+
+			// With a limit, test rows one at a time so we can stop early
+			if ( stopAt >= 0 ) {
+				List<Evaluator> predicates = new ArrayList<>();
+				for ( Expr filter : filters ) {
+					predicates.add( compile( filter, false ) );
+				}
+				int count = 0;
+				for ( int i = 0; i < size && count < stopAt; i++ ) {
+					tuple[ table ] = i;
+					boolean matches = true;
+					for ( Evaluator predicate : predicates ) {
+						if ( !isTrue( predicate.evaluate( frame, tuple ) ) ) {
+							matches = false;
+							break;
+						}
+					}
+					if ( matches ) {
+						rows[ count++ ] = i;
+					}
+				}
+				return Arrays.copyOf( rows, count );
+			}
+
+			int count = size;
+			for ( Expr filter : filters ) {
+				int primitive = primitiveScan( frame, table, filter, rows, count );
+				if ( primitive >= 0 ) {
+					count = primitive;
+					continue;
+				}
+				Evaluator	predicate	= compile( filter, false );
+				int			kept		= 0;
+				for ( int i = 0; i < count; i++ ) {
+					tuple[ table ] = rows[ i ];
+					if ( isTrue( predicate.evaluate( frame, tuple ) ) ) {
+						rows[ kept++ ] = rows[ i ];
+					}
+				}
+				count = kept;
+			}
+			return count == size ? rows : Arrays.copyOf( rows, count );
+		}
+
+		/**
+		 * Filter a numeric column against a number directly on its primitive storage
+		 *
+		 * @param frame  The frame
+		 * @param table  The table
+		 * @param filter The condition
+		 * @param rows   The candidate rows, compacted in place
+		 * @param count  How many candidate rows there are
+		 *
+		 * @return The number of rows kept, or -1 if the condition isn't a primitive comparison
+		 */
+		private int primitiveScan( Frame frame, int table, Expr filter, int[] rows, int count ) {
+			if ( ! ( filter instanceof Binary binary ) ) {
+				return -1;
+			}
+			int operator = comparisonOperator( binary.operator() );
+			if ( operator < 0 ) {
+				return -1;
+			}
+			Expr	columnSide	= binary.left();
+			Expr	valueSide	= binary.right();
+			if ( ! ( columnSide instanceof Column ) ) {
+				columnSide	= binary.right();
+				valueSide	= binary.left();
+				operator	= flipOperator( operator );
+			}
+			if ( ! ( columnSide instanceof Column column ) ) {
+				return -1;
+			}
+			Object value;
+			if ( valueSide instanceof Literal literal ) {
+				value = literal.value();
+			} else if ( valueSide instanceof Param param ) {
+				value = frame.params[ param.index() ];
+			} else {
+				return -1;
+			}
+			if ( ! ( value instanceof Number number ) || value instanceof BigDecimal ) {
+				return -1;
+			}
+			int[] binding = resolveColumn( column, false );
+			if ( binding == null ) {
+				return -1;
+			}
+			QueryColumnStorage	storage		= this.sources[ table ].storage[ binding[ 1 ] ];
+			boolean				whole		= isWhole( number );
+			long				asLong		= number.longValue();
+			double				asDouble	= number.doubleValue();
+			int					kept		= 0;
+
+			if ( storage instanceof IntStorage ints ) {
+				for ( int i = 0; i < count; i++ ) {
+					int row = rows[ i ];
+					if ( !ints.isNull( row )
+					    && test( whole ? Long.compare( ints.getInt( row ), asLong ) : Double.compare( ints.getInt( row ), asDouble ), operator ) ) {
+						rows[ kept++ ] = row;
+					}
+				}
+				return kept;
+			}
+			if ( storage instanceof LongStorage longs ) {
+				for ( int i = 0; i < count; i++ ) {
+					int row = rows[ i ];
+					if ( !longs.isNull( row )
+					    && test( whole ? Long.compare( longs.getLong( row ), asLong ) : Double.compare( longs.getLong( row ), asDouble ), operator ) ) {
+						rows[ kept++ ] = row;
+					}
+				}
+				return kept;
+			}
+			if ( storage instanceof DoubleStorage doubles ) {
+				for ( int i = 0; i < count; i++ ) {
+					int row = rows[ i ];
+					if ( !doubles.isNull( row ) && test( Double.compare( doubles.getDouble( row ), asDouble ), operator ) ) {
+						rows[ kept++ ] = row;
+					}
+				}
+				return kept;
+			}
+			return -1;
+		}
+
+		/**
+		 * Join the next table
+		 *
+		 * @param frame      The frame
+		 * @param left       The tuples so far
+		 * @param table      The table to join
+		 * @param right      The candidate rows of that table
+		 * @param conditions The conditions between that table and the previous ones
+		 *
+		 * @return The joined tuples
+		 */
+		private List<int[]> joinTable( Frame frame, List<int[]> left, int table, int[] right, List<Expr> conditions ) {
+			boolean			leftJoin	= this.select.from().get( table ).joinType() == JoinType.LEFT;
+			List<int[]>		result		= new ArrayList<>();
+
+			// Find an equality between this table and the previous ones for a hash join
+			Evaluator		leftKey		= null;
+			Evaluator		rightKey	= null;
+			List<Evaluator>	others		= new ArrayList<>();
+			long			thisTable	= 1L << table;
+			for ( Expr condition : conditions ) {
+				if ( leftKey == null && condition instanceof Binary binary && binary.operator().equals( "=" ) ) {
+					long	leftTables	= tablesOf( binary.left() );
+					long	rightTables	= tablesOf( binary.right() );
+					if ( rightTables == thisTable && leftTables != 0 && ( leftTables & thisTable ) == 0 ) {
+						leftKey		= compile( binary.left(), false );
+						rightKey	= compile( binary.right(), false );
+						continue;
+					}
+					if ( leftTables == thisTable && rightTables != 0 && ( rightTables & thisTable ) == 0 ) {
+						leftKey		= compile( binary.right(), false );
+						rightKey	= compile( binary.left(), false );
+						continue;
+					}
+				}
+				others.add( compile( condition, false ) );
+			}
+
+			if ( leftKey != null ) {
+				// Build on the new table
+				Map<Object, int[]>	hash	= new HashMap<>();
+				int[]				probe	= new int[ this.sources.length ];
+				Arrays.fill( probe, -1 );
+				for ( int row : right ) {
+					probe[ table ] = row;
+					Object key = normalize( rightKey.evaluate( frame, probe ) );
+					if ( key != null ) {
+						int[] bucket = hash.get( key );
+						if ( bucket == null ) {
+							hash.put( key, new int[] { 1, row } );
+						} else {
+							if ( bucket[ 0 ] + 1 == bucket.length ) {
+								bucket = Arrays.copyOf( bucket, bucket.length * 2 );
+								hash.put( key, bucket );
+							}
+							bucket[ ++bucket[ 0 ] ] = row;
+						}
+					}
+				}
+				// Probe with the tuples so far
+				for ( int[] tuple : left ) {
+					Object	key		= normalize( leftKey.evaluate( frame, tuple ) );
+					int[]	bucket	= key == null ? null : hash.get( key );
+					boolean	matched	= false;
+					if ( bucket != null ) {
+						for ( int b = 1; b <= bucket[ 0 ]; b++ ) {
+							matched |= emit( frame, tuple, table, bucket[ b ], others, result );
+						}
+					}
+					if ( !matched && leftJoin ) {
+						result.add( tuple );
+					}
+				}
+				return result;
+			}
+
+			// Nested loops
+			for ( int[] tuple : left ) {
+				boolean matched = false;
+				for ( int row : right ) {
+					matched |= emit( frame, tuple, table, row, others, result );
+				}
+				if ( !matched && leftJoin ) {
+					result.add( tuple );
+				}
+			}
+			return result;
+		}
+
+		/**
+		 * Combine a tuple with a row of the joined table if the conditions match
+		 *
+		 * @return True if the combination was emitted
+		 */
+		private boolean emit( Frame frame, int[] tuple, int table, int row, List<Evaluator> conditions, List<int[]> result ) {
+			int[] combined = tuple.clone();
+			combined[ table ] = row;
+			for ( Evaluator condition : conditions ) {
+				if ( !isTrue( condition.evaluate( frame, combined ) ) ) {
+					return false;
+				}
+			}
+			result.add( combined );
+			return true;
+		}
+
+		/**
+		 * Apply the remaining conditions to the joined tuples
+		 */
+		private List<int[]> filter( Frame frame, List<int[]> tuples, List<Expr> conditions, long stopAt ) {
+			if ( conditions.isEmpty() ) {
+				return stopAt >= 0 && stopAt < tuples.size() ? tuples.subList( 0, ( int ) stopAt ) : tuples;
+			}
+			List<Evaluator> predicates = new ArrayList<>();
+			for ( Expr condition : conditions ) {
+				predicates.add( compile( condition, false ) );
+			}
+			List<int[]> result = new ArrayList<>();
+			for ( int[] tuple : tuples ) {
+				if ( stopAt >= 0 && result.size() >= stopAt ) {
+					break;
+				}
+				boolean matches = true;
+				for ( Evaluator predicate : predicates ) {
+					if ( !isTrue( predicate.evaluate( frame, tuple ) ) ) {
+						matches = false;
+						break;
+					}
+				}
+				if ( matches ) {
+					result.add( tuple );
+				}
+			}
+			return result;
+		}
+
+		/**
+		 * ----------------------------------------------------------------------
+		 * Aggregation
+		 * ----------------------------------------------------------------------
+		 */
+
+		/**
+		 * Group the tuples and compute the aggregates
+		 *
+		 * @param frame  The frame
+		 * @param tuples The tuples
+		 *
+		 * @return The groups that pass the having clause, in order of first appearance
+		 */
+		private List<Group> aggregate( Frame frame, List<int[]> tuples ) {
+			List<Evaluator>	groupBy	= new ArrayList<>();
+			for ( Expr expr : this.select.groupBy() ) {
+				if ( QoQStatement.containsAggregate( expr ) ) {
+					throw new DatabaseException( "Aggregate functions can't be used in a GROUP BY clause" );
+				}
+				groupBy.add( compile( expr, false ) );
+			}
+			Call[]		calls		= this.aggregateSlots.keySet().toArray( new Call[ 0 ] );
+			Evaluator[]	arguments	= new Evaluator[ calls.length ];
+			for ( int i = 0; i < calls.length; i++ ) {
+				if ( !calls[ i ].star() ) {
+					if ( calls[ i ].args().size() != 1 ) {
+						throw new DatabaseException( calls[ i ].name() + "() expects exactly one argument" );
+					}
+					arguments[ i ] = compile( calls[ i ].args().get( 0 ), false );
+				}
+			}
+
+			Map<ValuesKey, Group> groups = new LinkedHashMap<>();
+			for ( int[] tuple : tuples ) {
+				Object[] keyValues = new Object[ groupBy.size() ];
+				for ( int i = 0; i < keyValues.length; i++ ) {
+					keyValues[ i ] = groupBy.get( i ).evaluate( frame, tuple );
+				}
+				Group group = groups.computeIfAbsent( new ValuesKey( keyValues ), key -> new Group( tuple, calls ) );
+				for ( int i = 0; i < calls.length; i++ ) {
+					group.accumulators[ i ].add( arguments[ i ] == null ? Boolean.TRUE : arguments[ i ].evaluate( frame, tuple ) );
+				}
+			}
+
+			// An aggregate without group by always returns one row
+			if ( groups.isEmpty() && groupBy.isEmpty() ) {
+				int[] empty = new int[ this.sources.length ];
+				Arrays.fill( empty, -1 );
+				groups.put( new ValuesKey( new Object[ 0 ] ), new Group( empty, calls ) );
+			}
+
+			List<Group> result = new ArrayList<>( groups.values() );
+			if ( this.select.having() != null ) {
+				Evaluator having = compile( this.select.having(), true );
+				result.removeIf( group -> {
+					frame.aggregates = group.results();
+					return !isTrue( having.evaluate( frame, group.tuple ) );
+				} );
+			}
+			return result;
+		}
+
+		/**
+		 * ----------------------------------------------------------------------
+		 * Binding
+		 * ----------------------------------------------------------------------
+		 */
+
+		/**
+		 * Find the table and column a column reference points to
+		 *
+		 * @param column The column
+		 * @param fail   Whether to throw if it's not found
+		 *
+		 * @return The table and column index, or null
+		 */
+		int[] resolveColumn( Column column, boolean fail ) {
+			Key name = Key.of( column.name() );
+			if ( column.table() != null ) {
+				for ( int t = 0; t < this.sources.length; t++ ) {
+					if ( this.sources[ t ].alias.equalsIgnoreCase( column.table() ) ) {
+						Integer index = this.sources[ t ].index.get( name );
+						if ( index != null ) {
+							return new int[] { t, index };
+						}
+						if ( fail ) {
+							throw new DatabaseException( "The column [" + column.name() + "] does not exist in the QoQ table [" + column.table() + "]" );
+						}
+						return null;
+					}
+				}
+				if ( fail ) {
+					throw new DatabaseException( "The QoQ table [" + column.table() + "] is not part of the FROM clause" );
+				}
+				return null;
+			}
+			for ( int t = 0; t < this.sources.length; t++ ) {
+				Integer index = this.sources[ t ].index.get( name );
+				if ( index != null ) {
+					return new int[] { t, index };
+				}
+			}
+			if ( fail ) {
+				throw new DatabaseException( "The column [" + column.name() + "] does not exist in any QoQ table of the FROM clause" );
+			}
+			return null;
+		}
+
+		/**
+		 * Get the tables an expression references, as a bit mask
+		 */
+		private long tablesOf( Expr expr ) {
+			if ( expr instanceof Column column ) {
+				int[] binding = resolveColumn( column, false );
+				if ( binding != null ) {
+					return 1L << binding[ 0 ];
+				}
+				Long tables = withAlias( column, this::tablesOf );
+				if ( tables != null ) {
+					return tables;
+				}
+				resolveColumn( column, true );
+			}
+			long		tables		= 0;
+			List<Expr>	children	= new ArrayList<>();
+			QoQStatement.collectChildren( expr, children );
+			for ( Expr child : children ) {
+				tables |= tablesOf( child );
+			}
+			return tables;
+		}
+
+		/**
+		 * Apply an action to the select expression a column reference is an alias of
+		 *
+		 * @param column The column that didn't resolve to a table column
+		 * @param action The action
+		 *
+		 * @return The result of the action, or null if the column isn't an alias (or is one being expanded already)
+		 */
+		private <T> T withAlias( Column column, Function<Expr, T> action ) {
+			String	name	= column.name().toLowerCase();
+			Expr	aliased	= column.table() == null ? this.aliases.get( name ) : null;
+			if ( aliased == null || !this.expandingAliases.add( name ) ) {
+				return null;
+			}
+			try {
+				return action.apply( aliased );
+			} finally {
+				this.expandingAliases.remove( name );
+			}
+		}
+
+		private Evaluator columnEvaluator( int table, int column ) {
+			QueryColumnStorage storage = this.sources[ table ].storage[ column ];
+			return ( frame, tuple ) -> {
+				int row = tuple[ table ];
+				return row < 0 ? null : storage.get( row );
+			};
+		}
+
+		/**
+		 * ----------------------------------------------------------------------
+		 * Expression compilation
+		 * ----------------------------------------------------------------------
+		 */
+
+		/**
+		 * Compile an expression to an evaluator
+		 *
+		 * @param expr       The expression
+		 * @param aggregated Whether aggregate results are available
+		 *
+		 * @return The evaluator
+		 */
+		Evaluator compile( Expr expr, boolean aggregated ) {
+			if ( expr instanceof Column column ) {
+				int[] binding = resolveColumn( column, false );
+				if ( binding == null ) {
+					Evaluator aliased = withAlias( column, target -> compile( target, aggregated ) );
+					if ( aliased != null ) {
+						return aliased;
+					}
+					binding = resolveColumn( column, true );
+				}
+				return columnEvaluator( binding[ 0 ], binding[ 1 ] );
+			}
+			if ( expr instanceof Literal literal ) {
+				Object value = literal.value();
+				return ( frame, tuple ) -> value;
+			}
+			if ( expr instanceof Param param ) {
+				int index = param.index();
+				return ( frame, tuple ) -> frame.params[ index ];
+			}
+			if ( expr instanceof Binary binary ) {
+				return compileBinary( binary, aggregated );
+			}
+			if ( expr instanceof Not not ) {
+				Evaluator operand = compile( not.expr(), aggregated );
+				return ( frame, tuple ) -> {
+					Object value = operand.evaluate( frame, tuple );
+					return value == null ? null : !isTrue( value );
+				};
+			}
+			if ( expr instanceof Negate negate ) {
+				Evaluator operand = compile( negate.expr(), aggregated );
+				return ( frame, tuple ) -> {
+					Object value = operand.evaluate( frame, tuple );
+					return value == null ? null : ortus.boxlang.runtime.operators.Negate.invoke( value );
+				};
+			}
+			if ( expr instanceof IsNull isNull ) {
+				Evaluator	operand	= compile( isNull.expr(), aggregated );
+				boolean		negated	= isNull.negated();
+				return ( frame, tuple ) -> ( operand.evaluate( frame, tuple ) == null ) != negated;
+			}
+			if ( expr instanceof In in ) {
+				Evaluator	operand	= compile( in.expr(), aggregated );
+				Evaluator[]	values	= new Evaluator[ in.values().size() ];
+				for ( int i = 0; i < values.length; i++ ) {
+					values[ i ] = compile( in.values().get( i ), aggregated );
+				}
+				boolean negated = in.negated();
+				return ( frame, tuple ) -> {
+					Object value = operand.evaluate( frame, tuple );
+					if ( value == null ) {
+						return null;
+					}
+					for ( Evaluator candidate : values ) {
+						Object other = candidate.evaluate( frame, tuple );
+						if ( other != null && compareValues( value, other ) == 0 ) {
+							return !negated;
+						}
+					}
+					return negated;
+				};
+			}
+			if ( expr instanceof Like like ) {
+				return compileLike( like, aggregated );
+			}
+			if ( expr instanceof Between between ) {
+				Evaluator	operand	= compile( between.expr(), aggregated );
+				Evaluator	low		= compile( between.low(), aggregated );
+				Evaluator	high	= compile( between.high(), aggregated );
+				boolean		negated	= between.negated();
+				return ( frame, tuple ) -> {
+					Object	value	= operand.evaluate( frame, tuple );
+					Object	from	= low.evaluate( frame, tuple );
+					Object	to		= high.evaluate( frame, tuple );
+					if ( value == null || from == null || to == null ) {
+						return null;
+					}
+					return ( compareValues( value, from ) >= 0 && compareValues( value, to ) <= 0 ) != negated;
+				};
+			}
+			if ( expr instanceof Call call ) {
+				if ( call.isAggregate() ) {
+					Integer slot = aggregated ? this.aggregateSlots.get( call ) : null;
+					if ( slot == null ) {
+						throw new DatabaseException( "The aggregate function " + call.name() + "() can't be used here" );
+					}
+					int index = slot;
+					return ( frame, tuple ) -> frame.aggregates[ index ];
+				}
+				Evaluator[] args = new Evaluator[ call.args().size() ];
+				for ( int i = 0; i < args.length; i++ ) {
+					args[ i ] = compile( call.args().get( i ), aggregated );
+				}
+				return QoQFunctions.compile( call.name(), args );
+			}
+			if ( expr instanceof Case caseExpr ) {
+				Evaluator	operand		= caseExpr.operand() == null ? null : compile( caseExpr.operand(), aggregated );
+				Evaluator[]	whens		= new Evaluator[ caseExpr.whens().size() ];
+				Evaluator[]	thens		= new Evaluator[ whens.length ];
+				for ( int i = 0; i < whens.length; i++ ) {
+					whens[ i ]	= compile( caseExpr.whens().get( i ), aggregated );
+					thens[ i ]	= compile( caseExpr.thens().get( i ), aggregated );
+				}
+				Evaluator otherwise = caseExpr.otherwise() == null ? null : compile( caseExpr.otherwise(), aggregated );
+				return ( frame, tuple ) -> {
+					Object value = operand == null ? null : operand.evaluate( frame, tuple );
+					for ( int i = 0; i < whens.length; i++ ) {
+						Object when = whens[ i ].evaluate( frame, tuple );
+						if ( operand == null ? isTrue( when ) : value != null && when != null && compareValues( value, when ) == 0 ) {
+							return thens[ i ].evaluate( frame, tuple );
+						}
+					}
+					return otherwise == null ? null : otherwise.evaluate( frame, tuple );
+				};
+			}
+			if ( expr instanceof Cast cast ) {
+				return compileCast( cast, aggregated );
+			}
+			throw new DatabaseException( "Unsupported QoQ expression [" + expr + "]" );
+		}
+
+		private Evaluator compileBinary( Binary binary, boolean aggregated ) {
+			Evaluator	left		= compile( binary.left(), aggregated );
+			Evaluator	right		= compile( binary.right(), aggregated );
+			String		operator	= binary.operator();
+			switch ( operator ) {
+				case "AND" :
+					return ( frame, tuple ) -> {
+						Object a = left.evaluate( frame, tuple );
+						if ( a != null && !isTrue( a ) ) {
+							return false;
+						}
+						Object b = right.evaluate( frame, tuple );
+						if ( b != null && !isTrue( b ) ) {
+							return false;
+						}
+						return a == null || b == null ? null : true;
+					};
+				case "OR" :
+					return ( frame, tuple ) -> {
+						Object a = left.evaluate( frame, tuple );
+						if ( isTrue( a ) ) {
+							return true;
+						}
+						Object b = right.evaluate( frame, tuple );
+						if ( isTrue( b ) ) {
+							return true;
+						}
+						return a == null || b == null ? null : false;
+					};
+				case "||" :
+					return ( frame, tuple ) -> {
+						Object	a	= left.evaluate( frame, tuple );
+						Object	b	= right.evaluate( frame, tuple );
+						return a == null || b == null ? null : StringCaster.cast( a ) + StringCaster.cast( b );
+					};
+				case "+", "-", "*", "/", "%" :
+					return ( frame, tuple ) -> {
+						Object	a	= left.evaluate( frame, tuple );
+						Object	b	= right.evaluate( frame, tuple );
+						if ( a == null || b == null ) {
+							return null;
+						}
+						switch ( operator ) {
+							case "+" :
+								// + concatenates strings that aren't numbers, like most SQL dialects allow
+								if ( ( a instanceof String || b instanceof String )
+								    && ! ( NumberCaster.attempt( a ).wasSuccessful() && NumberCaster.attempt( b ).wasSuccessful() ) ) {
+									return StringCaster.cast( a ) + StringCaster.cast( b );
+								}
+								return Plus.invoke( a, b );
+							case "-" :
+								return Minus.invoke( a, b );
+							case "*" :
+								return Multiply.invoke( a, b );
+							case "/" :
+								return Divide.invoke( a, b );
+							default :
+								return Modulus.invoke( a, b );
+						}
+					};
+				default :
+					int comparison = comparisonOperator( operator );
+					if ( comparison < 0 ) {
+						throw new DatabaseException( "Unsupported QoQ operator [" + operator + "]" );
+					}
+					return ( frame, tuple ) -> {
+						Object	a	= left.evaluate( frame, tuple );
+						Object	b	= right.evaluate( frame, tuple );
+						if ( a == null || b == null ) {
+							return null;
+						}
+						return test( compareValues( a, b ), comparison );
+					};
+			}
+		}
+
+		private Evaluator compileLike( Like like, boolean aggregated ) {
+			Evaluator	operand	= compile( like.expr(), aggregated );
+			boolean		negated	= like.negated();
+			String		escape	= like.escape();
+			// Literal patterns are compiled once
+			if ( like.pattern() instanceof Literal literal && literal.value() != null ) {
+				Pattern pattern = likePattern( StringCaster.cast( literal.value() ), escape );
+				return ( frame, tuple ) -> {
+					Object value = operand.evaluate( frame, tuple );
+					return value == null ? null : pattern.matcher( StringCaster.cast( value ) ).matches() != negated;
+				};
+			}
+			Evaluator patternEvaluator = compile( like.pattern(), aggregated );
+			return ( frame, tuple ) -> {
+				Object	value	= operand.evaluate( frame, tuple );
+				Object	pattern	= patternEvaluator.evaluate( frame, tuple );
+				if ( value == null || pattern == null ) {
+					return null;
+				}
+				return likePattern( StringCaster.cast( pattern ), escape ).matcher( StringCaster.cast( value ) ).matches() != negated;
+			};
+		}
+
+		private Evaluator compileCast( Cast cast, boolean aggregated ) {
+			Evaluator operand = compile( cast.expr(), aggregated );
+			switch ( cast.type() ) {
+				case "int", "integer", "smallint", "tinyint" :
+					return ( frame, tuple ) -> {
+						Object value = operand.evaluate( frame, tuple );
+						return value == null ? null : IntegerCaster.cast( value );
+					};
+				case "bigint", "long" :
+					return ( frame, tuple ) -> {
+						Object value = operand.evaluate( frame, tuple );
+						return value == null ? null : LongCaster.cast( value );
+					};
+				case "double", "float", "real", "numeric", "decimal", "number" :
+					return ( frame, tuple ) -> {
+						Object value = operand.evaluate( frame, tuple );
+						return value == null ? null : DoubleCaster.cast( value );
+					};
+				case "varchar", "char", "string", "text", "nvarchar", "longvarchar" :
+					return ( frame, tuple ) -> {
+						Object value = operand.evaluate( frame, tuple );
+						return value == null ? null : StringCaster.cast( value );
+					};
+				case "bit", "boolean" :
+					return ( frame, tuple ) -> {
+						Object value = operand.evaluate( frame, tuple );
+						return value == null ? null : BooleanCaster.cast( value );
+					};
+				case "date", "time", "timestamp", "datetime" :
+					return ( frame, tuple ) -> {
+						Object value = operand.evaluate( frame, tuple );
+						return value == null ? null : DateTimeCaster.cast( value );
+					};
+				default :
+					throw new DatabaseException( "Unsupported QoQ CAST type [" + cast.type() + "]" );
+			}
+		}
+	}
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Tables
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Find a query by variable name
+	 *
+	 * @param name The name, e.g. {@code qUsers} or {@code variables.qUsers}
+	 *
+	 * @return The query
+	 */
+	private Query resolveTable( String name ) {
+		Object value = ExpressionInterpreter.getVariable( this.context, name, true );
+		if ( value == null ) {
+			throw new DatabaseException( "The QoQ table [" + name + "] does not exist" );
+		}
+		CastAttempt<Query> query = QueryCaster.attempt( value );
+		if ( !query.wasSuccessful() ) {
+			throw new DatabaseException( "The QoQ table [" + name + "] is not a query" );
+		}
+		return query.get();
+	}
+
+	/**
+	 * A table of a select, with its columns bound for fast access
+	 */
+	private static final class Source {
+
+		final String				alias;
+		final int					size;
+		final Key[]					names;
+		final QueryColumnType[]		types;
+		final QueryColumnStorage[]	storage;
+		final Map<Key, Integer>		index	= new HashMap<>();
+
+		Source( TableRef table, Query query ) {
+			this.alias = table.alias();
+			Map<Key, QueryColumn>	columns	= query.getColumns();
+			int						i		= 0;
+			this.size		= query.size();
+			this.names		= new Key[ columns.size() ];
+			this.types		= new QueryColumnType[ columns.size() ];
+			this.storage	= new QueryColumnStorage[ columns.size() ];
+			for ( QueryColumn column : columns.values() ) {
+				this.names[ i ]		= column.getName();
+				this.types[ i ]		= column.getType();
+				this.storage[ i ]	= query.getColumnStorage( column.getName() );
+				this.index.put( column.getName(), i );
+				i++;
+			}
+		}
+	}
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Evaluation
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * A compiled expression
+	 */
+	@FunctionalInterface
+	interface Evaluator {
+
+		/**
+		 * Evaluate the expression
+		 *
+		 * @param frame The frame holding the parameters and aggregate results
+		 * @param tuple The row of each table
+		 *
+		 * @return The value
+		 */
+		Object evaluate( Frame frame, int[] tuple );
+	}
+
+	/**
+	 * The per execution state expressions can see
+	 */
+	static final class Frame {
+
+		final Object[]	params;
+		Object[]		aggregates;
+
+		Frame( Object[] params ) {
+			this.params = params;
+		}
+	}
+
+	/**
+	 * A group of an aggregate select
+	 */
+	private static final class Group {
+
+		final int[]			tuple;
+		final Accumulator[]	accumulators;
+
+		Group( int[] tuple, Call[] calls ) {
+			this.tuple			= tuple;
+			this.accumulators	= new Accumulator[ calls.length ];
+			for ( int i = 0; i < calls.length; i++ ) {
+				this.accumulators[ i ] = new Accumulator( calls[ i ] );
+			}
+		}
+
+		Object[] results() {
+			Object[] results = new Object[ this.accumulators.length ];
+			for ( int i = 0; i < results.length; i++ ) {
+				results[ i ] = this.accumulators[ i ].result();
+			}
+			return results;
+		}
+	}
+
+	/**
+	 * The running state of an aggregate function
+	 */
+	private static final class Accumulator {
+
+		final String		function;
+		final Set<Object>	seen;
+		long				count		= 0;
+		long				longSum		= 0;
+		double				doubleSum	= 0;
+		boolean				whole		= true;
+		Object				best;
+
+		Accumulator( Call call ) {
+			this.function	= call.name();
+			this.seen		= call.distinct() ? new HashSet<>() : null;
+		}
+
+		void add( Object value ) {
+			if ( value == null || ( this.seen != null && !this.seen.add( normalize( value ) ) ) ) {
+				return;
+			}
+			this.count++;
+			switch ( this.function ) {
+				case "SUM", "AVG" :
+					Number number = NumberCaster.cast( value );
+					if ( this.whole && ( number instanceof Integer || number instanceof Long || number instanceof Short || number instanceof Byte ) ) {
+						this.longSum += number.longValue();
+					} else {
+						this.whole = false;
+					}
+					this.doubleSum += number.doubleValue();
+					break;
+				case "MIN" :
+					if ( this.best == null || compareValues( value, this.best ) < 0 ) {
+						this.best = value;
+					}
+					break;
+				case "MAX" :
+					if ( this.best == null || compareValues( value, this.best ) > 0 ) {
+						this.best = value;
+					}
+					break;
+				default :
+					break;
+			}
+		}
+
+		Object result() {
+			switch ( this.function ) {
+				case "COUNT" :
+					return this.count;
+				case "SUM" :
+					if ( this.count == 0 ) {
+						return null;
+					}
+					return this.whole ? ( Object ) this.longSum : ( Object ) this.doubleSum;
+				case "AVG" :
+					return this.count == 0 ? null : this.doubleSum / this.count;
+				default :
+					return this.best;
+			}
+		}
+	}
+
+	/**
+	 * A list of values usable as a hash key, numbers being compared by value
+	 */
+	private static final class ValuesKey {
+
+		final Object[]	values;
+		final int		hash;
+
+		ValuesKey( Object[] values ) {
+			this.values = new Object[ values.length ];
+			for ( int i = 0; i < values.length; i++ ) {
+				this.values[ i ] = normalize( values[ i ] );
+			}
+			this.hash = Arrays.hashCode( this.values );
+		}
+
+		@Override
+		public boolean equals( Object other ) {
+			return other instanceof ValuesKey key && Arrays.equals( this.values, key.values );
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hash;
+		}
+	}
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Helpers
+	 * --------------------------------------------------------------------------
+	 */
+
+	private static final int	EQ	= 0;
+	private static final int	NE	= 1;
+	private static final int	LT	= 2;
+	private static final int	LE	= 3;
+	private static final int	GT	= 4;
+	private static final int	GE	= 5;
+
+	private static int comparisonOperator( String operator ) {
+		switch ( operator ) {
+			case "=" :
+				return EQ;
+			case "<>" :
+				return NE;
+			case "<" :
+				return LT;
+			case "<=" :
+				return LE;
+			case ">" :
+				return GT;
+			case ">=" :
+				return GE;
+			default :
+				return -1;
+		}
+	}
+
+	private static int flipOperator( int operator ) {
+		switch ( operator ) {
+			case LT :
+				return GT;
+			case LE :
+				return GE;
+			case GT :
+				return LT;
+			case GE :
+				return LE;
+			default :
+				return operator;
+		}
+	}
+
+	private static boolean test( int comparison, int operator ) {
+		switch ( operator ) {
+			case EQ :
+				return comparison == 0;
+			case NE :
+				return comparison != 0;
+			case LT :
+				return comparison < 0;
+			case LE :
+				return comparison <= 0;
+			case GT :
+				return comparison > 0;
+			default :
+				return comparison >= 0;
+		}
+	}
+
+	/**
+	 * Is a condition result true? Null (unknown) is not.
+	 */
+	static boolean isTrue( Object value ) {
+		if ( value instanceof Boolean bool ) {
+			return bool;
+		}
+		return value != null && BooleanCaster.cast( value );
+	}
+
+	/**
+	 * Compare two values, nulls first. Strings compare case sensitively.
+	 *
+	 * @param a The first value
+	 * @param b The second value
+	 *
+	 * @return The comparison
+	 */
+	static int compareValues( Object a, Object b ) {
+		if ( a == b ) {
+			return 0;
+		}
+		if ( a == null ) {
+			return -1;
+		}
+		if ( b == null ) {
+			return 1;
+		}
+		if ( a instanceof String left && b instanceof String right ) {
+			return Integer.signum( left.compareTo( right ) );
+		}
+		if ( a instanceof Number left && b instanceof Number right && ! ( a instanceof BigDecimal ) && ! ( b instanceof BigDecimal ) ) {
+			if ( isWhole( left ) && isWhole( right ) ) {
+				return Long.compare( left.longValue(), right.longValue() );
+			}
+			return Double.compare( left.doubleValue(), right.doubleValue() );
+		}
+		Integer comparison = Compare.attempt( a, b, true, false );
+		return comparison != null ? comparison : a.toString().compareTo( b.toString() );
+	}
+
+	private static boolean isWhole( Number number ) {
+		return number instanceof Integer || number instanceof Long || number instanceof Short || number instanceof Byte;
+	}
+
+	/**
+	 * Normalize a value for hashing, so numbers of different types with the same value are equal
+	 *
+	 * @param value The value
+	 *
+	 * @return The normalized value
+	 */
+	static Object normalize( Object value ) {
+		if ( value instanceof Number number ) {
+			if ( isWhole( number ) ) {
+				return number.longValue();
+			}
+			double d = number.doubleValue();
+			if ( d == Math.rint( d ) && !Double.isInfinite( d ) && Math.abs( d ) < 9.0E15 ) {
+				return ( long ) d;
+			}
+			return d;
+		}
+		return value;
+	}
+
+	/**
+	 * Split a condition into its AND-ed parts
+	 */
+	private static List<Expr> conjuncts( Expr expr ) {
+		List<Expr> result = new ArrayList<>();
+		collectConjuncts( expr, result );
+		return result;
+	}
+
+	private static void collectConjuncts( Expr expr, List<Expr> result ) {
+		if ( expr instanceof Binary binary && binary.operator().equals( "AND" ) ) {
+			collectConjuncts( binary.left(), result );
+			collectConjuncts( binary.right(), result );
+		} else {
+			result.add( expr );
+		}
+	}
+
+	/**
+	 * Translate a SQL LIKE pattern to a regex
+	 *
+	 * @param like   The LIKE pattern
+	 * @param escape The escape character, or null
+	 *
+	 * @return The regex
+	 */
+	static Pattern likePattern( String like, String escape ) {
+		StringBuilder	regex		= new StringBuilder();
+		char			escapeChar	= escape == null ? 0 : escape.charAt( 0 );
+		for ( int i = 0; i < like.length(); i++ ) {
+			char c = like.charAt( i );
+			if ( escape != null && c == escapeChar && i + 1 < like.length() ) {
+				regex.append( Pattern.quote( String.valueOf( like.charAt( ++i ) ) ) );
+			} else if ( c == '%' ) {
+				regex.append( ".*" );
+			} else if ( c == '_' ) {
+				regex.append( '.' );
+			} else if ( c == '[' && like.indexOf( ']', i + 1 ) > i + 1 ) {
+				// [abc] and [^abc] character classes
+				int end = like.indexOf( ']', i + 1 );
+				regex.append( '[' );
+				for ( int j = i + 1; j < end; j++ ) {
+					char member = like.charAt( j );
+					if ( member == '\\' || member == '[' || member == '&' ) {
+						regex.append( '\\' );
+					}
+					regex.append( member );
+				}
+				regex.append( ']' );
+				i = end;
+			} else {
+				regex.append( Pattern.quote( String.valueOf( c ) ) );
+			}
+		}
+		return Pattern.compile( regex.toString(), Pattern.DOTALL );
+	}
+
+	/**
+	 * Infer a column type from computed values
+	 */
+	private static QueryColumnType inferType( Object[] values ) {
+		for ( Object value : values ) {
+			if ( value == null ) {
+				continue;
+			}
+			if ( value instanceof Integer ) {
+				return QueryColumnType.INTEGER;
+			}
+			if ( value instanceof Long ) {
+				return QueryColumnType.BIGINT;
+			}
+			if ( value instanceof BigDecimal ) {
+				return QueryColumnType.DECIMAL;
+			}
+			if ( value instanceof Number ) {
+				return QueryColumnType.DOUBLE;
+			}
+			if ( value instanceof Boolean ) {
+				return QueryColumnType.BIT;
+			}
+			if ( value instanceof String ) {
+				return QueryColumnType.VARCHAR;
+			}
+			if ( value instanceof DateTime ) {
+				return QueryColumnType.TIMESTAMP;
+			}
+			return QueryColumnType.OBJECT;
+		}
+		return QueryColumnType.VARCHAR;
+	}
+
+}
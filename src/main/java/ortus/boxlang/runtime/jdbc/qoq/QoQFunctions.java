@@ -0,0 +1,177 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.runtime.jdbc.qoq;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.function.Function;
+
+import ortus.boxlang.runtime.dynamic.casters.DoubleCaster;
+import ortus.boxlang.runtime.dynamic.casters.IntegerCaster;
+import ortus.boxlang.runtime.dynamic.casters.NumberCaster;
+import ortus.boxlang.runtime.dynamic.casters.StringCaster;
+import ortus.boxlang.runtime.jdbc.qoq.QoQExecutor.Evaluator;
+import ortus.boxlang.runtime.operators.Modulus;
+import ortus.boxlang.runtime.types.exceptions.DatabaseException;
+
+/**
+ * The scalar functions available to Query of Queries. Every function returns null when any of its arguments is null,
+ * except {@code COALESCE} and {@code ISNULL} whose job is to deal with nulls.
+ */
+final class QoQFunctions {
+
+	/**
+	 * Private constructor, static helpers only
+	 */
+	private QoQFunctions() {
+	}
+
+	/**
+	 * Compile a call to a scalar function
+	 *
+	 * @param name The function name, upper case
+	 * @param args The compiled arguments
+	 *
+	 * @return The evaluator of the call
+	 *
+	 * @throws DatabaseException If the function doesn't exist or the argument count is wrong
+	 */
+	static Evaluator compile( String name, Evaluator[] args ) {
+		switch ( name ) {
+			case "UPPER", "UCASE" :
+				expectArgs( name, args, 1, 1 );
+				return unary( args[ 0 ], value -> StringCaster.cast( value ).toUpperCase() );
+			case "LOWER", "LCASE" :
+				expectArgs( name, args, 1, 1 );
+				return unary( args[ 0 ], value -> StringCaster.cast( value ).toLowerCase() );
+			case "TRIM" :
+				expectArgs( name, args, 1, 1 );
+				return unary( args[ 0 ], value -> StringCaster.cast( value ).strip() );
+			case "LTRIM" :
+				expectArgs( name, args, 1, 1 );
+				return unary( args[ 0 ], value -> StringCaster.cast( value ).stripLeading() );
+			case "RTRIM" :
+				expectArgs( name, args, 1, 1 );
+				return unary( args[ 0 ], value -> StringCaster.cast( value ).stripTrailing() );
+			case "LENGTH", "LEN" :
+				expectArgs( name, args, 1, 1 );
+				return unary( args[ 0 ], value -> StringCaster.cast( value ).length() );
+			case "ABS" :
+				expectArgs( name, args, 1, 1 );
+				return unary( args[ 0 ], value -> {
+					Number number = NumberCaster.cast( value );
+					if ( number instanceof Integer i ) {
+						return Math.abs( i );
+					}
+					if ( number instanceof Long l ) {
+						return Math.abs( l );
+					}
+					if ( number instanceof BigDecimal bd ) {
+						return bd.abs();
+					}
+					return Math.abs( number.doubleValue() );
+				} );
+			case "FLOOR" :
+				expectArgs( name, args, 1, 1 );
+				return unary( args[ 0 ], value -> ( long ) Math.floor( DoubleCaster.cast( value ) ) );
+			case "CEILING", "CEIL" :
+				expectArgs( name, args, 1, 1 );
+				return unary( args[ 0 ], value -> ( long ) Math.ceil( DoubleCaster.cast( value ) ) );
+			case "ROUND" :
+				expectArgs( name, args, 1, 2 );
+				return ( frame, tuple ) -> {
+					Object	value		= args[ 0 ].evaluate( frame, tuple );
+					Object	precision	= args.length > 1 ? args[ 1 ].evaluate( frame, tuple ) : 0;
+					if ( value == null || precision == null ) {
+						return null;
+					}
+					int places = IntegerCaster.cast( precision );
+					if ( places == 0 ) {
+						return Math.round( DoubleCaster.cast( value ) );
+					}
+					return new BigDecimal( StringCaster.cast( value ) ).setScale( places, RoundingMode.HALF_UP ).doubleValue();
+				};
+			case "MOD" :
+				expectArgs( name, args, 2, 2 );
+				return ( frame, tuple ) -> {
+					Object	a	= args[ 0 ].evaluate( frame, tuple );
+					Object	b	= args[ 1 ].evaluate( frame, tuple );
+					return a == null || b == null ? null : Modulus.invoke( a, b );
+				};
+			case "COALESCE", "ISNULL", "IFNULL", "NVL" :
+				expectArgs( name, args, name.equals( "COALESCE" ) ? 1 : 2, name.equals( "COALESCE" ) ? Integer.MAX_VALUE : 2 );
+				return ( frame, tuple ) -> {
+					for ( Evaluator arg : args ) {
+						Object value = arg.evaluate( frame, tuple );
+						if ( value != null ) {
+							return value;
+						}
+					}
+					return null;
+				};
+			case "CONCAT" :
+				expectArgs( name, args, 1, Integer.MAX_VALUE );
+				return ( frame, tuple ) -> {
+					StringBuilder result = new StringBuilder();
+					for ( Evaluator arg : args ) {
+						Object value = arg.evaluate( frame, tuple );
+						if ( value == null ) {
+							return null;
+						}
+						result.append( StringCaster.cast( value ) );
+					}
+					return result.toString();
+				};
+			case "LEFT", "RIGHT" :
+				expectArgs( name, args, 2, 2 );
+				boolean left = name.equals( "LEFT" );
+				return ( frame, tuple ) -> {
+					Object	value	= args[ 0 ].evaluate( frame, tuple );
+					Object	count	= args[ 1 ].evaluate( frame, tuple );
+					if ( value == null || count == null ) {
+						return null;
+					}
+					String	string	= StringCaster.cast( value );
+					int		length	= Math.max( 0, Math.min( IntegerCaster.cast( count ), string.length() ) );
+					return left ? string.substring( 0, length ) : string.substring( string.length() - length );
+				};
+			default :
+				throw new DatabaseException( "Unsupported QoQ function [" + name + "]" );
+		}
+	}
+
+	/**
+	 * A single argument function that returns null for null
+	 */
+	private static Evaluator unary( Evaluator arg, Function<Object, Object> function ) {
+		return ( frame, tuple ) -> {
+			Object value = arg.evaluate( frame, tuple );
+			return value == null ? null : function.apply( value );
+		};
+	}
+
+	private static void expectArgs( String name, Evaluator[] args, int min, int max ) {
+		if ( args.length < min || args.length > max ) {
+			throw new DatabaseException(
+			    name + "() expects " + ( min == max ? String.valueOf( min ) : max == Integer.MAX_VALUE ? min + " or more" : min + " to " + max )
+			        + " arguments but received " + args.length
+			);
+		}
+	}
+
+}
@@ -0,0 +1,722 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.runtime.jdbc.qoq;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import ortus.boxlang.runtime.jdbc.qoq.QoQStatement.Between;
+import ortus.boxlang.runtime.jdbc.qoq.QoQStatement.Binary;
+import ortus.boxlang.runtime.jdbc.qoq.QoQStatement.Call;
+import ortus.boxlang.runtime.jdbc.qoq.QoQStatement.Case;
+import ortus.boxlang.runtime.jdbc.qoq.QoQStatement.Cast;
+import ortus.boxlang.runtime.jdbc.qoq.QoQStatement.Column;
+import ortus.boxlang.runtime.jdbc.qoq.QoQStatement.Expr;
+import ortus.boxlang.runtime.jdbc.qoq.QoQStatement.In;
+import ortus.boxlang.runtime.jdbc.qoq.QoQStatement.IsNull;
+import ortus.boxlang.runtime.jdbc.qoq.QoQStatement.JoinType;
+import ortus.boxlang.runtime.jdbc.qoq.QoQStatement.Like;
+import ortus.boxlang.runtime.jdbc.qoq.QoQStatement.Literal;
+import ortus.boxlang.runtime.jdbc.qoq.QoQStatement.Negate;
+import ortus.boxlang.runtime.jdbc.qoq.QoQStatement.Not;
+import ortus.boxlang.runtime.jdbc.qoq.QoQStatement.OrderItem;
+import ortus.boxlang.runtime.jdbc.qoq.QoQStatement.Param;
+import ortus.boxlang.runtime.jdbc.qoq.QoQStatement.Select;
+import ortus.boxlang.runtime.jdbc.qoq.QoQStatement.SelectItem;
+import ortus.boxlang.runtime.jdbc.qoq.QoQStatement.TableRef;
+import ortus.boxlang.runtime.types.exceptions.DatabaseException;
+
+/**
+ * A hand written recursive descent parser for the Query of Queries SQL dialect.
+ * <p>
+ * Supported grammar:
+ *
+ * <pre>
+ * statement := select ( UNION [ALL] select )* [ORDER BY order ( , order )*] [LIMIT n [OFFSET m]]
+ * select    := SELECT [DISTINCT] [TOP n] item ( , item )* FROM table ( , table | join )*
+ *              [WHERE expr] [GROUP BY expr ( , expr )*] [HAVING expr]
+ * join      := [INNER | LEFT [OUTER] | CROSS] JOIN table [ON expr]
+ * expr      := the usual boolean, comparison, arithmetic, IN, LIKE, BETWEEN, IS NULL, CASE and CAST expressions
+ * </pre>
+ *
+ * Parsers are single use, call {@link #parse(String)}.
+ */
+public class QoQParser {
+
+	/**
+	 * Words that end an expression or a table reference, so they can't be used as bare aliases
+	 */
+	private static final Set<String>	RESERVED	= Set.of(
+	    "SELECT", "FROM", "WHERE", "GROUP", "BY", "HAVING", "ORDER", "UNION", "ALL", "LIMIT", "OFFSET", "JOIN", "INNER", "LEFT", "RIGHT",
+	    "OUTER", "CROSS", "ON", "AS", "AND", "OR", "NOT", "IN", "LIKE", "ESCAPE", "BETWEEN", "IS", "NULL", "CASE", "WHEN", "THEN", "ELSE",
+	    "END", "ASC", "DESC", "DISTINCT", "TOP"
+	);
+
+	/**
+	 * The token kinds
+	 */
+	private enum TokenType {
+		WORD,
+		QUOTED,
+		STRING,
+		NUMBER,
+		SYMBOL,
+		PARAM,
+		EOF
+	}
+
+	/**
+	 * A token
+	 *
+	 * @param type     The kind of token
+	 * @param text     The token text: upper case for words and symbols, unquoted for identifiers and strings
+	 * @param original The original text, for identifiers
+	 * @param position The position in the SQL
+	 */
+	private record Token( TokenType type, String text, String original, int position ) {
+	}
+
+	/**
+	 * The SQL being parsed
+	 */
+	private final String		sql;
+
+	/**
+	 * The tokens
+	 */
+	private final List<Token>	tokens			= new ArrayList<>();
+
+	/**
+	 * The current token index
+	 */
+	private int					current			= 0;
+
+	/**
+	 * How many {@code ?} parameters were found
+	 */
+	private int					parameterCount	= 0;
+
+	/**
+	 * Constructor
+	 *
+	 * @param sql The SQL to parse
+	 */
+	private QoQParser( String sql ) {
+		this.sql = sql;
+		tokenize();
+	}
+
+	/**
+	 * Parse a Query of Queries statement
+	 *
+	 * @param sql The SQL
+	 *
+	 * @return The parsed statement
+	 *
+	 * @throws DatabaseException If the SQL is not valid
+	 */
+	public static QoQStatement parse( String sql ) {
+		return new QoQParser( sql ).parseStatement();
+	}
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Statements
+	 * --------------------------------------------------------------------------
+	 */
+
+	private QoQStatement parseStatement() {
+		List<Select>	selects		= new ArrayList<>();
+		List<Boolean>	unionAll	= new ArrayList<>();
+		List<OrderItem>	orderBy		= new ArrayList<>();
+		long			limit		= -1;
+		long			offset		= 0;
+
+		selects.add( parseSelect() );
+		while ( acceptWord( "UNION" ) ) {
+			unionAll.add( acceptWord( "ALL" ) );
+			selects.add( parseSelect() );
+		}
+
+		if ( acceptWord( "ORDER" ) ) {
+			expectWord( "BY" );
+			do {
+				Expr	expr		= parseExpression();
+				boolean	descending	= false;
+				if ( acceptWord( "DESC" ) ) {
+					descending = true;
+				} else {
+					acceptWord( "ASC" );
+				}
+				orderBy.add( new OrderItem( expr, descending ) );
+			} while ( acceptSymbol( "," ) );
+		}
+
+		if ( acceptWord( "LIMIT" ) ) {
+			limit = parseLong();
+			if ( acceptWord( "OFFSET" ) ) {
+				offset = parseLong();
+			}
+		}
+
+		acceptSymbol( ";" );
+		if ( peek().type() != TokenType.EOF ) {
+			throw error( "Unexpected [" + peek().original() + "]" );
+		}
+
+		return new QoQStatement( selects, unionAll, orderBy, limit, offset, this.parameterCount );
+	}
+
+	private Select parseSelect() {
+		expectWord( "SELECT" );
+		boolean	distinct	= acceptWord( "DISTINCT" );
+		long	top			= -1;
+		if ( acceptWord( "TOP" ) ) {
+			top = parseLong();
+		}
+
+		List<SelectItem> items = new ArrayList<>();
+		do {
+			items.add( parseSelectItem() );
+		} while ( acceptSymbol( "," ) );
+
+		expectWord( "FROM" );
+		List<TableRef> from = new ArrayList<>();
+		from.add( parseTable( JoinType.NONE ) );
+		while ( true ) {
+			if ( acceptSymbol( "," ) ) {
+				from.add( parseTable( JoinType.COMMA ) );
+			} else if ( acceptWord( "JOIN" ) ) {
+				from.add( parseJoinedTable( JoinType.INNER ) );
+			} else if ( acceptWord( "INNER" ) ) {
+				expectWord( "JOIN" );
+				from.add( parseJoinedTable( JoinType.INNER ) );
+			} else if ( acceptWord( "LEFT" ) ) {
+				acceptWord( "OUTER" );
+				expectWord( "JOIN" );
+				from.add( parseJoinedTable( JoinType.LEFT ) );
+			} else if ( acceptWord( "CROSS" ) ) {
+				expectWord( "JOIN" );
+				from.add( parseTable( JoinType.CROSS ) );
+			} else if ( peekWord( "RIGHT" ) ) {
+				throw error( "RIGHT JOIN is not supported, swap the tables and use a LEFT JOIN" );
+			} else {
+				break;
+			}
+		}
+
+		Expr where = acceptWord( "WHERE" ) ? parseExpression() : null;
+
+		List<Expr> groupBy = new ArrayList<>();
+		if ( acceptWord( "GROUP" ) ) {
+			expectWord( "BY" );
+			do {
+				groupBy.add( parseExpression() );
+			} while ( acceptSymbol( "," ) );
+		}
+
+		Expr having = acceptWord( "HAVING" ) ? parseExpression() : null;
+
+		return new Select( distinct, top, items, from, where, groupBy, having );
+	}
+
+	private SelectItem parseSelectItem() {
+		if ( acceptSymbol( "*" ) ) {
+			return new SelectItem( null, null, null, true );
+		}
+		// t.*
+		if ( isIdentifier( peek() ) && peekAt( 1 ).text().equals( "." ) && peekAt( 2 ).text().equals( "*" ) ) {
+			String qualifier = next().original();
+			next();
+			next();
+			return new SelectItem( null, null, qualifier, true );
+		}
+		Expr expr = parseExpression();
+		return new SelectItem( expr, parseAlias(), null, false );
+	}
+
+	private TableRef parseJoinedTable( JoinType joinType ) {
+		TableRef table = parseTable( joinType );
+		expectWord( "ON" );
+		return new TableRef( table.name(), table.alias(), joinType, parseExpression() );
+	}
+
+	private TableRef parseTable( JoinType joinType ) {
+		StringBuilder name = new StringBuilder( expectIdentifier() );
+		while ( acceptSymbol( "." ) ) {
+			name.append( '.' ).append( expectIdentifier() );
+		}
+		String alias = parseAlias();
+		if ( alias == null ) {
+			String fullName = name.toString();
+			alias = fullName.substring( fullName.lastIndexOf( '.' ) + 1 );
+		}
+		return new TableRef( name.toString(), alias, joinType, null );
+	}
+
+	private String parseAlias() {
+		if ( acceptWord( "AS" ) ) {
+			return expectIdentifier();
+		}
+		Token token = peek();
+		if ( token.type() == TokenType.QUOTED || ( token.type() == TokenType.WORD && !RESERVED.contains( token.text() ) ) ) {
+			return next().original();
+		}
+		if ( token.type() == TokenType.STRING ) {
+			return next().text();
+		}
+		return null;
+	}
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Expressions
+	 * --------------------------------------------------------------------------
+	 */
+
+	private Expr parseExpression() {
+		return parseOr();
+	}
+
+	private Expr parseOr() {
+		Expr left = parseAnd();
+		while ( acceptWord( "OR" ) ) {
+			left = new Binary( "OR", left, parseAnd() );
+		}
+		return left;
+	}
+
+	private Expr parseAnd() {
+		Expr left = parseNot();
+		while ( acceptWord( "AND" ) ) {
+			left = new Binary( "AND", left, parseNot() );
+		}
+		return left;
+	}
+
+	private Expr parseNot() {
+		if ( acceptWord( "NOT" ) ) {
+			return new Not( parseNot() );
+		}
+		return parsePredicate();
+	}
+
+	private Expr parsePredicate() {
+		Expr left = parseAdditive();
+
+		Token token = peek();
+		if ( token.type() == TokenType.SYMBOL ) {
+			switch ( token.text() ) {
+				case "=", "<>", "!=", "<", "<=", ">", ">=" -> {
+					next();
+					String operator = token.text().equals( "!=" ) ? "<>" : token.text();
+					return new Binary( operator, left, parseAdditive() );
+				}
+				default -> {
+					return left;
+				}
+			}
+		}
+
+		if ( acceptWord( "IS" ) ) {
+			boolean negated = acceptWord( "NOT" );
+			expectWord( "NULL" );
+			return new IsNull( left, negated );
+		}
+
+		boolean negated = false;
+		if ( peekWord( "NOT" ) && ( peekAt( 1 ).text().equals( "IN" ) || peekAt( 1 ).text().equals( "LIKE" ) || peekAt( 1 ).text().equals( "BETWEEN" ) ) ) {
+			next();
+			negated = true;
+		}
+
+		if ( acceptWord( "IN" ) ) {
+			expectSymbol( "(" );
+			List<Expr> values = new ArrayList<>();
+			do {
+				values.add( parseExpression() );
+			} while ( acceptSymbol( "," ) );
+			expectSymbol( ")" );
+			return new In( left, values, negated );
+		}
+		if ( acceptWord( "LIKE" ) ) {
+			Expr	pattern	= parseAdditive();
+			String	escape	= null;
+			if ( acceptWord( "ESCAPE" ) ) {
+				Token escapeToken = next();
+				if ( escapeToken.type() != TokenType.STRING || escapeToken.text().length() != 1 ) {
+					throw error( "ESCAPE expects a single character string" );
+				}
+				escape = escapeToken.text();
+			}
+			return new Like( left, pattern, escape, negated );
+		}
+		if ( acceptWord( "BETWEEN" ) ) {
+			Expr low = parseAdditive();
+			expectWord( "AND" );
+			return new Between( left, low, parseAdditive(), negated );
+		}
+		return left;
+	}
+
+	private Expr parseAdditive() {
+		Expr left = parseMultiplicative();
+		while ( true ) {
+			if ( acceptSymbol( "+" ) ) {
+				left = new Binary( "+", left, parseMultiplicative() );
+			} else if ( acceptSymbol( "-" ) ) {
+				left = new Binary( "-", left, parseMultiplicative() );
+			} else if ( acceptSymbol( "||" ) ) {
+				left = new Binary( "||", left, parseMultiplicative() );
+			} else {
+				return left;
+			}
+		}
+	}
+
+	private Expr parseMultiplicative() {
+		Expr left = parseUnary();
+		while ( true ) {
+			if ( acceptSymbol( "*" ) ) {
+				left = new Binary( "*", left, parseUnary() );
+			} else if ( acceptSymbol( "/" ) ) {
+				left = new Binary( "/", left, parseUnary() );
+			} else if ( acceptSymbol( "%" ) ) {
+				left = new Binary( "%", left, parseUnary() );
+			} else {
+				return left;
+			}
+		}
+	}
+
+	private Expr parseUnary() {
+		if ( acceptSymbol( "-" ) ) {
+			Expr operand = parseUnary();
+			// Fold negative literals so they can be used by the primitive filters
+			if ( operand instanceof Literal literal && literal.value() instanceof Number number ) {
+				return new Literal( negate( number ) );
+			}
+			return new Negate( operand );
+		}
+		if ( acceptSymbol( "+" ) ) {
+			return parseUnary();
+		}
+		return parsePrimary();
+	}
+
+	private Expr parsePrimary() {
+		Token token = next();
+		switch ( token.type() ) {
+			case NUMBER :
+				return new Literal( parseNumber( token.text() ) );
+			case STRING :
+				return new Literal( token.text() );
+			case PARAM :
+				return new Param( this.parameterCount++ );
+			case SYMBOL :
+				if ( token.text().equals( "(" ) ) {
+					Expr expr = parseExpression();
+					expectSymbol( ")" );
+					return expr;
+				}
+				throw error( "Unexpected [" + token.original() + "]" );
+			case WORD :
+				switch ( token.text() ) {
+					case "NULL" :
+						return new Literal( null );
+					case "TRUE" :
+						return new Literal( Boolean.TRUE );
+					case "FALSE" :
+						return new Literal( Boolean.FALSE );
+					case "CASE" :
+						return parseCase();
+					case "CAST" :
+						if ( acceptSymbol( "(" ) ) {
+							Expr expr = parseExpression();
+							expectWord( "AS" );
+							String type = expectIdentifier().toLowerCase();
+							// Ignore lengths and precisions: varchar(50), decimal(10,2)
+							if ( acceptSymbol( "(" ) ) {
+								while ( !acceptSymbol( ")" ) ) {
+									next();
+								}
+							}
+							expectSymbol( ")" );
+							return new Cast( expr, type );
+						}
+						break;
+					default :
+						if ( RESERVED.contains( token.text() ) ) {
+							throw error( "Unexpected [" + token.original() + "]" );
+						}
+				}
+				return parseIdentifierExpression( token );
+			case QUOTED :
+				return parseIdentifierExpression( token );
+			default :
+				throw error( "Unexpected end of SQL" );
+		}
+	}
+
+	private Expr parseIdentifierExpression( Token token ) {
+		// Function call
+		if ( token.type() == TokenType.WORD && acceptSymbol( "(" ) ) {
+			String		name		= token.text();
+			List<Expr>	args		= new ArrayList<>();
+			boolean		distinct	= false;
+			boolean		star		= false;
+			if ( acceptSymbol( "*" ) ) {
+				star = true;
+			} else if ( !peekSymbol( ")" ) ) {
+				distinct = acceptWord( "DISTINCT" );
+				do {
+					args.add( parseExpression() );
+				} while ( acceptSymbol( "," ) );
+			}
+			expectSymbol( ")" );
+			return new Call( name, args, distinct, star );
+		}
+		// Qualified column
+		if ( acceptSymbol( "." ) ) {
+			return new Column( token.original(), expectIdentifier() );
+		}
+		return new Column( null, token.original() );
+	}
+
+	private Expr parseCase() {
+		Expr operand = null;
+		if ( !peekWord( "WHEN" ) ) {
+			operand = parseExpression();
+		}
+		List<Expr>	whens	= new ArrayList<>();
+		List<Expr>	thens	= new ArrayList<>();
+		while ( acceptWord( "WHEN" ) ) {
+			whens.add( parseExpression() );
+			expectWord( "THEN" );
+			thens.add( parseExpression() );
+		}
+		if ( whens.isEmpty() ) {
+			throw error( "CASE expects at least one WHEN" );
+		}
+		Expr otherwise = acceptWord( "ELSE" ) ? parseExpression() : null;
+		expectWord( "END" );
+		return new Case( operand, whens, thens, otherwise );
+	}
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Literals
+	 * --------------------------------------------------------------------------
+	 */
+
+	private long parseLong() {
+		Token token = next();
+		if ( token.type() != TokenType.NUMBER || token.text().contains( "." ) ) {
+			throw error( "Expected a whole number but found [" + token.original() + "]" );
+		}
+		return Long.parseLong( token.text() );
+	}
+
+	private static Number parseNumber( String text ) {
+		if ( text.contains( "." ) || text.contains( "E" ) ) {
+			return Double.valueOf( text );
+		}
+		long value = Long.parseLong( text );
+		if ( value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE ) {
+			return ( int ) value;
+		}
+		return value;
+	}
+
+	private static Number negate( Number number ) {
+		if ( number instanceof Integer i ) {
+			return -i;
+		}
+		if ( number instanceof Long l ) {
+			return -l;
+		}
+		if ( number instanceof BigDecimal bd ) {
+			return bd.negate();
+		}
+		return -number.doubleValue();
+	}
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Tokens
+	 * --------------------------------------------------------------------------
+	 */
+
+	private void tokenize() {
+		int	length	= this.sql.length();
+		int	i		= 0;
+		while ( i < length ) {
+			char c = this.sql.charAt( i );
+			if ( Character.isWhitespace( c ) ) {
+				i++;
+			} else if ( c == '-' && i + 1 < length && this.sql.charAt( i + 1 ) == '-' ) {
+				// Line comment
+				while ( i < length && this.sql.charAt( i ) != '\n' ) {
+					i++;
+				}
+			} else if ( c == '/' && i + 1 < length && this.sql.charAt( i + 1 ) == '*' ) {
+				// Block comment
+				int end = this.sql.indexOf( "*/", i + 2 );
+				i = end < 0 ? length : end + 2;
+			} else if ( c == '\'' ) {
+				StringBuilder	value	= new StringBuilder();
+				int				start	= i++;
+				while ( true ) {
+					if ( i >= length ) {
+						throw new DatabaseException( "Unterminated string starting at position " + start + " of QoQ SQL: " + this.sql );
+					}
+					char next = this.sql.charAt( i++ );
+					if ( next == '\'' ) {
+						// Escaped quote
+						if ( i < length && this.sql.charAt( i ) == '\'' ) {
+							value.append( '\'' );
+							i++;
+							continue;
+						}
+						break;
+					}
+					value.append( next );
+				}
+				this.tokens.add( new Token( TokenType.STRING, value.toString(), value.toString(), start ) );
+			} else if ( c == '"' || c == '[' || c == '`' ) {
+				char	close	= c == '[' ? ']' : c;
+				int		end		= this.sql.indexOf( close, i + 1 );
+				if ( end < 0 ) {
+					throw new DatabaseException( "Unterminated identifier starting at position " + i + " of QoQ SQL: " + this.sql );
+				}
+				String name = this.sql.substring( i + 1, end );
+				this.tokens.add( new Token( TokenType.QUOTED, name.toUpperCase(), name, i ) );
+				i = end + 1;
+			} else if ( Character.isDigit( c ) || ( c == '.' && i + 1 < length && Character.isDigit( this.sql.charAt( i + 1 ) ) ) ) {
+				int start = i;
+				while ( i < length && ( Character.isDigit( this.sql.charAt( i ) ) || this.sql.charAt( i ) == '.' ) ) {
+					i++;
+				}
+				if ( i < length && ( this.sql.charAt( i ) == 'e' || this.sql.charAt( i ) == 'E' ) ) {
+					i++;
+					if ( i < length && ( this.sql.charAt( i ) == '+' || this.sql.charAt( i ) == '-' ) ) {
+						i++;
+					}
+					while ( i < length && Character.isDigit( this.sql.charAt( i ) ) ) {
+						i++;
+					}
+				}
+				String text = this.sql.substring( start, i ).toUpperCase();
+				this.tokens.add( new Token( TokenType.NUMBER, text, text, start ) );
+			} else if ( Character.isLetter( c ) || c == '_' || c == '$' ) {
+				int start = i;
+				while ( i < length && ( Character.isLetterOrDigit( this.sql.charAt( i ) ) || this.sql.charAt( i ) == '_' || this.sql.charAt( i ) == '$' ) ) {
+					i++;
+				}
+				String word = this.sql.substring( start, i );
+				this.tokens.add( new Token( TokenType.WORD, word.toUpperCase(), word, start ) );
+			} else if ( c == '?' ) {
+				this.tokens.add( new Token( TokenType.PARAM, "?", "?", i ) );
+				i++;
+			} else {
+				String two = i + 1 < length ? this.sql.substring( i, i + 2 ) : "";
+				if ( two.equals( "<>" ) || two.equals( "!=" ) || two.equals( "<=" ) || two.equals( ">=" ) || two.equals( "||" ) ) {
+					this.tokens.add( new Token( TokenType.SYMBOL, two, two, i ) );
+					i += 2;
+				} else if ( "=<>+-*/%(),.;".indexOf( c ) >= 0 ) {
+					this.tokens.add( new Token( TokenType.SYMBOL, String.valueOf( c ), String.valueOf( c ), i ) );
+					i++;
+				} else {
+					throw new DatabaseException( "Unexpected character [" + c + "] at position " + i + " of QoQ SQL: " + this.sql );
+				}
+			}
+		}
+		this.tokens.add( new Token( TokenType.EOF, "", "end of SQL", length ) );
+	}
+
+	private Token peek() {
+		return this.tokens.get( this.current );
+	}
+
+	private Token peekAt( int offset ) {
+		return this.tokens.get( Math.min( this.current + offset, this.tokens.size() - 1 ) );
+	}
+
+	private Token next() {
+		Token token = peek();
+		if ( token.type() != TokenType.EOF ) {
+			this.current++;
+		}
+		return token;
+	}
+
+	private boolean peekWord( String word ) {
+		return peek().type() == TokenType.WORD && peek().text().equals( word );
+	}
+
+	private boolean peekSymbol( String symbol ) {
+		return peek().type() == TokenType.SYMBOL && peek().text().equals( symbol );
+	}
+
+	private boolean acceptWord( String word ) {
+		if ( peekWord( word ) ) {
+			this.current++;
+			return true;
+		}
+		return false;
+	}
+
+	private boolean acceptSymbol( String symbol ) {
+		if ( peekSymbol( symbol ) ) {
+			this.current++;
+			return true;
+		}
+		return false;
+	}
+
+	private void expectWord( String word ) {
+		if ( !acceptWord( word ) ) {
+			throw error( "Expected [" + word + "] but found [" + peek().original() + "]" );
+		}
+	}
+
+	private void expectSymbol( String symbol ) {
+		if ( !acceptSymbol( symbol ) ) {
+			throw error( "Expected [" + symbol + "] but found [" + peek().original() + "]" );
+		}
+	}
+
+	private static boolean isIdentifier( Token token ) {
+		return token.type() == TokenType.QUOTED || ( token.type() == TokenType.WORD && !RESERVED.contains( token.text() ) );
+	}
+
+	private String expectIdentifier() {
+		Token token = next();
+		if ( token.type() != TokenType.WORD && token.type() != TokenType.QUOTED ) {
+			throw error( "Expected a name but found [" + token.original() + "]" );
+		}
+		return token.original();
+	}
+
+	private DatabaseException error( String message ) {
+		return new DatabaseException( message + " at position " + peek().position() + " of QoQ SQL: " + this.sql );
+	}
+
+}
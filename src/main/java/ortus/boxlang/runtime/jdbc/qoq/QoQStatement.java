@@ -0,0 +1,410 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.runtime.jdbc.qoq;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A parsed Query of Queries statement: one or more {@code SELECT}s combined with {@code UNION},
+ * plus the trailing {@code ORDER BY} and {@code LIMIT} that apply to the combined result.
+ * <p>
+ * Statements are immutable and hold no reference to the queries they run against, so the same
+ * instance is cached by SQL text and shared by every execution, see {@link QoQEngine}.
+ */
+public final class QoQStatement {
+
+	/**
+	 * The selects, in order
+	 */
+	private final List<Select>		selects;
+
+	/**
+	 * For each select after the first, whether it is combined with {@code UNION ALL} (true) or {@code UNION} (false)
+	 */
+	private final List<Boolean>		unionAll;
+
+	/**
+	 * The final ordering, may be empty
+	 */
+	private final List<OrderItem>	orderBy;
+
+	/**
+	 * The max number of rows to return, or -1
+	 */
+	private final long				limit;
+
+	/**
+	 * How many rows to skip
+	 */
+	private final long				offset;
+
+	/**
+	 * How many {@code ?} parameters the statement expects
+	 */
+	private final int				parameterCount;
+
+	/**
+	 * Constructor
+	 *
+	 * @param selects        The selects, in order
+	 * @param unionAll       The union flags
+	 * @param orderBy        The final ordering
+	 * @param limit          The max number of rows, or -1
+	 * @param offset         The number of rows to skip
+	 * @param parameterCount How many parameters the statement expects
+	 */
+	public QoQStatement( List<Select> selects, List<Boolean> unionAll, List<OrderItem> orderBy, long limit, long offset, int parameterCount ) {
+		this.selects		= List.copyOf( selects );
+		this.unionAll		= List.copyOf( unionAll );
+		this.orderBy		= List.copyOf( orderBy );
+		this.limit			= limit;
+		this.offset			= offset;
+		this.parameterCount	= parameterCount;
+	}
+
+	public List<Select> getSelects() {
+		return this.selects;
+	}
+
+	public List<Boolean> getUnionAll() {
+		return this.unionAll;
+	}
+
+	public List<OrderItem> getOrderBy() {
+		return this.orderBy;
+	}
+
+	public long getLimit() {
+		return this.limit;
+	}
+
+	public long getOffset() {
+		return this.offset;
+	}
+
+	public int getParameterCount() {
+		return this.parameterCount;
+	}
+
+	/**
+	 * Is this a single select, where {@code ORDER BY} may reference source columns?
+	 *
+	 * @return True if there is no union
+	 */
+	public boolean isSimple() {
+		return this.selects.size() == 1;
+	}
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Clauses
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * A single {@code SELECT}
+	 *
+	 * @param distinct Whether {@code DISTINCT} was used
+	 * @param top      The {@code TOP n} value, or -1
+	 * @param items    The select list
+	 * @param from     The tables, in order. The first has no join.
+	 * @param where    The where clause, or null
+	 * @param groupBy  The group by expressions
+	 * @param having   The having clause, or null
+	 */
+	public record Select(
+	    boolean distinct,
+	    long top,
+	    List<SelectItem> items,
+	    List<TableRef> from,
+	    Expr where,
+	    List<Expr> groupBy,
+	    Expr having ) {
+
+		/**
+		 * Does this select aggregate its rows?
+		 *
+		 * @return True if there is a group by, a having, or an aggregate function in the select list
+		 */
+		public boolean isAggregate() {
+			return !groupBy.isEmpty() || having != null || items.stream().anyMatch( item -> item.expr() != null && containsAggregate( item.expr() ) );
+		}
+	}
+
+	/**
+	 * A table in the {@code FROM} clause
+	 *
+	 * @param name     The variable name of the query, e.g. {@code variables.qUsers}
+	 * @param alias    The alias, defaults to the last segment of the name
+	 * @param joinType How this table is joined to the previous ones
+	 * @param on       The join condition, or null
+	 */
+	public record TableRef( String name, String alias, JoinType joinType, Expr on ) {
+	}
+
+	/**
+	 * How a table is joined. {@code COMMA} is the implicit cross join of {@code FROM a, b}, its
+	 * conditions come from the where clause.
+	 */
+	public enum JoinType {
+		NONE,
+		COMMA,
+		INNER,
+		LEFT,
+		CROSS
+	}
+
+	/**
+	 * An item of the select list. Either an expression with an optional alias, or a star
+	 * with an optional table qualifier ({@code *} or {@code t.*}).
+	 *
+	 * @param expr          The expression, null for stars
+	 * @param alias         The alias, or null
+	 * @param starQualifier The table of a {@code t.*}, or null
+	 * @param star          Whether this is a star
+	 */
+	public record SelectItem( Expr expr, String alias, String starQualifier, boolean star ) {
+	}
+
+	/**
+	 * An {@code ORDER BY} item
+	 *
+	 * @param expr       The expression
+	 * @param descending Whether to sort descending
+	 */
+	public record OrderItem( Expr expr, boolean descending ) {
+	}
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Expressions
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * A SQL expression
+	 */
+	public sealed interface Expr permits Column, Literal, Param, Binary, Not, Negate, IsNull, In, Like, Between, Call, Case, Cast {
+	}
+
+	/**
+	 * A column reference
+	 *
+	 * @param table The table qualifier, or null
+	 * @param name  The column name
+	 */
+	public record Column( String table, String name ) implements Expr {
+	}
+
+	/**
+	 * A literal value
+	 *
+	 * @param value The value
+	 */
+	public record Literal( Object value ) implements Expr {
+	}
+
+	/**
+	 * A {@code ?} parameter
+	 *
+	 * @param index The 0-based position of the parameter
+	 */
+	public record Param( int index ) implements Expr {
+	}
+
+	/**
+	 * A binary operation. Operators are normalized to upper case: {@code AND OR = <> < <= > >= + - * / % ||}
+	 *
+	 * @param operator The operator
+	 * @param left     The left operand
+	 * @param right    The right operand
+	 */
+	public record Binary( String operator, Expr left, Expr right ) implements Expr {
+	}
+
+	/**
+	 * A logical {@code NOT}
+	 *
+	 * @param expr The operand
+	 */
+	public record Not( Expr expr ) implements Expr {
+	}
+
+	/**
+	 * A numeric negation
+	 *
+	 * @param expr The operand
+	 */
+	public record Negate( Expr expr ) implements Expr {
+	}
+
+	/**
+	 * {@code IS [NOT] NULL}
+	 *
+	 * @param expr    The operand
+	 * @param negated Whether it's {@code IS NOT NULL}
+	 */
+	public record IsNull( Expr expr, boolean negated ) implements Expr {
+	}
+
+	/**
+	 * {@code [NOT] IN ( ... )}
+	 *
+	 * @param expr    The operand
+	 * @param values  The values
+	 * @param negated Whether it's {@code NOT IN}
+	 */
+	public record In( Expr expr, List<Expr> values, boolean negated ) implements Expr {
+	}
+
+	/**
+	 * {@code [NOT] LIKE pattern [ESCAPE char]}
+	 *
+	 * @param expr    The operand
+	 * @param pattern The pattern
+	 * @param escape  The escape character, or null
+	 * @param negated Whether it's {@code NOT LIKE}
+	 */
+	public record Like( Expr expr, Expr pattern, String escape, boolean negated ) implements Expr {
+	}
+
+	/**
+	 * {@code [NOT] BETWEEN low AND high}
+	 *
+	 * @param expr    The operand
+	 * @param low     The lower bound, inclusive
+	 * @param high    The upper bound, inclusive
+	 * @param negated Whether it's {@code NOT BETWEEN}
+	 */
+	public record Between( Expr expr, Expr low, Expr high, boolean negated ) implements Expr {
+	}
+
+	/**
+	 * A function call. Names are normalized to upper case.
+	 *
+	 * @param name     The function name
+	 * @param args     The arguments
+	 * @param distinct Whether {@code DISTINCT} was used, e.g. {@code COUNT( DISTINCT x )}
+	 * @param star     Whether the argument is {@code *}, e.g. {@code COUNT( * )}
+	 */
+	public record Call( String name, List<Expr> args, boolean distinct, boolean star ) implements Expr {
+
+		/**
+		 * Is this an aggregate function?
+		 *
+		 * @return True for COUNT, SUM, AVG, MIN and MAX
+		 */
+		public boolean isAggregate() {
+			return switch ( name ) {
+				case "COUNT", "SUM", "AVG", "MIN", "MAX" -> true;
+				default -> false;
+			};
+		}
+	}
+
+	/**
+	 * {@code CASE [operand] WHEN ... THEN ... [ELSE ...] END}
+	 *
+	 * @param operand   The operand of a simple case, or null for a searched case
+	 * @param whens     The when expressions
+	 * @param thens     The then expressions
+	 * @param otherwise The else expression, or null
+	 */
+	public record Case( Expr operand, List<Expr> whens, List<Expr> thens, Expr otherwise ) implements Expr {
+	}
+
+	/**
+	 * {@code CAST( expr AS type )}
+	 *
+	 * @param expr The operand
+	 * @param type The target type, lower case
+	 */
+	public record Cast( Expr expr, String type ) implements Expr {
+	}
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Helpers
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Does the expression contain an aggregate function call?
+	 *
+	 * @param expr The expression
+	 *
+	 * @return True if it does
+	 */
+	public static boolean containsAggregate( Expr expr ) {
+		List<Expr> children = new ArrayList<>();
+		if ( expr instanceof Call call && call.isAggregate() ) {
+			return true;
+		}
+		collectChildren( expr, children );
+		for ( Expr child : children ) {
+			if ( containsAggregate( child ) ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Collect the direct children of an expression
+	 *
+	 * @param expr     The expression
+	 * @param children The list to add the children to
+	 */
+	public static void collectChildren( Expr expr, List<Expr> children ) {
+		if ( expr instanceof Binary binary ) {
+			children.add( binary.left() );
+			children.add( binary.right() );
+		} else if ( expr instanceof Not not ) {
+			children.add( not.expr() );
+		} else if ( expr instanceof Negate negate ) {
+			children.add( negate.expr() );
+		} else if ( expr instanceof IsNull isNull ) {
+			children.add( isNull.expr() );
+		} else if ( expr instanceof In in ) {
+			children.add( in.expr() );
+			children.addAll( in.values() );
+		} else if ( expr instanceof Like like ) {
+			children.add( like.expr() );
+			children.add( like.pattern() );
+		} else if ( expr instanceof Between between ) {
+			children.add( between.expr() );
+			children.add( between.low() );
+			children.add( between.high() );
+		} else if ( expr instanceof Call call ) {
+			children.addAll( call.args() );
+		} else if ( expr instanceof Case caseExpr ) {
+			if ( caseExpr.operand() != null ) {
+				children.add( caseExpr.operand() );
+			}
+			children.addAll( caseExpr.whens() );
+			children.addAll( caseExpr.thens() );
+			if ( caseExpr.otherwise() != null ) {
+				children.add( caseExpr.otherwise() );
+			}
+		} else if ( expr instanceof Cast cast ) {
+			children.add( cast.expr() );
+		}
+	}
+
+}
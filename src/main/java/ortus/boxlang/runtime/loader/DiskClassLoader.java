@@ -22,8 +22,6 @@ import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.ArrayList;
-import java.util.List;
 
 import ortus.boxlang.compiler.ClassInfo;
 import ortus.boxlang.compiler.IBoxpiler;
@@ -168,44 +166,57 @@ public class DiskClassLoader extends URLClassLoader {
 		addURL( Paths.get( jarfile ).toRealPath().toUri().toURL() );
 	}
 
+	/**
+	 * Define the classes of a pre-compiled source file
+	 *
+	 * @param fqn        The FQN the source file was compiled to
+	 * @param sourceFile The pre-compiled source file
+	 */
 	public void defineClasses( String fqn, File sourceFile ) {
+		byte[] fileBytes;
 		try {
-			byte[]		fileBytes	= Files.readAllBytes( sourceFile.toPath() );
-			ByteBuffer	buffer		= ByteBuffer.wrap( fileBytes );
-			// remove initial magic number
-			buffer.getInt();
-
-			List<byte[]>	classBytesList	= new ArrayList<>();
-			boolean			first			= true;
-
-			while ( buffer.hasRemaining() ) {
-				// Read the length of the class file
-				int		length		= buffer.getInt();
-
-				// Read the class file bytes
-				byte[]	classBytes	= new byte[ length ];
-				buffer.get( classBytes );
-
-				if ( first ) {
-					first = false;
-					String classNameInFile = new String( classBytes );
-					if ( !fqn.equals( classNameInFile ) ) {
-						throw new RuntimeException( "The source file " + sourceFile.toPath().toString()
-						    + " is pre-compiled bytecode, but its original class name [" + classNameInFile + "] does not match what we expected [" + fqn
-						    + "].  Pre-compiled source code must have the same path and name as the original file." );
-					}
-				} else {
-					// Define the class
-					defineClass( null, classBytes, 0, classBytes.length );
-				}
-			}
+			fileBytes = Files.readAllBytes( sourceFile.toPath() );
+		} catch ( IOException e ) {
+			throw new RuntimeException( "Failed to read file", e );
+		}
+		defineClasses( fqn, fileBytes, "The source file " + sourceFile.toPath().toString() );
+	}
 
-			for ( byte[] classBytes : classBytesList ) {
+	/**
+	 * Define the classes of pre-compiled bytecode, in the format written for pre-compiled source files: a magic number followed by the
+	 * length-prefixed FQN and then every class, also length-prefixed.
+	 *
+	 * @param fqn       The FQN the bytecode was compiled to
+	 * @param fileBytes The pre-compiled bytecode
+	 * @param origin    A description of where the bytecode comes from, for error messages
+	 */
+	public void defineClasses( String fqn, byte[] fileBytes, String origin ) {
+		ByteBuffer buffer = ByteBuffer.wrap( fileBytes );
+		// remove initial magic number
+		buffer.getInt();
+
+		boolean first = true;
+
+		while ( buffer.hasRemaining() ) {
+			// Read the length of the class file
+			int		length		= buffer.getInt();
+
+			// Read the class file bytes
+			byte[]	classBytes	= new byte[ length ];
+			buffer.get( classBytes );
+
+			if ( first ) {
+				first = false;
+				String classNameInFile = new String( classBytes );
+				if ( !fqn.equals( classNameInFile ) ) {
+					throw new RuntimeException( origin
+					    + " is pre-compiled bytecode, but its original class name [" + classNameInFile + "] does not match what we expected [" + fqn
+					    + "].  Pre-compiled source code must have the same path and name as the original file." );
+				}
+			} else {
 				// Define the class
 				defineClass( null, classBytes, 0, classBytes.length );
 			}
-		} catch ( IOException e ) {
-			throw new RuntimeException( "Failed to read file", e );
 		}
 	}
 
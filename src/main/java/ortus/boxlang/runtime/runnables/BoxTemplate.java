@@ -22,8 +22,10 @@ import java.util.List;
 
 import ortus.boxlang.runtime.BoxRuntime;
 import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.events.BoxEvent;
 import ortus.boxlang.runtime.loader.ImportDefinition;
 import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.services.InterceptorService;
 import ortus.boxlang.runtime.types.IStruct;
 import ortus.boxlang.runtime.types.Struct;
 import ortus.boxlang.runtime.types.exceptions.AbortException;
@@ -50,17 +52,20 @@ public abstract class BoxTemplate implements ITemplateRunnable {
 		    && context.getComponents()[ context.getComponents().length - 1 ].getAsKey( Key._NAME ).equals( Key.module );
 		context.pushTemplate( this );
 		try {
-			// Announcements
-			IStruct data = Struct.of(
-			    "context", context,
-			    "template", this,
-			    "templatePath", this.getRunnablePath()
-			);
-			runtime.announce( "preTemplateInvoke", data );
+			// Announcements, only built if someone is listening
+			InterceptorService	interceptorService	= runtime.getInterceptorService();
+			IStruct				data				= null;
+			if ( interceptorService.hasListeners( BoxEvent.PRE_TEMPLATE_INVOKE ) ) {
+				data = buildInvokeData( context );
+				interceptorService.announce( BoxEvent.PRE_TEMPLATE_INVOKE, data );
+			}
+
 			_invoke( context );
 
 			// Announce
-			runtime.announce( "postTemplateInvoke", data );
+			if ( interceptorService.hasListeners( BoxEvent.POST_TEMPLATE_INVOKE ) ) {
+				interceptorService.announce( BoxEvent.POST_TEMPLATE_INVOKE, data == null ? buildInvokeData( context ) : data );
+			}
 		} catch ( AbortException e ) {
 			// Module components have their own checks
 			if ( isInModule && ( e.isTemplate() || e.isLoop() || e.isTag() ) ) {
@@ -84,6 +89,21 @@ public abstract class BoxTemplate implements ITemplateRunnable {
 
 	}
 
+	/**
+	 * Build the template invocation announcement data
+	 *
+	 * @param context The context the template is invoked with
+	 *
+	 * @return The announcement data
+	 */
+	private IStruct buildInvokeData( IBoxContext context ) {
+		return Struct.of(
+		    "context", context,
+		    "template", this,
+		    "templatePath", this.getRunnablePath()
+		);
+	}
+
 	/**
 	 * The imports for this runnable
 	 */
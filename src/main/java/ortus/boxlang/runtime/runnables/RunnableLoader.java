@@ -18,12 +18,19 @@
 package ortus.boxlang.runtime.runnables;
 
 import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 
 import ortus.boxlang.compiler.IBoxpiler;
+import ortus.boxlang.compiler.ScriptStatementInterpreter;
 import ortus.boxlang.compiler.asmboxpiler.ASMBoxpiler;
 import ortus.boxlang.compiler.javaboxpiler.JavaBoxpiler;
 import ortus.boxlang.compiler.parser.BoxSourceType;
+import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.config.Configuration;
 import ortus.boxlang.runtime.context.IBoxContext;
 import ortus.boxlang.runtime.interop.DynamicObject;
 import ortus.boxlang.runtime.types.exceptions.BoxValidationException;
@@ -46,10 +53,16 @@ public class RunnableLoader {
 	/**
 	 * Singleton instance
 	 */
-	private static RunnableLoader		instance;
-	private IBoxpiler					boxpiler;
+	private static RunnableLoader					instance;
+	private IBoxpiler								boxpiler;
 	// TODO: make this configurable and move cf extensions to compat
-	private static final Set<String>	VALID_TEMPLATE_EXTENSIONS	= Set.of( "cfm", "cfml", "cfs", "bxs", "bxm", "bxml" );
+	private static final Set<String>				VALID_TEMPLATE_EXTENSIONS	= Set.of( "cfm", "cfml", "cfs", "bxs", "bxm", "bxml" );
+
+	/**
+	 * The interpreted statements by source type and source, least recently used first. Statements which can't be interpreted map to an
+	 * empty optional, so they are only parsed once before going to the compiler.
+	 */
+	private final Map<String, Optional<BoxScript>>	interpretedStatements;
 
 	/**
 	 * --------------------------------------------------------------------------
@@ -62,6 +75,15 @@ public class RunnableLoader {
 	 */
 	private RunnableLoader() {
 		this.boxpiler = JavaBoxpiler.getInstance();
+
+		int maxSize = BoxRuntime.getInstance().getConfiguration().scriptCacheMaxSize;
+		this.interpretedStatements = Collections.synchronizedMap( new LinkedHashMap<>( 64, 0.75f, true ) {
+
+			@Override
+			protected boolean removeEldestEntry( Map.Entry<String, Optional<BoxScript>> eldest ) {
+				return maxSize > 0 && size() > maxSize;
+			}
+		} );
 	}
 
 	/**
@@ -202,7 +224,8 @@ public class RunnableLoader {
 	}
 
 	/**
-	 * Load the class for a script, JIT compiling if needed
+	 * Load the class for a script, JIT compiling if needed. Statements which are a single pure expression are interpreted instead, if the
+	 * <code>scriptInterpreter</code> setting is on.
 	 *
 	 * @param context The context to use
 	 * @param source  The source to load
@@ -210,6 +233,20 @@ public class RunnableLoader {
 	 * @return The BoxScript instance
 	 */
 	public BoxScript loadStatement( IBoxContext context, String source, BoxSourceType type ) {
+		Configuration config = BoxRuntime.getInstance().getConfiguration();
+		if ( Boolean.TRUE.equals( config.scriptInterpreter ) ) {
+			String				key			= type.name() + ":" + source;
+			Optional<BoxScript>	interpreted	= this.interpretedStatements.get( key );
+			if ( interpreted == null ) {
+				// Parse outside the lock, two threads parsing the same statement at once is harmless
+				interpreted = Optional.ofNullable( ScriptStatementInterpreter.interpret( this.boxpiler.parse( source, type, false ), source, type ) );
+				this.interpretedStatements.put( key, interpreted );
+			}
+			if ( interpreted.isPresent() ) {
+				return interpreted.get();
+			}
+		}
+
 		Class<IBoxRunnable> clazz = this.boxpiler.compileStatement( source, type );
 		return ( BoxScript ) DynamicObject.of( clazz ).invokeStatic( context, "getInstance" );
 	}
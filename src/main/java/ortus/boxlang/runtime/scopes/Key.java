@@ -18,7 +18,11 @@
 package ortus.boxlang.runtime.scopes;
 
 import java.io.Serializable;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
 
 import ortus.boxlang.runtime.interop.DynamicObject;
 import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
@@ -30,6 +34,18 @@ import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
  */
 public class Key implements Comparable<Key>, Serializable {
 
+	/**
+	 * The canonical keys created by {@link #of(String)}, by their exact name. They are weakly referenced, so keys for names nobody uses
+	 * anymore can be collected, and their entries are purged on the next miss. This is declared before the key constants below, which are
+	 * interned while the class initializes.
+	 */
+	private static final ConcurrentHashMap<String, KeyReference>	INTERNED	= new ConcurrentHashMap<>();
+
+	/**
+	 * Where the references of collected keys are queued
+	 */
+	private static final ReferenceQueue<Key>						COLLECTED	= new ReferenceQueue<>();
+
 	// Static instances of common keys
 	public static final Key		_0									= Key.of( 0 );
 	public static final Key		_1									= Key.of( 1 );
@@ -98,6 +114,7 @@ public class Key implements Comparable<Key>, Serializable {
 	public static final Key		applicationSettings					= Key.of( "applicationSettings" );
 	public static final Key		applicationTimeout					= Key.of( "applicationTimeout" );
 	public static final Key		appListener							= Key.of( "appListener" );
+	public static final Key		archives							= Key.of( "archives" );
 	public static final Key		argumentCollection					= Key.of( "argumentCollection" );
 	public static final Key		arguments							= Key.of( "arguments" );
 	public static final Key		array								= Key.of( "array" );
@@ -116,6 +133,7 @@ public class Key implements Comparable<Key>, Serializable {
 	public static final Key		auth_user							= Key.of( "auth_user" );
 	public static final Key		author								= Key.of( "author" );
 	public static final Key		authType							= Key.of( "authType" );
+	public static final Key		autoCreate							= Key.of( "autoCreate" );
 	public static final Key		base64_or_object					= Key.of( "base64_or_object " );
 	public static final Key		baseTag								= Key.of( "baseTag" );
 	public static final Key		binary								= Key.of( "binary" );
@@ -430,6 +448,7 @@ public class Key implements Comparable<Key>, Serializable {
 	public static final Key		maxLength							= Key.of( "maxLength" );
 	public static final Key		maxObjects							= Key.of( "maxObjects" );
 	public static final Key		maxRows								= Key.of( "maxRows" );
+	public static final Key		maxSlabs							= Key.of( "maxSlabs" );
 	public static final Key		maxThreads							= Key.of( "maxThreads" );
 	public static final Key		merge								= Key.of( "merge" );
 	public static final Key		message								= Key.of( "message" );
@@ -465,6 +484,7 @@ public class Key implements Comparable<Key>, Serializable {
 	public static final Key		nameAsKey							= Key.of( "nameAsKey" );
 	public static final Key		nameconflict						= Key.of( "nameconflict" );
 	public static final Key		namespace							= Key.of( "namespace" );
+	public static final Key		nearCacheTimeout					= Key.of( "nearCacheTimeout" );
 	public static final Key		newDelimiter						= Key.of( "newDelimiter" );
 	public static final Key		newDirectory						= Key.of( "newDirectory" );
 	public static final Key		newPath								= Key.of( "newPath" );
@@ -585,6 +605,9 @@ public class Key implements Comparable<Key>, Serializable {
 	public static final Key		scale								= Key.of( "scale" );
 	public static final Key		schedulerService					= Key.of( "schedulerService" );
 	public static final Key		scope								= Key.of( "scope" );
+	public static final Key		scriptCacheIdleTimeout				= Key.of( "scriptCacheIdleTimeout" );
+	public static final Key		scriptCacheMaxSize					= Key.of( "scriptCacheMaxSize" );
+	public static final Key		scriptInterpreter					= Key.of( "scriptInterpreter" );
 	public static final Key		script_name							= Key.of( "script_name" );
 	public static final Key		second								= Key.of( "second" );
 	public static final Key		seconds								= Key.of( "seconds" );
@@ -617,6 +640,7 @@ public class Key implements Comparable<Key>, Serializable {
 	public static final Key		showerror							= Key.of( "showerror" );
 	public static final Key		showUDFs							= Key.of( "showUDFs" );
 	public static final Key		size								= Key.of( "size" );
+	public static final Key		slabSize							= Key.of( "slabSize" );
 	public static final Key		sleep								= Key.of( "sleep" );
 	public static final Key		sort								= Key.of( "sort" );
 	public static final Key		sortFunc							= Key.of( "sortFunc" );
@@ -664,6 +688,8 @@ public class Key implements Comparable<Key>, Serializable {
 	public static final Key		tagName								= Key.of( "tagName" );
 	public static final Key		target								= Key.of( "target" );
 	public static final Key		template							= Key.of( "template" );
+	public static final Key		templateCheck						= Key.of( "templateCheck" );
+	public static final Key		templateCheckInterval				= Key.of( "templateCheckInterval" );
 	public static final Key		terminate							= Key.of( "terminate" );
 	public static final Key		terminated							= Key.of( "terminated" );
 	public static final Key		terminateOnTimeout					= Key.of( "terminateOnTimeout" );
@@ -715,6 +741,7 @@ public class Key implements Comparable<Key>, Serializable {
 	public static final Key		webURL								= Key.of( "webURL" );
 	public static final Key		workstation							= Key.of( "workstation" );
 	public static final Key		write								= Key.of( "write" );
+	public static final Key		writeBehindInterval					= Key.of( "writeBehindInterval" );
 	public static final Key		wddx								= Key.of( "wddx" );
 	public static final Key		XML									= Key.of( "XML" );
 	public static final Key		XMLAttributes						= Key.of( "XMLAttributes" );
@@ -762,6 +789,8 @@ public class Key implements Comparable<Key>, Serializable {
 	public static final Key		username							= Key.of( "username" );
 
 	// Datasource configuration keys
+	public static final Key		batch								= Key.of( "batch" );
+	public static final Key		batchSize							= Key.of( "batchSize" );
 	public static final Key		blockfactor							= Key.of( "blockfactor" );
 	public static final Key		cachedAfter							= Key.of( "cachedAfter" );
 	public static final Key		cachedWithin						= Key.of( "cachedWithin" );
@@ -780,6 +809,8 @@ public class Key implements Comparable<Key>, Serializable {
 	public static final Key		minConnections						= Key.of( "minConnections" );
 	public static final Key		ormoptions							= Key.of( "ormoptions" );
 	public static final Key		psq									= Key.of( "psq" );
+	public static final Key		queryCacheInvalidation				= Key.of( "queryCacheInvalidation" );
+	public static final Key		statementCacheSize					= Key.of( "statementCacheSize" );
 
 	// CFConfig-style datasource config keys
 	public static final Key		custom								= Key.of( "custom" );
@@ -893,8 +924,8 @@ public class Key implements Comparable<Key>, Serializable {
 
 	/**
 	 * Verifies equality with the following rules:
-	 * - Same object
-	 * - Same key hash
+	 * - Same object, which is the usual case as {@link #of(String)} returns canonical keys
+	 * - Same key name, case-insensitive
 	 *
 	 * @param obj The object to compare against.
 	 */
@@ -906,8 +937,8 @@ public class Key implements Comparable<Key>, Serializable {
 		}
 
 		if ( obj != null && obj instanceof Key castedKey ) {
-			// Same key name
-			return hashCode() == castedKey.hashCode();
+			// Same key name. The cached hash codes rule out most keys before comparing the names, and different names can share a hash code.
+			return hashCode() == castedKey.hashCode() && this.nameNoCase.equals( castedKey.nameNoCase );
 		}
 
 		return false;
@@ -943,7 +974,8 @@ public class Key implements Comparable<Key>, Serializable {
 	}
 
 	/**
-	 * Static builder of a case-insensitive key using the incoming key name
+	 * Static builder of a case-insensitive key using the incoming key name. Keys for the same name are interned, so equal names share one
+	 * instance while it's in use.
 	 *
 	 * @param name The key name to use.
 	 *
@@ -962,7 +994,62 @@ public class Key implements Comparable<Key>, Serializable {
 
 			}
 		}
-		return new Key( name );
+		return intern( name );
+	}
+
+	/**
+	 * Get the canonical key for a name, creating it if there's none or it was collected
+	 *
+	 * @param name The exact key name
+	 *
+	 * @return The canonical key
+	 */
+	private static Key intern( String name ) {
+		KeyReference	reference	= INTERNED.get( name );
+		Key				key			= reference == null ? null : reference.get();
+		if ( key != null ) {
+			return key;
+		}
+
+		purgeCollected();
+		Key created = new Key( name );
+		while ( true ) {
+			KeyReference	createdReference	= new KeyReference( created );
+			KeyReference	existing			= INTERNED.putIfAbsent( name, createdReference );
+			if ( existing == null ) {
+				return created;
+			}
+			// Another thread won the race, or its key was collected and the entry not purged yet
+			key = existing.get();
+			if ( key != null ) {
+				return key;
+			}
+			if ( INTERNED.replace( name, existing, createdReference ) ) {
+				return created;
+			}
+		}
+	}
+
+	/**
+	 * Remove the entries of the keys that were collected
+	 */
+	private static void purgeCollected() {
+		Reference<? extends Key> reference;
+		while ( ( reference = COLLECTED.poll() ) != null ) {
+			INTERNED.remove( ( ( KeyReference ) reference ).name, reference );
+		}
+	}
+
+	/**
+	 * Deserialized plain keys are swapped for their canonical instance
+	 *
+	 * @return The canonical key, or this key if it's a subclass or wraps a complex value
+	 */
+	protected Object readResolve() {
+		if ( getClass() == Key.class && this.name == this.originalValue ) {
+			return intern( this.name );
+		}
+		return this;
 	}
 
 	/**
@@ -1008,6 +1095,9 @@ public class Key implements Comparable<Key>, Serializable {
 			throw new BoxRuntimeException( "Cannot create a key from a null object" );
 		}
 		obj = DynamicObject.unWrap( obj );
+		if ( obj instanceof String string ) {
+			return intern( string );
+		}
 		return new Key( obj.toString(), obj );
 	}
 
@@ -1110,4 +1200,17 @@ public class Key implements Comparable<Key>, Serializable {
 		return this.name.compareTo( otherKey.name );
 	}
 
+	/**
+	 * A weak reference to an interned key, which remembers its name to purge its entry once collected
+	 */
+	private static final class KeyReference extends WeakReference<Key> {
+
+		private final String name;
+
+		KeyReference( Key key ) {
+			super( key, COLLECTED );
+			this.name = key.name;
+		}
+	}
+
 }
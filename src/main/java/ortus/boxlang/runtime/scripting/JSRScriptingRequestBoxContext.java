@@ -17,7 +17,6 @@
  */
 package ortus.boxlang.runtime.scripting;
 
-import java.io.IOException;
 import java.io.PrintStream;
 import java.io.Writer;
 import java.net.URI;
@@ -26,6 +25,8 @@ import javax.script.ScriptContext;
 
 import ortus.boxlang.runtime.context.IBoxContext;
 import ortus.boxlang.runtime.context.ScriptingRequestBoxContext;
+import ortus.boxlang.runtime.types.exceptions.BoxIOException;
+import ortus.boxlang.runtime.util.OutputBuffer;
 
 /**
  * This context represents the context of a JSR scripting execution
@@ -87,15 +88,10 @@ public class JSRScriptingRequestBoxContext extends ScriptingRequestBoxContext {
 		if ( !canOutput() && !force ) {
 			return this;
 		}
-		String output;
-		for ( StringBuffer buf : buffers ) {
-			synchronized ( buf ) {
-				output = buf.toString();
-				buf.setLength( 0 );
-			}
+		for ( OutputBuffer buf : buffers ) {
 			try {
-				JSRScriptingContext.getWriter().write( output );
-			} catch ( IOException e ) {
+				buf.writeTo( JSRScriptingContext.getWriter() );
+			} catch ( BoxIOException e ) {
 				e.printStackTrace();
 			}
 		}
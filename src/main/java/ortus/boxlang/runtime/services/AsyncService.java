@@ -98,6 +98,11 @@ public class AsyncService extends BaseService {
 	 */
 	public static final Long			DEFAULT_TIMEOUT		= 30L;
 
+	/**
+	 * The name of the shared executor the parallel collection functions run on
+	 */
+	public static final String			PARALLEL_EXECUTOR	= "boxlang-parallel";
+
 	/**
 	 * --------------------------------------------------------------------------
 	 * Private Properties
@@ -194,6 +199,19 @@ public class AsyncService extends BaseService {
 		return this.executors.get( name );
 	}
 
+	/**
+	 * Get the shared executor the parallel collection functions, like <code>arrayEach( parallel = true )</code>, run on. It's the
+	 * <code>boxlang-parallel</code> executor of the configuration, or a fork join pool with a thread per core if there is none.
+	 *
+	 * @return The executor record
+	 */
+	public ExecutorRecord getParallelExecutor() {
+		return this.executors.computeIfAbsent(
+		    PARALLEL_EXECUTOR,
+		    key -> buildExecutor( key, ExecutorType.FORK_JOIN, Runtime.getRuntime().availableProcessors() )
+		);
+	}
+
 	/**
 	 * Verify if an executor exists
 	 *
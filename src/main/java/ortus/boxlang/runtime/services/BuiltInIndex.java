@@ -0,0 +1,317 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.runtime.services;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import ortus.boxlang.runtime.bifs.BIF;
+import ortus.boxlang.runtime.bifs.BoxBIF;
+import ortus.boxlang.runtime.bifs.BoxMember;
+import ortus.boxlang.runtime.components.BoxComponent;
+import ortus.boxlang.runtime.components.Component;
+import ortus.boxlang.runtime.types.exceptions.BoxIOException;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
+import ortus.boxlang.runtime.types.util.JSONUtil;
+
+/**
+ * A build-time index of the core BIFs and components, so the {@link FunctionService} and {@link ComponentService} can register them at
+ * startup without loading and reflecting over every class.
+ * <p>
+ * The index is generated by the <code>generateBuiltInIndex</code> Gradle task, which runs {@link #main(String[])} on the compiled classes
+ * and writes {@link #RESOURCE}. It holds everything the annotations on each class declare: the BIF names and aliases, the member methods
+ * and the component names and body rules. The classes themselves are only loaded when a BIF or component is first used.
+ * <p>
+ * The index only covers the classes it was generated from. The services still read the <code>META-INF/services</code> provider lists,
+ * which is cheap, and fall back to reflection for any provider missing from the index, like one added after the index was generated.
+ *
+ * @param bifs       The indexed BIFs
+ * @param components The indexed components
+ */
+public record BuiltInIndex( List<BIFEntry> bifs, List<ComponentEntry> components ) {
+
+	/**
+	 * The classpath resource of the index
+	 */
+	public static final String RESOURCE = "META-INF/boxlang/builtins.json";
+
+	/**
+	 * An indexed BIF
+	 *
+	 * @param className The name of the BIF class
+	 * @param names     The global function names it's registered under
+	 * @param members   The member methods it's registered as
+	 */
+	public record BIFEntry( String className, List<String> names, List<MemberEntry> members ) {
+	}
+
+	/**
+	 * An indexed member method
+	 *
+	 * @param name           The member method name
+	 * @param type           The name of the {@link ortus.boxlang.runtime.types.BoxLangType}
+	 * @param customType     The name of the custom type class
+	 * @param objectArgument The argument the object is passed as, or null for the first one
+	 */
+	public record MemberEntry( String name, String type, String customType, String objectArgument ) {
+	}
+
+	/**
+	 * An indexed component
+	 *
+	 * @param className    The name of the component class
+	 * @param name         The component name
+	 * @param alias        The alias, or an empty string
+	 * @param allowsBody   Whether it allows a body
+	 * @param requiresBody Whether it requires a body
+	 */
+	public record ComponentEntry( String className, String name, String alias, boolean allowsBody, boolean requiresBody ) {
+	}
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Loading
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Load the index from the classpath
+	 *
+	 * @param classLoader The class loader to read it from
+	 *
+	 * @return The index, or null if there is none
+	 */
+	@SuppressWarnings( "unchecked" )
+	public static BuiltInIndex load( ClassLoader classLoader ) {
+		Map<String, Object> json;
+		try ( InputStream stream = classLoader.getResourceAsStream( RESOURCE ) ) {
+			if ( stream == null ) {
+				return null;
+			}
+			json = ( Map<String, Object> ) JSONUtil.fromJSON( stream );
+		} catch ( IOException e ) {
+			throw new BoxIOException( e );
+		}
+
+		List<BIFEntry> bifs = new ArrayList<>();
+		for ( Map<String, Object> bif : ( List<Map<String, Object>> ) json.get( "bifs" ) ) {
+			List<MemberEntry> members = new ArrayList<>();
+			for ( Map<String, Object> member : ( List<Map<String, Object>> ) bif.get( "members" ) ) {
+				members.add( new MemberEntry(
+				    ( String ) member.get( "name" ),
+				    ( String ) member.get( "type" ),
+				    ( String ) member.get( "customType" ),
+				    ( String ) member.get( "objectArgument" )
+				) );
+			}
+			bifs.add( new BIFEntry( ( String ) bif.get( "className" ), ( List<String> ) bif.get( "names" ), members ) );
+		}
+
+		List<ComponentEntry> components = new ArrayList<>();
+		for ( Map<String, Object> component : ( List<Map<String, Object>> ) json.get( "components" ) ) {
+			components.add( new ComponentEntry(
+			    ( String ) component.get( "className" ),
+			    ( String ) component.get( "name" ),
+			    ( String ) component.get( "alias" ),
+			    Boolean.TRUE.equals( component.get( "allowsBody" ) ),
+			    Boolean.TRUE.equals( component.get( "requiresBody" ) )
+			) );
+		}
+		return new BuiltInIndex( bifs, components );
+	}
+
+	/**
+	 * Read the class names of the providers of a service from every <code>META-INF/services</code> file on the classpath, the same way the
+	 * {@link java.util.ServiceLoader} does, but without loading the classes.
+	 *
+	 * @param service     The service interface
+	 * @param classLoader The class loader to read the provider files from
+	 *
+	 * @return The provider class names, in classpath order
+	 */
+	public static Set<String> readProviders( Class<?> service, ClassLoader classLoader ) {
+		Set<String> providers = new LinkedHashSet<>();
+		try {
+			Enumeration<URL> files = classLoader.getResources( "META-INF/services/" + service.getName() );
+			while ( files.hasMoreElements() ) {
+				try ( BufferedReader reader = new BufferedReader( new InputStreamReader( files.nextElement().openStream(), StandardCharsets.UTF_8 ) ) ) {
+					String line;
+					while ( ( line = reader.readLine() ) != null ) {
+						int comment = line.indexOf( '#' );
+						if ( comment >= 0 ) {
+							line = line.substring( 0, comment );
+						}
+						line = line.trim();
+						if ( !line.isEmpty() ) {
+							providers.add( line );
+						}
+					}
+				}
+			}
+		} catch ( IOException e ) {
+			throw new BoxIOException( e );
+		}
+		return providers;
+	}
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Generation
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Generate the index by reflecting over the annotations of every BIF and component provider. The classes are loaded but not initialized.
+	 *
+	 * @param classLoader The class loader with the compiled classes and their provider files
+	 *
+	 * @return The index
+	 */
+	public static BuiltInIndex generate( ClassLoader classLoader ) {
+		List<BIFEntry> bifs = new ArrayList<>();
+		for ( String className : readProviders( BIF.class, classLoader ) ) {
+			Class<?>		bifClass	= loadClass( className, classLoader );
+			String			simpleName	= bifClass.getSimpleName();
+			List<String>	names		= new ArrayList<>();
+			for ( BoxBIF bif : bifClass.getAnnotationsByType( BoxBIF.class ) ) {
+				names.add( bif.alias().equals( "" ) ? simpleName : bif.alias() );
+			}
+			List<MemberEntry> members = new ArrayList<>();
+			for ( BoxMember member : bifClass.getAnnotationsByType( BoxMember.class ) ) {
+				members.add( new MemberEntry(
+				    FunctionService.getMemberName( simpleName, member ),
+				    member.type().name(),
+				    member.customType().getName(),
+				    member.objectArgument().equals( "" ) ? null : member.objectArgument()
+				) );
+			}
+			bifs.add( new BIFEntry( className, names, members ) );
+		}
+
+		List<ComponentEntry> components = new ArrayList<>();
+		for ( String className : readProviders( Component.class, classLoader ) ) {
+			Class<?> componentClass = loadClass( className, classLoader );
+			for ( BoxComponent component : componentClass.getAnnotationsByType( BoxComponent.class ) ) {
+				components.add( new ComponentEntry(
+				    className,
+				    component.name().length() > 0 ? component.name() : componentClass.getSimpleName(),
+				    component.alias(),
+				    component.allowsBody(),
+				    component.requiresBody()
+				) );
+			}
+		}
+		return new BuiltInIndex( bifs, components );
+	}
+
+	/**
+	 * Serialize the index to JSON
+	 *
+	 * @return The JSON
+	 */
+	public String toJSON() {
+		List<Map<String, Object>> bifList = new ArrayList<>();
+		for ( BIFEntry bif : this.bifs ) {
+			List<Map<String, Object>> memberList = new ArrayList<>();
+			for ( MemberEntry member : bif.members() ) {
+				Map<String, Object> memberMap = new LinkedHashMap<>();
+				memberMap.put( "name", member.name() );
+				memberMap.put( "type", member.type() );
+				memberMap.put( "customType", member.customType() );
+				memberMap.put( "objectArgument", member.objectArgument() );
+				memberList.add( memberMap );
+			}
+			Map<String, Object> bifMap = new LinkedHashMap<>();
+			bifMap.put( "className", bif.className() );
+			bifMap.put( "names", bif.names() );
+			bifMap.put( "members", memberList );
+			bifList.add( bifMap );
+		}
+
+		List<Map<String, Object>> componentList = new ArrayList<>();
+		for ( ComponentEntry component : this.components ) {
+			Map<String, Object> componentMap = new LinkedHashMap<>();
+			componentMap.put( "className", component.className() );
+			componentMap.put( "name", component.name() );
+			componentMap.put( "alias", component.alias() );
+			componentMap.put( "allowsBody", component.allowsBody() );
+			componentMap.put( "requiresBody", component.requiresBody() );
+			componentList.add( componentMap );
+		}
+
+		Map<String, Object> json = new LinkedHashMap<>();
+		json.put( "bifs", bifList );
+		json.put( "components", componentList );
+		try {
+			return JSONUtil.getJSONBuilder().asString( json );
+		} catch ( IOException e ) {
+			throw new BoxIOException( e );
+		}
+	}
+
+	/**
+	 * Generate the index from the classpath and write it to a file. This is run by the <code>generateBuiltInIndex</code> Gradle task.
+	 *
+	 * @param args The path of the file to write
+	 */
+	public static void main( String[] args ) {
+		if ( args.length != 1 ) {
+			throw new BoxRuntimeException( "Usage: BuiltInIndex <output file>" );
+		}
+		BuiltInIndex	index	= generate( BuiltInIndex.class.getClassLoader() );
+		Path			target	= Paths.get( args[ 0 ] );
+		try {
+			Files.createDirectories( target.getParent() );
+			Files.writeString( target, index.toJSON() );
+		} catch ( IOException e ) {
+			throw new BoxIOException( e );
+		}
+		System.out.println( "+ Indexed [" + index.bifs().size() + "] BIFs and [" + index.components().size() + "] components into " + target );
+	}
+
+	/**
+	 * Load a class without initializing it
+	 *
+	 * @param className   The class name
+	 * @param classLoader The class loader
+	 *
+	 * @return The class
+	 */
+	private static Class<?> loadClass( String className, ClassLoader classLoader ) {
+		try {
+			return Class.forName( className, false, classLoader );
+		} catch ( ClassNotFoundException e ) {
+			throw new BoxRuntimeException( "Unable to load the class [" + className + "] to index it", e );
+		}
+	}
+
+}
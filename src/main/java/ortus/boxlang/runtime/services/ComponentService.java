@@ -18,8 +18,9 @@
 package ortus.boxlang.runtime.services;
 
 import java.io.IOException;
+import java.util.HashSet;
 import java.util.Map;
-import java.util.ServiceLoader;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
@@ -231,21 +232,64 @@ public class ComponentService extends BaseService {
 	 */
 
 	/**
-	 * This method loads all of the components into the service by scanning the
-	 * {@code ortus.boxlang.runtime.components.} package.
+	 * This method loads all of the components into the service.
+	 * The components in the build-time {@link BuiltInIndex} are registered from it without loading their classes, and any other
+	 * component provider on the classpath is loaded and registered by scanning its annotations.
 	 *
 	 * @throws IOException If there is an error loading the components
 	 */
 	public void loadComponentRegistry() throws IOException {
-		ServiceLoader
-		    .load( Component.class, BoxRuntime.class.getClassLoader() )
-		    .stream()
-		    .parallel()
-		    .map( ServiceLoader.Provider::type )
-		    // .peek( targetClass -> System.out.println( "targetClass: " + targetClass.getName() ) )
+		ClassLoader		classLoader	= BoxRuntime.class.getClassLoader();
+		Set<String>		providers	= BuiltInIndex.readProviders( Component.class, classLoader );
+		BuiltInIndex	index		= BuiltInIndex.load( classLoader );
+
+		if ( index != null ) {
+			Set<String> indexed = new HashSet<>();
+			for ( BuiltInIndex.ComponentEntry entry : index.components() ) {
+				// Only register what's still provided, the index may be older than the classes
+				if ( providers.contains( entry.className() ) ) {
+					registerComponent( entry );
+					indexed.add( entry.className() );
+				}
+			}
+			providers.removeAll( indexed );
+		}
+
+		providers
+		    .parallelStream()
+		    .map( className -> {
+			    try {
+				    return Class.forName( className, false, classLoader );
+			    } catch ( ClassNotFoundException e ) {
+				    throw new BoxRuntimeException( "Cannot load the component class [" + className + "]", e );
+			    }
+		    } )
 		    .forEach( targetClass -> registerComponent( targetClass, null, null ) );
 	}
 
+	/**
+	 * Registers a component from its build-time index entry. The component class is only loaded when it's first used.
+	 *
+	 * @param entry The index entry of the component
+	 */
+	public void registerComponent( BuiltInIndex.ComponentEntry entry ) {
+		ComponentDescriptor descriptor = new ComponentDescriptor(
+		    Key.of( entry.name() ),
+		    entry.className(),
+		    null,
+		    entry.allowsBody(),
+		    entry.requiresBody()
+		);
+
+		// Register normal first
+		registerComponent( descriptor, true );
+
+		// Do we have an alias?
+		if ( entry.alias().length() > 0 ) {
+			registerComponent( descriptor, Key.of( entry.alias() ), true );
+		}
+	}
+
 	/**
 	 * Registers a component with the service.
 	 * This is mostly called by the component loader.
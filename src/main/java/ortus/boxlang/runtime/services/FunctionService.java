@@ -18,10 +18,11 @@
 package ortus.boxlang.runtime.services;
 
 import java.io.IOException;
+import java.lang.invoke.SwitchPoint;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.ServiceLoader;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
@@ -80,6 +81,12 @@ public class FunctionService extends BaseService {
 	 */
 	private Map<Key, Map<BoxLangType, MemberDescriptor>>	memberMethods	= new ConcurrentHashMap<>();
 
+	/**
+	 * Invalidated every time a member method with a new name is registered, so the Java interop call sites that cached a method of the
+	 * same name fall back to the member method lookup again. See {@link ortus.boxlang.runtime.interop.InteropCallSite}
+	 */
+	private volatile SwitchPoint							memberSwitch	= new SwitchPoint();
+
 	/**
 	 * --------------------------------------------------------------------------
 	 * Constructor(s)
@@ -258,6 +265,26 @@ public class FunctionService extends BaseService {
 		return null;
 	}
 
+	/**
+	 * Verifies if a member method with the given name is registered for any type
+	 *
+	 * @param name The name of the member method
+	 *
+	 * @return True if a member method with the given name exists
+	 */
+	public boolean hasMemberMethod( Key name ) {
+		return this.memberMethods.containsKey( name );
+	}
+
+	/**
+	 * Get the switch point invalidated when a member method with a new name is registered
+	 *
+	 * @return The current member methods switch point
+	 */
+	public SwitchPoint getMemberMethodsSwitchPoint() {
+		return this.memberSwitch;
+	}
+
 	/**
 	 * Returns the member method with the given name and BoxLangType
 	 *
@@ -331,7 +358,11 @@ public class FunctionService extends BaseService {
 		// Make sure the container for the member key exists
 		// Ex: memberMethods[ "foo" ] = { BoxLangType.ARRAY : MemberDescriptor, BoxLangType.STRING : MemberDescriptor }
 		synchronized ( this.memberMethods ) {
-			this.memberMethods.putIfAbsent( memberKey, Collections.synchronizedMap( new LinkedHashMap<>() ) );
+			if ( this.memberMethods.putIfAbsent( memberKey, Collections.synchronizedMap( new LinkedHashMap<>() ) ) == null ) {
+				SwitchPoint previous = this.memberSwitch;
+				this.memberSwitch = new SwitchPoint();
+				SwitchPoint.invalidateAll( new SwitchPoint[] { previous } );
+			}
 		}
 
 		// Now add them up
@@ -345,21 +376,91 @@ public class FunctionService extends BaseService {
 	 */
 
 	/**
-	 * This method loads all of the global functions into the service by scanning the
-	 * {@code ortus.boxlang.runtime.bifs.global} package.
+	 * This method loads all of the global functions into the service.
+	 * The BIFs in the build-time {@link BuiltInIndex} are registered from it without loading their classes, and any other BIF
+	 * provider on the classpath is loaded and registered by scanning its annotations.
 	 *
 	 * @throws IOException If there is an error loading the global functions
 	 */
 	public void loadGlobalFunctions() throws IOException {
-		ServiceLoader
-		    .load( BIF.class, BoxRuntime.class.getClassLoader() )
-		    .stream()
-		    .parallel()
-		    .map( ServiceLoader.Provider::type )
-		    // .peek( targetClass -> System.out.println( "targetClass: " + targetClass.getName() ) )
+		ClassLoader		classLoader	= BoxRuntime.class.getClassLoader();
+		Set<String>		providers	= BuiltInIndex.readProviders( BIF.class, classLoader );
+		BuiltInIndex	index		= BuiltInIndex.load( classLoader );
+
+		if ( index != null ) {
+			for ( BuiltInIndex.BIFEntry entry : index.bifs() ) {
+				// Only register what's still provided, the index may be older than the classes
+				if ( providers.remove( entry.className() ) ) {
+					processBIFRegistration( entry );
+				}
+			}
+		}
+
+		providers
+		    .parallelStream()
+		    .map( className -> {
+			    try {
+				    return Class.forName( className, false, classLoader );
+			    } catch ( ClassNotFoundException e ) {
+				    throw new BoxRuntimeException( "Cannot load the global function class [" + className + "]", e );
+			    }
+		    } )
 		    .forEach( targetClass -> processBIFRegistration( targetClass, null, null ) );
 	}
 
+	/**
+	 * Get the name a BIF is registered under as a member method. This is shared with the {@link BuiltInIndex}, so indexed and scanned BIFs
+	 * get the same names.
+	 *
+	 * @param bifName The simple class name of the BIF
+	 * @param member  The member annotation of the BIF
+	 *
+	 * @return The name of the annotation, or by default the BIF name without the type: <code>ArrayFoo</code> with the
+	 *         <code>ARRAY</code> type is just <code>foo()</code>
+	 */
+	public static String getMemberName( String bifName, BoxMember member ) {
+		if ( member.name().equals( "" ) ) {
+			return bifName.toLowerCase().replaceAll( member.type().name().toLowerCase(), "" );
+		}
+		return member.name();
+	}
+
+	/**
+	 * This method registers a BIF from its build-time index entry. The BIF class is only loaded when it's first invoked.
+	 *
+	 * @param entry The index entry of the BIF
+	 */
+	public void processBIFRegistration( BuiltInIndex.BIFEntry entry ) {
+		String			className		= entry.className();
+		BIFDescriptor	descriptor		= new BIFDescriptor(
+		    Key.of( className.substring( className.lastIndexOf( '.' ) + 1 ) ),
+		    className,
+		    null,
+		    null,
+		    true
+		);
+
+		// Register BIF with default name or alias
+		for ( String name : entry.names() ) {
+			registerGlobalFunction( descriptor, Key.of( name ), true );
+		}
+
+		// Register member methods
+		for ( BuiltInIndex.MemberEntry member : entry.members() ) {
+			Key memberKey = Key.of( member.name() );
+			registerMemberMethod(
+			    memberKey,
+			    new MemberDescriptor(
+			        memberKey,
+			        BoxLangType.valueOf( member.type() ),
+			        loadCustomType( member.customType() ),
+			        member.objectArgument() == null ? null : Key.of( member.objectArgument() ),
+			        descriptor
+			    )
+			);
+		}
+	}
+
 	/**
 	 * This method process a raw BIF registration usually from a {@code BIFClass} and a {@code function} instance.
 	 * This creates an internal {@code BIFDescriptor} and registers it with the service.
@@ -404,13 +505,7 @@ public class FunctionService extends BaseService {
 		for ( BoxMember member : boxMemberAnnotations ) {
 
 			// Discover the member method name
-			Key memberKey;
-			if ( member.name().equals( "" ) ) {
-				// Default member name for class ArrayFoo with BoxType of Array is just foo()
-				memberKey = Key.of( className.toLowerCase().replaceAll( member.type().name().toLowerCase(), "" ) );
-			} else {
-				memberKey = Key.of( member.name() );
-			}
+			Key memberKey = Key.of( getMemberName( className, member ) );
 
 			// Register the member method using the data and BIF Descriptor
 			registerMemberMethod(
@@ -428,6 +523,24 @@ public class FunctionService extends BaseService {
 
 	}
 
+	/**
+	 * Load the custom type class of a member method
+	 *
+	 * @param className The class name
+	 *
+	 * @return The class
+	 */
+	private static Class<?> loadCustomType( String className ) {
+		if ( className == null || className.equals( Object.class.getName() ) ) {
+			return Object.class;
+		}
+		try {
+			return Class.forName( className, false, BoxRuntime.class.getClassLoader() );
+		} catch ( ClassNotFoundException e ) {
+			throw new BoxRuntimeException( "Cannot load the member method type [" + className + "]", e );
+		}
+	}
+
 	/**
 	 * --------------------------------------------------------------------------
 	 * Namespace Methods
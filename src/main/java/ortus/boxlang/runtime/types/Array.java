@@ -879,6 +879,11 @@ public class Array implements List<Object>, IType, IReferenceable, IListenable,
 		listeners.remove( key );
 	}
 
+	@Override
+	public IChangeListener getChangeListener( Key key ) {
+		return listeners == null ? null : listeners.get( key );
+	}
+
 	/**
 	 * Notify listeners of a change
 	 *
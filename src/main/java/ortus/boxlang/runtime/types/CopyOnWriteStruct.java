@@ -0,0 +1,260 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.runtime.types;
+
+import java.util.AbstractMap;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import ortus.boxlang.runtime.scopes.Key;
+
+/**
+ * A struct that reads through to a shared source struct until it is first modified, at which point it takes a private copy of it.
+ * Nested structs are handed out as copy-on-write structs as well, so a caller can modify any level of the struct it received without
+ * the change leaking into the shared source.
+ * <p>
+ * This is used to hand out cached, shared structs (like the runtime and request configuration) to callers that may modify them.
+ * Please note that iterating the entries of an unmodified struct returns the shared nested values, so only modify nested structs
+ * retrieved through {@link #get(Object)}.
+ */
+public class CopyOnWriteStruct extends Struct {
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Constructors
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Create a copy-on-write struct over a shared source struct. The source is never modified through this struct.
+	 *
+	 * @param source The shared source struct
+	 */
+	public CopyOnWriteStruct( IStruct source ) {
+		super( new CopyOnWriteMap( source ), source.getType() );
+	}
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Methods
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Verifies if this struct has been modified and so no longer reads through to its source
+	 *
+	 * @return True if this struct holds a private copy of its source
+	 */
+	public boolean isCopied() {
+		return ( ( CopyOnWriteMap ) this.wrapped ).isCopied();
+	}
+
+	/**
+	 * Get the struct the contents of the given struct come from: the shared source of an unmodified copy-on-write struct, or the
+	 * struct itself. Useful to tell if two structs handed out by a cache have the same contents without comparing them.
+	 *
+	 * @param struct The struct
+	 *
+	 * @return The source struct
+	 */
+	public static IStruct sourceOf( IStruct struct ) {
+		if ( struct instanceof CopyOnWriteStruct copyOnWrite && !copyOnWrite.isCopied() ) {
+			return ( ( CopyOnWriteMap ) copyOnWrite.wrapped ).source;
+		}
+		return struct;
+	}
+
+	/**
+	 * The wrapped map of a copy-on-write struct
+	 */
+	private static class CopyOnWriteMap extends AbstractMap<Key, Object> {
+
+		/**
+		 * The shared source struct, never modified
+		 */
+		private final IStruct				source;
+
+		/**
+		 * The private copy of the source, created by the first write
+		 */
+		private volatile Map<Key, Object>	copy;
+
+		/**
+		 * The copy-on-write views of the nested structs handed out before the first write, guarded by this map
+		 */
+		private Map<Key, Object>			views;
+
+		/**
+		 * Constructor
+		 *
+		 * @param source The shared source struct
+		 */
+		private CopyOnWriteMap( IStruct source ) {
+			this.source = source;
+		}
+
+		/**
+		 * Verifies if the private copy has been taken
+		 *
+		 * @return True if the source has been copied
+		 */
+		private boolean isCopied() {
+			return this.copy != null;
+		}
+
+		/**
+		 * The map to read from: the private copy if there is one, otherwise the source
+		 *
+		 * @return The map to read from
+		 */
+		private Map<Key, Object> read() {
+			Map<Key, Object> current = this.copy;
+			return current != null ? current : this.source.getWrapped();
+		}
+
+		/**
+		 * The map to write to, taking the private copy on the first call. Nested structs are replaced by their copy-on-write views so
+		 * they can still be modified without touching the source.
+		 *
+		 * @return The private copy
+		 */
+		private synchronized Map<Key, Object> write() {
+			if ( this.copy == null ) {
+				Map<Key, Object> target = newMap( this.source );
+				this.source.getWrapped().forEach( ( key, value ) -> target.put( key, view( key, value ) ) );
+				this.copy = target;
+			}
+			return this.copy;
+		}
+
+		/**
+		 * Get the copy-on-write view of a nested struct, creating it on first access
+		 *
+		 * @param key   The key of the value
+		 * @param value The raw value
+		 *
+		 * @return The view of the nested struct or the value as is
+		 */
+		private synchronized Object view( Key key, Object value ) {
+			if ( ! ( value instanceof IStruct nested ) || value instanceof CopyOnWriteStruct ) {
+				return value;
+			}
+			if ( this.views == null ) {
+				this.views = new HashMap<>( 4 );
+			}
+			return this.views.computeIfAbsent( key, k -> new CopyOnWriteStruct( nested ) );
+		}
+
+		/**
+		 * Create an empty map of the same kind as the source struct wraps
+		 *
+		 * @param source The source struct
+		 *
+		 * @return The empty map
+		 */
+		private static Map<Key, Object> newMap( IStruct source ) {
+			Map<Key, Object> wrapped = source.getWrapped();
+			if ( wrapped instanceof SortedMap<Key, Object> sorted ) {
+				return new ConcurrentSkipListMap<>( sorted.comparator() );
+			}
+			return switch ( source.getType() ) {
+				case LINKED, LINKED_CASE_SENSITIVE -> Collections.synchronizedMap( new LinkedHashMap<>( wrapped.size() ) );
+				default -> new ConcurrentHashMap<>( Math.max( INITIAL_CAPACITY, wrapped.size() * 2 ) );
+			};
+		}
+
+		@Override
+		public Object get( Object key ) {
+			Map<Key, Object>	current	= this.copy;
+			Object				value	= current != null ? current.get( key ) : this.source.getWrapped().get( key );
+			if ( current == null && value instanceof IStruct ) {
+				return view( ( Key ) key, value );
+			}
+			return value;
+		}
+
+		@Override
+		public boolean containsKey( Object key ) {
+			return read().containsKey( key );
+		}
+
+		@Override
+		public boolean containsValue( Object value ) {
+			return read().containsValue( value );
+		}
+
+		@Override
+		public int size() {
+			return read().size();
+		}
+
+		@Override
+		public boolean isEmpty() {
+			return read().isEmpty();
+		}
+
+		@Override
+		public Set<Key> keySet() {
+			return isCopied() ? this.copy.keySet() : Collections.unmodifiableSet( read().keySet() );
+		}
+
+		@Override
+		public Collection<Object> values() {
+			return isCopied() ? this.copy.values() : Collections.unmodifiableCollection( read().values() );
+		}
+
+		@Override
+		public Set<Entry<Key, Object>> entrySet() {
+			return isCopied() ? this.copy.entrySet() : Collections.unmodifiableMap( read() ).entrySet();
+		}
+
+		@Override
+		public Object put( Key key, Object value ) {
+			return write().put( key, value );
+		}
+
+		@Override
+		public Object putIfAbsent( Key key, Object value ) {
+			return write().putIfAbsent( key, value );
+		}
+
+		@Override
+		public void putAll( Map<? extends Key, ? extends Object> map ) {
+			write().putAll( map );
+		}
+
+		@Override
+		public Object remove( Object key ) {
+			return write().remove( key );
+		}
+
+		@Override
+		public void clear() {
+			write().clear();
+		}
+
+	}
+
+}
@@ -61,6 +61,7 @@ import ortus.boxlang.runtime.services.FunctionService;
 import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
 import ortus.boxlang.runtime.types.meta.BoxMeta;
 import ortus.boxlang.runtime.types.meta.GenericMeta;
+import ortus.boxlang.runtime.types.util.DateTimeFormatterCache;
 import ortus.boxlang.runtime.util.LocalizationUtil;
 
 /**
@@ -146,11 +147,18 @@ public class DateTime implements IType, IReferenceable, Serializable, ValueWrite
 	    "ODBCTime", DateTimeFormatter.ofPattern( ODBC_TIME_FORMAT_MASK )
 	);
 
+	/**
+	 * The localized formatter used when formatting without a mask
+	 */
+	private static final DateTimeFormatter	LONG_DATE_TIME_FORMATTER					= DateTimeFormatter.ofLocalizedDateTime( FormatStyle.LONG,
+	    FormatStyle.LONG );
+
 	/**
 	 * The format we use to represent the date time
 	 * which defaults to the ODBC format: {ts '''yyyy-MM-dd HH:mm:ss'''}
+	 * Formatters are immutable, so instances share the cached ones instead of each building their own
 	 */
-	private transient DateTimeFormatter		formatter									= DateTimeFormatter.ofPattern( TS_FORMAT_MASK );
+	private transient DateTimeFormatter		formatter									= DateTimeFormatterCache.get( TS_FORMAT_MASK );
 
 	/**
 	 * Function service
@@ -337,7 +345,7 @@ public class DateTime implements IType, IReferenceable, Serializable, ValueWrite
 	 */
 	public DateTime( String dateTime, Locale locale, ZoneId timezone ) {
 		ZonedDateTime parsed = null;
-		this.formatter = DateTimeFormatter.ISO_ZONED_DATE_TIME.withLocale( locale );
+		this.formatter = DateTimeFormatterCache.localize( DateTimeFormatter.ISO_ZONED_DATE_TIME, locale );
 		// try parsing if it fails then our time does not contain timezone info so we fall back to a local zoned date
 		try {
 			parsed = ZonedDateTime.parse( dateTime, LocalizationUtil.getLocaleZonedDateTimeParsers( locale ) );
@@ -466,12 +474,12 @@ public class DateTime implements IType, IReferenceable, Serializable, ValueWrite
 	 * @return the DateTimeFormatter object with the pattern
 	 */
 	private static DateTimeFormatter getFormatter( String pattern ) {
-		return DateTimeFormatter.ofPattern( pattern );
+		return DateTimeFormatterCache.get( pattern );
 	}
 
 	/**
 	 * Convenience method to get a common date time formatter if it exists in the {@link DateTime#COMMON_FORMATTERS} map
-	 * else it will return a new DateTimeFormatter instance according to the passed mask.
+	 * else it will return the cached DateTimeFormatter instance for the passed mask.
 	 *
 	 * @param mask The mask to use with a postfix of {@code DateTime} or a common formatter key:
 	 *             fullDateTime, longDateTime, mediumDateTime, shortDateTime,
@@ -480,10 +488,8 @@ public class DateTime implements IType, IReferenceable, Serializable, ValueWrite
 	 * @return The DateTimeFormatter object
 	 */
 	public static DateTimeFormatter getDateTimeFormatter( String mask ) {
-		return ( DateTimeFormatter ) DateTime.COMMON_FORMATTERS.getOrDefault(
-		    Key.of( mask + MODE_DATETIME ),
-		    DateTimeFormatter.ofPattern( mask )
-		);
+		Object common = DateTime.COMMON_FORMATTERS.get( Key.of( mask + MODE_DATETIME ) );
+		return common != null ? ( DateTimeFormatter ) common : DateTimeFormatterCache.get( mask );
 	}
 
 	/**
@@ -494,7 +500,7 @@ public class DateTime implements IType, IReferenceable, Serializable, ValueWrite
 	 * @return
 	 */
 	public DateTime setFormat( String mask ) {
-		this.formatter = DateTimeFormatter.ofPattern( mask );
+		this.formatter = DateTimeFormatterCache.get( mask );
 		return this;
 	}
 
@@ -638,10 +644,13 @@ public class DateTime implements IType, IReferenceable, Serializable, ValueWrite
 	 */
 	public String format( Locale locale, String mask ) {
 		if ( mask == null ) {
-			return this.wrapped.format( DateTimeFormatter.ofLocalizedDateTime( FormatStyle.LONG, FormatStyle.LONG ).withLocale( locale ) );
-		} else {
-			return this.format( getDateTimeFormatter( mask ).withLocale( locale ) );
+			return this.wrapped.format( DateTimeFormatterCache.localize( LONG_DATE_TIME_FORMATTER, locale ) );
+		}
+		Object common = DateTime.COMMON_FORMATTERS.get( Key.of( mask + MODE_DATETIME ) );
+		if ( common != null ) {
+			return this.format( DateTimeFormatterCache.localize( ( DateTimeFormatter ) common, locale ) );
 		}
+		return this.format( DateTimeFormatterCache.get( mask, locale ) );
 	}
 
 	/**
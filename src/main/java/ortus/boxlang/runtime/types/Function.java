@@ -167,26 +167,37 @@ public abstract class Function implements IType, IFunctionRunnable, Serializable
 	public Object invoke( FunctionBoxContext context ) {
 		InterceptorService	interceptorService	= BoxRuntime.getInstance().getInterceptorService();
 
-		// Announcements
-		IStruct				data				= Struct.of(
-		    Key.context, context,
-		    Key.function, this
-		);
-		interceptorService.announce(
-		    BoxEvent.PRE_FUNCTION_INVOKE,
-		    data
-		);
+		// Announcements, only built if someone is listening
+		IStruct				data				= null;
+		if ( interceptorService.hasListeners( BoxEvent.PRE_FUNCTION_INVOKE ) ) {
+			data = Struct.of(
+			    Key.context, context,
+			    Key.function, this
+			);
+			interceptorService.announce(
+			    BoxEvent.PRE_FUNCTION_INVOKE,
+			    data
+			);
+		}
 
 		Object result = null;
 		context.pushTemplate( this );
 		try {
 			result = ensureReturnType( context, _invoke( context ) );
-			data.put( Key.result, result );
 
-			interceptorService.announce(
-			    BoxEvent.POST_FUNCTION_INVOKE,
-			    data
-			);
+			if ( interceptorService.hasListeners( BoxEvent.POST_FUNCTION_INVOKE ) ) {
+				if ( data == null ) {
+					data = Struct.of(
+					    Key.context, context,
+					    Key.function, this
+					);
+				}
+				data.put( Key.result, result );
+				interceptorService.announce(
+				    BoxEvent.POST_FUNCTION_INVOKE,
+				    data
+				);
+			}
 
 			// For remote methods, save their return format to use later
 			if ( getAccess().equals( Access.REMOTE ) && getAnnotations().containsKey( Key.returnFormat ) ) {
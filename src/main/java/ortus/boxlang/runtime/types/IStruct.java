@@ -21,6 +21,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.Spliterator;
 import java.util.stream.Stream;
 
 import ortus.boxlang.runtime.dynamic.Attempt;
@@ -225,6 +226,13 @@ public interface IStruct extends Map<Key, Object>, IType, IReferenceable {
 	 */
 	public Map<Key, Object> getWrapped();
 
+	/**
+	 * Get a spliterator over the entries of the struct, to process them in parallel
+	 *
+	 * @return The spliterator
+	 */
+	public Spliterator<Map.Entry<Key, Object>> entrySpliterator();
+
 	/**
 	 * Get the type of struct
 	 *
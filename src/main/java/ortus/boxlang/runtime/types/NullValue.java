@@ -45,6 +45,17 @@ public class NullValue implements IType, IImmutable, Serializable {
 		// we are empty as we represent null
 	}
 
+	/**
+	 * Wrap a value so it can be stored where null means "not set", see {@link Struct#unWrapNull(Object)} to unwrap it
+	 *
+	 * @param value The value, which may be null
+	 *
+	 * @return The value, or a new NullValue if it was null
+	 */
+	public static Object wrap( Object value ) {
+		return value == null ? new NullValue() : value;
+	}
+
 	/**
 	 * Represent as string
 	 *
@@ -21,7 +21,10 @@ import java.io.Serializable;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.sql.Types;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
@@ -29,10 +32,10 @@ import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.RandomAccess;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
-import java.util.stream.Stream;
 
 import ortus.boxlang.runtime.BoxRuntime;
 import ortus.boxlang.runtime.bifs.MemberDescriptor;
@@ -44,6 +47,9 @@ import ortus.boxlang.runtime.dynamic.casters.StructCaster;
 import ortus.boxlang.runtime.interop.DynamicInteropService;
 import ortus.boxlang.runtime.scopes.Key;
 import ortus.boxlang.runtime.services.FunctionService;
+import ortus.boxlang.runtime.types.QueryColumnStorage.DoubleStorage;
+import ortus.boxlang.runtime.types.QueryColumnStorage.IntStorage;
+import ortus.boxlang.runtime.types.QueryColumnStorage.LongStorage;
 import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
 import ortus.boxlang.runtime.types.exceptions.DatabaseException;
 import ortus.boxlang.runtime.types.immutable.ImmutableQuery;
@@ -55,38 +61,51 @@ import ortus.boxlang.runtime.util.DuplicationUtil;
 /**
  * This type represents a representation of a database query result set.
  * It provides language specific methods to access columnar data, both as value lists and within iterative loops
+ * <p>
+ * Data is stored column by column, see {@link QueryColumnStorage}, so numeric and string columns are kept in
+ * primitive arrays instead of boxed row arrays. Rows are materialized on demand.
  */
 public class Query implements IType, IReferenceable, Collection<IStruct>, Serializable {
 
 	/**
-	 * Query data as List of arrays
+	 * Query data, one storage per column, in column index order
 	 */
-	private List<Object[]>				data				= Collections.synchronizedList( new ArrayList<Object[]>() );
+	private volatile QueryColumnStorage[]	storage				= new QueryColumnStorage[ 0 ];
+
+	/**
+	 * The number of rows in the query
+	 */
+	private volatile int					rowCount			= 0;
+
+	/**
+	 * Lazy row view over the column storage, see {@link #getData()}
+	 */
+	private transient List<Object[]>		rowView;
 
 	/**
 	 * Map of column definitions
 	 */
-	private Map<Key, QueryColumn>		columns				= Collections.synchronizedMap( new LinkedHashMap<Key, QueryColumn>() );
+	private Map<Key, QueryColumn>			columns				= Collections.synchronizedMap( new LinkedHashMap<Key, QueryColumn>() );
 
 	/**
 	 * Metadata object
 	 */
-	public transient BoxMeta			$bx;
+	public transient BoxMeta				$bx;
 
 	/**
 	 * Function service
 	 */
-	private transient FunctionService	functionService;
+	private transient FunctionService		functionService;
 
 	/**
 	 * Serialization version
 	 */
-	private static final long			serialVersionUID	= 1L;
+	private static final long				serialVersionUID	= 1L;
 
 	/**
 	 * Metadata for the query, used to populate QueryMeta
 	 */
-	private IStruct						metadata;
+	private IStruct							metadata;
 
 	/**
 	 * Create a new query with additional metadata
@@ -124,18 +143,26 @@ public class Query implements IType, IReferenceable, Collection<IStruct>, Serial
 			int					columnCount			= resultSetMetaData.getColumnCount();
 
 			// The column count starts from 1
+			int[]	sqlTypes		= new int[ columnCount ];
+			int[]	storageIndexes	= new int[ columnCount ];
 			for ( int i = 1; i <= columnCount; i++ ) {
-				query.addColumn(
-				    Key.of( resultSetMetaData.getColumnLabel( i ) ),
-				    QueryColumnType.fromSQLType( resultSetMetaData.getColumnType( i ) ) );
+				Key columnName = Key.of( resultSetMetaData.getColumnLabel( i ) );
+				sqlTypes[ i - 1 ] = resultSetMetaData.getColumnType( i );
+				// Only the first of several columns with the same label holds the data
+				storageIndexes[ i - 1 ] = query.hasColumn( columnName ) ? -1 : query.getColumns().size();
+				query.addColumn( columnName, QueryColumnType.fromSQLType( sqlTypes[ i - 1 ] ) );
 			}
 
-			while ( resultSet.next() ) {
-				Object[] row = new Object[ columnCount ];
-				for ( int i = 1; i <= columnCount; i++ ) {
-					row[ i - 1 ] = resultSet.getObject( i );
+			// Fill the column storage directly so INTEGER, BIGINT and DOUBLE values are never boxed
+			synchronized ( query ) {
+				while ( resultSet.next() ) {
+					for ( int i = 1; i <= columnCount; i++ ) {
+						if ( storageIndexes[ i - 1 ] >= 0 ) {
+							query.readResultSetValue( resultSet, i, storageIndexes[ i - 1 ], sqlTypes[ i - 1 ] );
+						}
+					}
+					query.rowCount++;
 				}
-				query.addRow( row );
 			}
 		} catch ( SQLException e ) {
 			throw new DatabaseException( e.getMessage(), e );
@@ -204,14 +231,18 @@ public class Query implements IType, IReferenceable, Collection<IStruct>, Serial
 	}
 
 	/**
-	 * Get the data for this query
-	 * This method is really only for debugging and the underlying List you get will
-	 * not be synchronized with the query.
+	 * Get the data for this query as a list of rows.
+	 * The list is a live view over the column storage: setting, adding and removing rows
+	 * is reflected in the query, but every row you get is a copy, so re-assigning
+	 * its elements is not.
 	 *
 	 * @return list of arrays of data
 	 */
 	public List<Object[]> getData() {
-		return data;
+		if ( this.rowView == null ) {
+			this.rowView = new RowView();
+		}
+		return this.rowView;
 	}
 
 	/**
@@ -237,38 +268,31 @@ public class Query implements IType, IReferenceable, Collection<IStruct>, Serial
 	 * @return this query
 	 */
 	public synchronized Query addColumn( Key name, QueryColumnType type, Object[] columnData ) {
-		// check if column name already exists
-		int	index		= -1;
-		int	newColIndex	= getColumns().size();
-		// Get index from linked map of where the key exists already
-		for ( Key key : columns.keySet() ) {
-			index++;
-			if ( key.equals( name ) ) {
-				newColIndex = index;
-				break;
-			}
-		}
-		columns.put( name, createQueryColumn( name, type, newColIndex ) );
-		if ( !data.isEmpty() ) {
-			// loop over data and replace each array with a new array having an additional
-			// null at the end
-			for ( int i = 0; i < data.size(); i++ ) {
-				Object[]	row		= data.get( i );
-				Object[]	newRow	= new Object[ row.length + 1 ];
-				System.arraycopy( row, 0, newRow, 0, row.length );
-				if ( columnData != null && i < columnData.length ) {
-					newRow[ newColIndex ] = columnData[ i ];
+		// If the data is all we have, it defines the rows
+		if ( this.rowCount == 0 && columnData != null && columnData.length > 0 ) {
+			for ( int i = 0; i < this.storage.length; i++ ) {
+				for ( int j = 0; j < columnData.length; j++ ) {
+					this.storage[ i ] = this.storage[ i ].add( null );
 				}
-				data.set( i, newRow );
-			}
-		} else if ( columnData != null ) {
-			// loop over column data and add that many rows with an array as big as their
-			// are columns
-			for ( Object columnDatum : columnData ) {
-				Object[] row = new Object[ columns.size() ];
-				row[ newColIndex ] = columnDatum;
-				data.add( row );
 			}
+			this.rowCount = columnData.length;
+		}
+
+		QueryColumnStorage columnStorage = QueryColumnStorage.of( type, this.rowCount );
+		for ( int i = 0; i < this.rowCount; i++ ) {
+			columnStorage = columnStorage.add( columnData != null && i < columnData.length ? columnData[ i ] : null );
+		}
+
+		// Replace the column if it exists already, else append it
+		QueryColumn existing = columns.get( name );
+		if ( existing != null ) {
+			columns.put( name, createQueryColumn( name, type, existing.getIndex() ) );
+			this.storage[ existing.getIndex() ] = columnStorage;
+		} else {
+			int newColIndex = this.storage.length;
+			this.storage				= Arrays.copyOf( this.storage, newColIndex + 1 );
+			this.storage[ newColIndex ]	= columnStorage;
+			columns.put( name, createQueryColumn( name, type, newColIndex ) );
 		}
 		return this;
 	}
@@ -297,12 +321,7 @@ public class Query implements IType, IReferenceable, Collection<IStruct>, Serial
 	 * @return array of column data
 	 */
 	public Object[] getColumnData( Key name ) {
-		int			index		= getColumn( name ).getIndex();
-		Object[]	columnData	= new Object[ data.size() ];
-		for ( int i = 0; i < data.size(); i++ ) {
-			columnData[ i ] = data.get( i )[ index ];
-		}
-		return columnData;
+		return this.storage[ getColumn( name ).getIndex() ].toArray();
 	}
 
 	/**
@@ -353,10 +372,24 @@ public class Query implements IType, IReferenceable, Collection<IStruct>, Serial
 		return column;
 	}
 
+	/**
+	 * Get the storage backing a column, for column-wise operations that want to work on the values directly.
+	 * Throws an exception if the column doesn't exist
+	 *
+	 * @param name column name
+	 *
+	 * @return The column storage
+	 */
+	public QueryColumnStorage getColumnStorage( Key name ) {
+		return this.storage[ getColumn( name ).getIndex() ];
+	}
+
 	/**
 	 * Get data for a row as an array. 0-based index!
-	 * Array is passed by reference and changes made to it will be reflected in the
-	 * query.
+	 * <p>
+	 * <b>Note:</b> the array used to be the row itself, so assigning into it changed the query. The query now stores its data column
+	 * by column, so the row is assembled on every call and assignments into the array are not reflected in the query. Use
+	 * {@link #setRow(int, Object[])} or {@link #setCell(Key, int, Object)} to write the values back.
 	 *
 	 * @param index row index, starting at 0
 	 *
@@ -364,35 +397,64 @@ public class Query implements IType, IReferenceable, Collection<IStruct>, Serial
 	 */
 	public Object[] getRow( int index ) {
 		validateRow( index );
-		return data.get( index );
+		QueryColumnStorage[]	columnStorage	= this.storage;
+		Object[]				row				= new Object[ columnStorage.length ];
+		for ( int i = 0; i < columnStorage.length; i++ ) {
+			row[ i ] = columnStorage[ i ].get( index );
+		}
+		return row;
 	}
 
 	/**
-	 * Insert a query into this query at a specific position
+	 * Replace the data of a row. 0-based index!
+	 *
+	 * @param index row index, starting at 0
+	 * @param row   row data as array of objects, in column order. Missing values are set to null
+	 *
+	 * @return this query
+	 */
+	public Query setRow( int index, Object[] row ) {
+		validateRow( index );
+		getData().set( index, row );
+		return this;
+	}
+
+	/**
+	 * Insert a query into this query at a specific position. The columns are matched by name, and the
+	 * columns of this query the inserted query does not have are filled with nulls.
 	 *
 	 * @param position position to insert at
 	 * @param target   query to insert
 	 *
-	 * @throws BoxRuntimeException if the query columns do not match
+	 * @throws BoxRuntimeException if the inserted query has columns this query does not have
 	 *
 	 * @return this query
 	 */
 	public Query insertQueryAt( int position, Query target ) {
-		// Validate that the incoming query has the same columns as this query
-		if ( !target.getColumns().keySet().equals( this.getColumns().keySet() ) ) {
+		// Validate that the incoming query has no columns we can't store
+		if ( !this.getColumns().keySet().containsAll( target.getColumns().keySet() ) ) {
 			throw new BoxRuntimeException( "Query columns do not match" );
 		}
 
 		// It must have size, else skip and return
-		if ( target.size() == 0 ) {
+		int rows = target.size();
+		if ( rows == 0 ) {
 			return this;
 		}
 
-		// Insert the rows
+		// Insert the rows one column at a time, so every column is copied once
 		synchronized ( this ) {
-			for ( int i = 0; i < target.size(); i++ ) {
-				data.add( position + i, target.getRow( i ) );
+			QueryColumnStorage[] newStorage = this.storage.clone();
+			for ( QueryColumn column : columns.values() ) {
+				int index = column.getIndex();
+				if ( target.hasColumn( column.getName() ) ) {
+					newStorage[ index ] = newStorage[ index ].insertAll( position, target.getColumnStorage( column.getName() ) );
+				} else {
+					newStorage[ index ] = newStorage[ index ].insertNulls( position, rows );
+				}
 			}
+			this.storage	= newStorage;
+			this.rowCount	+= rows;
 		}
 
 		return this;
@@ -407,12 +469,10 @@ public class Query implements IType, IReferenceable, Collection<IStruct>, Serial
 	 */
 	public int addRow( Object[] row ) {
 		// TODO: validate types
-		int newRow;
 		synchronized ( this ) {
-			data.add( row );
-			newRow = data.size();
+			insertRow( this.rowCount, row );
+			return this.rowCount;
 		}
-		return newRow;
 	}
 
 	/**
@@ -437,10 +497,10 @@ public class Query implements IType, IReferenceable, Collection<IStruct>, Serial
 	public Query swapRow( int sourceRow, int destinationRow ) {
 		validateRow( sourceRow );
 		validateRow( destinationRow );
-		synchronized ( data ) {
-			Object[] temp = data.get( sourceRow );
-			data.set( sourceRow, data.get( destinationRow ) );
-			data.set( destinationRow, temp );
+		synchronized ( this ) {
+			for ( QueryColumnStorage columnStorage : this.storage ) {
+				columnStorage.swap( sourceRow, destinationRow );
+			}
 		}
 		return this;
 	}
@@ -451,7 +511,7 @@ public class Query implements IType, IReferenceable, Collection<IStruct>, Serial
 	 * @return this query
 	 */
 	public int addEmptyRow() {
-		return addRow( columns.keySet().stream().map( key -> null ).toArray() );
+		return addRow( new Object[ columns.size() ] );
 	}
 
 	/**
@@ -496,15 +556,20 @@ public class Query implements IType, IReferenceable, Collection<IStruct>, Serial
 	 *
 	 * @param name the name of the column to delete
 	 */
-	public void deleteColumn( Key name ) {
+	public synchronized void deleteColumn( Key name ) {
 		QueryColumn	column	= getColumn( name );
 		int			index	= column.getIndex();
 		columns.remove( name );
-		for ( Object[] row : data ) {
-			Object[] newRow = new Object[ row.length - 1 ];
-			System.arraycopy( row, 0, newRow, 0, index );
-			System.arraycopy( row, index + 1, newRow, index, row.length - index - 1 );
-			row = newRow;
+
+		// Drop the storage and shift the following columns down
+		QueryColumnStorage[] newStorage = new QueryColumnStorage[ this.storage.length - 1 ];
+		System.arraycopy( this.storage, 0, newStorage, 0, index );
+		System.arraycopy( this.storage, index + 1, newStorage, index, this.storage.length - index - 1 );
+		this.storage = newStorage;
+		for ( QueryColumn other : columns.values() ) {
+			if ( other.getIndex() > index ) {
+				other.setIndex( other.getIndex() - 1 );
+			}
 		}
 	}
 
@@ -517,7 +582,12 @@ public class Query implements IType, IReferenceable, Collection<IStruct>, Serial
 	 */
 	public Query deleteRow( int index ) {
 		validateRow( index );
-		data.remove( index );
+		synchronized ( this ) {
+			for ( QueryColumnStorage columnStorage : this.storage ) {
+				columnStorage.remove( index );
+			}
+			this.rowCount--;
+		}
 		return this;
 	}
 
@@ -583,12 +653,9 @@ public class Query implements IType, IReferenceable, Collection<IStruct>, Serial
 	 */
 	public IStruct getRowAsStruct( int index ) {
 		validateRow( index );
-		IStruct		struct	= new Struct( IStruct.TYPES.LINKED );
-		Object[]	row		= data.get( index );
-		int			i		= 0;
+		IStruct struct = new Struct( IStruct.TYPES.LINKED );
 		for ( QueryColumn column : columns.values() ) {
-			struct.put( column.getName(), row[ i ] );
-			i++;
+			struct.put( column.getName(), this.storage[ column.getIndex() ].get( index ) );
 		}
 		return struct;
 	}
@@ -603,8 +670,7 @@ public class Query implements IType, IReferenceable, Collection<IStruct>, Serial
 	 */
 	public Object getCell( Key columnName, int rowIndex ) {
 		validateRow( rowIndex );
-		int columnIndex = getColumn( columnName ).getIndex();
-		return data.get( rowIndex )[ columnIndex ];
+		return getCellAt( getColumn( columnName ).getIndex(), rowIndex );
 	}
 
 	/**
@@ -617,12 +683,34 @@ public class Query implements IType, IReferenceable, Collection<IStruct>, Serial
 	 */
 	public Query setCell( Key columnName, int rowIndex, Object value ) {
 		validateRow( rowIndex );
-		int columnIndex = getColumn( columnName ).getIndex();
 		// TODO: validate column type
-		data.get( rowIndex )[ columnIndex ] = value;
+		setCellAt( getColumn( columnName ).getIndex(), rowIndex, value );
 		return this;
 	}
 
+	/**
+	 * Get data for a single cell by column index, with no row validation. 0-based indexes!
+	 *
+	 * @param columnIndex column index, starting at 0
+	 * @param rowIndex    row index, starting at 0
+	 *
+	 * @return cell data
+	 */
+	Object getCellAt( int columnIndex, int rowIndex ) {
+		return this.storage[ columnIndex ].get( rowIndex );
+	}
+
+	/**
+	 * Set data for a single cell by column index, with no row validation. 0-based indexes!
+	 *
+	 * @param columnIndex column index, starting at 0
+	 * @param rowIndex    row index, starting at 0
+	 * @param value       cell data
+	 */
+	synchronized void setCellAt( int columnIndex, int rowIndex, Object value ) {
+		this.storage[ columnIndex ] = this.storage[ columnIndex ].set( rowIndex, value );
+	}
+
 	/**
 	 * Validate that a row index is within bounds
 	 * Throw exception if not
@@ -630,8 +718,9 @@ public class Query implements IType, IReferenceable, Collection<IStruct>, Serial
 	 * @param index row index, 0-based
 	 */
 	public void validateRow( int index ) {
-		if ( index < 0 || index >= data.size() ) {
-			throw new BoxRuntimeException( "Row index " + index + " is out of bounds for query of size " + data.size() );
+		int size = this.rowCount;
+		if ( index < 0 || index >= size ) {
+			throw new BoxRuntimeException( "Row index " + index + " is out of bounds for query of size " + size );
 		}
 	}
 
@@ -671,14 +760,61 @@ public class Query implements IType, IReferenceable, Collection<IStruct>, Serial
 	 *
 	 * @param compareFunc function to use for sorting
 	 */
-	public void sort( Comparator<IStruct> compareFunc ) {
-		// data.sort( compareFunc );
-		Stream<IStruct> sorted = intStream()
-		    .mapToObj( index -> getRowAsStruct( index ) )
-		    .sorted( compareFunc );
+	public synchronized void sort( Comparator<IStruct> compareFunc ) {
+		// Sort the row indexes, then move every column in one pass
+		IStruct[]	rows	= intStream().mapToObj( this::getRowAsStruct ).toArray( IStruct[]::new );
+		int[]		order	= intStream()
+		    .boxed()
+		    .sorted( ( a, b ) -> compareFunc.compare( rows[ a ], rows[ b ] ) )
+		    .mapToInt( Integer::intValue )
+		    .toArray();
+		permute( order );
+	}
+
+	/**
+	 * Reorder the rows of the query so that row {@code i} becomes the row previously at {@code order[i]}
+	 *
+	 * @param order The new row order, must be a permutation of the row indexes
+	 */
+	public synchronized void permute( int[] order ) {
+		if ( order.length != this.rowCount ) {
+			throw new BoxRuntimeException( "The row order has " + order.length + " rows but the query has " + this.rowCount );
+		}
+		for ( QueryColumnStorage columnStorage : this.storage ) {
+			columnStorage.permute( order );
+		}
+	}
+
+	/**
+	 * Build a new query with the same columns and only the given rows
+	 *
+	 * @param rows The row indexes to keep, 0-based, in the order they should appear
+	 *
+	 * @return The new query
+	 */
+	public Query selectRows( int[] rows ) {
+		return copyRows( rows );
+	}
 
-		data = sorted.map( row -> row.getWrapped().entrySet().stream().map( entry -> entry.getValue() ).toArray() )
-		    .collect( Collectors.toList() );
+	/**
+	 * Build a new, mutable query with the same columns and only the given rows. Not overridden, so copies of an immutable query can
+	 * still be modified.
+	 *
+	 * @param rows The row indexes to keep, 0-based, in the order they should appear
+	 *
+	 * @return The new query
+	 */
+	private synchronized Query copyRows( int[] rows ) {
+		Query query = new Query();
+		for ( QueryColumn column : columns.values() ) {
+			query.columns.put( column.getName(), query.createQueryColumn( column.getName(), column.getType(), column.getIndex() ) );
+		}
+		query.storage = new QueryColumnStorage[ this.storage.length ];
+		for ( int i = 0; i < this.storage.length; i++ ) {
+			query.storage[ i ] = this.storage[ i ].select( rows );
+		}
+		query.rowCount = rows.length;
+		return query;
 	}
 
 	/***************************
@@ -686,17 +822,17 @@ public class Query implements IType, IReferenceable, Collection<IStruct>, Serial
 	 ****************************/
 	@Override
 	public int size() {
-		return data.size();
+		return this.rowCount;
 	}
 
 	@Override
 	public boolean isEmpty() {
-		return data.isEmpty();
+		return this.rowCount == 0;
 	}
 
 	@Override
 	public boolean contains( Object o ) {
-		return data.contains( o );
+		return getData().contains( o );
 	}
 
 	@Override
@@ -708,7 +844,7 @@ public class Query implements IType, IReferenceable, Collection<IStruct>, Serial
 
 			@Override
 			public boolean hasNext() {
-				return index < data.size();
+				return index < rowCount;
 			}
 
 			@Override
@@ -722,12 +858,12 @@ public class Query implements IType, IReferenceable, Collection<IStruct>, Serial
 
 	@Override
 	public Object[] toArray() {
-		return data.toArray();
+		return getData().toArray();
 	}
 
 	@Override
 	public <T> T[] toArray( T[] a ) {
-		return data.toArray( a );
+		return getData().toArray( a );
 	}
 
 	/**
@@ -751,12 +887,12 @@ public class Query implements IType, IReferenceable, Collection<IStruct>, Serial
 
 	@Override
 	public boolean remove( Object o ) {
-		return data.remove( o );
+		return getData().remove( o );
 	}
 
 	@Override
 	public boolean containsAll( Collection<?> c ) {
-		return data.containsAll( c );
+		return getData().containsAll( c );
 	}
 
 	@Override
@@ -769,17 +905,20 @@ public class Query implements IType, IReferenceable, Collection<IStruct>, Serial
 
 	@Override
 	public boolean removeAll( Collection<?> c ) {
-		return data.removeAll( c );
+		return getData().removeAll( c );
 	}
 
 	@Override
 	public boolean retainAll( Collection<?> c ) {
-		return data.retainAll( c );
+		return getData().retainAll( c );
 	}
 
 	@Override
-	public void clear() {
-		data.clear();
+	public synchronized void clear() {
+		for ( QueryColumnStorage columnStorage : this.storage ) {
+			columnStorage.clear();
+		}
+		this.rowCount = 0;
 	}
 
 	/***************************
@@ -844,7 +983,7 @@ public class Query implements IType, IReferenceable, Collection<IStruct>, Serial
 	public String asString() {
 		StringBuilder sb = new StringBuilder();
 		sb.append( "[\n" );
-		for ( int i = 0; i < data.size(); i++ ) {
+		for ( int i = 0; i < rowCount; i++ ) {
 			if ( i > 0 ) {
 				sb.append( ",\n" );
 			}
@@ -867,7 +1006,7 @@ public class Query implements IType, IReferenceable, Collection<IStruct>, Serial
 	 * Returns a IntStream of the indexes
 	 */
 	public IntStream intStream() {
-		return IntStream.range( 0, data.size() );
+		return IntStream.range( 0, this.rowCount );
 	}
 
 	/**
@@ -882,7 +1021,7 @@ public class Query implements IType, IReferenceable, Collection<IStruct>, Serial
 	 */
 	public IStruct getMetaData() {
 		this.metadata.computeIfAbsent( Key.recordCount, key -> {
-			return data.size();
+			return this.rowCount;
 		} );
 		this.metadata.computeIfAbsent( Key.columns, key -> {
 			return this.getColumns();
@@ -896,6 +1035,15 @@ public class Query implements IType, IReferenceable, Collection<IStruct>, Serial
 		return this.metadata;
 	}
 
+	/**
+	 * Retrieve query metadata as it is, without populating the keys {@link #getMetaData()} adds. Used to serialize the query.
+	 *
+	 * @return The metadata as a struct
+	 */
+	public IStruct getRawMetaData() {
+		return this.metadata;
+	}
+
 	/**
 	 * Duplicate the current query.
 	 *
@@ -913,17 +1061,18 @@ public class Query implements IType, IReferenceable, Collection<IStruct>, Serial
 	 * @return A copy of the current query.
 	 */
 	public Query duplicate( boolean deep ) {
+		if ( !deep ) {
+			// Copy the column storage as is, into a mutable query even if this one is immutable
+			return copyRows( intStream().toArray() );
+		}
+
 		Query q = new Query();
 
 		this.getColumns().entrySet().stream().forEach( entry -> {
 			q.addColumn( entry.getKey(), entry.getValue().getType() );
 		} );
 
-		if ( deep ) {
-			q.addData( DuplicationUtil.duplicate( this.getData(), deep ) );
-		} else {
-			q.addData( this.getData() );
-		}
+		q.addData( DuplicationUtil.duplicate( new ArrayList<>( this.getData() ), deep ) );
 		return q;
 	}
 
@@ -939,11 +1088,14 @@ public class Query implements IType, IReferenceable, Collection<IStruct>, Serial
 		}
 		visited.add( this );
 		int result = 1;
-		for ( Object value : data.toArray() ) {
-			if ( value instanceof IType ) {
-				result = 31 * result + ( ( IType ) value ).computeHashCode( visited );
-			} else {
-				result = 31 * result + ( value == null ? 0 : value.hashCode() );
+		for ( QueryColumnStorage columnStorage : this.storage ) {
+			for ( int i = 0; i < columnStorage.size(); i++ ) {
+				Object value = columnStorage.get( i );
+				if ( value instanceof IType ) {
+					result = 31 * result + ( ( IType ) value ).computeHashCode( visited );
+				} else {
+					result = 31 * result + ( value == null ? 0 : value.hashCode() );
+				}
 			}
 		}
 		return result;
@@ -961,7 +1113,7 @@ public class Query implements IType, IReferenceable, Collection<IStruct>, Serial
 
 	public Array asArrayOfStructs() {
 		Array arr = new Array();
-		for ( int i = 0; i < data.size(); i++ ) {
+		for ( int i = 0; i < rowCount; i++ ) {
 			arr.add( getRowAsStruct( i ) );
 		}
 		return arr;
@@ -972,4 +1124,108 @@ public class Query implements IType, IReferenceable, Collection<IStruct>, Serial
 		return asString();
 	}
 
+	/***************************
+	 * Storage helpers
+	 ****************************/
+
+	/**
+	 * Insert a row in every column storage. Callers must hold the query lock.
+	 *
+	 * @param index row index, 0-based
+	 * @param row   row data, missing values are null and extra values are ignored
+	 */
+	private void insertRow( int index, Object[] row ) {
+		for ( int i = 0; i < this.storage.length; i++ ) {
+			this.storage[ i ] = this.storage[ i ].insert( index, i < row.length ? row[ i ] : null );
+		}
+		this.rowCount++;
+	}
+
+	/**
+	 * Append the value of a result set column to its storage, using the primitive JDBC
+	 * getters where the value type is guaranteed to match. Callers must hold the query lock.
+	 *
+	 * @param resultSet The result set, positioned on a row
+	 * @param column    The result set column, 1-based
+	 * @param index     The column storage index, 0-based
+	 * @param sqlType   The SQL type of the column
+	 *
+	 * @throws SQLException If the value cannot be read
+	 */
+	private void readResultSetValue( ResultSet resultSet, int column, int index, int sqlType ) throws SQLException {
+		QueryColumnStorage columnStorage = this.storage[ index ];
+
+		if ( sqlType == Types.INTEGER && columnStorage instanceof IntStorage ints ) {
+			int value = resultSet.getInt( column );
+			if ( resultSet.wasNull() ) {
+				ints.add( null );
+			} else {
+				ints.addInt( value );
+			}
+		} else if ( sqlType == Types.BIGINT && columnStorage instanceof LongStorage longs ) {
+			long value = resultSet.getLong( column );
+			if ( resultSet.wasNull() ) {
+				longs.add( null );
+			} else {
+				longs.addLong( value );
+			}
+		} else if ( ( sqlType == Types.DOUBLE || sqlType == Types.FLOAT ) && columnStorage instanceof DoubleStorage doubles ) {
+			double value = resultSet.getDouble( column );
+			if ( resultSet.wasNull() ) {
+				doubles.add( null );
+			} else {
+				doubles.addDouble( value );
+			}
+		} else {
+			this.storage[ index ] = columnStorage.add( resultSet.getObject( column ) );
+		}
+	}
+
+	/**
+	 * A live {@code List<Object[]>} view of the rows, backed by the column storage
+	 */
+	private class RowView extends AbstractList<Object[]> implements RandomAccess {
+
+		@Override
+		public Object[] get( int index ) {
+			return getRow( index );
+		}
+
+		@Override
+		public Object[] set( int index, Object[] row ) {
+			synchronized ( Query.this ) {
+				Object[] previous = getRow( index );
+				for ( int i = 0; i < storage.length; i++ ) {
+					storage[ i ] = storage[ i ].set( index, i < row.length ? row[ i ] : null );
+				}
+				return previous;
+			}
+		}
+
+		@Override
+		public void add( int index, Object[] row ) {
+			synchronized ( Query.this ) {
+				if ( index < 0 || index > rowCount ) {
+					throw new IndexOutOfBoundsException( "Row index " + index + " is out of bounds for query of size " + rowCount );
+				}
+				insertRow( index, row );
+			}
+		}
+
+		@Override
+		public Object[] remove( int index ) {
+			synchronized ( Query.this ) {
+				Object[] previous = getRow( index );
+				deleteRow( index );
+				return previous;
+			}
+		}
+
+		@Override
+		public int size() {
+			return rowCount;
+		}
+
+	}
+
 }
@@ -115,6 +115,15 @@ public class QueryColumn implements IReferenceable, Serializable {
 		return index;
 	}
 
+	/**
+	 * Move the column to a new index, used by the query when columns before it are deleted
+	 *
+	 * @param index The new column index (0-based)
+	 */
+	void setIndex( int index ) {
+		this.index = index;
+	}
+
 	// Convenience methods
 
 	/**
@@ -127,7 +136,7 @@ public class QueryColumn implements IReferenceable, Serializable {
 	 */
 	public QueryColumn setCell( int row, Object value ) {
 		query.validateRow( row );
-		query.getData().get( row )[ index ] = value;
+		query.setCellAt( index, row, value );
 		return this;
 	}
 
@@ -143,7 +152,7 @@ public class QueryColumn implements IReferenceable, Serializable {
 		if ( query.isEmpty() ) {
 			return "";
 		}
-		return this.query.getData().get( row )[ index ];
+		return this.query.getCellAt( index, row );
 	}
 
 	/**
@@ -0,0 +1,928 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.runtime.types;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The backing store of a single {@link Query} column.
+ * <p>
+ * Queries are stored column by column. Each {@link QueryColumnType} picks the most compact
+ * storage for its values:
+ * <ul>
+ * <li>{@code INTEGER}: an {@code int[]}</li>
+ * <li>{@code BIGINT}: a {@code long[]}</li>
+ * <li>{@code DOUBLE}: a {@code double[]}</li>
+ * <li>{@code VARCHAR}: a dictionary-encoded {@code int[]} of codes</li>
+ * <li>Everything else: an {@code Object[]}</li>
+ * </ul>
+ * Primitive storages track nulls in a {@link BitSet}. Since query columns are not strictly typed,
+ * a primitive storage only accepts values of its exact boxed type (so reads give back exactly what was written).
+ * Anything else demotes the column to an {@code Object[]} storage, which is why every mutating method
+ * returns the storage the caller must keep using from then on.
+ * <p>
+ * Storages are not thread safe on their own, the owning {@link Query} serializes writes.
+ */
+public abstract class QueryColumnStorage implements Serializable {
+
+	/**
+	 * Serialization version
+	 */
+	private static final long	serialVersionUID	= 1L;
+
+	/**
+	 * The default capacity of a new storage
+	 */
+	private static final int	DEFAULT_CAPACITY	= 16;
+
+	/**
+	 * The number of values in the storage
+	 */
+	protected int				size				= 0;
+
+	/**
+	 * Build the storage for a column type
+	 *
+	 * @param type     The column type
+	 * @param capacity The initial capacity
+	 *
+	 * @return The storage
+	 */
+	public static QueryColumnStorage of( QueryColumnType type, int capacity ) {
+		capacity = Math.max( capacity, DEFAULT_CAPACITY );
+		return switch ( type ) {
+			case INTEGER -> new IntStorage( capacity );
+			case BIGINT -> new LongStorage( capacity );
+			case DOUBLE -> new DoubleStorage( capacity );
+			case VARCHAR -> new DictionaryStorage( capacity );
+			default -> new ObjectStorage( capacity );
+		};
+	}
+
+	/**
+	 * Get the number of values in the storage
+	 *
+	 * @return The number of values
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Get the value of a row
+	 *
+	 * @param row The row, 0-based
+	 *
+	 * @return The value, or null
+	 */
+	public abstract Object get( int row );
+
+	/**
+	 * Is the value of a row null?
+	 *
+	 * @param row The row, 0-based
+	 *
+	 * @return True if the value is null
+	 */
+	public abstract boolean isNull( int row );
+
+	/**
+	 * Set the value of a row
+	 *
+	 * @param row   The row, 0-based
+	 * @param value The value
+	 *
+	 * @return The storage to use from now on
+	 */
+	public abstract QueryColumnStorage set( int row, Object value );
+
+	/**
+	 * Insert a value at a row, shifting the following rows down
+	 *
+	 * @param row   The row, 0-based
+	 * @param value The value
+	 *
+	 * @return The storage to use from now on
+	 */
+	public abstract QueryColumnStorage insert( int row, Object value );
+
+	/**
+	 * Append a value
+	 *
+	 * @param value The value
+	 *
+	 * @return The storage to use from now on
+	 */
+	public QueryColumnStorage add( Object value ) {
+		return insert( this.size, value );
+	}
+
+	/**
+	 * Remove a row, shifting the following rows up
+	 *
+	 * @param row The row, 0-based
+	 */
+	public abstract void remove( int row );
+
+	/**
+	 * Swap the values of two rows
+	 *
+	 * @param row1 The first row, 0-based
+	 * @param row2 The second row, 0-based
+	 */
+	public abstract void swap( int row1, int row2 );
+
+	/**
+	 * Reorder the rows so that row {@code i} gets the value previously at {@code order[i]}
+	 *
+	 * @param order The new order, must be a permutation of the rows
+	 */
+	public abstract void permute( int[] order );
+
+	/**
+	 * Remove all the values
+	 */
+	public abstract void clear();
+
+	/**
+	 * Build a new storage of the same kind with the values of the given rows
+	 *
+	 * @param rows The rows to copy, 0-based, in the order they should appear
+	 *
+	 * @return The new storage
+	 */
+	public QueryColumnStorage select( int[] rows ) {
+		QueryColumnStorage target = emptyCopy( rows.length );
+		for ( int row : rows ) {
+			target = target.add( get( row ) );
+		}
+		return target;
+	}
+
+	/**
+	 * Build a new storage of the same kind with the given values inserted at a row, copying every value once
+	 *
+	 * @param row    The row to insert at, 0-based
+	 * @param values The values to insert
+	 *
+	 * @return The new storage
+	 */
+	public QueryColumnStorage insertAll( int row, QueryColumnStorage values ) {
+		QueryColumnStorage target = emptyCopy( this.size + values.size() );
+		for ( int i = 0; i < row; i++ ) {
+			target = target.add( get( i ) );
+		}
+		for ( int i = 0; i < values.size(); i++ ) {
+			target = target.add( values.get( i ) );
+		}
+		for ( int i = row; i < this.size; i++ ) {
+			target = target.add( get( i ) );
+		}
+		return target;
+	}
+
+	/**
+	 * Build a new storage of the same kind with nulls inserted at a row, copying every value once
+	 *
+	 * @param row   The row to insert at, 0-based
+	 * @param count The number of nulls to insert
+	 *
+	 * @return The new storage
+	 */
+	public QueryColumnStorage insertNulls( int row, int count ) {
+		QueryColumnStorage target = emptyCopy( this.size + count );
+		for ( int i = 0; i < row; i++ ) {
+			target = target.add( get( i ) );
+		}
+		for ( int i = 0; i < count; i++ ) {
+			target = target.add( null );
+		}
+		for ( int i = row; i < this.size; i++ ) {
+			target = target.add( get( i ) );
+		}
+		return target;
+	}
+
+	/**
+	 * Build a copy of this storage
+	 *
+	 * @return The copy
+	 */
+	public QueryColumnStorage copy() {
+		QueryColumnStorage target = emptyCopy( this.size );
+		for ( int i = 0; i < this.size; i++ ) {
+			target = target.add( get( i ) );
+		}
+		return target;
+	}
+
+	/**
+	 * Get all the values as an array
+	 *
+	 * @return The values
+	 */
+	public Object[] toArray() {
+		Object[] values = new Object[ this.size ];
+		for ( int i = 0; i < this.size; i++ ) {
+			values[ i ] = get( i );
+		}
+		return values;
+	}
+
+	/**
+	 * Build an empty storage of the same kind
+	 *
+	 * @param capacity The initial capacity
+	 *
+	 * @return The storage
+	 */
+	protected abstract QueryColumnStorage emptyCopy( int capacity );
+
+	/**
+	 * Convert this storage into an {@code Object[]} storage
+	 *
+	 * @return The demoted storage
+	 */
+	protected ObjectStorage demote() {
+		ObjectStorage target = new ObjectStorage( Math.max( this.size * 2, DEFAULT_CAPACITY ) );
+		for ( int i = 0; i < this.size; i++ ) {
+			target.values[ i ] = get( i );
+		}
+		target.size = this.size;
+		return target;
+	}
+
+	/**
+	 * Compute the capacity to grow to so {@code required} values fit
+	 *
+	 * @param current  The current capacity
+	 * @param required The required capacity
+	 *
+	 * @return The new capacity
+	 */
+	protected static int grow( int current, int required ) {
+		return Math.max( required, current + ( current >> 1 ) + 1 );
+	}
+
+	/**
+	 * Validate a row is within the storage bounds
+	 *
+	 * @param row The row, 0-based
+	 */
+	protected void checkRow( int row ) {
+		if ( row < 0 || row >= this.size ) {
+			throw new IndexOutOfBoundsException( "Row " + row + " is out of bounds for a column of size " + this.size );
+		}
+	}
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Object storage
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Storage for columns without a primitive representation
+	 */
+	public static class ObjectStorage extends QueryColumnStorage {
+
+		private static final long	serialVersionUID	= 1L;
+
+		private Object[]			values;
+
+		public ObjectStorage( int capacity ) {
+			this.values = new Object[ capacity ];
+		}
+
+		@Override
+		public Object get( int row ) {
+			checkRow( row );
+			return this.values[ row ];
+		}
+
+		@Override
+		public boolean isNull( int row ) {
+			return get( row ) == null;
+		}
+
+		@Override
+		public QueryColumnStorage set( int row, Object value ) {
+			checkRow( row );
+			this.values[ row ] = value;
+			return this;
+		}
+
+		@Override
+		public QueryColumnStorage insert( int row, Object value ) {
+			if ( row < 0 || row > this.size ) {
+				throw new IndexOutOfBoundsException( "Row " + row + " is out of bounds for a column of size " + this.size );
+			}
+			if ( this.size == this.values.length ) {
+				this.values = Arrays.copyOf( this.values, grow( this.values.length, this.size + 1 ) );
+			}
+			System.arraycopy( this.values, row, this.values, row + 1, this.size - row );
+			this.values[ row ] = value;
+			this.size++;
+			return this;
+		}
+
+		@Override
+		public void remove( int row ) {
+			checkRow( row );
+			System.arraycopy( this.values, row + 1, this.values, row, this.size - row - 1 );
+			this.values[ --this.size ] = null;
+		}
+
+		@Override
+		public void swap( int row1, int row2 ) {
+			checkRow( row1 );
+			checkRow( row2 );
+			Object temp = this.values[ row1 ];
+			this.values[ row1 ]	= this.values[ row2 ];
+			this.values[ row2 ]	= temp;
+		}
+
+		@Override
+		public void permute( int[] order ) {
+			Object[] permuted = new Object[ this.values.length ];
+			for ( int i = 0; i < this.size; i++ ) {
+				permuted[ i ] = this.values[ order[ i ] ];
+			}
+			this.values = permuted;
+		}
+
+		@Override
+		public void clear() {
+			Arrays.fill( this.values, 0, this.size, null );
+			this.size = 0;
+		}
+
+		@Override
+		public Object[] toArray() {
+			return Arrays.copyOf( this.values, this.size );
+		}
+
+		@Override
+		protected QueryColumnStorage emptyCopy( int capacity ) {
+			return new ObjectStorage( Math.max( capacity, DEFAULT_CAPACITY ) );
+		}
+
+		@Override
+		protected ObjectStorage demote() {
+			return this;
+		}
+
+	}
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Primitive storages
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Base class for the storages backed by a primitive array plus a null bitset
+	 */
+	public abstract static class PrimitiveStorage extends QueryColumnStorage {
+
+		private static final long	serialVersionUID	= 1L;
+
+		/**
+		 * Set bits are null rows
+		 */
+		protected BitSet			nulls				= new BitSet();
+
+		/**
+		 * Can this storage hold the value without changing its type?
+		 *
+		 * @param value The value, never null
+		 *
+		 * @return True if it can
+		 */
+		protected abstract boolean accepts( Object value );
+
+		/**
+		 * Read a non-null value
+		 *
+		 * @param row The row, 0-based
+		 *
+		 * @return The boxed value
+		 */
+		protected abstract Object read( int row );
+
+		/**
+		 * Write an accepted value, or the zero value for nulls
+		 *
+		 * @param row   The row, 0-based
+		 * @param value The value, or null
+		 */
+		protected abstract void write( int row, Object value );
+
+		/**
+		 * Get the capacity of the primitive array
+		 *
+		 * @return The capacity
+		 */
+		protected abstract int capacity();
+
+		/**
+		 * Resize the primitive array
+		 *
+		 * @param capacity The new capacity
+		 */
+		protected abstract void resize( int capacity );
+
+		/**
+		 * Move values within the primitive array, like {@link System#arraycopy}
+		 *
+		 * @param from   The source row
+		 * @param to     The target row
+		 * @param length How many rows to move
+		 */
+		protected abstract void move( int from, int to, int length );
+
+		/**
+		 * Reorder the primitive array, see {@link #permute(int[])}
+		 *
+		 * @param order The new order
+		 */
+		protected abstract void permuteValues( int[] order );
+
+		@Override
+		public Object get( int row ) {
+			checkRow( row );
+			return this.nulls.get( row ) ? null : read( row );
+		}
+
+		@Override
+		public boolean isNull( int row ) {
+			checkRow( row );
+			return this.nulls.get( row );
+		}
+
+		@Override
+		public QueryColumnStorage set( int row, Object value ) {
+			checkRow( row );
+			if ( value != null && !accepts( value ) ) {
+				return demote().set( row, value );
+			}
+			write( row, value );
+			this.nulls.set( row, value == null );
+			return this;
+		}
+
+		@Override
+		public QueryColumnStorage insert( int row, Object value ) {
+			if ( row < 0 || row > this.size ) {
+				throw new IndexOutOfBoundsException( "Row " + row + " is out of bounds for a column of size " + this.size );
+			}
+			if ( value != null && !accepts( value ) ) {
+				return demote().insert( row, value );
+			}
+			if ( this.size == capacity() ) {
+				resize( grow( capacity(), this.size + 1 ) );
+			}
+			if ( row < this.size ) {
+				move( row, row + 1, this.size - row );
+				shiftNulls( row, 1 );
+			}
+			write( row, value );
+			this.nulls.set( row, value == null );
+			this.size++;
+			return this;
+		}
+
+		@Override
+		public void remove( int row ) {
+			checkRow( row );
+			move( row + 1, row, this.size - row - 1 );
+			shiftNulls( row + 1, -1 );
+			this.size--;
+			this.nulls.clear( this.size );
+		}
+
+		@Override
+		public void swap( int row1, int row2 ) {
+			Object	value1	= get( row1 );
+			Object	value2	= get( row2 );
+			write( row1, value2 );
+			write( row2, value1 );
+			this.nulls.set( row1, value2 == null );
+			this.nulls.set( row2, value1 == null );
+		}
+
+		@Override
+		public void permute( int[] order ) {
+			permuteValues( order );
+			if ( !this.nulls.isEmpty() ) {
+				BitSet permuted = new BitSet( this.size );
+				for ( int i = 0; i < this.size; i++ ) {
+					if ( this.nulls.get( order[ i ] ) ) {
+						permuted.set( i );
+					}
+				}
+				this.nulls = permuted;
+			}
+		}
+
+		@Override
+		public void clear() {
+			this.nulls.clear();
+			this.size = 0;
+		}
+
+		/**
+		 * Shift the null bits of all rows from {@code from} to the end by {@code offset}
+		 *
+		 * @param from   The first row to shift
+		 * @param offset The offset, 1 or -1
+		 */
+		private void shiftNulls( int from, int offset ) {
+			if ( this.nulls.isEmpty() ) {
+				return;
+			}
+			if ( offset > 0 ) {
+				for ( int i = this.size - 1; i >= from; i-- ) {
+					this.nulls.set( i + offset, this.nulls.get( i ) );
+				}
+			} else {
+				for ( int i = from; i < this.size; i++ ) {
+					this.nulls.set( i + offset, this.nulls.get( i ) );
+				}
+			}
+		}
+
+	}
+
+	/**
+	 * Storage for {@code INTEGER} columns
+	 */
+	public static class IntStorage extends PrimitiveStorage {
+
+		private static final long	serialVersionUID	= 1L;
+
+		private int[]				values;
+
+		public IntStorage( int capacity ) {
+			this.values = new int[ capacity ];
+		}
+
+		/**
+		 * Get a value without boxing it. Check {@link #isNull(int)} first, nulls read as 0.
+		 *
+		 * @param row The row, 0-based
+		 *
+		 * @return The value
+		 */
+		public int getInt( int row ) {
+			checkRow( row );
+			return this.values[ row ];
+		}
+
+		/**
+		 * Append a value without boxing it
+		 *
+		 * @param value The value
+		 */
+		public void addInt( int value ) {
+			if ( this.size == this.values.length ) {
+				resize( grow( this.values.length, this.size + 1 ) );
+			}
+			this.values[ this.size++ ] = value;
+		}
+
+		@Override
+		protected boolean accepts( Object value ) {
+			return value instanceof Integer;
+		}
+
+		@Override
+		protected Object read( int row ) {
+			return this.values[ row ];
+		}
+
+		@Override
+		protected void write( int row, Object value ) {
+			this.values[ row ] = value == null ? 0 : ( Integer ) value;
+		}
+
+		@Override
+		protected int capacity() {
+			return this.values.length;
+		}
+
+		@Override
+		protected void resize( int capacity ) {
+			this.values = Arrays.copyOf( this.values, capacity );
+		}
+
+		@Override
+		protected void move( int from, int to, int length ) {
+			System.arraycopy( this.values, from, this.values, to, length );
+		}
+
+		@Override
+		protected void permuteValues( int[] order ) {
+			int[] permuted = new int[ this.values.length ];
+			for ( int i = 0; i < this.size; i++ ) {
+				permuted[ i ] = this.values[ order[ i ] ];
+			}
+			this.values = permuted;
+		}
+
+		@Override
+		protected QueryColumnStorage emptyCopy( int capacity ) {
+			return new IntStorage( Math.max( capacity, DEFAULT_CAPACITY ) );
+		}
+
+	}
+
+	/**
+	 * Storage for {@code BIGINT} columns
+	 */
+	public static class LongStorage extends PrimitiveStorage {
+
+		private static final long	serialVersionUID	= 1L;
+
+		private long[]				values;
+
+		public LongStorage( int capacity ) {
+			this.values = new long[ capacity ];
+		}
+
+		/**
+		 * Get a value without boxing it. Check {@link #isNull(int)} first, nulls read as 0.
+		 *
+		 * @param row The row, 0-based
+		 *
+		 * @return The value
+		 */
+		public long getLong( int row ) {
+			checkRow( row );
+			return this.values[ row ];
+		}
+
+		/**
+		 * Append a value without boxing it
+		 *
+		 * @param value The value
+		 */
+		public void addLong( long value ) {
+			if ( this.size == this.values.length ) {
+				resize( grow( this.values.length, this.size + 1 ) );
+			}
+			this.values[ this.size++ ] = value;
+		}
+
+		@Override
+		protected boolean accepts( Object value ) {
+			return value instanceof Long;
+		}
+
+		@Override
+		protected Object read( int row ) {
+			return this.values[ row ];
+		}
+
+		@Override
+		protected void write( int row, Object value ) {
+			this.values[ row ] = value == null ? 0L : ( Long ) value;
+		}
+
+		@Override
+		protected int capacity() {
+			return this.values.length;
+		}
+
+		@Override
+		protected void resize( int capacity ) {
+			this.values = Arrays.copyOf( this.values, capacity );
+		}
+
+		@Override
+		protected void move( int from, int to, int length ) {
+			System.arraycopy( this.values, from, this.values, to, length );
+		}
+
+		@Override
+		protected void permuteValues( int[] order ) {
+			long[] permuted = new long[ this.values.length ];
+			for ( int i = 0; i < this.size; i++ ) {
+				permuted[ i ] = this.values[ order[ i ] ];
+			}
+			this.values = permuted;
+		}
+
+		@Override
+		protected QueryColumnStorage emptyCopy( int capacity ) {
+			return new LongStorage( Math.max( capacity, DEFAULT_CAPACITY ) );
+		}
+
+	}
+
+	/**
+	 * Storage for {@code DOUBLE} columns
+	 */
+	public static class DoubleStorage extends PrimitiveStorage {
+
+		private static final long	serialVersionUID	= 1L;
+
+		private double[]			values;
+
+		public DoubleStorage( int capacity ) {
+			this.values = new double[ capacity ];
+		}
+
+		/**
+		 * Get a value without boxing it. Check {@link #isNull(int)} first, nulls read as 0.
+		 *
+		 * @param row The row, 0-based
+		 *
+		 * @return The value
+		 */
+		public double getDouble( int row ) {
+			checkRow( row );
+			return this.values[ row ];
+		}
+
+		/**
+		 * Append a value without boxing it
+		 *
+		 * @param value The value
+		 */
+		public void addDouble( double value ) {
+			if ( this.size == this.values.length ) {
+				resize( grow( this.values.length, this.size + 1 ) );
+			}
+			this.values[ this.size++ ] = value;
+		}
+
+		@Override
+		protected boolean accepts( Object value ) {
+			return value instanceof Double;
+		}
+
+		@Override
+		protected Object read( int row ) {
+			return this.values[ row ];
+		}
+
+		@Override
+		protected void write( int row, Object value ) {
+			this.values[ row ] = value == null ? 0d : ( Double ) value;
+		}
+
+		@Override
+		protected int capacity() {
+			return this.values.length;
+		}
+
+		@Override
+		protected void resize( int capacity ) {
+			this.values = Arrays.copyOf( this.values, capacity );
+		}
+
+		@Override
+		protected void move( int from, int to, int length ) {
+			System.arraycopy( this.values, from, this.values, to, length );
+		}
+
+		@Override
+		protected void permuteValues( int[] order ) {
+			double[] permuted = new double[ this.values.length ];
+			for ( int i = 0; i < this.size; i++ ) {
+				permuted[ i ] = this.values[ order[ i ] ];
+			}
+			this.values = permuted;
+		}
+
+		@Override
+		protected QueryColumnStorage emptyCopy( int capacity ) {
+			return new DoubleStorage( Math.max( capacity, DEFAULT_CAPACITY ) );
+		}
+
+	}
+
+	/**
+	 * Storage for {@code VARCHAR} columns: every distinct string is stored once and rows keep an int code.
+	 * High cardinality columns gain nothing from the dictionary, so the storage demotes itself to
+	 * an {@code Object[]} storage once most of its values are distinct.
+	 */
+	public static class DictionaryStorage extends PrimitiveStorage {
+
+		private static final long		serialVersionUID	= 1L;
+
+		/**
+		 * Below this many entries the dictionary is always kept
+		 */
+		private static final int		MIN_DICTIONARY_SIZE	= 1024;
+
+		private int[]					codes;
+
+		private List<String>			dictionary			= new ArrayList<>();
+
+		private Map<String, Integer>	lookup				= new HashMap<>();
+
+		public DictionaryStorage( int capacity ) {
+			this.codes = new int[ capacity ];
+		}
+
+		/**
+		 * Get the number of distinct values in the dictionary
+		 *
+		 * @return The dictionary size
+		 */
+		public int getDictionarySize() {
+			return this.dictionary.size();
+		}
+
+		@Override
+		protected boolean accepts( Object value ) {
+			return value instanceof String;
+		}
+
+		@Override
+		protected Object read( int row ) {
+			return this.dictionary.get( this.codes[ row ] );
+		}
+
+		@Override
+		protected void write( int row, Object value ) {
+			this.codes[ row ] = value == null ? 0 : this.lookup.computeIfAbsent( ( String ) value, key -> {
+				this.dictionary.add( key );
+				return this.dictionary.size() - 1;
+			} );
+		}
+
+		@Override
+		public QueryColumnStorage set( int row, Object value ) {
+			return isTooDistinct() ? demote().set( row, value ) : super.set( row, value );
+		}
+
+		@Override
+		public QueryColumnStorage insert( int row, Object value ) {
+			return isTooDistinct() ? demote().insert( row, value ) : super.insert( row, value );
+		}
+
+		@Override
+		protected int capacity() {
+			return this.codes.length;
+		}
+
+		@Override
+		protected void resize( int capacity ) {
+			this.codes = Arrays.copyOf( this.codes, capacity );
+		}
+
+		@Override
+		protected void move( int from, int to, int length ) {
+			System.arraycopy( this.codes, from, this.codes, to, length );
+		}
+
+		@Override
+		protected void permuteValues( int[] order ) {
+			int[] permuted = new int[ this.codes.length ];
+			for ( int i = 0; i < this.size; i++ ) {
+				permuted[ i ] = this.codes[ order[ i ] ];
+			}
+			this.codes = permuted;
+		}
+
+		@Override
+		protected QueryColumnStorage emptyCopy( int capacity ) {
+			return new DictionaryStorage( Math.max( capacity, DEFAULT_CAPACITY ) );
+		}
+
+		/**
+		 * Is the dictionary no longer paying for itself?
+		 *
+		 * @return True if most values are distinct
+		 */
+		private boolean isTooDistinct() {
+			return this.dictionary.size() > MIN_DICTIONARY_SIZE && this.dictionary.size() > this.size / 2;
+		}
+
+	}
+
+}
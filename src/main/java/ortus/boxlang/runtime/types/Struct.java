@@ -29,9 +29,12 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.Spliterator;
 import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -689,6 +692,19 @@ public class Struct implements IStruct, IListenable, Serializable {
 		    .collect( Collectors.toCollection( LinkedHashSet::new ) );
 	}
 
+	/**
+	 * Returns a {@link Spliterator} over the entries, with their values unwrapped like {@link #entrySet()}. Concurrent maps are split in
+	 * place, without copying the entries, as they can be traversed while they change. Other maps are split over a copy of the entries.
+	 *
+	 * @return The spliterator
+	 */
+	public Spliterator<Entry<Key, Object>> entrySpliterator() {
+		if ( !( wrapped instanceof ConcurrentMap ) ) {
+			return entrySet().spliterator();
+		}
+		return new EntrySpliterator( wrapped.entrySet().spliterator() );
+	}
+
 	/**
 	 * Verifies equality with the following rules:
 	 * - Same object
@@ -1051,6 +1067,11 @@ public class Struct implements IStruct, IListenable, Serializable {
 		listeners.remove( key );
 	}
 
+	@Override
+	public IChangeListener getChangeListener( Key key ) {
+		return listeners == null ? null : listeners.get( key );
+	}
+
 	private Object notifyListeners( Key key, Object value ) {
 		if ( listeners == null ) {
 			return value;
@@ -1072,4 +1093,38 @@ public class Struct implements IStruct, IListenable, Serializable {
 		}
 	}
 
+	/**
+	 * Unwraps the values of the entries of a spliterator over the wrapped map, splitting with it
+	 */
+	private static class EntrySpliterator implements Spliterator<Entry<Key, Object>> {
+
+		private final Spliterator<Entry<Key, Object>> source;
+
+		EntrySpliterator( Spliterator<Entry<Key, Object>> source ) {
+			this.source = source;
+		}
+
+		@Override
+		public boolean tryAdvance( Consumer<? super Entry<Key, Object>> action ) {
+			return this.source.tryAdvance( entry -> action.accept( new SimpleEntry<>( entry.getKey(), unWrapNull( entry.getValue() ) ) ) );
+		}
+
+		@Override
+		public Spliterator<Entry<Key, Object>> trySplit() {
+			Spliterator<Entry<Key, Object>> prefix = this.source.trySplit();
+			return prefix == null ? null : new EntrySpliterator( prefix );
+		}
+
+		@Override
+		public long estimateSize() {
+			return this.source.estimateSize();
+		}
+
+		@Override
+		public int characteristics() {
+			// Entries of a sorted map are sorted by key, which has no meaning for the unwrapped entries
+			return this.source.characteristics() & ~Spliterator.SORTED;
+		}
+	}
+
 }
@@ -19,7 +19,9 @@ package ortus.boxlang.runtime.types.immutable;
 
 import java.sql.ResultSet;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 
 import ortus.boxlang.runtime.context.IBoxContext;
@@ -28,6 +30,7 @@ import ortus.boxlang.runtime.types.Array;
 import ortus.boxlang.runtime.types.IStruct;
 import ortus.boxlang.runtime.types.Query;
 import ortus.boxlang.runtime.types.QueryColumn;
+import ortus.boxlang.runtime.types.QueryColumnStorage;
 import ortus.boxlang.runtime.types.QueryColumnType;
 import ortus.boxlang.runtime.types.Struct;
 import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
@@ -139,7 +142,7 @@ public class ImmutableQuery extends Query implements IImmutable {
 	 * @param position position to insert at
 	 * @param target   query to insert
 	 *
-	 * @throws BoxRuntimeException if the query columns do not match
+	 * @throws BoxRuntimeException if the inserted query has columns this query does not have
 	 *
 	 * @return this query
 	 */
@@ -148,6 +151,42 @@ public class ImmutableQuery extends Query implements IImmutable {
 		throw new UnmodifiableException( "Cannot insert queries into an ImmutableQuery" );
 	}
 
+	/**
+	 * Get the data for this query as a list of rows. The list can't be modified.
+	 *
+	 * @return list of arrays of data
+	 */
+	@Override
+	public List<Object[]> getData() {
+		return Collections.unmodifiableList( super.getData() );
+	}
+
+	/**
+	 * Get a copy of the storage backing a column, so the query can't be modified through it.
+	 * Throws an exception if the column doesn't exist
+	 *
+	 * @param name column name
+	 *
+	 * @return A copy of the column storage
+	 */
+	@Override
+	public QueryColumnStorage getColumnStorage( Key name ) {
+		return super.getColumnStorage( name ).copy();
+	}
+
+	/**
+	 * Replace the data of a row
+	 *
+	 * @param index row index, starting at 0
+	 * @param row   row data as array of objects
+	 *
+	 * @return this query
+	 */
+	@Override
+	public ImmutableQuery setRow( int index, Object[] row ) {
+		throw new UnmodifiableException( "Cannot set rows in an ImmutableQuery" );
+	}
+
 	/**
 	 * Add a row to the query
 	 *
@@ -258,6 +297,28 @@ public class ImmutableQuery extends Query implements IImmutable {
 		throw new UnmodifiableException( "Cannot sort an ImmutableQuery" );
 	}
 
+	/**
+	 * Reorder the rows of the query
+	 *
+	 * @param order The new row order
+	 */
+	@Override
+	public void permute( int[] order ) {
+		throw new UnmodifiableException( "Cannot reorder an ImmutableQuery" );
+	}
+
+	/**
+	 * Build a new immutable query with the same columns and only the given rows
+	 *
+	 * @param rows The row indexes to keep, 0-based, in the order they should appear
+	 *
+	 * @return The new query
+	 */
+	@Override
+	public ImmutableQuery selectRows( int[] rows ) {
+		return super.selectRows( rows ).toImmutable();
+	}
+
 	/***************************
 	 * Collection implementation
 	 ****************************/
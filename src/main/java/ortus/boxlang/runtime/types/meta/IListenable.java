@@ -32,4 +32,15 @@ public interface IListenable {
 
 	public void removeChangeListener( Key key );
 
+	/**
+	 * Get the listener registered for a key, so a new listener can chain to it instead of replacing it
+	 *
+	 * @param key The key, or {@link #ALL_KEYS}
+	 *
+	 * @return The listener, or null if there is none
+	 */
+	public default IChangeListener getChangeListener( Key key ) {
+		return null;
+	}
+
 }
@@ -0,0 +1,180 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.runtime.types.util;
+
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.Struct;
+
+/**
+ * A shared cache of {@link DateTimeFormatter} instances by mask, locale and timezone.
+ * <p>
+ * Formatters are immutable and thread-safe, but building one from a pattern parses the pattern every time, so the date BIFs, member
+ * functions and casts get theirs from here instead of calling {@link DateTimeFormatter#ofPattern(String)} on each use.
+ * <p>
+ * Masks can come from user code, so the cache is bounded: once it holds {@link #MAX_SIZE} formatters, new ones are built without being
+ * cached.
+ */
+public final class DateTimeFormatterCache {
+
+	/**
+	 * The max number of cached formatters
+	 */
+	public static final int										MAX_SIZE	= 1024;
+
+	/**
+	 * The cached formatters
+	 */
+	private static final Map<CacheKey, DateTimeFormatter>	formatters	= new ConcurrentHashMap<>();
+
+	/**
+	 * Lookups which found a cached formatter
+	 */
+	private static final AtomicLong								hits		= new AtomicLong();
+
+	/**
+	 * Lookups which had to build a formatter
+	 */
+	private static final AtomicLong								misses		= new AtomicLong();
+
+	/**
+	 * A cache key. The base is either a mask or a formatter being localized, which has no equality of its own so it's compared by
+	 * identity.
+	 *
+	 * @param base   The mask or the base formatter
+	 * @param locale The locale
+	 * @param zone   The timezone override, or null
+	 */
+	private record CacheKey( Object base, Locale locale, ZoneId zone ) {
+	}
+
+	/**
+	 * Private constructor, this is a static utility
+	 */
+	private DateTimeFormatterCache() {
+	}
+
+	/**
+	 * Get a formatter for a pattern in the default locale
+	 *
+	 * @param mask The pattern, as accepted by {@link DateTimeFormatter#ofPattern(String)}
+	 *
+	 * @return The formatter
+	 */
+	public static DateTimeFormatter get( String mask ) {
+		return get( mask, null, null );
+	}
+
+	/**
+	 * Get a formatter for a pattern in a locale
+	 *
+	 * @param mask   The pattern, as accepted by {@link DateTimeFormatter#ofPattern(String)}
+	 * @param locale The locale, or null for the default one
+	 *
+	 * @return The formatter
+	 */
+	public static DateTimeFormatter get( String mask, Locale locale ) {
+		return get( mask, locale, null );
+	}
+
+	/**
+	 * Get a formatter for a pattern in a locale and timezone
+	 *
+	 * @param mask   The pattern, as accepted by {@link DateTimeFormatter#ofPattern(String)}
+	 * @param locale The locale, or null for the default one
+	 * @param zone   The timezone override, or null for none
+	 *
+	 * @return The formatter
+	 */
+	public static DateTimeFormatter get( String mask, Locale locale, ZoneId zone ) {
+		Locale resolved = locale != null ? locale : Locale.getDefault( Locale.Category.FORMAT );
+		return lookup( new CacheKey( mask, resolved, zone ), () -> {
+			DateTimeFormatter formatter = DateTimeFormatter.ofPattern( mask, resolved );
+			return zone == null ? formatter : formatter.withZone( zone );
+		} );
+	}
+
+	/**
+	 * Get a formatter localized to a locale, like {@link DateTimeFormatter#withLocale(Locale)}. Meant for the shared formatters, like the
+	 * {@link ortus.boxlang.runtime.types.DateTime#COMMON_FORMATTERS} and the {@link DateTimeFormatter} constants.
+	 *
+	 * @param formatter The formatter
+	 * @param locale    The locale
+	 *
+	 * @return The localized formatter
+	 */
+	public static DateTimeFormatter localize( DateTimeFormatter formatter, Locale locale ) {
+		if ( locale == null || locale.equals( formatter.getLocale() ) ) {
+			return formatter;
+		}
+		return lookup( new CacheKey( formatter, locale, null ), () -> formatter.withLocale( locale ) );
+	}
+
+	/**
+	 * Get the cache statistics
+	 *
+	 * @return A struct with the <code>hits</code>, <code>misses</code> and <code>size</code>
+	 */
+	public static IStruct getStats() {
+		return Struct.of(
+		    "hits", hits.get(),
+		    "misses", misses.get(),
+		    "size", formatters.size()
+		);
+	}
+
+	/**
+	 * Empty the cache
+	 */
+	public static void clear() {
+		formatters.clear();
+	}
+
+	/**
+	 * Find a cached formatter, building and caching it if there's room
+	 *
+	 * @param key     The cache key
+	 * @param builder Builds the formatter
+	 *
+	 * @return The formatter
+	 */
+	private static DateTimeFormatter lookup( CacheKey key, Supplier<DateTimeFormatter> builder ) {
+		DateTimeFormatter formatter = formatters.get( key );
+		if ( formatter != null ) {
+			hits.incrementAndGet();
+			return formatter;
+		}
+		misses.incrementAndGet();
+		formatter = builder.get();
+		if ( formatters.size() < MAX_SIZE ) {
+			DateTimeFormatter existing = formatters.putIfAbsent( key, formatter );
+			if ( existing != null ) {
+				return existing;
+			}
+		}
+		return formatter;
+	}
+
+}
@@ -0,0 +1,610 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.runtime.types.util;
+
+import java.text.DateFormatSymbols;
+import java.text.ParsePosition;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.Year;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQueries;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Parses strings in the common date and date time formats BoxLang accepts when casting to a date, without throwing and catching an
+ * exception for every format that doesn't match.
+ * <p>
+ * The formats are the {@link #COMMON_PATTERNS}, tried in order. Each is compiled once into a list of elements. A string is first reduced to
+ * its shape, digit runs and letter runs collapsed and separators kept, so <code>2024-04-02 10:00:00</code> becomes <code>d-d-d d:d:d</code>,
+ * which rules out most formats with a single string comparison. The remaining ones are matched element by element, and the first that
+ * matches the whole string with valid field values wins.
+ * <p>
+ * The matching follows the strict {@link java.text.SimpleDateFormat} rules the casts relied on: numeric fields take any number of digits
+ * unless they abut another numeric field, month and day names match the long or short names of the default locale regardless of case, and
+ * every field must be in range, including the day of the week when it's given. Strings without a zone or offset are in the given timezone.
+ */
+public final class DateTimeParser {
+
+	/**
+	 * The formats, in the order they are tried
+	 */
+	public static final String[]			COMMON_PATTERNS	= {
+
+	    // Localized Date/Time formats
+	    "EEE, dd MMM yyyy HH:mm:ss zzz", // Full DateTime (e.g., Tue, 02 Apr 2024 21:01:00 CEST) - Similar to FULL_FULL
+	    "dd MMM yyyy HH:mm:ss",         // Long DateTime (e.g., 02 Apr 2024 21:01:00) - Similar to LONG_LONG
+	    "dd-MMM-yyyy HH:mm:ss",         // Medium DateTime (e.g., 02-Apr-2024 21:01:00) - Might need adjustment based on locale
+	    "dd/MM/yyyy HH:mm:ss",         // Short DateTime (e.g., 02/04/2024 21:01:00) - Might need adjustment based on locale
+	    "dd.MM.yyyy HH:mm:ss",         // Short DateTime (e.g., 02.04.2024 21:01:00) - Might need adjustment based on locale
+
+	    // ISO formats
+	    "yyyy-MM-dd'T'HH:mm:ss.SSSXXX",  // Date-time with milliseconds and offset
+	    "yyyy-MM-dd'T'HH:mm:ss.SSS",     // Date-time with milliseconds
+	    "yyyy-MM-dd'T'HH:mm:ssZ",        // Date-time with offset (Z)
+	    "yyyy-MM-dd'T'HH:mm:ssX",        // Date-time with offset (X)
+	    "yyyy-MM-dd'T'HH:mm:ss",         // Date-time
+
+	    // ODBC formats
+	    "yyyyMMddHHmmss",                // OBCDateTime - Potential ODBC format
+
+	    // Localized Date formats
+	    "EEE, dd MMM yyyy",            // Full Date (e.g., Tue, 02 Apr 2024) - Similar to FULL
+	    "dd MMM yyyy",                   // Long Date (e.g., 02 Apr 2024) - Similar to LONG
+	    "dd-MMM-yyyy",                   // Medium Date (e.g., 02-Apr-2024) - Might need adjustment based on locale
+	    "dd/MMM/yyyy",                   // Medium Date (e.g., 02-Apr-2024) - Might need adjustment based on locale
+	    "dd.MMM.yyyy",                   // Medium Date (e.g., 02.Apr.2024) - Might need adjustment based on locale
+
+	    "dd MM yyyy",                   // Short Date (e.g., 02.04.2024) - Might need adjustment based on locale
+	    "dd-MM-yyyy",                   // Short Date (e.g., 02-04-2024) - Might need adjustment based on locale
+	    "dd/MM/yyyy",                   // Short Date (e.g., 02/04/2024) - Might need adjustment based on locale
+	    "dd.MM.yyyy",                   // Short Date (e.g., 02.04.2024) - Might need adjustment based on locale
+
+	    // Localized Date formats - Month First
+	    "MMM dd yyyy",                   // Long Date (e.g., Apr 02 2024)
+	    "MMM-dd-yyyy",                   // Medium Date (e.g., Apr-02-2024) - Might need adjustment based on locale
+	    "MMM/dd/yyyy",                   // Medium Date (e.g., Apr/02/2024) - Might need adjustment based on locale
+	    "MMM.dd.yyyy",                   // Medium Date (e.g., Apr.02.2024) - Might need adjustment based on locale
+
+	    // Localized Date formats - Month First (Short)
+	    "MM dd yyyy",                   // Short Date (e.g., 04 02 2024) - Might need adjustment based on locale
+	    "MM-dd-yyyy",                   // Short Date (e.g., 04-02-2024) - Might need adjustment based on locale
+	    "MM/dd/yyyy",                   // Short Date (e.g., 04/02/2024) - Might need adjustment based on locale
+	    "MM.dd.yyyy",                   // Short Date (e.g., 04.02.2024) - Might need adjustment based on locale
+
+	    // ISO format
+	    "yyyy-MM-dd",                   // ISODate (e.g., 2024-04-02)
+	    "yyyy/MM/dd",                   // ISODate (e.g., 2024/04/02)
+	    "yyyy.MM.dd",                   // ISODate (e.g., 2024.04.02)
+
+	    // ODBC format
+	    "yyyyMMdd"                     // ODBCDate - Potential ODBC format
+	};
+
+	/**
+	 * The compiled formats
+	 */
+	private static final List<Format>		FORMATS			= compileAll();
+
+	/**
+	 * The month and day names of the default locale, rebuilt when it changes
+	 */
+	private static volatile Names			names;
+
+	/**
+	 * The fields a format can set
+	 */
+	private enum Field {
+		YEAR,
+		MONTH,
+		DAY,
+		HOUR,
+		MINUTE,
+		SECOND,
+		MILLI,
+		DAY_OF_WEEK
+	}
+
+	/**
+	 * The kinds of elements of a format
+	 */
+	private enum Kind {
+		// A character which must be present as is
+		LITERAL,
+		// Digits
+		NUMBER,
+		// A month or day name
+		TEXT,
+		// A zone name, GMT offset or numeric offset (z, Z)
+		ZONE,
+		// An ISO 8601 offset or Z (X)
+		OFFSET
+	}
+
+	/**
+	 * An element of a format
+	 *
+	 * @param kind    The kind of element
+	 * @param field   The field it sets, for numbers and names
+	 * @param literal The character, for literals
+	 * @param width   The exact number of digits, for numbers abutting the next one, or 0 for as many as there are
+	 */
+	private record Element( Kind kind, Field field, char literal, int width ) {
+	}
+
+	/**
+	 * A compiled format
+	 *
+	 * @param pattern  The pattern it was compiled from
+	 * @param elements The elements
+	 * @param shape    The shape of the strings it can match, up to the zone if it ends with one
+	 * @param hasZone  Whether it ends with a zone or offset
+	 * @param hasText  Whether it has month or day names, whose shape depends on the locale so they can't be ruled out by shape
+	 */
+	private record Format( String pattern, List<Element> elements, String shape, boolean hasZone, boolean hasText ) {
+
+		/**
+		 * Whether a string of a shape could match this format
+		 *
+		 * @param inputShape The shape of the string
+		 *
+		 * @return False if it can't match
+		 */
+		boolean accepts( String inputShape ) {
+			if ( this.hasText ) {
+				// Names can't be told apart by shape, but they need letters
+				return inputShape.indexOf( 'a' ) >= 0;
+			}
+			return this.hasZone
+			    ? inputShape.length() > this.shape.length() && inputShape.startsWith( this.shape )
+			    : inputShape.equals( this.shape );
+		}
+	}
+
+	/**
+	 * The month and day names of a locale
+	 *
+	 * @param locale   The locale
+	 * @param months   The long and short month names, by month number - 1
+	 * @param weekdays The long and short day names, by {@link java.util.Calendar} day number
+	 */
+	private record Names( Locale locale, String[][] months, String[][] weekdays ) {
+	}
+
+	/**
+	 * Private constructor, this is a static utility
+	 */
+	private DateTimeParser() {
+	}
+
+	/**
+	 * Parse a string in one of the common formats, in the system timezone
+	 *
+	 * @param value The string
+	 *
+	 * @return The date time, or null if the string is not in any of the formats
+	 */
+	public static ZonedDateTime parse( String value ) {
+		return parse( value, ZoneId.systemDefault() );
+	}
+
+	/**
+	 * Parse a string in one of the common formats
+	 *
+	 * @param value    The string
+	 * @param timezone The timezone of strings without a zone or offset, and of the result
+	 *
+	 * @return The date time, or null if the string is not in any of the formats
+	 */
+	public static ZonedDateTime parse( String value, ZoneId timezone ) {
+		String shape = shapeOf( value );
+		for ( Format format : FORMATS ) {
+			if ( format.accepts( shape ) ) {
+				ZonedDateTime result = match( format, value, timezone );
+				if ( result != null ) {
+					return result;
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Whether a string has any digit, which every date does
+	 *
+	 * @param value The string
+	 *
+	 * @return True if it has a digit
+	 */
+	public static boolean hasDigit( String value ) {
+		for ( int i = 0; i < value.length(); i++ ) {
+			if ( isDigit( value.charAt( i ) ) ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Matching
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Match a string against a format
+	 *
+	 * @param format   The format
+	 * @param value    The string
+	 * @param timezone The timezone of strings without a zone or offset, and of the result
+	 *
+	 * @return The date time, or null if the string doesn't match or has a field out of range
+	 */
+	private static ZonedDateTime match( Format format, String value, ZoneId timezone ) {
+		int[]	fields	= { 1970, 1, 1, 0, 0, 0, 0, 0 };
+		ZoneId	zone	= null;
+		int		pos		= 0;
+		int		length	= value.length();
+
+		for ( Element element : format.elements() ) {
+			switch ( element.kind() ) {
+				case LITERAL -> {
+					if ( pos >= length || value.charAt( pos ) != element.literal() ) {
+						return null;
+					}
+					pos++;
+				}
+				case NUMBER -> {
+					int end = pos;
+					if ( element.width() > 0 ) {
+						end = pos + element.width();
+						if ( end > length ) {
+							return null;
+						}
+						for ( int i = pos; i < end; i++ ) {
+							if ( !isDigit( value.charAt( i ) ) ) {
+								return null;
+							}
+						}
+					} else {
+						while ( end < length && isDigit( value.charAt( end ) ) ) {
+							end++;
+						}
+						// More digits than an int holds can't be a valid field
+						if ( end == pos || end - pos > 9 ) {
+							return null;
+						}
+					}
+					fields[ element.field().ordinal() ] = Integer.parseInt( value, pos, end, 10 );
+					pos = end;
+				}
+				case TEXT -> {
+					Names		localeNames	= names();
+					String[][]	candidates	= element.field() == Field.MONTH ? localeNames.months() : localeNames.weekdays();
+					int			found		= -1;
+					int			foundLength	= 0;
+					for ( int i = 0; i < candidates.length; i++ ) {
+						for ( String name : candidates[ i ] ) {
+							if ( name.length() > foundLength && value.regionMatches( true, pos, name, 0, name.length() ) ) {
+								found		= i;
+								foundLength	= name.length();
+							}
+						}
+					}
+					if ( found < 0 ) {
+						return null;
+					}
+					fields[ element.field().ordinal() ] = element.field() == Field.MONTH ? found + 1 : found;
+					pos += foundLength;
+				}
+				case ZONE, OFFSET -> {
+					ParsePosition position = new ParsePosition( pos );
+					zone = parseZone( value, position, element.kind() == Kind.OFFSET );
+					if ( zone == null ) {
+						return null;
+					}
+					pos = position.getIndex();
+				}
+			}
+		}
+		if ( pos != length ) {
+			return null;
+		}
+
+		LocalDateTime dateTime = toDateTime( fields );
+		if ( dateTime == null ) {
+			return null;
+		}
+		return zone == null
+		    ? ZonedDateTime.of( dateTime, timezone )
+		    : ZonedDateTime.of( dateTime, zone ).withZoneSameInstant( timezone );
+	}
+
+	/**
+	 * Build the date time from the parsed fields, checking they are in range
+	 *
+	 * @param fields The fields, by {@link Field} ordinal
+	 *
+	 * @return The date time, or null if a field is out of range
+	 */
+	private static LocalDateTime toDateTime( int[] fields ) {
+		int	year	= fields[ Field.YEAR.ordinal() ];
+		int	month	= fields[ Field.MONTH.ordinal() ];
+		int	day		= fields[ Field.DAY.ordinal() ];
+		if ( year < 1 || year > Year.MAX_VALUE || month < 1 || month > 12 || day < 1 || day > Month.of( month ).length( Year.isLeap( year ) ) ) {
+			return null;
+		}
+		int	hour	= fields[ Field.HOUR.ordinal() ];
+		int	minute	= fields[ Field.MINUTE.ordinal() ];
+		int	second	= fields[ Field.SECOND.ordinal() ];
+		int	milli	= fields[ Field.MILLI.ordinal() ];
+		if ( hour > 23 || minute > 59 || second > 59 || milli > 999 ) {
+			return null;
+		}
+		LocalDate	date		= LocalDate.of( year, month, day );
+		// Calendar day numbers start on Sunday, 0 means the string had no day name
+		int			dayOfWeek	= fields[ Field.DAY_OF_WEEK.ordinal() ];
+		if ( dayOfWeek > 0 && date.getDayOfWeek() != ( dayOfWeek == 1 ? DayOfWeek.SUNDAY : DayOfWeek.of( dayOfWeek - 1 ) ) ) {
+			return null;
+		}
+		return date.atTime( hour, minute, second, milli * 1_000_000 );
+	}
+
+	/**
+	 * Parse a zone: <code>Z</code> for ISO 8601 offsets, a numeric offset like <code>+02</code>, <code>+0200</code> or <code>+02:00</code>,
+	 * and for the other zones also <code>GMT</code> or <code>UTC</code> with an optional offset, or a zone name like <code>CEST</code>.
+	 *
+	 * @param value    The string
+	 * @param position The position to parse from, which is moved past the zone
+	 * @param iso      Whether it's an ISO 8601 offset
+	 *
+	 * @return The zone, or null if there's none
+	 */
+	private static ZoneId parseZone( String value, ParsePosition position, boolean iso ) {
+		int pos = position.getIndex();
+		if ( pos >= value.length() ) {
+			return null;
+		}
+		char c = value.charAt( pos );
+		if ( c == '+' || c == '-' ) {
+			return parseOffset( value, position );
+		}
+		if ( iso ) {
+			if ( c == 'Z' ) {
+				position.setIndex( pos + 1 );
+				return ZoneOffset.UTC;
+			}
+			return null;
+		}
+		if ( value.regionMatches( true, pos, "GMT", 0, 3 ) || value.regionMatches( true, pos, "UTC", 0, 3 ) ) {
+			position.setIndex( pos + 3 );
+			if ( pos + 3 < value.length() && ( value.charAt( pos + 3 ) == '+' || value.charAt( pos + 3 ) == '-' ) ) {
+				return parseOffset( value, position );
+			}
+			return ZoneOffset.UTC;
+		}
+		TemporalAccessor parsed = DateTimeFormatterCache.get( "zzz", names().locale() ).parseUnresolved( value, position );
+		return parsed == null ? null : parsed.query( TemporalQueries.zoneId() );
+	}
+
+	/**
+	 * Parse a numeric offset: a sign, the hours and the optional minutes, with or without a colon
+	 *
+	 * @param value    The string
+	 * @param position The position of the sign, which is moved past the offset
+	 *
+	 * @return The offset, or null if it's not valid
+	 */
+	private static ZoneOffset parseOffset( String value, ParsePosition position ) {
+		int	pos		= position.getIndex();
+		int	sign	= value.charAt( pos ) == '-' ? -1 : 1;
+		int	end		= pos + 1;
+		while ( end < value.length() && isDigit( value.charAt( end ) ) ) {
+			end++;
+		}
+		int	digits	= end - pos - 1;
+		int	hours;
+		int	minutes	= 0;
+		if ( digits == 1 || digits == 2 ) {
+			hours = Integer.parseInt( value, pos + 1, end, 10 );
+			// hh:mm
+			if ( end + 3 <= value.length() && value.charAt( end ) == ':' && isDigit( value.charAt( end + 1 ) ) && isDigit( value.charAt( end + 2 ) )
+			    && ( end + 3 == value.length() || !isDigit( value.charAt( end + 3 ) ) ) ) {
+				minutes	= Integer.parseInt( value, end + 1, end + 3, 10 );
+				end		+= 3;
+			}
+		} else if ( digits == 4 ) {
+			hours	= Integer.parseInt( value, pos + 1, pos + 3, 10 );
+			minutes	= Integer.parseInt( value, pos + 3, end, 10 );
+		} else {
+			return null;
+		}
+		if ( hours > 18 || minutes > 59 || ( hours == 18 && minutes > 0 ) ) {
+			return null;
+		}
+		position.setIndex( end );
+		return ZoneOffset.ofTotalSeconds( sign * ( hours * 3600 + minutes * 60 ) );
+	}
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Compilation
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Reduce a string to its shape: every run of digits becomes <code>d</code>, every run of letters <code>a</code>, and anything else
+	 * stays as is
+	 *
+	 * @param value The string
+	 *
+	 * @return The shape
+	 */
+	private static String shapeOf( String value ) {
+		StringBuilder	shape	= new StringBuilder( value.length() );
+		char			last	= 0;
+		for ( int i = 0; i < value.length(); i++ ) {
+			char c = value.charAt( i );
+			if ( isDigit( c ) ) {
+				c = 'd';
+			} else if ( Character.isLetter( c ) ) {
+				c = 'a';
+			}
+			if ( ( c == 'd' || c == 'a' ) && c == last ) {
+				continue;
+			}
+			shape.append( c );
+			last = c;
+		}
+		return shape.toString();
+	}
+
+	/**
+	 * Compile the common formats
+	 *
+	 * @return The compiled formats, in order
+	 */
+	private static List<Format> compileAll() {
+		List<Format> formats = new ArrayList<>();
+		for ( String pattern : COMMON_PATTERNS ) {
+			formats.add( compile( pattern ) );
+		}
+		return List.copyOf( formats );
+	}
+
+	/**
+	 * Compile a format. Only the pattern letters the common formats use are supported.
+	 *
+	 * @param pattern The pattern, in {@link java.text.SimpleDateFormat} syntax
+	 *
+	 * @return The compiled format
+	 */
+	private static Format compile( String pattern ) {
+		List<Element>	elements	= new ArrayList<>();
+		int				i			= 0;
+		while ( i < pattern.length() ) {
+			char c = pattern.charAt( i );
+			if ( c == '\'' ) {
+				int end = pattern.indexOf( '\'', i + 1 );
+				for ( int j = i + 1; j < end; j++ ) {
+					elements.add( new Element( Kind.LITERAL, null, pattern.charAt( j ), 0 ) );
+				}
+				i = end + 1;
+				continue;
+			}
+			if ( !Character.isLetter( c ) ) {
+				elements.add( new Element( Kind.LITERAL, null, c, 0 ) );
+				i++;
+				continue;
+			}
+			int count = 1;
+			while ( i + count < pattern.length() && pattern.charAt( i + count ) == c ) {
+				count++;
+			}
+			elements.add( switch ( c ) {
+				case 'y' -> new Element( Kind.NUMBER, Field.YEAR, c, count );
+				case 'M' -> count >= 3 ? new Element( Kind.TEXT, Field.MONTH, c, 0 ) : new Element( Kind.NUMBER, Field.MONTH, c, count );
+				case 'd' -> new Element( Kind.NUMBER, Field.DAY, c, count );
+				case 'H' -> new Element( Kind.NUMBER, Field.HOUR, c, count );
+				case 'm' -> new Element( Kind.NUMBER, Field.MINUTE, c, count );
+				case 's' -> new Element( Kind.NUMBER, Field.SECOND, c, count );
+				case 'S' -> new Element( Kind.NUMBER, Field.MILLI, c, count );
+				case 'E' -> new Element( Kind.TEXT, Field.DAY_OF_WEEK, c, 0 );
+				case 'z', 'Z' -> new Element( Kind.ZONE, null, c, 0 );
+				case 'X' -> new Element( Kind.OFFSET, null, c, 0 );
+				default -> throw new IllegalArgumentException( "Unsupported pattern letter [" + c + "] in [" + pattern + "]" );
+			} );
+			i += count;
+		}
+
+		// Numbers only have a fixed width when the next element is a number too, otherwise they take all the digits there are
+		for ( int j = 0; j < elements.size(); j++ ) {
+			Element element = elements.get( j );
+			if ( element.kind() == Kind.NUMBER ) {
+				boolean abutting = j + 1 < elements.size() && elements.get( j + 1 ).kind() == Kind.NUMBER;
+				elements.set( j, new Element( Kind.NUMBER, element.field(), element.literal(), abutting ? element.width() : 0 ) );
+			}
+		}
+
+		StringBuilder	shape	= new StringBuilder();
+		boolean			hasZone	= false;
+		boolean			hasText	= false;
+		for ( Element element : elements ) {
+			char c = switch ( element.kind() ) {
+				case NUMBER -> 'd';
+				case TEXT -> 'a';
+				case LITERAL -> Character.isLetter( element.literal() ) ? 'a' : element.literal();
+				default -> 0;
+			};
+			hasText = hasText || element.kind() == Kind.TEXT;
+			if ( c == 0 ) {
+				hasZone = true;
+				break;
+			}
+			if ( ( c == 'd' || c == 'a' ) && shape.length() > 0 && shape.charAt( shape.length() - 1 ) == c ) {
+				continue;
+			}
+			shape.append( c );
+		}
+		return new Format( pattern, List.copyOf( elements ), shape.toString(), hasZone, hasText );
+	}
+
+	/**
+	 * Get the month and day names of the default locale
+	 *
+	 * @return The names
+	 */
+	private static Names names() {
+		Locale	locale	= Locale.getDefault( Locale.Category.FORMAT );
+		Names	current	= names;
+		if ( current == null || !current.locale().equals( locale ) ) {
+			DateFormatSymbols	symbols		= DateFormatSymbols.getInstance( locale );
+			String[][]			months		= new String[ 12 ][];
+			String[][]			weekdays	= new String[ 8 ][];
+			for ( int i = 0; i < 12; i++ ) {
+				months[ i ] = new String[] { symbols.getMonths()[ i ], symbols.getShortMonths()[ i ] };
+			}
+			weekdays[ 0 ] = new String[ 0 ];
+			for ( int i = 1; i < 8; i++ ) {
+				weekdays[ i ] = new String[] { symbols.getWeekdays()[ i ], symbols.getShortWeekdays()[ i ] };
+			}
+			current	= new Names( locale, months, weekdays );
+			names	= current;
+		}
+		return current;
+	}
+
+	/**
+	 * Whether a character is an ASCII digit
+	 *
+	 * @param c The character
+	 *
+	 * @return True if it's a digit
+	 */
+	private static boolean isDigit( char c ) {
+		return c >= '0' && c <= '9';
+	}
+
+}
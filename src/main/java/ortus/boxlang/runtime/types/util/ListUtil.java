@@ -21,7 +21,6 @@ import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Locale;
-import java.util.UUID;
 import java.util.function.BiFunction;
 import java.util.function.IntConsumer;
 import java.util.function.IntPredicate;
@@ -31,6 +30,7 @@ import java.util.stream.IntStream;
 
 import org.apache.commons.lang3.StringUtils;
 
+import ortus.boxlang.runtime.async.ParallelCollections;
 import ortus.boxlang.runtime.context.IBoxContext;
 import ortus.boxlang.runtime.dynamic.casters.ArrayCaster;
 import ortus.boxlang.runtime.dynamic.casters.BooleanCaster;
@@ -39,7 +39,6 @@ import ortus.boxlang.runtime.dynamic.casters.StringCaster;
 import ortus.boxlang.runtime.operators.Compare;
 import ortus.boxlang.runtime.operators.StringCompare;
 import ortus.boxlang.runtime.scopes.Key;
-import ortus.boxlang.runtime.services.AsyncService;
 import ortus.boxlang.runtime.types.Array;
 import ortus.boxlang.runtime.types.Function;
 import ortus.boxlang.runtime.types.Struct;
@@ -514,21 +513,11 @@ public class ListUtil {
 			exec = idx -> callbackContext.invokeFunction( callback,
 			    new Object[] { array.size() > idx ? array.get( idx ) : null, idx + 1, array } );
 		}
-		IntStream intStream = array.intStream();
-		if ( !parallel ) {
-			intStream.forEach( exec );
-		} else if ( ordered ) {
-			AsyncService.buildExecutor(
-			    "ArrayEach_" + UUID.randomUUID().toString(),
-			    AsyncService.ExecutorType.FORK_JOIN,
-			    maxThreads
-			).submitAndGet( () -> array.intStream().parallel().forEachOrdered( exec ) );
+		// Callbacks made in order can't overlap, so an ordered loop runs on this thread
+		if ( !parallel || ordered ) {
+			array.intStream().forEach( exec );
 		} else {
-			AsyncService.buildExecutor(
-			    "ArrayEach_" + UUID.randomUUID().toString(),
-			    AsyncService.ExecutorType.FORK_JOIN,
-			    maxThreads
-			).submitAndGet( () -> array.intStream().parallel().forEach( exec ) );
+			ParallelCollections.forEach( array.size(), maxThreads, exec );
 		}
 
 	}
@@ -560,15 +549,9 @@ public class ListUtil {
 			    new Object[] { array.size() > idx ? array.get( idx ) : null, idx + 1, array } ) );
 		}
 
-		IntStream intStream = array.intStream();
-
 		return !parallel
-		    ? ( Boolean ) intStream.anyMatch( test )
-		    : ( Boolean ) AsyncService.buildExecutor(
-		        "ArraySome_" + UUID.randomUUID().toString(),
-		        AsyncService.ExecutorType.FORK_JOIN,
-		        maxThreads
-		    ).submitAndGet( () -> array.intStream().parallel().anyMatch( test ) );
+		    ? array.intStream().anyMatch( test )
+		    : ParallelCollections.anyMatch( array.size(), maxThreads, test );
 
 	}
 
@@ -598,17 +581,9 @@ public class ListUtil {
 			    new Object[] { array.size() > idx ? array.get( idx ) : null, idx + 1, array } ) );
 		}
 
-		IntStream intStream = array.intStream();
-
 		return !parallel
-		    ? intStream.dropWhile( test ).toArray().length == 0
-		    : BooleanCaster.cast(
-		        AsyncService.buildExecutor(
-		            "ArrayEvery_" + UUID.randomUUID().toString(),
-		            AsyncService.ExecutorType.FORK_JOIN,
-		            maxThreads
-		        ).submitAndGet( () -> array.intStream().parallel().dropWhile( test ).toArray().length == 0 )
-		    );
+		    ? array.intStream().allMatch( test )
+		    : ParallelCollections.allMatch( array.size(), maxThreads, test );
 
 	}
 
@@ -639,19 +614,13 @@ public class ListUtil {
 			    new Object[] { array.size() > idx ? array.get( idx ) : null, idx + 1, array } ) );
 		}
 
-		IntStream intStream = array.intStream();
+		IntStream matches = !parallel
+		    ? array.intStream().filter( test )
+		    : IntStream.of( ParallelCollections.filter( array.size(), maxThreads, test ) );
 		return ArrayCaster.cast(
-		    !parallel
-		        ? intStream
-		            .filter( test )
-		            .mapToObj( ( idx ) -> array.size() > idx ? array.get( idx ) : null )
-		            .toArray()
-
-		        : AsyncService.buildExecutor(
-		            "ArrayFilter_" + UUID.randomUUID().toString(),
-		            AsyncService.ExecutorType.FORK_JOIN,
-		            maxThreads
-		        ).submitAndGet( () -> array.intStream().parallel().filter( test ).mapToObj( array::get ).toArray() )
+		    matches
+		        .mapToObj( ( idx ) -> array.size() > idx ? array.get( idx ) : null )
+		        .toArray()
 		);
 
 	}
@@ -753,16 +722,10 @@ public class ListUtil {
 			    new Object[] { array.size() > idx ? array.get( idx ) : null, idx + 1, array } );
 		}
 
-		IntStream intStream = array.intStream();
 		if ( !parallel ) {
-			return new Array( intStream.mapToObj( mapper ).toArray() );
+			return new Array( array.intStream().mapToObj( mapper ).toArray() );
 		} else {
-			return ArrayCaster.cast( AsyncService.buildExecutor(
-			    "ArrayMap_" + UUID.randomUUID().toString(),
-			    AsyncService.ExecutorType.FORK_JOIN,
-			    maxThreads
-			).submitAndGet( () -> new Array( array.intStream().parallel().mapToObj( mapper ).toArray() ) )
-			);
+			return new Array( ParallelCollections.map( array.size(), maxThreads, mapper ) );
 		}
 
 	}
@@ -21,9 +21,9 @@ import java.util.AbstractMap;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.UUID;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
@@ -32,6 +32,7 @@ import java.util.stream.Stream;
 
 import org.apache.commons.lang3.StringUtils;
 
+import ortus.boxlang.runtime.async.ParallelCollections;
 import ortus.boxlang.runtime.context.IBoxContext;
 import ortus.boxlang.runtime.dynamic.casters.BooleanCaster;
 import ortus.boxlang.runtime.dynamic.casters.CastAttempt;
@@ -42,7 +43,6 @@ import ortus.boxlang.runtime.dynamic.casters.StructCaster;
 import ortus.boxlang.runtime.operators.Compare;
 import ortus.boxlang.runtime.operators.StringCompare;
 import ortus.boxlang.runtime.scopes.Key;
-import ortus.boxlang.runtime.services.AsyncService;
 import ortus.boxlang.runtime.types.Array;
 import ortus.boxlang.runtime.types.Function;
 import ortus.boxlang.runtime.types.IStruct;
@@ -73,9 +73,7 @@ public class StructUtil {
 	    Integer maxThreads,
 	    Boolean ordered ) {
 
-		Stream<Map.Entry<Key, Object>>		entryStream	= struct.entrySet().stream();
-
-		Consumer<Map.Entry<Key, Object>>	exec;
+		Consumer<Map.Entry<Key, Object>> exec;
 		if ( callback.requiresStrictArguments() ) {
 			exec = item -> callbackContext.invokeFunction(
 			    callback,
@@ -88,20 +86,11 @@ public class StructUtil {
 			);
 		}
 
-		if ( !parallel ) {
-			entryStream.forEach( exec );
-		} else if ( ordered ) {
-			AsyncService.buildExecutor(
-			    "StructEach_" + UUID.randomUUID().toString(),
-			    AsyncService.ExecutorType.FORK_JOIN,
-			    maxThreads
-			).submitAndGet( () -> entryStream.parallel().forEachOrdered( exec ) );
+		// Callbacks made in order can't overlap, so an ordered loop runs on this thread
+		if ( !parallel || ordered ) {
+			struct.entrySet().forEach( exec );
 		} else {
-			AsyncService.buildExecutor(
-			    "StructEach_" + UUID.randomUUID().toString(),
-			    AsyncService.ExecutorType.FORK_JOIN,
-			    maxThreads
-			).submitAndGet( () -> entryStream.parallel().forEach( exec ) );
+			ParallelCollections.forEach( struct.entrySpliterator(), maxThreads, exec );
 		}
 
 	}
@@ -124,8 +113,7 @@ public class StructUtil {
 	    Boolean parallel,
 	    Integer maxThreads ) {
 
-		Stream<Map.Entry<Key, Object>>		entryStream	= struct.entrySet().stream();
-		Predicate<Map.Entry<Key, Object>>	test;
+		Predicate<Map.Entry<Key, Object>> test;
 		if ( callback.requiresStrictArguments() ) {
 			test = item -> BooleanCaster.cast( callbackContext.invokeFunction(
 			    callback,
@@ -139,12 +127,8 @@ public class StructUtil {
 		}
 
 		return !parallel
-		    ? ( Boolean ) entryStream.anyMatch( test )
-		    : ( Boolean ) AsyncService.buildExecutor(
-		        "structSome_" + UUID.randomUUID().toString(),
-		        AsyncService.ExecutorType.FORK_JOIN,
-		        maxThreads
-		    ).submitAndGet( () -> entryStream.parallel().anyMatch( test ) );
+		    ? struct.entrySet().stream().anyMatch( test )
+		    : ParallelCollections.anyMatch( struct.entrySpliterator(), maxThreads, test );
 
 	}
 
@@ -166,8 +150,7 @@ public class StructUtil {
 	    Boolean parallel,
 	    Integer maxThreads ) {
 
-		Stream<Map.Entry<Key, Object>>		entryStream	= struct.entrySet().stream();
-		Predicate<Map.Entry<Key, Object>>	test;
+		Predicate<Map.Entry<Key, Object>> test;
 		if ( callback.requiresStrictArguments() ) {
 			test = item -> BooleanCaster.cast( callbackContext.invokeFunction(
 			    callback,
@@ -181,14 +164,8 @@ public class StructUtil {
 		}
 
 		return !parallel
-		    ? entryStream.dropWhile( test ).toArray().length == 0
-		    : BooleanCaster.cast(
-		        AsyncService.buildExecutor(
-		            "ArrayEvery_" + UUID.randomUUID().toString(),
-		            AsyncService.ExecutorType.FORK_JOIN,
-		            maxThreads
-		        ).submitAndGet( () -> entryStream.parallel().dropWhile( test ).toArray().length == 0 )
-		    );
+		    ? struct.entrySet().stream().allMatch( test )
+		    : ParallelCollections.allMatch( struct.entrySpliterator(), maxThreads, test );
 
 	}
 
@@ -203,7 +180,6 @@ public class StructUtil {
 	 *
 	 * @return A filtered array
 	 */
-	@SuppressWarnings( "unchecked" )
 	public static Struct filter(
 	    IStruct struct,
 	    Function callback,
@@ -211,8 +187,7 @@ public class StructUtil {
 	    Boolean parallel,
 	    Integer maxThreads ) {
 
-		Stream<Map.Entry<Key, Object>>		entryStream		= struct.entrySet().stream();
-		Stream<Map.Entry<Key, Object>>		filteredStream	= null;
+		Stream<Map.Entry<Key, Object>>		filteredStream;
 		Predicate<Map.Entry<Key, Object>>	test;
 		if ( callback.requiresStrictArguments() ) {
 			test = item -> BooleanCaster.cast( callbackContext.invokeFunction(
@@ -227,13 +202,9 @@ public class StructUtil {
 		}
 
 		if ( !parallel ) {
-			filteredStream = entryStream.filter( test );
+			filteredStream = struct.entrySet().stream().filter( test );
 		} else {
-			filteredStream = ( Stream<Map.Entry<Key, Object>> ) AsyncService.buildExecutor(
-			    "StructFilter_" + UUID.randomUUID().toString(),
-			    AsyncService.ExecutorType.FORK_JOIN,
-			    maxThreads
-			).submitAndGet( () -> entryStream.parallel().filter( test ) );
+			filteredStream = ParallelCollections.filter( struct.entrySpliterator(), maxThreads, test ).stream();
 		}
 
 		return filteredStream.collect( BLCollector.toStruct( struct.getType() ) );
@@ -258,12 +229,9 @@ public class StructUtil {
 	    Boolean parallel,
 	    Integer maxThreads ) {
 
-		Stream<Map.Entry<Key, Object>>		entryStream	= struct.entrySet().stream();
-		Struct								result		= new Struct( struct.getType() );
-
-		Consumer<Map.Entry<Key, Object>>	exec;
+		java.util.function.Function<Map.Entry<Key, Object>, Map.Entry<Key, Object>> mapper;
 		if ( callback.requiresStrictArguments() ) {
-			exec = item -> result.put(
+			mapper = item -> new AbstractMap.SimpleEntry<>(
 			    item.getKey(),
 			    callbackContext.invokeFunction(
 			        callback,
@@ -271,7 +239,7 @@ public class StructUtil {
 			    )
 			);
 		} else {
-			exec = item -> result.put(
+			mapper = item -> new AbstractMap.SimpleEntry<>(
 			    item.getKey(),
 			    callbackContext.invokeFunction(
 			        callback,
@@ -279,21 +247,12 @@ public class StructUtil {
 			    )
 			);
 		}
-		if ( !parallel ) {
-			entryStream.forEach( exec );
-		} else if ( struct.getType().equals( IStruct.TYPES.LINKED ) ) {
-			AsyncService.buildExecutor(
-			    "StructMap_" + UUID.randomUUID().toString(),
-			    AsyncService.ExecutorType.FORK_JOIN,
-			    maxThreads
-			).submitAndGet( () -> entryStream.parallel().forEachOrdered( exec ) );
-		} else {
-			AsyncService.buildExecutor(
-			    "StructMap_" + UUID.randomUUID().toString(),
-			    AsyncService.ExecutorType.FORK_JOIN,
-			    maxThreads
-			).submitAndGet( () -> entryStream.parallel().forEach( exec ) );
-		}
+		// The mapped entries come back in order, so a linked struct keeps its key order
+		List<Map.Entry<Key, Object>> mapped = !parallel
+		    ? struct.entrySet().stream().map( mapper ).toList()
+		    : ParallelCollections.map( struct.entrySpliterator(), maxThreads, mapper );
+		Struct result = new Struct( struct.getType() );
+		mapped.forEach( entry -> result.put( entry.getKey(), entry.getValue() ) );
 		return result;
 
 	}
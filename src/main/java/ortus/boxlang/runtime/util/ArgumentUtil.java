@@ -84,6 +84,37 @@ public class ArgumentUtil {
 		return scope;
 	}
 
+	/**
+	 * Create the arguments for a direct invocation from positional arguments. This applies the same defaults,
+	 * required checks and type casting as {@link #createArgumentsScope(IBoxContext, Object[], Argument[], ArgumentsScope, Key)}
+	 * but returns them as an array in declared order, so no arguments scope is created.
+	 *
+	 * @param context             The context of the execution
+	 * @param positionalArguments The positional arguments, which can't be more than the declared arguments
+	 * @param arguments           The declared arguments
+	 * @param functionName        The name of the function
+	 *
+	 * @return The arguments in declared order
+	 */
+	public static Object[] createDirectArguments( IBoxContext context, Object[] positionalArguments, Argument[] arguments, Key functionName ) {
+		Object[] result = new Object[ arguments.length ];
+		for ( int i = 0; i < arguments.length; i++ ) {
+			Argument	argument	= arguments[ i ];
+			Object		value		= null;
+			if ( i < positionalArguments.length ) {
+				value = positionalArguments[ i ];
+			} else if ( argument.required() && !argument.hasDefaultValue() ) {
+				throw new BoxRuntimeException(
+				    "Required argument [" + argument.name().getName() + "] is missing for function [" + functionName.getName() + "]" );
+			}
+			if ( value == null && argument.hasDefaultValue() ) {
+				value = argument.getDefaultValue( context );
+			}
+			result[ i ] = ensureArgumentType( context, argument.name(), value, argument.type(), functionName );
+		}
+		return result;
+	}
+
 	/**
 	 * Create an arguments scope from the named arguments
 	 *
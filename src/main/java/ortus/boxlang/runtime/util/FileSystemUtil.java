@@ -18,14 +18,13 @@
 package ortus.boxlang.runtime.util;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
-import java.io.OutputStream;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -71,6 +70,7 @@ import ortus.boxlang.runtime.types.Struct;
 import ortus.boxlang.runtime.types.exceptions.BoxIOException;
 import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
 import ortus.boxlang.runtime.types.util.ListUtil;
+import ortus.boxlang.runtime.util.conversion.BinaryCodec;
 
 public final class FileSystemUtil {
 
@@ -1022,58 +1022,58 @@ public final class FileSystemUtil {
 	}
 
 	/**
-	 * Serializes a target Serializable object to a file destination as binary data.
+	 * Serializes a target object to a file destination as binary data, encoded with the {@link BinaryCodec}.
 	 * If the file already exists, it will be overwritten.
 	 *
 	 * @param target   The target object to serialize
 	 * @param filePath The file path to serialize to
 	 */
 	public static void serializeToFile( Object target, Path filePath ) {
-		try ( OutputStream fileStream = Files.newOutputStream( filePath, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING ) ) {
-			try ( ObjectOutputStream objStream = new ObjectOutputStream( fileStream ) ) {
-				objStream.writeObject( target );
-			} catch ( IOException e ) {
-				throw new BoxIOException( String.format(
-				    "The target entry [%s] could not be written to the file path [%s]. The message received was: %s",
-				    target.getClass().getName(),
-				    filePath.toString(),
-				    e.getMessage()
-				),
-				    e
-				);
-			}
+		byte[] encoded = BinaryCodec.encode( target );
+		try {
+			Files.write( filePath, encoded, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE );
 		} catch ( IOException e ) {
-			throw new BoxIOException( e );
+			throw new BoxIOException( String.format(
+			    "The target entry [%s] could not be written to the file path [%s]. The message received was: %s",
+			    target.getClass().getName(),
+			    filePath.toString(),
+			    e.getMessage()
+			),
+			    e
+			);
 		}
 	}
 
 	/**
-	 * Deserializes a target Serializable object from a file destination as binary data
+	 * Deserializes a target object from a file destination as binary data, either encoded with the {@link BinaryCodec} or, for files
+	 * written before it, with Java serialization
 	 *
 	 * @param filePath The file path to deserialize from
 	 *
 	 * @return The deserialized object
 	 */
 	public static Object deserializeFromFile( Path filePath ) {
-		try ( InputStream fileStream = Files.newInputStream( filePath ) ) {
-			try ( ObjectInputStream objStream = new ObjectInputStream( fileStream ) ) {
+		try {
+			byte[] data = Files.readAllBytes( filePath );
+			if ( BinaryCodec.isEncoded( data ) ) {
+				return BinaryCodec.decode( data );
+			}
+			try ( ObjectInputStream objStream = new ObjectInputStream( new ByteArrayInputStream( data ) ) ) {
 				return objStream.readObject();
-			} catch ( ClassNotFoundException e ) {
-				throw new BoxRuntimeException(
-				    "Cannot cast the deserialized object to a known class.",
-				    e
-				);
-			} catch ( IOException e ) {
-				throw new BoxIOException( String.format(
-				    "The file path [%s] could not be read. The message received was: %s",
-				    filePath.toString(),
-				    e.getMessage()
-				),
-				    e
-				);
 			}
+		} catch ( ClassNotFoundException e ) {
+			throw new BoxRuntimeException(
+			    "Cannot cast the deserialized object to a known class.",
+			    e
+			);
 		} catch ( IOException e ) {
-			throw new BoxIOException( e );
+			throw new BoxIOException( String.format(
+			    "The file path [%s] could not be read. The message received was: %s",
+			    filePath.toString(),
+			    e.getMessage()
+			),
+			    e
+			);
 		}
 	}
 
@@ -29,6 +29,8 @@ import java.time.format.FormatStyle;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.LocaleUtils;
@@ -227,6 +229,14 @@ public final class LocalizationUtil {
 		ZONE_ALIASES.put( Key.of( "EDT" ), "America/New_York" );
 	}
 
+	/**
+	 * The localized parsers by locale. Building them assembles dozens of formatters, and they are immutable, so each locale's are built once
+	 */
+	private static final Map<Locale, DateTimeFormatter>	LOCALE_ZONED_DATE_TIME_PARSERS	= new ConcurrentHashMap<>();
+	private static final Map<Locale, DateTimeFormatter>	LOCALE_DATE_TIME_PARSERS		= new ConcurrentHashMap<>();
+	private static final Map<Locale, DateTimeFormatter>	LOCALE_DATE_PARSERS				= new ConcurrentHashMap<>();
+	private static final Map<Locale, DateTimeFormatter>	LOCALE_TIME_PARSERS				= new ConcurrentHashMap<>();
+
 	/**
 	 * Parses a locale from a string, handling known common locales and aliases.
 	 *
@@ -558,6 +568,17 @@ public final class LocalizationUtil {
 	 */
 
 	public static DateTimeFormatter getLocaleZonedDateTimeParsers( Locale locale ) {
+		return LOCALE_ZONED_DATE_TIME_PARSERS.computeIfAbsent( locale, LocalizationUtil::buildLocaleZonedDateTimeParsers );
+	}
+
+	/**
+	 * Builds the localized set of ZonedDateTime parsers
+	 *
+	 * @param locale the Locale object which informs the formatters/parsers
+	 *
+	 * @return the localized DateTimeFormatter object
+	 */
+	private static DateTimeFormatter buildLocaleZonedDateTimeParsers( Locale locale ) {
 		DateTimeFormatterBuilder formatBuilder = new DateTimeFormatterBuilder();
 		return formatBuilder.parseLenient()
 		    // Localized styles
@@ -575,6 +596,17 @@ public final class LocalizationUtil {
 	 * @return the localized DateTimeFormatter object
 	 */
 	public static DateTimeFormatter getLocaleDateTimeParsers( Locale locale ) {
+		return LOCALE_DATE_TIME_PARSERS.computeIfAbsent( locale, LocalizationUtil::buildLocaleDateTimeParsers );
+	}
+
+	/**
+	 * Builds the localized set of DateTime parsers
+	 *
+	 * @param locale the Locale object which informs the formatters/parsers
+	 *
+	 * @return the localized DateTimeFormatter object
+	 */
+	private static DateTimeFormatter buildLocaleDateTimeParsers( Locale locale ) {
 		DateTimeFormatterBuilder formatBuilder = new DateTimeFormatterBuilder();
 		return formatBuilder.parseLenient()
 		    .appendOptional( DateTimeFormatter.ofLocalizedDateTime( FormatStyle.SHORT, FormatStyle.SHORT ).withLocale( locale ) )
@@ -611,6 +643,17 @@ public final class LocalizationUtil {
 	 */
 
 	public static DateTimeFormatter getLocaleDateParsers( Locale locale ) {
+		return LOCALE_DATE_PARSERS.computeIfAbsent( locale, LocalizationUtil::buildLocaleDateParsers );
+	}
+
+	/**
+	 * Builds the localized set of Date parsers
+	 *
+	 * @param locale the Locale object which informs the formatters/parsers
+	 *
+	 * @return the localized DateTimeFormatter object
+	 */
+	private static DateTimeFormatter buildLocaleDateParsers( Locale locale ) {
 		DateTimeFormatterBuilder formatBuilder = new DateTimeFormatterBuilder();
 		return formatBuilder.parseLenient()
 		    .appendOptional( DateTimeFormatter.ofLocalizedDate( FormatStyle.SHORT ).withLocale( locale ) )
@@ -637,6 +680,17 @@ public final class LocalizationUtil {
 	 */
 
 	public static DateTimeFormatter getLocaleTimeParsers( Locale locale ) {
+		return LOCALE_TIME_PARSERS.computeIfAbsent( locale, LocalizationUtil::buildLocaleTimeParsers );
+	}
+
+	/**
+	 * Builds the localized set of Time parsers
+	 *
+	 * @param locale the Locale object which informs the formatters/parsers
+	 *
+	 * @return the localized DateTimeFormatter object
+	 */
+	private static DateTimeFormatter buildLocaleTimeParsers( Locale locale ) {
 		DateTimeFormatterBuilder formatBuilder = new DateTimeFormatterBuilder();
 		return formatBuilder.parseLenient()
 		    .appendOptional( DateTimeFormatter.ofLocalizedTime( FormatStyle.SHORT ).withLocale( locale ) )
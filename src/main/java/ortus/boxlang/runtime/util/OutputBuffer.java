@@ -0,0 +1,383 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.runtime.util;
+
+import java.io.IOException;
+
+import ortus.boxlang.runtime.types.exceptions.BoxIOException;
+
+/**
+ * The output buffer of a context.
+ * <p>
+ * Output is kept as a linked list of segments instead of one growing array. Small writes are packed into chunks of up to
+ * {@link #CHUNK_SIZE} characters, while large strings are linked as they are without copying them. Flushing one buffer into another
+ * moves its segments over in constant time, so the output of a deeply nested render is never copied once per nesting level.
+ * <p>
+ * A buffer can also stream to a sink, in which case every write goes straight through to it and nothing is held in memory. This is how
+ * components that capture their body into a <code>StringBuffer</code> are supported, and how a request can send its output to a
+ * <code>Writer</code> or stream as it's generated.
+ * <p>
+ * Code written against the former <code>StringBuffer</code> based API can still get one through {@link #asStringBuffer()}, which the
+ * buffer then keeps all its output in.
+ * <p>
+ * Buffers are not thread safe, every context writes to its own. Code moving output between the buffers of contexts running on different
+ * threads locks them, see <code>BaseBoxContext.appendBuffer()</code>.
+ */
+public class OutputBuffer implements Appendable {
+
+	/**
+	 * The size at which a chunk of small writes is closed
+	 */
+	public static final int		CHUNK_SIZE			= 8192;
+
+	/**
+	 * Strings shorter than this are copied into the current chunk, longer ones are linked as their own segment
+	 */
+	private static final int	LINK_THRESHOLD		= 512;
+
+	/**
+	 * The first segment, null when empty
+	 */
+	private Segment				head;
+
+	/**
+	 * The last segment, null when empty
+	 */
+	private Segment				tail;
+
+	/**
+	 * The number of characters in all segments
+	 */
+	private int					length				= 0;
+
+	/**
+	 * The sink writes stream to, if any
+	 */
+	private Appendable			sink;
+
+	/**
+	 * The string buffer all output is kept in once {@link #asStringBuffer()} was called, null until then
+	 */
+	private StringBuffer		legacyBuffer;
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Constructors
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Create an empty buffer which holds its output until it's flushed
+	 */
+	public OutputBuffer() {
+		this.sink = null;
+	}
+
+	/**
+	 * Create a buffer which streams all writes to a sink
+	 *
+	 * @param sink The sink to write to, like a <code>StringBuffer</code> or a <code>Writer</code>
+	 */
+	public OutputBuffer( Appendable sink ) {
+		this.sink = sink;
+	}
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Methods
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Append text to the buffer
+	 *
+	 * @param content The text to append
+	 *
+	 * @return This buffer
+	 */
+	@Override
+	public OutputBuffer append( CharSequence content ) {
+		if ( content == null || content.length() == 0 ) {
+			return this;
+		}
+		if ( this.legacyBuffer != null ) {
+			this.legacyBuffer.append( content );
+			return this;
+		}
+		if ( this.sink != null ) {
+			try {
+				this.sink.append( content );
+			} catch ( IOException e ) {
+				throw new BoxIOException( e );
+			}
+			return this;
+		}
+
+		int size = content.length();
+		if ( size >= LINK_THRESHOLD ) {
+			link( new Segment( content.toString() ) );
+		} else {
+			openChunk( size ).append( content );
+		}
+		this.length += size;
+		return this;
+	}
+
+	/**
+	 * Append part of a text to the buffer
+	 *
+	 * @param content The text to append
+	 * @param start   The index of the first character to append
+	 * @param end     The index after the last character to append
+	 *
+	 * @return This buffer
+	 */
+	@Override
+	public OutputBuffer append( CharSequence content, int start, int end ) {
+		return append( content.subSequence( start, end ) );
+	}
+
+	/**
+	 * Append a character to the buffer
+	 *
+	 * @param c The character to append
+	 *
+	 * @return This buffer
+	 */
+	@Override
+	public OutputBuffer append( char c ) {
+		if ( this.legacyBuffer != null ) {
+			this.legacyBuffer.append( c );
+			return this;
+		}
+		if ( this.sink != null ) {
+			try {
+				this.sink.append( c );
+			} catch ( IOException e ) {
+				throw new BoxIOException( e );
+			}
+			return this;
+		}
+		openChunk( 1 ).append( c );
+		this.length++;
+		return this;
+	}
+
+	/**
+	 * Move the contents of another buffer to the end of this one, leaving the other buffer empty. The segments are relinked, not copied.
+	 *
+	 * @param other The buffer to drain
+	 *
+	 * @return This buffer
+	 */
+	public OutputBuffer append( OutputBuffer other ) {
+		if ( other == this ) {
+			return this;
+		}
+		if ( other.legacyBuffer != null ) {
+			String content = other.legacyBuffer.toString();
+			other.legacyBuffer.setLength( 0 );
+			return append( content );
+		}
+		if ( other.head == null ) {
+			return this;
+		}
+		if ( this.legacyBuffer != null ) {
+			other.writeTo( this.legacyBuffer );
+		} else if ( this.sink != null ) {
+			other.writeTo( this.sink );
+		} else {
+			if ( this.tail == null ) {
+				this.head = other.head;
+			} else {
+				this.tail.next = other.head;
+			}
+			this.tail		= other.tail;
+			this.length		+= other.length;
+		}
+		other.head		= null;
+		other.tail		= null;
+		other.length	= 0;
+		return this;
+	}
+
+	/**
+	 * Write the contents of this buffer to a sink and empty it
+	 *
+	 * @param out The sink to write to
+	 *
+	 * @return This buffer
+	 */
+	public OutputBuffer writeTo( Appendable out ) {
+		try {
+			if ( this.legacyBuffer != null ) {
+				out.append( this.legacyBuffer );
+			}
+			for ( Segment segment = this.head; segment != null; segment = segment.next ) {
+				out.append( segment.text );
+			}
+		} catch ( IOException e ) {
+			throw new BoxIOException( e );
+		}
+		return clear();
+	}
+
+	/**
+	 * Write the current contents of this buffer to a sink and then stream every later write straight to it
+	 *
+	 * @param out The sink to write to
+	 *
+	 * @return This buffer
+	 */
+	public OutputBuffer streamTo( Appendable out ) {
+		writeTo( out );
+		this.legacyBuffer	= null;
+		this.sink			= out;
+		return this;
+	}
+
+	/**
+	 * Is this buffer streaming to a sink?
+	 *
+	 * @return true if writes go straight to a sink
+	 */
+	public boolean isStreaming() {
+		return this.sink != null && this.legacyBuffer == null;
+	}
+
+	/**
+	 * Get a <code>StringBuffer</code> holding the output of this buffer, for code written against the former <code>StringBuffer</code>
+	 * based API. From then on the buffer keeps all its output in that string buffer, so writes to either one show in both, and segments
+	 * are copied instead of linked. A buffer streaming into a <code>StringBuffer</code> returns that one.
+	 *
+	 * @return The string buffer
+	 */
+	public StringBuffer asStringBuffer() {
+		if ( this.legacyBuffer != null ) {
+			return this.legacyBuffer;
+		}
+		if ( this.sink instanceof StringBuffer stringBuffer ) {
+			return stringBuffer;
+		}
+		this.legacyBuffer	= new StringBuffer( toString() );
+		this.head			= null;
+		this.tail			= null;
+		this.length			= 0;
+		return this.legacyBuffer;
+	}
+
+	/**
+	 * Discard the contents of this buffer. Output that was already streamed to a sink can't be discarded.
+	 *
+	 * @return This buffer
+	 */
+	public OutputBuffer clear() {
+		if ( this.legacyBuffer != null ) {
+			this.legacyBuffer.setLength( 0 );
+		}
+		this.head	= null;
+		this.tail	= null;
+		this.length	= 0;
+		return this;
+	}
+
+	/**
+	 * The number of characters held in this buffer
+	 *
+	 * @return The length
+	 */
+	public int length() {
+		return this.legacyBuffer != null ? this.legacyBuffer.length() : this.length;
+	}
+
+	/**
+	 * Is this buffer holding any output?
+	 *
+	 * @return true if it's empty
+	 */
+	public boolean isEmpty() {
+		return length() == 0;
+	}
+
+	/**
+	 * The contents of this buffer as a single string
+	 *
+	 * @return The contents
+	 */
+	@Override
+	public String toString() {
+		if ( this.legacyBuffer != null ) {
+			return this.legacyBuffer.toString();
+		}
+		if ( this.head == null ) {
+			return "";
+		}
+		if ( this.head == this.tail ) {
+			return this.head.text.toString();
+		}
+		StringBuilder result = new StringBuilder( this.length );
+		for ( Segment segment = this.head; segment != null; segment = segment.next ) {
+			result.append( segment.text );
+		}
+		return result.toString();
+	}
+
+	/**
+	 * Get the chunk to copy a small write into, opening a new one when the last segment isn't an open chunk or is full
+	 *
+	 * @param size The number of characters that will be written
+	 *
+	 * @return The chunk
+	 */
+	private StringBuilder openChunk( int size ) {
+		if ( this.tail != null && this.tail.text instanceof StringBuilder chunk && chunk.length() + size <= CHUNK_SIZE ) {
+			return chunk;
+		}
+		StringBuilder chunk = new StringBuilder( Math.max( 64, size ) );
+		link( new Segment( chunk ) );
+		return chunk;
+	}
+
+	/**
+	 * Link a segment at the end of the list
+	 *
+	 * @param segment The segment
+	 */
+	private void link( Segment segment ) {
+		if ( this.tail == null ) {
+			this.head = segment;
+		} else {
+			this.tail.next = segment;
+		}
+		this.tail = segment;
+	}
+
+	/**
+	 * A piece of output, either a string or a chunk of small writes
+	 */
+	private static final class Segment {
+
+		private final CharSequence	text;
+		private Segment				next;
+
+		private Segment( CharSequence text ) {
+			this.text = text;
+		}
+	}
+
+}
@@ -0,0 +1,831 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.runtime.util.conversion;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import ortus.boxlang.runtime.cache.BoxCacheEntry;
+import ortus.boxlang.runtime.cache.ICacheEntry;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.runnables.IClassRunnable;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.Array;
+import ortus.boxlang.runtime.types.DateTime;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.Query;
+import ortus.boxlang.runtime.types.QueryColumn;
+import ortus.boxlang.runtime.types.QueryColumnStorage;
+import ortus.boxlang.runtime.types.QueryColumnType;
+import ortus.boxlang.runtime.types.Struct;
+import ortus.boxlang.runtime.types.exceptions.BoxIOException;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
+
+/**
+ * A compact, versioned binary format for the core BoxLang types, used instead of Java serialization by the {@link ObjectMarshaller}, the
+ * cache stores and the persisted sessions.
+ * <p>
+ * The bytes start with <code>BX</code> and the format version, followed by the number of values and the values. Each value is a tag byte
+ * and its data:
+ * <ul>
+ * <li>Numbers and lengths are varints, zigzag encoded when signed, so small values take a byte or two.</li>
+ * <li>Keys are written once. Later uses of the same key, like the keys of every struct in an array of records, are an index into the keys
+ * written so far.</li>
+ * <li>Queries are written by column: integer, long and double columns as packed numbers and a null bitmap, string columns as their distinct
+ * values and an index per row.</li>
+ * <li>Structs, arrays, queries and classes are written once. Meeting one again, even inside itself, writes a reference to it, so shared
+ * and circular values come back the same way.</li>
+ * <li>BoxLang classes are written as their class path and {@link BoxClassState}, and are created again without running their constructor.</li>
+ * <li>Any other value is written with Java serialization, so it has to be serializable.</li>
+ * </ul>
+ * Java serialization starts with other bytes, so readers can tell the formats apart with {@link #isEncoded(byte[])} and keep reading the
+ * data written before the codec.
+ */
+public final class BinaryCodec {
+
+	/**
+	 * The current format version, the third byte of the encoded data
+	 */
+	public static final byte				VERSION				= 1;
+
+	/**
+	 * The first two bytes of the encoded data: <code>BX</code>
+	 */
+	private static final byte				MAGIC_0				= 0x42;
+	private static final byte				MAGIC_1				= 0x58;
+
+	/**
+	 * The value tags
+	 */
+	private static final byte				NULL				= 0;
+	private static final byte				TRUE				= 1;
+	private static final byte				FALSE				= 2;
+	private static final byte				INT					= 3;
+	private static final byte				LONG				= 4;
+	private static final byte				DOUBLE				= 5;
+	private static final byte				STRING				= 6;
+	private static final byte				BIG_DECIMAL			= 7;
+	private static final byte				BYTES				= 8;
+	private static final byte				KEY					= 9;
+	private static final byte				STRUCT				= 10;
+	private static final byte				ARRAY				= 11;
+	private static final byte				QUERY				= 12;
+	private static final byte				DATETIME			= 13;
+	private static final byte				CLASS				= 14;
+	private static final byte				REFERENCE			= 15;
+	private static final byte				JAVA				= 16;
+	private static final byte				CACHE_ENTRY			= 17;
+
+	/**
+	 * The query column encodings
+	 */
+	private static final byte				COLUMN_VALUES		= 0;
+	private static final byte				COLUMN_INTS			= 1;
+	private static final byte				COLUMN_LONGS		= 2;
+	private static final byte				COLUMN_DOUBLES		= 3;
+	private static final byte				COLUMN_STRINGS		= 4;
+
+	/**
+	 * The struct types by their code in the encoded data. Only ever append to this list.
+	 */
+	private static final IStruct.TYPES[]	STRUCT_TYPES		= {
+	    IStruct.TYPES.DEFAULT,
+	    IStruct.TYPES.LINKED,
+	    IStruct.TYPES.SORTED,
+	    IStruct.TYPES.CASE_SENSITIVE,
+	    IStruct.TYPES.LINKED_CASE_SENSITIVE,
+	    IStruct.TYPES.SOFT,
+	    IStruct.TYPES.WEAK
+	};
+
+	/**
+	 * The query metadata keys computed by {@link Query#getMetaData()}, which aren't written
+	 */
+	private static final Set<Key>			COMPUTED_METADATA	= Set.of( Key.recordCount, Key.columns, Key.columnList, Key._HASHCODE );
+
+	private BinaryCodec() {
+		// Static helpers only
+	}
+
+	/**
+	 * Encode a value
+	 *
+	 * @param value The value
+	 *
+	 * @throws BoxIOException If the value or a value in it is neither a BoxLang type nor serializable
+	 *
+	 * @return The encoded bytes
+	 */
+	public static byte[] encode( Object value ) {
+		return encodeAll( value );
+	}
+
+	/**
+	 * Encode several values together, sharing the keys and references between them
+	 *
+	 * @param values The values
+	 *
+	 * @throws BoxIOException If a value or a value in it is neither a BoxLang type nor serializable
+	 *
+	 * @return The encoded bytes
+	 */
+	public static byte[] encodeAll( Object... values ) {
+		Writer writer = new Writer();
+		try {
+			writer.writeByte( MAGIC_0 );
+			writer.writeByte( MAGIC_1 );
+			writer.writeByte( VERSION );
+			writer.writeVarLong( values.length );
+			for ( Object value : values ) {
+				writer.write( value );
+			}
+		} catch ( IOException e ) {
+			throw new BoxIOException( "The value could not be encoded", e );
+		}
+		return writer.toByteArray();
+	}
+
+	/**
+	 * Decode a value, loading its classes with the runtime context
+	 *
+	 * @param data The encoded bytes
+	 *
+	 * @return The value
+	 */
+	public static Object decode( byte[] data ) {
+		return decode( null, data );
+	}
+
+	/**
+	 * Decode a value
+	 *
+	 * @param context The context to load the BoxLang classes with, or null for the runtime context
+	 * @param data    The encoded bytes
+	 *
+	 * @return The value
+	 */
+	public static Object decode( IBoxContext context, byte[] data ) {
+		Object[] values = decodeAll( context, data );
+		if ( values.length != 1 ) {
+			throw new BoxRuntimeException( "The data holds [" + values.length + "] encoded values instead of one" );
+		}
+		return values[ 0 ];
+	}
+
+	/**
+	 * Decode the values encoded together
+	 *
+	 * @param context The context to load the BoxLang classes with, or null for the runtime context
+	 * @param data    The encoded bytes
+	 *
+	 * @return The values
+	 */
+	public static Object[] decodeAll( IBoxContext context, byte[] data ) {
+		if ( !isEncoded( data ) ) {
+			throw new BoxRuntimeException( "The data is not encoded by the BoxLang binary codec" );
+		}
+		if ( data[ 2 ] < 1 || data[ 2 ] > VERSION ) {
+			throw new BoxRuntimeException( "The binary encoding version [" + data[ 2 ] + "] is not supported, the latest is [" + VERSION + "]" );
+		}
+		Reader reader = new Reader( data, 3, context );
+		try {
+			Object[] values = new Object[ reader.readVarInt() ];
+			for ( int i = 0; i < values.length; i++ ) {
+				values[ i ] = reader.read();
+			}
+			return values;
+		} catch ( IOException e ) {
+			throw new BoxIOException( "The encoded value could not be decoded", e );
+		} catch ( ClassNotFoundException e ) {
+			throw new BoxRuntimeException( "The encoded value could not be loaded", e );
+		}
+	}
+
+	/**
+	 * Whether the data was encoded by this codec, rather than by Java serialization for example
+	 *
+	 * @param data The bytes
+	 *
+	 * @return True if the data starts with the codec header
+	 */
+	public static boolean isEncoded( byte[] data ) {
+		return data != null && data.length >= 3 && data[ 0 ] == MAGIC_0 && data[ 1 ] == MAGIC_1;
+	}
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Writing
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Writes values to a growing buffer, remembering the keys and containers written
+	 */
+	private static final class Writer {
+
+		private byte[]						buffer		= new byte[ 256 ];
+		private int							size		= 0;
+		private final Map<String, Integer>	keys		= new HashMap<>();
+		private final Map<Object, Integer>	references	= new IdentityHashMap<>();
+
+		void write( Object value ) throws IOException {
+			if ( value == null ) {
+				writeByte( NULL );
+				return;
+			}
+
+			Integer reference = this.references.get( value );
+			if ( reference != null ) {
+				writeByte( REFERENCE );
+				writeVarLong( reference );
+				return;
+			}
+
+			// Exact classes only: subclasses, like scopes or immutable types, have more to them and use Java serialization
+			Class<?> type = value.getClass();
+			if ( value instanceof String string ) {
+				writeByte( STRING );
+				writeString( string );
+			} else if ( value instanceof Boolean bool ) {
+				writeByte( bool ? TRUE : FALSE );
+			} else if ( value instanceof Integer integer ) {
+				writeByte( INT );
+				writeSignedLong( integer );
+			} else if ( value instanceof Long number ) {
+				writeByte( LONG );
+				writeSignedLong( number );
+			} else if ( value instanceof Double number ) {
+				writeByte( DOUBLE );
+				writeLong( Double.doubleToRawLongBits( number ) );
+			} else if ( type == BigDecimal.class ) {
+				writeByte( BIG_DECIMAL );
+				writeString( value.toString() );
+			} else if ( value instanceof byte[] bytes ) {
+				writeByte( BYTES );
+				writeVarLong( bytes.length );
+				writeBytes( bytes, 0, bytes.length );
+			} else if ( type == Key.class ) {
+				writeByte( KEY );
+				writeKey( ( Key ) value );
+			} else if ( type == Struct.class ) {
+				writeStruct( ( Struct ) value );
+			} else if ( type == Array.class ) {
+				writeArray( ( Array ) value );
+			} else if ( type == Query.class ) {
+				writeQuery( ( Query ) value );
+			} else if ( type == DateTime.class ) {
+				writeDateTime( ( DateTime ) value );
+			} else if ( value instanceof IClassRunnable boxClass ) {
+				writeClass( boxClass );
+			} else if ( type == BoxCacheEntry.class ) {
+				writeCacheEntry( ( ICacheEntry ) value );
+			} else {
+				writeJava( value );
+			}
+		}
+
+		private void writeStruct( Struct struct ) throws IOException {
+			this.references.put( struct, this.references.size() );
+			Set<Map.Entry<Key, Object>> entries = struct.entrySet();
+			writeByte( STRUCT );
+			writeByte( structTypeCode( struct.getType() ) );
+			writeVarLong( entries.size() );
+			for ( Map.Entry<Key, Object> entry : entries ) {
+				writeKey( entry.getKey() );
+				write( entry.getValue() );
+			}
+		}
+
+		private void writeArray( Array array ) throws IOException {
+			this.references.put( array, this.references.size() );
+			Object[] elements = array.toArray();
+			writeByte( ARRAY );
+			writeVarLong( elements.length );
+			for ( Object element : elements ) {
+				write( element );
+			}
+		}
+
+		private void writeQuery( Query query ) throws IOException {
+			this.references.put( query, this.references.size() );
+			List<QueryColumn>	columns	= new ArrayList<>( query.getColumns().values() );
+			int					rows	= query.size();
+			writeByte( QUERY );
+			writeVarLong( columns.size() );
+			writeVarLong( rows );
+			for ( QueryColumn column : columns ) {
+				writeKey( column.getName() );
+				writeString( column.getType().name() );
+				writeColumn( query.getColumnStorage( column.getName() ), rows );
+			}
+
+			// The metadata as set, without the keys computed from the query itself
+			Struct	metadata	= new Struct( IStruct.TYPES.SORTED );
+			IStruct	raw			= query.getRawMetaData();
+			if ( raw != null ) {
+				raw.entrySet()
+				    .stream()
+				    .filter( entry -> !COMPUTED_METADATA.contains( entry.getKey() ) )
+				    .forEach( entry -> metadata.put( entry.getKey(), entry.getValue() ) );
+			}
+			write( metadata );
+		}
+
+		private void writeColumn( QueryColumnStorage storage, int rows ) throws IOException {
+			byte encoding = columnEncoding( storage, rows );
+			writeByte( encoding );
+			switch ( encoding ) {
+				case COLUMN_INTS -> {
+					writeNulls( storage, rows );
+					for ( int row = 0; row < rows; row++ ) {
+						Object value = storage.get( row );
+						if ( value != null ) {
+							writeSignedLong( ( Integer ) value );
+						}
+					}
+				}
+				case COLUMN_LONGS -> {
+					writeNulls( storage, rows );
+					for ( int row = 0; row < rows; row++ ) {
+						Object value = storage.get( row );
+						if ( value != null ) {
+							writeSignedLong( ( Long ) value );
+						}
+					}
+				}
+				case COLUMN_DOUBLES -> {
+					writeNulls( storage, rows );
+					for ( int row = 0; row < rows; row++ ) {
+						Object value = storage.get( row );
+						if ( value != null ) {
+							writeLong( Double.doubleToRawLongBits( ( Double ) value ) );
+						}
+					}
+				}
+				case COLUMN_STRINGS -> {
+					// The distinct values, then an index per row with 0 for null
+					Map<String, Integer>	dictionary	= new HashMap<>();
+					List<String>			distinct	= new ArrayList<>();
+					int[]					indexes		= new int[ rows ];
+					for ( int row = 0; row < rows; row++ ) {
+						String value = ( String ) storage.get( row );
+						if ( value != null ) {
+							indexes[ row ] = dictionary.computeIfAbsent( value, v -> {
+								distinct.add( v );
+								return distinct.size();
+							} );
+						}
+					}
+					writeVarLong( distinct.size() );
+					for ( String value : distinct ) {
+						writeString( value );
+					}
+					for ( int index : indexes ) {
+						writeVarLong( index );
+					}
+				}
+				default -> {
+					for ( int row = 0; row < rows; row++ ) {
+						write( storage.get( row ) );
+					}
+				}
+			}
+		}
+
+		private void writeNulls( QueryColumnStorage storage, int rows ) {
+			byte[] nulls = new byte[ ( rows + 7 ) / 8 ];
+			for ( int row = 0; row < rows; row++ ) {
+				if ( storage.get( row ) == null ) {
+					nulls[ row >>> 3 ] |= ( byte ) ( 1 << ( row & 7 ) );
+				}
+			}
+			writeBytes( nulls, 0, nulls.length );
+		}
+
+		private void writeDateTime( DateTime dateTime ) {
+			ZonedDateTime wrapped = dateTime.getWrapped();
+			writeByte( DATETIME );
+			writeSignedLong( wrapped.toEpochSecond() );
+			writeVarLong( wrapped.getNano() );
+			writeString( wrapped.getZone().getId() );
+		}
+
+		private void writeClass( IClassRunnable boxClass ) throws IOException {
+			this.references.put( boxClass, this.references.size() );
+			BoxClassState state = new BoxClassState( boxClass );
+			writeByte( CLASS );
+			writeKey( state.classPath );
+			write( state.variablesScope );
+			write( state.thisScope );
+		}
+
+		private void writeCacheEntry( ICacheEntry entry ) throws IOException {
+			writeByte( CACHE_ENTRY );
+			writeKey( entry.cacheName() );
+			writeKey( entry.key() );
+			writeSignedLong( entry.timeout() );
+			writeSignedLong( entry.lastAccessTimeout() );
+			writeSignedLong( entry.hits() );
+			writeSignedLong( entry.createdMillis() );
+			writeSignedLong( entry.lastAccessedMillis() );
+			write( entry.rawValue() );
+			write( entry.metadata() );
+		}
+
+		private void writeJava( Object value ) throws IOException {
+			ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+			try ( ObjectOutputStream out = new ObjectOutputStream( serialized ) ) {
+				out.writeObject( value );
+			}
+			writeByte( JAVA );
+			writeVarLong( serialized.size() );
+			writeBytes( serialized.toByteArray(), 0, serialized.size() );
+		}
+
+		/**
+		 * A new key is a 0 followed by its name, a key written before its index plus one
+		 */
+		private void writeKey( Key key ) {
+			Integer index = this.keys.get( key.getName() );
+			if ( index != null ) {
+				writeVarLong( index + 1L );
+				return;
+			}
+			this.keys.put( key.getName(), this.keys.size() );
+			writeVarLong( 0 );
+			writeString( key.getName() );
+		}
+
+		private void writeString( String value ) {
+			byte[] bytes = value.getBytes( StandardCharsets.UTF_8 );
+			writeVarLong( bytes.length );
+			writeBytes( bytes, 0, bytes.length );
+		}
+
+		private void writeSignedLong( long value ) {
+			writeVarLong( ( value << 1 ) ^ ( value >> 63 ) );
+		}
+
+		private void writeVarLong( long value ) {
+			ensure( 10 );
+			while ( ( value & ~0x7FL ) != 0 ) {
+				this.buffer[ this.size++ ] = ( byte ) ( ( value & 0x7F ) | 0x80 );
+				value >>>= 7;
+			}
+			this.buffer[ this.size++ ] = ( byte ) value;
+		}
+
+		private void writeLong( long value ) {
+			ensure( 8 );
+			for ( int shift = 56; shift >= 0; shift -= 8 ) {
+				this.buffer[ this.size++ ] = ( byte ) ( value >>> shift );
+			}
+		}
+
+		private void writeByte( byte value ) {
+			ensure( 1 );
+			this.buffer[ this.size++ ] = value;
+		}
+
+		private void writeBytes( byte[] bytes, int offset, int length ) {
+			ensure( length );
+			System.arraycopy( bytes, offset, this.buffer, this.size, length );
+			this.size += length;
+		}
+
+		private void ensure( int length ) {
+			if ( this.size + length > this.buffer.length ) {
+				this.buffer = Arrays.copyOf( this.buffer, Math.max( this.buffer.length * 2, this.size + length ) );
+			}
+		}
+
+		byte[] toByteArray() {
+			return Arrays.copyOf( this.buffer, this.size );
+		}
+
+	}
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Reading
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Reads values from the encoded bytes, collecting the keys and containers in the order they were written
+	 */
+	private static final class Reader {
+
+		private final byte[]		data;
+		private final IBoxContext	context;
+		private int					position;
+		private final List<Key>		keys		= new ArrayList<>();
+		private final List<Object>	references	= new ArrayList<>();
+
+		Reader( byte[] data, int position, IBoxContext context ) {
+			this.data		= data;
+			this.position	= position;
+			this.context	= context;
+		}
+
+		Object read() throws IOException, ClassNotFoundException {
+			byte tag = readByte();
+			return switch ( tag ) {
+				case NULL -> null;
+				case TRUE -> Boolean.TRUE;
+				case FALSE -> Boolean.FALSE;
+				case INT -> Integer.valueOf( ( int ) readSignedLong() );
+				case LONG -> Long.valueOf( readSignedLong() );
+				case DOUBLE -> Double.valueOf( Double.longBitsToDouble( readLong() ) );
+				case STRING -> readString();
+				case BIG_DECIMAL -> new BigDecimal( readString() );
+				case BYTES -> readBytes( readVarInt() );
+				case KEY -> readKey();
+				case STRUCT -> readStruct();
+				case ARRAY -> readArray();
+				case QUERY -> readQuery();
+				case DATETIME -> readDateTime();
+				case CLASS -> readClass();
+				case REFERENCE -> readReference();
+				case JAVA -> readJava();
+				case CACHE_ENTRY -> readCacheEntry();
+				default -> throw new BoxRuntimeException( "Unknown value tag [" + tag + "] at byte [" + ( this.position - 1 ) + "] of the encoded data" );
+			};
+		}
+
+		private Struct readStruct() throws IOException, ClassNotFoundException {
+			int code = readByte();
+			if ( code < 0 || code >= STRUCT_TYPES.length ) {
+				throw new BoxRuntimeException( "Unknown struct type [" + code + "] in the encoded data" );
+			}
+			Struct struct = new Struct( STRUCT_TYPES[ code ] );
+			this.references.add( struct );
+			int size = readVarInt();
+			for ( int i = 0; i < size; i++ ) {
+				Key key = readKey();
+				struct.put( key, read() );
+			}
+			return struct;
+		}
+
+		private Array readArray() throws IOException, ClassNotFoundException {
+			int		size	= readVarInt();
+			Array	array	= new Array( size );
+			this.references.add( array );
+			for ( int i = 0; i < size; i++ ) {
+				array.add( read() );
+			}
+			return array;
+		}
+
+		private Query readQuery() throws IOException, ClassNotFoundException {
+			Query query = new Query();
+			this.references.add( query );
+			int	columns	= readVarInt();
+			int	rows	= readVarInt();
+			for ( int i = 0; i < columns; i++ ) {
+				Key				name	= readKey();
+				QueryColumnType	type	= QueryColumnType.valueOf( readString() );
+				query.addColumn( name, type, readColumn( rows ) );
+			}
+			query.setMetadata( ( IStruct ) read() );
+			return query;
+		}
+
+		private Object[] readColumn( int rows ) throws IOException, ClassNotFoundException {
+			Object[]	values		= new Object[ rows ];
+			byte		encoding	= readByte();
+			switch ( encoding ) {
+				case COLUMN_VALUES -> {
+					for ( int row = 0; row < rows; row++ ) {
+						values[ row ] = read();
+					}
+				}
+				case COLUMN_INTS, COLUMN_LONGS, COLUMN_DOUBLES -> {
+					byte[] nulls = readBytes( ( rows + 7 ) / 8 );
+					for ( int row = 0; row < rows; row++ ) {
+						if ( ( nulls[ row >>> 3 ] & ( 1 << ( row & 7 ) ) ) != 0 ) {
+							continue;
+						}
+						values[ row ] = switch ( encoding ) {
+							case COLUMN_INTS -> Integer.valueOf( ( int ) readSignedLong() );
+							case COLUMN_LONGS -> Long.valueOf( readSignedLong() );
+							default -> Double.valueOf( Double.longBitsToDouble( readLong() ) );
+						};
+					}
+				}
+				case COLUMN_STRINGS -> {
+					String[] distinct = new String[ readVarInt() ];
+					for ( int i = 0; i < distinct.length; i++ ) {
+						distinct[ i ] = readString();
+					}
+					for ( int row = 0; row < rows; row++ ) {
+						int index = readVarInt();
+						values[ row ] = index == 0 ? null : distinct[ index - 1 ];
+					}
+				}
+				default -> throw new BoxRuntimeException( "Unknown query column encoding [" + encoding + "] in the encoded data" );
+			}
+			return values;
+		}
+
+		private DateTime readDateTime() throws IOException {
+			long	seconds	= readSignedLong();
+			int		nanos	= readVarInt();
+			ZoneId	zone	= ZoneId.of( readString() );
+			return new DateTime( ZonedDateTime.ofInstant( Instant.ofEpochSecond( seconds, nanos ), zone ) );
+		}
+
+		private IClassRunnable readClass() throws IOException, ClassNotFoundException {
+			IClassRunnable boxClass = BoxClassState.newInstance( this.context, readKey() );
+			this.references.add( boxClass );
+			IStruct	variables	= ( IStruct ) read();
+			IStruct	thisScope	= ( IStruct ) read();
+			boxClass.getVariablesScope().putAll( variables );
+			boxClass.getThisScope().putAll( thisScope );
+			return boxClass;
+		}
+
+		private Object readReference() throws IOException {
+			int index = readVarInt();
+			if ( index >= this.references.size() ) {
+				throw new BoxRuntimeException( "The reference [" + index + "] in the encoded data points to no value" );
+			}
+			return this.references.get( index );
+		}
+
+		private BoxCacheEntry readCacheEntry() throws IOException, ClassNotFoundException {
+			Key		cacheName			= readKey();
+			Key		key					= readKey();
+			long	timeout				= readSignedLong();
+			long	lastAccessTimeout	= readSignedLong();
+			long	hits				= readSignedLong();
+			long	created				= readSignedLong();
+			long	lastAccessed		= readSignedLong();
+			Object	value				= read();
+			IStruct	metadata			= ( IStruct ) read();
+			return new BoxCacheEntry( cacheName, timeout, lastAccessTimeout, key, value, metadata, hits, created, lastAccessed );
+		}
+
+		private Object readJava() throws IOException, ClassNotFoundException {
+			int length = readVarInt();
+			require( length );
+			try ( ObjectInputStream in = new ObjectInputStream( new ByteArrayInputStream( this.data, this.position, length ) ) ) {
+				this.position += length;
+				return in.readObject();
+			}
+		}
+
+		private Key readKey() throws IOException {
+			int index = readVarInt();
+			if ( index == 0 ) {
+				Key key = Key.of( readString() );
+				this.keys.add( key );
+				return key;
+			}
+			if ( index > this.keys.size() ) {
+				throw new BoxRuntimeException( "The key [" + index + "] in the encoded data was never written" );
+			}
+			return this.keys.get( index - 1 );
+		}
+
+		private String readString() throws IOException {
+			int length = readVarInt();
+			require( length );
+			String value = new String( this.data, this.position, length, StandardCharsets.UTF_8 );
+			this.position += length;
+			return value;
+		}
+
+		private byte[] readBytes( int length ) throws IOException {
+			require( length );
+			byte[] bytes = Arrays.copyOfRange( this.data, this.position, this.position + length );
+			this.position += length;
+			return bytes;
+		}
+
+		private long readSignedLong() throws IOException {
+			long value = readVarLong();
+			return ( value >>> 1 ) ^ -( value & 1 );
+		}
+
+		private int readVarInt() throws IOException {
+			long value = readVarLong();
+			if ( value > Integer.MAX_VALUE ) {
+				throw new BoxRuntimeException( "The length [" + value + "] in the encoded data is too large" );
+			}
+			return ( int ) value;
+		}
+
+		private long readVarLong() throws IOException {
+			long value = 0;
+			for ( int shift = 0; shift < 64; shift += 7 ) {
+				byte current = readByte();
+				value |= ( long ) ( current & 0x7F ) << shift;
+				if ( current >= 0 ) {
+					return value;
+				}
+			}
+			throw new BoxRuntimeException( "A varint in the encoded data is longer than 10 bytes" );
+		}
+
+		private long readLong() throws IOException {
+			require( 8 );
+			long value = 0;
+			for ( int i = 0; i < 8; i++ ) {
+				value = ( value << 8 ) | ( this.data[ this.position++ ] & 0xFF );
+			}
+			return value;
+		}
+
+		private byte readByte() throws IOException {
+			require( 1 );
+			return this.data[ this.position++ ];
+		}
+
+		private void require( int length ) throws IOException {
+			if ( length < 0 || this.position + length > this.data.length ) {
+				throw new EOFException( "The encoded data ends at byte [" + this.data.length + "], [" + length + "] more were expected" );
+			}
+		}
+
+	}
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Helpers
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * The code of a struct type in the encoded data
+	 */
+	private static byte structTypeCode( IStruct.TYPES type ) {
+		for ( int i = 0; i < STRUCT_TYPES.length; i++ ) {
+			if ( STRUCT_TYPES[ i ] == type ) {
+				return ( byte ) i;
+			}
+		}
+		throw new BoxRuntimeException( "The struct type [" + type + "] can't be encoded" );
+	}
+
+	/**
+	 * The packed encoding a query column allows: the type shared by all its values, if any
+	 */
+	private static byte columnEncoding( QueryColumnStorage storage, int rows ) {
+		Class<?> shared = null;
+		for ( int row = 0; row < rows; row++ ) {
+			Object value = storage.get( row );
+			if ( value == null ) {
+				continue;
+			}
+			if ( shared == null ) {
+				shared = value.getClass();
+			} else if ( shared != value.getClass() ) {
+				return COLUMN_VALUES;
+			}
+		}
+		if ( shared == Integer.class ) {
+			return COLUMN_INTS;
+		} else if ( shared == Long.class ) {
+			return COLUMN_LONGS;
+		} else if ( shared == Double.class ) {
+			return COLUMN_DOUBLES;
+		} else if ( shared == String.class ) {
+			return COLUMN_STRINGS;
+		}
+		return COLUMN_VALUES;
+	}
+
+}
@@ -114,32 +114,53 @@ public class BoxClassState implements Serializable {
 	}
 
 	/**
-	 * This method is called to return a new instance of Target Class after deserialization
+	 * Create an instance of a BoxLang class to restore a state into, without running its constructor
 	 *
-	 * @return The deserialized class
+	 * @param context   The context to load the class with, or null for the runtime context
+	 * @param classPath The BoxLang class path
 	 *
-	 * @throws ObjectStreamException
+	 * @return The new instance
 	 */
-	private Object readResolve() throws ObjectStreamException {
-		IBoxContext		context		= BoxRuntime.getInstance().getRuntimeContext();
-		IClassRunnable	boxClass	= ( IClassRunnable ) ClassLocator
+	public static IClassRunnable newInstance( IBoxContext context, Key classPath ) {
+		IBoxContext loadContext = context != null ? context : BoxRuntime.getInstance().getRuntimeContext();
+		return ( IClassRunnable ) ClassLocator
 		    .getInstance()
 		    .load(
-		        context,
-		        this.classPath.getName(),
+		        loadContext,
+		        classPath.getName(),
 		        ClassLocator.BX_PREFIX,
 		        true,
-		        context.getCurrentImports()
+		        loadContext.getCurrentImports()
 		    )
-		    .invokeConstructor( context, Key.noInit )
+		    .invokeConstructor( loadContext, Key.noInit )
 		    .unWrapBoxLangClass();
+	}
+
+	/**
+	 * Restore this state into a new instance of its class
+	 *
+	 * @param context The context to load the class with, or null for the runtime context
+	 *
+	 * @return The restored class
+	 */
+	public IClassRunnable restore( IBoxContext context ) {
+		IClassRunnable boxClass = newInstance( context, this.classPath );
 
 		// Restore the state
 		boxClass.getVariablesScope().putAll( this.variablesScope );
 		boxClass.getThisScope().putAll( this.thisScope );
-
-		// Fire away!
 		return boxClass;
 	}
 
+	/**
+	 * This method is called to return a new instance of Target Class after deserialization
+	 *
+	 * @return The deserialized class
+	 *
+	 * @throws ObjectStreamException
+	 */
+	private Object readResolve() throws ObjectStreamException {
+		return restore( null );
+	}
+
 }
@@ -18,17 +18,13 @@
 package ortus.boxlang.runtime.util.conversion;
 
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 
 import ortus.boxlang.compiler.javaboxpiler.transformer.BoxClassTransformer;
 import ortus.boxlang.runtime.context.IBoxContext;
 import ortus.boxlang.runtime.events.BoxEvent;
-import ortus.boxlang.runtime.loader.ClassLocator;
 import ortus.boxlang.runtime.runnables.IClassRunnable;
-import ortus.boxlang.runtime.scopes.Key;
 import ortus.boxlang.runtime.types.Struct;
 import ortus.boxlang.runtime.types.exceptions.BoxIOException;
 import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
@@ -66,21 +62,14 @@ public class ObjectMarshaller {
 		    .getInterceptorService()
 		    .announce( BoxEvent.BEFORE_OBJECT_MARSHALL_SERIALIZE, Struct.of( "object", target ) );
 
-		// Serialize the object
-		try ( ByteArrayOutputStream bos = new ByteArrayOutputStream();
-		    ObjectOutputStream oos = new ObjectOutputStream( bos ) ) {
-			oos.writeObject( target );
-			oos.flush();
-			// Get the serialized object
-			byte[] result = bos.toByteArray();
-			// Announce the event
-			context.getRuntime()
-			    .getInterceptorService()
-			    .announce( BoxEvent.AFTER_OBJECT_MARSHALL_SERIALIZE, Struct.of( "binary", result ) );
-			return result;
-		} catch ( IOException e ) {
-			throw new BoxIOException( "Failed to serialize object", e );
-		}
+		// Encode the object, falling back to Java serialization for the types the codec doesn't know
+		byte[] result = BinaryCodec.encode( target );
+
+		// Announce the event
+		context.getRuntime()
+		    .getInterceptorService()
+		    .announce( BoxEvent.AFTER_OBJECT_MARSHALL_SERIALIZE, Struct.of( "binary", result ) );
+		return result;
 	}
 
 	/**
@@ -104,6 +93,27 @@ public class ObjectMarshaller {
 		    .getInterceptorService()
 		    .announce( BoxEvent.BEFORE_OBJECT_MARSHALL_DESERIALIZE, Struct.of( "binary", data ) );
 
+		// Data serialized before the codec is still read with Java serialization
+		Object result = BinaryCodec.isEncoded( data )
+		    ? BinaryCodec.decode( context, data )
+		    : deserializeJava( context, data );
+
+		// Announce the event
+		context.getRuntime()
+		    .getInterceptorService()
+		    .announce( BoxEvent.AFTER_OBJECT_MARSHALL_DESERIALIZE, Struct.of( "object", result ) );
+		return result;
+	}
+
+	/**
+	 * Deserialize binary data written with Java serialization
+	 *
+	 * @param context The context in which the object is being deserialized
+	 * @param data    The binary data to deserialize
+	 *
+	 * @return The object representation of the binary data
+	 */
+	private static Object deserializeJava( IBoxContext context, byte[] data ) {
 		try ( ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream( data );
 		    ObjectInputStream objectInputStream = new ObjectInputStream( byteArrayInputStream ) ) {
 
@@ -113,29 +123,8 @@ public class ObjectMarshaller {
 			// If this is BoxLang class, then load back it's state
 			// According to BoxLang creation rules, the object should be a BoxClassState
 			if ( result instanceof BoxClassState classState ) {
-				IClassRunnable boxClass = ( IClassRunnable ) ClassLocator
-				    .getInstance()
-				    .load(
-				        context,
-				        classState.classPath.getName(),
-				        ClassLocator.BX_PREFIX,
-				        true,
-				        context.getCurrentImports()
-				    )
-				    .invokeConstructor( context, Key.noInit )
-				    .unWrapBoxLangClass();
-
-				// Restore the state
-				boxClass.getVariablesScope().putAll( classState.variablesScope );
-				boxClass.getThisScope().putAll( classState.thisScope );
-				// Restored
-				result = boxClass;
+				result = classState.restore( context );
 			}
-
-			// Announce the event
-			context.getRuntime()
-			    .getInterceptorService()
-			    .announce( BoxEvent.AFTER_OBJECT_MARSHALL_DESERIALIZE, Struct.of( "object", result ) );
 			return result;
 		} catch ( IOException e ) {
 			throw new BoxIOException( "Failed to deserialize object", e );
@@ -152,7 +152,7 @@ public class BIFDocumentationGenerator {
 	public static HashMap<String, String> generateBIFTemplate( IStruct bifRecord, List<Element> docElements, DocletEnvironment docsEnvironment ) {
 		BIFDescriptor	bif						= ( BIFDescriptor ) bifRecord.get( Key.boxBif );
 		String			name					= bifRecord.getAsString( Key._NAME );
-		String[]		packageParts			= bif.BIFClass.getName().split( "\\." );
+		String[]		packageParts			= bif.getBIFClassName().split( "\\." );
 		String			path					= packageParts[ packageParts.length - 2 ];
 		String			fileName				= name + ".md";
 		String			relativePath			= path + '/' + fileName;
@@ -112,7 +112,7 @@ public class ComponentDocumentationGenerator {
 	public static HashMap<String, String> ensureComponentTemplate( ComponentDescriptor component, List<Element> docElements,
 	    DocletEnvironment docsEnvironment ) {
 		String		name								= component.name.getName();
-		String[]	packageParts						= component.componentClass.getName().split( "\\." );
+		String[]	packageParts						= component.getComponentClassName().split( "\\." );
 		String		path								= packageParts[ packageParts.length - 2 ];
 		String		fileName							= name + ".md";
 		String		relativePath						= path + '/' + fileName;
@@ -0,0 +1,141 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package TestCases.asm.phase1;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.context.ScriptingRequestBoxContext;
+import ortus.boxlang.runtime.scopes.IScope;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.scopes.VariablesScope;
+
+public class FunctionLocalsTest {
+
+	static BoxRuntime	instance;
+	IBoxContext			context;
+	IScope				variables;
+	static Key			result	= new Key( "result" );
+
+	@BeforeAll
+	public static void setUp() {
+		instance = BoxRuntime.getInstance( true );
+	}
+
+	@BeforeEach
+	public void setupEach() {
+		context		= new ScriptingRequestBoxContext( instance.getRuntimeContext() );
+		variables	= context.getScopeNearby( VariablesScope.name );
+		instance.useASMBoxPiler();
+	}
+
+	@AfterEach
+	public void teardownEach() {
+		instance.useJavaBoxpiler();
+	}
+
+	@DisplayName( "It runs numeric loops over var variables" )
+	@Test
+	public void testLoop() {
+		instance.executeSource(
+		    """
+		    function sumTo( n ) {
+		    	var total = 0;
+		    	var i = 0;
+		    	for ( i = 1; i <= n; i++ ) {
+		    		total += i;
+		    	}
+		    	var before = i--;
+		    	var after = --i;
+		    	return [ total, before, after ];
+		    }
+		    result = sumTo( 100 );
+		    """,
+		    context );
+		assertThat( variables.getAsArray( result ).toList() ).containsExactly( 5050, 101, 99 ).inOrder();
+	}
+
+	@DisplayName( "It assigns, compounds and nulls var variables" )
+	@Test
+	public void testAssignments() {
+		instance.executeSource(
+		    """
+		    function build() {
+		    	var s = "a";
+		    	s &= "b";
+		    	s = s & "c";
+		    	var n = 10;
+		    	n *= 3;
+		    	n -= 5;
+		    	var nothing = "something";
+		    	nothing = null;
+		    	return s & n & isNull( nothing );
+		    }
+		    result = build();
+		    """,
+		    context );
+		assertThat( variables.get( result ) ).isEqualTo( "abc25true" );
+	}
+
+	@DisplayName( "It reads the outer scopes until the var statement ran" )
+	@Test
+	public void testBeforeVar() {
+		instance.executeSource(
+		    """
+		    x = 5;
+		    function shadow() {
+		    	var y = x;
+		    	var x = 10;
+		    	return y + x;
+		    }
+		    result = shadow();
+		    """,
+		    context );
+		assertThat( variables.get( result ) ).isEqualTo( 15 );
+		assertThat( variables.get( Key.of( "x" ) ) ).isEqualTo( 5 );
+	}
+
+	@DisplayName( "It keeps var variables in the local scope when the function reflects on it" )
+	@Test
+	public void testEscapingLocals() {
+		instance.executeSource(
+		    """
+		    function reflect() {
+		    	var a = 1;
+		    	local.b = 2;
+		    	return a + local.b + structCount( local );
+		    }
+		    function closes() {
+		    	var c = 3;
+		    	var f = () => c * 2;
+		    	return f();
+		    }
+		    result = reflect() + closes();
+		    """,
+		    context );
+		assertThat( variables.get( result ) ).isEqualTo( 11 );
+	}
+
+}
@@ -0,0 +1,117 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.compiler;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
+
+public class BoxArchiveTest {
+
+	@TempDir
+	Path			tempDir;
+
+	static byte[]	classes		= new byte[] { ( byte ) 0xCA, ( byte ) 0xFE, ( byte ) 0xBA, ( byte ) 0xBE, 0, 0, 0, 1, 'x' };
+	static String	sourceMap	= "{\"source\":\"index.bxm\"}";
+
+	@DisplayName( "It writes and reads back an archive" )
+	@Test
+	void testRoundTrip() throws IOException {
+		Path source = Files.writeString( tempDir.resolve( "index.bxm" ), "<bx:output>hello</bx:output>" );
+		Path target = buildArchive( source );
+
+		try ( BoxArchive archive = new BoxArchive( target ) ) {
+			archive.verify();
+			assertThat( archive.size() ).isEqualTo( 1 );
+			assertThat( archive.getBoxlangVersion() ).isEqualTo( "1.0.0" );
+			assertThat( archive.getEntry( "boxgenerated.other" ) ).isNull();
+
+			BoxArchive.Entry entry = archive.getEntry( "boxgenerated.templates.index$bxm" );
+			assertThat( entry.path() ).isEqualTo( "index.bxm" );
+			assertThat( archive.readClasses( entry ) ).isEqualTo( classes );
+			assertThat( archive.readSourceMap( entry ) ).isEqualTo( sourceMap );
+			assertThat( archive.matchesSource( entry, source ) ).isTrue();
+
+			Files.writeString( source, "<bx:output>changed</bx:output>" );
+			assertThat( archive.matchesSource( entry, source ) ).isFalse();
+		}
+	}
+
+	@DisplayName( "It detects corrupted classes" )
+	@Test
+	void testCorruption() throws IOException {
+		Path	source		= Files.writeString( tempDir.resolve( "index.bxm" ), "<bx:output>hello</bx:output>" );
+		Path	target		= buildArchive( source );
+		Path	corrupted	= tempDir.resolve( "corrupted.bxar" );
+
+		// Copy the archive, flipping the last byte of the classes
+		try ( ZipFile zip = new ZipFile( target.toFile() ); OutputStream out = Files.newOutputStream( corrupted );
+		    ZipOutputStream zipOut = new ZipOutputStream( out ) ) {
+			for ( ZipEntry zipEntry : Collections.list( zip.entries() ) ) {
+				byte[] bytes = zip.getInputStream( zipEntry ).readAllBytes();
+				if ( zipEntry.getName().startsWith( "classes/" ) ) {
+					bytes[ bytes.length - 1 ] = 'y';
+				}
+				zipOut.putNextEntry( new ZipEntry( zipEntry.getName() ) );
+				zipOut.write( bytes );
+				zipOut.closeEntry();
+			}
+		}
+
+		try ( BoxArchive archive = new BoxArchive( corrupted ) ) {
+			assertThrows( BoxRuntimeException.class, archive::verify );
+		}
+	}
+
+	@DisplayName( "It rejects files which are not archives" )
+	@Test
+	void testNotAnArchive() throws IOException {
+		Path jar = tempDir.resolve( "plain.jar" );
+		try ( ZipOutputStream zipOut = new ZipOutputStream( Files.newOutputStream( jar ) ) ) {
+			zipOut.putNextEntry( new ZipEntry( "readme.txt" ) );
+			zipOut.write( "hello".getBytes( StandardCharsets.UTF_8 ) );
+			zipOut.closeEntry();
+		}
+
+		assertThrows( BoxRuntimeException.class, () -> new BoxArchive( jar ) );
+	}
+
+	private Path buildArchive( Path source ) throws IOException {
+		Path target = tempDir.resolve( "app.bxar" );
+		new BoxArchive.Builder( "1.0.0" )
+		    .add( "index.bxm", "boxgenerated.templates.index$bxm", Files.readAllBytes( source ), classes, sourceMap )
+		    .write( target );
+		return target;
+	}
+
+}
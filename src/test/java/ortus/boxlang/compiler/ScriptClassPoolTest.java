@@ -0,0 +1,165 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.compiler;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.io.File;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ortus.boxlang.compiler.parser.BoxSourceType;
+import ortus.boxlang.runtime.types.IStruct;
+
+public class ScriptClassPoolTest {
+
+	@TempDir
+	Path tempDir;
+
+	@DisplayName( "Ad hoc statements belong to the script class pool" )
+	@Test
+	void testClassPoolName() {
+		assertThat( statement( "1 + 2" ).classPoolName() ).isEqualTo( ClassInfo.SCRIPT_CLASS_POOL );
+		assertThat( ClassInfo.forScript( "x = 1", BoxSourceType.BOXSCRIPT, null ).classPoolName() ).isEqualTo( ClassInfo.SCRIPT_CLASS_POOL );
+	}
+
+	@DisplayName( "It counts hits and misses" )
+	@Test
+	void testHitsAndMisses() {
+		ScriptClassPool	pool	= new ScriptClassPool( 10, 0 );
+		ClassInfo		first	= pool.acquire( statement( "1 + 2" ) );
+
+		assertThat( pool.acquire( statement( "1 + 2" ) ) ).isSameInstanceAs( first );
+		assertThat( pool.acquire( statement( "3 + 4" ) ) ).isNotSameInstanceAs( first );
+		// Lookups by the class loaders don't count
+		assertThat( pool.get( first.fqn().toString() ) ).isSameInstanceAs( first );
+
+		IStruct stats = pool.getStats();
+		assertThat( stats.get( "hits" ) ).isEqualTo( 1L );
+		assertThat( stats.get( "misses" ) ).isEqualTo( 2L );
+		assertThat( stats.get( "evictions" ) ).isEqualTo( 0L );
+		assertThat( stats.get( "size" ) ).isEqualTo( 2 );
+	}
+
+	@DisplayName( "It evicts the least recently used scripts over the max size" )
+	@Test
+	void testMaxSize() {
+		ScriptClassPool	pool	= new ScriptClassPool( 2, 0 );
+		ClassInfo		one		= compile( pool, "1" );
+		ClassInfo		two		= compile( pool, "2" );
+
+		// Using the first one makes the second the least recently used
+		compile( pool, "1" );
+		compile( pool, "3" );
+
+		assertThat( pool.size() ).isEqualTo( 2 );
+		assertThat( pool.containsKey( one.fqn().toString() ) ).isTrue();
+		assertThat( pool.containsKey( two.fqn().toString() ) ).isFalse();
+		assertThat( pool.getStats().get( "evictions" ) ).isEqualTo( 1L );
+	}
+
+	@DisplayName( "It evicts idle scripts" )
+	@Test
+	void testIdleTimeout() throws InterruptedException {
+		ScriptClassPool	pool	= new ScriptClassPool( 0, 1 );
+		ClassInfo		idle	= compile( pool, "1" );
+
+		Thread.sleep( 1100 );
+		compile( pool, "2" );
+
+		assertThat( pool.containsKey( idle.fqn().toString() ) ).isFalse();
+		assertThat( pool.size() ).isEqualTo( 1 );
+		assertThat( pool.getStats().get( "evictions" ) ).isEqualTo( 1L );
+	}
+
+	@DisplayName( "It doesn't evict scripts until they are released" )
+	@Test
+	void testPinned() {
+		ScriptClassPool	pool		= new ScriptClassPool( 1, 0 );
+		ClassInfo		compiling	= pool.acquire( statement( "1" ) );
+
+		compile( pool, "2" );
+		assertThat( pool.get( compiling.fqn().toString() ) ).isSameInstanceAs( compiling );
+
+		pool.release( compiling );
+		compile( pool, "3" );
+		assertThat( pool.containsKey( compiling.fqn().toString() ) ).isFalse();
+		assertThat( pool.size() ).isEqualTo( 1 );
+	}
+
+	@DisplayName( "It empties on clear" )
+	@Test
+	void testClear() {
+		ScriptClassPool pool = new ScriptClassPool( 10, 0 );
+		pool.acquire( statement( "1" ) );
+		pool.acquire( statement( "2" ) );
+
+		pool.clear();
+
+		assertThat( pool.size() ).isEqualTo( 0 );
+		assertThat( pool.entrySet() ).isEmpty();
+	}
+
+	@DisplayName( "It deletes the class files of the scripts it drops" )
+	@Test
+	void testDeletesClassFiles() {
+		DiskClassUtil	diskClassUtil	= new DiskClassUtil( tempDir );
+		ScriptClassPool	pool			= new ScriptClassPool( 1, 0, diskClassUtil );
+		ClassInfo		dropped			= compile( pool, "1" );
+		String			fqn				= dropped.fqn().toString();
+		diskClassUtil.writeBytes( ClassInfo.SCRIPT_CLASS_POOL, fqn, "class", new byte[] { 1 } );
+		diskClassUtil.writeBytes( ClassInfo.SCRIPT_CLASS_POOL, fqn + "$Func_foo", "class", new byte[] { 1 } );
+		diskClassUtil.writeBytes( ClassInfo.SCRIPT_CLASS_POOL, fqn, "json", new byte[] { 1 } );
+
+		ClassInfo	kept	= compile( pool, "2" );
+		String		keptFqn	= kept.fqn().toString();
+		diskClassUtil.writeBytes( ClassInfo.SCRIPT_CLASS_POOL, keptFqn, "class", new byte[] { 1 } );
+
+		assertThat( pool.containsKey( fqn ) ).isFalse();
+		assertThat( classFiles( fqn ) ).isEmpty();
+		assertThat( classFiles( keptFqn ) ).hasLength( 1 );
+	}
+
+	/**
+	 * The files written for a class and its inner classes
+	 */
+	private File[] classFiles( String fqn ) {
+		File	directory	= tempDir.resolve( ClassInfo.SCRIPT_CLASS_POOL.replaceAll( "[^a-zA-Z0-9]", "_" ) ).toFile();
+		String	name		= fqn.substring( fqn.lastIndexOf( '.' ) + 1 );
+		Path	packagePath	= directory.toPath().resolve( fqn.substring( 0, Math.max( 0, fqn.lastIndexOf( '.' ) ) ).replace( ".", File.separator ) );
+		File[]	files		= packagePath.toFile().listFiles( file -> file.getName().startsWith( name + "." ) || file.getName().startsWith( name + "$" ) );
+		return files == null ? new File[ 0 ] : files;
+	}
+
+	/**
+	 * Acquire and release a statement, like compiling it does
+	 */
+	private static ClassInfo compile( ScriptClassPool pool, String source ) {
+		ClassInfo classInfo = pool.acquire( statement( source ) );
+		pool.release( classInfo );
+		return classInfo;
+	}
+
+	private static ClassInfo statement( String source ) {
+		return ClassInfo.forStatement( source, BoxSourceType.BOXSCRIPT, null );
+	}
+
+}
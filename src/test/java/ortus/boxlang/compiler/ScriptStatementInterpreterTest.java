@@ -0,0 +1,71 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.compiler;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ortus.boxlang.compiler.parser.BoxSourceType;
+import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.context.ScriptingRequestBoxContext;
+import ortus.boxlang.runtime.runnables.BoxScript;
+import ortus.boxlang.runtime.runnables.RunnableLoader;
+import ortus.boxlang.runtime.types.util.MathUtil;
+
+public class ScriptStatementInterpreterTest {
+
+	static BoxRuntime instance;
+
+	@BeforeAll
+	public static void setUp() {
+		instance = BoxRuntime.getInstance( true );
+	}
+
+	@DisplayName( "It interprets pure expressions instead of compiling them" )
+	@Test
+	void testInterpret() {
+		IBoxContext	context	= new ScriptingRequestBoxContext( instance.getRuntimeContext() );
+		BoxScript	script	= RunnableLoader.getInstance().loadStatement( context, "( 1 + 2 ) * 3 & \"!\"", BoxSourceType.BOXSCRIPT );
+
+		assertThat( script.getClass().getEnclosingClass() ).isEqualTo( ScriptStatementInterpreter.class );
+		assertThat( script.invoke( context ) ).isEqualTo( "9!" );
+	}
+
+	@DisplayName( "It reads the decimal precision when the cached statement runs" )
+	@Test
+	void testDecimalPrecision() {
+		IBoxContext	context		= new ScriptingRequestBoxContext( instance.getRuntimeContext() );
+		BoxScript	script		= RunnableLoader.getInstance().loadStatement( context, "2.5", BoxSourceType.BOXSCRIPT );
+		boolean		original	= MathUtil.isHighPrecisionMath();
+		try {
+			MathUtil.setHighPrecisionMath( true );
+			assertThat( script.invoke( context ) ).isEqualTo( new BigDecimal( "2.5" ) );
+			MathUtil.setHighPrecisionMath( false );
+			assertThat( RunnableLoader.getInstance().loadStatement( context, "2.5", BoxSourceType.BOXSCRIPT ).invoke( context ) ).isEqualTo( 2.5d );
+		} finally {
+			MathUtil.setHighPrecisionMath( original );
+		}
+	}
+
+}
@@ -0,0 +1,121 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.compiler;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ortus.boxlang.compiler.SourceChangeDetector.Mode;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
+
+public class SourceChangeDetectorTest {
+
+	@TempDir
+	Path tempDir;
+
+	@DisplayName( "It parses the modes" )
+	@Test
+	void testModes() {
+		assertThat( Mode.fromString( "Watch" ) ).isEqualTo( Mode.WATCH );
+		assertThat( Mode.fromString( " never " ) ).isEqualTo( Mode.NEVER );
+		assertThrows( BoxRuntimeException.class, () -> Mode.fromString( "sometimes" ) );
+	}
+
+	@DisplayName( "It always or never checks sources" )
+	@Test
+	void testAlwaysAndNever() {
+		Path					source	= tempDir.resolve( "test.bxm" );
+		SourceChangeDetector	always	= new SourceChangeDetector( Mode.ALWAYS, 5 );
+		SourceChangeDetector	never	= new SourceChangeDetector( Mode.NEVER, 5 );
+
+		assertThat( always.needsCheck( source ) ).isTrue();
+		assertThat( always.needsCheck( source ) ).isTrue();
+		assertThat( never.needsCheck( source ) ).isFalse();
+	}
+
+	@DisplayName( "It checks sources at most once per interval" )
+	@Test
+	void testInterval() {
+		Path					source		= tempDir.resolve( "test.bxm" );
+		SourceChangeDetector	detector	= new SourceChangeDetector( Mode.INTERVAL, 60 );
+
+		assertThat( detector.needsCheck( source ) ).isTrue();
+		assertThat( detector.needsCheck( source ) ).isFalse();
+		assertThat( detector.needsCheck( tempDir.resolve( "other.bxm" ) ) ).isTrue();
+
+		detector.reset();
+		assertThat( detector.needsCheck( source ) ).isTrue();
+	}
+
+	@DisplayName( "It checks watched sources once they change" )
+	@Test
+	void testWatch() throws IOException, InterruptedException {
+		Path					source		= Files.writeString( tempDir.resolve( "test.bxm" ), "one" );
+		SourceChangeDetector	detector	= new SourceChangeDetector( Mode.WATCH, 5 );
+
+		// The first check registers the source with the watcher
+		assertThat( detector.needsCheck( source ) ).isTrue();
+		assertThat( detector.needsCheck( source ) ).isFalse();
+
+		Files.writeString( source, "two" );
+		boolean changed = false;
+		for ( int i = 0; i < 100 && !changed; i++ ) {
+			Thread.sleep( 100 );
+			changed = detector.needsCheck( source );
+		}
+		assertThat( changed ).isTrue();
+		assertThat( detector.needsCheck( source ) ).isFalse();
+		detector.close();
+	}
+
+	@DisplayName( "It stops its watcher thread when closed" )
+	@Test
+	void testClose() throws IOException, InterruptedException {
+		Path					source		= Files.writeString( tempDir.resolve( "test.bxm" ), "one" );
+		SourceChangeDetector	detector	= new SourceChangeDetector( Mode.WATCH, 5 );
+
+		long					before		= watcherThreads();
+
+		detector.needsCheck( source );
+		assertThat( watcherThreads() ).isEqualTo( before + 1 );
+
+		detector.close();
+		for ( int i = 0; i < 50 && watcherThreads() > before; i++ ) {
+			Thread.sleep( 100 );
+		}
+		assertThat( watcherThreads() ).isEqualTo( before );
+
+		// A closed detector checks every source again, and watches them with a new watcher
+		assertThat( detector.needsCheck( source ) ).isTrue();
+		assertThat( detector.needsCheck( source ) ).isFalse();
+		detector.close();
+	}
+
+	private static long watcherThreads() {
+		return Thread.getAllStackTraces().keySet().stream().filter( thread -> thread.getName().equals( "BoxLang-SourceChangeDetector" ) ).count();
+	}
+
+}
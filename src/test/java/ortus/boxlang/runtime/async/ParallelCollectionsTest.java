@@ -0,0 +1,103 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.runtime.async;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.services.AsyncService;
+
+class ParallelCollectionsTest {
+
+	static BoxRuntime instance;
+
+	@BeforeAll
+	static void setUp() {
+		instance = BoxRuntime.getInstance( true );
+	}
+
+	@DisplayName( "It runs on the shared executor instead of a pool per call" )
+	@Test
+	void testSharedExecutor() {
+		ParallelCollections.forEach( 100, 4, i -> {
+		} );
+		AsyncService asyncService = instance.getAsyncService();
+		assertThat( asyncService.hasExecutor( AsyncService.PARALLEL_EXECUTOR ) ).isTrue();
+		assertThat( asyncService.getParallelExecutor() ).isSameInstanceAs( asyncService.getExecutor( AsyncService.PARALLEL_EXECUTOR ) );
+		assertThat( asyncService.getParallelExecutor().executor().isShutdown() ).isFalse();
+	}
+
+	@DisplayName( "It keeps the results in order" )
+	@Test
+	void testOrder() {
+		int[] matches = ParallelCollections.filter( 10_000, null, i -> i % 3 == 0 );
+		assertThat( matches ).isEqualTo( IntStream.range( 0, 10_000 ).filter( i -> i % 3 == 0 ).toArray() );
+
+		Object[] mapped = ParallelCollections.map( 1_000, null, i -> i * 2 );
+		assertThat( mapped[ 999 ] ).isEqualTo( 1998 );
+
+		List<Integer> elements = ParallelCollections.map( List.of( 1, 2, 3, 4, 5, 6, 7, 8 ).spliterator(), 3, i -> i * 10 );
+		assertThat( elements ).containsExactly( 10, 20, 30, 40, 50, 60, 70, 80 ).inOrder();
+	}
+
+	@DisplayName( "It doesn't run more callbacks at once than the max threads" )
+	@Test
+	void testMaxThreads() {
+		AtomicInteger	running	= new AtomicInteger();
+		AtomicInteger	peak	= new AtomicInteger();
+		ParallelCollections.forEach( 200, 2, i -> {
+			peak.accumulateAndGet( running.incrementAndGet(), Math::max );
+			try {
+				Thread.sleep( 1 );
+			} catch ( InterruptedException e ) {
+				Thread.currentThread().interrupt();
+			}
+			running.decrementAndGet();
+		} );
+		assertThat( peak.get() ).isAtMost( 2 );
+	}
+
+	@DisplayName( "It stops testing once the answer is known" )
+	@Test
+	void testShortCircuit() {
+		assertThat( ParallelCollections.anyMatch( 1_000_000, null, i -> i == 5 ) ).isTrue();
+		assertThat( ParallelCollections.allMatch( 1_000_000, null, i -> i != 5 ) ).isFalse();
+		assertThat( ParallelCollections.allMatch( 0, null, i -> false ) ).isTrue();
+	}
+
+	@DisplayName( "It rethrows the error of a callback" )
+	@Test
+	void testErrors() {
+		IllegalStateException e = assertThrows( IllegalStateException.class, () -> ParallelCollections.forEach( 100, null, i -> {
+			if ( i == 50 ) {
+				throw new IllegalStateException( "boom" );
+			}
+		} ) );
+		assertThat( e.getMessage() ).isEqualTo( "boom" );
+	}
+
+}
@@ -28,6 +28,7 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.sql.SQLException;
 import java.time.Duration;
 import java.util.List;
 
@@ -37,6 +38,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.EnabledIf;
 
 import ortus.boxlang.runtime.dynamic.casters.StructCaster;
+import ortus.boxlang.runtime.jdbc.QueryCursor;
 import ortus.boxlang.runtime.scopes.Key;
 import ortus.boxlang.runtime.types.Array;
 import ortus.boxlang.runtime.types.IStruct;
@@ -562,6 +564,30 @@ public class QueryExecuteTest extends BaseJDBCTest {
 		assertTrue( queryMeta2.getAsBoolean( Key.cached ) );
 	}
 
+	@DisplayName( "It clears cached queries when their tables are written" )
+	@Test
+	public void testCacheInvalidatedByWrites() {
+		// @formatter:off
+		instance.executeSource(
+		    """
+		    sql = "SELECT name FROM developers WHERE id = ?";
+		    result  = queryExecute( sql, [ 42 ], { "cache": true, "result" : "queryMeta", "returnType" : "array" } );
+		    result2 = queryExecute( sql, [ 42 ], { "cache": true, "result" : "queryMeta2", "returnType" : "array" } );
+		    queryExecute( "UPDATE developers SET name = 'Eric' WHERE id = 42" );
+		    result3 = queryExecute( sql, [ 42 ], { "cache": true, "result" : "queryMeta3", "returnType" : "array" } );
+		    """,
+		    context );
+		// @formatter:on
+
+		assertTrue( StructCaster.cast( variables.getAsStruct( Key.of( "queryMeta2" ) ) ).getAsBoolean( Key.cached ) );
+
+		// The update cleared the cached query, so it ran again and sees the new name
+		IStruct queryMeta3 = StructCaster.cast( variables.getAsStruct( Key.of( "queryMeta3" ) ) );
+		assertFalse( queryMeta3.getAsBoolean( Key.cached ) );
+		Array query3 = variables.getAsArray( Key.of( "result3" ) );
+		assertEquals( "Eric", StructCaster.cast( query3.get( 0 ) ).getAsString( Key._NAME ) );
+	}
+
 	@DisplayName( "It properly sets query results with cache metadata" )
 	@Test
 	public void testCacheResultMeta() {
@@ -617,6 +643,196 @@ public class QueryExecuteTest extends BaseJDBCTest {
 		assertEquals( "Luis Majano", theResult.getRowAsStruct( 0 ).get( Key._NAME ) );
 	}
 
+	@DisplayName( "It can read the rows through a cursor" )
+	@Test
+	public void testCursorReturnType() {
+		instance.executeSource(
+		    """
+		    cursor = queryExecute( "SELECT id, name FROM developers ORDER BY id", [], { "returnType" : "cursor" } );
+		    names = [];
+		    while ( cursor.hasNext() ) {
+		    	names.append( cursor.next().name );
+		    }
+		    """,
+		    context );
+		QueryCursor cursor = ( QueryCursor ) variables.get( Key.of( "cursor" ) );
+		assertThat( variables.getAsArray( Key.of( "names" ) ).size() ).isEqualTo( 4 );
+		assertThat( variables.getAsArray( Key.of( "names" ) ).get( 0 ) ).isEqualTo( "Luis Majano" );
+		assertThat( cursor.getRowCount() ).isEqualTo( 4 );
+		// Reading the last row released the connection
+		assertTrue( cursor.isClosed() );
+		assertThat( context.getConnectionManager().getOpenCursorCount() ).isEqualTo( 0 );
+	}
+
+	@DisplayName( "It can stream the rows into the stream BIFs" )
+	@Test
+	public void testStreamReturnType() {
+		instance.executeSource(
+		    """
+		    result = queryExecute( "SELECT id, name FROM developers WHERE id > ? ORDER BY id", [ 50 ], { "returnType" : "stream", "fetchSize" : 2 } ).toBXArray();
+		    """,
+		    context );
+		Array rows = variables.getAsArray( result );
+		assertThat( rows.size() ).isEqualTo( 2 );
+		assertThat( ( ( IStruct ) rows.get( 0 ) ).get( Key.id ) ).isEqualTo( 77 );
+		assertThat( context.getConnectionManager().getOpenCursorCount() ).isEqualTo( 0 );
+	}
+
+	@DisplayName( "It releases the connection of a cursor that wasn't fully read" )
+	@Test
+	public void testCursorClose() {
+		instance.executeSource(
+		    """
+		    cursor = queryExecute( "SELECT * FROM developers", [], { "returnType" : "cursor" } );
+		    first = cursor.next();
+		    """,
+		    context );
+		QueryCursor cursor = ( QueryCursor ) variables.get( Key.of( "cursor" ) );
+		assertFalse( cursor.isClosed() );
+		assertThat( context.getConnectionManager().getOpenCursorCount() ).isEqualTo( 1 );
+
+		context.getConnectionManager().closeCursors();
+		assertTrue( cursor.isClosed() );
+		assertFalse( cursor.hasNext() );
+		assertThat( context.getConnectionManager().getOpenCursorCount() ).isEqualTo( 0 );
+	}
+
+	@DisplayName( "It closes the cursors of a transaction when it commits or rolls back" )
+	@Test
+	public void testCursorTransaction() {
+		instance.executeSource(
+		    """
+		    transaction {
+		    	queryExecute( "SELECT COUNT(*) FROM developers" );
+		    	committed = queryExecute( "SELECT * FROM developers", [], { "returnType" : "cursor" } );
+		    	committed.next();
+		    	transactionCommit();
+		    	closedOnCommit = committed.isClosed();
+
+		    	rolledBack = queryExecute( "SELECT * FROM developers", [], { "returnType" : "cursor" } );
+		    	rolledBack.next();
+		    	transactionRollback();
+		    	closedOnRollback = rolledBack.isClosed();
+		    }
+		    """,
+		    context );
+		assertTrue( variables.getAsBoolean( Key.of( "closedOnCommit" ) ) );
+		assertTrue( variables.getAsBoolean( Key.of( "closedOnRollback" ) ) );
+		assertThat( context.getConnectionManager().getOpenCursorCount() ).isEqualTo( 0 );
+	}
+
+	@DisplayName( "It releases the connection of a cursor opened before a transaction when closed inside it" )
+	@Test
+	public void testCursorOpenedBeforeTransaction() throws SQLException {
+		instance.executeSource(
+		    """
+		    cursor = queryExecute( "SELECT * FROM developers", [], { "returnType" : "cursor" } );
+		    cursor.next();
+		    transaction {
+		    	queryExecute( "SELECT COUNT(*) FROM developers" );
+		    	cursor.close();
+		    }
+		    """,
+		    context );
+		QueryCursor cursor = ( QueryCursor ) variables.get( Key.of( "cursor" ) );
+		assertTrue( cursor.isClosed() );
+		assertTrue( cursor.getConnection().isClosed() );
+		assertThat( context.getConnectionManager().getOpenCursorCount() ).isEqualTo( 0 );
+	}
+
+	@DisplayName( "It can't return a Query of Queries as a cursor" )
+	@Test
+	public void testCursorQueryOfQueries() {
+		assertThrows( DatabaseException.class, () -> instance.executeSource(
+		    """
+		    source = queryNew( "id", "integer", [ [ 1 ] ] );
+		    result = queryExecute( "SELECT id FROM source", [], { "dbtype" : "query", "returnType" : "cursor" } );
+		    """,
+		    context ) );
+	}
+
+	@DisplayName( "It can execute a batch of parameter sets" )
+	@Test
+	public void testBatch() {
+		instance.executeSource(
+		    """
+		    result = queryExecute(
+		    	"INSERT INTO developers ( id, name, role ) VALUES ( ?, ?, ? )",
+		    	[
+		    		[ 100, "Jacob", "Developer" ],
+		    		[ 101, "Jon", "Developer" ],
+		    		[ 102, "Grant", "Developer" ]
+		    	],
+		    	{ "batch" : true, "batchSize" : 2 }
+		    );
+		    named = queryExecute(
+		    	"UPDATE developers SET role = :role WHERE id = :id",
+		    	[ { id : 100, role : "Lead" }, { id : 999, role : "Nobody" } ],
+		    	{ "batch" : true, "result" : "namedResult" }
+		    );
+		    total = queryExecute( "SELECT COUNT(*) AS total FROM developers" );
+		    lead = queryExecute( "SELECT role FROM developers WHERE id = 100" );
+		    """,
+		    context );
+		IStruct batchResult = variables.getAsStruct( result );
+		assertThat( batchResult.get( "recordCount" ) ).isEqualTo( 3L );
+		assertThat( batchResult.get( "batchCount" ) ).isEqualTo( 2 );
+		assertThat( batchResult.getAsArray( Key.of( "updateCounts" ) ).toList() ).containsExactly( 1, 1, 1 );
+
+		IStruct namedResult = variables.getAsStruct( Key.of( "named" ) );
+		assertThat( namedResult.getAsArray( Key.of( "updateCounts" ) ).toList() ).containsExactly( 1, 0 ).inOrder();
+		assertThat( variables.get( Key.of( "namedResult" ) ) ).isSameInstanceAs( namedResult );
+
+		assertThat( ( ( Number ) variables.getAsQuery( Key.of( "total" ) ).getRowAsStruct( 0 ).get( "total" ) ).intValue() ).isEqualTo( 7 );
+		assertThat( variables.getAsQuery( Key.of( "lead" ) ).getRowAsStruct( 0 ).get( "role" ) ).isEqualTo( "Lead" );
+	}
+
+	@DisplayName( "It clears cached queries when a later chunk of a batch fails" )
+	@Test
+	public void testCacheInvalidatedByFailedBatch() {
+		instance.executeSource(
+		    """
+		    sql = "SELECT id FROM developers WHERE id >= 300";
+		    before = queryExecute( sql, [], { "cache": true } );
+		    try {
+		    	queryExecute(
+		    		"INSERT INTO developers ( id, name ) VALUES ( ?, ? )",
+		    		[ [ 300, "Alpha" ], [ 301, repeatString( "x", 200 ) ] ],
+		    		{ "batch" : true, "batchSize" : 1 }
+		    	);
+		    } catch ( any e ) {
+		    	failed = true;
+		    }
+		    after = queryExecute( sql, [], { "cache": true, "result" : "afterMeta" } );
+		    """,
+		    context );
+		assertTrue( variables.getAsBoolean( Key.of( "failed" ) ) );
+		assertThat( variables.getAsQuery( Key.of( "before" ) ).size() ).isEqualTo( 0 );
+
+		// The first chunk was committed before the second one failed, so the cached query ran again
+		assertFalse( StructCaster.cast( variables.getAsStruct( Key.of( "afterMeta" ) ) ).getAsBoolean( Key.cached ) );
+		assertThat( variables.getAsQuery( Key.of( "after" ) ).size() ).isEqualTo( 1 );
+	}
+
+	@DisplayName( "It runs batches in the current transaction" )
+	@Test
+	public void testBatchInTransaction() {
+		instance.executeSource(
+		    """
+		    transaction {
+		    	queryExecute(
+		    		"INSERT INTO developers ( id, name ) VALUES ( ?, ? )",
+		    		[ [ 200, "Alpha" ], [ 201, "Beta" ] ],
+		    		{ "batch" : true }
+		    	);
+		    	transactionRollback();
+		    }
+		    result = queryExecute( "SELECT id FROM developers WHERE id >= 200" );
+		    """,
+		    context );
+		assertThat( variables.getAsQuery( result ).size() ).isEqualTo( 0 );
+	}
+
 	/**
 	 * This feature is not supported in Hikari https://github.com/brettwooldridge/HikariCP/issues/231
 	 */
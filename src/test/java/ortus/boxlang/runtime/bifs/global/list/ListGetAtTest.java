@@ -124,4 +124,24 @@ public class ListGetAtTest {
 		);
 	}
 
+	@DisplayName( "It uses the direct invocation fast path with the same argument handling" )
+	@Test
+	public void testDirectInvocation() {
+		assertThat( instance.getFunctionService().getGlobalFunction( Key.of( "listGetAt" ) ).supportsDirectInvocation() ).isTrue();
+
+		// Positional arguments are still cast to the declared types
+		instance.executeSource(
+		    """
+		    result = listGetAt( "a|b|c", "3", "|" );
+		    """,
+		    context );
+		assertThat( variables.get( result ) ).isEqualTo( "c" );
+
+		// Required arguments are still enforced
+		assertThrows(
+		    BoxRuntimeException.class,
+		    () -> instance.executeStatement( "listGetAt( 'a,b' )", context )
+		);
+	}
+
 }
@@ -33,6 +33,7 @@ import ortus.boxlang.runtime.scopes.IScope;
 import ortus.boxlang.runtime.scopes.Key;
 import ortus.boxlang.runtime.scopes.VariablesScope;
 import ortus.boxlang.runtime.types.Query;
+import ortus.boxlang.runtime.types.immutable.ImmutableQuery;
 
 public class QueryReverseTest {
 
@@ -93,4 +94,25 @@ public class QueryReverseTest {
 
 	}
 
+	@DisplayName( "It should reverse an immutable query into a new query" )
+	@Test
+	public void testReverseImmutableQuery() {
+		// @formatter:off
+		instance.executeSource(
+		    """
+				source = QueryNew( "id,name", "integer,varchar", [ [ 1, "John" ], [ 2, "Jane" ], [ 3, "Jim" ] ] ).toImmutable();
+				result = QueryReverse( source );
+		       """,
+		    context );
+		// @formatter:on
+
+		Query			query	= ( Query ) variables.get( result );
+		List<Object[]>	data	= query.getData();
+		assert !( query instanceof ImmutableQuery );
+		assert data.get( 0 )[ 0 ].equals( 3 );
+		assert data.get( 2 )[ 0 ].equals( 1 );
+		// The source is untouched
+		assert ( ( Query ) variables.get( Key.of( "source" ) ) ).getData().get( 0 )[ 0 ].equals( 1 );
+	}
+
 }
@@ -270,4 +270,20 @@ public class BoxCacheProviderTest {
 		assertThat( boxCache.getOrSet( "testKey", () -> "test" ) ).isEqualTo( "test" );
 	}
 
+	@Test
+	@DisplayName( "It reaps the entries which expired and keeps the others" )
+	void testReap() throws InterruptedException {
+		boxCache.set( "shortLived", "test", 1, 0 );
+		boxCache.set( "longLived", "test" );
+		boxCache.set( "eternal", "test", 0, 0 );
+		boxCache.reap();
+
+		Thread.sleep( 2100 );
+		boxCache.reap();
+
+		assertThat( boxCache.lookupQuiet( "shortLived" ) ).isFalse();
+		assertThat( boxCache.lookupQuiet( "longLived" ) ).isTrue();
+		assertThat( boxCache.lookupQuiet( "eternal" ) ).isTrue();
+	}
+
 }
@@ -121,7 +121,8 @@ public abstract class BaseStoreTest {
 	public void testShutdown() {
 		store.set( Key.of( "test" ), newTestEntry( "test" ) );
 		store.shutdown();
-		if ( ! ( store instanceof FileSystemStore ) ) {
+		// Persistent stores keep their entries
+		if ( ! ( store instanceof FileSystemStore || store instanceof JDBCStore ) ) {
 			assertThat( store.getSize() ).isEqualTo( 0 );
 		}
 	}
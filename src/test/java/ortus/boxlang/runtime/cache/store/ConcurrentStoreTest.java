@@ -17,7 +17,13 @@
  */
 package ortus.boxlang.runtime.cache.store;
 
+import static com.google.common.truth.Truth.assertThat;
+
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ortus.boxlang.runtime.scopes.Key;
 
 class ConcurrentStoreTest extends BaseStoreTest {
 
@@ -28,4 +34,28 @@ class ConcurrentStoreTest extends BaseStoreTest {
 		store			= new ConcurrentStore().init( mockProvider, mockConfig.properties );
 	}
 
+	@Test
+	@DisplayName( "It can evict from a pool too large to scan by sampling it" )
+	public void testSampledEvict() {
+		int size = AbstractStore.EVICTION_SAMPLE_SIZE * 100;
+		for ( int i = 0; i < size; i++ ) {
+			store.set( Key.of( "key" + i ), newTestEntry( "key" + i ) );
+		}
+
+		store.evict();
+
+		assertThat( store.getSize() ).isEqualTo( size - 1 );
+	}
+
+	@Test
+	@DisplayName( "It never evicts eternal entries" )
+	public void testEvictSkipsEternalEntries() {
+		store.set( Key.of( "eternal" ), newTestEntry( "eternal", 0, 0, "value" ) );
+		store.set( Key.of( "eternal2" ), newTestEntry( "eternal2", 0, 0, "value" ) );
+
+		store.evict();
+
+		assertThat( store.getSize() ).isEqualTo( 2 );
+	}
+
 }
@@ -0,0 +1,215 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.runtime.cache.store;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.application.Session;
+import ortus.boxlang.runtime.cache.BoxCacheEntry;
+import ortus.boxlang.runtime.cache.ICacheEntry;
+import ortus.boxlang.runtime.cache.providers.ICacheProvider;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.context.ScriptingRequestBoxContext;
+import ortus.boxlang.runtime.events.BoxEvent;
+import ortus.boxlang.runtime.events.IInterceptorLambda;
+import ortus.boxlang.runtime.interop.DynamicObject;
+import ortus.boxlang.runtime.jdbc.DataSource;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.scopes.VariablesScope;
+import ortus.boxlang.runtime.types.Array;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.Struct;
+import ortus.boxlang.runtime.types.exceptions.DatabaseException;
+import tools.JDBCTestUtils;
+
+class JDBCStoreTest extends BaseStoreTest {
+
+	static DataSource datasource;
+
+	@BeforeAll
+	static void setUp() {
+		BoxRuntime.getInstance( true );
+		datasource		= JDBCTestUtils.buildDatasource( "JDBCStoreTest" );
+		// Prep the fields to use in the base test
+		mockProvider	= getMockProvider( "test" );
+		mockConfig.properties.put( Key.datasource, datasource );
+		store = new JDBCStore().init( mockProvider, mockConfig.properties );
+	}
+
+	@AfterAll
+	static void teardown() {
+		store.shutdown();
+		mockConfig.properties.remove( Key.datasource );
+		datasource.shutdown();
+	}
+
+	@Test
+	@DisplayName( "It keeps the entries in the database across stores" )
+	void testPersistence() {
+		store.set( Key.of( "persisted" ), newTestEntry( "persisted", 60, 10, Array.of( "a", "b", Struct.of( "c", 1 ) ) ) );
+		store.flush();
+
+		IObjectStore	other	= new JDBCStore().init( mockProvider, mockConfig.properties );
+		var				entry	= other.getQuiet( Key.of( "persisted" ) );
+		other.shutdown();
+
+		assertThat( entry ).isNotNull();
+		assertThat( entry.key().getName() ).isEqualTo( "persisted" );
+		assertThat( entry.timeout() ).isEqualTo( 60 );
+		assertThat( entry.rawValue() ).isEqualTo( Array.of( "a", "b", Struct.of( "c", 1 ) ) );
+	}
+
+	@Test
+	@DisplayName( "It writes the sets behind in batches" )
+	void testWriteBehind() throws SQLException {
+		IStruct config = new Struct( mockConfig.properties );
+		config.put( Key.writeBehindInterval, 60_000 );
+		IObjectStore	behind	= new JDBCStore().init( mockProvider, config );
+		long			before	= countRows();
+
+		behind.set( Key.of( "behind" ), newTestEntry( "behind" ) );
+		assertThat( countRows() ).isEqualTo( before );
+		assertThat( behind.lookup( Key.of( "behind" ) ) ).isTrue();
+
+		assertThat( behind.flush() ).isEqualTo( 1 );
+		assertThat( countRows() ).isEqualTo( before + 1 );
+		behind.shutdown();
+	}
+
+	@Test
+	@DisplayName( "It clears the expired entries with a single delete" )
+	void testClearExpired() {
+		long now = System.currentTimeMillis();
+		store.set(
+		    Key.of( "expired" ),
+		    new BoxCacheEntry( Key.of( "test" ), 1, 0, Key.of( "expired" ), "old", new Struct(), 0, now - 10_000, now - 10_000 )
+		);
+		store.set( Key.of( "fresh" ), newTestEntry( "fresh" ) );
+		store.set( Key.of( "eternal" ), newTestEntry( "eternal", 0, 0, "forever" ) );
+
+		assertThat( store.clearExpired( now ) ).isEqualTo( 1 );
+		assertThat( store.lookup( Key.of( "expired" ) ) ).isFalse();
+		assertThat( store.lookup( Key.of( "fresh" ) ) ).isTrue();
+		assertThat( store.lookup( Key.of( "eternal" ) ) ).isTrue();
+	}
+
+	@Test
+	@DisplayName( "It ends the expired sessions of a session cache stored in the database" )
+	void testClearExpiredSessions() {
+		BoxRuntime		runtime		= BoxRuntime.getInstance();
+		Key				appName		= Key.of( "JDBCStoreSessions" );
+		Key				cacheName	= Key.of( "JDBCStoreSessionsCache" );
+		List<Object>	ended		= new ArrayList<>();
+		ICacheProvider	sessions	= runtime.getCacheService().createCache(
+		    cacheName,
+		    Key.boxCacheProvider,
+		    Struct.of( Key.objectStore, "JDBCStore", Key.datasource, datasource )
+		);
+
+		// Record the sessions ended
+		DynamicObject listener = DynamicObject.of( ( IInterceptorLambda ) data -> {
+			ended.add( data.get( Key.session ) );
+			return false;
+		} );
+		runtime.getInterceptorService().register( listener, BoxEvent.ON_SESSION_DESTROYED.key() );
+
+		try {
+			IBoxContext context = new ScriptingRequestBoxContext( runtime.getRuntimeContext() );
+			runtime.executeSource(
+			    """
+			    application name="JDBCStoreSessions" sessionmanagement="true" sessionStorage="JDBCStoreSessionsCache";
+			    session.foo = "bar";
+			    result = session.sessionid;
+			    """,
+			    context );
+			Key			cacheKey	= Key.of( context.getScopeNearby( VariablesScope.name ).getAsString( Key.of( "result" ) ) );
+			ICacheEntry	entry		= sessions.getObjectStore().getQuiet( cacheKey );
+			assertThat( entry.rawValue() ).isInstanceOf( Session.class );
+
+			// Expire the session
+			long past = System.currentTimeMillis() - 10_000;
+			sessions.getObjectStore().set(
+			    cacheKey,
+			    new BoxCacheEntry( cacheName, 1, 0, cacheKey, entry.rawValue(), new Struct(), 0, past, past )
+			);
+			sessions.reap();
+
+			assertThat( sessions.getObjectStore().lookup( cacheKey ) ).isFalse();
+			assertThat( ended ).hasSize( 1 );
+			assertThat( ( ( Session ) ended.get( 0 ) ).getCacheKey() ).isEqualTo( cacheKey.getName() );
+		} finally {
+			runtime.getInterceptorService().unregister( listener, BoxEvent.ON_SESSION_DESTROYED.key() );
+			runtime.getApplicationService().shutdownApplication( appName );
+			runtime.getCacheService().shutdownCache( cacheName );
+		}
+	}
+
+	@Test
+	@DisplayName( "It keeps the writes which fail for the next flush, or throws them without write behind" )
+	void testFailedWrites() throws SQLException {
+		IStruct config = new Struct( mockConfig.properties );
+		config.put( Key.table, "boxlang_cache_failing" );
+		config.put( Key.writeBehindInterval, 60_000 );
+		IObjectStore behind = new JDBCStore().init( mockProvider, config );
+		execute( "DROP TABLE boxlang_cache_failing" );
+
+		behind.set( Key.of( "retried" ), newTestEntry( "retried" ) );
+		assertThat( behind.flush() ).isEqualTo( 0 );
+		assertThat( behind.lookup( Key.of( "retried" ) ) ).isTrue();
+
+		// Creates the table again
+		config.put( Key.writeBehindInterval, 0 );
+		IObjectStore direct = new JDBCStore().init( mockProvider, config );
+		assertThat( behind.flush() ).isEqualTo( 1 );
+		assertThat( direct.getQuiet( Key.of( "retried" ) ) ).isNotNull();
+
+		execute( "DROP TABLE boxlang_cache_failing" );
+		assertThrows( DatabaseException.class, () -> direct.set( Key.of( "thrown" ), newTestEntry( "thrown" ) ) );
+		behind.shutdown();
+		direct.shutdown();
+	}
+
+	private static void execute( String sql ) throws SQLException {
+		try ( Connection conn = datasource.getConnection(); Statement statement = conn.createStatement() ) {
+			statement.executeUpdate( sql );
+		}
+	}
+
+	private static long countRows() throws SQLException {
+		try ( Connection conn = datasource.getConnection(); Statement statement = conn.createStatement() ) {
+			ResultSet results = statement.executeQuery( "SELECT COUNT(*) FROM " + JDBCStore.DEFAULT_TABLE + " WHERE cache_name = 'test'" );
+			results.next();
+			return results.getLong( 1 );
+		}
+	}
+
+}
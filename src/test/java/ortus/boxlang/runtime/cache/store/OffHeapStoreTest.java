@@ -0,0 +1,203 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.runtime.cache.store;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.cache.BoxCacheEntry;
+import ortus.boxlang.runtime.cache.providers.ICacheProvider;
+import ortus.boxlang.runtime.events.BoxEvent;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.Array;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.Struct;
+import ortus.boxlang.runtime.util.FileSystemUtil;
+
+class OffHeapStoreTest extends BaseStoreTest {
+
+	static String tmpDirectory = "src/test/resources/tmp/OffHeapStoreTest";
+
+	@BeforeAll
+	static void setUp() {
+		// Prep the fields to use in the base test
+		mockProvider	= getMockProvider( "test" );
+		store			= new OffHeapStore().init( mockProvider, mockConfig.properties );
+	}
+
+	@AfterAll
+	static void teardown() {
+		store.shutdown();
+		if ( FileSystemUtil.exists( tmpDirectory ) ) {
+			FileSystemUtil.deleteDirectory( tmpDirectory, true );
+		}
+	}
+
+	@Test
+	@DisplayName( "It returns copies of the values, with the hits updated in place" )
+	void testCopies() {
+		Array value = Array.of( "a", "b" );
+		store.set( Key.of( "copied" ), newTestEntry( "copied", 60, 10, value ) );
+		value.append( "c" );
+
+		assertThat( store.get( Key.of( "copied" ) ).rawValue() ).isEqualTo( Array.of( "a", "b" ) );
+		assertThat( store.get( Key.of( "copied" ) ).hits() ).isEqualTo( 2 );
+		assertThat( store.getQuiet( Key.of( "copied" ) ).hits() ).isEqualTo( 2 );
+	}
+
+	@Test
+	@DisplayName( "It evicts the slab with the fewest live bytes when full" )
+	void testSlabEviction() {
+		IStruct config = new Struct( mockConfig.properties );
+		config.put( Key.slabSize, 1 );
+		config.put( Key.maxSlabs, 2 );
+		OffHeapStore	small	= ( OffHeapStore ) new OffHeapStore().init( mockProvider, config );
+		Random			random	= new Random( 42 );
+
+		for ( int i = 0; i < 30; i++ ) {
+			byte[] value = new byte[ 100_000 ];
+			random.nextBytes( value );
+			small.set( Key.of( "entry" + i ), newTestEntry( "entry" + i, 60, 10, value ) );
+		}
+
+		assertThat( small.getSize() ).isLessThan( 30 );
+		assertThat( small.lookup( Key.of( "entry29" ) ) ).isTrue();
+		assertThat( small.lookup( Key.of( "entry0" ) ) ).isFalse();
+		assertThat( ( Long ) small.getStats().get( Key.of( "slabEvictions" ) ) ).isGreaterThan( 0L );
+		assertThat( small.getStats().get( Key.of( "slabs" ) ) ).isEqualTo( 2 );
+		small.shutdown();
+	}
+
+	@Test
+	@DisplayName( "It keeps the entries in mapped files across stores" )
+	void testPersistence() {
+		IStruct config = new Struct( mockConfig.properties );
+		config.put( Key.slabSize, 1 );
+		config.put( Key.directory, tmpDirectory );
+		IObjectStore persistent = new OffHeapStore().init( mockProvider, config );
+		persistent.set( Key.of( "persisted" ), newTestEntry( "persisted", 60, 10, Array.of( "a", "b", Struct.of( "c", 1 ) ) ) );
+		persistent.set( Key.of( "replaced" ), newTestEntry( "replaced", 60, 10, "old" ) );
+		persistent.set( Key.of( "replaced" ), newTestEntry( "replaced", 60, 10, "new" ) );
+		persistent.set( Key.of( "cleared" ), newTestEntry( "cleared" ) );
+		persistent.clear( Key.of( "cleared" ) );
+		persistent.shutdown();
+
+		IObjectStore	reopened	= new OffHeapStore().init( mockProvider, config );
+		var				entry		= reopened.getQuiet( Key.of( "persisted" ) );
+
+		assertThat( reopened.getSize() ).isEqualTo( 2 );
+		assertThat( entry ).isNotNull();
+		assertThat( entry.key().getName() ).isEqualTo( "persisted" );
+		assertThat( entry.timeout() ).isEqualTo( 60 );
+		assertThat( entry.rawValue() ).isEqualTo( Array.of( "a", "b", Struct.of( "c", 1 ) ) );
+		assertThat( reopened.getQuiet( Key.of( "replaced" ) ).rawValue() ).isEqualTo( "new" );
+		assertThat( reopened.lookup( Key.of( "cleared" ) ) ).isFalse();
+		reopened.clearAll();
+		reopened.shutdown();
+	}
+
+	@Test
+	@DisplayName( "It clears the expired entries from their headers" )
+	void testClearExpired() {
+		long now = System.currentTimeMillis();
+		store.set(
+		    Key.of( "expired" ),
+		    new BoxCacheEntry( Key.of( "test" ), 1, 0, Key.of( "expired" ), "old", new Struct(), 0, now - 10_000, now - 10_000 )
+		);
+		store.set( Key.of( "fresh" ), newTestEntry( "fresh" ) );
+		store.set( Key.of( "eternal" ), newTestEntry( "eternal", 0, 0, "forever" ) );
+
+		assertThat( store.clearExpired( now ) ).isEqualTo( 1 );
+		assertThat( store.lookup( Key.of( "expired" ) ) ).isFalse();
+		assertThat( store.lookup( Key.of( "fresh" ) ) ).isTrue();
+		assertThat( store.lookup( Key.of( "eternal" ) ) ).isTrue();
+	}
+
+	@Test
+	@DisplayName( "It clears the expired and evicted entries through the provider when anyone listens to the removals" )
+	void testRemovalListeners() {
+		BoxRuntime		runtime		= BoxRuntime.getInstance();
+		Key				cacheName	= Key.of( "OffHeapStoreRemovals" );
+		List<String>	removed		= new ArrayList<>();
+		ICacheProvider	cache		= runtime.getCacheService().createCache(
+		    cacheName,
+		    Key.boxCacheProvider,
+		    Struct.of( Key.objectStore, "OffHeapStore", Key.slabSize, 1, Key.maxSlabs, 2 )
+		);
+		// Like the sessions cache, read the entries before they are removed
+		cache.getInterceptorPool().register( data -> {
+			ICacheProvider	target	= ( ICacheProvider ) data.get( "cache" );
+			String			key		= ( String ) data.get( "key" );
+			if ( target.getQuiet( key ).isPresent() ) {
+				removed.add( key );
+			}
+			return false;
+		}, BoxEvent.BEFORE_CACHE_ELEMENT_REMOVED.key() );
+
+		try {
+			IObjectStore	offHeap	= cache.getObjectStore();
+			long			now		= System.currentTimeMillis();
+			offHeap.set(
+			    Key.of( "expired" ),
+			    new BoxCacheEntry( cacheName, 1, 0, Key.of( "expired" ), "old", new Struct(), 0, now - 10_000, now - 10_000 )
+			);
+			offHeap.set( Key.of( "fresh" ), newTestEntry( "fresh" ) );
+
+			assertThat( offHeap.clearExpired( now ) ).isEqualTo( 1 );
+			assertThat( removed ).containsExactly( "expired" );
+
+			Random random = new Random( 42 );
+			for ( int i = 0; i < 30; i++ ) {
+				byte[] value = new byte[ 100_000 ];
+				random.nextBytes( value );
+				offHeap.set( Key.of( "entry" + i ), newTestEntry( "entry" + i, 60, 10, value ) );
+			}
+
+			assertThat( removed ).contains( "entry0" );
+			assertThat( removed ).hasSize( 1 + 31 - offHeap.getSize() );
+		} finally {
+			runtime.getCacheService().shutdownCache( cacheName );
+		}
+	}
+
+	@Test
+	@DisplayName( "It grows the index past its initial capacity" )
+	void testManyEntries() {
+		for ( int i = 0; i < 1000; i++ ) {
+			store.set( Key.of( "key" + i ), newTestEntry( "key" + i, 60, 10, i ) );
+		}
+		for ( int i = 0; i < 1000; i += 2 ) {
+			store.clear( Key.of( "key" + i ) );
+		}
+
+		assertThat( store.getSize() ).isEqualTo( 500 );
+		assertThat( store.getQuiet( Key.of( "key999" ) ).rawValue() ).isEqualTo( 999 );
+		assertThat( store.lookup( Key.of( "key998" ) ) ).isFalse();
+		assertThat( store.getKeys() ).hasLength( 500 );
+	}
+
+}
@@ -0,0 +1,91 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.runtime.cache.util;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ortus.boxlang.runtime.scopes.Key;
+
+public class ExpiryIndexTest {
+
+	ExpiryIndex	index;
+	long		now;
+
+	@BeforeEach
+	void setUp() {
+		index	= new ExpiryIndex();
+		now		= System.currentTimeMillis();
+	}
+
+	@Test
+	@DisplayName( "It only drains the keys which are due" )
+	void testDrainDueKeys() {
+		index.schedule( Key.of( "soon" ), now + 2_000 );
+		index.schedule( Key.of( "later" ), now + 60_000 );
+
+		assertThat( index.drain( now ) ).isEmpty();
+		assertThat( index.drain( now + 3_000 ) ).containsExactly( Key.of( "soon" ) );
+		assertThat( index.size() ).isEqualTo( 1 );
+		assertThat( index.drain( now + 3_000 ) ).isEmpty();
+		assertThat( index.drain( now + 61_000 ) ).containsExactly( Key.of( "later" ) );
+		assertThat( index.size() ).isEqualTo( 0 );
+	}
+
+	@Test
+	@DisplayName( "It schedules keys already past due for the next drain" )
+	void testPastDue() {
+		index.drain( now + 10_000 );
+		index.schedule( Key.of( "expired" ), now );
+
+		assertThat( index.drain( now + 10_000 ) ).isEmpty();
+		assertThat( index.drain( now + 11_000 ) ).containsExactly( Key.of( "expired" ) );
+	}
+
+	@Test
+	@DisplayName( "It drains every bucket due after a long gap" )
+	void testLongGap() {
+		index.schedule( Key.of( "hour" ), now + 3_600_000 );
+		index.schedule( Key.of( "day" ), now + 86_400_000 );
+
+		assertThat( index.drain( now + 86_400_000 * 2L ) ).containsExactly( Key.of( "hour" ), Key.of( "day" ) );
+		assertThat( index.size() ).isEqualTo( 0 );
+	}
+
+	@Test
+	@DisplayName( "It keeps a key rescheduled in a single bucket" )
+	void testReschedule() {
+		Key hot = Key.of( "hot" );
+		for ( int i = 1; i <= 100; i++ ) {
+			index.schedule( hot, now + i * 1_000L );
+		}
+
+		assertThat( index.size() ).isEqualTo( 1 );
+		assertThat( index.drain( now + 99_000 ) ).isEmpty();
+		assertThat( index.drain( now + 101_000 ) ).containsExactly( hot );
+		assertThat( index.size() ).isEqualTo( 0 );
+
+		// Forgotten once drained, so it can be scheduled again
+		index.schedule( hot, now + 102_000 );
+		assertThat( index.drain( now + 103_000 ) ).containsExactly( hot );
+	}
+
+}
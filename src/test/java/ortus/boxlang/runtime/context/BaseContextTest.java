@@ -25,6 +25,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.async.ParallelCollections;
 import ortus.boxlang.runtime.scopes.ArgumentsScope;
 import ortus.boxlang.runtime.scopes.IScope;
 import ortus.boxlang.runtime.scopes.Key;
@@ -247,4 +248,14 @@ public class BaseContextTest {
 		assertThat( lexical.size() ).isEqualTo( 0 );
 	}
 
-}
\ No newline at end of file
+	@Test
+	public void testParallelFlush() {
+		// Every callback flushes its output into the same context from its own thread
+		IBoxContext target = new BaseBoxContext( context );
+		ParallelCollections.forEach( 10_000, 8, i -> new BaseBoxContext( target ).writeToBuffer( "x", true ).flushBuffer( false ) );
+
+		assertThat( target.getOutputBuffer().length() ).isEqualTo( 10_000 );
+		assertThat( target.getOutputBuffer().toString().replace( "x", "" ) ).isEmpty();
+	}
+
+}
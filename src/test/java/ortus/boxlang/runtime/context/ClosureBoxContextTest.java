@@ -106,6 +106,12 @@ public class ClosureBoxContextTest {
 		assertThat( context.scopeFindNearby( declaringOnly, null ).value() ).isEqualTo( "declaring scope only" );
 		// find var in declaring closure's declaring scope
 		assertThat( context.scopeFindNearby( declaringDeclaringOnly, null ).value() ).isEqualTo( "declaring declaring scope only" );
+
+		// the value lookups search in the same order
+		assertThat( context.scopeFindNearbyValue( ambiguous, null ) ).isEqualTo( "local scope ambiguous" );
+		assertThat( context.scopeFindNearbyValue( variablesOnly, null ) ).isEqualTo( "declaring declaring variables scope only" );
+		assertThat( context.scopeFindNearbyValue( declaringOnly, null ) ).isEqualTo( "declaring scope only" );
+		assertThat( context.scopeFindNearbyValue( declaringDeclaringOnly, null ) ).isEqualTo( "declaring declaring scope only" );
 	}
 
 	@Test
@@ -32,6 +32,7 @@ import ortus.boxlang.runtime.scopes.VariablesScope;
 import ortus.boxlang.runtime.types.Argument;
 import ortus.boxlang.runtime.types.SampleUDF;
 import ortus.boxlang.runtime.types.UDF;
+import ortus.boxlang.runtime.types.exceptions.KeyNotFoundException;
 
 @DisplayName( "FunctionBoxContextTest Tests" )
 public class FunctionBoxContextTest {
@@ -92,6 +93,15 @@ public class FunctionBoxContextTest {
 		assertThat( context.scopeFindNearby( argsOnly, null ).value() ).isEqualTo( "arguments scope only" );
 		// find var in variables
 		assertThat( context.scopeFindNearby( variablesOnly, null ).value() ).isEqualTo( "variables scope only" );
+
+		// the value lookups search in the same order
+		assertThat( context.scopeFindNearbyValue( ambiguous, null ) ).isEqualTo( "local scope ambiguous" );
+		assertThat( context.scopeFindNearbyValue( argsOnly, null ) ).isEqualTo( "arguments scope only" );
+		assertThat( context.scopeFindNearbyValue( variablesOnly, null ) ).isEqualTo( "variables scope only" );
+		assertThat( context.scopeFindNearbyValue( LocalScope.name, null ) ).isSameInstanceAs( localScope );
+		assertThat( context.scopeFindNearbyValue( Key.of( "missing" ), localScope ) ).isNull();
+		assertThat( context.scopeFindNearbyValue( Key.of( "missing" ), null, true ) ).isSameInstanceAs( IBoxContext.NOT_FOUND );
+		assertThrows( KeyNotFoundException.class, () -> context.scopeFindNearbyValue( Key.of( "missing" ), null ) );
 	}
 
 	@Test
@@ -21,22 +21,29 @@ package ortus.boxlang.runtime.context;
 import static com.google.common.truth.Truth.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
 import java.nio.file.Path;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import ortus.boxlang.compiler.parser.BoxSourceType;
 import ortus.boxlang.runtime.context.IBoxContext.ScopeSearchResult;
+import ortus.boxlang.runtime.config.Configuration;
 import ortus.boxlang.runtime.loader.ImportDefinition;
 import ortus.boxlang.runtime.runnables.BoxTemplate;
 import ortus.boxlang.runtime.scopes.IScope;
 import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.CopyOnWriteStruct;
 import ortus.boxlang.runtime.types.IStruct;
 import ortus.boxlang.runtime.types.Struct;
 import ortus.boxlang.runtime.types.exceptions.KeyNotFoundException;
+import ortus.boxlang.runtime.util.OutputBuffer;
 import ortus.boxlang.runtime.util.ResolvedFilePath;
 
 @DisplayName( "ScriptingRequestBoxContext Tests" )
@@ -182,4 +189,106 @@ public class ScriptingRequestBoxContextTest {
 		var datasources = ( IStruct ) context.getConfigItems( Key.datasources );
 		assertThat( datasources.containsKey( Key.bxDefaultDatasource ) ).isTrue();
 	}
+
+	@Test
+	@DisplayName( "Caches the config view until a layer changes" )
+	void testConfigIsCachedUntilALayerChanges() {
+		ScriptingRequestBoxContext	context	= new ScriptingRequestBoxContext();
+		IStruct						config	= CopyOnWriteStruct.sourceOf( context.getConfig() );
+
+		// Nothing changed, same view
+		assertThat( CopyOnWriteStruct.sourceOf( context.getConfig() ) ).isSameInstanceAs( config );
+
+		// Request layer changed
+		context.setLocale( Locale.CANADA );
+		IStruct requestConfig = CopyOnWriteStruct.sourceOf( context.getConfig() );
+		assertThat( requestConfig ).isNotSameInstanceAs( config );
+		assertThat( requestConfig.get( Key.locale ) ).isEqualTo( Locale.CANADA );
+		assertThat( CopyOnWriteStruct.sourceOf( context.getConfig() ) ).isSameInstanceAs( requestConfig );
+
+		// Application layer changed
+		context.getApplicationListener().updateSettings( Struct.of( "mappings", Struct.of( "/configCacheTest", "/tmp" ) ) );
+		IStruct appConfig = CopyOnWriteStruct.sourceOf( context.getConfig() );
+		assertThat( appConfig ).isNotSameInstanceAs( requestConfig );
+		assertThat( appConfig.getAsStruct( Key.mappings ).containsKey( Key.of( "/configCacheTest" ) ) ).isTrue();
+		assertThat( CopyOnWriteStruct.sourceOf( context.getConfig() ) ).isSameInstanceAs( appConfig );
+	}
+
+	@Test
+	@DisplayName( "Rebuilds the config view when a nested setting changes, keeping the listeners of the settings" )
+	void testConfigIsRebuiltOnNestedChanges() {
+		ScriptingRequestBoxContext	context		= new ScriptingRequestBoxContext();
+		Struct						mappings	= new Struct();
+		List<Key>					changed		= new ArrayList<>();
+		mappings.registerChangeListener( ( key, newValue, oldValue ) -> {
+			changed.add( key );
+			return newValue;
+		} );
+		context.getApplicationListener().updateSettings( Struct.of( "mappings", mappings ) );
+		IStruct config = CopyOnWriteStruct.sourceOf( context.getConfig() );
+
+		mappings.put( "/nestedConfigTest", "/tmp" );
+
+		IStruct rebuilt = CopyOnWriteStruct.sourceOf( context.getConfig() );
+		assertThat( rebuilt ).isNotSameInstanceAs( config );
+		assertThat( rebuilt.getAsStruct( Key.mappings ).containsKey( Key.of( "/nestedConfigTest" ) ) ).isTrue();
+		assertThat( changed ).containsExactly( Key.of( "/nestedConfigTest" ) );
+	}
+
+	@Test
+	@DisplayName( "Changes to the config of one caller do not leak to the others" )
+	void testConfigChangesStayPrivate() {
+		ScriptingRequestBoxContext	context	= new ScriptingRequestBoxContext();
+		IStruct						config	= context.getConfig();
+
+		config.put( Key.of( "adHocConfig" ), "adHocConfigValue" );
+		config.getAsStruct( Key.mappings ).put( Key.of( "/adHocMapping" ), "/tmp" );
+
+		assertThat( config.get( Key.of( "adHocConfig" ) ) ).isEqualTo( "adHocConfigValue" );
+		assertThat( config.getAsStruct( Key.mappings ).containsKey( Key.of( "/adHocMapping" ) ) ).isTrue();
+		assertThat( context.getConfig().containsKey( Key.of( "adHocConfig" ) ) ).isFalse();
+		assertThat( context.getConfig().getAsStruct( Key.mappings ).containsKey( Key.of( "/adHocMapping" ) ) ).isFalse();
+	}
+
+	@Test
+	@DisplayName( "Sees changes written directly to the runtime configuration" )
+	void testConfigSeesDirectRuntimeChanges() {
+		ScriptingRequestBoxContext	context			= new ScriptingRequestBoxContext();
+		Configuration				configuration	= context.getRuntime().getConfiguration();
+		String						original		= configuration.defaultRemoteMethodReturnFormat;
+
+		try {
+			context.getConfig();
+			// Same size, same struct instances: only the value changes
+			configuration.defaultRemoteMethodReturnFormat = "wddx";
+			assertThat( context.getConfig().get( Key.defaultRemoteMethodReturnFormat ) ).isEqualTo( "wddx" );
+
+			configuration.customTagsDirectory.add( "/configCacheTest" );
+			assertThat( context.getConfig().getAsArray( Key.customTagsDirectory ) ).contains( "/configCacheTest" );
+		} finally {
+			configuration.defaultRemoteMethodReturnFormat = original;
+			configuration.customTagsDirectory.remove( "/configCacheTest" );
+		}
+	}
+
+	@Test
+	@DisplayName( "Streams its output as it's written unless a buffer captures it" )
+	void testStreamOutput() {
+		ScriptingRequestBoxContext	context	= new ScriptingRequestBoxContext();
+		ByteArrayOutputStream		bytes	= new ByteArrayOutputStream();
+		context.setOut( new PrintStream( bytes, true ) );
+
+		context.writeToBuffer( "held " );
+		context.streamOutput();
+		context.writeToBuffer( "streamed" );
+		assertThat( bytes.toString() ).isEqualTo( "held streamed" );
+		assertThat( context.getOutputBuffer().isEmpty() ).isTrue();
+
+		OutputBuffer captured = new OutputBuffer();
+		context.pushBuffer( captured );
+		context.writeToBuffer( "captured" );
+		context.popBuffer();
+		assertThat( bytes.toString() ).isEqualTo( "held streamed" );
+		assertThat( captured.toString() ).isEqualTo( "captured" );
+	}
 }
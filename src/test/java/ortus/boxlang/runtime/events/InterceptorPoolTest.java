@@ -256,4 +256,47 @@ public class InterceptorPoolTest {
 		assertThat( ( ( IStruct ) future.get() ).get( "counter" ) ).isEqualTo( 1 );
 	}
 
+	@Test
+	@DisplayName( "It can detect if a state has listeners" )
+	void testHasListeners() {
+		Key pointKey = Key.of( "onRequestStart" );
+
+		assertThat( pool.hasListeners( pointKey ) ).isFalse();
+
+		pool.registerState( pointKey );
+		assertThat( pool.hasListeners( pointKey ) ).isFalse();
+
+		pool.register( ( IStruct data ) -> false, pointKey );
+		assertThat( pool.hasListeners( pointKey ) ).isTrue();
+	}
+
+	@Test
+	@DisplayName( "It only builds lazy announcement data when there are listeners" )
+	void testLazyAnnounce() {
+		Key			pointKey	= Key.of( "onRequestStart" );
+		boolean[]	built		= { false };
+
+		pool.registerState( pointKey );
+		pool.announce( pointKey, () -> {
+			built[ 0 ] = true;
+			return new Struct();
+		} );
+		assertThat( built[ 0 ] ).isFalse();
+
+		pool.register(
+		    ( IStruct data ) -> {
+			    data.put( "counter", 1 );
+			    return false;
+		    },
+		    pointKey
+		);
+		IStruct data = new Struct();
+		pool.announce( pointKey, () -> {
+			built[ 0 ] = true;
+			return data;
+		} );
+		assertThat( built[ 0 ] ).isTrue();
+		assertThat( data.get( "counter" ) ).isEqualTo( 1 );
+	}
+
 }
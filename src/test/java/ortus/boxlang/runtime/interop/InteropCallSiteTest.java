@@ -0,0 +1,139 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.runtime.interop;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import TestCases.interop.InvokeDynamicFields;
+import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.context.ScriptingRequestBoxContext;
+import ortus.boxlang.runtime.scopes.IScope;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.scopes.VariablesScope;
+import ortus.boxlang.runtime.types.Array;
+
+public class InteropCallSiteTest {
+
+	static BoxRuntime	instance;
+	IBoxContext			context;
+	IScope				variables;
+
+	@BeforeAll
+	public static void setUp() {
+		instance = BoxRuntime.getInstance( true );
+	}
+
+	@BeforeEach
+	public void setupEach() {
+		context		= new ScriptingRequestBoxContext( instance.getRuntimeContext() );
+		variables	= context.getScopeNearby( VariablesScope.name );
+	}
+
+	@DisplayName( "It caches the methods it invokes per receiver class" )
+	@Test
+	void testMonomorphicInvoke() throws Throwable {
+		InteropCallSite	callSite	= ( InteropCallSite ) DynamicInteropService.bootstrapInvoke(
+		    MethodHandles.lookup(), "invoke", InteropCallSite.INVOKE_TYPE, "hello", 0 );
+		MethodHandle	invoker		= callSite.dynamicInvoker();
+
+		assertThat( invoker.invoke( context, ( Object ) new InvokeDynamicFields(), new Object[] { "Luis" } ) ).isEqualTo( "Hello Luis" );
+		assertThat( callSite.getDepth() ).isEqualTo( 1 );
+		assertThat( invoker.invoke( context, ( Object ) new InvokeDynamicFields(), new Object[] { "Brad" } ) ).isEqualTo( "Hello Brad" );
+		assertThat( callSite.getDepth() ).isEqualTo( 1 );
+
+		// Other argument classes go through the generic path, which coerces them
+		assertThat( invoker.invoke( context, ( Object ) new InvokeDynamicFields(), new Object[] { "Jon", 5L } ) ).isEqualTo( "Hello Jon5" );
+	}
+
+	@DisplayName( "It goes megamorphic past the max depth" )
+	@Test
+	void testPolymorphicInvoke() throws Throwable {
+		InteropCallSite	callSite	= ( InteropCallSite ) DynamicInteropService.bootstrapInvoke(
+		    MethodHandles.lookup(), "invoke", InteropCallSite.INVOKE_TYPE, "hashCode", 0 );
+		MethodHandle	invoker		= callSite.dynamicInvoker();
+
+		Object[]		receivers	= new Object[] { "hello", 42, 42L, LocalDate.of( 2024, 1, 1 ), new StringBuilder( "sb" ) };
+		for ( int pass = 0; pass < 2; pass++ ) {
+			for ( Object receiver : receivers ) {
+				assertThat( invoker.invoke( context, receiver, new Object[] {} ) ).isEqualTo( receiver.hashCode() );
+			}
+		}
+		assertThat( callSite.getDepth() ).isEqualTo( InteropCallSite.MAX_DEPTH );
+		assertThat( callSite.isMegamorphic() ).isTrue();
+	}
+
+	@DisplayName( "It caches the public fields it dereferences" )
+	@Test
+	void testDereference() throws Throwable {
+		InteropCallSite	callSite	= ( InteropCallSite ) DynamicInteropService.bootstrapDereference(
+		    MethodHandles.lookup(), "dereference", InteropCallSite.DEREFERENCE_TYPE, "NAME", 0 );
+		MethodHandle	invoker		= callSite.dynamicInvoker();
+
+		InvokeDynamicFields target = new InvokeDynamicFields();
+		assertThat( invoker.invoke( context, ( Object ) target ) ).isEqualTo( "luis" );
+		target.name = "brad";
+		assertThat( invoker.invoke( context, ( Object ) target ) ).isEqualTo( "brad" );
+		assertThat( callSite.getDepth() ).isEqualTo( 1 );
+
+		InteropCallSite staticSite = ( InteropCallSite ) DynamicInteropService.bootstrapDereference(
+		    MethodHandles.lookup(), "dereference", InteropCallSite.DEREFERENCE_TYPE, "hello", 0 );
+		assertThat( staticSite.dynamicInvoker().invoke( context, ( Object ) target ) ).isEqualTo( InvokeDynamicFields.HELLO );
+	}
+
+	@DisplayName( "It never caches BoxLang types or member methods" )
+	@Test
+	void testNotCached() throws Throwable {
+		InteropCallSite callSite = ( InteropCallSite ) DynamicInteropService.bootstrapInvoke(
+		    MethodHandles.lookup(), "invoke", InteropCallSite.INVOKE_TYPE, "len", 0 );
+
+		assertThat( callSite.dynamicInvoker().invoke( context, ( Object ) "hello", new Object[] {} ) ).isEqualTo( 5 );
+		assertThat( callSite.dynamicInvoker().invoke( context, ( Object ) Array.of( 1, 2 ), new Object[] {} ) ).isEqualTo( 2 );
+		assertThat( callSite.getDepth() ).isEqualTo( 0 );
+	}
+
+	@DisplayName( "The ASM compiler emits invokedynamic call sites for Java interop" )
+	@Test
+	void testASMCallSites() {
+		instance.useASMBoxPiler();
+		try {
+			instance.executeSource(
+			    """
+			    target = createObject( "java", "TestCases.interop.InvokeDynamicFields" ).init();
+			    results = [];
+			    for ( i = 1; i <= 3; i++ ) {
+			    	results.append( target.hello( "world" ) & target.name );
+			    }
+			    """,
+			    context );
+		} finally {
+			instance.useJavaBoxpiler();
+		}
+		assertThat( variables.getAsArray( Key.of( "results" ) ).toList() ).containsExactly( "Hello worldluis", "Hello worldluis", "Hello worldluis" );
+	}
+
+}
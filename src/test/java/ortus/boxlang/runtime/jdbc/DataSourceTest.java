@@ -28,7 +28,9 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.math.BigDecimal;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.sql.Statement;
 
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
@@ -348,6 +350,73 @@ public class DataSourceTest {
 		assertEquals( 0, stats.getAsInteger( Key.of( "activeConnections" ) ) );
 	}
 
+	@DisplayName( "It reuses prepared statements through the statement cache" )
+	@Test
+	void testStatementCache() throws SQLException {
+		assertThat( datasource.getStatementCache() ).isNotNull();
+
+		IStruct		before	= datasource.getPoolStats();
+		String		sql		= "SELECT name FROM developers WHERE id = ? AND name IS NOT NULL";
+		Connection	physical;
+		try ( Connection connection = datasource.getConnection() ) {
+			physical = connection.unwrap( Connection.class );
+			for ( int i = 0; i < 3; i++ ) {
+				ExecutedQuery executedQuery = new PendingQuery( sql, Array.of( 1 ), new QueryOptions( new Struct() ) ).execute( connection, datasource );
+				assertEquals( "Luis Majano", executedQuery.getResults().getRowAsStruct( 0 ).get( "name" ) );
+			}
+			IStruct during = datasource.getPoolStats();
+			assertEquals( 1, during.getAsLong( Key.of( "statementCacheMisses" ) ) - before.getAsLong( Key.of( "statementCacheMisses" ) ) );
+			assertEquals( 2, during.getAsLong( Key.of( "statementCacheHits" ) ) - before.getAsLong( Key.of( "statementCacheHits" ) ) );
+			assertThat( during.getAsInteger( Key.of( "statementCacheSize" ) ) ).isAtLeast( 1 );
+		}
+		// The statements are cached by the physical connection, so they outlive the borrow
+		IStruct after = datasource.getPoolStats();
+		assertThat( after.getAsInteger( Key.of( "statementCacheSize" ) ) ).isAtLeast( 1 );
+		assertEquals( 0, after.getAsInteger( Key.of( "activeConnections" ) ) );
+
+		// The pool hands the thread the connection it returned last
+		try ( Connection connection = datasource.getConnection() ) {
+			assertThat( connection.unwrap( Connection.class ) ).isSameInstanceAs( physical );
+			new PendingQuery( sql, Array.of( 1 ), new QueryOptions( new Struct() ) ).execute( connection, datasource );
+			IStruct reborrowed = datasource.getPoolStats();
+			assertEquals( 1, reborrowed.getAsLong( Key.of( "statementCacheMisses" ) ) - before.getAsLong( Key.of( "statementCacheMisses" ) ) );
+			assertEquals( 3, reborrowed.getAsLong( Key.of( "statementCacheHits" ) ) - before.getAsLong( Key.of( "statementCacheHits" ) ) );
+		}
+	}
+
+	@DisplayName( "It prepares the statements of a transaction through the borrowed connection" )
+	@Test
+	void testStatementCacheInTransaction() throws SQLException {
+		String sql = "SELECT name FROM developers WHERE id = ? AND role IS NULL";
+		try ( Connection connection = datasource.getConnection() ) {
+			connection.setAutoCommit( false );
+			try {
+				PreparedStatement statement = datasource.getStatementCache().prepare( connection, sql, Statement.RETURN_GENERATED_KEYS );
+				assertThat( statement.getConnection() ).isSameInstanceAs( connection );
+				assertThat( datasource.getStatementCache().prepare( connection, sql, Statement.RETURN_GENERATED_KEYS ) ).isSameInstanceAs( statement );
+			} finally {
+				connection.rollback();
+				connection.setAutoCommit( true );
+			}
+		}
+	}
+
+	@DisplayName( "It can disable the statement cache" )
+	@Test
+	void testStatementCacheDisabled() {
+		DataSource uncached = DataSource.fromStruct( "uncachedDB", Struct.of(
+		    "driver", "derby",
+		    "connectionString", "jdbc:derby:memory:uncachedDB;create=true",
+		    "statementCacheSize", 0
+		) );
+		try {
+			assertThat( uncached.getStatementCache() ).isNull();
+			assertFalse( uncached.getPoolStats().containsKey( Key.of( "statementCacheHits" ) ) );
+		} finally {
+			uncached.shutdown();
+		}
+	}
+
 	@Disabled
 	@DisplayName( "It can query a datasource by name" )
 	@Test
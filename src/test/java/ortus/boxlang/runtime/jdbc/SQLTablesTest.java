@@ -0,0 +1,71 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.runtime.jdbc;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SQLTablesTest {
+
+	@DisplayName( "It finds the tables of a select" )
+	@Test
+	void testSelect() {
+		SQLTables tables = SQLTables.of( "SELECT * FROM developers d INNER JOIN roles r ON r.id = d.role_id WHERE d.id = ?" );
+		assertThat( tables.write() ).isFalse();
+		assertThat( tables.tables() ).containsExactly( "developers", "roles" );
+
+		assertThat( SQLTables.of( "select a.x, b.y from dbo.\"Users\" as a, [orders] b, items where a.id = b.id" ).tables() )
+		    .containsExactly( "users", "orders", "items" );
+		assertThat( SQLTables.of( "SELECT 1" ).tables() ).isEmpty();
+	}
+
+	@DisplayName( "It ignores comments and string literals" )
+	@Test
+	void testLiterals() {
+		SQLTables tables = SQLTables.of( "-- from comments\nSELECT 'from quoted' FROM /* join hidden */ developers WHERE name = 'O''Reily from x'" );
+		assertThat( tables.tables() ).containsExactly( "developers" );
+	}
+
+	@DisplayName( "It finds the tables of writes" )
+	@Test
+	void testWrites() {
+		assertThat( SQLTables.of( "INSERT INTO developers ( id ) VALUES ( 1 )" ) ).isEqualTo( new SQLTables( true, Set.of( "developers" ) ) );
+		assertThat( SQLTables.of( "UPDATE developers SET name = ? WHERE id IN ( SELECT id FROM admins )" ).tables() )
+		    .containsExactly( "developers", "admins" );
+		assertThat( SQLTables.of( "DELETE FROM developers WHERE id = 1" ).tables() ).containsExactly( "developers" );
+		assertThat( SQLTables.of( "DELETE d FROM developers d JOIN roles r ON r.id = d.role_id" ).tables() ).containsExactly( "d", "developers", "roles" );
+		assertThat( SQLTables.of( "TRUNCATE TABLE developers" ).tables() ).containsExactly( "developers" );
+		assertThat( SQLTables.of( "WITH old AS ( SELECT id FROM developers ) DELETE FROM developers WHERE id IN ( SELECT id FROM old )" ).write() )
+		    .isTrue();
+		assertThat( SQLTables.of( "WITH old AS ( SELECT id FROM developers ) SELECT * FROM old FOR UPDATE" ).write() ).isFalse();
+		assertThat( SQLTables.of( "SELECT 1; DELETE FROM developers" ).write() ).isTrue();
+	}
+
+	@DisplayName( "It takes writes without tables as writes to any table" )
+	@Test
+	void testUnknownWrites() {
+		assertThat( SQLTables.of( "CALL resetEverything()" ).writesAnyTable() ).isTrue();
+		assertThat( SQLTables.of( "{ call resetEverything() }" ).writesAnyTable() ).isTrue();
+		assertThat( SQLTables.of( "SELECT * FROM developers" ).writesAnyTable() ).isFalse();
+	}
+
+}
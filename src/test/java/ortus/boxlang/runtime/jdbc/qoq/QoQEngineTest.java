@@ -0,0 +1,198 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.runtime.jdbc.qoq;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ortus.boxlang.compiler.parser.BoxSourceType;
+import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.context.ScriptingRequestBoxContext;
+import ortus.boxlang.runtime.scopes.IScope;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.scopes.VariablesScope;
+import ortus.boxlang.runtime.types.Query;
+import ortus.boxlang.runtime.types.exceptions.DatabaseException;
+
+public class QoQEngineTest {
+
+	static BoxRuntime	instance;
+	IBoxContext			context;
+	IScope				variables;
+	static Key			result	= new Key( "result" );
+
+	@BeforeAll
+	public static void setUp() {
+		instance = BoxRuntime.getInstance( true );
+	}
+
+	@BeforeEach
+	public void setupEach() {
+		context		= new ScriptingRequestBoxContext( instance.getRuntimeContext() );
+		variables	= context.getScopeNearby( VariablesScope.name );
+		instance.executeSource(
+		    """
+		    employees = queryNew( "id,name,dept,salary", "integer,varchar,integer,double", [
+		    	[ 1, "Luis", 1, 100.5 ],
+		    	[ 2, "Brad", 1, 90 ],
+		    	[ 3, "Jon", 2, 80 ],
+		    	[ 4, "Eric", 2, 70 ],
+		    	[ 5, "Grant", 3, 60 ]
+		    ] );
+		    depts = queryNew( "id,title", "integer,varchar", [
+		    	[ 1, "Engineering" ],
+		    	[ 2, "Support" ],
+		    	[ 4, "Sales" ]
+		    ] );
+		    """,
+		    context );
+	}
+
+	@DisplayName( "It can select and filter columns" )
+	@Test
+	public void testSelectWhere() {
+		instance.executeSource(
+		    """
+		    result = queryExecute( "SELECT name, salary FROM employees WHERE dept = 1 AND salary > ?", [ 95 ], { dbtype : "query" } );
+		    """,
+		    context );
+		Query query = variables.getAsQuery( result );
+		assertThat( query.size() ).isEqualTo( 1 );
+		assertThat( query.getColumnArray().size() ).isEqualTo( 2 );
+		assertThat( query.getCell( Key.of( "name" ), 0 ) ).isEqualTo( "Luis" );
+	}
+
+	@DisplayName( "It can use named parameters, functions and expressions" )
+	@Test
+	public void testExpressions() {
+		instance.executeSource(
+		    """
+		    result = queryExecute(
+		    	"SELECT upper( name ) AS upperName, salary * 2 AS double FROM employees WHERE name LIKE :pattern OR id IN ( 4, 5 ) ORDER BY id",
+		    	{ pattern : "B%" },
+		    	{ dbtype : "query" }
+		    );
+		    """,
+		    context );
+		Query query = variables.getAsQuery( result );
+		assertThat( query.size() ).isEqualTo( 3 );
+		assertThat( query.getColumnDataAsArray( Key.of( "upperName" ) ).toList() ).containsExactly( "BRAD", "ERIC", "GRANT" ).inOrder();
+		assertThat( ( ( Number ) query.getCell( Key.of( "double" ), 2 ) ).doubleValue() ).isEqualTo( 120.0 );
+	}
+
+	@DisplayName( "It can join queries" )
+	@Test
+	public void testJoins() {
+		instance.executeSource(
+		    """
+		    inner = queryExecute( "SELECT e.name, d.title FROM employees e INNER JOIN depts d ON e.dept = d.id ORDER BY e.id", [], { dbtype : "query" } );
+		    outer = queryExecute( "SELECT e.name, d.title FROM employees e LEFT JOIN depts d ON e.dept = d.id ORDER BY e.id", [], { dbtype : "query" } );
+		    comma = queryExecute( "SELECT e.name FROM employees e, depts d WHERE e.dept = d.id AND d.title = 'Support'", [], { dbtype : "query" } );
+		    """,
+		    context );
+		Query inner = variables.getAsQuery( Key.of( "inner" ) );
+		assertThat( inner.size() ).isEqualTo( 4 );
+		assertThat( inner.getCell( Key.of( "title" ), 2 ) ).isEqualTo( "Support" );
+
+		Query outer = variables.getAsQuery( Key.of( "outer" ) );
+		assertThat( outer.size() ).isEqualTo( 5 );
+		assertThat( outer.getCell( Key.of( "name" ), 4 ) ).isEqualTo( "Grant" );
+		assertThat( outer.getCell( Key.of( "title" ), 4 ) ).isNull();
+
+		Query comma = variables.getAsQuery( Key.of( "comma" ) );
+		assertThat( comma.getColumnDataAsArray( Key.of( "name" ) ).toList() ).containsExactly( "Jon", "Eric" );
+	}
+
+	@DisplayName( "It can group and aggregate" )
+	@Test
+	public void testGroupBy() {
+		instance.executeSource(
+		    """
+		    result = queryExecute(
+		    	"SELECT dept, count(*) AS total, sum( salary ) AS payroll, max( name ) AS last FROM employees GROUP BY dept HAVING count(*) > 1 ORDER BY payroll DESC",
+		    	[],
+		    	{ dbtype : "query" }
+		    );
+		    totals = queryExecute( "SELECT count(*) AS total, avg( salary ) AS average FROM employees WHERE id > 100", [], { dbtype : "query" } );
+		    """,
+		    context );
+		Query query = variables.getAsQuery( result );
+		assertThat( query.size() ).isEqualTo( 2 );
+		assertThat( query.getCell( Key.of( "dept" ), 0 ) ).isEqualTo( 1 );
+		assertThat( query.getCell( Key.of( "total" ), 0 ) ).isEqualTo( 2L );
+		assertThat( query.getCell( Key.of( "payroll" ), 0 ) ).isEqualTo( 190.5 );
+		assertThat( query.getCell( Key.of( "last" ), 1 ) ).isEqualTo( "Jon" );
+
+		// An aggregate without group by returns a row even without input rows
+		Query totals = variables.getAsQuery( Key.of( "totals" ) );
+		assertThat( totals.size() ).isEqualTo( 1 );
+		assertThat( totals.getCell( Key.of( "total" ), 0 ) ).isEqualTo( 0L );
+		assertThat( totals.getCell( Key.of( "average" ), 0 ) ).isNull();
+	}
+
+	@DisplayName( "It can order, limit and union" )
+	@Test
+	public void testOrderLimitUnion() {
+		instance.executeSource(
+		    """
+		    top = queryExecute( "SELECT name FROM employees ORDER BY salary DESC LIMIT 2 OFFSET 1", [], { dbtype : "query" } );
+		    maxed = queryExecute( "SELECT name FROM employees", [], { dbtype : "query", maxRows : 3 } );
+		    unioned = queryExecute( "SELECT dept AS id FROM employees UNION SELECT id FROM depts ORDER BY 1", [], { dbtype : "query" } );
+		    unionAll = queryExecute( "SELECT dept AS id FROM employees UNION ALL SELECT id FROM depts", [], { dbtype : "query" } );
+		    """,
+		    context );
+		assertThat( variables.getAsQuery( Key.of( "top" ) ).getColumnDataAsArray( Key.of( "name" ) ).toList() ).containsExactly( "Brad", "Jon" ).inOrder();
+		assertThat( variables.getAsQuery( Key.of( "maxed" ) ).size() ).isEqualTo( 3 );
+		assertThat( variables.getAsQuery( Key.of( "unioned" ) ).getColumnDataAsArray( Key.of( "id" ) ).toList() ).containsExactly( 1, 2, 3, 4 ).inOrder();
+		assertThat( variables.getAsQuery( Key.of( "unionAll" ) ).size() ).isEqualTo( 8 );
+	}
+
+	@DisplayName( "It can run from the query component" )
+	@Test
+	public void testQueryComponent() {
+		instance.executeSource(
+		    """
+		    <bx:query name="result" dbtype="query">
+		    SELECT DISTINCT dept FROM employees ORDER BY dept DESC
+		    </bx:query>
+		    """,
+		    context, BoxSourceType.BOXTEMPLATE );
+		assertThat( variables.getAsQuery( result ).getColumnDataAsArray( Key.of( "dept" ) ).toList() ).containsExactly( 3, 2, 1 ).inOrder();
+	}
+
+	@DisplayName( "It caches parsed statements and reports errors" )
+	@Test
+	public void testParseCacheAndErrors() {
+		QoQEngine.clearCache();
+		QoQStatement statement = QoQEngine.parse( "SELECT * FROM employees" );
+		assertThat( QoQEngine.parse( "SELECT * FROM employees" ) ).isSameInstanceAs( statement );
+
+		assertThrows( DatabaseException.class, () -> QoQEngine.parse( "SELECT FROM employees" ) );
+		assertThrows( DatabaseException.class, () -> QoQEngine.execute( context, "SELECT * FROM nope", List.of(), -1 ) );
+		assertThrows( DatabaseException.class, () -> QoQEngine.execute( context, "SELECT missing FROM employees", List.of(), -1 ) );
+	}
+
+}
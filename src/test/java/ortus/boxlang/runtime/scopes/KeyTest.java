@@ -88,6 +88,25 @@ public class KeyTest {
 		assertThat( keys[ 2 ].getName() ).isEqualTo( "Test3" );
 	}
 
+	@DisplayName( "The builder returns the same key for the same name" )
+	@Test
+	public void testInterning() {
+		assertThat( Key.of( "interned" ) ).isSameInstanceAs( Key.of( new String( "interned" ) ) );
+		assertThat( Key.of( ( Object ) "interned" ) ).isSameInstanceAs( Key.of( "interned" ) );
+		assertThat( Key.of( "Interned" ) ).isNotSameInstanceAs( Key.of( "interned" ) );
+		assertThat( Key.of( "Interned" ) ).isEqualTo( Key.of( "interned" ) );
+		assertThat( Key.of( "Interned" ).getName() ).isEqualTo( "Interned" );
+	}
+
+	@DisplayName( "Keys with the same hash code but different names are not equal" )
+	@Test
+	public void testHashCollision() {
+		Key	key1	= Key.of( "BB" );
+		Key	key2	= Key.of( "C#" );
+		assertThat( key1.hashCode() ).isEqualTo( key2.hashCode() );
+		assertThat( key1 ).isNotEqualTo( key2 );
+	}
+
 	@DisplayName( "Test the original value" )
 	@Test
 	public void testTheOriginalValue() {
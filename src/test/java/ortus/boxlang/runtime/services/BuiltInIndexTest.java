@@ -0,0 +1,68 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.runtime.services;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.bifs.BIF;
+import ortus.boxlang.runtime.bifs.global.array.ArrayAppend;
+import ortus.boxlang.runtime.components.system.Output;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.BoxLangType;
+
+class BuiltInIndexTest {
+
+	@DisplayName( "It reads the providers of a service without loading them" )
+	@Test
+	void testReadProviders() {
+		assertThat( BuiltInIndex.readProviders( BIF.class, BoxRuntime.class.getClassLoader() ) ).contains( ArrayAppend.class.getName() );
+	}
+
+	@DisplayName( "It indexes the annotations of the BIFs and components" )
+	@Test
+	void testGenerate() {
+		BuiltInIndex			index		= BuiltInIndex.generate( BoxRuntime.class.getClassLoader() );
+
+		BuiltInIndex.BIFEntry	arrayAppend	= index.bifs()
+		    .stream()
+		    .filter( entry -> entry.className().equals( ArrayAppend.class.getName() ) )
+		    .findFirst()
+		    .orElseThrow();
+		assertThat( arrayAppend.names() ).containsExactly( "ArrayAppend" );
+		assertThat( arrayAppend.members() ).containsExactly( new BuiltInIndex.MemberEntry( "append", "ARRAY", Object.class.getName(), null ) );
+
+		assertThat( index.components()
+		    .stream()
+		    .anyMatch( entry -> entry.className().equals( Output.class.getName() ) && entry.requiresBody() ) ).isTrue();
+	}
+
+	@DisplayName( "It registers functions which load their class on demand" )
+	@Test
+	void testRegistration() {
+		FunctionService service = BoxRuntime.getInstance().getFunctionService();
+
+		assertThat( service.getGlobalFunction( "arrayAppend" ).getBIFClassName() ).isEqualTo( ArrayAppend.class.getName() );
+		assertThat( service.getGlobalFunction( "arrayAppend" ).getBIFClass() ).isEqualTo( ArrayAppend.class );
+		assertThat( service.getMemberMethod( Key.of( "append" ), BoxLangType.ARRAY ) ).isNotNull();
+	}
+
+}
@@ -0,0 +1,75 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.runtime.types;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ortus.boxlang.runtime.scopes.Key;
+
+class CopyOnWriteStructTest {
+
+	@DisplayName( "It reads through to the source until it is modified" )
+	@Test
+	void testReadsThroughUntilModified() {
+		IStruct				source	= Struct.of( "a", 1, "nested", Struct.of( "b", 2 ) );
+		CopyOnWriteStruct	struct	= new CopyOnWriteStruct( source );
+
+		assertThat( struct ).isEqualTo( source );
+		assertThat( struct.isCopied() ).isFalse();
+		assertThat( CopyOnWriteStruct.sourceOf( struct ) ).isSameInstanceAs( source );
+
+		struct.put( "c", 3 );
+
+		assertThat( struct.isCopied() ).isTrue();
+		assertThat( CopyOnWriteStruct.sourceOf( struct ) ).isSameInstanceAs( struct );
+		assertThat( struct.get( "c" ) ).isEqualTo( 3 );
+		assertThat( source.containsKey( Key.of( "c" ) ) ).isFalse();
+	}
+
+	@DisplayName( "It keeps changes to nested structs private" )
+	@Test
+	void testNestedChangesStayPrivate() {
+		IStruct				source	= Struct.of( "nested", Struct.of( "b", 2 ) );
+		CopyOnWriteStruct	struct	= new CopyOnWriteStruct( source );
+
+		struct.getAsStruct( Key.of( "nested" ) ).put( "c", 3 );
+		struct.put( "d", 4 );
+
+		assertThat( struct.getAsStruct( Key.of( "nested" ) ).get( "c" ) ).isEqualTo( 3 );
+		assertThat( source.getAsStruct( Key.of( "nested" ) ).containsKey( Key.of( "c" ) ) ).isFalse();
+		assertThat( source.containsKey( Key.of( "d" ) ) ).isFalse();
+	}
+
+	@DisplayName( "It keeps the ordering of sorted structs when copied" )
+	@Test
+	void testSortedCopy() {
+		IStruct source = new Struct( Struct.KEY_LENGTH_LONGEST_FIRST_COMPARATOR );
+		source.put( "/a", 1 );
+		source.put( "/abc", 2 );
+		CopyOnWriteStruct struct = new CopyOnWriteStruct( source );
+
+		struct.put( "/ab", 3 );
+
+		assertThat( struct.getKeysAsStrings() ).containsExactly( "/abc", "/ab", "/a" ).inOrder();
+		assertThat( source.size() ).isEqualTo( 2 );
+	}
+
+}
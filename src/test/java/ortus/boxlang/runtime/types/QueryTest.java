@@ -19,6 +19,7 @@ package ortus.boxlang.runtime.types;
 
 import static com.google.common.truth.Truth.assertThat;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.DisplayName;
@@ -31,6 +32,8 @@ import ortus.boxlang.runtime.context.IBoxContext;
 import ortus.boxlang.runtime.context.ScriptingRequestBoxContext;
 import ortus.boxlang.runtime.scopes.Key;
 import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
+import ortus.boxlang.runtime.types.exceptions.UnmodifiableException;
+import ortus.boxlang.runtime.types.immutable.ImmutableQuery;
 
 public class QueryTest {
 
@@ -121,4 +124,97 @@ public class QueryTest {
 		assertThat( stArray.size() ).isEqualTo( 2 );
 	}
 
+	@DisplayName( "Test typed columns are stored in primitive arrays" )
+	@Test
+	void testColumnarStorage() {
+		Query qry = new Query();
+		qry.addColumn( Key.of( "id" ), QueryColumnType.INTEGER );
+		qry.addColumn( Key.of( "name" ), QueryColumnType.VARCHAR );
+		qry.addRow( new Object[] { 1, "luis" } );
+		qry.addRow( new Object[] { null, "brad" } );
+		qry.addRow( new Object[] { 3, "luis" } );
+
+		assertInstanceOf( QueryColumnStorage.IntStorage.class, qry.getColumnStorage( Key.of( "id" ) ) );
+		assertInstanceOf( QueryColumnStorage.DictionaryStorage.class, qry.getColumnStorage( Key.of( "name" ) ) );
+		assertThat( ( ( QueryColumnStorage.DictionaryStorage ) qry.getColumnStorage( Key.of( "name" ) ) ).getDictionarySize() ).isEqualTo( 2 );
+		assertThat( qry.getCell( Key.of( "id" ), 1 ) ).isNull();
+		assertThat( qry.getColumnData( Key.of( "id" ) ) ).isEqualTo( new Object[] { 1, null, 3 } );
+		assertThat( qry.getRow( 2 ) ).isEqualTo( new Object[] { 3, "luis" } );
+
+		// A value that doesn't fit the primitive storage demotes the column, without losing data
+		qry.setCell( Key.of( "id" ), 0, "one" );
+		assertInstanceOf( QueryColumnStorage.ObjectStorage.class, qry.getColumnStorage( Key.of( "id" ) ) );
+		assertThat( qry.getColumnData( Key.of( "id" ) ) ).isEqualTo( new Object[] { "one", null, 3 } );
+	}
+
+	@DisplayName( "Test row operations are applied to every column" )
+	@Test
+	void testColumnarRowOperations() {
+		Query qry = new Query();
+		qry.addColumn( Key.of( "id" ), QueryColumnType.INTEGER );
+		qry.addColumn( Key.of( "score" ), QueryColumnType.DOUBLE );
+		qry.addColumn( Key.of( "name" ), QueryColumnType.VARCHAR );
+		qry.addRow( new Object[] { 1, 1.5d, "a" } );
+		qry.addRow( new Object[] { 2, 2.5d, "b" } );
+		qry.addRow( new Object[] { 3, 3.5d, "c" } );
+
+		qry.permute( new int[] { 2, 0, 1 } );
+		assertThat( qry.getColumnData( Key.of( "name" ) ) ).isEqualTo( new Object[] { "c", "a", "b" } );
+		assertThat( qry.getColumnData( Key.of( "score" ) ) ).isEqualTo( new Object[] { 3.5d, 1.5d, 2.5d } );
+
+		Query selected = qry.selectRows( new int[] { 2, 0 } );
+		assertThat( selected.size() ).isEqualTo( 2 );
+		assertThat( selected.getRow( 0 ) ).isEqualTo( new Object[] { 2, 2.5d, "b" } );
+		assertThat( selected.getRow( 1 ) ).isEqualTo( new Object[] { 3, 3.5d, "c" } );
+
+		qry.deleteRow( 0 );
+		qry.getData().add( 0, new Object[] { 4, 4.5d, "d" } );
+		assertThat( qry.getColumnData( Key.of( "id" ) ) ).isEqualTo( new Object[] { 4, 1, 2 } );
+
+		// Columns after a deleted one keep reading their own data
+		qry.deleteColumn( Key.of( "score" ) );
+		assertThat( qry.getColumn( Key.of( "name" ) ).getCell( 0 ) ).isEqualTo( "d" );
+		assertThat( qry.getRow( 0 ) ).isEqualTo( new Object[] { 4, "d" } );
+	}
+
+	@DisplayName( "Test inserting a query fills the columns it lacks with nulls" )
+	@Test
+	void testInsertQueryAt() {
+		Query qry = new Query();
+		qry.addColumn( Key.of( "id" ), QueryColumnType.INTEGER );
+		qry.addColumn( Key.of( "name" ), QueryColumnType.VARCHAR );
+		qry.addRow( new Object[] { 1, "a" } );
+		qry.addRow( new Object[] { 4, "d" } );
+
+		Query inserted = new Query();
+		inserted.addColumn( Key.of( "id" ), QueryColumnType.INTEGER );
+		inserted.addRow( new Object[] { 2 } );
+		inserted.addRow( new Object[] { 3 } );
+
+		qry.insertQueryAt( 1, inserted );
+		assertThat( qry.size() ).isEqualTo( 4 );
+		assertThat( qry.getColumnData( Key.of( "id" ) ) ).isEqualTo( new Object[] { 1, 2, 3, 4 } );
+		assertThat( qry.getColumnData( Key.of( "name" ) ) ).isEqualTo( new Object[] { "a", null, null, "d" } );
+
+		inserted.addColumn( Key.of( "other" ), QueryColumnType.VARCHAR );
+		assertThrows( BoxRuntimeException.class, () -> qry.insertQueryAt( 0, inserted ) );
+	}
+
+	@DisplayName( "Test an immutable query can't be modified through its column-wise operations" )
+	@Test
+	void testImmutableColumnarOperations() {
+		Query qry = new Query();
+		qry.addColumn( Key.of( "id" ), QueryColumnType.INTEGER );
+		qry.addRow( new Object[] { 1 } );
+		qry.addRow( new Object[] { 2 } );
+		ImmutableQuery immutable = qry.toImmutable();
+
+		assertThrows( UnmodifiableException.class, () -> immutable.permute( new int[] { 1, 0 } ) );
+		assertThrows( UnmodifiableException.class, () -> immutable.setRow( 0, new Object[] { 3 } ) );
+		assertThrows( UnsupportedOperationException.class, () -> immutable.getData().set( 0, new Object[] { 3 } ) );
+		immutable.getColumnStorage( Key.of( "id" ) ).permute( new int[] { 1, 0 } );
+		assertThat( immutable.getColumnData( Key.of( "id" ) ) ).isEqualTo( new Object[] { 1, 2 } );
+		assertInstanceOf( ImmutableQuery.class, immutable.selectRows( new int[] { 1 } ) );
+	}
+
 }
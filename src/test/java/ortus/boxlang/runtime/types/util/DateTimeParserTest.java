@@ -0,0 +1,124 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.runtime.types.util;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class DateTimeParserTest {
+
+	static final ZoneId	UTC	= ZoneId.of( "UTC" );
+	static Locale		defaultLocale;
+
+	@BeforeAll
+	static void setUp() {
+		defaultLocale = Locale.getDefault();
+		Locale.setDefault( Locale.US );
+	}
+
+	@AfterAll
+	static void tearDown() {
+		Locale.setDefault( defaultLocale );
+	}
+
+	@DisplayName( "It parses the common date formats" )
+	@Test
+	void testDates() {
+		LocalDateTime expected = LocalDateTime.of( 2024, 4, 2, 0, 0 );
+		assertThat( local( "2024-04-02" ) ).isEqualTo( expected );
+		assertThat( local( "2024/04/02" ) ).isEqualTo( expected );
+		assertThat( local( "20240402" ) ).isEqualTo( expected );
+		assertThat( local( "Apr 02 2024" ) ).isEqualTo( expected );
+		assertThat( local( "apr.02.2024" ) ).isEqualTo( expected );
+		assertThat( local( "02-April-2024" ) ).isEqualTo( expected );
+		assertThat( local( "Tue, 02 Apr 2024" ) ).isEqualTo( expected );
+		assertThat( local( "04/02/2024" ) ).isEqualTo( LocalDateTime.of( 2024, 2, 4, 0, 0 ) );
+		assertThat( local( "12/31/2024" ) ).isEqualTo( LocalDateTime.of( 2024, 12, 31, 0, 0 ) );
+	}
+
+	@DisplayName( "It parses the common date time formats" )
+	@Test
+	void testDateTimes() {
+		assertThat( local( "20240402210100" ) ).isEqualTo( LocalDateTime.of( 2024, 4, 2, 21, 1 ) );
+		assertThat( local( "02 Apr 2024 21:01:00" ) ).isEqualTo( LocalDateTime.of( 2024, 4, 2, 21, 1 ) );
+		assertThat( local( "2024-05-13T18:40:59.898" ) ).isEqualTo( LocalDateTime.of( 2024, 5, 13, 18, 40, 59, 898_000_000 ) );
+	}
+
+	@DisplayName( "It applies zones and offsets" )
+	@Test
+	void testZones() {
+		assertThat( DateTimeParser.parse( "2024-04-02T12:00:00Z", UTC ).toLocalDateTime() ).isEqualTo( LocalDateTime.of( 2024, 4, 2, 12, 0 ) );
+		assertThat( DateTimeParser.parse( "2024-04-02T12:00:00+0200", UTC ).toLocalDateTime() ).isEqualTo( LocalDateTime.of( 2024, 4, 2, 10, 0 ) );
+		assertThat( DateTimeParser.parse( "2024-04-02T12:00:00.000+02:00", UTC ).toLocalDateTime() )
+		    .isEqualTo( LocalDateTime.of( 2024, 4, 2, 10, 0 ) );
+		assertThat( DateTimeParser.parse( "Tue, 02 Apr 2024 21:01:00 CEST", UTC ).toLocalDateTime() )
+		    .isEqualTo( LocalDateTime.of( 2024, 4, 2, 19, 1 ) );
+		assertThat( DateTimeParser.parse( "Tue, 02 Apr 2024 21:01:00 GMT-05:00", UTC ).toLocalDateTime() )
+		    .isEqualTo( LocalDateTime.of( 2024, 4, 3, 2, 1 ) );
+
+		ZonedDateTime local = DateTimeParser.parse( "2024-04-02", ZoneOffset.ofHours( 5 ) );
+		assertThat( local.getOffset() ).isEqualTo( ZoneOffset.ofHours( 5 ) );
+		assertThat( local.toLocalDateTime() ).isEqualTo( LocalDateTime.of( 2024, 4, 2, 0, 0 ) );
+	}
+
+	@DisplayName( "It rejects strings which are not in a format or have fields out of range" )
+	@Test
+	void testInvalid() {
+		assertThat( DateTimeParser.parse( "invalid_date_string", UTC ) ).isNull();
+		assertThat( DateTimeParser.parse( "", UTC ) ).isNull();
+		assertThat( DateTimeParser.parse( "2024-02-30", UTC ) ).isNull();
+		assertThat( DateTimeParser.parse( "2024-13-01", UTC ) ).isNull();
+		assertThat( DateTimeParser.parse( "2024-04-02T24:00:00", UTC ) ).isNull();
+		// Strict millis, so microseconds are left to the other parsers
+		assertThat( DateTimeParser.parse( "2024-05-13T18:40:59.898284", UTC ) ).isNull();
+		// The day name has to match the date
+		assertThat( DateTimeParser.parse( "Wed, 02 Apr 2024", UTC ) ).isNull();
+		assertThat( DateTimeParser.parse( "2024040", UTC ) ).isNull();
+		assertThat( DateTimeParser.parse( "2024-04-02 10:00", UTC ) ).isNull();
+	}
+
+	@DisplayName( "It shares formatters by mask and locale" )
+	@Test
+	void testFormatterCache() {
+		DateTimeFormatter formatter = DateTimeFormatterCache.get( "yyyy-MM-dd", Locale.US );
+		assertThat( DateTimeFormatterCache.get( "yyyy-MM-dd", Locale.US ) ).isSameInstanceAs( formatter );
+		assertThat( DateTimeFormatterCache.get( "yyyy-MM-dd", Locale.FRANCE ) ).isNotSameInstanceAs( formatter );
+		assertThat( DateTimeFormatterCache.get( "yyyy-MM-dd", Locale.FRANCE ).getLocale() ).isEqualTo( Locale.FRANCE );
+
+		DateTimeFormatter localized = DateTimeFormatterCache.localize( DateTimeFormatter.ISO_LOCAL_DATE, Locale.FRANCE );
+		assertThat( DateTimeFormatterCache.localize( DateTimeFormatter.ISO_LOCAL_DATE, Locale.FRANCE ) ).isSameInstanceAs( localized );
+		assertThat( localized.getLocale() ).isEqualTo( Locale.FRANCE );
+	}
+
+	private static LocalDateTime local( String value ) {
+		ZonedDateTime parsed = DateTimeParser.parse( value, UTC );
+		return parsed == null ? null : parsed.toLocalDateTime();
+	}
+
+}
@@ -0,0 +1,109 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.runtime.util;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.io.StringWriter;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class OutputBufferTest {
+
+	@DisplayName( "It keeps small and large writes in order" )
+	@Test
+	void testAppend() {
+		OutputBuffer	buffer	= new OutputBuffer();
+		String			large	= "x".repeat( OutputBuffer.CHUNK_SIZE + 10 );
+
+		buffer.append( "Hello" ).append( ' ' ).append( large ).append( "World", 1, 3 );
+		for ( int i = 0; i < 2000; i++ ) {
+			buffer.append( "12345" );
+		}
+
+		assertThat( buffer.length() ).isEqualTo( 6 + large.length() + 2 + 10000 );
+		assertThat( buffer.toString() ).isEqualTo( "Hello " + large + "or" + "12345".repeat( 2000 ) );
+	}
+
+	@DisplayName( "It moves the output of another buffer and empties it" )
+	@Test
+	void testAppendBuffer() {
+		OutputBuffer	parent	= new OutputBuffer().append( "parent " );
+		OutputBuffer	child	= new OutputBuffer().append( "child" );
+
+		parent.append( child ).append( " after" );
+		child.append( "again" );
+
+		assertThat( parent.toString() ).isEqualTo( "parent child after" );
+		assertThat( child.toString() ).isEqualTo( "again" );
+		assertThat( parent.append( new OutputBuffer() ).length() ).isEqualTo( 18 );
+	}
+
+	@DisplayName( "It writes to and streams to sinks" )
+	@Test
+	void testSinks() {
+		OutputBuffer	buffer	= new OutputBuffer().append( "held" );
+		StringWriter	writer	= new StringWriter();
+
+		buffer.streamTo( writer );
+		assertThat( buffer.isEmpty() ).isTrue();
+		assertThat( buffer.isStreaming() ).isTrue();
+
+		buffer.append( " streamed" ).append( new OutputBuffer().append( " linked" ) );
+		assertThat( writer.toString() ).isEqualTo( "held streamed linked" );
+		assertThat( buffer.isEmpty() ).isTrue();
+
+		StringBuffer capture = new StringBuffer();
+		new OutputBuffer( capture ).append( "captured" );
+		assertThat( capture.toString() ).isEqualTo( "captured" );
+	}
+
+	@DisplayName( "It keeps its output in a string buffer for the former API" )
+	@Test
+	void testAsStringBuffer() {
+		OutputBuffer	buffer	= new OutputBuffer().append( "Hello" );
+		StringBuffer	legacy	= buffer.asStringBuffer();
+
+		assertThat( legacy.toString() ).isEqualTo( "Hello" );
+		buffer.append( ' ' ).append( new OutputBuffer().append( "World" ) );
+		legacy.append( "!" );
+		assertThat( buffer.toString() ).isEqualTo( "Hello World!" );
+		assertThat( buffer.length() ).isEqualTo( 12 );
+		assertThat( buffer.asStringBuffer() ).isSameInstanceAs( legacy );
+
+		OutputBuffer parent = new OutputBuffer().append( "parent " );
+		parent.append( buffer );
+		assertThat( parent.toString() ).isEqualTo( "parent Hello World!" );
+		assertThat( buffer.isEmpty() ).isTrue();
+		assertThat( legacy.length() ).isEqualTo( 0 );
+
+		StringBuffer capture = new StringBuffer();
+		assertThat( new OutputBuffer( capture ).asStringBuffer() ).isSameInstanceAs( capture );
+	}
+
+	@DisplayName( "It clears its output" )
+	@Test
+	void testClear() {
+		OutputBuffer buffer = new OutputBuffer().append( "gone" );
+		buffer.clear().append( "kept" );
+
+		assertThat( buffer.toString() ).isEqualTo( "kept" );
+	}
+
+}
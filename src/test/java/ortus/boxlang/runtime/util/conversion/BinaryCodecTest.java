@@ -0,0 +1,296 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.runtime.util.conversion;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.application.Application;
+import ortus.boxlang.runtime.application.Session;
+import ortus.boxlang.runtime.cache.BoxCacheEntry;
+import ortus.boxlang.runtime.cache.ICacheEntry;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.context.ScriptingRequestBoxContext;
+import ortus.boxlang.runtime.runnables.IClassRunnable;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.scopes.SessionScope;
+import ortus.boxlang.runtime.scopes.VariablesScope;
+import ortus.boxlang.runtime.types.Array;
+import ortus.boxlang.runtime.types.DateTime;
+import ortus.boxlang.runtime.types.Function;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.Query;
+import ortus.boxlang.runtime.types.QueryColumnType;
+import ortus.boxlang.runtime.types.Struct;
+import ortus.boxlang.runtime.types.exceptions.BoxIOException;
+
+public class BinaryCodecTest {
+
+	static BoxRuntime	instance;
+	static IBoxContext	context;
+
+	@BeforeAll
+	public static void setUp() {
+		instance	= BoxRuntime.getInstance( true );
+		context		= new ScriptingRequestBoxContext( instance.getRuntimeContext() );
+	}
+
+	@DisplayName( "It round trips the simple values" )
+	@Test
+	public void testSimpleValues() {
+		Object[] values = {
+		    null, true, false, 0, -1, Integer.MAX_VALUE, Integer.MIN_VALUE, Long.MIN_VALUE, 3.25, Double.NaN, "", "héllo wörld",
+		    new BigDecimal( "12345678901234567890.000123" ), Key.of( "myKey" )
+		};
+		for ( Object value : values ) {
+			assertThat( BinaryCodec.decode( BinaryCodec.encode( value ) ) ).isEqualTo( value );
+		}
+		assertThat( ( byte[] ) BinaryCodec.decode( BinaryCodec.encode( new byte[] { 1, 2, 3 } ) ) ).isEqualTo( new byte[] { 1, 2, 3 } );
+	}
+
+	@DisplayName( "It round trips structs with their type, arrays and dates" )
+	@Test
+	public void testContainers() {
+		DateTime	date		= new DateTime( ZonedDateTime.of( 2024, 4, 2, 21, 1, 0, 123_456_789, ZoneId.of( "Europe/Madrid" ) ) );
+		IStruct		sensitive	= new Struct( IStruct.TYPES.CASE_SENSITIVE );
+		sensitive.put( "a", 1 );
+		sensitive.put( "A", 2 );
+		Struct	linked	= new Struct( IStruct.TYPES.LINKED );
+		linked.put( "z", 1 );
+		linked.put( "a", 2 );
+		IStruct	value	= Struct.of( "sensitive", sensitive, "linked", linked, "list", Array.of( 1, "two", null, date ) );
+
+		IStruct	decoded	= ( IStruct ) BinaryCodec.decode( BinaryCodec.encode( value ) );
+
+		assertThat( decoded ).isEqualTo( value );
+		assertThat( decoded.getAsStruct( Key.of( "sensitive" ) ).getType() ).isEqualTo( IStruct.TYPES.CASE_SENSITIVE );
+		assertThat( decoded.getAsStruct( Key.of( "sensitive" ) ).get( "A" ) ).isEqualTo( 2 );
+		assertThat( decoded.getAsStruct( Key.of( "linked" ) ).getKeysAsStrings() ).containsExactly( "z", "a" ).inOrder();
+		DateTime decodedDate = ( DateTime ) decoded.getAsArray( Key.of( "list" ) ).get( 3 );
+		assertThat( decodedDate.getWrapped() ).isEqualTo( date.getWrapped() );
+	}
+
+	@DisplayName( "It keeps shared and circular references" )
+	@Test
+	public void testReferences() {
+		Array	shared	= Array.of( 1, 2 );
+		IStruct	value	= Struct.of( "first", shared, "second", shared );
+		value.put( "self", value );
+
+		IStruct	decoded	= ( IStruct ) BinaryCodec.decode( BinaryCodec.encode( value ) );
+
+		assertThat( decoded.get( "first" ) ).isSameInstanceAs( decoded.get( "second" ) );
+		assertThat( decoded.get( "self" ) ).isSameInstanceAs( decoded );
+		assertThat( decoded.getAsArray( Key.of( "first" ) ) ).containsExactly( 1, 2 );
+	}
+
+	@DisplayName( "It writes each key name once" )
+	@Test
+	public void testKeyDictionary() {
+		Array records = new Array();
+		for ( int i = 0; i < 100; i++ ) {
+			records.add( Struct.of( "aRatherLongKeyName", i ) );
+		}
+
+		String encoded = new String( BinaryCodec.encode( records ), StandardCharsets.ISO_8859_1 );
+
+		assertThat( encoded.indexOf( "aRatherLongKeyName" ) ).isAtLeast( 0 );
+		assertThat( encoded.indexOf( "aRatherLongKeyName" ) ).isEqualTo( encoded.lastIndexOf( "aRatherLongKeyName" ) );
+		assertThat( BinaryCodec.decode( BinaryCodec.encode( records ) ) ).isEqualTo( records );
+	}
+
+	@DisplayName( "It round trips queries by column, smaller than Java serialization" )
+	@Test
+	public void testQuery() throws IOException {
+		Query query = new Query();
+		query.addColumn( Key.of( "id" ), QueryColumnType.INTEGER );
+		query.addColumn( Key.of( "name" ), QueryColumnType.VARCHAR );
+		query.addColumn( Key.of( "score" ), QueryColumnType.DOUBLE );
+		query.addColumn( Key.of( "anything" ), QueryColumnType.OBJECT );
+		for ( int i = 0; i < 200; i++ ) {
+			query.addRow( new Object[] { i % 10 == 0 ? null : i, i % 2 == 0 ? "even" : "odd", i * 0.5, i % 3 == 0 ? "three" : i } );
+		}
+		query.getRawMetaData().put( Key.of( "sql" ), "select * from numbers" );
+
+		byte[]	encoded	= BinaryCodec.encode( query );
+		Query	decoded	= ( Query ) BinaryCodec.decode( encoded );
+
+		assertThat( decoded.size() ).isEqualTo( 200 );
+		assertThat( decoded.getColumns().keySet() ).containsExactlyElementsIn( query.getColumns().keySet() ).inOrder();
+		assertThat( decoded.getColumn( Key.of( "score" ) ).getType() ).isEqualTo( QueryColumnType.DOUBLE );
+		for ( int i = 0; i < 200; i++ ) {
+			assertThat( decoded.getRowAsStruct( i ) ).isEqualTo( query.getRowAsStruct( i ) );
+		}
+		assertThat( decoded.getRawMetaData().get( Key.of( "sql" ) ) ).isEqualTo( "select * from numbers" );
+		assertThat( encoded.length ).isLessThan( serialize( query ).length );
+	}
+
+	@DisplayName( "It falls back to Java serialization for other values" )
+	@Test
+	public void testJavaFallback() {
+		UUID uuid = UUID.randomUUID();
+		assertThat( BinaryCodec.decode( BinaryCodec.encode( Array.of( uuid ) ) ) ).isEqualTo( Array.of( uuid ) );
+		assertThrows( BoxIOException.class, () -> BinaryCodec.encode( new Object() ) );
+	}
+
+	@DisplayName( "It round trips cache entries" )
+	@Test
+	public void testCacheEntry() {
+		BoxCacheEntry	entry	= new BoxCacheEntry( Key.of( "default" ), 60, 30, Key.of( "myKey" ), Struct.of( "a", 1 ), new Struct(), 5, 1000, 2000 );
+		ICacheEntry		decoded	= ( ICacheEntry ) BinaryCodec.decode( BinaryCodec.encode( entry ) );
+
+		assertThat( decoded.key() ).isEqualTo( entry.key() );
+		assertThat( decoded.cacheName() ).isEqualTo( entry.cacheName() );
+		assertThat( decoded.timeout() ).isEqualTo( 60 );
+		assertThat( decoded.lastAccessTimeout() ).isEqualTo( 30 );
+		assertThat( decoded.hits() ).isEqualTo( 5 );
+		assertThat( decoded.createdMillis() ).isEqualTo( 1000 );
+		assertThat( decoded.lastAccessedMillis() ).isEqualTo( 2000 );
+		assertThat( decoded.rawValue() ).isEqualTo( Struct.of( "a", 1 ) );
+	}
+
+	@DisplayName( "It round trips BoxLang classes without running their constructor" )
+	@Test
+	public void testBoxClass() {
+		instance.executeSource(
+		    """
+		    person = new src.test.bx.Person();
+		    person.setName( "Luis" );
+		    """,
+		    context );
+		IClassRunnable	person		= ( IClassRunnable ) context.getScopeNearby( VariablesScope.name ).get( Key.of( "person" ) );
+		IStruct			decoded		= ( IStruct ) BinaryCodec.decode( context, BinaryCodec.encode( Struct.of( "first", person, "second", person ) ) );
+		IClassRunnable	restored	= ( IClassRunnable ) decoded.get( "first" );
+
+		assertThat( restored ).isNotSameInstanceAs( person );
+		assertThat( decoded.get( "second" ) ).isSameInstanceAs( restored );
+		assertThat( restored.getName() ).isEqualTo( person.getName() );
+		assertThat( restored.getVariablesScope().get( Key.of( "name" ) ) ).isEqualTo( "Luis" );
+		// Not serializable
+		assertThat( restored.getVariablesScope().get( Key.of( "age" ) ) ).isNull();
+		assertThat( restored.getVariablesScope().get( Key.of( "composition" ) ) ).isInstanceOf( IClassRunnable.class );
+		// The functions come from the class, not the encoded data
+		assertThat( restored.getThisScope().get( Key.of( "sayHello" ) ) ).isInstanceOf( Function.class );
+	}
+
+	@DisplayName( "It round trips sessions, with their scope encoded by the codec" )
+	@Test
+	public void testSession() throws IOException, ClassNotFoundException {
+		Session session = new Session( Key.of( "abc" ), new Application( Key.of( "BinaryCodecTest" ) ) );
+		session.getSessionScope().put( "list", Array.of( 1, 2 ) );
+
+		Session			decoded	= ( Session ) deserialize( serialize( session ) );
+		BoxCacheEntry	entry	= new BoxCacheEntry( Key.of( "sessions" ), 60, 30, Key.of( session.getCacheKey() ), session, new Struct() );
+		Session			cached	= ( Session ) ( ( ICacheEntry ) BinaryCodec.decode( BinaryCodec.encode( entry ) ) ).rawValue();
+
+		for ( Session restored : new Session[] { decoded, cached } ) {
+			assertThat( restored.getID() ).isEqualTo( session.getID() );
+			assertThat( restored.getApplicationName() ).isEqualTo( session.getApplicationName() );
+			assertThat( restored.getSessionScope().get( Key.sessionId ) ).isEqualTo( "BinaryCodecTest_abc" );
+			assertThat( restored.getSessionScope().get( "list" ) ).isEqualTo( Array.of( 1, 2 ) );
+		}
+	}
+
+	@DisplayName( "It reads sessions serialized before their scope was encoded by the codec" )
+	@Test
+	public void testLegacySession() throws IOException, ClassNotFoundException {
+		SessionScope scope = new SessionScope();
+		scope.put( "foo", "bar" );
+		byte[]	legacy	= serialize( new LegacySession( Key.of( "abc" ), Key.of( "BinaryCodecTest" ), scope ) );
+		Session	decoded	= ( Session ) deserialize( renameClass( legacy, LegacySession.class, Session.class ) );
+
+		assertThat( decoded.getID() ).isEqualTo( Key.of( "abc" ) );
+		assertThat( decoded.getApplicationName() ).isEqualTo( Key.of( "BinaryCodecTest" ) );
+		assertThat( decoded.getSessionScope().get( "foo" ) ).isEqualTo( "bar" );
+	}
+
+	@DisplayName( "It still deserializes data written with Java serialization" )
+	@Test
+	public void testLegacyData() throws IOException {
+		byte[] legacy = serialize( Struct.of( "a", 1 ) );
+
+		assertThat( BinaryCodec.isEncoded( legacy ) ).isFalse();
+		assertThat( BinaryCodec.isEncoded( ObjectMarshaller.serialize( context, Struct.of( "a", 1 ) ) ) ).isTrue();
+		assertThat( ObjectMarshaller.deserialize( context, legacy ) ).isEqualTo( Struct.of( "a", 1 ) );
+	}
+
+	private static byte[] serialize( Object value ) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try ( ObjectOutputStream out = new ObjectOutputStream( bytes ) ) {
+			out.writeObject( value );
+		}
+		return bytes.toByteArray();
+	}
+
+	private static Object deserialize( byte[] data ) throws IOException, ClassNotFoundException {
+		try ( ObjectInputStream in = new ObjectInputStream( new ByteArrayInputStream( data ) ) ) {
+			return in.readObject();
+		}
+	}
+
+	/**
+	 * Rename a class in serialized data, where its name is written once in its class descriptor
+	 */
+	private static byte[] renameClass( byte[] data, Class<?> from, Class<?> to ) {
+		String serialized = new String( data, StandardCharsets.ISO_8859_1 );
+		return serialized.replace( utf( from.getName() ), utf( to.getName() ) ).getBytes( StandardCharsets.ISO_8859_1 );
+	}
+
+	private static String utf( String name ) {
+		return "" + ( char ) ( name.length() >> 8 ) + ( char ) ( name.length() & 0xFF ) + name;
+	}
+
+	/**
+	 * A session as it was serialized before its scope was encoded by the codec: the same fields, and the serial version UID computed
+	 * for them
+	 */
+	private static class LegacySession implements Serializable {
+
+		private static final long	serialVersionUID	= -6785055647771023200L;
+
+		private Key					ID;
+		private SessionScope		sessionScope;
+		private final AtomicBoolean	isNew				= new AtomicBoolean( false );
+		private Key					applicationName;
+
+		LegacySession( Key ID, Key applicationName, SessionScope sessionScope ) {
+			this.ID					= ID;
+			this.applicationName	= applicationName;
+			this.sessionScope		= sessionScope;
+		}
+	}
+
+}